@@ -67,6 +67,7 @@ public final class CollectionsUnitTestSuite {
 		//$JUnit-BEGIN$
 		_suite.addTestSuite(CollectionsUtilitiesTest.class);
         _suite.addTestSuite(RetrievableSetTestCase.class);
+		_suite.addTestSuite(ConcurrentCacheTest.class);
 		//$JUnit-END$
 		TestHelper.appendSuiteNameToTestsIn(_suite, true);
 		_suite.setName(CollectionsUnitTestSuite.class.getName());
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.TestCase;
+
+/**
+ * This class tests <code>ConcurrentCache</code> class.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public class ConcurrentCacheTest
+		extends TestCase {
+
+	/**
+	 * Tests that the cache is bounded and that the statistics reflect the use of the cache.
+	 */
+	public final void testBoundAndStatistics() {
+		final ConcurrentCache<Integer, String> _cache = new ConcurrentCache<Integer, String>(100, 1);
+
+		for (int _i = 0; _i < 1000; _i++) {
+			_cache.put(Integer.valueOf(_i), String.valueOf(_i));
+			assertTrue(_cache.size() <= 100);
+		}
+		assertEquals(100, _cache.size());
+
+		int _hits = 0;
+
+		for (int _i = 0; _i < 1000; _i++) {
+			final String _value = _cache.get(Integer.valueOf(_i));
+
+			if (_value != null) {
+				assertEquals(String.valueOf(_i), _value);
+				_hits++;
+			}
+		}
+
+		final ConcurrentCache.Statistics _statistics = _cache.getStatistics();
+		assertEquals(100, _hits);
+		assertEquals(100, _statistics.getHitCount());
+		assertEquals(900, _statistics.getMissCount());
+		assertEquals(900, _statistics.getEvictionCount());
+		assertEquals(0.1, _statistics.getHitRate(), 1e-9);
+
+		_cache.clear();
+		assertEquals(0, _cache.size());
+		assertNull(_cache.get(Integer.valueOf(999)));
+	}
+
+	/**
+	 * Tests that concurrent use of the cache neither loses the bound nor corrupts the mappings.
+	 *
+	 * @throws Exception when the concurrent workers fail.
+	 */
+	public final void testConcurrentAccess() throws Exception {
+		final ConcurrentCache<Integer, Integer> _cache = new ConcurrentCache<Integer, Integer>(1000);
+		final ExecutorService _executor = Executors.newFixedThreadPool(4);
+		final Collection<Future<Object>> _results = new ArrayList<Future<Object>>();
+
+		try {
+			for (int _i = 0; _i < 4; _i++) {
+				final int _offset = _i * 1000;
+				_results.add(_executor.submit(new Callable<Object>() {
+
+					public Object call() {
+						for (int _j = 0; _j < 20000; _j++) {
+							final Integer _key = Integer.valueOf(_offset + _j % 1500);
+							final Integer _value = _cache.get(_key);
+
+							if (_value == null) {
+								_cache.put(_key, _key);
+							} else {
+								assertEquals(_key, _value);
+							}
+						}
+						return null;
+					}
+				}));
+			}
+
+			for (final Future<Object> _f : _results) {
+				_f.get();
+			}
+		} finally {
+			_executor.shutdownNow();
+		}
+
+		final ConcurrentCache.Statistics _statistics = _cache.getStatistics();
+		assertTrue(_cache.size() <= 1000);
+		assertEquals(80000, _statistics.getHitCount() + _statistics.getMissCount());
+	}
+
+	/**
+	 * Tests that a small cache is segmented based on the concurrency level and that the segments are resized when the
+	 * maximum size changes.
+	 */
+	public final void testConcurrencyLevel() {
+		final ConcurrentCache<Integer, Integer> _cache = new ConcurrentCache<Integer, Integer>(50, 8);
+
+		for (int _i = 0; _i < 1000; _i++) {
+			_cache.put(Integer.valueOf(_i), Integer.valueOf(_i));
+			assertTrue(_cache.size() <= 50);
+		}
+
+		final int _size = _cache.size();
+		assertTrue(_size > 8);
+		assertEquals(1000 - _size, _cache.getStatistics().getEvictionCount());
+
+		_cache.setMaximumSize(800);
+
+		for (int _i = 0; _i < 1000; _i++) {
+			_cache.put(Integer.valueOf(_i), Integer.valueOf(_i));
+		}
+		assertTrue(_cache.size() > 50);
+		assertTrue(_cache.size() <= 800);
+	}
+
+	/**
+	 * Tests that frequently accessed entries survive a scan of entries that are accessed once.
+	 */
+	public final void testFrequencyBasedAdmission() {
+		final ConcurrentCache<Integer, Integer> _cache = new ConcurrentCache<Integer, Integer>(100, 1);
+
+		for (int _i = 0; _i < 90; _i++) {
+			final Integer _key = Integer.valueOf(_i);
+			_cache.put(_key, _key);
+
+			for (int _j = 0; _j < 5; _j++) {
+				assertNotNull(_cache.get(_key));
+			}
+		}
+
+		for (int _i = 1000; _i < 1500; _i++) {
+			final Integer _key = Integer.valueOf(_i);
+			_cache.put(_key, _key);
+		}
+
+		for (int _i = 0; _i < 90; _i++) {
+			assertNotNull(_cache.get(Integer.valueOf(_i)));
+		}
+	}
+
+	/**
+	 * Tests that changing the maximum size evicts entries as required.
+	 */
+	public final void testSetMaximumSize() {
+		final ConcurrentCache<Integer, Integer> _cache = new ConcurrentCache<Integer, Integer>(500);
+
+		for (int _i = 0; _i < 500; _i++) {
+			_cache.put(Integer.valueOf(_i), Integer.valueOf(_i));
+		}
+
+		// the entries are distributed over segments; hence, a segment may fill up before the cache does.
+		final int _size = _cache.size();
+		assertTrue(_size <= 500);
+		assertEquals(500 - _size, _cache.getStatistics().getEvictionCount());
+
+		_cache.setMaximumSize(50);
+		assertEquals(50, _cache.getMaximumSize());
+		assertTrue(_cache.size() <= 50);
+		assertEquals(500 - _cache.size(), _cache.getStatistics().getEvictionCount());
+
+		_cache.setMaximumSize(0);
+		assertEquals(0, _cache.size());
+		_cache.put(Integer.valueOf(1), Integer.valueOf(1));
+		assertNull(_cache.get(Integer.valueOf(1)));
+	}
+}
+
+// End of File
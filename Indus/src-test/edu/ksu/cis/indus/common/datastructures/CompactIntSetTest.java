@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+import edu.ksu.cis.indus.IndusTestCase;
+
+import java.util.BitSet;
+import java.util.Random;
+
+
+/**
+ * This class tests <code>CompactIntSet</code> class.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public class CompactIntSetTest
+  extends IndusTestCase {
+	/** 
+	 * The source of random elements.
+	 */
+	private Random random;
+
+	/**
+	 * Tests <code>add</code>, <code>contains</code>, and the switch between representations.
+	 */
+	public final void testAdd() {
+		final CompactIntSet _set = new CompactIntSet();
+		assertTrue(_set.isEmpty());
+		assertTrue(_set.add(5));
+		assertFalse(_set.add(5));
+		assertTrue(_set.contains(5));
+		assertFalse(_set.contains(4));
+		assertFalse(_set.contains(-1));
+		assertFalse(_set.isBitmap());
+
+		for (int _i = 0; _i < 128; _i++) {
+			_set.add(_i);
+		}
+		assertEquals(128, _set.size());
+		assertTrue(_set.isBitmap());
+
+		_set.add(1 << 20);
+		assertEquals(129, _set.size());
+		assertTrue(_set.contains(1 << 20));
+
+		try {
+			_set.add(-1);
+			fail("Negative elements should not be accepted.");
+		} catch (final IllegalArgumentException _e) {
+			;
+		}
+	}
+
+	/**
+	 * Tests the set operations against <code>java.util.BitSet</code> on sparse and dense sets.
+	 */
+	public final void testSetOperations() {
+		for (int _run = 0; _run < 200; _run++) {
+			final int _range = (_run % 2 == 0) ? 256 : 100000;
+			final int _count = random.nextInt(300);
+			final BitSet _b1 = new BitSet();
+			final BitSet _b2 = new BitSet();
+			final CompactIntSet _s1 = populate(_b1, _count, _range);
+			final CompactIntSet _s2 = populate(_b2, random.nextInt(300), _range);
+
+			final BitSet _union = (BitSet) _b1.clone();
+			_union.or(_b2);
+
+			final CompactIntSet _u = new CompactIntSet(_s1);
+			assertEquals(!_union.equals(_b1), _u.addAll(_s2));
+			assertSame(_union, _u);
+
+			final BitSet _and = (BitSet) _b1.clone();
+			_and.and(_b2);
+			assertSame(_and, _s1.intersection(_s2));
+			assertEquals(_b1.intersects(_b2), _s1.intersects(_s2));
+
+			final CompactIntSet _r = new CompactIntSet(_s1);
+			_r.retainAll(_s2);
+			assertSame(_and, _r);
+
+			final BitSet _andNot = (BitSet) _b1.clone();
+			_andNot.andNot(_b2);
+			assertSame(_andNot, _s1.difference(_s2));
+
+			final CompactIntSet _d = new CompactIntSet(_s1);
+			_d.removeAll(_s2);
+			assertSame(_andNot, _d);
+			assertEquals(_andNot.isEmpty(), _s2.containsAll(_s1));
+			assertTrue(_u.containsAll(_s1));
+			assertTrue(_u.containsAll(_s2));
+
+			assertSame(_b1, _s1);
+			assertSame(_b2, _s2);
+		}
+	}
+
+	/**
+	 * Tests <code>equals</code> and <code>hashCode</code> across representations.
+	 */
+	public final void testEquals() {
+		final CompactIntSet _sparse = new CompactIntSet();
+		final CompactIntSet _dense = new CompactIntSet();
+
+		for (int _i = 0; _i < 64; _i++) {
+			_dense.add(_i);
+		}
+
+		for (int _i = 0; _i < 64; _i += 2) {
+			_sparse.add(_i);
+		}
+
+		final CompactIntSet _odd = new CompactIntSet();
+
+		for (int _i = 1; _i < 64; _i += 2) {
+			_odd.add(_i);
+		}
+		_dense.removeAll(_odd);
+		assertEquals(_sparse, _dense);
+		assertEquals(_sparse.hashCode(), _dense.hashCode());
+		assertFalse(_sparse.equals(_odd));
+
+		_dense.clear();
+		assertTrue(_dense.isEmpty());
+		assertEquals(new CompactIntSet(), _dense);
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	protected void setUp()
+	  throws Exception {
+		super.setUp();
+		random = new Random(1);
+	}
+
+	/**
+	 * Checks if the given sets have the same elements.
+	 *
+	 * @param expected is the expected set.
+	 * @param actual is the actual set.
+	 */
+	private static void assertSame(final BitSet expected, final CompactIntSet actual) {
+		assertEquals(expected.cardinality(), actual.size());
+		assertEquals(expected.isEmpty(), actual.isEmpty());
+
+		int _j = actual.nextElement(0);
+
+		for (int _i = expected.nextSetBit(0); _i >= 0; _i = expected.nextSetBit(_i + 1)) {
+			assertEquals(_i, _j);
+			assertTrue(actual.contains(_i));
+			_j = actual.nextElement(_j + 1);
+		}
+		assertEquals(-1, _j);
+	}
+
+	/**
+	 * Populates the given bit set and a new compact set with the same random elements.
+	 *
+	 * @param bitset to be populated.
+	 * @param count is the number of elements to add.
+	 * @param range is the exclusive upper bound of the elements.
+	 * @return the new compact set.
+	 */
+	private CompactIntSet populate(final BitSet bitset, final int count, final int range) {
+		final CompactIntSet _result = new CompactIntSet();
+
+		for (int _i = 0; _i < count; _i++) {
+			final int _e = random.nextInt(range);
+			assertEquals(!bitset.get(_e), _result.add(_e));
+			bitset.set(_e);
+		}
+		return _result;
+	}
+}
+
+// End of File
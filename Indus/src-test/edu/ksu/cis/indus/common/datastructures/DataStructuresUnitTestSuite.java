@@ -65,15 +65,21 @@ public final class DataStructuresUnitTestSuite {
 
 		//$JUnit-BEGIN$
 		_suite.addTestSuite(FastUnionFindElementTest.class);
+		_suite.addTestSuite(IntUnionFindTest.class);
 		_suite.addTestSuite(LIFOWorkBagTest.class);
 		_suite.addTestSuite(FIFOWorkBagTest.class);
 		_suite.addTestSuite(PoolAwareWorkBagTest.class);
 		_suite.addTestSuite(PairTest.class);
+		_suite.addTestSuite(PackedIntPairTest.class);
 		_suite.addTestSuite(TripleTest.class);
 		_suite.addTestSuite(QuadrapleTest.class);
 		_suite.addTestSuite(MarkerTest.class);
 		_suite.addTestSuite(HistoryAwareFIFOWorkBagTest.class);
 		_suite.addTestSuite(HistoryAwareLIFOWorkBagTest.class);
+		_suite.addTestSuite(RingBufferFIFOWorkBagTest.class);
+		_suite.addTestSuite(RingBufferLIFOWorkBagTest.class);
+		_suite.addTestSuite(SynchronizedWorkBagTest.class);
+		_suite.addTestSuite(CompactIntSetTest.class);
 		//$JUnit-END$
 		TestHelper.appendSuiteNameToTestsIn(_suite, true);
 		_suite.setName(DataStructuresUnitTestSuite.class.getName());
@@ -59,6 +59,44 @@ public final class FastUnionFindElementTest
 		assertTrue(_f6.find().equals(_f5));
 	}
 
+	/**
+	 * Tests that <code>union</code> retains the binding of the merged classes regardless of their ranks and that
+	 * <code>find</code> compresses paths.
+	 */
+	public void testUnionByRankAndPathCompression() {
+		final FastUnionFindElement[] _elements = new FastUnionFindElement[64];
+
+		for (int _i = 0; _i < _elements.length; _i++) {
+			_elements[_i] = new FastUnionFindElement();
+		}
+
+		// build a tree of height 6 by merging classes of equal sizes.
+		for (int _step = 1; _step < _elements.length; _step *= 2) {
+			for (int _i = 0; _i < _elements.length; _i += 2 * _step) {
+				_elements[_i].union(_elements[_i + _step]);
+			}
+		}
+
+		final FastUnionFindElement _root = _elements[0].find();
+
+		for (int _i = 0; _i < _elements.length; _i++) {
+			assertSame(_root, _elements[_i].find());
+			assertTrue(_elements[_i] == _root || _elements[_i].set == _root);
+		}
+
+		// the larger class is merged into the smaller class as the latter is bound.
+		final FastUnionFindElement _bound = new FastUnionFindElement();
+		_bound.setType("1");
+		_elements[_elements.length - 1].union(_bound);
+		assertSame(_bound, _elements[0].find());
+		assertEquals("1", _elements[1].getType());
+
+		// the smaller unbound class is merged into the larger class.
+		final FastUnionFindElement _unbound = new FastUnionFindElement();
+		_unbound.union(_elements[2]);
+		assertSame(_bound, _unbound.find());
+	}
+
 	/**
 	 * Tests <code>getType</code> and <code>setType</code>.
 	 */
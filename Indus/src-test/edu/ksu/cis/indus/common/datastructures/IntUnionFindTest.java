@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+import edu.ksu.cis.indus.IndusTestCase;
+
+/**
+ * This class tests <code>IntUnionFind</code> class.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class IntUnionFindTest
+		extends IndusTestCase {
+
+	/**
+	 * The instance under test.
+	 */
+	private IntUnionFind unionFind;
+
+	/**
+	 * Tests <code>add</code>, <code>find</code>, and <code>union</code>.
+	 */
+	public void testFindAndUnion() {
+		for (int _i = 0; _i < 100; _i++) {
+			assertEquals(_i, unionFind.add());
+			assertEquals(_i, unionFind.find(_i));
+		}
+		assertEquals(100, unionFind.size());
+		assertEquals(100, unionFind.getNumberOfSets());
+
+		// merge the even elements into one class and the odd elements into another class.
+		for (int _i = 2; _i < 100; _i++) {
+			final int _root = unionFind.union(_i - 2, _i);
+			assertEquals(_root, unionFind.find(_i));
+		}
+		assertEquals(2, unionFind.getNumberOfSets());
+
+		for (int _i = 0; _i < 100; _i++) {
+			assertTrue(unionFind.sameSet(_i % 2, _i));
+			assertFalse(unionFind.sameSet(1 - _i % 2, _i));
+		}
+
+		final int _root = unionFind.union(98, 99);
+		assertEquals(1, unionFind.getNumberOfSets());
+		assertEquals(_root, unionFind.find(0));
+		assertEquals(_root, unionFind.union(0, 1));
+		assertEquals(1, unionFind.getNumberOfSets());
+
+		try {
+			unionFind.find(100);
+			///CLOVER:OFF
+			fail("This is incorrect.");
+			///CLOVER:ON
+		} catch (final IndexOutOfBoundsException _e) {
+			// this is expected.
+		}
+
+		unionFind.clear();
+		assertEquals(0, unionFind.size());
+		assertEquals(0, unionFind.add());
+		assertEquals(1, unionFind.getNumberOfSets());
+	}
+
+	/**
+	 * Tests <code>getType</code>, <code>isBound</code>, and <code>setType</code>.
+	 */
+	public void testTypes() {
+		for (int _i = 0; _i < 8; _i++) {
+			unionFind.add();
+		}
+
+		// build a class of rank 2 that is not bound.
+		unionFind.union(0, 1);
+		unionFind.union(2, 3);
+		unionFind.union(0, 2);
+		assertFalse(unionFind.isBound(3));
+
+		// the bound singleton class becomes the representative of the merged class.
+		unionFind.setType(4, "1");
+		assertEquals(4, unionFind.union(3, 4));
+		assertTrue(unionFind.isBound(0));
+		assertEquals("1", unionFind.getType(1));
+
+		unionFind.union(5, 6);
+		unionFind.setType(6, "2");
+		assertEquals("2", unionFind.getType(5));
+
+		try {
+			unionFind.setType(0, "3");
+			///CLOVER:OFF
+			fail("This is incorrect.");
+			///CLOVER:ON
+		} catch (final IllegalStateException _e) {
+			// this is expected.
+		}
+
+		assertNull(unionFind.getType(7));
+		assertEquals(4, unionFind.union(7, 0));
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override protected void setUp() throws Exception {
+		super.setUp();
+		unionFind = new IntUnionFind(2);
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		unionFind = null;
+		super.tearDown();
+	}
+}
+
+// End of File
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+import edu.ksu.cis.indus.IndusTestCase;
+
+/**
+ * This class tests <code>PackedIntPair</code> class.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class PackedIntPairTest
+		extends IndusTestCase {
+
+	/**
+	 * Tests <code>pack</code>, <code>getFirst</code>, and <code>getSecond</code>.
+	 */
+	public void testPack() {
+		final int[] _values = {0, 1, -1, 42, Integer.MAX_VALUE, Integer.MIN_VALUE};
+
+		for (int _i = 0; _i < _values.length; _i++) {
+			for (int _j = 0; _j < _values.length; _j++) {
+				final long _pair = PackedIntPair.pack(_values[_i], _values[_j]);
+				assertEquals(_values[_i], PackedIntPair.getFirst(_pair));
+				assertEquals(_values[_j], PackedIntPair.getSecond(_pair));
+			}
+		}
+
+		assertFalse(PackedIntPair.pack(1, 2) == PackedIntPair.pack(2, 1));
+		assertFalse(PackedIntPair.pack(0, -1) == PackedIntPair.pack(-1, 0));
+	}
+
+	/**
+	 * Tests <code>toString</code>.
+	 */
+	public void testToString() {
+		assertEquals("(3, -4)", PackedIntPair.toString(PackedIntPair.pack(3, -4)));
+	}
+}
+
+// End of File
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+import edu.ksu.cis.indus.common.datastructures.AbstractRingBufferWorkBag.DuplicateCheck;
+
+/**
+ * This class tests <code>RingBufferFIFOWorkBag</code> class.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public class RingBufferFIFOWorkBagTest
+  extends FIFOWorkBagTest {
+	/**
+	 * Tests the growth of the bag when the work pieces wrap around the end of the underlying array.
+	 */
+	public final void testGrowthWithWrapAround() {
+		final int _half = AbstractRingBufferWorkBag.DEFAULT_CAPACITY / 2;
+		int _next = 0;
+		int _expected = 0;
+
+		for (int _i = 0; _i < _half; _i++) {
+			wb.addWork(new Integer(_next++));
+		}
+
+		for (int _i = 0; _i < _half; _i++) {
+			assertEquals(new Integer(_expected++), wb.getWork());
+		}
+
+		final int _count = AbstractRingBufferWorkBag.DEFAULT_CAPACITY * 2;
+
+		for (int _i = 0; _i < _count; _i++) {
+			wb.addWork(new Integer(_next++));
+		}
+
+		while (wb.hasWork()) {
+			assertEquals(new Integer(_expected++), wb.getWork());
+		}
+		assertEquals(_next, _expected);
+	}
+
+	/**
+	 * Tests identity based detection of duplicates.
+	 */
+	public final void testIdentityBasedDuplicateCheck() {
+		final IWorkBag<String> _wb = new RingBufferFIFOWorkBag<String>(DuplicateCheck.IDENTITY);
+		final String _s = "work";
+		assertTrue(_wb.addWorkNoDuplicates(_s));
+		assertFalse(_wb.addWorkNoDuplicates(_s));
+		assertTrue(_wb.addWorkNoDuplicates(new String(_s)));
+		_wb.getWork();
+		_wb.getWork();
+		assertTrue(_wb.addWorkNoDuplicates(_s));
+	}
+
+	/**
+	 * Tests index based detection of duplicates.
+	 */
+	public final void testIndexBasedDuplicateCheck() {
+		final IIndexer<Integer> _indexer = new IIndexer<Integer>() {
+
+			public int getIndex(final Integer o) {
+				return o.intValue();
+			}
+		};
+		final IWorkBag<Integer> _wb = new RingBufferFIFOWorkBag<Integer>(_indexer);
+		final int _count = AbstractRingBufferWorkBag.DEFAULT_CAPACITY * 2;
+
+		for (int _i = 0; _i < _count; _i++) {
+			assertTrue(_wb.addWorkNoDuplicates(new Integer(_i)));
+		}
+
+		for (int _i = 0; _i < _count; _i++) {
+			assertFalse(_wb.addWorkNoDuplicates(new Integer(_i)));
+		}
+		assertEquals(new Integer(0), _wb.getWork());
+		assertTrue(_wb.addWorkNoDuplicates(new Integer(0)));
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	protected void setUp()
+	  throws Exception {
+		wb = new RingBufferFIFOWorkBag();
+	}
+}
+
+// End of File
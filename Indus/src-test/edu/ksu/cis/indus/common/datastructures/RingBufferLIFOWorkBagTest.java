@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+/**
+ * This class tests <code>RingBufferLIFOWorkBag</code> class.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public class RingBufferLIFOWorkBagTest
+  extends LIFOWorkBagTest {
+	/**
+	 * Tests the growth of the bag beyond its initial capacity.
+	 */
+	public final void testGrowth() {
+		final int _count = AbstractRingBufferWorkBag.DEFAULT_CAPACITY * 3 + 1;
+
+		for (int _i = 0; _i < _count; _i++) {
+			wb.addWork(new Integer(_i));
+		}
+
+		for (int _i = _count - 1; _i >= 0; _i--) {
+			assertEquals(new Integer(_i), wb.getWork());
+		}
+		assertFalse(wb.hasWork());
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	protected void setUp()
+	  throws Exception {
+		wb = new RingBufferLIFOWorkBag();
+	}
+}
+
+// End of File
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+/**
+ * This class tests <code>SynchronizedWorkBag</code> class.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public class SynchronizedWorkBagTest
+  extends LIFOWorkBagTest {
+	/**
+	 * Tests that work added concurrently from multiple threads is not lost.
+	 *
+	 * @throws InterruptedException when the test is interrupted.
+	 */
+	public final void testConcurrentAddition()
+	  throws InterruptedException {
+		final int _threadCount = 4;
+		final int _workCount = 10000;
+		final Thread[] _threads = new Thread[_threadCount];
+
+		for (int _i = 0; _i < _threadCount; _i++) {
+			final int _offset = _i * _workCount;
+			_threads[_i] =
+				new Thread() {
+					public void run() {
+						for (int _j = 0; _j < _workCount; _j++) {
+							wb.addWorkNoDuplicates(new Integer(_offset + _j));
+						}
+					}
+				};
+			_threads[_i].start();
+		}
+
+		for (int _i = 0; _i < _threadCount; _i++) {
+			_threads[_i].join();
+		}
+
+		int _count = 0;
+
+		while (wb.hasWork()) {
+			wb.getWork();
+			_count++;
+		}
+		assertEquals(_threadCount * _workCount, _count);
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	protected void setUp()
+	  throws Exception {
+		wb = new SynchronizedWorkBag(new RingBufferLIFOWorkBag());
+	}
+}
+
+// End of File
@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+import java.util.Random;
+
+/**
+ * This class measures the union-find implementations on unification patterns similar to those of the escape analysis. Each
+ * round creates alias-set like elements with a few field children, unifies the arguments and return values of call sites with
+ * the parameters of the callees (which results in long chains of unifications on common callees), unifies the children of the
+ * unified elements, and queries the representatives of elements repeatedly as the analysis does when it reads alias sets.
+ * <p>
+ * Run it as <code>java edu.ksu.cis.indus.common.datastructures.UnionFindBenchmark [elements] [rounds]</code>.
+ * </p>
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class UnionFindBenchmark {
+	///CLOVER:OFF
+
+	/**
+	 * An element akin to alias sets.
+	 */
+	private static final class Element
+			extends FastUnionFindElement<Element> {
+
+		/**
+		 * Creates an instance of this class.
+		 */
+		Element() {
+			super();
+		}
+	}
+
+	/**
+	 * The default number of elements created in a round.
+	 */
+	private static final int DEFAULT_ELEMENTS = 500000;
+
+	/**
+	 * The default number of measured rounds.
+	 */
+	private static final int DEFAULT_ROUNDS = 5;
+
+	/**
+	 * The number of field children of an element.
+	 */
+	private static final int FIELDS = 2;
+
+	/**
+	 * The number of queries per element.
+	 */
+	private static final int QUERIES = 4;
+
+	/**
+	 * The seed used to generate the unification pattern.
+	 */
+	private static final long SEED = 0x5eedL;
+
+	/**
+	 * Creates a new UnionFindBenchmark object.
+	 */
+	private UnionFindBenchmark() {
+	}
+
+	/**
+	 * Executes the benchmark.
+	 *
+	 * @param args are the number of elements and the number of rounds (both optional).
+	 */
+	public static void main(final String[] args) {
+		final int _elements;
+
+		if (args.length > 0) {
+			_elements = Integer.parseInt(args[0]);
+		} else {
+			_elements = DEFAULT_ELEMENTS;
+		}
+
+		final int _rounds;
+
+		if (args.length > 1) {
+			_rounds = Integer.parseInt(args[1]);
+		} else {
+			_rounds = DEFAULT_ROUNDS;
+		}
+
+		final int[] _pattern = createPattern(_elements);
+
+		// warm up
+		runObjects(_pattern, _elements / 10);
+		runInts(_pattern, _elements / 10);
+
+		long _bestObjects = Long.MAX_VALUE;
+		long _bestInts = Long.MAX_VALUE;
+		int _setsObjects = 0;
+		int _setsInts = 0;
+
+		for (int _j = 0; _j < _rounds; _j++) {
+			long _start = System.nanoTime();
+			_setsObjects = runObjects(_pattern, _elements);
+			_bestObjects = Math.min(_bestObjects, System.nanoTime() - _start);
+
+			_start = System.nanoTime();
+			_setsInts = runInts(_pattern, _elements);
+			_bestInts = Math.min(_bestInts, System.nanoTime() - _start);
+		}
+		System.out.println("FastUnionFindElement: " + (_bestObjects / 1000000) + " ms (best of " + _rounds + ", "
+				+ _setsObjects + " sets)");
+		System.out.println("IntUnionFind: " + (_bestInts / 1000000) + " ms (best of " + _rounds + ", " + _setsInts
+				+ " sets)");
+	}
+
+	/**
+	 * Creates the unification pattern. The pattern is a sequence of pairs of elements to be unified. Most pairs are formed
+	 * from an element and an element of a small set of "hot" elements (the parameters of commonly called methods) while the
+	 * remaining pairs are formed from elements that were created close to each other (the locals of a method).
+	 *
+	 * @param elements is the number of elements.
+	 * @return the pattern.
+	 * @post result.length = elements * 2
+	 */
+	private static int[] createPattern(final int elements) {
+		final Random _random = new Random(SEED);
+		final int[] _result = new int[elements * 2];
+		final int _hot = Math.max(1, elements / 1000);
+
+		for (int _i = 0; _i < elements; _i++) {
+			_result[2 * _i] = _i;
+
+			if (_random.nextInt(4) == 0) {
+				_result[2 * _i + 1] = _random.nextInt(_hot);
+			} else {
+				_result[2 * _i + 1] = Math.max(0, _i - 1 - _random.nextInt(16));
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Runs the pattern on <code>IntUnionFind</code>. The field children of an element <code>i</code> are represented by the
+	 * elements <code>elements + i * FIELDS + k</code>.
+	 *
+	 * @param pattern is the unification pattern.
+	 * @param elements is the number of elements to use from the pattern.
+	 * @return the number of equivalence classes of the elements.
+	 */
+	private static int runInts(final int[] pattern, final int elements) {
+		final IntUnionFind _uf = new IntUnionFind();
+		final int _total = elements * (FIELDS + 1);
+
+		for (int _i = 0; _i < _total; _i++) {
+			_uf.add();
+		}
+
+		for (int _i = 0; _i < elements; _i++) {
+			final int _a = pattern[2 * _i];
+			final int _b = pattern[2 * _i + 1];
+
+			if (_b < elements && !_uf.sameSet(_a, _b)) {
+				_uf.union(_a, _b);
+
+				// unify the children as alias sets unify their field maps.
+				for (int _k = 0; _k < FIELDS; _k++) {
+					_uf.union(elements + _a * FIELDS + _k, elements + _b * FIELDS + _k);
+				}
+			}
+
+			for (int _q = 0; _q < QUERIES; _q++) {
+				_uf.find(pattern[2 * ((_i * 31 + _q * 7) % (_i + 1))]);
+			}
+		}
+		return _uf.getNumberOfSets();
+	}
+
+	/**
+	 * Runs the pattern on <code>FastUnionFindElement</code>.
+	 *
+	 * @param pattern is the unification pattern.
+	 * @param elements is the number of elements to use from the pattern.
+	 * @return the number of equivalence classes of the elements.
+	 */
+	private static int runObjects(final int[] pattern, final int elements) {
+		final Element[] _elements = new Element[elements];
+
+		for (int _i = 0; _i < elements; _i++) {
+			_elements[_i] = new Element();
+
+			for (int _k = 0; _k < FIELDS; _k++) {
+				_elements[_i].addChild(new Element());
+			}
+		}
+
+		for (int _i = 0; _i < elements; _i++) {
+			final Element _a = _elements[pattern[2 * _i]];
+			final int _b = pattern[2 * _i + 1];
+
+			if (_b < elements) {
+				_a.unify(_elements[_b]);
+			}
+
+			for (int _q = 0; _q < QUERIES; _q++) {
+				_elements[pattern[2 * ((_i * 31 + _q * 7) % (_i + 1))]].find();
+			}
+		}
+
+		int _result = 0;
+
+		for (int _i = 0; _i < elements; _i++) {
+			if (_elements[_i].find() == _elements[_i]) {
+				_result++;
+			}
+
+			for (int _k = 0; _k < FIELDS; _k++) {
+				final Element _child = _elements[_i].children.get(_k);
+
+				if (_child.find() == _child) {
+					_result++;
+				}
+			}
+		}
+		return _result;
+	}
+}
+
+// End of File
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+import edu.ksu.cis.indus.common.datastructures.AbstractRingBufferWorkBag.DuplicateCheck;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class compares the throughput of the work bag implementations. Each round pushes work pieces through a bag in a
+ * pattern similar to the closure computations in the slicer: every retrieved work piece adds a few new work pieces (some of
+ * them duplicates) until a fixed number of distinct work pieces have been processed.
+ * <p>
+ * Run it as <code>java edu.ksu.cis.indus.common.datastructures.WorkBagBenchmark [workPieces] [rounds]</code>.
+ * </p>
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class WorkBagBenchmark {
+	///CLOVER:OFF
+
+	/**
+	 * This is a factory of work bags.
+	 */
+	private interface IWorkBagFactory {
+		/**
+		 * Creates a new work bag.
+		 *
+		 * @return a new work bag.
+		 */
+		IWorkBag<Integer> create();
+	}
+
+	/**
+	 * The default number of distinct work pieces processed in a round.
+	 */
+	private static final int DEFAULT_WORK_PIECES = 200000;
+
+	/**
+	 * The default number of measured rounds.
+	 */
+	private static final int DEFAULT_ROUNDS = 5;
+
+	/**
+	 * The number of work pieces added upon retrieving a work piece.
+	 */
+	private static final int FAN_OUT = 3;
+
+	/**
+	 * The indexer that maps integer work pieces to their values.
+	 */
+	static final IIndexer<Integer> INDEXER = new IIndexer<Integer>() {
+
+		public int getIndex(final Integer o) {
+			return o.intValue();
+		}
+	};
+
+	/**
+	 * Creates a new WorkBagBenchmark object.
+	 */
+	private WorkBagBenchmark() {
+	}
+
+	/**
+	 * Executes the benchmark.
+	 *
+	 * @param args are the number of work pieces and the number of rounds (both optional).
+	 */
+	public static void main(final String[] args) {
+		final int _workPieces;
+
+		if (args.length > 0) {
+			_workPieces = Integer.parseInt(args[0]);
+		} else {
+			_workPieces = DEFAULT_WORK_PIECES;
+		}
+
+		final int _rounds;
+
+		if (args.length > 1) {
+			_rounds = Integer.parseInt(args[1]);
+		} else {
+			_rounds = DEFAULT_ROUNDS;
+		}
+
+		final Integer[] _pieces = new Integer[_workPieces * FAN_OUT + 1];
+
+		for (int _i = 0; _i < _pieces.length; _i++) {
+			_pieces[_i] = new Integer(_i);
+		}
+
+		final List<String> _names = new ArrayList<String>();
+		final List<IWorkBagFactory> _factories = new ArrayList<IWorkBagFactory>();
+		_names.add("FIFOWorkBag");
+		_factories.add(new IWorkBagFactory() {
+
+			public IWorkBag<Integer> create() {
+				return new FIFOWorkBag<Integer>();
+			}
+		});
+		_names.add("PoolAwareWorkBag(FIFOWorkBag)");
+		_factories.add(new IWorkBagFactory() {
+
+			public IWorkBag<Integer> create() {
+				return new PoolAwareWorkBag<Integer>(new FIFOWorkBag<Integer>());
+			}
+		});
+		_names.add("LIFOWorkBag");
+		_factories.add(new IWorkBagFactory() {
+
+			public IWorkBag<Integer> create() {
+				return new LIFOWorkBag<Integer>();
+			}
+		});
+		_names.add("RingBufferFIFOWorkBag(EQUALITY)");
+		_factories.add(new IWorkBagFactory() {
+
+			public IWorkBag<Integer> create() {
+				return new RingBufferFIFOWorkBag<Integer>(DuplicateCheck.EQUALITY);
+			}
+		});
+		_names.add("RingBufferFIFOWorkBag(IDENTITY)");
+		_factories.add(new IWorkBagFactory() {
+
+			public IWorkBag<Integer> create() {
+				return new RingBufferFIFOWorkBag<Integer>(DuplicateCheck.IDENTITY);
+			}
+		});
+		_names.add("RingBufferFIFOWorkBag(IIndexer)");
+		_factories.add(new IWorkBagFactory() {
+
+			public IWorkBag<Integer> create() {
+				return new RingBufferFIFOWorkBag<Integer>(INDEXER);
+			}
+		});
+		_names.add("RingBufferLIFOWorkBag(IIndexer)");
+		_factories.add(new IWorkBagFactory() {
+
+			public IWorkBag<Integer> create() {
+				return new RingBufferLIFOWorkBag<Integer>(INDEXER);
+			}
+		});
+
+		for (int _i = 0; _i < _factories.size(); _i++) {
+			final IWorkBagFactory _factory = _factories.get(_i);
+
+			// warm up
+			run(_factory.create(), _pieces, _workPieces / 10);
+
+			long _best = Long.MAX_VALUE;
+
+			for (int _j = 0; _j < _rounds; _j++) {
+				final long _start = System.nanoTime();
+				run(_factory.create(), _pieces, _workPieces);
+				_best = Math.min(_best, System.nanoTime() - _start);
+			}
+			System.out.println(_names.get(_i) + ": " + (_best / 1000000) + " ms (best of " + _rounds + ")");
+		}
+	}
+
+	/**
+	 * Pushes work pieces through the given bag.
+	 *
+	 * @param wb is the work bag.
+	 * @param pieces are the work pieces.
+	 * @param workPieces is the number of work pieces to be retrieved.
+	 * @pre wb != null and pieces != null
+	 * @pre pieces.length > workPieces * FAN_OUT
+	 */
+	private static void run(final IWorkBag<Integer> wb, final Integer[] pieces, final int workPieces) {
+		int _next = 1;
+		int _retrieved = 0;
+		wb.addWork(pieces[0]);
+
+		while (wb.hasWork() && _retrieved < workPieces) {
+			final int _current = wb.getWork().intValue();
+			_retrieved++;
+
+			for (int _k = 0; _k < FAN_OUT; _k++) {
+				// every other addition is a duplicate of a recently added work piece.
+				if ((_k & 1) == 0 || _next < FAN_OUT) {
+					wb.addWorkNoDuplicates(pieces[_next++]);
+				} else {
+					wb.addWorkNoDuplicates(pieces[Math.max(_current, _next - FAN_OUT)]);
+				}
+			}
+		}
+	}
+
+	///CLOVER:ON
+}
+
+// End of File
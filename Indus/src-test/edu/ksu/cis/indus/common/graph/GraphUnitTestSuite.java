@@ -71,6 +71,7 @@ public final class GraphUnitTestSuite {
 		_suite.addTestSuite(SimpleNodeGraphTest3.class);
 		_suite.addTestSuite(JikesBasedDirectedAndSimpleNodeGraphTest.class);
 		_suite.addTestSuite(JavacBasedDirectedAndSimpleNodeGraphTest.class);
+		_suite.addTestSuite(ReachabilityIndexTest.class);
 		//$JUnit-END$
 		TestHelper.appendSuiteNameToTestsIn(_suite, true);
 		_suite.setName(GraphUnitTestSuite.class.getName());
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.graph;
+
+import edu.ksu.cis.indus.IndusTestCase;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class tests the reachability indices of graphs against breadth-first search on randomly generated graphs. Cyclic
+ * graphs, acyclic graphs, and graphs with self loops are generated.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class ReachabilityIndexTest
+		extends IndusTestCase {
+
+	/**
+	 * The maximum average number of successors of a node in the generated graphs.
+	 */
+	private static final int MAX_AVERAGE_DEGREE = 4;
+
+	/**
+	 * The maximum number of nodes in the generated graphs.
+	 */
+	private static final int MAX_NO_OF_NODES = 60;
+
+	/**
+	 * The number of graphs generated in each test.
+	 */
+	private static final int NO_OF_GRAPHS = 50;
+
+	/**
+	 * The seed used to generate the graphs. A fixed seed makes the failures reproducible.
+	 */
+	private static final long SEED = 20070417L;
+
+	/**
+	 * Tests <code>DenseReachabilityIndex</code>.
+	 */
+	public void testDenseReachabilityIndex() {
+		checkReachability(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Tests <code>IntervalReachabilityIndex</code>.
+	 */
+	public void testIntervalReachabilityIndex() {
+		checkReachability(0);
+	}
+
+	/**
+	 * Checks the reachability queries of randomly generated graphs against breadth-first search.
+	 *
+	 * @param threshold is the compact reachability threshold of the graphs. This determines the index being tested.
+	 */
+	private static void checkReachability(final int threshold) {
+		final Random _random = new Random(SEED);
+
+		for (int _i = 0; _i < NO_OF_GRAPHS; _i++) {
+			final int _noOfNodes = 1 + _random.nextInt(MAX_NO_OF_NODES);
+			final boolean _acyclic = _i % 3 == 0;
+			final double _density = _random.nextDouble() * MAX_AVERAGE_DEGREE / _noOfNodes;
+			final SimpleNodeGraph<Integer> _graph = new SimpleNodeGraph<Integer>();
+			final List<SimpleNode<Integer>> _nodes = new ArrayList<SimpleNode<Integer>>();
+			final boolean[][] _edges = new boolean[_noOfNodes][_noOfNodes];
+
+			for (int _j = 0; _j < _noOfNodes; _j++) {
+				_nodes.add(_graph.getNode(Integer.valueOf(_j)));
+			}
+
+			for (int _j = 0; _j < _noOfNodes; _j++) {
+				for (int _k = 0; _k < _noOfNodes; _k++) {
+					if ((!_acyclic || _j < _k) && _random.nextDouble() < _density) {
+						_edges[_j][_k] = true;
+						_graph.addEdgeFromTo(_nodes.get(_j), _nodes.get(_k));
+					}
+				}
+			}
+			_graph.setCompactReachabilityThreshold(threshold);
+
+			final BitSet[] _forward = new BitSet[_noOfNodes];
+			final BitSet[] _backward = new BitSet[_noOfNodes];
+
+			for (int _j = 0; _j < _noOfNodes; _j++) {
+				_forward[_j] = search(_edges, _j, true);
+				_backward[_j] = search(_edges, _j, false);
+			}
+
+			for (int _j = 0; _j < _noOfNodes; _j++) {
+				final SimpleNode<Integer> _src = _nodes.get(_j);
+				final String _msg = "graph " + _i + ", node " + _j;
+				assertEquals(_msg, getNodes(_nodes, _forward[_j]), new HashSet<SimpleNode<Integer>>(_graph.getReachablesFrom(
+						_src, true)));
+				assertEquals(_msg, getNodes(_nodes, _backward[_j]), new HashSet<SimpleNode<Integer>>(_graph
+						.getReachablesFrom(_src, false)));
+
+				for (int _k = 0; _k < _noOfNodes; _k++) {
+					final SimpleNode<Integer> _dest = _nodes.get(_k);
+					assertEquals(_msg, _forward[_j].get(_k), _graph.isReachable(_src, _dest, true));
+					assertEquals(_msg, _backward[_j].get(_k), _graph.isReachable(_src, _dest, false));
+					assertEquals(_msg, _forward[_j].intersects(_forward[_k]), _graph.hasCommonReachablesFrom(_src, true,
+							_dest, true));
+					assertEquals(_msg, _forward[_j].intersects(_backward[_k]), _graph.hasCommonReachablesFrom(_src, true,
+							_dest, false));
+					assertEquals(_msg, _backward[_j].intersects(_backward[_k]), _graph.hasCommonReachablesFrom(_src, false,
+							_dest, false));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the nodes at the given indices.
+	 *
+	 * @param nodes is the list of nodes.
+	 * @param indices of the nodes of interest.
+	 * @return the nodes.
+	 */
+	private static Collection<SimpleNode<Integer>> getNodes(final List<SimpleNode<Integer>> nodes, final BitSet indices) {
+		final Collection<SimpleNode<Integer>> _result = new HashSet<SimpleNode<Integer>>();
+
+		for (int _i = indices.nextSetBit(0); _i >= 0; _i = indices.nextSetBit(_i + 1)) {
+			_result.add(nodes.get(_i));
+		}
+		return _result;
+	}
+
+	/**
+	 * Searches for the nodes reachable from the given node by a breadth-first search. A node is reachable from itself only
+	 * if it occurs in a cycle.
+	 *
+	 * @param edges is the adjacency matrix of the graph.
+	 * @param node is the index of the node to start from.
+	 * @param forward <code>true</code> indicates following the edges; <code>false</code> indicates following the edges in
+	 *            the reverse direction.
+	 * @return the indices of the reachable nodes.
+	 */
+	private static BitSet search(final boolean[][] edges, final int node, final boolean forward) {
+		final BitSet _result = new BitSet();
+		final List<Integer> _queue = new ArrayList<Integer>();
+		_queue.add(Integer.valueOf(node));
+
+		for (int _i = 0; _i < _queue.size(); _i++) {
+			final int _current = _queue.get(_i).intValue();
+
+			for (int _j = 0; _j < edges.length; _j++) {
+				final boolean _edge;
+
+				if (forward) {
+					_edge = edges[_current][_j];
+				} else {
+					_edge = edges[_j][_current];
+				}
+
+				if (_edge && !_result.get(_j)) {
+					_result.set(_j);
+					_queue.add(Integer.valueOf(_j));
+				}
+			}
+		}
+		return _result;
+	}
+}
+
+// End of File
@@ -102,6 +102,65 @@ public class SimpleNodeGraphTest
 		assertTrue(_nodes + " " + _t, _nodes.containsAll(_t) && _t.containsAll(_nodes));
 	}
 
+	/**
+	 * Tests <code>removeNode()</code> method.
+	 */
+	public void testRemoveNode() {
+		final List<SimpleNode<String>> _nodes = sng.getNodes();
+		final SimpleNode<String> _removed = _nodes.get(_nodes.size() / 2);
+		sng.getReachablesFrom(_removed, true);
+		assertTrue(sng.removeNode(_removed));
+		assertFalse(sng.getNodes().contains(_removed));
+		assertEquals(-1, sng.getNodes().indexOf(_removed));
+
+		// ensure the nodes are renumbered densely.
+		for (int _i = sng.getNodes().size() - 1; _i >= 0; _i--) {
+			assertEquals(_i, sng.getNodes().indexOf(sng.getNodes().get(_i)));
+		}
+
+		// ensure the analyses are not based on stale indices.
+		for (final SimpleNode<String> _node : sng.getNodes()) {
+			final Collection<SimpleNode<String>> _reachables = sng.getReachablesFrom(_node, true);
+			assertFalse(_reachables.contains(_removed));
+			assertTrue(sng.getNodes().containsAll(_reachables));
+
+			for (final SimpleNode<String> _succ : _node.getSuccsOf()) {
+				assertTrue(_reachables.contains(_succ));
+			}
+		}
+	}
+
+	/**
+	 * Tests that the compact reachability index agrees with the dense reachability index.
+	 */
+	public void testCompactReachabilityIndex() {
+		final List<SimpleNode<String>> _nodes = sng.getNodes();
+		final Map<SimpleNode<String>, Collection<SimpleNode<String>>> _forward = new HashMap<SimpleNode<String>, Collection<SimpleNode<String>>>();
+		final Map<SimpleNode<String>, Collection<SimpleNode<String>>> _backward = new HashMap<SimpleNode<String>, Collection<SimpleNode<String>>>();
+
+		for (final SimpleNode<String> _node : _nodes) {
+			_forward.put(_node, new HashSet<SimpleNode<String>>(sng.getReachablesFrom(_node, true)));
+			_backward.put(_node, new HashSet<SimpleNode<String>>(sng.getReachablesFrom(_node, false)));
+		}
+
+		sng.setCompactReachabilityThreshold(0);
+
+		for (final SimpleNode<String> _src : _nodes) {
+			assertEquals(_forward.get(_src), new HashSet<SimpleNode<String>>(sng.getReachablesFrom(_src, true)));
+			assertEquals(_backward.get(_src), new HashSet<SimpleNode<String>>(sng.getReachablesFrom(_src, false)));
+
+			for (final SimpleNode<String> _dest : _nodes) {
+				assertEquals(_forward.get(_src).contains(_dest), sng.isReachable(_src, _dest, true));
+				assertEquals(_backward.get(_src).contains(_dest), sng.isReachable(_src, _dest, false));
+
+				final Collection<SimpleNode<String>> _common = new HashSet<SimpleNode<String>>(_forward.get(_src));
+				_common.retainAll(_backward.get(_dest));
+				assertEquals(!_common.isEmpty(), sng.hasCommonReachablesFrom(_src, true, _dest, false));
+				assertEquals(_common, new HashSet<SimpleNode<String>>(sng.getCommonReachablesFrom(_src, true, _dest, false)));
+			}
+		}
+	}
+
 	/**
 	 * @see edu.ksu.cis.indus.common.graph.AbstractDirectedGraphTest#testGetTails()
 	 */
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+
+package edu.ksu.cis.indus.common.soot;
+
+import edu.ksu.cis.indus.IndusTestCase;
+import edu.ksu.cis.indus.common.collections.Stack;
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+
+import java.util.Collections;
+import java.util.EmptyStackException;
+import java.util.Iterator;
+
+import soot.Modifier;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.VoidType;
+import soot.jimple.InvokeExpr;
+import soot.jimple.Jimple;
+
+/**
+ * This class tests <code>CallString</code> class.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class CallStringTest
+		extends IndusTestCase {
+
+	/**
+	 * The call sites used in the tests.
+	 */
+	private CallTriple[] callSites;
+
+	/**
+	 * Tests that call strings built independently are equal to each other and have the same hash code as the equivalent
+	 * stacks.
+	 */
+	public void testEqualsAndHashCode() {
+		final Stack<CallTriple> _stack = new Stack<CallTriple>();
+		CallString _cs1 = CallString.EMPTY;
+		CallString _cs2 = CallString.EMPTY;
+
+		assertEquals(_stack.hashCode(), CallString.EMPTY.hashCode());
+
+		for (int _i = 0; _i < callSites.length; _i++) {
+			_stack.push(callSites[_i]);
+			_cs1 = _cs1.push(callSites[_i]);
+			_cs2 = _cs2.push(new CallTriple(callSites[_i].getMethod(), callSites[_i].getStmt(), callSites[_i].getExpr()));
+			assertEquals(_stack.hashCode(), _cs1.hashCode());
+			assertEquals(_cs1, _cs2);
+			assertEquals(_cs1.hashCode(), _cs2.hashCode());
+		}
+
+		final CallString _terminal = _cs1.push(null);
+		assertEquals(_terminal, _cs2.push(null));
+		_stack.push(null);
+		assertEquals(_stack.hashCode(), _terminal.hashCode());
+
+		assertFalse(_cs1.equals(_terminal));
+		assertFalse(_cs1.equals(_cs1.pop()));
+		assertFalse(_cs1.equals(CallString.EMPTY.push(callSites[1]).push(callSites[0]).push(callSites[2])));
+		assertFalse(_cs1.equals(_stack));
+		assertFalse(CallString.EMPTY.equals(null));
+	}
+
+	/**
+	 * Tests the stack operations and the sharing of call strings.
+	 */
+	public void testPushAndPop() {
+		assertTrue(CallString.EMPTY.isEmpty());
+		assertEquals(0, CallString.EMPTY.size());
+
+		final CallString _cs1 = CallString.EMPTY.push(callSites[0]);
+		final CallString _cs2 = _cs1.push(callSites[1]);
+		final CallString _cs3 = _cs1.push(callSites[2]);
+
+		assertFalse(_cs1.isEmpty());
+		assertEquals(1, _cs1.size());
+		assertEquals(2, _cs2.size());
+		assertSame(callSites[0], _cs1.peek());
+		assertSame(callSites[1], _cs2.peek());
+		assertSame(callSites[2], _cs3.peek());
+		assertSame(_cs1, _cs2.pop());
+		assertSame(_cs1, _cs3.pop());
+		assertSame(CallString.EMPTY, _cs1.pop());
+		assertNull(_cs3.push(null).peek());
+		assertEquals(3, _cs3.push(null).size());
+
+		try {
+			CallString.EMPTY.peek();
+			fail("Empty call strings do not have a top.");
+		} catch (final EmptyStackException _e) {
+			// this is expected.
+		}
+
+		try {
+			CallString.EMPTY.pop();
+			fail("Empty call strings cannot be popped.");
+		} catch (final EmptyStackException _e) {
+			// this is expected.
+		}
+	}
+
+	/**
+	 * Tests the iteration, reversal, and stringization of call strings.
+	 */
+	public void testReverseAndIterator() {
+		final Stack<CallTriple> _stack = new Stack<CallTriple>();
+		CallString _cs = CallString.EMPTY;
+
+		for (int _i = 0; _i < callSites.length; _i++) {
+			_stack.push(callSites[_i]);
+			_cs = _cs.push(callSites[_i]);
+		}
+
+		final Iterator<CallTriple> _j = _cs.iterator();
+
+		for (int _i = callSites.length - 1; _i >= 0; _i--) {
+			assertTrue(_j.hasNext());
+			assertSame(callSites[_i], _j.next());
+		}
+		assertFalse(_j.hasNext());
+		assertEquals(_stack.toString(), _cs.toString());
+
+		final CallString _reversed = _cs.reverse();
+		assertEquals(_cs.size(), _reversed.size());
+		assertSame(callSites[0], _reversed.peek());
+		assertEquals(_cs, _reversed.reverse());
+		assertSame(CallString.EMPTY, CallString.EMPTY.reverse());
+
+		Collections.reverse(_stack);
+		assertEquals(_stack.toString(), _reversed.toString());
+		assertEquals(_stack.hashCode(), _reversed.hashCode());
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override protected void setUp() throws Exception {
+		super.setUp();
+
+		final SootClass _sootClass = new SootClass("CallStringTestClass");
+		final SootMethod _callee = new SootMethod("callee", Collections.EMPTY_LIST, VoidType.v(), Modifier.STATIC);
+		_sootClass.addMethod(_callee);
+		callSites = new CallTriple[4];
+
+		for (int _i = 0; _i < callSites.length; _i++) {
+			final SootMethod _caller = new SootMethod("caller" + _i, Collections.EMPTY_LIST, VoidType.v(), Modifier.STATIC);
+			final InvokeExpr _expr = Jimple.v().newStaticInvokeExpr(_callee, Collections.EMPTY_LIST);
+			_sootClass.addMethod(_caller);
+			callSites[_i] = new CallTriple(_caller, Jimple.v().newInvokeStmt(_expr), _expr);
+		}
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		callSites = null;
+		super.tearDown();
+	}
+}
+
+// End of File
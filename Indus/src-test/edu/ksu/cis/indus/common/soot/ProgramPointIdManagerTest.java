@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.soot;
+
+import edu.ksu.cis.indus.IndusTestCase;
+import edu.ksu.cis.indus.common.datastructures.PackedIntPair;
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+
+import java.util.Collections;
+
+import soot.Modifier;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.VoidType;
+import soot.jimple.InvokeExpr;
+import soot.jimple.InvokeStmt;
+import soot.jimple.Jimple;
+import soot.jimple.Stmt;
+
+/**
+ * This class tests <code>ProgramPointIdManager</code> class.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class ProgramPointIdManagerTest
+		extends IndusTestCase {
+
+	/**
+	 * The instance under test.
+	 */
+	private ProgramPointIdManager manager;
+
+	/**
+	 * The class that declares the methods used in the tests.
+	 */
+	private SootClass sootClass;
+
+	/**
+	 * Tests the numbering of call triples.
+	 */
+	public void testCallTripleIds() {
+		final SootMethod _caller = createMethod("caller");
+		final SootMethod _callee = createMethod("callee");
+		final InvokeExpr _expr = Jimple.v().newStaticInvokeExpr(_callee, Collections.EMPTY_LIST);
+		final InvokeStmt _stmt = Jimple.v().newInvokeStmt(_expr);
+		final CallTriple _callerSide = new CallTriple(_caller, _stmt, _expr);
+		final CallTriple _calleeSide = new CallTriple(_callee, _stmt, _expr);
+
+		assertEquals(ProgramPointIdManager.UNKNOWN, manager.lookupId(_callerSide));
+		assertEquals(0, manager.getId(_callerSide));
+		assertEquals(1, manager.getId(_calleeSide));
+		assertEquals(0, manager.getId(new CallTriple(_caller, _stmt, _expr)));
+		assertEquals(1, manager.lookupId(_calleeSide));
+		assertSame(_callerSide, manager.getCallTriple(0));
+		assertEquals(2, manager.getNumberOfCallTriples());
+	}
+
+	/**
+	 * Tests the numbering of methods and program points.
+	 */
+	public void testProgramPointIds() {
+		final SootMethod _m1 = createMethod("m1");
+		final SootMethod _m2 = createMethod("m2");
+		final Stmt[] _stmts = new Stmt[10];
+
+		for (int _i = 0; _i < _stmts.length; _i++) {
+			_stmts[_i] = Jimple.v().newNopStmt();
+		}
+
+		assertEquals(ProgramPointIdManager.UNKNOWN, manager.lookupMethodId(_m1));
+		assertEquals(ProgramPointIdManager.UNKNOWN, manager.lookupId(_stmts[0], _m1));
+
+		for (int _i = 0; _i < _stmts.length; _i++) {
+			assertEquals(2 * _i, manager.getId(_stmts[_i], _m1));
+			assertEquals(2 * _i + 1, manager.getId(_stmts[_i], _m2));
+		}
+
+		assertEquals(0, manager.getMethodId(_m1));
+		assertEquals(1, manager.lookupMethodId(_m2));
+		assertSame(_m2, manager.getMethod(1));
+		assertEquals(2, manager.getNumberOfMethods());
+		assertEquals(2 * _stmts.length, manager.getNumberOfProgramPoints());
+		assertEquals(_stmts.length, manager.getNumberOfStmts(0));
+
+		for (int _i = 0; _i < _stmts.length; _i++) {
+			final int _id = manager.lookupId(_stmts[_i], _m2);
+			assertEquals(2 * _i + 1, _id);
+			assertSame(_stmts[_i], manager.getStmt(_id));
+			assertSame(_m2, manager.getMethodOf(_id));
+			assertEquals(1, manager.getMethodIdOf(_id));
+			assertEquals(_i, manager.getStmtIndexOf(_id));
+			assertEquals(_i, manager.getStmtIndex(_stmts[_i], _m2));
+			assertEquals(PackedIntPair.pack(1, _i), manager.getPackedProgramPoint(_stmts[_i], _m2));
+			assertEquals(PackedIntPair.pack(1, _i), manager.getProgramPoint(_id));
+		}
+
+		// numbering a statement does not assign a global id to the program point.
+		final Stmt _stmt = Jimple.v().newNopStmt();
+		assertEquals(_stmts.length, manager.getStmtIndex(_stmt, _m1));
+		assertEquals(ProgramPointIdManager.UNKNOWN, manager.lookupId(_stmt, _m1));
+
+		try {
+			manager.getStmt(2 * _stmts.length);
+			fail("Invalid program point ids should be rejected.");
+		} catch (final IndexOutOfBoundsException _e) {
+			// this is expected.
+		}
+
+		manager.reset();
+		assertEquals(0, manager.getNumberOfMethods());
+		assertEquals(0, manager.getNumberOfProgramPoints());
+		assertEquals(ProgramPointIdManager.UNKNOWN, manager.lookupId(_stmts[0], _m1));
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override protected void setUp() throws Exception {
+		super.setUp();
+		manager = new ProgramPointIdManager();
+		sootClass = new SootClass("ProgramPointIdManagerTestClass");
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		manager = null;
+		sootClass = null;
+		super.tearDown();
+	}
+
+	/**
+	 * Creates a static method with the given name in <code>sootClass</code>.
+	 *
+	 * @param name of the method.
+	 * @return a new method.
+	 */
+	private SootMethod createMethod(final String name) {
+		final SootMethod _result = new SootMethod(name, Collections.EMPTY_LIST, VoidType.v(), Modifier.STATIC);
+		sootClass.addMethod(_result);
+		return _result;
+	}
+}
+
+// End of File
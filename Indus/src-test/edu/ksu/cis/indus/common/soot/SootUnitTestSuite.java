@@ -67,6 +67,8 @@ public final class SootUnitTestSuite {
 		_suite.addTestSuite(UtilTest.class);
 		_suite.addTestSuite(UnitGraphFactoryTest.class);
 		_suite.addTestSuite(NamedTagTest.class);
+		_suite.addTestSuite(ProgramPointIdManagerTest.class);
+		_suite.addTestSuite(CallStringTest.class);
 		_suite.addTest(BasicBlockGraphTest.getTests());
 		//$JUnit-END$
 		TestHelper.appendSuiteNameToTestsIn(_suite, true);
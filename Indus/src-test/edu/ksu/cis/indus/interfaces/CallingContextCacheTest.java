@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.interfaces;
+
+import edu.ksu.cis.indus.IndusTestCase;
+import edu.ksu.cis.indus.common.soot.CallString;
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+import edu.ksu.cis.indus.processing.Context;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import soot.Modifier;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.VoidType;
+import soot.jimple.InvokeExpr;
+import soot.jimple.Jimple;
+
+/**
+ * This class tests <code>CallingContextCache</code> class and its use in <code>AbstractCallingContextRetriever</code>.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class CallingContextCacheTest
+		extends IndusTestCase {
+
+	/**
+	 * This is a retriever that propagates the same token to all callers except callers named with a "discard" or "accept"
+	 * prefix. For these callers, it discards the context or accepts the context as a terminal context, respectively.
+	 *
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$ $Date$
+	 */
+	private static class TestRetriever
+			extends AbstractCallingContextRetriever {
+
+		/**
+		 * Creates an instance of this class.
+		 *
+		 * @param callingContextLengthLimit is the limit on the length of the generated calling contexts.
+		 */
+		TestRetriever(final int callingContextLengthLimit) {
+			super(callingContextLengthLimit);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override protected boolean considerThis(final Context methodContext) {
+			return true;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override protected Object getCallerSideToken(final Object token, final SootMethod callee,
+				final CallTriple callsite, final CallString calleeCallStack) {
+			final String _callerName = callsite.getMethod().getName();
+			final Object _result;
+
+			if (_callerName.startsWith("discard")) {
+				_result = Tokens.DISCARD_CONTEXT_TOKEN;
+			} else if (_callerName.startsWith("accept")) {
+				_result = Tokens.ACCEPT_TERMINAL_CONTEXT_TOKEN;
+			} else {
+				_result = token;
+			}
+			return _result;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override protected Object getTokenForThis(final Context methodContext) {
+			return "this";
+		}
+	}
+
+	/**
+	 * The call graph used by the retrievers.
+	 */
+	private ICallGraphInfo callGraph;
+
+	/**
+	 * The call sites used in the tests.
+	 */
+	private CallTriple[] callSites;
+
+	/**
+	 * The methods of the call graph that are called.
+	 */
+	private SootMethod[] callees;
+
+	/**
+	 * Tests that the contexts retrieved with a cache are equal to those retrieved without a cache and that repeated
+	 * retrievals are served from the cache.
+	 */
+	public void testCachedAndUncachedContextsAreEqual() {
+		final CallingContextCache _cache = new CallingContextCache(100, 100);
+
+		for (int _limit = 1; _limit < 6; _limit++) {
+			final TestRetriever _uncached = createRetriever(_limit);
+			final TestRetriever _cached = createRetriever(_limit);
+			_cached.setContextCache(_cache);
+
+			for (int _i = 0; _i < callees.length; _i++) {
+				final Context _context = new Context();
+				_context.setRootMethod(callees[_i]);
+
+				final Collection<CallString> _expected = _uncached.getCallingContextsForThis(_context);
+				final Collection<CallString> _actual = _cached.getCallingContextsForThis(_context);
+				assertEquals(_expected, new HashSet<CallString>(_actual));
+				assertEquals(_expected, _uncached.getCallingContextsForThis(_context));
+				assertSame(_actual, _cached.getCallingContextsForThis(_context));
+			}
+		}
+		assertEquals(5 * callees.length, _cache.size());
+		assertEquals(5 * callees.length, _cache.getStatistics().getHitCount());
+		assertTrue(_cache.getCallStringReuseRatio() > 0);
+	}
+
+	/**
+	 * Tests that the contexts retrieved by a retriever do not depend on the contexts it retrieved earlier.
+	 */
+	public void testContextsAreIndependentOfEarlierRetrievals() {
+		for (int _limit = 1; _limit < 6; _limit++) {
+			final TestRetriever _forward = createRetriever(_limit);
+			final TestRetriever _backward = createRetriever(_limit);
+
+			for (int _i = 0; _i < callees.length; _i++) {
+				final Context _context = new Context();
+				_context.setRootMethod(callees[_i]);
+
+				final Collection<CallString> _expected = createRetriever(_limit).getCallingContextsForThis(_context);
+				assertEquals(_expected, _forward.getCallingContextsForThis(_context));
+				_context.setRootMethod(callees[callees.length - _i - 1]);
+				assertEquals(createRetriever(_limit).getCallingContextsForThis(_context), _backward
+						.getCallingContextsForThis(_context));
+			}
+		}
+	}
+
+	/**
+	 * Tests the caching of contexts by qualifier, method, and token.
+	 */
+	public void testGetAndPut() {
+		final CallingContextCache _cache = new CallingContextCache(10, 10);
+		final Collection<CallString> _contexts = Collections.singleton(CallString.EMPTY.push(callSites[0]));
+		final Object _qualifier = createRetriever(2).getContextCacheQualifier();
+
+		assertNull(_cache.get(_qualifier, callees[0], "this"));
+		_cache.put(_qualifier, callees[0], "this", _contexts);
+		assertSame(_contexts, _cache.get(_qualifier, callees[0], "this"));
+		assertSame(_contexts, _cache.get(createRetriever(2).getContextCacheQualifier(), callees[0], "this"));
+		assertNull(_cache.get(createRetriever(3).getContextCacheQualifier(), callees[0], "this"));
+		assertNull(_cache.get(_qualifier, callees[1], "this"));
+		assertNull(_cache.get(_qualifier, callees[0], "that"));
+		assertEquals(1, _cache.size());
+
+		_cache.clear();
+		assertEquals(0, _cache.size());
+		assertNull(_cache.get(_qualifier, callees[0], "this"));
+	}
+
+	/**
+	 * Tests that the qualifier of the contexts depends on the class of the retriever and the limit on the length of the
+	 * contexts.
+	 */
+	public void testGetContextCacheQualifier() {
+		final TestRetriever _retriever = createRetriever(2);
+		final TestRetriever _subclassRetriever = new TestRetriever(2) {
+			// this is a subclass of TestRetriever.
+		};
+
+		assertEquals(_retriever.getContextCacheQualifier(), createRetriever(2).getContextCacheQualifier());
+		assertEquals(_retriever.getContextCacheQualifier().hashCode(), createRetriever(2).getContextCacheQualifier()
+				.hashCode());
+		assertFalse(_retriever.getContextCacheQualifier().equals(createRetriever(3).getContextCacheQualifier()));
+		assertFalse(_retriever.getContextCacheQualifier().equals(_subclassRetriever.getContextCacheQualifier()));
+	}
+
+	/**
+	 * Tests that reversed call strings are interned in the trie and share their prefixes.
+	 */
+	public void testReverse() {
+		final CallingContextCache _cache = new CallingContextCache(10, 10);
+		final CallString _cs1 = CallString.EMPTY.push(callSites[0]).push(callSites[1]).push(callSites[2]);
+		final CallString _cs2 = CallString.EMPTY.push(callSites[3]).push(callSites[1]).push(callSites[2]);
+		final CallString _reversed1 = _cache.reverse(_cs1);
+		final CallString _reversed2 = _cache.reverse(_cs2);
+
+		assertEquals(_cs1.reverse(), _reversed1);
+		assertEquals(_cs2.reverse(), _reversed2);
+		assertSame(_reversed1, _cache.reverse(_cs1));
+		assertSame(_reversed1, _cache.reverse(CallString.EMPTY.push(callSites[0]).push(callSites[1]).push(callSites[2])));
+		assertSame(_reversed1.pop(), _reversed2.pop());
+		assertSame(CallString.EMPTY, _cache.reverse(CallString.EMPTY));
+		assertEquals(4, _cache.getNumberOfCallStrings());
+	}
+
+	/**
+	 * Tests the ratio of reused call strings.
+	 */
+	public void testReuseRatio() {
+		final CallingContextCache _cache = new CallingContextCache(10, 10);
+		final CallString _cs = CallString.EMPTY.push(callSites[0]).push(callSites[1]);
+
+		assertEquals(0, _cache.getCallStringReuseRatio(), 0);
+		_cache.reverse(_cs);
+		assertEquals(0, _cache.getCallStringReuseRatio(), 0);
+		_cache.reverse(_cs);
+		assertEquals(0.5, _cache.getCallStringReuseRatio(), 0);
+
+		_cache.clear();
+		assertEquals(0.5, _cache.getCallStringReuseRatio(), 0);
+	}
+
+	/**
+	 * Tests that the trie is reset when it reaches its maximum size and that the reversed call strings are correct
+	 * regardless of the reset.
+	 */
+	public void testTrieReset() {
+		final CallingContextCache _cache = new CallingContextCache(10, 2);
+		final CallString _cs = CallString.EMPTY.push(callSites[0]).push(callSites[1]).push(callSites[2]);
+
+		final CallString _reversed1 = _cache.reverse(_cs);
+		assertEquals(_cs.reverse(), _reversed1);
+		assertEquals(0, _cache.getNumberOfCallStrings());
+
+		final CallString _reversed2 = _cache.reverse(_cs);
+		assertEquals(_cs.reverse(), _reversed2);
+		assertNotSame(_reversed1.pop(), _reversed2.pop());
+		assertEquals(0, _cache.getNumberOfCallStrings());
+
+		final CallString _shorter = CallString.EMPTY.push(callSites[1]).push(callSites[2]);
+		final CallString _reversed3 = _cache.reverse(_shorter);
+		assertEquals(_shorter.reverse(), _reversed3);
+		assertEquals(2, _cache.getNumberOfCallStrings());
+		assertSame(_reversed3, _cache.reverse(_shorter));
+
+		_cache.clear();
+		assertEquals(0, _cache.getNumberOfCallStrings());
+		assertNotSame(_reversed3, _cache.reverse(_shorter));
+	}
+
+	/**
+	 * Sets up the following call graph in which a, b, and c are the callees.
+	 *
+	 * <pre>
+	 * main -&gt; a, main -&gt; b, a -&gt; c, b -&gt; c, c -&gt; b, discard -&gt; c, accept -&gt; a
+	 * </pre>
+	 *
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override protected void setUp() throws Exception {
+		super.setUp();
+
+		final SootClass _sootClass = new SootClass("CallingContextCacheTestClass");
+		final SootMethod _main = createMethod(_sootClass, "main");
+		final SootMethod _a = createMethod(_sootClass, "a");
+		final SootMethod _b = createMethod(_sootClass, "b");
+		final SootMethod _c = createMethod(_sootClass, "c");
+		final SootMethod _discard = createMethod(_sootClass, "discard");
+		final SootMethod _accept = createMethod(_sootClass, "accept");
+		final Map<SootMethod, Collection<CallTriple>> _callee2callers = new HashMap<SootMethod, Collection<CallTriple>>();
+
+		callees = new SootMethod[] {_a, _b, _c};
+		callSites = new CallTriple[] {createCallSite(_main, _a, _callee2callers), createCallSite(_main, _b, _callee2callers),
+				createCallSite(_a, _c, _callee2callers), createCallSite(_b, _c, _callee2callers),
+				createCallSite(_c, _b, _callee2callers), createCallSite(_discard, _c, _callee2callers),
+				createCallSite(_accept, _a, _callee2callers)};
+		callGraph = (ICallGraphInfo) Proxy.newProxyInstance(ICallGraphInfo.class.getClassLoader(),
+				new Class<?>[] {ICallGraphInfo.class}, new InvocationHandler() {
+
+					public Object invoke(final Object proxy, final Method method, final Object[] args) {
+						if (!method.getName().equals("getCallers")) {
+							throw new UnsupportedOperationException(method.getName() + " is unsupported.");
+						}
+
+						Collection<CallTriple> _result = _callee2callers.get(args[0]);
+
+						if (_result == null) {
+							_result = Collections.emptySet();
+						}
+						return _result;
+					}
+				});
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		callGraph = null;
+		callSites = null;
+		callees = null;
+		super.tearDown();
+	}
+
+	/**
+	 * Creates a call site in the given caller that calls the given callee.
+	 *
+	 * @param caller of interest.
+	 * @param callee of interest.
+	 * @param callee2callers maps callees to their call sites. This is updated with the created call site.
+	 * @return the call site.
+	 */
+	private CallTriple createCallSite(final SootMethod caller, final SootMethod callee,
+			final Map<SootMethod, Collection<CallTriple>> callee2callers) {
+		final InvokeExpr _expr = Jimple.v().newStaticInvokeExpr(callee, Collections.EMPTY_LIST);
+		final CallTriple _result = new CallTriple(caller, Jimple.v().newInvokeStmt(_expr), _expr);
+		Collection<CallTriple> _callers = callee2callers.get(callee);
+
+		if (_callers == null) {
+			_callers = new ArrayList<CallTriple>();
+			callee2callers.put(callee, _callers);
+		}
+		_callers.add(_result);
+		return _result;
+	}
+
+	/**
+	 * Creates a static method with the given name in the given class.
+	 *
+	 * @param sootClass in which the method should be created.
+	 * @param name of the method.
+	 * @return the method.
+	 */
+	private SootMethod createMethod(final SootClass sootClass, final String name) {
+		final SootMethod _result = new SootMethod(name, Collections.EMPTY_LIST, VoidType.v(), Modifier.STATIC);
+		sootClass.addMethod(_result);
+		return _result;
+	}
+
+	/**
+	 * Creates a retriever that uses the call graph of this test.
+	 *
+	 * @param limit on the length of the calling contexts.
+	 * @return the retriever.
+	 */
+	private TestRetriever createRetriever(final int limit) {
+		final TestRetriever _result = new TestRetriever(limit);
+		_result.setCallGraph(callGraph);
+		return _result;
+	}
+}
+
+// End of File
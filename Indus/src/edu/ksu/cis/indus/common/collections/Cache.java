@@ -25,13 +25,15 @@ import java.util.Map;
 /**
  * This is a least-recently-accessed algorithm based cache implementation.
  * 
+ * @deprecated This cache is not thread-safe and does not provide statistics. Use <code>ConcurrentCache</code> instead.
+ * 
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
  * @version $Revision$ $Date$
  * @param <K> the type of the key in this cache.
  * @param <V> the type of the value in this cache.
  */
-public final class Cache<K, V>
+@Deprecated public final class Cache<K, V>
 		extends LinkedHashMap<K, V> {
 
 	/**
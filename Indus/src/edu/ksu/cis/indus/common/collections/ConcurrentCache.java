@@ -0,0 +1,666 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.collections;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.NonNull;
+import edu.ksu.cis.indus.annotations.NumericalConstraint;
+import edu.ksu.cis.indus.annotations.NumericalConstraint.NumericalValue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This is a bounded cache that can be accessed concurrently. The entries are distributed over independently locked segments
+ * based on the hash code of their keys. Each segment admits new entries into a small least-recently-used window. An entry
+ * evicted from the window is admitted into the main least-recently-used region of the segment only if it has been accessed
+ * more often than the entry it would displace (W-TinyLFU). The access frequencies are approximated by a count-min sketch
+ * that is periodically aged. Hence, entries that are accessed often are retained even in the presence of scans.
+ * <p>
+ * <code>null</code> keys and values are not supported. The statistics about the use of the cache can be used to size it.
+ * </p>
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ * @param <K> the type of the key in this cache.
+ * @param <V> the type of the value in this cache.
+ */
+public final class ConcurrentCache<K, V> {
+
+	/**
+	 * This is a segment of the cache.
+	 *
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$ $Date$
+	 * @param <K> the type of the key in this segment.
+	 * @param <V> the type of the value in this segment.
+	 */
+	private static final class Segment<K, V>
+			extends ReentrantLock {
+
+		/**
+		 * The serial version UID.
+		 */
+		private static final long serialVersionUID = -5271542698817436421L;
+
+		/**
+		 * The number of entries this segment will hold.
+		 */
+		private int capacity;
+
+		/**
+		 * The main region of this segment in least-recently-accessed order.
+		 */
+		@NonNull private final LinkedHashMap<K, V> main = new LinkedHashMap<K, V>(16, 0.75f, true);
+
+		/**
+		 * The approximate access frequencies of the keys.
+		 */
+		@NonNull private final FrequencySketch sketch = new FrequencySketch();
+
+		/**
+		 * The admission window of this segment in least-recently-accessed order.
+		 */
+		@NonNull private final LinkedHashMap<K, V> window = new LinkedHashMap<K, V>(16, 0.75f, true);
+
+		/**
+		 * The number of entries the admission window will hold.
+		 */
+		private int windowCapacity;
+
+		/**
+		 * Creates an instance of this class.
+		 *
+		 * @param theCapacity is the number of entries this segment will hold.
+		 */
+		Segment(@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int theCapacity) {
+			setCapacity(theCapacity);
+		}
+
+		/**
+		 * Retrieves the value of the given key.
+		 *
+		 * @param key of interest.
+		 * @param hash is the hash code of <code>key</code>.
+		 * @return the value of <code>key</code>, if it exists; <code>null</code>, otherwise.
+		 * @pre isHeldByCurrentThread()
+		 */
+		V get(@NonNull final K key, final int hash) {
+			sketch.increment(hash);
+
+			V _result = window.get(key);
+
+			if (_result == null) {
+				_result = main.get(key);
+			}
+			return _result;
+		}
+
+		/**
+		 * Puts the given mapping into the segment.
+		 *
+		 * @param key of interest.
+		 * @param value of interest.
+		 * @param hash is the hash code of <code>key</code>.
+		 * @return the number of entries evicted.
+		 * @pre isHeldByCurrentThread()
+		 */
+		int put(@NonNull final K key, @NonNull final V value, final int hash) {
+			sketch.increment(hash);
+
+			int _result = 0;
+
+			if (main.containsKey(key)) {
+				main.put(key, value);
+			} else if (capacity > 0) {
+				window.put(key, value);
+				_result = evict();
+			}
+			return _result;
+		}
+
+		/**
+		 * Removes all entries of this segment.
+		 *
+		 * @pre isHeldByCurrentThread()
+		 */
+		void clear() {
+			window.clear();
+			main.clear();
+			sketch.clear();
+		}
+
+		/**
+		 * Sets the number of entries this segment will hold. One hundredth of the capacity is used as the admission window.
+		 *
+		 * @param theCapacity is the number of entries.
+		 * @return the number of entries evicted.
+		 * @pre isHeldByCurrentThread() or the segment is not shared
+		 */
+		int setCapacity(@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int theCapacity) {
+			capacity = theCapacity;
+			windowCapacity = Math.min(capacity, Math.max(1, capacity / 100));
+			sketch.ensureCapacity(capacity);
+
+			int _result = 0;
+
+			while (main.size() > capacity - windowCapacity) {
+				main.remove(main.keySet().iterator().next());
+				_result++;
+			}
+			return _result + evict();
+		}
+
+		/**
+		 * Retrieves the number of entries in this segment.
+		 *
+		 * @return the number of entries.
+		 * @pre isHeldByCurrentThread()
+		 */
+		int size() {
+			return window.size() + main.size();
+		}
+
+		/**
+		 * Moves entries from the window into the main region until the window is within it's capacity. If the main region is
+		 * full, the more frequently accessed of the candidate from the window and the least recently accessed entry in the
+		 * main region is retained.
+		 *
+		 * @return the number of entries evicted.
+		 */
+		private int evict() {
+			final int _mainCapacity = capacity - windowCapacity;
+			int _result = 0;
+
+			while (window.size() > windowCapacity) {
+				final K _candidate = window.keySet().iterator().next();
+				final V _value = window.remove(_candidate);
+
+				if (main.size() < _mainCapacity) {
+					main.put(_candidate, _value);
+				} else {
+					if (_mainCapacity > 0) {
+						final K _victim = main.keySet().iterator().next();
+
+						if (sketch.frequency(spread(_candidate.hashCode())) > sketch.frequency(spread(_victim.hashCode()))) {
+							main.remove(_victim);
+							main.put(_candidate, _value);
+						}
+					}
+					_result++;
+				}
+			}
+			return _result;
+		}
+	}
+
+	/**
+	 * This is a count-min sketch of saturating counters that approximates the frequency of access of keys. The counters are
+	 * halved once the number of recorded accesses reaches ten times the capacity of the sketch. Hence, the sketch favors
+	 * recent accesses.
+	 *
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$ $Date$
+	 */
+	private static final class FrequencySketch {
+
+		/**
+		 * The number of counters per key that the sketch can approximate.
+		 */
+		private static final int COUNTERS_PER_KEY = 16;
+
+		/**
+		 * The maximum value of a counter.
+		 */
+		private static final int MAX_COUNT = 15;
+
+		/**
+		 * The seeds used to derive the indices of the counters of a key.
+		 */
+		private static final int[] SEEDS = { 0x97cb3127, 0xb492b66f, 0x9ae16a3b, 0xc2b2ae35, };
+
+		/**
+		 * The counters.
+		 */
+		private byte[] counters = new byte[0];
+
+		/**
+		 * The number of accesses after which the counters are halved.
+		 */
+		private int sampleSize;
+
+		/**
+		 * The number of accesses since the counters were last halved.
+		 */
+		private int samples;
+
+		/**
+		 * Resets the counters.
+		 */
+		void clear() {
+			Arrays.fill(counters, (byte) 0);
+			samples = 0;
+		}
+
+		/**
+		 * Ensures that the sketch can approximate the frequencies of the given number of keys.
+		 *
+		 * @param capacity is the number of keys.
+		 */
+		void ensureCapacity(@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int capacity) {
+			final long _required = (long) capacity * COUNTERS_PER_KEY;
+			int _length = 64;
+
+			while (_length < _required && _length < (1 << 26)) {
+				_length <<= 1;
+			}
+
+			if (_length > counters.length) {
+				counters = new byte[_length];
+				samples = 0;
+			}
+			sampleSize = 10 * Math.max(capacity, 1);
+		}
+
+		/**
+		 * Retrieves the approximate frequency of the key with the given hash code.
+		 *
+		 * @param hash is the hash code of the key.
+		 * @return the frequency.
+		 */
+		@Functional int frequency(final int hash) {
+			int _result = MAX_COUNT;
+
+			for (int _i = 0; _i < SEEDS.length; _i++) {
+				_result = Math.min(_result, counters[indexOf(hash, _i)]);
+			}
+			return _result;
+		}
+
+		/**
+		 * Records an access of the key with the given hash code.
+		 *
+		 * @param hash is the hash code of the key.
+		 */
+		void increment(final int hash) {
+			for (int _i = 0; _i < SEEDS.length; _i++) {
+				final int _index = indexOf(hash, _i);
+
+				if (counters[_index] < MAX_COUNT) {
+					counters[_index]++;
+				}
+			}
+
+			if (++samples >= sampleSize) {
+				for (int _i = counters.length - 1; _i >= 0; _i--) {
+					counters[_i] >>>= 1;
+				}
+				samples /= 2;
+			}
+		}
+
+		/**
+		 * Retrieves the index of the counter of the key with the given hash code in the given row of the sketch.
+		 *
+		 * @param hash is the hash code of the key.
+		 * @param row of the sketch.
+		 * @return the index of the counter.
+		 */
+		@Functional private int indexOf(final int hash, final int row) {
+			int _h = (hash + SEEDS[row]) * SEEDS[row];
+			_h ^= _h >>> 16;
+			_h *= 0x85ebca6b;
+			_h ^= _h >>> 13;
+			return _h & (counters.length - 1);
+		}
+	}
+
+	/**
+	 * This is an immutable snapshot of the statistics about the use of a cache.
+	 *
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$ $Date$
+	 */
+	public static final class Statistics {
+
+		/**
+		 * The number of evicted entries.
+		 */
+		private final long evictions;
+
+		/**
+		 * The number of lookups that found an entry.
+		 */
+		private final long hits;
+
+		/**
+		 * The number of lookups that did not find an entry.
+		 */
+		private final long misses;
+
+		/**
+		 * Creates an instance of this class.
+		 *
+		 * @param theHits is the number of lookups that found an entry.
+		 * @param theMisses is the number of lookups that did not find an entry.
+		 * @param theEvictions is the number of evicted entries.
+		 */
+		Statistics(final long theHits, final long theMisses, final long theEvictions) {
+			hits = theHits;
+			misses = theMisses;
+			evictions = theEvictions;
+		}
+
+		/**
+		 * Retrieves the number of evicted entries.
+		 *
+		 * @return the number of evicted entries.
+		 */
+		@Functional public long getEvictionCount() {
+			return evictions;
+		}
+
+		/**
+		 * Retrieves the number of lookups that found an entry.
+		 *
+		 * @return the number of hits.
+		 */
+		@Functional public long getHitCount() {
+			return hits;
+		}
+
+		/**
+		 * Retrieves the ratio of lookups that found an entry.
+		 *
+		 * @return the hit rate. It is <i>1</i> if there have been no lookups.
+		 * @post 0 <= result and result <= 1
+		 */
+		@Functional public double getHitRate() {
+			final long _lookups = hits + misses;
+			final double _result;
+
+			if (_lookups == 0) {
+				_result = 1;
+			} else {
+				_result = (double) hits / _lookups;
+			}
+			return _result;
+		}
+
+		/**
+		 * Retrieves the number of lookups that did not find an entry.
+		 *
+		 * @return the number of misses.
+		 */
+		@Functional public long getMissCount() {
+			return misses;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Functional @Override public String toString() {
+			return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", hit rate=" + getHitRate();
+		}
+	}
+
+	/**
+	 * The maximum number of segments in a cache.
+	 */
+	private static final int MAX_SEGMENTS = 16;
+
+	/**
+	 * The number of evicted entries.
+	 */
+	@NonNull private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * The number of lookups that found an entry.
+	 */
+	@NonNull private final AtomicLong hits = new AtomicLong();
+
+	/**
+	 * The number of entries this cache will hold.
+	 */
+	private volatile int maximumSize;
+
+	/**
+	 * The number of lookups that did not find an entry.
+	 */
+	@NonNull private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * The segments of this cache.
+	 */
+	@NonNull private final Segment<K, V>[] segments;
+
+	/**
+	 * Creates an instance of this class that can be accessed by as many threads as there are processors without contention.
+	 *
+	 * @param maxSize is the number of entries this cache will hold.
+	 */
+	public ConcurrentCache(@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int maxSize) {
+		this(maxSize, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates an instance of this class. The number of segments depends only on the concurrency level; hence, it is
+	 * unaffected by later changes to the maximum size of the cache.
+	 *
+	 * @param maxSize is the number of entries this cache will hold.
+	 * @param concurrencyLevel is the expected number of threads that will access the cache concurrently.
+	 */
+	public ConcurrentCache(
+			@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int maxSize,
+			@NumericalConstraint(value = NumericalValue.POSITIVE) final int concurrencyLevel) {
+		int _noOfSegments = 1;
+
+		while (_noOfSegments < MAX_SEGMENTS && _noOfSegments < concurrencyLevel) {
+			_noOfSegments <<= 1;
+		}
+		@SuppressWarnings("unchecked") final Segment<K, V>[] _segments = new Segment[_noOfSegments];
+		segments = _segments;
+		maximumSize = maxSize;
+
+		for (int _i = 0; _i < _noOfSegments; _i++) {
+			segments[_i] = new Segment<K, V>(segmentCapacity(maxSize, _i));
+		}
+	}
+
+	/**
+	 * Removes all entries from this cache. The statistics are retained.
+	 */
+	public void clear() {
+		for (int _i = 0; _i < segments.length; _i++) {
+			final Segment<K, V> _segment = segments[_i];
+			_segment.lock();
+
+			try {
+				_segment.clear();
+			} finally {
+				_segment.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the value of the given key.
+	 *
+	 * @param key of interest.
+	 * @return the value of <code>key</code>, if it is cached; <code>null</code>, otherwise.
+	 */
+	public V get(@NonNull final K key) {
+		final int _hash = spread(key.hashCode());
+		final Segment<K, V> _segment = segmentFor(_hash);
+		final V _result;
+		_segment.lock();
+
+		try {
+			_result = _segment.get(key, _hash);
+		} finally {
+			_segment.unlock();
+		}
+
+		if (_result == null) {
+			misses.incrementAndGet();
+		} else {
+			hits.incrementAndGet();
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the number of entries this cache will hold.
+	 *
+	 * @return the number of entries.
+	 */
+	@Functional public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Retrieves the statistics about the use of this cache.
+	 *
+	 * @return the statistics.
+	 */
+	@NonNull @Functional public Statistics getStatistics() {
+		return new Statistics(hits.get(), misses.get(), evictions.get());
+	}
+
+	/**
+	 * Caches the given mapping. The mapping may not be retained if the cache is full and the key has not been accessed as
+	 * often as the cached keys.
+	 *
+	 * @param key of interest.
+	 * @param value of interest.
+	 */
+	public void put(@NonNull final K key, @NonNull final V value) {
+		final int _hash = spread(key.hashCode());
+		final Segment<K, V> _segment = segmentFor(_hash);
+		final int _evicted;
+		_segment.lock();
+
+		try {
+			_evicted = _segment.put(key, value, _hash);
+		} finally {
+			_segment.unlock();
+		}
+
+		if (_evicted > 0) {
+			evictions.addAndGet(_evicted);
+		}
+	}
+
+	/**
+	 * Sets the number of entries this cache will hold. Entries are evicted if the cache holds more entries.
+	 *
+	 * @param maxSize is the number of entries.
+	 */
+	public void setMaximumSize(@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int maxSize) {
+		maximumSize = maxSize;
+
+		for (int _i = 0; _i < segments.length; _i++) {
+			final Segment<K, V> _segment = segments[_i];
+			final int _evicted;
+			_segment.lock();
+
+			try {
+				_evicted = _segment.setCapacity(segmentCapacity(maxSize, _i));
+			} finally {
+				_segment.unlock();
+			}
+
+			if (_evicted > 0) {
+				evictions.addAndGet(_evicted);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the number of entries in this cache.
+	 *
+	 * @return the number of entries.
+	 */
+	public int size() {
+		int _result = 0;
+
+		for (int _i = 0; _i < segments.length; _i++) {
+			final Segment<K, V> _segment = segments[_i];
+			_segment.lock();
+
+			try {
+				_result += _segment.size();
+			} finally {
+				_segment.unlock();
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override public String toString() {
+		return "ConcurrentCache[size=" + size() + ", maximum size=" + maximumSize + ", " + getStatistics() + "]";
+	}
+
+	/**
+	 * Spreads the bits of the given hash code.
+	 *
+	 * @param hash to be spread.
+	 * @return the spread hash code.
+	 */
+	@Functional static int spread(final int hash) {
+		int _h = hash;
+		_h += (_h << 15) ^ 0xffffcd7d;
+		_h ^= _h >>> 10;
+		_h += _h << 3;
+		_h ^= _h >>> 6;
+		_h += (_h << 2) + (_h << 14);
+		return _h ^ (_h >>> 16);
+	}
+
+	/**
+	 * Retrieves the segment for the given hash code.
+	 *
+	 * @param hash of interest.
+	 * @return the segment.
+	 */
+	@NonNull @Functional private Segment<K, V> segmentFor(final int hash) {
+		return segments[(hash >>> 24) & (segments.length - 1)];
+	}
+
+	/**
+	 * Calculates the number of entries the given segment will hold.
+	 *
+	 * @param maxSize is the number of entries the cache will hold.
+	 * @param segment is the index of the segment.
+	 * @return the number of entries.
+	 */
+	@Functional private int segmentCapacity(final int maxSize, final int segment) {
+		final int _result = maxSize / segments.length;
+		return segment < maxSize % segments.length ? _result + 1 : _result;
+	}
+}
+
+// End of File
@@ -0,0 +1,395 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.Immutable;
+import edu.ksu.cis.indus.annotations.NonNull;
+
+import gnu.trove.TObjectIdentityHashingStrategy;
+import gnu.trove.TObjectIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+
+/**
+ * This is an abstract implementation of <code>IWorkBag</code> based on a growable circular array. Unlike
+ * <code>AbstractWorkBag</code>, work pieces can be added at and retrieved from either end of the bag in constant time.
+ * <p>
+ * The containment information required to detect duplicates can be maintained based on equality or identity of the work
+ * pieces or based on dense integer indices of the work pieces provided by an <code>IIndexer</code>.
+ * </p>
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ * @param <T> The type of work handled by this work bag.
+ */
+public abstract class AbstractRingBufferWorkBag<T>
+		implements IWorkBag<T> {
+
+	/**
+	 * This enumerates the ways in which work pieces are compared to detect duplicates.
+	 * 
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$ $Date$
+	 */
+	public enum DuplicateCheck {
+		/**
+		 * Work pieces are compared via <code>equals()</code>.
+		 */
+		EQUALITY,
+
+		/**
+		 * Work pieces are compared via <code>==</code>.
+		 */
+		IDENTITY
+	}
+
+	/**
+	 * This counts the occurrences of work pieces in the bag.
+	 * 
+	 * @param <E> the type of the counted work pieces.
+	 */
+	private interface IOccurrenceCounter<E> {
+
+		/**
+		 * Removes all counts.
+		 */
+		void clear();
+
+		/**
+		 * Checks if the given work piece occurs in the bag.
+		 * 
+		 * @param o of interest.
+		 * @return <code>true</code> if <code>o</code> occurs in the bag; <code>false</code>, otherwise.
+		 */
+		boolean contains(E o);
+
+		/**
+		 * Records the removal of an occurrence of the given work piece.
+		 * 
+		 * @param o of interest.
+		 */
+		void decrement(E o);
+
+		/**
+		 * Records the addition of an occurrence of the given work piece.
+		 * 
+		 * @param o of interest.
+		 */
+		void increment(E o);
+	}
+
+	/**
+	 * This counts occurrences of work pieces in an array indexed by the indices of the work pieces.
+	 * 
+	 * @param <E> the type of the counted work pieces.
+	 */
+	private static final class IndexBasedOccurrenceCounter<E>
+			implements IOccurrenceCounter<E> {
+
+		/**
+		 * The occurrence counts indexed by the indices of the work pieces.
+		 */
+		private int[] counts = new int[DEFAULT_CAPACITY];
+
+		/**
+		 * The indexer that provides the indices of work pieces.
+		 */
+		private final IIndexer<? super E> indexer;
+
+		/**
+		 * Creates an instance of this class.
+		 * 
+		 * @param theIndexer provides the indices of work pieces.
+		 */
+		IndexBasedOccurrenceCounter(@NonNull final IIndexer<? super E> theIndexer) {
+			indexer = theIndexer;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void clear() {
+			counts = new int[DEFAULT_CAPACITY];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public boolean contains(final E o) {
+			final int _index = indexer.getIndex(o);
+			return _index < counts.length && counts[_index] > 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void decrement(final E o) {
+			counts[indexer.getIndex(o)]--;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void increment(final E o) {
+			final int _index = indexer.getIndex(o);
+
+			if (_index >= counts.length) {
+				final int[] _temp = new int[Math.max(counts.length * 2, _index + 1)];
+				System.arraycopy(counts, 0, _temp, 0, counts.length);
+				counts = _temp;
+			}
+			counts[_index]++;
+		}
+	}
+
+	/**
+	 * This counts occurrences of work pieces in a hash map.
+	 * 
+	 * @param <E> the type of the counted work pieces.
+	 */
+	private static final class MapBasedOccurrenceCounter<E>
+			implements IOccurrenceCounter<E> {
+
+		/**
+		 * The occurrence counts of the work pieces.
+		 */
+		private final TObjectIntHashMap counts;
+
+		/**
+		 * Creates an instance of this class.
+		 * 
+		 * @param check is the way in which work pieces are compared.
+		 */
+		MapBasedOccurrenceCounter(@NonNull final DuplicateCheck check) {
+			if (check == DuplicateCheck.IDENTITY) {
+				counts = new TObjectIntHashMap(new TObjectIdentityHashingStrategy());
+			} else {
+				counts = new TObjectIntHashMap();
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void clear() {
+			counts.clear();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public boolean contains(final E o) {
+			return counts.containsKey(o);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void decrement(final E o) {
+			if (counts.get(o) == 1) {
+				counts.remove(o);
+			} else {
+				counts.adjustValue(o, -1);
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void increment(final E o) {
+			if (!counts.increment(o)) {
+				counts.put(o, 1);
+			}
+		}
+	}
+
+	/**
+	 * The initial capacity of the bag. This should be a power of 2.
+	 */
+	static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The circular array that contains the work pieces.
+	 * 
+	 * @invariant elements.length is a power of 2
+	 */
+	private Object[] elements = new Object[DEFAULT_CAPACITY];
+
+	/**
+	 * The position of the work piece that will be returned next.
+	 */
+	private int head;
+
+	/**
+	 * This counts the occurrences of work pieces in the bag.
+	 */
+	private final IOccurrenceCounter<T> occurrences;
+
+	/**
+	 * The number of work pieces in the bag.
+	 */
+	private int size;
+
+	/**
+	 * Creates an instance of this class that compares work pieces via the given scheme.
+	 * 
+	 * @param check is the way in which work pieces are compared to detect duplicates.
+	 */
+	protected AbstractRingBufferWorkBag(@NonNull final DuplicateCheck check) {
+		occurrences = new MapBasedOccurrenceCounter<T>(check);
+	}
+
+	/**
+	 * Creates an instance of this class that compares work pieces via their indices.
+	 * 
+	 * @param indexer provides the indices of work pieces.
+	 */
+	protected AbstractRingBufferWorkBag(@NonNull final IIndexer<? super T> indexer) {
+		occurrences = new IndexBasedOccurrenceCounter<T>(indexer);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public final void addAllWork(@NonNull @Immutable final Collection<? extends T> c) {
+		for (final Iterator<? extends T> _i = c.iterator(); _i.hasNext();) {
+			addWork(_i.next());
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@NonNull public final Collection<T> addAllWorkNoDuplicates(@NonNull @Immutable final Collection<? extends T> c) {
+		final Collection<T> _result = new ArrayList<T>();
+
+		for (final Iterator<? extends T> _i = c.iterator(); _i.hasNext();) {
+			final T _element = _i.next();
+
+			if (!addWorkNoDuplicates(_element)) {
+				_result.add(_element);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public final boolean addWorkNoDuplicates(@Immutable final T o) {
+		final boolean _result = !occurrences.contains(o);
+
+		if (_result) {
+			addWork(o);
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public final void clear() {
+		elements = new Object[DEFAULT_CAPACITY];
+		head = 0;
+		size = 0;
+		occurrences.clear();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public final T getWork() {
+		if (size == 0) {
+			throw new IllegalStateException("The workbag is empty.");
+		}
+
+		@SuppressWarnings("unchecked") final T _result = (T) elements[head];
+		elements[head] = null;
+		head = (head + 1) & (elements.length - 1);
+		size--;
+		occurrences.decrement(_result);
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Functional public final boolean hasWork() {
+		return size != 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Functional @Override public String toString() {
+		final List<Object> _workPieces = new ArrayList<Object>(size);
+
+		for (int _i = 0; _i < size; _i++) {
+			_workPieces.add(elements[(head + _i) & (elements.length - 1)]);
+		}
+		return new ToStringBuilder(this).append("work pieces", _workPieces).toString();
+	}
+
+	/**
+	 * Adds the given work piece such that it will be returned next.
+	 * 
+	 * @param o is the work piece to be added.
+	 */
+	protected final void addAtHead(@Immutable final T o) {
+		ensureCapacity();
+		head = (head - 1) & (elements.length - 1);
+		elements[head] = o;
+		size++;
+		occurrences.increment(o);
+	}
+
+	/**
+	 * Adds the given work piece such that it will be returned after all the work pieces currently in the bag.
+	 * 
+	 * @param o is the work piece to be added.
+	 */
+	protected final void addAtTail(@Immutable final T o) {
+		ensureCapacity();
+		elements[(head + size) & (elements.length - 1)] = o;
+		size++;
+		occurrences.increment(o);
+	}
+
+	/**
+	 * Doubles the capacity of the circular array if it is full.
+	 */
+	private void ensureCapacity() {
+		if (size == elements.length) {
+			final Object[] _temp = new Object[elements.length << 1];
+			final int _headToEnd = elements.length - head;
+			System.arraycopy(elements, head, _temp, 0, _headToEnd);
+			System.arraycopy(elements, 0, _temp, _headToEnd, head);
+			elements = _temp;
+			head = 0;
+		}
+	}
+}
+
+// End of File
@@ -0,0 +1,767 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.Immutable;
+import edu.ksu.cis.indus.annotations.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a set of non-negative integers in a compact form. Sparse sets are represented as sorted arrays of
+ * integers while dense sets are represented as bitmaps. The representation is switched based on the space consumed by the
+ * representations. Empty sets do not hold any storage and the size of the set is maintained eagerly; hence, emptiness and
+ * size checks are constant time and allocation free.
+ * <p>
+ * Union, intersection, and difference are available as in-place operations. Intersection and difference are also available
+ * as operations that create a new set of the exact required size.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class CompactIntSet {
+
+	/**
+	 * The number of elements below which the set is always represented as an array.
+	 */
+	static final int MIN_BITMAP_SIZE = 16;
+
+	/**
+	 * An empty array shared by empty sets.
+	 */
+	private static final int[] EMPTY_ARRAY = new int[0];
+
+	/**
+	 * The number of bits used to address a bit in a word.
+	 */
+	private static final int WORD_ADDRESS_BITS = 6;
+
+	/**
+	 * The sorted elements of this set when it is in array form. The first <code>size</code> entries are valid.
+	 *
+	 * @invariant words == null implies elements != null
+	 */
+	private int[] elements;
+
+	/**
+	 * The number of elements in this set.
+	 */
+	private int size;
+
+	/**
+	 * The bitmap of this set when it is in bitmap form.
+	 *
+	 * @invariant words != null implies elements == null
+	 */
+	private long[] words;
+
+	/**
+	 * Creates an empty set.
+	 */
+	public CompactIntSet() {
+		elements = EMPTY_ARRAY;
+	}
+
+	/**
+	 * Creates a set with the same elements as the given set.
+	 *
+	 * @param set to be copied.
+	 */
+	public CompactIntSet(@NonNull @Immutable final CompactIntSet set) {
+		size = set.size;
+
+		if (set.words != null) {
+			words = copyOf(set.words, set.words.length);
+		} else if (size == 0) {
+			elements = EMPTY_ARRAY;
+		} else {
+			elements = copyOf(set.elements, size);
+		}
+	}
+
+	/**
+	 * Creates a set with the given sorted elements.
+	 *
+	 * @param sortedElements are the elements in strictly ascending order. This array is owned by the set upon return.
+	 * @param count is the number of valid entries in <code>sortedElements</code>.
+	 */
+	private CompactIntSet(final int[] sortedElements, final int count) {
+		elements = count == 0 ? EMPTY_ARRAY : sortedElements;
+		size = count;
+		optimize();
+	}
+
+	/**
+	 * Creates a set with the given bitmap.
+	 *
+	 * @param bitmap is the bitmap. This array is owned by the set upon return.
+	 */
+	private CompactIntSet(final long[] bitmap) {
+		words = bitmap;
+		size = cardinality(bitmap);
+		optimize();
+	}
+
+	/**
+	 * Adds the given element to this set.
+	 *
+	 * @param element to be added.
+	 * @return <code>true</code> if this set was changed; <code>false</code>, otherwise.
+	 * @throws IllegalArgumentException if <code>element</code> is negative.
+	 */
+	public boolean add(final int element) {
+		if (element < 0) {
+			throw new IllegalArgumentException("Only non-negative integers can be added - " + element);
+		}
+
+		final boolean _result;
+
+		if (words != null) {
+			final int _w = element >>> WORD_ADDRESS_BITS;
+
+			if (_w >= words.length) {
+				words = copyOf(words, Math.max(_w + 1, words.length << 1));
+			}
+
+			final long _mask = 1L << element;
+			_result = (words[_w] & _mask) == 0;
+
+			if (_result) {
+				words[_w] |= _mask;
+				size++;
+			}
+		} else {
+			final int _pos = Arrays.binarySearch(elements, 0, size, element);
+			_result = _pos < 0;
+
+			if (_result) {
+				final int _insertionPoint = -(_pos + 1);
+
+				if (size == elements.length) {
+					elements = copyOf(elements, Math.max(4, size + (size >> 1) + 1));
+				}
+				System.arraycopy(elements, _insertionPoint, elements, _insertionPoint + 1, size - _insertionPoint);
+				elements[_insertionPoint] = element;
+				size++;
+
+				if (size >= MIN_BITMAP_SIZE) {
+					optimize();
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Adds the elements of the given set to this set.
+	 *
+	 * @param set of interest.
+	 * @return <code>true</code> if this set was changed; <code>false</code>, otherwise.
+	 */
+	public boolean addAll(@NonNull @Immutable final CompactIntSet set) {
+		final int _oldSize = size;
+
+		if (set.size != 0 && set != this) {
+			if (words != null && set.words != null) {
+				final long[] _other = set.words;
+
+				if (_other.length > words.length) {
+					words = copyOf(words, _other.length);
+				}
+
+				int _delta = 0;
+
+				for (int _i = _other.length - 1; _i >= 0; _i--) {
+					final long _w = words[_i];
+					final long _n = _w | _other[_i];
+
+					if (_n != _w) {
+						_delta += Long.bitCount(_n) - Long.bitCount(_w);
+						words[_i] = _n;
+					}
+				}
+				size += _delta;
+			} else if (words != null) {
+				final int[] _other = set.elements;
+
+				for (int _i = set.size - 1; _i >= 0; _i--) {
+					add(_other[_i]);
+				}
+			} else if (set.words != null) {
+				final long[] _bitmap = copyOf(set.words, Math.max(set.words.length, wordsFor(lastElement())));
+
+				for (int _i = size - 1; _i >= 0; _i--) {
+					final int _e = elements[_i];
+					_bitmap[_e >>> WORD_ADDRESS_BITS] |= 1L << _e;
+				}
+				elements = null;
+				words = _bitmap;
+				size = cardinality(_bitmap);
+			} else {
+				mergeSortedArrays(set.elements, set.size);
+			}
+			optimize();
+		}
+		return size != _oldSize;
+	}
+
+	/**
+	 * Removes all elements from this set.
+	 */
+	public void clear() {
+		words = null;
+		elements = EMPTY_ARRAY;
+		size = 0;
+	}
+
+	/**
+	 * Checks if the given element is in this set.
+	 *
+	 * @param element of interest.
+	 * @return <code>true</code> if <code>element</code> is in this set; <code>false</code>, otherwise.
+	 */
+	@Functional public boolean contains(final int element) {
+		final boolean _result;
+
+		if (element < 0) {
+			_result = false;
+		} else if (words != null) {
+			final int _w = element >>> WORD_ADDRESS_BITS;
+			_result = _w < words.length && (words[_w] & (1L << element)) != 0;
+		} else {
+			_result = Arrays.binarySearch(elements, 0, size, element) >= 0;
+		}
+		return _result;
+	}
+
+	/**
+	 * Checks if all elements of the given set are in this set.
+	 *
+	 * @param set of interest.
+	 * @return <code>true</code> if <code>set</code> is a subset of this set; <code>false</code>, otherwise.
+	 */
+	@Functional public boolean containsAll(@NonNull @Immutable final CompactIntSet set) {
+		boolean _result = set == this || set.size <= size;
+
+		if (_result && set != this) {
+			for (int _e = set.nextElement(0); _result && _e >= 0; _e = set.nextElement(_e + 1)) {
+				_result = contains(_e);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Creates a new set that contains the elements of this set that are not in the given set.
+	 *
+	 * @param set of interest.
+	 * @return a new set.
+	 */
+	@NonNull public CompactIntSet difference(@NonNull @Immutable final CompactIntSet set) {
+		final CompactIntSet _result;
+
+		if (set.size == 0) {
+			_result = new CompactIntSet(this);
+		} else if (size == 0 || set == this) {
+			_result = new CompactIntSet();
+		} else if (words != null) {
+			final long[] _bitmap = copyOf(words, words.length);
+			andNot(_bitmap, set);
+			_result = new CompactIntSet(_bitmap);
+		} else {
+			final int[] _temp = new int[size];
+			int _count = 0;
+
+			for (int _i = 0; _i < size; _i++) {
+				final int _e = elements[_i];
+
+				if (!set.contains(_e)) {
+					_temp[_count++] = _e;
+				}
+			}
+			_result = new CompactIntSet(_count == size ? _temp : copyOf(_temp, _count), _count);
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Functional @Override public boolean equals(final Object o) {
+		boolean _result = o == this;
+
+		if (!_result && o instanceof CompactIntSet) {
+			final CompactIntSet _other = (CompactIntSet) o;
+			_result = _other.size == size;
+
+			for (int _e = nextElement(0); _result && _e >= 0; _e = nextElement(_e + 1)) {
+				_result = _other.contains(_e);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Functional @Override public int hashCode() {
+		int _result = 17;
+
+		for (int _e = nextElement(0); _e >= 0; _e = nextElement(_e + 1)) {
+			_result = 37 * _result + _e;
+		}
+		return _result;
+	}
+
+	/**
+	 * Creates a new set that contains the elements common to this set and the given set.
+	 *
+	 * @param set of interest.
+	 * @return a new set.
+	 */
+	@NonNull public CompactIntSet intersection(@NonNull @Immutable final CompactIntSet set) {
+		final CompactIntSet _result;
+
+		if (set == this) {
+			_result = new CompactIntSet(this);
+		} else if (size == 0 || set.size == 0) {
+			_result = new CompactIntSet();
+		} else if (words != null && set.words != null) {
+			final int _length = Math.min(words.length, set.words.length);
+			final long[] _bitmap = new long[_length];
+
+			for (int _i = _length - 1; _i >= 0; _i--) {
+				_bitmap[_i] = words[_i] & set.words[_i];
+			}
+			_result = new CompactIntSet(_bitmap);
+		} else {
+			final CompactIntSet _small;
+			final CompactIntSet _large;
+
+			if (words == null && (set.words != null || size <= set.size)) {
+				_small = this;
+				_large = set;
+			} else {
+				_small = set;
+				_large = this;
+			}
+
+			final int[] _temp = new int[_small.size];
+			int _count = 0;
+
+			for (int _i = 0; _i < _small.size; _i++) {
+				final int _e = _small.elements[_i];
+
+				if (_large.contains(_e)) {
+					_temp[_count++] = _e;
+				}
+			}
+			_result = new CompactIntSet(_count == _temp.length ? _temp : copyOf(_temp, _count), _count);
+		}
+		return _result;
+	}
+
+	/**
+	 * Checks if this set and the given set have common elements.
+	 *
+	 * @param set of interest.
+	 * @return <code>true</code> if there are common elements; <code>false</code>, otherwise.
+	 */
+	@Functional public boolean intersects(@NonNull @Immutable final CompactIntSet set) {
+		boolean _result = false;
+
+		if (size != 0 && set.size != 0) {
+			if (words != null && set.words != null) {
+				for (int _i = Math.min(words.length, set.words.length) - 1; _i >= 0 && !_result; _i--) {
+					_result = (words[_i] & set.words[_i]) != 0;
+				}
+			} else if (words == null) {
+				for (int _i = 0; _i < size && !_result; _i++) {
+					_result = set.contains(elements[_i]);
+				}
+			} else {
+				_result = set.intersects(this);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Checks if this set is empty.
+	 *
+	 * @return <code>true</code> if this set is empty; <code>false</code>, otherwise.
+	 */
+	@Functional public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Retrieves the smallest element in this set that is greater than or equal to the given integer.
+	 *
+	 * @param from is the lower bound.
+	 * @return the element; -1 if there is no such element.
+	 */
+	@Functional public int nextElement(final int from) {
+		int _result = -1;
+		final int _from = Math.max(0, from);
+
+		if (words != null) {
+			int _w = _from >>> WORD_ADDRESS_BITS;
+
+			if (_w < words.length) {
+				long _word = words[_w] & (-1L << _from);
+
+				while (true) {
+					if (_word != 0) {
+						_result = (_w << WORD_ADDRESS_BITS) + Long.numberOfTrailingZeros(_word);
+						break;
+					}
+					_w++;
+
+					if (_w == words.length) {
+						break;
+					}
+					_word = words[_w];
+				}
+			}
+		} else if (size > 0) {
+			int _pos = Arrays.binarySearch(elements, 0, size, _from);
+
+			if (_pos < 0) {
+				_pos = -(_pos + 1);
+			}
+
+			if (_pos < size) {
+				_result = elements[_pos];
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Removes the elements of the given set from this set.
+	 *
+	 * @param set of interest.
+	 * @return <code>true</code> if this set was changed; <code>false</code>, otherwise.
+	 */
+	public boolean removeAll(@NonNull @Immutable final CompactIntSet set) {
+		final int _oldSize = size;
+
+		if (set == this) {
+			clear();
+		} else if (size != 0 && set.size != 0) {
+			if (words != null) {
+				andNot(words, set);
+				size = cardinality(words);
+			} else {
+				int _count = 0;
+
+				for (int _i = 0; _i < size; _i++) {
+					final int _e = elements[_i];
+
+					if (!set.contains(_e)) {
+						elements[_count++] = _e;
+					}
+				}
+				size = _count;
+			}
+			optimize();
+		}
+		return size != _oldSize;
+	}
+
+	/**
+	 * Removes the elements that are not in the given set from this set.
+	 *
+	 * @param set of interest.
+	 * @return <code>true</code> if this set was changed; <code>false</code>, otherwise.
+	 */
+	public boolean retainAll(@NonNull @Immutable final CompactIntSet set) {
+		final int _oldSize = size;
+
+		if (set.size == 0) {
+			clear();
+		} else if (size != 0 && set != this) {
+			if (words != null && set.words != null) {
+				final int _length = Math.min(words.length, set.words.length);
+
+				for (int _i = _length - 1; _i >= 0; _i--) {
+					words[_i] &= set.words[_i];
+				}
+				Arrays.fill(words, _length, words.length, 0L);
+				size = cardinality(words);
+			} else if (words != null) {
+				final int[] _temp = new int[set.size];
+				int _count = 0;
+
+				for (int _i = 0; _i < set.size; _i++) {
+					final int _e = set.elements[_i];
+
+					if (contains(_e)) {
+						_temp[_count++] = _e;
+					}
+				}
+				words = null;
+				elements = _count == 0 ? EMPTY_ARRAY : _temp;
+				size = _count;
+			} else {
+				int _count = 0;
+
+				for (int _i = 0; _i < size; _i++) {
+					final int _e = elements[_i];
+
+					if (set.contains(_e)) {
+						elements[_count++] = _e;
+					}
+				}
+				size = _count;
+			}
+			optimize();
+		}
+		return size != _oldSize;
+	}
+
+	/**
+	 * Retrieves the number of elements in this set.
+	 *
+	 * @return the number of elements.
+	 */
+	@Functional public int size() {
+		return size;
+	}
+
+	/**
+	 * Retrieves the elements of this set in ascending order.
+	 *
+	 * @return an array of elements.
+	 */
+	@NonNull public int[] toArray() {
+		final int[] _result;
+
+		if (words != null) {
+			_result = new int[size];
+			int _count = 0;
+
+			for (int _e = nextElement(0); _e >= 0; _e = nextElement(_e + 1)) {
+				_result[_count++] = _e;
+			}
+		} else {
+			_result = copyOf(elements, size);
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Functional @Override public String toString() {
+		final StringBuffer _sb = new StringBuffer("{");
+
+		for (int _e = nextElement(0); _e >= 0; _e = nextElement(_e + 1)) {
+			if (_sb.length() > 1) {
+				_sb.append(", ");
+			}
+			_sb.append(_e);
+		}
+		_sb.append("}");
+		return _sb.toString();
+	}
+
+	/**
+	 * Checks if this set is represented as a bitmap. <i>This is intended for testing purposes.</i>
+	 *
+	 * @return <code>true</code> if this set is represented as a bitmap; <code>false</code>, otherwise.
+	 */
+	boolean isBitmap() {
+		return words != null;
+	}
+
+	/**
+	 * Removes the elements in the given set from the given bitmap.
+	 *
+	 * @param bitmap to be updated.
+	 * @param set of interest.
+	 */
+	private static void andNot(final long[] bitmap, final CompactIntSet set) {
+		if (set.words != null) {
+			for (int _i = Math.min(bitmap.length, set.words.length) - 1; _i >= 0; _i--) {
+				bitmap[_i] &= ~set.words[_i];
+			}
+		} else {
+			final int _limit = bitmap.length << WORD_ADDRESS_BITS;
+
+			for (int _i = 0; _i < set.size; _i++) {
+				final int _e = set.elements[_i];
+
+				if (_e >= _limit) {
+					break;
+				}
+				bitmap[_e >>> WORD_ADDRESS_BITS] &= ~(1L << _e);
+			}
+		}
+	}
+
+	/**
+	 * Calculates the number of set bits in the given bitmap.
+	 *
+	 * @param bitmap of interest.
+	 * @return the number of set bits.
+	 */
+	private static int cardinality(final long[] bitmap) {
+		int _result = 0;
+
+		for (int _i = bitmap.length - 1; _i >= 0; _i--) {
+			_result += Long.bitCount(bitmap[_i]);
+		}
+		return _result;
+	}
+
+	/**
+	 * Copies the prefix of the given array into a new array.
+	 *
+	 * @param array to be copied.
+	 * @param length of the new array.
+	 * @return a new array.
+	 */
+	private static int[] copyOf(final int[] array, final int length) {
+		final int[] _result = new int[length];
+		System.arraycopy(array, 0, _result, 0, Math.min(length, array.length));
+		return _result;
+	}
+
+	/**
+	 * Copies the prefix of the given array into a new array.
+	 *
+	 * @param array to be copied.
+	 * @param length of the new array.
+	 * @return a new array.
+	 */
+	private static long[] copyOf(final long[] array, final int length) {
+		final long[] _result = new long[length];
+		System.arraycopy(array, 0, _result, 0, Math.min(length, array.length));
+		return _result;
+	}
+
+	/**
+	 * Calculates the number of words required to represent the given element in a bitmap.
+	 *
+	 * @param element of interest.
+	 * @return the number of words.
+	 */
+	private static int wordsFor(final int element) {
+		return element < 0 ? 0 : (element >>> WORD_ADDRESS_BITS) + 1;
+	}
+
+	/**
+	 * Retrieves the largest element of this set.
+	 *
+	 * @return the largest element; -1 if the set is empty.
+	 */
+	private int lastElement() {
+		int _result = -1;
+
+		if (words != null) {
+			for (int _i = words.length - 1; _i >= 0 && _result < 0; _i--) {
+				if (words[_i] != 0) {
+					_result = (_i << WORD_ADDRESS_BITS) + Long.SIZE - 1 - Long.numberOfLeadingZeros(words[_i]);
+				}
+			}
+		} else if (size > 0) {
+			_result = elements[size - 1];
+		}
+		return _result;
+	}
+
+	/**
+	 * Merges the given sorted elements into the elements of this set. This set should be in array form.
+	 *
+	 * @param others are the elements to be merged in ascending order.
+	 * @param othersSize is the number of valid entries in <code>others</code>.
+	 */
+	private void mergeSortedArrays(final int[] others, final int othersSize) {
+		final int[] _result = new int[size + othersSize];
+		int _i = 0;
+		int _j = 0;
+		int _k = 0;
+
+		while (_i < size && _j < othersSize) {
+			final int _a = elements[_i];
+			final int _b = others[_j];
+
+			if (_a < _b) {
+				_result[_k++] = _a;
+				_i++;
+			} else if (_a > _b) {
+				_result[_k++] = _b;
+				_j++;
+			} else {
+				_result[_k++] = _a;
+				_i++;
+				_j++;
+			}
+		}
+
+		while (_i < size) {
+			_result[_k++] = elements[_i++];
+		}
+
+		while (_j < othersSize) {
+			_result[_k++] = others[_j++];
+		}
+		elements = _result;
+		size = _k;
+	}
+
+	/**
+	 * Switches the representation of this set to the one that consumes less space. An array entry takes half the space of a
+	 * bitmap word. The bitmap form is preferred when the array would take at least twice the space of the bitmap while the
+	 * array form is preferred when it would take at most half the space of the bitmap.
+	 */
+	private void optimize() {
+		if (size == 0) {
+			clear();
+		} else {
+			final int _wordsRequired = wordsFor(lastElement());
+
+			if (words == null) {
+				if (size >= MIN_BITMAP_SIZE && size >= 4 * _wordsRequired) {
+					final long[] _bitmap = new long[_wordsRequired];
+
+					for (int _i = size - 1; _i >= 0; _i--) {
+						final int _e = elements[_i];
+						_bitmap[_e >>> WORD_ADDRESS_BITS] |= 1L << _e;
+					}
+					words = _bitmap;
+					elements = null;
+				}
+			} else if (size < MIN_BITMAP_SIZE || size <= _wordsRequired) {
+				elements = toArray();
+				words = null;
+			} else if (_wordsRequired < words.length >> 1) {
+				words = copyOf(words, _wordsRequired);
+			}
+		}
+	}
+}
+
+// End of File
@@ -27,6 +27,11 @@ import java.util.List;
 /**
  * This class provides the basic implementation for elements to be used in fast-union-find algorithm as defined by Aho,
  * Ullman, and Sethi in the "Dragon" book.
+ * <p>
+ * Equivalence classes are merged by rank and paths are compressed on every <code>find()</code>. Hence, the cost of a sequence
+ * of operations is almost linear in it's length. However, the representative of a class resulting from a merge is always
+ * bound if either of the merged classes was bound.
+ * </p>
  * 
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
@@ -45,6 +50,12 @@ public class FastUnionFindElement<T extends FastUnionFindElement<T>> {
 	 */
 	protected T set;
 
+	/**
+	 * This is an upper bound on the height of the tree rooted at this element. This is meaningful only for representative
+	 * elements.
+	 */
+	private int rank;
+
 	/**
 	 * This is the type associated with this element.
 	 */
@@ -81,8 +92,13 @@ public class FastUnionFindElement<T extends FastUnionFindElement<T>> {
 			_result = _result.set;
 		}
 
-		if (_result != this) {
-			set = _result;
+		// compress the path from this element to the representative.
+		FastUnionFindElement<T> _e = this;
+
+		while (_e.set != null && _e.set != _result) {
+			final T _next = _e.set;
+			_e.set = _result;
+			_e = _next;
 		}
 		return _result;
 	}
@@ -204,14 +220,44 @@ public class FastUnionFindElement<T extends FastUnionFindElement<T>> {
 		final T _b = e.find();
 
 		if (_a != _b) {
-			if (_b.isBound()) {
-				_a.set = _b;
+			if (_b.type != null) {
+				link(_a, _b);
+			} else if (_a.type != null || getRank(_a) >= getRank(_b)) {
+				link(_b, _a);
 			} else {
-				// if a.isBound() or neither is bound
-				_b.set = _a;
+				link(_a, _b);
 			}
 		}
 	}
+
+	/**
+	 * Makes the given representative a child of the other given representative.
+	 * 
+	 * @param <T> the type of the elements.
+	 * @param child is the representative to be made the child.
+	 * @param parent is the representative to be made the parent.
+	 * @pre child.set == null and parent.set == null and child != parent
+	 */
+	private static <T extends FastUnionFindElement<T>> void link(@NonNull final T child, @NonNull final T parent) {
+		final FastUnionFindElement<T> _p = parent;
+		final int _childRank = getRank(child);
+		child.set = parent;
+
+		if (_p.rank <= _childRank) {
+			_p.rank = _childRank + 1;
+		}
+	}
+
+	/**
+	 * Retrieves the rank of the given element.
+	 * 
+	 * @param <T> the type of the elements.
+	 * @param e of interest.
+	 * @return the rank of the element.
+	 */
+	@Functional private static <T extends FastUnionFindElement<T>> int getRank(@NonNull final FastUnionFindElement<T> e) {
+		return e.rank;
+	}
 }
 
 // End of File
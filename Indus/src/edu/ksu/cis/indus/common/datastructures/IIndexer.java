@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.NonNull;
+
+/**
+ * This interface is provided by entities that map objects to dense non-negative integer indices. Distinct objects (as
+ * determined by the implementation) should be mapped to distinct indices and the same object should always be mapped to the
+ * same index.
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ * @param <T> the type of the indexed objects.
+ */
+public interface IIndexer<T> {
+
+	/**
+	 * Retrieves the index of the given object.
+	 * 
+	 * @param o of interest.
+	 * @return the index of <code>o</code>.
+	 * @post result &gt;= 0
+	 */
+	@Functional int getIndex(@NonNull T o);
+}
+
+// End of File
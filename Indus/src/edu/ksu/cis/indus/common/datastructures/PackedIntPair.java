@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+import edu.ksu.cis.indus.annotations.Empty;
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.NonNull;
+
+/**
+ * This class provides the means to represent a pair of integers as a <code>long</code>. The first element occupies the
+ * higher 32 bits and the second element occupies the lower 32 bits. Hence, such pairs can be used as keys in primitive
+ * collections such as <code>gnu.trove.TLongObjectHashMap</code> and <code>gnu.trove.TLongHashSet</code> instead of
+ * <code>Pair</code> objects.
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class PackedIntPair {
+
+	/**
+	 * The mask to retrieve the lower 32 bits.
+	 */
+	private static final long LOWER_MASK = 0xffffffffL;
+
+	/**
+	 * The number of bits to shift the first element by.
+	 */
+	private static final int SHIFT = 32;
+
+	// /CLOVER:OFF
+
+	/**
+	 * A private constructor to prevent the instantiation of this class.
+	 */
+	@Empty private PackedIntPair() {
+		super();
+	}
+
+	// /CLOVER:ON
+
+	/**
+	 * Retrieves the first element of the given pair.
+	 * 
+	 * @param pair of interest.
+	 * @return the first element.
+	 */
+	@Functional public static int getFirst(final long pair) {
+		return (int) (pair >>> SHIFT);
+	}
+
+	/**
+	 * Retrieves the second element of the given pair.
+	 * 
+	 * @param pair of interest.
+	 * @return the second element.
+	 */
+	@Functional public static int getSecond(final long pair) {
+		return (int) (pair & LOWER_MASK);
+	}
+
+	/**
+	 * Packs the given integers into a pair.
+	 * 
+	 * @param first element of the pair.
+	 * @param second element of the pair.
+	 * @return the pair.
+	 * @post getFirst(result) = first and getSecond(result) = second
+	 */
+	@Functional public static long pack(final int first, final int second) {
+		return ((long) first << SHIFT) | (second & LOWER_MASK);
+	}
+
+	/**
+	 * Provides the stringized representation of the given pair.
+	 * 
+	 * @param pair of interest.
+	 * @return the stringized representation.
+	 */
+	@Functional @NonNull public static String toString(final long pair) {
+		return "(" + getFirst(pair) + ", " + getSecond(pair) + ")";
+	}
+}
+
+// End of File
@@ -55,7 +55,8 @@ import java.util.Map;
 public final class Pair<T1, T2> {
 
 	/**
-	 * This class manages a collection of pairs. This realizes the <i>flyweight</i> pattern for pairs.
+	 * This class manages a collection of pairs. This realizes the <i>flyweight</i> pattern for pairs. The operations are
+	 * synchronized as the pairs are requested by analyses that are queried concurrently.
 	 * 
 	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
 	 * @author $Author$
@@ -121,7 +122,8 @@ public final class Pair<T1, T2> {
 		 * @return the pair containing the given objects.
 		 * @post result != null
 		 */
-		@NonNull public <T1, T2> Pair<T1, T2> getPair(@Immutable final T1 firstParam, @Immutable final T2 secondParam) {
+		@NonNull public synchronized <T1, T2> Pair<T1, T2> getPair(@Immutable final T1 firstParam,
+				@Immutable final T2 secondParam) {
 			@SuppressWarnings("unchecked") final Map<Object, Pair<?, ?>> _values = MapUtils.getFromMapUsingFactory(pairs,
 					secondParam, PAIR_FACTORY);
 			@SuppressWarnings("unchecked") Pair<T1, T2> _result = (Pair<T1, T2>) _values.get(firstParam);
@@ -136,7 +138,7 @@ public final class Pair<T1, T2> {
 		/**
 		 * Forgets about all managed pairs.
 		 */
-		public void reset() {
+		public synchronized void reset() {
 			pairs.clear();
 		}
 	}
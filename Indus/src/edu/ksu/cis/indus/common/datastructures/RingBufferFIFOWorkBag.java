@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+import edu.ksu.cis.indus.annotations.Immutable;
+import edu.ksu.cis.indus.annotations.NonNull;
+
+/**
+ * This is a First-in-First-out implementation of the workbag in which work pieces are added and retrieved in constant time.
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ * @param <T> The type of work handled by this work bag.
+ */
+public final class RingBufferFIFOWorkBag<T>
+		extends AbstractRingBufferWorkBag<T> {
+
+	/**
+	 * Creates an instance of this class that compares work pieces via <code>equals()</code>.
+	 */
+	public RingBufferFIFOWorkBag() {
+		super(DuplicateCheck.EQUALITY);
+	}
+
+	/**
+	 * Creates an instance of this class that compares work pieces via the given scheme.
+	 * 
+	 * @param check is the way in which work pieces are compared to detect duplicates.
+	 */
+	public RingBufferFIFOWorkBag(@NonNull final DuplicateCheck check) {
+		super(check);
+	}
+
+	/**
+	 * Creates an instance of this class that compares work pieces via their indices.
+	 * 
+	 * @param indexer provides the indices of work pieces.
+	 */
+	public RingBufferFIFOWorkBag(@NonNull final IIndexer<? super T> indexer) {
+		super(indexer);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void addWork(@Immutable final T o) {
+		addAtTail(o);
+	}
+}
+
+// End of File
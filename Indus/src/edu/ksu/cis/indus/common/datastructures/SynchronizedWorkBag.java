@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.datastructures;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.Immutable;
+import edu.ksu.cis.indus.annotations.NonNull;
+
+import java.util.Collection;
+
+/**
+ * This class decorates a work bag such that it can be safely accessed by multiple threads. All operations are synchronized
+ * on this object.
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ * @param <T> The type of work handled by this work bag.
+ */
+public final class SynchronizedWorkBag<T>
+		implements IWorkBag<T> {
+
+	/**
+	 * The container that actual contains the work peices.
+	 */
+	private final IWorkBag<T> container;
+
+	/**
+	 * Creates a new SynchronizedWorkBag object.
+	 * 
+	 * @param theContainer is the container that actually contains the work peices.
+	 * @pre theContainer != null
+	 */
+	public SynchronizedWorkBag(@NonNull @Immutable final IWorkBag<T> theContainer) {
+		container = theContainer;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized void addAllWork(@NonNull @Immutable final Collection<? extends T> c) {
+		container.addAllWork(c);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@NonNull public synchronized Collection<T> addAllWorkNoDuplicates(@NonNull @Immutable final Collection<? extends T> c) {
+		return container.addAllWorkNoDuplicates(c);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized void addWork(@NonNull @Immutable final T o) {
+		container.addWork(o);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized boolean addWorkNoDuplicates(@NonNull @Immutable final T o) {
+		return container.addWorkNoDuplicates(o);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized void clear() {
+		container.clear();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public synchronized T getWork() {
+		return container.getWork();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Functional public synchronized boolean hasWork() {
+		return container.hasWork();
+	}
+}
+
+// End of File
@@ -23,7 +23,7 @@ import edu.ksu.cis.indus.annotations.NonNullContainer;
 import edu.ksu.cis.indus.annotations.NumericalConstraint;
 import edu.ksu.cis.indus.annotations.Functional.AccessSpecifier;
 import edu.ksu.cis.indus.annotations.NumericalConstraint.NumericalValue;
-import edu.ksu.cis.indus.common.collections.Cache;
+import edu.ksu.cis.indus.common.collections.ConcurrentCache;
 import edu.ksu.cis.indus.common.collections.CollectionUtils;
 import edu.ksu.cis.indus.common.collections.FactoryBasedLazyMap;
 import edu.ksu.cis.indus.common.collections.IFactory;
@@ -42,6 +42,7 @@ import edu.ksu.cis.indus.common.datastructures.Pair;
 import edu.ksu.cis.indus.common.datastructures.Triple;
 
 import gnu.trove.TIntObjectHashMap;
+import gnu.trove.TObjectIntHashMap;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -57,6 +58,10 @@ import java.util.Map;
 /**
  * This class provides abstract implementation of <code>IDirectedGraph</code>. The subclasses are responsible for
  * maintaining the collection of nodes that make up this graph.
+ * <p>
+ * The information derived from the shape of the graph (SCCs, spanning forest, reachability index, etc.) is calculated
+ * lazily under the lock of the graph. Hence, a graph that is not being modified may be queried concurrently.
+ * </p>
  * 
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
@@ -67,14 +72,14 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 		implements IDirectedGraph<N>, Iterable<N> {
 
 	/**
-	 * This is used in the calculation of SCCs.
+	 * The default number of nodes beyond which the compact reachability index is used.
 	 */
-	private static int currCompNum;
+	public static final int DEFAULT_COMPACT_REACHABILITY_THRESHOLD = 5000;
 
 	/**
-	 * This is used in the calculation of SCCs.
+	 * The number of intervals with which each component is labelled in the compact reachability index.
 	 */
-	private static int dfsNum;
+	private static final int NO_OF_REACHABILITY_LABELS = 3;
 
 	/**
 	 * This is the node indexed discover time of the nodes in this graph.
@@ -89,11 +94,6 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	 */
 	@NonNullContainer private final Collection<Pair<N, N>> backedges = new ArrayList<Pair<N, N>>();
 
-	/**
-	 * This captures backward reachability information.
-	 */
-	private BitSet[] backwardReachabilityMatrix;
-	
 	/**
 	 * The graph builder to use to build graphs that represent views of this graph.
 	 */
@@ -102,9 +102,14 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	/**
 	 * This is a node-node connectivity cache.
 	 */
-	@NonNull private Map<Triple<N, N, Boolean>, Collection<N>> connectivityCache = new Cache<Triple<N, N, Boolean>, Collection<N>>(
+	@NonNull private final ConcurrentCache<Triple<N, N, Boolean>, Collection<N>> connectivityCache = new ConcurrentCache<Triple<N, N, Boolean>, Collection<N>>(
 			50);
 
+	/**
+	 * The number of nodes beyond which the compact reachability index is used.
+	 */
+	private int compactReachabilityThreshold = DEFAULT_COMPACT_REACHABILITY_THRESHOLD;
+
 	/**
 	 * This is the collection of cross edges in this graph corresponding to the minimum spanning calculated for this instance
 	 * of the graph.
@@ -123,11 +128,6 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	 */
 	private int[] finishTimes;
 
-	/**
-	 * This captures backward reachability information.
-	 */
-	private BitSet[] forwardReachabilityMatrix;
-
 	/**
 	 * This indicates if the SCCs have been identified for this graph.
 	 */
@@ -153,11 +153,28 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	 */
 	private boolean reachability;
 
+	/**
+	 * This captures the reachability information. This is valid only if <code>reachability</code> is <code>true</code>.
+	 */
+	private IReachabilityIndex reachabilityIndex;
+
+	/**
+	 * This maps the index of a node to the indices of it's predecessors. This is <code>null</code> if it is not calculated.
+	 * This is used only by the default implementation of <code>getAdjacencyIndices()</code>.
+	 */
+	private int[][] predIndices;
+
 	/**
 	 * This is the collection of SCCs in this graph.
 	 */
 	@NonNullContainer private List<List<N>> scc;
 
+	/**
+	 * This is the collection of SCCs in this graph in terms of the indices of the nodes. It is in the same order as
+	 * <code>scc</code>.
+	 */
+	private int[][] sccIndices;
+
 	/**
 	 * This is the collection of sink nodes in the graph.
 	 * 
@@ -190,6 +207,12 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	 */
 	private SimpleNodeGraph<N> spanningForest;
 
+	/**
+	 * This maps the index of a node to the indices of it's successors. This is <code>null</code> if it is not calculated.
+	 * This is used only by the default implementation of <code>getAdjacencyIndices()</code>.
+	 */
+	private int[][] succIndices;
+
 	/**
 	 * Finds cycles in the given set of nodes. This implementation is <i>exponential</i> in the number of cycles in the the
 	 * nodes.
@@ -252,9 +275,7 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 						return new SCCRelatedData();
 					}
 				});
-		currCompNum = 0;
-		dfsNum = 0;
-
+		final int[] _counters = new int[2];
 		final Stack<T> _stack = new Stack<T>();
 		final Iterator<T> _i = nodes.iterator();
 
@@ -263,7 +284,7 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 			final SCCRelatedData _nSRD = _node2srd.get(_n);
 
 			if (_nSRD.getDfsNum() == 0) {
-				calculateSCCs(nodes, _node2srd, _n, _stack, _result);
+				calculateSCCs(nodes, _node2srd, _n, _stack, _result, _counters);
 			}
 		}
 		return _result;
@@ -277,6 +298,9 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	 * @param node to be explored.
 	 * @param stack to be used.
 	 * @param sccs is the outgoing argument to contains the SCCs.
+	 * @param counters holds the dfs number and the component number (in that order) of the current calculation. These are
+	 *            local to a calculation so that SCCs may be calculated concurrently.
+	 * @pre counters.length == 2
 	 * @post sccs.containsAll(sccs$pre)
 	 * @post sccs->forall(o | o->forall(p | nodes.contains(p)))
 	 * @param <T> the type of nodes being processed.
@@ -285,12 +309,12 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 			@NonNull @NonNullContainer @Immutable final Collection<T> nodes,
 			@NonNull @NonNullContainer final Map<T, SCCRelatedData> node2srd,
 			@NonNull @NonNullContainer @Immutable final T node, @NonNull @NonNullContainer final Stack<T> stack,
-			@NonNull @NonNullContainer final Collection<List<T>> sccs) {
+			@NonNull @NonNullContainer final Collection<List<T>> sccs, @NonNull final int[] counters) {
 		final SCCRelatedData _nodeSRD = node2srd.get(node);
-		_nodeSRD.setDfsNum(dfsNum);
-		_nodeSRD.setHigh(dfsNum);
+		_nodeSRD.setDfsNum(counters[0]);
+		_nodeSRD.setHigh(counters[0]);
 		stack.push(node);
-		dfsNum--;
+		counters[0]--;
 
 		final Iterator<T> _j = IteratorUtils.filteredIterator(node.getSuccsOf().iterator(), new MembershipPredicate<T>(true,
 				nodes));
@@ -300,7 +324,7 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 			final SCCRelatedData _succSRD = node2srd.get(_succ);
 
 			if (_succSRD.getDfsNum() == 0) {
-				calculateSCCs(nodes, node2srd, _succ, stack, sccs);
+				calculateSCCs(nodes, node2srd, _succ, stack, sccs, counters);
 				_nodeSRD.setHigh(Math.max(_nodeSRD.getHigh(), _succSRD.getHigh()));
 			} else if (_succSRD.getDfsNum() > _nodeSRD.getDfsNum() && _succSRD.getComponentNum() == 0) {
 				_nodeSRD.setHigh(Math.max(_nodeSRD.getHigh(), _succSRD.getDfsNum()));
@@ -308,8 +332,8 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 		}
 
 		if (_nodeSRD.getHigh() == _nodeSRD.getDfsNum()) {
-			currCompNum++;
-			_nodeSRD.setComponentNum(currCompNum);
+			counters[1]++;
+			_nodeSRD.setComponentNum(counters[1]);
 
 			T _o;
 			final List<T> _scc = new ArrayList<T>();
@@ -462,6 +486,26 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 		return _temp;
 	}
 
+	/**
+	 * Retrieves the indices of the given nodes.
+	 * 
+	 * @param <T> the type of the nodes.
+	 * @param nodes of interest.
+	 * @param node2index maps nodes to their indices.
+	 * @return the indices of the nodes in the order of iteration of <code>nodes</code>.
+	 * @post result.length = nodes.size()
+	 */
+	@NonNull @Functional private static <T> int[] getIndices(@NonNull @NonNullContainer @Immutable final Collection<T> nodes,
+			@NonNull @Immutable final TObjectIntHashMap node2index) {
+		final int[] _result = new int[nodes.size()];
+		final Iterator<T> _i = nodes.iterator();
+
+		for (int _j = 0; _j < _result.length; _j++) {
+			_result[_j] = node2index.get(_i.next());
+		}
+		return _result;
+	}
+
 	/**
 	 * Gets immediate successors that occur in nodes and are not reachable via the given edges.
 	 * 
@@ -514,30 +558,16 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	@NonNull @NonNullContainer @Functional(level = AccessSpecifier.PACKAGE) public Collection<N> getCommonReachablesFrom(
 			@NonNull @Immutable final N node1, final boolean forward1, @NonNull @Immutable final N node2,
 			final boolean forward2) {
-		calculateReachabilityInfo();
-
+		final IReachabilityIndex _index = getReachabilityIndex();
 		final Collection<N> _result;
-		final BitSet _n1;
-		final BitSet _n2;
+		final int _index1 = getIndexOfNode(node1);
+		final int _index2 = getIndexOfNode(node2);
 
-		if (forward1) {
-			_n1 = forwardReachabilityMatrix[getIndexOfNode(node1)];
-		} else {
-			_n1 = backwardReachabilityMatrix[getIndexOfNode(node1)];
-		}
-
-		if (forward2) {
-			_n2 = forwardReachabilityMatrix[getIndexOfNode(node2)];
-		} else {
-			_n2 = backwardReachabilityMatrix[getIndexOfNode(node2)];
-		}
-
-		if (_n1.intersects(_n2)) {
+		if (_index.hasCommonReachablesFrom(_index1, forward1, _index2, forward2)) {
 			final List<N> _nodes = getNodes();
 			_result = new ArrayList<N>();
-			final BitSet _r = new BitSet();
-			_r.or(_n1);
-			_r.and(_n2);
+			final BitSet _r = _index.getReachablesFrom(_index1, forward1);
+			_r.and(_index.getReachablesFrom(_index2, forward2));
 
 			for (int _i = _r.nextSetBit(0); _i >= 0; _i = _r.nextSetBit(_i + 1)) {
 				_result.add(_nodes.get(_i));
@@ -549,6 +579,16 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 		return _result;
 	}
 
+	/**
+	 * Retrieves the statistics about the use of the connectivity cache. This can be used to size the cache via
+	 * <code>setConnectivityCacheSize()</code>.
+	 * 
+	 * @return the statistics.
+	 */
+	@NonNull @Functional public final ConcurrentCache.Statistics getConnectivityCacheStatistics() {
+		return connectivityCache.getStatistics();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -559,14 +599,12 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 		if (hasCommonReachablesFrom(node1, forward, node2, forward)) {
 			final Triple<N, N, Boolean> _trp1 = new Triple<N, N, Boolean>(node1, node2, forward);
 
-			if (connectivityCache.containsKey(_trp1)) {
-				_result = connectivityCache.get(_trp1);
-			} else {
-				final Triple<N, N, Boolean> _trp2 = new Triple<N, N, Boolean>(node2, node1, !forward);
+			_result = connectivityCache.get(_trp1);
 
-				if (connectivityCache.containsKey(_trp2)) {
-					_result = connectivityCache.get(_trp2);
-				} else {
+			if (_result == null) {
+				_result = connectivityCache.get(new Triple<N, N, Boolean>(node2, node1, !forward));
+
+				if (_result == null) {
 					_result = calculateConnectivityNodes(node1, node2, forward);
 					connectivityCache.put(_trp1, _result);
 				}
@@ -585,7 +623,7 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	/**
 	 * {@inheritDoc}
 	 */
-	@NonNull @Functional(level = AccessSpecifier.PACKAGE) public final SimpleNodeGraph<N> getDAG() {
+	@NonNull @Functional(level = AccessSpecifier.PACKAGE) public final synchronized SimpleNodeGraph<N> getDAG() {
 		if (!dagExists) {
 			builder = new SimpleNodeGraphBuilder<N>();
 			builder.createGraph();
@@ -593,14 +631,20 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 			createSpanningForest();
 
 			final List<N> _nodes = getNodes();
-			for (final N _node : _nodes) {
-				final int _nodeIndex = _nodes.indexOf(_node);
+			final int[][] _succs = getAdjacencyIndices(true);
+
+			for (int _nodeIndex = 0; _nodeIndex < _succs.length; _nodeIndex++) {
+				final N _node = _nodes.get(_nodeIndex);
 				final int _disTime = discoverTimes[_nodeIndex];
 				final int _finTime = finishTimes[_nodeIndex];
+				final int[] _nodeSuccs = _succs[_nodeIndex];
 				builder.createNode(_node);
-				for (final N _succ : _node.getSuccsOf()) {
+
+				for (int _j = 0; _j < _nodeSuccs.length; _j++) {
+					final int _succIndex = _nodeSuccs[_j];
+					final N _succ = _nodes.get(_succIndex);
 					builder.createNode(_succ);
-					final int _succIndex = _nodes.indexOf(_succ);
+
 					if (!(discoverTimes[_succIndex] <= _disTime && finishTimes[_succIndex] >= _finTime)) {
 						builder.addEdgeFromTo(_node, _succ);
 					}
@@ -657,16 +701,7 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	 */
 	@Functional(level = AccessSpecifier.PACKAGE) @NonNull @NonNullContainer public final Collection<N> getReachablesFrom(
 			@NonNull @Immutable final N root, final boolean forward) {
-		calculateReachabilityInfo();
-
-		final BitSet _matrix;
-
-		if (forward) {
-			_matrix = forwardReachabilityMatrix[getIndexOfNode(root)];
-		} else {
-			_matrix = backwardReachabilityMatrix[getIndexOfNode(root)];
-		}
-
+		final BitSet _matrix = getReachabilityIndex().getReachablesFrom(getIndexOfNode(root), forward);
 		final Collection<N> _result = new ArrayList<N>();
 		final List<N> _nodes = getNodes();
 
@@ -679,43 +714,26 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	/**
 	 * {@inheritDoc}
 	 */
-	@Functional(level = AccessSpecifier.PACKAGE) @NonNull @NonNullContainer public final List<List<N>> getSCCs(
+	@Functional(level = AccessSpecifier.PACKAGE) @NonNull @NonNullContainer public final synchronized List<List<N>> getSCCs(
 			final boolean topDown) {
 		if (!hasSCC) {
 			final List<N> _nodes = getNodes();
-			final Collection<List<N>> _sccs = findSCCs(_nodes);
-			final Map<N, List<N>> _node2scc = new HashMap<N, List<N>>();
-			final SimpleNodeGraphBuilder<List<N>> _sngb = new SimpleNodeGraphBuilder<List<N>>();
-			_sngb.createGraph();
-
-			for (final Iterator<List<N>> _i = _sccs.iterator(); _i.hasNext();) {
-				final List<N> _scc = _i.next();
-				_sngb.createNode(_scc);
-
-				for (final Iterator<N> _j = _scc.iterator(); _j.hasNext();) {
-					final N _n = _j.next();
-					_node2scc.put(_n, _scc);
+			final int[][] _components = calculateSCCIndices();
+			final int _count = _components.length;
+			scc = new ArrayList<List<N>>(_count);
+			sccIndices = new int[_count][];
+
+			// the components are discovered in reverse topological order.
+			for (int _i = _count - 1; _i >= 0; _i--) {
+				final int[] _component = _components[_i];
+				final List<N> _scc = new ArrayList<N>(_component.length);
+
+				for (int _j = 0; _j < _component.length; _j++) {
+					_scc.add(_nodes.get(_component[_j]));
 				}
+				sccIndices[_count - 1 - _i] = _component;
+				scc.add(_scc);
 			}
-
-			for (final Iterator<List<N>> _i = _sccs.iterator(); _i.hasNext();) {
-				final List<N> _scc = _i.next();
-
-				for (final Iterator<N> _j = _scc.iterator(); _j.hasNext();) {
-					final N _n = _j.next();
-					for (final Iterator<N> _k = _n.getSuccsOf().iterator(); _k.hasNext();) {
-						final N _succ = _k.next();
-						if (!_scc.contains(_succ)) {
-							_sngb.addEdgeFromTo(_scc, _node2scc.get(_succ));
-						}
-					}
-				}
-			}
-
-			_sngb.finishBuilding();
-			final IObjectDirectedGraph<SimpleNode<List<N>>, List<N>> _sng = _sngb.getBuiltGraph();
-			final List<SimpleNode<List<N>>> _r = _sng.performTopologicalSort(true);
-			scc = CollectionUtils.collect(_r, _sng.getObjectExtractor());
 			hasSCC = true;
 		}
 
@@ -731,7 +749,7 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	/**
 	 * {@inheritDoc}
 	 */
-	@Functional(level = AccessSpecifier.PACKAGE) @NonNull @NonNullContainer public final Collection<N> getSinks() {
+	@Functional(level = AccessSpecifier.PACKAGE) @NonNull @NonNullContainer public final synchronized Collection<N> getSinks() {
 		if (!sinksAreAvailable) {
 			sinks.clear();
 
@@ -762,7 +780,7 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	/**
 	 * {@inheritDoc}
 	 */
-	@Functional(level = AccessSpecifier.PACKAGE) @NonNull @NonNullContainer public final Collection<N> getSources() {
+	@Functional(level = AccessSpecifier.PACKAGE) @NonNull @NonNullContainer public final synchronized Collection<N> getSources() {
 		if (!sourcesAreAvailable) {
 			sources.clear();
 
@@ -801,7 +819,7 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	/**
 	 * {@inheritDoc}
 	 */
-	@Functional(level = AccessSpecifier.PACKAGE) @NonNull @NonNullContainer public final Collection<N> getTails() {
+	@Functional(level = AccessSpecifier.PACKAGE) @NonNull @NonNullContainer public final synchronized Collection<N> getTails() {
 		if (!pseudoTailsCalculated) {
 			// get the tails of the DAG into dtails
 			final SimpleNodeGraph<N> _graph = getDAG();
@@ -840,24 +858,8 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	 */
 	@Functional public final boolean hasCommonReachablesFrom(@NonNull @Immutable final N node1, final boolean forward1,
 			@NonNull @Immutable final N node2, final boolean forward2) {
-		calculateReachabilityInfo();
-
-		final BitSet _n1;
-		final BitSet _n2;
-
-		if (forward1) {
-			_n1 = forwardReachabilityMatrix[getIndexOfNode(node1)];
-		} else {
-			_n1 = backwardReachabilityMatrix[getIndexOfNode(node1)];
-		}
-
-		if (forward2) {
-			_n2 = forwardReachabilityMatrix[getIndexOfNode(node2)];
-		} else {
-			_n2 = backwardReachabilityMatrix[getIndexOfNode(node2)];
-		}
-
-		return _n1.intersects(_n2);
+		return getReachabilityIndex().hasCommonReachablesFrom(getIndexOfNode(node1), forward1, getIndexOfNode(node2),
+				forward2);
 	}
 
 	/**
@@ -877,16 +879,7 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	 */
 	@Functional(level = AccessSpecifier.PACKAGE) public final boolean isReachable(@NonNull @Immutable final N src,
 			@NonNull @Immutable final N dest, final boolean forward) {
-		calculateReachabilityInfo();
-
-		final BitSet[] _matrix;
-
-		if (forward) {
-			_matrix = forwardReachabilityMatrix;
-		} else {
-			_matrix = backwardReachabilityMatrix;
-		}
-		return _matrix[getIndexOfNode(src)].get(getIndexOfNode(dest));
+		return getReachabilityIndex().isReachable(getIndexOfNode(src), getIndexOfNode(dest), forward);
 	}
 
 	/**
@@ -933,6 +926,22 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 		return _result;
 	}
 
+	/**
+	 * Sets the number of nodes beyond which reachability queries are answered by a compact index instead of a dense
+	 * transitive closure. The compact index requires space linear in the size of the graph but may answer
+	 * <code>isReachable()</code> queries by a pruned search.
+	 * 
+	 * @param threshold to be used.
+	 */
+	@Functional public final synchronized void setCompactReachabilityThreshold(
+			@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int threshold) {
+		if (compactReachabilityThreshold != threshold) {
+			compactReachabilityThreshold = threshold;
+			reachability = false;
+			reachabilityIndex = null;
+		}
+	}
+
 	/**
 	 * Sets the size of the connectivity cache.
 	 * 
@@ -940,9 +949,7 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	 */
 	@Functional public final void setConnectivityCacheSize(
 			@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int size) {
-		final Map<Triple<N, N, Boolean>, Collection<N>> _t = new Cache<Triple<N, N, Boolean>, Collection<N>>(size);
-		_t.putAll(connectivityCache);
-		connectivityCache = _t;
+		connectivityCache.setMaximumSize(size);
 	}
 
 	/**
@@ -972,6 +979,71 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 		return _sb.toString();
 	}
 
+	/**
+	 * Creates the index to answer reachability queries on this graph. This implementation uses a dense transitive closure of
+	 * the condensation of the graph if the graph has at most <code>compactReachabilityThreshold</code> nodes; otherwise, it
+	 * uses a compact interval labelling of the condensation. Subclasses may override this to plug in a different index.
+	 * 
+	 * @param succs maps the index of a node to the indices of it's successors.
+	 * @param sccs is the collection of strongly connected components of the graph in topological order in terms of the
+	 *            indices of the nodes.
+	 * @return the reachability index.
+	 * @pre sccs->collect(o | o.length)->sum() = succs.length
+	 */
+	@NonNull protected IReachabilityIndex createReachabilityIndex(@NonNull @Immutable final int[][] succs,
+			@NonNull @Immutable final int[][] sccs) {
+		final IReachabilityIndex _result;
+
+		if (succs.length > compactReachabilityThreshold) {
+			_result = new IntervalReachabilityIndex(succs, sccs, NO_OF_REACHABILITY_LABELS);
+		} else {
+			_result = new DenseReachabilityIndex(succs, sccs);
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the indices of the successors (or predecessors) of the nodes of this graph. This implementation calculates
+	 * the information when it is requested for the first time after a change to the shape of the graph. However, subclasses
+	 * are free to implement this in an optimal manner.
+	 * 
+	 * @param forward <code>true</code> to retrieve the indices of the successors; <code>false</code> to retrieve the
+	 *            indices of the predecessors.
+	 * @return an array of arrays of indices. The array at <i>i</i> captures the indices of the successors (predecessors) of
+	 *         the node at index <i>i</i>. The result should not be modified.
+	 * @post result.length = getNodes().size()
+	 */
+	@NonNull protected synchronized int[][] getAdjacencyIndices(final boolean forward) {
+		if (succIndices == null) {
+			final List<N> _nodes = getNodes();
+			final int _size = _nodes.size();
+			final TObjectIntHashMap _node2index = new TObjectIntHashMap();
+			final int[][] _succs = new int[_size][];
+			final int[][] _preds = new int[_size][];
+
+			for (int _i = 0; _i < _size; _i++) {
+				_node2index.put(_nodes.get(_i), _i);
+			}
+
+			for (int _i = 0; _i < _size; _i++) {
+				final N _node = _nodes.get(_i);
+				_succs[_i] = getIndices(_node.getSuccsOf(), _node2index);
+				_preds[_i] = getIndices(_node.getPredsOf(), _node2index);
+			}
+			succIndices = _succs;
+			predIndices = _preds;
+		}
+
+		final int[][] _result;
+
+		if (forward) {
+			_result = succIndices;
+		} else {
+			_result = predIndices;
+		}
+		return _result;
+	}
+
 	/**
 	 * Retrieves the index of the given node in the list of nodes of this graph. This implementation will return the value of
 	 * <code>getNodes().indexOf(node)</code>. However, subclasses are free to implement this in an optimal manner.
@@ -987,7 +1059,7 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	/**
 	 * Changes the state of the graph as it's shape changed.
 	 */
-	protected void shapeChanged() {
+	protected synchronized void shapeChanged() {
 		hasSpanningForest = false;
 		pseudoTailsCalculated = false;
 		reachability = false;
@@ -995,6 +1067,9 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 		sinksAreAvailable = false;
 		sourcesAreAvailable = false;
 		hasSCC = false;
+		reachabilityIndex = null;
+		succIndices = null;
+		predIndices = null;
 	}
 
 	/**
@@ -1025,61 +1100,77 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	}
 
 	/**
-	 * Calculates reachability information for this graph.
+	 * Calculates the SCCs of this graph based on Tarjan's algorithm.
+	 * 
+	 * @return the SCCs in terms of the indices of the nodes. The SCCs are in reverse topological order, i.e., an SCC occurs
+	 *         after all the SCCs reachable from it.
+	 * @post result->collect(o | o.length)->sum() = getNodes().size()
 	 */
-	private void calculateReachabilityInfo() {
-		if (!reachability) {
-			final List<N> _nodes = getNodes();
-			final int _noOfNodes = _nodes.size();
-			final Collection<Integer> _sccIndices = new HashSet<Integer>();
-			forwardReachabilityMatrix = new BitSet[_noOfNodes];
-			backwardReachabilityMatrix = new BitSet[_noOfNodes];
-
-			for (final List<N> _scc : getSCCs(true)) {
-				final BitSet _f = new BitSet(_noOfNodes);
-				final BitSet _b = new BitSet(_noOfNodes);
-
-				_sccIndices.add(getIndexOfNode(_scc.get(0)));
-
-				for (final N _node : _scc) {
-					final int _iIndex = getIndexOfNode(_node);
-					forwardReachabilityMatrix[_iIndex] = _f;
-					backwardReachabilityMatrix[_iIndex] = _b;
-				}
-			}
-
-			for (final N _node : _nodes) {
-				final int _iIndex = getIndexOfNode(_node);
-
-				for (final Iterator<N> _j = _node.getSuccsOf().iterator(); _j.hasNext();) {
-					final N _succ = _j.next();
-					final int _indexOfSucc = getIndexOfNode(_succ);
-					forwardReachabilityMatrix[_iIndex].set(_indexOfSucc);
-					backwardReachabilityMatrix[_indexOfSucc].set(_iIndex);
-				}
-			}
-
-			for (final N _j : _nodes) {
-				final int _nodeIndex = getIndexOfNode(_j);
-				final BitSet _jf = forwardReachabilityMatrix[_nodeIndex];
-				final BitSet _jb = backwardReachabilityMatrix[_nodeIndex];
-				for (final int _k : _sccIndices) {
-					if (_k != _nodeIndex) {
-						final BitSet _kf = forwardReachabilityMatrix[_k];
-						if (_kf.get(_nodeIndex)) {
-							_kf.or(_jf);
+	@NonNull @Functional private int[][] calculateSCCIndices() {
+		final int[][] _succs = getAdjacencyIndices(true);
+		final int _size = _succs.length;
+		final int[] _dfsNums = new int[_size];
+		final int[] _lows = new int[_size];
+		final boolean[] _onStack = new boolean[_size];
+		final int[] _sccStack = new int[_size];
+		final int[] _dfsStack = new int[_size];
+		final int[] _succPositions = new int[_size];
+		final List<int[]> _result = new ArrayList<int[]>();
+		int _sccTop = 0;
+		int _dfsNum = 0;
+
+		for (int _root = 0; _root < _size; _root++) {
+			if (_dfsNums[_root] == 0) {
+				int _top = 0;
+				_dfsStack[0] = _root;
+				_succPositions[0] = 0;
+				_dfsNums[_root] = ++_dfsNum;
+				_lows[_root] = _dfsNum;
+				_sccStack[_sccTop++] = _root;
+				_onStack[_root] = true;
+
+				while (_top >= 0) {
+					final int _node = _dfsStack[_top];
+					final int[] _nodeSuccs = _succs[_node];
+
+					if (_succPositions[_top] < _nodeSuccs.length) {
+						final int _succ = _nodeSuccs[_succPositions[_top]++];
+
+						if (_dfsNums[_succ] == 0) {
+							_dfsNums[_succ] = ++_dfsNum;
+							_lows[_succ] = _dfsNum;
+							_sccStack[_sccTop++] = _succ;
+							_onStack[_succ] = true;
+							_dfsStack[++_top] = _succ;
+							_succPositions[_top] = 0;
+						} else if (_onStack[_succ]) {
+							_lows[_node] = Math.min(_lows[_node], _dfsNums[_succ]);
 						}
-						final BitSet _kb = backwardReachabilityMatrix[_k];
-						if (_kb.get(_nodeIndex)) {
-							_kb.or(_jb);
+					} else {
+						if (_lows[_node] == _dfsNums[_node]) {
+							int _start = _sccTop;
+
+							do {
+								_start--;
+								_onStack[_sccStack[_start]] = false;
+							} while (_sccStack[_start] != _node);
+
+							final int[] _component = new int[_sccTop - _start];
+							System.arraycopy(_sccStack, _start, _component, 0, _component.length);
+							_result.add(_component);
+							_sccTop = _start;
+						}
+						_top--;
+
+						if (_top >= 0) {
+							final int _parent = _dfsStack[_top];
+							_lows[_parent] = Math.min(_lows[_parent], _lows[_node]);
 						}
 					}
 				}
 			}
-
-			reachability = true;
-			connectivityCache = new Cache<Triple<N, N, Boolean>, Collection<N>>(_noOfNodes);
 		}
+		return _result.toArray(new int[_result.size()][]);
 	}
 
 	/**
@@ -1087,29 +1178,39 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 	 * 
 	 * @post hasSpanningForest = true
 	 */
-	private void createSpanningForest() {
+	private synchronized void createSpanningForest() {
 		if (hasSpanningForest) {
 			return;
 		}
 
 		spanningForest = new SimpleNodeGraph<N>();
 
-		final List<N> _nodes = getNodes();
-		final Collection<N> _exploredNodes = new HashSet<N>();
-		final Collection<N> _consideredNodes = new HashSet<N>();
-		final Collection<N> _processedNodes = new HashSet<N>();
+		final int[][] _succs = getAdjacencyIndices(true);
+		final int[][] _preds = getAdjacencyIndices(false);
+		final int _noOfNodes = _succs.length;
+		final boolean[] _exploredNodes = new boolean[_noOfNodes];
+		final boolean[] _consideredNodes = new boolean[_noOfNodes];
+		final boolean[] _processedNodes = new boolean[_noOfNodes];
 		int _discoverTime = 0;
-		discoverTimes = new int[_nodes.size()];
-		finishTimes = new int[_nodes.size()];
+		discoverTimes = new int[_noOfNodes];
+		finishTimes = new int[_noOfNodes];
 		backedges.clear();
 		crossedges.clear();
 
 		final IWorkBag<Object> _order = new LIFOWorkBag<Object>();
-		final Collection<N> _sources = getSources();
+		final Collection<Integer> _sources = new ArrayList<Integer>();
+
+		for (int _i = 0; _i < _noOfNodes; _i++) {
+			if (_preds[_i].length == 0) {
+				_sources.add(Integer.valueOf(_i));
+			}
+		}
 
 		// It is possible that the graph has no heads, i.e., nodes with no predecessors, and these are handled here.
 		if (_sources.isEmpty()) {
-			_order.addAllWork(_nodes);
+			for (int _i = 0; _i < _noOfNodes; _i++) {
+				_order.addWork(Integer.valueOf(_i));
+			}
 		} else {
 			_order.addAllWork(_sources);
 		}
@@ -1118,17 +1219,19 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 			final Object _work = _order.getWork();
 
 			if (_work instanceof Marker) {
-				@SuppressWarnings("unchecked") final N _node = (N) ((Marker) _work).getContent();
-				final int _indexOfNode = getIndexOfNode(_node);
+				final int _indexOfNode = ((Integer) ((Marker) _work).getContent()).intValue();
 				finishTimes[_indexOfNode] = ++_discoverTime;
-				_exploredNodes.add(_node);
-			} else if (!_exploredNodes.contains(_work)) {
+				_exploredNodes[_indexOfNode] = true;
+			} else {
+				final int _indexOfNode = ((Integer) _work).intValue();
+
 				// we do not want to process nodes that are already processed.
-				@SuppressWarnings("unchecked") final N _node = (N) _work;
-				discoverTimes[getIndexOfNode(_node)] = ++_discoverTime;
-				_processedNodes.add(_node);
-				_order.addWork(new Marker(_node));
-				processNodeForSpanningTree(_consideredNodes, _processedNodes, _order, _node);
+				if (!_exploredNodes[_indexOfNode]) {
+					discoverTimes[_indexOfNode] = ++_discoverTime;
+					_processedNodes[_indexOfNode] = true;
+					_order.addWork(new Marker(_work));
+					processNodeForSpanningTree(_consideredNodes, _processedNodes, _order, _indexOfNode, _succs);
+				}
 			}
 		}
 
@@ -1184,29 +1287,54 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 		return _result;
 	}
 
+	/**
+	 * Retrieves the reachability index of this graph. The index is calculated when it is requested for the first time after
+	 * a change to the shape of the graph.
+	 * 
+	 * @return the reachability index.
+	 */
+	@NonNull private synchronized IReachabilityIndex getReachabilityIndex() {
+		if (!reachability) {
+			getSCCs(true);
+
+			final int[][] _succs = getAdjacencyIndices(true);
+			final int _noOfNodes = _succs.length;
+			reachabilityIndex = createReachabilityIndex(_succs, sccIndices);
+			reachability = true;
+			connectivityCache.clear();
+			connectivityCache.setMaximumSize(_noOfNodes);
+		}
+		return reachabilityIndex;
+	}
+
 	/**
 	 * Processes the given node while creating a spanning tree.
 	 * 
-	 * @param consideredNodes is the collection of nodes already reached but not processed.
-	 * @param processedNodes is the collection of nodes already processed for immediate successors but not fully explored.
+	 * @param consideredNodes indicates the nodes already reached but not processed.
+	 * @param processedNodes indicates the nodes already processed for immediate successors but not fully explored.
 	 * @param workBag is the work bag that needs to be updates during processing.
-	 * @param nodeToProcess is the node to be processed.
-	 * @pre consideredNodes != null and processedNodes != null and workBag != null and nodeToProcess != null
-	 * @post processedNodes.containsAll(processedNodes$pre)
-	 * @post consideredNodes.containsAll(consideredNodes$pre)
-	 */
-	private void processNodeForSpanningTree(@NonNull @NonNullContainer @Immutable final Collection<N> consideredNodes,
-			@NonNull @NonNullContainer @Immutable Collection<N> processedNodes,
-			@NonNull @NonNullContainer final IWorkBag<Object> workBag, @NonNull @NonNullContainer final N nodeToProcess) {
+	 * @param nodeToProcess is the index of the node to be processed.
+	 * @param succs maps the index of a node to the indices of it's successors.
+	 * @pre consideredNodes != null and processedNodes != null and workBag != null and succs != null
+	 */
+	private void processNodeForSpanningTree(@NonNull final boolean[] consideredNodes,
+			@NonNull @Immutable final boolean[] processedNodes, @NonNull @NonNullContainer final IWorkBag<Object> workBag,
+			final int nodeToProcess, @NonNull @Immutable final int[][] succs) {
+		final List<N> _nodes = getNodes();
+		final N _node = _nodes.get(nodeToProcess);
+		final int[] _nodeSuccs = succs[nodeToProcess];
 		// capture the node in the spanning forest.
-		final SimpleNode<N> _n1 = spanningForest.getNode(nodeToProcess);
-		for (final N _succ : nodeToProcess.getSuccsOf()) {
+		final SimpleNode<N> _n1 = spanningForest.getNode(_node);
+
+		for (int _i = 0; _i < _nodeSuccs.length; _i++) {
+			final int _destIndex = _nodeSuccs[_i];
+			final N _succ = _nodes.get(_destIndex);
+
 			// edges to processedNodes and  nodes can only be backedges or crossedges.
-			if (consideredNodes.contains(_succ) || processedNodes.contains(_succ)) {
-				final int _destIndex = getIndexOfNode(_succ);
-				final Pair<N, N> _edge = new Pair<N, N>(nodeToProcess, _succ);
+			if (consideredNodes[_destIndex] || processedNodes[_destIndex]) {
+				final Pair<N, N> _edge = new Pair<N, N>(_node, _succ);
 
-				if (finishTimes[_destIndex] == 0 && processedNodes.contains(_succ)) {
+				if (finishTimes[_destIndex] == 0 && processedNodes[_destIndex]) {
 					backedges.add(_edge);
 				} else {
 					crossedges.add(_edge);
@@ -1214,8 +1342,8 @@ public abstract class AbstractDirectedGraph<N extends INode<N>>
 			} else {
 				final SimpleNode<N> _n2 = spanningForest.getNode(_succ);
 				spanningForest.addEdgeFromTo(_n1, _n2);
-				consideredNodes.add(_succ);
-				workBag.addWork(_succ);
+				consideredNodes[_destIndex] = true;
+				workBag.addWork(Integer.valueOf(_destIndex));
 			}
 		}
 	}
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+
+package edu.ksu.cis.indus.common.graph;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.Immutable;
+import edu.ksu.cis.indus.annotations.NonNull;
+
+import java.util.BitSet;
+
+/**
+ * This class provides the common implementation of reachability indices that operate on the condensation of a graph, i.e.,
+ * the directed acyclic graph of the strongly connected components of the graph. As the nodes of a component reach each
+ * other and the same set of nodes outside the component, the node level queries are answered by component level queries
+ * implemented by the subclasses.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+abstract class AbstractReachabilityIndex
+		implements IReachabilityIndex {
+
+	/**
+	 * This maps the index of a component to the indices of it's predecessor components.
+	 */
+	@NonNull protected final int[][] componentPreds;
+
+	/**
+	 * The nodes of the graph in terms of their indices grouped by components.
+	 */
+	@NonNull protected final int[][] components;
+
+	/**
+	 * This maps the index of a component to the indices of it's successor components.
+	 */
+	@NonNull protected final int[][] componentSuccs;
+
+	/**
+	 * This indicates if the component at a given index is involved in a cycle, i.e., it has more than one node or a self
+	 * loop.
+	 */
+	@NonNull protected final boolean[] cyclic;
+
+	/**
+	 * This maps the index of a node to the index of it's component.
+	 */
+	@NonNull private final int[] componentOf;
+
+	/**
+	 * Creates an instance of this class.
+	 *
+	 * @param succs maps the index of a node to the indices of it's successors.
+	 * @param sccs is the collection of strongly connected components of the graph in topological order.
+	 * @pre sccs->collect(o | o.length)->sum() = succs.length
+	 */
+	AbstractReachabilityIndex(@NonNull @Immutable final int[][] succs, @NonNull @Immutable final int[][] sccs) {
+		final int _noOfComponents = sccs.length;
+		components = sccs;
+		componentOf = new int[succs.length];
+		cyclic = new boolean[_noOfComponents];
+
+		for (int _i = 0; _i < _noOfComponents; _i++) {
+			final int[] _scc = sccs[_i];
+
+			for (int _j = 0; _j < _scc.length; _j++) {
+				componentOf[_scc[_j]] = _i;
+			}
+			cyclic[_i] = _scc.length > 1;
+		}
+
+		final int[] _predCounts = new int[_noOfComponents];
+		final int[] _lastSeenFrom = new int[_noOfComponents];
+		final int[][] _succs = new int[_noOfComponents][];
+
+		// collect the distinct successor components of each component.
+		for (int _i = 0; _i < _noOfComponents; _i++) {
+			final int[] _scc = sccs[_i];
+			int[] _buffer = new int[4];
+			int _count = 0;
+
+			for (int _j = 0; _j < _scc.length; _j++) {
+				final int[] _nodeSuccs = succs[_scc[_j]];
+
+				for (int _k = 0; _k < _nodeSuccs.length; _k++) {
+					final int _succ = componentOf[_nodeSuccs[_k]];
+
+					if (_succ == _i) {
+						cyclic[_i] = true;
+					} else if (_lastSeenFrom[_succ] != _i + 1) {
+						_lastSeenFrom[_succ] = _i + 1;
+
+						if (_count == _buffer.length) {
+							final int[] _t = new int[_count * 2];
+							System.arraycopy(_buffer, 0, _t, 0, _count);
+							_buffer = _t;
+						}
+						_buffer[_count++] = _succ;
+						_predCounts[_succ]++;
+					}
+				}
+			}
+			_succs[_i] = new int[_count];
+			System.arraycopy(_buffer, 0, _succs[_i], 0, _count);
+		}
+
+		final int[][] _preds = new int[_noOfComponents][];
+
+		for (int _i = 0; _i < _noOfComponents; _i++) {
+			_preds[_i] = new int[_predCounts[_i]];
+			_predCounts[_i] = 0;
+		}
+
+		for (int _i = 0; _i < _noOfComponents; _i++) {
+			final int[] _compSuccs = _succs[_i];
+
+			for (int _j = 0; _j < _compSuccs.length; _j++) {
+				final int _succ = _compSuccs[_j];
+				_preds[_succ][_predCounts[_succ]++] = _i;
+			}
+		}
+		componentSuccs = _succs;
+		componentPreds = _preds;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@NonNull @Functional public final BitSet getReachablesFrom(final int node, final boolean forward) {
+		final BitSet _components = getReachableComponents(componentOf[node], forward);
+		final BitSet _result = new BitSet(componentOf.length);
+
+		for (int _i = _components.nextSetBit(0); _i >= 0; _i = _components.nextSetBit(_i + 1)) {
+			final int[] _scc = components[_i];
+
+			for (int _j = 0; _j < _scc.length; _j++) {
+				_result.set(_scc[_j]);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * As reachable sets are unions of whole components, this is answered at the granularity of components.
+	 * </p>
+	 */
+	@Functional public boolean hasCommonReachablesFrom(final int node1, final boolean forward1, final int node2,
+			final boolean forward2) {
+		return getReachableComponents(componentOf[node1], forward1).intersects(
+				getReachableComponents(componentOf[node2], forward2));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Functional public final boolean isReachable(final int src, final int dest, final boolean forward) {
+		final int _srcComponent = componentOf[src];
+		final int _destComponent = componentOf[dest];
+		final boolean _result;
+
+		if (_srcComponent == _destComponent) {
+			_result = cyclic[_srcComponent];
+		} else if (forward) {
+			_result = isComponentReachable(_srcComponent, _destComponent);
+		} else {
+			_result = isComponentReachable(_destComponent, _srcComponent);
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the indices of the components reachable from the given component.
+	 *
+	 * @param component is the index of the component of interest.
+	 * @param forward <code>true</code> indicates following the edges; <code>false</code> indicates following the edges in
+	 *            the reverse direction.
+	 * @return the indices of the reachable components. The given component is included only if it is cyclic. The result
+	 *         should not be modified.
+	 */
+	@NonNull @Functional abstract BitSet getReachableComponents(int component, boolean forward);
+
+	/**
+	 * Checks if <code>dest</code> component is reachable from <code>src</code> component by following the edges.
+	 *
+	 * @param src is the index of the source component.
+	 * @param dest is the index of the destination component.
+	 * @return <code>true</code> if <code>dest</code> is reachable from <code>src</code>; <code>false</code>, otherwise.
+	 * @pre src != dest
+	 */
+	@Functional abstract boolean isComponentReachable(int src, int dest);
+}
+
+// End of File
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+
+package edu.ksu.cis.indus.common.graph;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.Immutable;
+import edu.ksu.cis.indus.annotations.NonNull;
+
+import java.util.BitSet;
+
+/**
+ * This reachability index materializes the transitive closure of the condensation of a graph. It answers queries in
+ * constant time but requires space quadratic in the number of strongly connected components. Hence, it is suitable only for
+ * small to medium sized graphs.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+final class DenseReachabilityIndex
+		extends AbstractReachabilityIndex {
+
+	/**
+	 * This maps the index of a component to the indices of the components reachable by following the edges in reverse.
+	 */
+	@NonNull private final BitSet[] backward;
+
+	/**
+	 * This maps the index of a component to the indices of the components reachable by following the edges.
+	 */
+	@NonNull private final BitSet[] forward;
+
+	/**
+	 * Creates an instance of this class.
+	 *
+	 * @param succs maps the index of a node to the indices of it's successors.
+	 * @param sccs is the collection of strongly connected components of the graph in topological order.
+	 * @pre sccs->collect(o | o.length)->sum() = succs.length
+	 */
+	DenseReachabilityIndex(@NonNull @Immutable final int[][] succs, @NonNull @Immutable final int[][] sccs) {
+		super(succs, sccs);
+
+		final int _noOfComponents = sccs.length;
+		forward = new BitSet[_noOfComponents];
+		backward = new BitSet[_noOfComponents];
+
+		// successor components occur later in topological order; hence, process them first.
+		for (int _i = _noOfComponents - 1; _i >= 0; _i--) {
+			forward[_i] = close(_i, componentSuccs[_i], forward);
+		}
+
+		for (int _i = 0; _i < _noOfComponents; _i++) {
+			backward[_i] = close(_i, componentPreds[_i], backward);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@NonNull @Functional @Override BitSet getReachableComponents(final int component, final boolean fwd) {
+		final BitSet _result;
+
+		if (fwd) {
+			_result = forward[component];
+		} else {
+			_result = backward[component];
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Functional @Override boolean isComponentReachable(final int src, final int dest) {
+		return forward[src].get(dest);
+	}
+
+	/**
+	 * Calculates the components reachable from the given component.
+	 *
+	 * @param component of interest.
+	 * @param adjacents are the components adjacent to <code>component</code>.
+	 * @param closures maps components to their reachable components. It should contain the information for all components
+	 *            in <code>adjacents</code>.
+	 * @return the components reachable from <code>component</code>.
+	 */
+	@NonNull @Functional private BitSet close(final int component, @NonNull @Immutable final int[] adjacents,
+			@NonNull @Immutable final BitSet[] closures) {
+		final BitSet _result = new BitSet();
+
+		if (cyclic[component]) {
+			_result.set(component);
+		}
+
+		for (int _j = 0; _j < adjacents.length; _j++) {
+			final int _adjacent = adjacents[_j];
+			_result.set(_adjacent);
+			_result.or(closures[_adjacent]);
+		}
+		return _result;
+	}
+}
+
+// End of File
@@ -26,11 +26,15 @@ import edu.ksu.cis.indus.common.collections.ListOrderedSet;
 import gnu.trove.TObjectIntHashMap;
 
 import java.util.AbstractList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 /**
- * This is a common implementation that maintains graph information.
+ * This is a common implementation that maintains graph information. The nodes are numbered densely in the order of their
+ * addition, i.e., the index of a node is it's position in <code>getNodes()</code>. The numbering is maintained as nodes are
+ * added and removed and hence index lookup is a constant time operation.
  * 
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
@@ -40,9 +44,11 @@ import java.util.List;
 public class GraphInfo<N extends INode<N>> {
 
 	/**
-	 * This maps nodes to their indices in the node list of this graph.
+	 * This maps nodes to their indices in the node list of this graph. The indices are offset by 1 so that 0 represents the
+	 * absence of a node.
 	 * 
 	 * @invariant node2indices.oclIsTypeOf(Map(INode, int))
+	 * @invariant nodes->forall(o | node2index.get(o) = nodes.indexOf(o) + 1)
 	 */
 	private final TObjectIntHashMap node2index = new TObjectIntHashMap();
 
@@ -51,6 +57,17 @@ public class GraphInfo<N extends INode<N>> {
 	 */
 	@NonNullContainer private final ListOrderedSet<N> nodes = new ListOrderedSet<N>();
 
+	/**
+	 * This maps the index of a node to the indices of it's predecessors. This is <code>null</code> if it is not
+	 * calculated.
+	 */
+	private int[][] predIndices;
+
+	/**
+	 * This maps the index of a node to the indices of it's successors. This is <code>null</code> if it is not calculated.
+	 */
+	private int[][] succIndices;
+
 	/**
 	 * Creates an instance of this class.
 	 */
@@ -59,24 +76,43 @@ public class GraphInfo<N extends INode<N>> {
 	}
 
 	/**
-	 * Retrieves the index of the given node in the sequence of nodes in the associated graph.
+	 * Retrieves the indices of the successors (or predecessors) of the nodes. The adjacency information is calculated when
+	 * it is requested for the first time after a change to the shape of the graph. This may be called concurrently.
 	 * 
-	 * @param node of interest.
-	 * @return the index of the given node.
+	 * @param forward <code>true</code> to retrieve the indices of the successors; <code>false</code> to retrieve the
+	 *            indices of the predecessors.
+	 * @return an array of arrays of indices. The array at <i>i</i> captures the indices of the successors (predecessors) of
+	 *         the node at index <i>i</i> in the order they are returned by <code>getSuccsOf()</code>
+	 *         (<code>getPredsOf()</code>). The result should not be modified.
+	 * @post result.length = getNodes().size()
 	 */
-	public final int getIndexOfNode(@NonNull @Immutable final N node) {
-		final int _result;
+	@NonNull public final synchronized int[][] getAdjacencyIndices(final boolean forward) {
+		final int[][] _result;
 
-		if (node2index.containsKey(node)) {
-			_result = node2index.get(node);
+		if (forward) {
+			if (succIndices == null) {
+				succIndices = calculateAdjacencyIndices(true);
+			}
+			_result = succIndices;
 		} else {
-			_result = getNodes().indexOf(node);
-			node2index.put(node, _result);
-			assert _result != -1;
+			if (predIndices == null) {
+				predIndices = calculateAdjacencyIndices(false);
+			}
+			_result = predIndices;
 		}
 		return _result;
 	}
 
+	/**
+	 * Retrieves the index of the given node in the sequence of nodes in the associated graph.
+	 * 
+	 * @param node of interest.
+	 * @return the index of the given node; -1 if the node is not maintained by this object.
+	 */
+	@Functional public final int getIndexOfNode(@NonNull @Immutable final N node) {
+		return node2index.get(node) - 1;
+	}
+
 	/**
 	 * Retrieves the nodes maintained by this object.
 	 * 
@@ -97,25 +133,41 @@ public class GraphInfo<N extends INode<N>> {
 				return nodes.contains(o);
 			}
 
+			@Override public int indexOf(Object o) {
+				return node2index.get(o) - 1;
+			}
 		});
 	}
 
 	/**
-	 * Removes the given node from the collection of nodes maintained by this object.
+	 * Removes the given node from the collection of nodes maintained by this object. The nodes following the removed node
+	 * are renumbered.
 	 * 
 	 * @param node of interest.
 	 * @return <code>true</code> if <code>node</code> was maintained and was removed; <code>false</code>, otherwise.
 	 */
 	public boolean removeNode(@NonNull @Immutable final N node) {
-		node2index.remove(node);
-		return nodes.remove(node);
+		final int _index = getIndexOfNode(node);
+		final boolean _result = _index != -1;
+
+		if (_result) {
+			nodes.remove(node);
+			node2index.remove(node);
+
+			for (int _i = nodes.size() - 1; _i >= _index; _i--) {
+				node2index.put(nodes.get(_i), _i + 1);
+			}
+			shapeChanged();
+		}
+		return _result;
 	}
 
 	/**
 	 * Resets internal caches.
 	 */
-	public final void shapeChanged() {
-		node2index.clear();
+	public final synchronized void shapeChanged() {
+		succIndices = null;
+		predIndices = null;
 	}
 
 	/**
@@ -128,7 +180,33 @@ public class GraphInfo<N extends INode<N>> {
 		final boolean _result = nodes.add(node);
 
 		if (_result) {
-			node2index.put(node, nodes.size() - 1);
+			node2index.put(node, nodes.size());
+			shapeChanged();
+		}
+		return _result;
+	}
+
+	/**
+	 * Calculates the indices of the successors (or predecessors) of the nodes.
+	 * 
+	 * @param forward <code>true</code> to calculate the indices of the successors; <code>false</code> to calculate the
+	 *            indices of the predecessors.
+	 * @return an array of arrays of indices.
+	 * @post result.length = getNodes().size()
+	 */
+	@NonNull @Functional private int[][] calculateAdjacencyIndices(final boolean forward) {
+		final int _size = nodes.size();
+		final int[][] _result = new int[_size][];
+
+		for (int _i = 0; _i < _size; _i++) {
+			final Collection<N> _adjacents = nodes.get(_i).getSuccsNodesInDirection(forward);
+			final int[] _temp = new int[_adjacents.size()];
+			final Iterator<N> _j = _adjacents.iterator();
+
+			for (int _k = 0; _k < _temp.length; _k++) {
+				_temp[_k] = getIndexOfNode(_j.next());
+			}
+			_result[_i] = _temp;
 		}
 		return _result;
 	}
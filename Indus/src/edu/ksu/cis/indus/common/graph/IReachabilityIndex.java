@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+
+package edu.ksu.cis.indus.common.graph;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.NonNull;
+
+import java.util.BitSet;
+
+/**
+ * This is the interface to an index that answers reachability queries on a graph. The nodes are identified by their
+ * indices in the list of nodes of the graph. Like in <code>IDirectedGraph</code>, a node is reachable from itself only if
+ * it occurs in a cycle.
+ * <p>
+ * An index reflects the shape of the graph at the time of it's construction. Hence, it should be discarded when the shape
+ * of the graph changes.
+ * </p>
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public interface IReachabilityIndex {
+
+	/**
+	 * Retrieves the indices of the nodes reachable from the given node.
+	 *
+	 * @param node is the index of the node of interest.
+	 * @param forward <code>true</code> indicates following the edges; <code>false</code> indicates following the edges in
+	 *            the reverse direction.
+	 * @return the indices of the reachable nodes. The caller may modify the result.
+	 * @post result->forall(o | isReachable(node, o, forward))
+	 */
+	@NonNull @Functional BitSet getReachablesFrom(int node, boolean forward);
+
+	/**
+	 * Checks if the given nodes have common reachable nodes.
+	 *
+	 * @param node1 is the index of one node of interest.
+	 * @param forward1 is the direction of reachability from <code>node1</code>.
+	 * @param node2 is the index of the other node of interest.
+	 * @param forward2 is the direction of reachability from <code>node2</code>.
+	 * @return <code>true</code> if there are common reachable nodes; <code>false</code>, otherwise.
+	 * @post result = getReachablesFrom(node1, forward1).intersects(getReachablesFrom(node2, forward2))
+	 */
+	@Functional boolean hasCommonReachablesFrom(int node1, boolean forward1, int node2, boolean forward2);
+
+	/**
+	 * Checks if <code>dest</code> is reachable from <code>src</code>.
+	 *
+	 * @param src is the index of the source node.
+	 * @param dest is the index of the destination node.
+	 * @param forward <code>true</code> indicates following the edges; <code>false</code> indicates following the edges in
+	 *            the reverse direction.
+	 * @return <code>true</code> if <code>dest</code> is reachable from <code>src</code>; <code>false</code>, otherwise.
+	 */
+	@Functional boolean isReachable(int src, int dest, boolean forward);
+}
+
+// End of File
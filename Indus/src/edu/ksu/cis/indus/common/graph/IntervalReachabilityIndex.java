@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+
+package edu.ksu.cis.indus.common.graph;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.Immutable;
+import edu.ksu.cis.indus.annotations.NonNull;
+import edu.ksu.cis.indus.annotations.NumericalConstraint;
+import edu.ksu.cis.indus.annotations.NumericalConstraint.NumericalValue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * This reachability index labels each strongly connected component of a graph with a few intervals calculated by
+ * randomized depth-first traversals of the condensation of the graph (GRAIL). If a component reaches another component then
+ * the intervals of the latter are contained in the corresponding intervals of the former. Hence, non-containment of
+ * intervals refutes reachability in constant time while containment is confirmed by a depth-first search that is pruned by
+ * the same test. The space required is linear in the size of the graph. As the searches use local book keeping
+ * information, this index may be queried concurrently.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+final class IntervalReachabilityIndex
+		extends AbstractReachabilityIndex {
+
+	/**
+	 * The seed used to randomize the traversals. A fixed seed ensures the index of a graph is the same across runs.
+	 */
+	private static final long SEED = 0x1d05L;
+
+	/**
+	 * This maps a traversal to the lower bounds of the intervals of the components.
+	 */
+	@NonNull private final int[][] lows;
+
+	/**
+	 * This maps a traversal to the post-order ranks of the components, i.e., the upper bounds of the intervals.
+	 */
+	@NonNull private final int[][] ranks;
+
+	/**
+	 * Creates an instance of this class.
+	 *
+	 * @param succs maps the index of a node to the indices of it's successors.
+	 * @param sccs is the collection of strongly connected components of the graph in topological order.
+	 * @param noOfTraversals is the number of intervals with which each component should be labelled.
+	 * @pre sccs->collect(o | o.length)->sum() = succs.length
+	 */
+	IntervalReachabilityIndex(@NonNull @Immutable final int[][] succs, @NonNull @Immutable final int[][] sccs,
+			@NumericalConstraint(value = NumericalValue.POSITIVE) final int noOfTraversals) {
+		super(succs, sccs);
+
+		final int _noOfComponents = sccs.length;
+		final Random _random = new Random(SEED);
+		lows = new int[noOfTraversals][];
+		ranks = new int[noOfTraversals][];
+
+		for (int _i = 0; _i < noOfTraversals; _i++) {
+			lows[_i] = new int[_noOfComponents];
+			ranks[_i] = new int[_noOfComponents];
+			label(lows[_i], ranks[_i], _random);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@NonNull @Functional @Override BitSet getReachableComponents(final int component, final boolean forward) {
+		final int[][] _adjacents;
+
+		if (forward) {
+			_adjacents = componentSuccs;
+		} else {
+			_adjacents = componentPreds;
+		}
+
+		final BitSet _result = new BitSet();
+		final int[] _stack = new int[components.length];
+		int _top = 0;
+		_stack[0] = component;
+
+		while (_top >= 0) {
+			final int[] _nexts = _adjacents[_stack[_top--]];
+
+			for (int _i = 0; _i < _nexts.length; _i++) {
+				final int _next = _nexts[_i];
+
+				if (!_result.get(_next)) {
+					_result.set(_next);
+					_stack[++_top] = _next;
+				}
+			}
+		}
+
+		if (cyclic[component]) {
+			_result.set(component);
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Functional @Override boolean isComponentReachable(final int src, final int dest) {
+		boolean _result = false;
+
+		if (mayReach(src, dest)) {
+			final BitSet _visited = new BitSet(components.length);
+			final int[] _stack = new int[components.length];
+			int _top = 0;
+			_stack[0] = src;
+			_visited.set(src);
+
+			while (_top >= 0 && !_result) {
+				final int[] _succs = componentSuccs[_stack[_top--]];
+
+				for (int _i = 0; _i < _succs.length && !_result; _i++) {
+					final int _succ = _succs[_i];
+
+					if (_succ == dest) {
+						_result = true;
+					} else if (!_visited.get(_succ) && mayReach(_succ, dest)) {
+						_visited.set(_succ);
+						_stack[++_top] = _succ;
+					}
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Labels the components with intervals based on a randomized depth-first traversal of the condensation.
+	 *
+	 * @param low is the lower bounds of the intervals of the components. This is an out argument.
+	 * @param rank is the post-order ranks of the components. This is an out argument.
+	 * @param random is the source of randomness used to pick the order of traversal.
+	 */
+	private void label(@NonNull final int[] low, @NonNull final int[] rank, @NonNull final Random random) {
+		final int _noOfComponents = components.length;
+		final int[] _stack = new int[_noOfComponents];
+		final int[] _positions = new int[_noOfComponents];
+		final int[] _offsets = new int[_noOfComponents];
+		final int _rootOffset = random.nextInt(_noOfComponents + 1);
+		int _rank = 0;
+
+		for (int _r = 0; _r < _noOfComponents; _r++) {
+			final int _root = (_r + _rootOffset) % _noOfComponents;
+
+			if (rank[_root] == 0 && componentPreds[_root].length == 0) {
+				int _top = 0;
+				_stack[0] = _root;
+				_positions[0] = 0;
+				_offsets[0] = random.nextInt(componentSuccs[_root].length + 1);
+
+				while (_top >= 0) {
+					final int _component = _stack[_top];
+					final int[] _succs = componentSuccs[_component];
+
+					if (_positions[_top] < _succs.length) {
+						final int _succ = _succs[(_positions[_top]++ + _offsets[_top]) % _succs.length];
+
+						// as the condensation is acyclic, an unranked successor cannot be on the stack.
+						if (rank[_succ] == 0) {
+							_stack[++_top] = _succ;
+							_positions[_top] = 0;
+							_offsets[_top] = random.nextInt(componentSuccs[_succ].length + 1);
+						}
+					} else {
+						int _low = ++_rank;
+
+						for (int _i = 0; _i < _succs.length; _i++) {
+							_low = Math.min(_low, low[_succs[_i]]);
+						}
+						rank[_component] = _rank;
+						low[_component] = _low;
+						_top--;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks if <code>src</code> component may reach <code>dest</code> component based on the labels and the topological
+	 * order of the components.
+	 *
+	 * @param src is the index of the source component.
+	 * @param dest is the index of the destination component.
+	 * @return <code>false</code> if <code>src</code> cannot reach <code>dest</code>; <code>true</code>, otherwise.
+	 */
+	@Functional private boolean mayReach(final int src, final int dest) {
+		// components occur before the components they reach in topological order.
+		boolean _result = src < dest;
+
+		for (int _i = 0; _i < ranks.length && _result; _i++) {
+			_result = lows[_i][src] <= lows[_i][dest] && ranks[_i][dest] <= ranks[_i][src];
+		}
+		return _result;
+	}
+}
+
+// End of File
@@ -82,7 +82,12 @@ public class MutableDirectedGraph<N extends IMutableNode<N>>
 	 * {@inheritDoc}
 	 */
 	public boolean addNode(@NonNull @Immutable final N node) {
-		return graphInfo.addNode(node);
+		final boolean _result = graphInfo.addNode(node);
+
+		if (_result) {
+			shapeChanged();
+		}
+		return _result;
 	}
 
 	/**
@@ -140,7 +145,14 @@ public class MutableDirectedGraph<N extends IMutableNode<N>>
 	 * @return <code>true</code> if <code>node</code> is contained in this graph; <code>false</code>, otherwise.
 	 */
 	@Functional protected final boolean containsNode(@NonNull final N node) {
-		return getNodes().contains(node);
+		return graphInfo.getIndexOfNode(node) != -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override @NonNull protected final int[][] getAdjacencyIndices(final boolean forward) {
+		return graphInfo.getAdjacencyIndices(forward);
 	}
 
 	/**
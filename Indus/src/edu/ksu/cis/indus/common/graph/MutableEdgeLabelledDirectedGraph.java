@@ -76,6 +76,7 @@ public class MutableEdgeLabelledDirectedGraph<N extends MutableEdgeLabelledNode<
 			_result &= _node.removeOutgoingEdgesLabelled(label);
 			_result &= _node.removeIncomingEdgesLabelled(label);
 		}
+		shapeChanged();
 		return _result;
 	}
 
@@ -91,6 +92,7 @@ public class MutableEdgeLabelledDirectedGraph<N extends MutableEdgeLabelledNode<
 			final N _dest = _i.next();
 			_dest.removeIncomingEdgeLabelledFrom(label, node);
 		}
+		shapeChanged();
 		return node.removeOutgoingEdgesLabelled(label);
 	}
 
@@ -106,6 +108,7 @@ public class MutableEdgeLabelledDirectedGraph<N extends MutableEdgeLabelledNode<
 			final N _src = _i.next();
 			_src.removeOutgoingEdgeLabelledTo(label, node);
 		}
+		shapeChanged();
 		return node.removeIncomingEdgesLabelled(label);
 	}
 
@@ -114,7 +117,9 @@ public class MutableEdgeLabelledDirectedGraph<N extends MutableEdgeLabelledNode<
 	 */
 	public final boolean removeEdgeFromTo(@NonNull @Immutable final N src, @NonNull @Immutable final IEdgeLabel label,
 			@Immutable @NonNull final N dest) {
-		return src.removeOutgoingEdgeLabelledTo(label, dest) && dest.removeIncomingEdgeLabelledFrom(label, src);
+		final boolean _result = src.removeOutgoingEdgeLabelledTo(label, dest) && dest.removeIncomingEdgeLabelledFrom(label, src);
+		shapeChanged();
+		return _result;
 	}
 
 	/**
@@ -23,7 +23,6 @@ import edu.ksu.cis.indus.annotations.NonNullContainer;
 import edu.ksu.cis.indus.common.collections.ITransformer;
 
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -91,16 +90,10 @@ final class ObjectGraphInfo<N extends IObjectNode<N, O>, O>
 	 * {@inheritDoc}
 	 */
 	@Override public boolean removeNode(@NonNull @Immutable final N node) {
-		final Iterator<Map.Entry<O, N>> _i = object2nodes.entrySet().iterator();
-		final int _iEnd = object2nodes.entrySet().size();
+		final O _object = node.getObject();
 
-		for (int _iIndex = 0; _iIndex < _iEnd; _iIndex++) {
-			final Map.Entry<O, N> _e = _i.next();
-
-			if (_e.getValue() == node) {
-				_i.remove();
-				break;
-			}
+		if (object2nodes.get(_object) == node) {
+			object2nodes.remove(_object);
 		}
 		return super.removeNode(node);
 	}
@@ -118,8 +118,12 @@ public class SimpleEdgeGraph<O>
 	 */
 	@NonNull public SimpleEdgeLabelledNode<O> getNode(@Immutable final O o) {
 		@SuppressWarnings("unchecked") final ObjectGraphInfo<SimpleEdgeLabelledNode<O>, O> _objectGraphInfo = (ObjectGraphInfo) graphInfo;
-		final SimpleEdgeLabelledNode<O> _result = _objectGraphInfo.getNode(o);
-		shapeChanged();
+		SimpleEdgeLabelledNode<O> _result = _objectGraphInfo.queryNode(o);
+
+		if (_result == null) {
+			_result = _objectGraphInfo.getNode(o);
+			shapeChanged();
+		}
 		return _result;
 	}
 
@@ -68,8 +68,12 @@ public class SimpleNodeGraph<O>
 	 */
 	@NonNull public SimpleNode<O> getNode(@Immutable final O o) {
 		@SuppressWarnings("unchecked") final ObjectGraphInfo<SimpleNode<O>, O> _objectGraphInfo = (ObjectGraphInfo) graphInfo;
-		final SimpleNode<O> _result = _objectGraphInfo.getNode(o);
-		shapeChanged();
+		SimpleNode<O> _result = _objectGraphInfo.queryNode(o);
+
+		if (_result == null) {
+			_result = _objectGraphInfo.getNode(o);
+			shapeChanged();
+		}
 		return _result;
 	}
 
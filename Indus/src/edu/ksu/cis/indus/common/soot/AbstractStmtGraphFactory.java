@@ -45,6 +45,9 @@ import soot.toolkits.graph.UnitGraph;
  * retrieved. The subclasses should provide suitable unit graph implementation. The control flow edges in the provided unit
  * graphs are pruned by matching the thrown exceptions to the enclosing catch blocks. Refer to
  * <code>Util.pruneExceptionBasedControlFlow()</code> for more information.
+ * <p>
+ * The cached graphs may be retrieved concurrently, e.g., by analyses that are executed concurrently.
+ * </p>
  * 
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
@@ -82,7 +85,7 @@ public abstract class AbstractStmtGraphFactory<T extends UnitGraph>
 	 * @post method.isConcrete() implies result.getBody() = method.getBody()
 	 * @post (not method.isConcrete()) implies result.getBody() != method.getBody()
 	 */
-	@NonNull public final T getStmtGraph(@NonNull @Immutable final SootMethod method) {
+	@NonNull public final synchronized T getStmtGraph(@NonNull @Immutable final SootMethod method) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("getStmtGraph(method = " + method + ")");
 		}
@@ -133,7 +136,7 @@ public abstract class AbstractStmtGraphFactory<T extends UnitGraph>
 	/**
 	 * Resets all internal datastructures.
 	 */
-	public final void reset() {
+	public final synchronized void reset() {
 		method2UnitGraph.clear();
 	}
 
@@ -39,6 +39,9 @@ import soot.toolkits.graph.UnitGraph;
 
 /**
  * This class manages a set of basic block graphs.
+ * <p>
+ * The cached graphs may be retrieved concurrently, e.g., by analyses that are executed concurrently.
+ * </p>
  * 
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
@@ -98,7 +101,7 @@ public final class BasicBlockGraphMgr {
 	 * @return the basic block graph corresponding to <code>sm</code>.
 	 * @throws IllegalStateException when a statement graph factory was not set before calling this method.
 	 */
-	public BasicBlockGraph getBasicBlockGraph(@NonNull final SootMethod sm) throws IllegalStateException {
+	public synchronized BasicBlockGraph getBasicBlockGraph(@NonNull final SootMethod sm) throws IllegalStateException {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("getBasicBlockGraph(SootMethod sm = " + sm + ") - BEGIN");
 		}
@@ -141,7 +144,7 @@ public final class BasicBlockGraphMgr {
 	 * @param method for which the unit graph is requested.
 	 * @return the unit graph for the method.
 	 */
-	@NonNull public UnitGraph getStmtGraph(@NonNull final SootMethod method) {
+	@NonNull public synchronized UnitGraph getStmtGraph(@NonNull final SootMethod method) {
 		return stmtGraphProvider.getStmtGraph(method);
 	}
 
@@ -151,7 +154,7 @@ public final class BasicBlockGraphMgr {
 	 * @param method of interest.
 	 * @return an unmodifiable list of statements.
 	 */
-	@NonNull @NonNullContainer public List<Stmt> getStmtList(@NonNull final SootMethod method) {
+	@NonNull @NonNullContainer public synchronized List<Stmt> getStmtList(@NonNull final SootMethod method) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("getStmtList(method = " + method + ")");
 		}
@@ -175,7 +178,7 @@ public final class BasicBlockGraphMgr {
 	/**
 	 * Resets the internal data structures.
 	 */
-	public void reset() {
+	public synchronized void reset() {
 		method2graph.clear();
 		method2stmtlist.clear();
 	}
@@ -186,7 +189,8 @@ public final class BasicBlockGraphMgr {
 	 * @param <T> is the type of cfgs provided by the factory.
 	 * @param cfgProvider provides <code>UnitGraph</code>s required to construct the basic block graphs.
 	 */
-	public <T extends UnitGraph> void setStmtGraphFactory(@NonNull @Immutable final IStmtGraphFactory<T> cfgProvider) {
+	public synchronized <T extends UnitGraph> void setStmtGraphFactory(
+			@NonNull @Immutable final IStmtGraphFactory<T> cfgProvider) {
 		stmtGraphProvider = cfgProvider;
 	}
 }
@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+
+package edu.ksu.cis.indus.common.soot;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.NonNull;
+import edu.ksu.cis.indus.annotations.NumericalConstraint;
+import edu.ksu.cis.indus.annotations.NumericalConstraint.NumericalValue;
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+
+import java.util.EmptyStackException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class represents call strings, i.e., stacks of call sites. A call string is immutable. Pushing a call site onto a
+ * call string creates a new call string that shares the given call string as it's tail; popping a call string returns the
+ * tail. Hence, both operations are constant time and call strings that are extended from a common call string share it
+ * instead of copying it.
+ * <p>
+ * The hash code of a call string is calculated when it is created and it is equal to the hash code of a
+ * <code>java.util.List</code> of the call sites of the call string ordered from the bottom to the top of the call string.
+ * Equality checks stop at the longest tail shared by the call strings.
+ * </p>
+ * <p>
+ * A <code>null</code> call site can be pushed onto a call string. It is used to mark call strings that should not be
+ * extended.
+ * </p>
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class CallString
+		implements Iterable<CallTriple> {
+
+	/**
+	 * The empty call string.
+	 */
+	@NonNull public static final CallString EMPTY = new CallString();
+
+	/**
+	 * The hash code of this call string.
+	 */
+	private final int hash;
+
+	/**
+	 * The call string below the top of this call string. This is <code>null</code> only for the empty call string.
+	 */
+	private final CallString rest;
+
+	/**
+	 * The number of call sites in this call string.
+	 */
+	private final int size;
+
+	/**
+	 * The call site at the top of this call string.
+	 */
+	private final CallTriple top;
+
+	/**
+	 * Creates the empty call string.
+	 */
+	private CallString() {
+		hash = 1;
+		rest = null;
+		size = 0;
+		top = null;
+	}
+
+	/**
+	 * Creates an instance of this class.
+	 *
+	 * @param callSite is the call site at the top of the call string.
+	 * @param tail is the call string below the top of the call string.
+	 */
+	private CallString(final CallTriple callSite, @NonNull final CallString tail) {
+		int _hash = 31 * tail.hash;
+
+		if (callSite != null) {
+			_hash += callSite.hashCode();
+		}
+		hash = _hash;
+		rest = tail;
+		size = tail.size + 1;
+		top = callSite;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Functional @Override public boolean equals(final Object o) {
+		boolean _result = o == this;
+
+		if (!_result && o instanceof CallString) {
+			final CallString _other = (CallString) o;
+
+			if (_other.size == size && _other.hash == hash) {
+				CallString _i = this;
+				CallString _j = _other;
+
+				while (_i != _j && (_i.top == null ? _j.top == null : _i.top.equals(_j.top))) {
+					_i = _i.rest;
+					_j = _j.rest;
+				}
+				_result = _i == _j;
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Functional @Override public int hashCode() {
+		return hash;
+	}
+
+	/**
+	 * Checks if this call string is empty.
+	 *
+	 * @return <code>true</code> if this call string is empty; <code>false</code>, otherwise.
+	 */
+	@Functional public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Retrieves an iterator over the call sites of this call string from the top to the bottom of the call string.
+	 *
+	 * @return an iterator.
+	 */
+	@NonNull public Iterator<CallTriple> iterator() {
+		return new Iterator<CallTriple>() {
+
+			/**
+			 * The call string whose top is the next call site.
+			 */
+			private CallString current = CallString.this;
+
+			public boolean hasNext() {
+				return current.size != 0;
+			}
+
+			public CallTriple next() {
+				if (current.size == 0) {
+					throw new NoSuchElementException();
+				}
+
+				final CallTriple _result = current.top;
+				current = current.rest;
+				return _result;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException("Call strings are immutable.");
+			}
+		};
+	}
+
+	/**
+	 * Retrieves the call site at the top of this call string.
+	 *
+	 * @return the call site at the top.
+	 * @throws EmptyStackException when this call string is empty.
+	 */
+	@Functional public CallTriple peek() {
+		if (size == 0) {
+			throw new EmptyStackException();
+		}
+		return top;
+	}
+
+	/**
+	 * Retrieves the call string below the top of this call string.
+	 *
+	 * @return the call string below the top.
+	 * @throws EmptyStackException when this call string is empty.
+	 */
+	@NonNull @Functional public CallString pop() {
+		if (size == 0) {
+			throw new EmptyStackException();
+		}
+		return rest;
+	}
+
+	/**
+	 * Retrieves the call string with the given call site on top of this call string.
+	 *
+	 * @param callSite to be pushed. This can be <code>null</code>.
+	 * @return the new call string.
+	 * @post result.pop() == this and result.peek() == callSite
+	 */
+	@NonNull @Functional public CallString push(final CallTriple callSite) {
+		return new CallString(callSite, this);
+	}
+
+	/**
+	 * Retrieves the call string with the call sites of this call string in the reverse order.
+	 *
+	 * @return the reversed call string.
+	 * @post result.size() == size()
+	 */
+	@NonNull @Functional public CallString reverse() {
+		CallString _result = EMPTY;
+
+		for (CallString _i = this; _i.size != 0; _i = _i.rest) {
+			_result = _result.push(_i.top);
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the number of call sites in this call string.
+	 *
+	 * @return the number of call sites.
+	 */
+	@Functional @NumericalConstraint(value = NumericalValue.NON_NEGATIVE) public int size() {
+		return size;
+	}
+
+	/**
+	 * Retrieves the stringized representation of this call string. The call sites are listed from the bottom to the top of
+	 * the call string.
+	 *
+	 * @return the stringized representation.
+	 */
+	@Functional @Override public String toString() {
+		final StringBuilder _result = new StringBuilder();
+
+		for (final CallTriple _callSite : reverse()) {
+			if (_result.length() != 0) {
+				_result.append(", ");
+			}
+			_result.append(_callSite);
+		}
+		return "[" + _result + "]";
+	}
+}
+
+// End of File
@@ -68,6 +68,13 @@ public final class Constants {
 	 */
 	public static final String NUM_OF_METHODS_IN_APPLICATION_PROPERTY = "edu.ksu.cis.indus.NumOfMethodsInApplication";
 
+	/**
+	 * This is the name of the property that controls the number of workers used by <code>ProcessingController</code> to
+	 * process method bodies. It's name is "edu.ksu.cis.indus.processing.ProcessingController.parallelism".
+	 */
+	public static final String PROCESSING_CONTROLLER_PARALLELISM_PROPERTY = "edu.ksu.cis.indus.processing"
+			+ ".ProcessingController.parallelism";
+
 	/**
 	 * The name of the property via which the name of the root method trapper class can be specified. The name is
 	 * "edu.ksu.cis.indus.common.soot.RootMethodTrapper.class". The specified class should be a subclass of
@@ -166,6 +173,18 @@ public final class Constants {
 		return _result;
 	}
 
+	/**
+	 * Retrieves the number of workers used by <code>ProcessingController</code> to process method bodies. This defaults to
+	 * 1. Non-positive values result in 1.
+	 * 
+	 * @return the number of workers.
+	 * @post result >= 1
+	 */
+	public static int getParallelismForProcessingController() {
+		final int _result = retrieveIntValue(1, PROCESSING_CONTROLLER_PARALLELISM_PROPERTY, CONFIGURATIONS);
+		return Math.max(1, _result);
+	}
+
 	/**
 	 * Retrieves the name of the root method trapper class. If not specified, it defaults to
 	 * <code>edu.ksu.cis.indus.common.soot.RootMethodTrapper$MainMethodTrapper</code>.
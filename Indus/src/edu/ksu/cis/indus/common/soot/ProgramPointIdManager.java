@@ -0,0 +1,467 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.common.soot;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.NonNull;
+import edu.ksu.cis.indus.common.datastructures.PackedIntPair;
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+
+import gnu.trove.TLongIntHashMap;
+import gnu.trove.TObjectIntHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import soot.SootMethod;
+import soot.jimple.Stmt;
+
+/**
+ * This class assigns dense integer ids to methods, program points (statements in methods), and call sites. Analyses can use
+ * these ids to key their data in arrays and primitive collections instead of creating <code>Pair</code> and
+ * <code>CallTriple</code> objects for each program point and call site.
+ * <p>
+ * Methods are numbered <i>0..getNumberOfMethods() - 1</i> in the order they are encountered. The statements of a method
+ * are numbered <i>0..getNumberOfStmts(methodId) - 1</i> in the order they are encountered. A program point can be
+ * represented either by a global id in <i>0..getNumberOfProgramPoints() - 1</i> or as a <code>PackedIntPair</code> of
+ * the method id and the statement index. Call triples are numbered <i>0..getNumberOfCallTriples() - 1</i>.
+ * </p>
+ * <p>
+ * Numbering operations intern the given entities while lookup operations return <code>UNKNOWN</code> for entities that
+ * have not been numbered. All operations are synchronized; hence, an instance can be shared by analyses that execute
+ * concurrently.
+ * </p>
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class ProgramPointIdManager {
+
+	/**
+	 * This is the id of this service.
+	 */
+	public static final Comparable<? extends Object> ID = "Program point id management service";
+
+	/**
+	 * The id returned by lookup operations on entities that have not been numbered.
+	 */
+	public static final int UNKNOWN = -1;
+
+	/**
+	 * The initial capacity of the id to program point table.
+	 */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * The numbered call triples. The position of a triple is it's id.
+	 */
+	private final List<CallTriple> callTriples = new ArrayList<CallTriple>();
+
+	/**
+	 * This maps call triples to their ids.
+	 */
+	private final TObjectIntHashMap callTriple2id = new TObjectIntHashMap();
+
+	/**
+	 * This maps global program point ids to the packed pair of method id and statement index of the program point.
+	 */
+	private long[] id2programPoint = new long[INITIAL_CAPACITY];
+
+	/**
+	 * This maps methods to their ids.
+	 */
+	private final TObjectIntHashMap method2id;
+
+	/**
+	 * The numbered methods. The position of a method is it's id.
+	 */
+	private final List<SootMethod> methods = new ArrayList<SootMethod>();
+
+	/**
+	 * The number of program points that have been assigned global ids.
+	 */
+	private int noOfProgramPoints;
+
+	/**
+	 * This maps packed pairs of method id and statement index to global program point ids.
+	 */
+	private final TLongIntHashMap programPoint2id = new TLongIntHashMap();
+
+	/**
+	 * This maps method ids to maps from statements to their indices in the method.
+	 */
+	private final List<TObjectIntHashMap> stmt2indexMaps = new ArrayList<TObjectIntHashMap>();
+
+	/**
+	 * This maps method ids to the numbered statements of the method. The position of a statement is it's index.
+	 */
+	private final List<List<Stmt>> stmtLists = new ArrayList<List<Stmt>>();
+
+	/**
+	 * Creates an instance of this class.
+	 */
+	public ProgramPointIdManager() {
+		method2id = new TObjectIntHashMap(Constants.getNumOfMethodsInApplication());
+	}
+
+	/**
+	 * Retrieves the call triple with the given id.
+	 * 
+	 * @param id of the call triple.
+	 * @return the call triple.
+	 * @throws IndexOutOfBoundsException when <code>id</code> is not the id of a call triple.
+	 */
+	@Functional @NonNull public synchronized CallTriple getCallTriple(final int id) {
+		return callTriples.get(id);
+	}
+
+	/**
+	 * Retrieves the id of the given call triple. The triple is numbered if it has not been numbered.
+	 * 
+	 * @param triple of interest.
+	 * @return the id of the triple.
+	 * @post 0 <= result and result < getNumberOfCallTriples()
+	 */
+	public synchronized int getId(@NonNull final CallTriple triple) {
+		final int _result;
+
+		if (callTriple2id.containsKey(triple)) {
+			_result = callTriple2id.get(triple);
+		} else {
+			_result = callTriples.size();
+			callTriples.add(triple);
+			callTriple2id.put(triple, _result);
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the global id of the given program point. The program point is numbered if it has not been numbered.
+	 * 
+	 * @param stmt of the program point.
+	 * @param method of the program point.
+	 * @return the global id of the program point.
+	 * @post 0 <= result and result < getNumberOfProgramPoints()
+	 */
+	public synchronized int getId(@NonNull final Stmt stmt, @NonNull final SootMethod method) {
+		final long _programPoint = getPackedProgramPoint(stmt, method);
+		final int _result;
+
+		if (programPoint2id.containsKey(_programPoint)) {
+			_result = programPoint2id.get(_programPoint);
+		} else {
+			_result = noOfProgramPoints++;
+
+			if (_result == id2programPoint.length) {
+				final long[] _t = new long[_result * 2];
+				System.arraycopy(id2programPoint, 0, _t, 0, _result);
+				id2programPoint = _t;
+			}
+			id2programPoint[_result] = _programPoint;
+			programPoint2id.put(_programPoint, _result);
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the method with the given id.
+	 * 
+	 * @param methodId of the method.
+	 * @return the method.
+	 * @throws IndexOutOfBoundsException when <code>methodId</code> is not the id of a method.
+	 */
+	@Functional @NonNull public synchronized SootMethod getMethod(final int methodId) {
+		return methods.get(methodId);
+	}
+
+	/**
+	 * Retrieves the id of the given method. The method is numbered if it has not been numbered.
+	 * 
+	 * @param method of interest.
+	 * @return the id of the method.
+	 * @post 0 <= result and result < getNumberOfMethods()
+	 */
+	public synchronized int getMethodId(@NonNull final SootMethod method) {
+		final int _result;
+
+		if (method2id.containsKey(method)) {
+			_result = method2id.get(method);
+		} else {
+			_result = methods.size();
+			methods.add(method);
+			method2id.put(method, _result);
+			stmt2indexMaps.add(new TObjectIntHashMap());
+			stmtLists.add(new ArrayList<Stmt>());
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the id of the method of the program point with the given global id.
+	 * 
+	 * @param id of the program point.
+	 * @return the id of the method.
+	 * @throws IndexOutOfBoundsException when <code>id</code> is not the id of a program point.
+	 */
+	@Functional public synchronized int getMethodIdOf(final int id) {
+		return PackedIntPair.getFirst(getProgramPoint(id));
+	}
+
+	/**
+	 * Retrieves the method of the program point with the given global id.
+	 * 
+	 * @param id of the program point.
+	 * @return the method.
+	 * @throws IndexOutOfBoundsException when <code>id</code> is not the id of a program point.
+	 */
+	@Functional @NonNull public synchronized SootMethod getMethodOf(final int id) {
+		return methods.get(PackedIntPair.getFirst(getProgramPoint(id)));
+	}
+
+	/**
+	 * Retrieves the number of numbered call triples.
+	 * 
+	 * @return the number of call triples.
+	 */
+	@Functional public synchronized int getNumberOfCallTriples() {
+		return callTriples.size();
+	}
+
+	/**
+	 * Retrieves the number of numbered methods.
+	 * 
+	 * @return the number of methods.
+	 */
+	@Functional public synchronized int getNumberOfMethods() {
+		return methods.size();
+	}
+
+	/**
+	 * Retrieves the number of program points that have been assigned global ids.
+	 * 
+	 * @return the number of program points.
+	 */
+	@Functional public synchronized int getNumberOfProgramPoints() {
+		return noOfProgramPoints;
+	}
+
+	/**
+	 * Retrieves the number of numbered statements in the method with the given id.
+	 * 
+	 * @param methodId of the method.
+	 * @return the number of statements.
+	 * @throws IndexOutOfBoundsException when <code>methodId</code> is not the id of a method.
+	 */
+	@Functional public synchronized int getNumberOfStmts(final int methodId) {
+		return stmtLists.get(methodId).size();
+	}
+
+	/**
+	 * Retrieves the given program point as a packed pair of method id and statement index. The method and the statement are
+	 * numbered if they have not been numbered.
+	 * 
+	 * @param stmt of the program point.
+	 * @param method of the program point.
+	 * @return the packed pair.
+	 * @post PackedIntPair.getFirst(result) = getMethodId(method)
+	 * @post PackedIntPair.getSecond(result) = getStmtIndex(stmt, method)
+	 */
+	public synchronized long getPackedProgramPoint(@NonNull final Stmt stmt, @NonNull final SootMethod method) {
+		final int _methodId = getMethodId(method);
+		return PackedIntPair.pack(_methodId, getStmtIndex(stmt, _methodId));
+	}
+
+	/**
+	 * Retrieves the program point with the given global id as a packed pair of method id and statement index.
+	 * 
+	 * @param id of the program point.
+	 * @return the packed pair.
+	 * @throws IndexOutOfBoundsException when <code>id</code> is not the id of a program point.
+	 */
+	@Functional public synchronized long getProgramPoint(final int id) {
+		if (id < 0 || id >= noOfProgramPoints) {
+			throw new IndexOutOfBoundsException("Invalid program point id - " + id);
+		}
+		return id2programPoint[id];
+	}
+
+	/**
+	 * Retrieves the statement of the program point with the given global id.
+	 * 
+	 * @param id of the program point.
+	 * @return the statement.
+	 * @throws IndexOutOfBoundsException when <code>id</code> is not the id of a program point.
+	 */
+	@Functional @NonNull public synchronized Stmt getStmt(final int id) {
+		final long _programPoint = getProgramPoint(id);
+		return getStmt(PackedIntPair.getFirst(_programPoint), PackedIntPair.getSecond(_programPoint));
+	}
+
+	/**
+	 * Retrieves the statement with the given index in the method with the given id.
+	 * 
+	 * @param methodId of the method.
+	 * @param stmtIndex of the statement.
+	 * @return the statement.
+	 * @throws IndexOutOfBoundsException when <code>methodId</code> is not the id of a method or <code>stmtIndex</code> is
+	 *             not the index of a statement in the method.
+	 */
+	@Functional @NonNull public synchronized Stmt getStmt(final int methodId, final int stmtIndex) {
+		return stmtLists.get(methodId).get(stmtIndex);
+	}
+
+	/**
+	 * Retrieves the index of the given statement in the given method. The method and the statement are numbered if they
+	 * have not been numbered.
+	 * 
+	 * @param stmt of interest.
+	 * @param method in which <code>stmt</code> occurs.
+	 * @return the index of the statement.
+	 * @post 0 <= result and result < getNumberOfStmts(getMethodId(method))
+	 */
+	public synchronized int getStmtIndex(@NonNull final Stmt stmt, @NonNull final SootMethod method) {
+		return getStmtIndex(stmt, getMethodId(method));
+	}
+
+	/**
+	 * Retrieves the index of the statement of the program point with the given global id.
+	 * 
+	 * @param id of the program point.
+	 * @return the index of the statement.
+	 * @throws IndexOutOfBoundsException when <code>id</code> is not the id of a program point.
+	 */
+	@Functional public synchronized int getStmtIndexOf(final int id) {
+		return PackedIntPair.getSecond(getProgramPoint(id));
+	}
+
+	/**
+	 * Retrieves the id of the given call triple without numbering it.
+	 * 
+	 * @param triple of interest.
+	 * @return the id of the triple; <code>UNKNOWN</code> if it has not been numbered.
+	 */
+	@Functional public synchronized int lookupId(@NonNull final CallTriple triple) {
+		final int _result;
+
+		if (callTriple2id.containsKey(triple)) {
+			_result = callTriple2id.get(triple);
+		} else {
+			_result = UNKNOWN;
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the global id of the given program point without numbering it.
+	 * 
+	 * @param stmt of the program point.
+	 * @param method of the program point.
+	 * @return the global id of the program point; <code>UNKNOWN</code> if it has not been assigned a global id.
+	 */
+	@Functional public synchronized int lookupId(@NonNull final Stmt stmt, @NonNull final SootMethod method) {
+		final int _stmtIndex = lookupStmtIndex(stmt, method);
+		int _result = UNKNOWN;
+
+		if (_stmtIndex != UNKNOWN) {
+			final long _programPoint = PackedIntPair.pack(method2id.get(method), _stmtIndex);
+
+			if (programPoint2id.containsKey(_programPoint)) {
+				_result = programPoint2id.get(_programPoint);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the id of the given method without numbering it.
+	 * 
+	 * @param method of interest.
+	 * @return the id of the method; <code>UNKNOWN</code> if it has not been numbered.
+	 */
+	@Functional public synchronized int lookupMethodId(@NonNull final SootMethod method) {
+		final int _result;
+
+		if (method2id.containsKey(method)) {
+			_result = method2id.get(method);
+		} else {
+			_result = UNKNOWN;
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the index of the given statement in the given method without numbering it.
+	 * 
+	 * @param stmt of interest.
+	 * @param method in which <code>stmt</code> occurs.
+	 * @return the index of the statement; <code>UNKNOWN</code> if it has not been numbered.
+	 */
+	@Functional public synchronized int lookupStmtIndex(@NonNull final Stmt stmt, @NonNull final SootMethod method) {
+		final int _methodId = lookupMethodId(method);
+		int _result = UNKNOWN;
+
+		if (_methodId != UNKNOWN) {
+			final TObjectIntHashMap _stmt2index = stmt2indexMaps.get(_methodId);
+
+			if (_stmt2index.containsKey(stmt)) {
+				_result = _stmt2index.get(stmt);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Forgets all numbered entities.
+	 */
+	public synchronized void reset() {
+		callTriples.clear();
+		callTriple2id.clear();
+		methods.clear();
+		method2id.clear();
+		stmt2indexMaps.clear();
+		stmtLists.clear();
+		programPoint2id.clear();
+		id2programPoint = new long[INITIAL_CAPACITY];
+		noOfProgramPoints = 0;
+	}
+
+	/**
+	 * Retrieves the index of the given statement in the method with the given id. The statement is numbered if it has not
+	 * been numbered.
+	 * 
+	 * @param stmt of interest.
+	 * @param methodId of the method in which <code>stmt</code> occurs.
+	 * @return the index of the statement.
+	 */
+	private int getStmtIndex(final Stmt stmt, final int methodId) {
+		final TObjectIntHashMap _stmt2index = stmt2indexMaps.get(methodId);
+		final int _result;
+
+		if (_stmt2index.containsKey(stmt)) {
+			_result = _stmt2index.get(stmt);
+		} else {
+			final List<Stmt> _stmts = stmtLists.get(methodId);
+			_result = _stmts.size();
+			_stmts.add(stmt);
+			_stmt2index.put(stmt, _result);
+		}
+		return _result;
+	}
+}
+
+// End of File
@@ -62,6 +62,7 @@ import soot.SootMethod;
 import soot.Trap;
 import soot.Type;
 import soot.Value;
+import soot.ValueBox;
 import soot.VoidType;
 import soot.jimple.DoubleConstant;
 import soot.jimple.FloatConstant;
@@ -562,6 +563,23 @@ public final class Util {
 		return _result;
 	}
 
+	/**
+	 * Retrieves the value boxes used and defined in the given statement in the same order as
+	 * <code>Unit.getUseAndDefBoxes()</code>. Unlike the latter, this method does not cache the boxes in the statement;
+	 * hence, it can be used by many threads on the same statement.
+	 * 
+	 * @param stmt of interest.
+	 * @return the def boxes followed by the use boxes of <code>stmt</code>.
+	 */
+	@Functional @NonNull @NonNullContainer public static List<ValueBox> getUseAndDefBoxes(@NonNull final Stmt stmt) {
+		@SuppressWarnings("unchecked") final List<ValueBox> _defBoxes = stmt.getDefBoxes();
+		@SuppressWarnings("unchecked") final List<ValueBox> _useBoxes = stmt.getUseBoxes();
+		final List<ValueBox> _result = new ArrayList<ValueBox>(_defBoxes.size() + _useBoxes.size());
+		_result.addAll(_defBoxes);
+		_result.addAll(_useBoxes);
+		return _result;
+	}
+
 	/**
 	 * Checks if the given class has a super class. <code>java.lang.Object</code> will not have a super class, but others
 	 * will.
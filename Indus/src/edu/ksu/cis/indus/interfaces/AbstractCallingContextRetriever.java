@@ -18,11 +18,11 @@ package edu.ksu.cis.indus.interfaces;
 
 import edu.ksu.cis.indus.annotations.Immutable;
 import edu.ksu.cis.indus.annotations.NonNull;
-import edu.ksu.cis.indus.common.collections.Stack;
 import edu.ksu.cis.indus.common.datastructures.IWorkBag;
 import edu.ksu.cis.indus.common.datastructures.LIFOWorkBag;
 import edu.ksu.cis.indus.common.datastructures.Pair;
 import edu.ksu.cis.indus.common.datastructures.Triple;
+import edu.ksu.cis.indus.common.soot.CallString;
 import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
 import edu.ksu.cis.indus.processing.Context;
 
@@ -90,9 +90,9 @@ public abstract class AbstractCallingContextRetriever
 	private ICallGraphInfo callGraph;
 
 	/**
-	 * The collection of explored call sites.
+	 * The cache of calling contexts. <code>null</code> indicates that calling contexts are not cached.
 	 */
-	private final Collection<Pair<CallTriple, Object>> exploredCallSites = new HashSet<Pair<CallTriple, Object>>();
+	private CallingContextCache contextCache;
 
 	/**
 	 * Creates an instance of this class.
@@ -114,8 +114,8 @@ public abstract class AbstractCallingContextRetriever
 	/**
 	 * {@inheritDoc}
 	 */
-	public final Collection<Stack<CallTriple>> getCallingContextsForProgramPoint(final Context context) {
-		final Collection<Stack<CallTriple>> _result;
+	public final Collection<CallString> getCallingContextsForProgramPoint(final Context context) {
+		final Collection<CallString> _result;
 		final SootMethod _currentMethod = context.getCurrentMethod();
 
 		if (considerProgramPoint(context)) {
@@ -133,8 +133,8 @@ public abstract class AbstractCallingContextRetriever
 	/**
 	 * {@inheritDoc}
 	 */
-	public final Collection<Stack<CallTriple>> getCallingContextsForThis(final Context methodContext) {
-		final Collection<Stack<CallTriple>> _result;
+	public final Collection<CallString> getCallingContextsForThis(final Context methodContext) {
+		final Collection<CallString> _result;
 
 		if (considerThis(methodContext)) {
 			if (callContextLenLimit == 0) {
@@ -157,6 +157,16 @@ public abstract class AbstractCallingContextRetriever
 		callGraph = cgi;
 	}
 
+	/**
+	 * Sets the cache of calling contexts. The contexts of a method and a token are calculated only once and the cached
+	 * contexts are returned for subsequent requests. The cache can be shared by many retrievers.
+	 * 
+	 * @param cache to be used. <code>null</code> indicates that calling contexts should not be cached.
+	 */
+	public final void setContextCache(final CallingContextCache cache) {
+		contextCache = cache;
+	}
+
 	/**
 	 * Checks if the program point specified in the given context (calling context base) should be considered for call context
 	 * generation.
@@ -203,7 +213,7 @@ public abstract class AbstractCallingContextRetriever
 	 * @pre token != null and callee != null and callsite != null and calleeCallStack != null
 	 */
 	protected Object getCallerSideToken(final Object token, final SootMethod callee, final CallTriple callsite,
-			@SuppressWarnings("unused") final Stack<CallTriple> calleeCallStack) {
+			@SuppressWarnings("unused") final CallString calleeCallStack) {
 		if (LOGGER.isWarnEnabled()) {
 			LOGGER.warn("getCallerSideToken(token = " + token + ", callee = " + callee + ", callsite = " + callsite + ")");
 		}
@@ -220,6 +230,19 @@ public abstract class AbstractCallingContextRetriever
 		return callGraph;
 	}
 
+	/**
+	 * Retrieves the information that, along with the method and the token, determines the calling contexts calculated by
+	 * this object. It qualifies the contexts cached by this object. Implementations in which the caller side token depends
+	 * on other information, e.g., the information provided via <code>setInfoFor()</code>, should include that information.
+	 * 
+	 * @return the qualifier. This implementation returns the class of this object and the limit on the length of the calling
+	 *         contexts.
+	 * @post result != null
+	 */
+	protected Object getContextCacheQualifier() {
+		return new Pair<Class<?>, Integer>(getClass(), Integer.valueOf(callContextLenLimit));
+	}
+
 	/**
 	 * Retrieves the token for the program point specified in the given context. The implementation should return
 	 * <code>Tokens.CONSIDER_ALL_CONTEXTS_TOKEN</code> as the token if all calling contexts for the given context should be
@@ -258,6 +281,42 @@ public abstract class AbstractCallingContextRetriever
 		throw new UnsupportedOperationException("This method is unsupported.");
 	}
 
+	/**
+	 * Calculates the contexts based on the given token and method in which it occurs.
+	 * 
+	 * @param token is the seed token
+	 * @param method where the calling context should start from.
+	 * @return a collection of calling contexts. If a context cache is used, then the contexts are call strings in its trie.
+	 */
+	@NonNull private Collection<CallString> calculateCallingContexts(@NonNull final Object token,
+			@NonNull final SootMethod method) {
+		final IWorkBag<Triple<SootMethod, Object, CallString>> _wb;
+		_wb = new LIFOWorkBag<Triple<SootMethod, Object, CallString>>();
+		_wb.addWork(new Triple<SootMethod, Object, CallString>(method, token, CallString.EMPTY));
+		final Collection<CallString> _callStacks = new HashSet<CallString>();
+		final Collection<Pair<CallTriple, Object>> _exploredCallSites = new HashSet<Pair<CallTriple, Object>>();
+
+		while (_wb.hasWork()) {
+			final Triple<SootMethod, Object, CallString> _triple = _wb.getWork();
+			final SootMethod _callee = _triple.getFirst();
+			final Object _calleeToken = _triple.getSecond();
+			final CallString _calleeCallStack = _triple.getThird();
+			calculateCallStack(_callee, _calleeToken, _calleeCallStack, _wb, _callStacks, _exploredCallSites);
+		}
+
+		// Reverse the call stacks as they have been constructed bottom-up.
+		final Collection<CallString> _result = new HashSet<CallString>();
+
+		for (final CallString _callStack : _callStacks) {
+			if (contextCache == null) {
+				_result.add(_callStack.reverse());
+			} else {
+				_result.add(contextCache.reverse(_callStack));
+			}
+		}
+		return _result;
+	}
+
 	/**
 	 * Calculates the caller side call stack.
 	 * 
@@ -266,10 +325,12 @@ public abstract class AbstractCallingContextRetriever
 	 * @param calleeCallStack is the call stack up until callee.
 	 * @param wb is the workbag that is updated with new caller-side call stacks that need to be further extended.
 	 * @param result is updated with a collection of call stacks that need not be further extended.
+	 * @param exploredCallSites is the collection of call sites and callee-side tokens explored in the current calculation.
 	 */
 	private void calculateCallStack(@NonNull @Immutable final SootMethod callee,
-			@NonNull @Immutable final Object calleeToken, @NonNull @Immutable final Stack<CallTriple> calleeCallStack,
-			final IWorkBag<Triple<SootMethod, Object, Stack<CallTriple>>> wb, final Collection<Stack<CallTriple>> result) {
+			@NonNull @Immutable final Object calleeToken, @NonNull @Immutable final CallString calleeCallStack,
+			final IWorkBag<Triple<SootMethod, Object, CallString>> wb, final Collection<CallString> result,
+			final Collection<Pair<CallTriple, Object>> exploredCallSites) {
 		if (calleeCallStack.size() == callContextLenLimit) {
 			result.add(calleeCallStack);
 		} else {
@@ -285,7 +346,7 @@ public abstract class AbstractCallingContextRetriever
 				for (int _jIndex = 0; _jIndex < _jEnd; _jIndex++) {
 					final CallTriple _callSite = _j.next();
 
-					if (isCallSiteExplored(_callSite, calleeToken)) {
+					if (markCallSiteAsExplored(_callSite, calleeToken, exploredCallSites)) {
 
 						final Object _callerToken = getCallerSideToken(calleeToken, callee, _callSite, calleeCallStack);
 
@@ -300,27 +361,22 @@ public abstract class AbstractCallingContextRetriever
 							 * if we have reached the property-based "pivotal" point in the call chain then we decide to
 							 * extend all call chains and add it to the resulting contexts.
 							 */
-							@SuppressWarnings("unchecked") final Stack<CallTriple> _callerStack = calleeCallStack.clone();
-							_callerStack.push(_callSite);
+							final CallString _callerStack = calleeCallStack.push(_callSite);
 							if (_callerToken == Tokens.ACCEPT_TERMINAL_CONTEXT_TOKEN) {
-								_callerStack.push(null);
+								result.add(_callerStack.push(null));
+							} else {
+								result.add(_callerStack);
 							}
-							result.add(_callerStack);
 						} else {
-							@SuppressWarnings("unchecked") final Stack<CallTriple> _callerStack = calleeCallStack.clone();
-							_callerStack.push(_callSite);
-							wb.addWorkNoDuplicates(new Triple<SootMethod, Object, Stack<CallTriple>>(_callSite.getMethod(),
-									_callerToken, _callerStack));
+							wb.addWorkNoDuplicates(new Triple<SootMethod, Object, CallString>(_callSite.getMethod(),
+									_callerToken, calleeCallStack.push(_callSite)));
 						}
 					} else {
 						/*
 						 * We have come to a site from which we have already considered paths up the call chain. So, we mark
 						 * this call chain as terminating by inserting a null token.
 						 */
-						@SuppressWarnings("unchecked") final Stack<CallTriple> _callerStack = calleeCallStack.clone();
-						_callerStack.push(_callSite);
-						_callerStack.push(null);
-						result.add(_callerStack);
+						result.add(calleeCallStack.push(_callSite).push(null));
 					}
 				}
 			}
@@ -334,39 +390,29 @@ public abstract class AbstractCallingContextRetriever
 	 * @param method where the calling context should start from.
 	 * @return a collection of calling contexts.
 	 * @pre token != null and method != null
-	 * @post result != null and result.oclIsKindOf(Collection(Stack(CallTriple)))
+	 * @post result != null and result.oclIsKindOf(Collection(CallString))
 	 */
-	private Collection<Stack<CallTriple>> getCallingContexts(final Object token, final SootMethod method) {
+	private Collection<CallString> getCallingContexts(final Object token, final SootMethod method) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("getCallingContexts(Object token = " + token + ", SootMethod method = " + method + ") - BEGIN");
 		}
 
-		final Collection<Stack<CallTriple>> _result;
+		final Collection<CallString> _result;
 
 		if (token == Tokens.CONSIDER_ALL_CONTEXTS_TOKEN) {
 			_result = ICallingContextRetriever.NULL_CONTEXTS;
 		} else if (token != Tokens.DISCARD_CONTEXT_TOKEN) {
-			final IWorkBag<Triple<SootMethod, Object, Stack<CallTriple>>> _wb = new LIFOWorkBag<Triple<SootMethod, Object, Stack<CallTriple>>>();
-			_wb.addWork(new Triple<SootMethod, Object, Stack<CallTriple>>(method, token, new Stack<CallTriple>()));
-			_result = new HashSet<Stack<CallTriple>>();
-
-			while (_wb.hasWork()) {
-				final Triple<SootMethod, Object, Stack<CallTriple>> _triple = _wb.getWork();
-				final SootMethod _callee = _triple.getFirst();
-				final Object _calleeToken = _triple.getSecond();
-				final Stack<CallTriple> _calleeCallStack = _triple.getThird();
-				calculateCallStack(_callee, _calleeToken, _calleeCallStack, _wb, _result);
-			}
-
-			// Reverse the call stacks as they have been constructed bottom-up.
-			final Iterator<Stack<CallTriple>> _j = _result.iterator();
-			final int _jEnd = _result.size();
-
-			for (int _jIndex = 0; _jIndex < _jEnd; _jIndex++) {
-				final Stack<?> _stack = _j.next();
-
-				if (_stack != null) {
-					Collections.reverse(_stack);
+			if (contextCache == null) {
+				_result = calculateCallingContexts(token, method);
+			} else {
+				final Object _qualifier = getContextCacheQualifier();
+				final Collection<CallString> _cached = contextCache.get(_qualifier, method, token);
+
+				if (_cached == null) {
+					_result = Collections.unmodifiableCollection(calculateCallingContexts(token, method));
+					contextCache.put(_qualifier, method, token, _result);
+				} else {
+					_result = _cached;
 				}
 			}
 		} else {
@@ -381,14 +427,15 @@ public abstract class AbstractCallingContextRetriever
 	}
 
 	/**
-	 * Checks if the given call site and callee-side token have been explored.
+	 * Marks the given call site and callee-side token as explored.
 	 * 
 	 * @param callSite of interest.
 	 * @param calleeToken of interest.
-	 * @return <code>true</code> if they have been explored; <code>false</code>, otherwise.
+	 * @param exploredCallSites is the collection of call sites and callee-side tokens explored in the current calculation.
+	 * @return <code>true</code> if they had not been explored; <code>false</code>, otherwise.
 	 */
-	private boolean isCallSiteExplored(@NonNull @Immutable final CallTriple callSite,
-			@NonNull @Immutable final Object calleeToken) {
+	private boolean markCallSiteAsExplored(@NonNull @Immutable final CallTriple callSite,
+			@NonNull @Immutable final Object calleeToken, final Collection<Pair<CallTriple, Object>> exploredCallSites) {
 		final Pair<CallTriple, Object> _pair = new Pair<CallTriple, Object>(callSite, calleeToken, true, false);
 		return exploredCallSites.add(_pair);
 	}
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+
+package edu.ksu.cis.indus.interfaces;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.Immutable;
+import edu.ksu.cis.indus.annotations.NonNull;
+import edu.ksu.cis.indus.annotations.NumericalConstraint;
+import edu.ksu.cis.indus.annotations.NumericalConstraint.NumericalValue;
+import edu.ksu.cis.indus.common.collections.ConcurrentCache;
+import edu.ksu.cis.indus.common.datastructures.Triple;
+import edu.ksu.cis.indus.common.soot.CallString;
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import soot.SootMethod;
+
+/**
+ * This class memoizes the calling contexts calculated by calling context retrievers. The contexts are cached against the
+ * method and the token from which they were calculated and the information that qualifies the retriever that calculated
+ * them. Hence, a cache can be shared by retrievers that execute concurrently.
+ * <p>
+ * The call strings of the cached contexts are organized as a trie over call sites rooted at the empty call string. As a
+ * result, the cached contexts are shared sub-tries: a call string that extends another call string shares it instead of
+ * copying it and equal call strings in the trie are identical. The number of call strings in the trie is bounded. When the
+ * bound is reached, the trie is reset. The call strings in the cached contexts remain valid, but they are not shared with
+ * the call strings that are added to the trie later.
+ * </p>
+ * <p>
+ * The cache should be cleared when the analyses used by the retrievers are reexecuted.
+ * </p>
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class CallingContextCache {
+
+	/**
+	 * The calling contexts of qualified method and token pairs.
+	 */
+	@NonNull private final ConcurrentCache<Triple<Object, SootMethod, Object>, Collection<CallString>> contexts;
+
+	/**
+	 * The maximum number of call strings in the trie.
+	 */
+	private final int maxCallStrings;
+
+	/**
+	 * The number of call strings in the trie.
+	 */
+	private int noOfCallStrings;
+
+	/**
+	 * The number of call strings that were requested from the trie.
+	 */
+	private long requestedCallStrings;
+
+	/**
+	 * The number of call strings that were requested from the trie and were already in the trie.
+	 */
+	private long reusedCallStrings;
+
+	/**
+	 * This maps call strings in the trie to their extensions in the trie. The extensions are indexed by their top call site.
+	 * Access to this map is guarded by this object.
+	 */
+	@NonNull private final Map<CallString, Map<CallTriple, CallString>> trie;
+
+	/**
+	 * Creates an instance of this class.
+	 *
+	 * @param maxContextSets is the maximum number of collections of contexts to be cached.
+	 * @param maxCallStringsInTrie is the maximum number of call strings in the trie.
+	 */
+	public CallingContextCache(@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int maxContextSets,
+			@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int maxCallStringsInTrie) {
+		contexts = new ConcurrentCache<Triple<Object, SootMethod, Object>, Collection<CallString>>(maxContextSets);
+		maxCallStrings = maxCallStringsInTrie;
+		trie = new IdentityHashMap<CallString, Map<CallTriple, CallString>>();
+	}
+
+	/**
+	 * Forgets all cached contexts and resets the trie. The statistics about the use of the cache are retained.
+	 */
+	public void clear() {
+		contexts.clear();
+
+		synchronized (this) {
+			trie.clear();
+			noOfCallStrings = 0;
+		}
+	}
+
+	/**
+	 * Retrieves the ratio of the call strings that were already in the trie when they were requested to all requested call
+	 * strings.
+	 *
+	 * @return the reuse ratio. It is <i>0</i> if no call strings were requested.
+	 * @post 0 <= result and result <= 1
+	 */
+	@Functional public synchronized double getCallStringReuseRatio() {
+		final double _result;
+
+		if (requestedCallStrings == 0) {
+			_result = 0;
+		} else {
+			_result = (double) reusedCallStrings / requestedCallStrings;
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the number of call strings in the trie.
+	 *
+	 * @return the number of call strings.
+	 */
+	@Functional public synchronized int getNumberOfCallStrings() {
+		return noOfCallStrings;
+	}
+
+	/**
+	 * Retrieves the statistics about the lookup of contexts.
+	 *
+	 * @return the statistics.
+	 */
+	@NonNull @Functional public ConcurrentCache.Statistics getStatistics() {
+		return contexts.getStatistics();
+	}
+
+	/**
+	 * Retrieves the number of cached collections of contexts.
+	 *
+	 * @return the number of collections.
+	 */
+	@Functional public int size() {
+		return contexts.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override public String toString() {
+		return "CallingContextCache[contexts=" + contexts + ", call strings=" + getNumberOfCallStrings()
+				+ ", call string reuse ratio=" + getCallStringReuseRatio() + "]";
+	}
+
+	/**
+	 * Retrieves the cached contexts of the given method and token.
+	 *
+	 * @param qualifier qualifies the retriever requesting the contexts.
+	 * @param method of interest.
+	 * @param token of interest.
+	 * @return the contexts; <code>null</code> if the contexts are not cached.
+	 */
+	@Immutable Collection<CallString> get(@NonNull final Object qualifier, @NonNull final SootMethod method,
+			@NonNull final Object token) {
+		return contexts.get(new Triple<Object, SootMethod, Object>(qualifier, method, token));
+	}
+
+	/**
+	 * Caches the given contexts of the given method and token.
+	 *
+	 * @param qualifier qualifies the retriever that calculated the contexts.
+	 * @param method of interest.
+	 * @param token of interest.
+	 * @param callingContexts of <code>method</code> and <code>token</code>. They should be call strings in the trie.
+	 */
+	void put(@NonNull final Object qualifier, @NonNull final SootMethod method, @NonNull final Object token,
+			@NonNull @Immutable final Collection<CallString> callingContexts) {
+		contexts.put(new Triple<Object, SootMethod, Object>(qualifier, method, token), callingContexts);
+	}
+
+	/**
+	 * Retrieves the call string in the trie with the call sites of the given call string in reverse order.
+	 *
+	 * @param callString of interest.
+	 * @return the reversed call string.
+	 * @post result.equals(callString.reverse())
+	 */
+	@NonNull synchronized CallString reverse(@NonNull final CallString callString) {
+		CallString _result = CallString.EMPTY;
+
+		for (final CallTriple _callSite : callString) {
+			_result = extend(_result, _callSite);
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the call string in the trie that extends the given call string with the given call site. Access to this
+	 * method should be guarded by this object.
+	 *
+	 * @param callString is a call string in the trie.
+	 * @param callSite of interest.
+	 * @return the extended call string.
+	 */
+	@NonNull private CallString extend(@NonNull final CallString callString, final CallTriple callSite) {
+		Map<CallTriple, CallString> _extensions = trie.get(callString);
+
+		if (_extensions == null) {
+			_extensions = new HashMap<CallTriple, CallString>();
+			trie.put(callString, _extensions);
+		}
+
+		CallString _result = _extensions.get(callSite);
+		requestedCallStrings++;
+
+		if (_result == null) {
+			_result = callString.push(callSite);
+
+			if (noOfCallStrings >= maxCallStrings) {
+				trie.clear();
+				noOfCallStrings = 0;
+			} else {
+				_extensions.put(callSite, _result);
+				noOfCallStrings++;
+			}
+		} else {
+			reusedCallStrings++;
+		}
+		return _result;
+	}
+}
+
+// End of File
@@ -38,7 +38,7 @@ public interface IActivePart {
 		/** 
 		 * This indicates if the active object can proceed with processing.
 		 */
-		private boolean active = true;
+		private volatile boolean active = true;
 
 		/**
 		 * @see IActivePart#activate()
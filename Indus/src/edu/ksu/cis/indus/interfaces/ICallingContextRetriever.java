@@ -17,8 +17,7 @@
 package edu.ksu.cis.indus.interfaces;
 
 import edu.ksu.cis.indus.annotations.Empty;
-import edu.ksu.cis.indus.common.collections.Stack;
-import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+import edu.ksu.cis.indus.common.soot.CallString;
 import edu.ksu.cis.indus.processing.Context;
 
 import java.util.Collection;
@@ -48,7 +47,7 @@ public interface ICallingContextRetriever
 	 */
 	public enum Identifiers {
 		/**
-		 * This identifies the calling context leading to the method.
+		 * This identifies the calling context leading to the method. It is a <code>CallString</code>.
 		 */
 		SRC_CALLING_CONTEXT,
 		/**
@@ -70,12 +69,12 @@ public interface ICallingContextRetriever
 			// does nothing
 		}
 
-		public Collection<Stack<CallTriple>> getCallingContextsForProgramPoint(
+		public Collection<CallString> getCallingContextsForProgramPoint(
 				@SuppressWarnings("unused") final Context programPointContext) {
 			return NULL_CONTEXTS;
 		}
 
-		public Collection<Stack<CallTriple>> getCallingContextsForThis(@SuppressWarnings("unused") final Context methodContext) {
+		public Collection<CallString> getCallingContextsForThis(@SuppressWarnings("unused") final Context methodContext) {
 			return NULL_CONTEXTS;
 		}
 
@@ -92,7 +91,7 @@ public interface ICallingContextRetriever
 	/**
 	 * This is a collection of calling contexts that imply all call chains should be followed.
 	 */
-	Collection<Stack<CallTriple>> NULL_CONTEXTS = Collections.<Stack<CallTriple>> singleton(null);;
+	Collection<CallString> NULL_CONTEXTS = Collections.<CallString> singleton(null);
 
 	/**
 	 * Retrieves the calling contexts for the program point specified in the given context.
@@ -102,7 +101,7 @@ public interface ICallingContextRetriever
 	 * @pre programPointContext != null
 	 * @post result != null
 	 */
-	Collection<Stack<CallTriple>> getCallingContextsForProgramPoint(Context programPointContext);
+	Collection<CallString> getCallingContextsForProgramPoint(Context programPointContext);
 
 	/**
 	 * Retrieves the calling contexts for the method specified in the given context based on it's "this" variable.
@@ -112,7 +111,7 @@ public interface ICallingContextRetriever
 	 * @pre methodContext != null
 	 * @post result != null
 	 */
-	Collection<Stack<CallTriple>> getCallingContextsForThis(Context methodContext);
+	Collection<CallString> getCallingContextsForThis(Context methodContext);
 }
 
 // End of File
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.processing;
+
+import edu.ksu.cis.indus.annotations.NonNull;
+
+/**
+ * This interface is provided by processors that can collect information in per-worker shards when method bodies are
+ * processed concurrently. Each worker of a <code>ProcessingController</code> receives a fresh shard which is driven with the
+ * statement and value callbacks of the method bodies processed by the worker. Upon completion of the processing of method
+ * bodies, the shards are merged into the processor that created them before <code>consolidate()</code> is invoked.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ * @param <T> is the type of the shards.
+ */
+public interface IShardableProcessor<T extends IProcessor>
+		extends IProcessor {
+
+	/**
+	 * Creates a shard of this processor. The shard should be ready to receive statement and value callbacks; it will not
+	 * receive interface-level callbacks nor will it be consolidated.
+	 *
+	 * @return a new shard.
+	 */
+	@NonNull T createShard();
+
+	/**
+	 * Merges the information collected by the given shard into this processor. The outcome should not depend on the order in
+	 * which shards are merged.
+	 *
+	 * @param shard to be merged.
+	 * @pre shard was created by <code>createShard()</code> on this processor.
+	 */
+	void mergeShard(@NonNull T shard);
+}
+
+// End of File
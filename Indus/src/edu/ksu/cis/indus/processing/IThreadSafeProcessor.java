@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.processing;
+
+import edu.ksu.cis.indus.annotations.Marker;
+
+/**
+ * This is a marker interface for processors whose statement and value callbacks (<code>callback(Stmt, Context)</code> and
+ * <code>callback(ValueBox, Context)</code>) can be invoked concurrently. Such processors may be driven by a
+ * <code>ProcessingController</code> that processes method bodies concurrently.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+@Marker public interface IThreadSafeProcessor
+		extends IProcessor {
+	// empty
+}
+
+// End of File
@@ -18,6 +18,8 @@ package edu.ksu.cis.indus.processing;
 
 import edu.ksu.cis.indus.annotations.Empty;
 import edu.ksu.cis.indus.common.collections.SetUtils;
+import edu.ksu.cis.indus.common.datastructures.Pair;
+import edu.ksu.cis.indus.common.soot.Constants;
 import edu.ksu.cis.indus.interfaces.IActivePart;
 import edu.ksu.cis.indus.interfaces.IEnvironment;
 
@@ -30,6 +32,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -122,6 +130,14 @@ import soot.jimple.XorExpr;
  * Please note that the processor should be registered/unregistered separately for interface-level (class/method) processing
  * and functional (method-body) processing.
  * </p>
+ * <p>
+ * Method bodies can be processed concurrently by setting the parallelism to a value greater than 1 via
+ * <code>setParallelism()</code> or via the property named by
+ * <code>Constants.PROCESSING_CONTROLLER_PARALLELISM_PROPERTY</code>. This mode is used only if all processors registered
+ * for functional processing are either <code>IThreadSafeProcessor</code>s or <code>IShardableProcessor</code>s; otherwise,
+ * method bodies are processed sequentially. In this mode, all interface-level callbacks are delivered (on the calling
+ * thread) before any functional callbacks.
+ * </p>
  *
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
@@ -139,11 +155,33 @@ public class ProcessingController {
 	private final class StmtSwitcher
 			extends AbstractStmtSwitch {
 
+		/**
+		 * The context in which the statements are visited.
+		 */
+		private final Context ctxt;
+
+		/**
+		 * This maps AST node types to the processors interested in processing them.
+		 */
+		private final Map<Class<?>, ? extends Collection<IProcessor>> processorsMap;
+
+		/**
+		 * This walks over the values in the visited statements.
+		 */
+		private final ValueSwitcher valueSwitcher;
+
 		/**
 		 * Creates an instance of this class.
+		 *
+		 * @param theContext in which the statements are visited.
+		 * @param theProcessorsMap maps AST node types to the processors interested in processing them.
+		 * @pre theContext != null and theProcessorsMap != null
 		 */
-		public StmtSwitcher() {
+		StmtSwitcher(final Context theContext, final Map<Class<?>, ? extends Collection<IProcessor>> theProcessorsMap) {
 			super();
+			ctxt = theContext;
+			processorsMap = theProcessorsMap;
+			valueSwitcher = new ValueSwitcher(theContext, theProcessorsMap);
 		}
 
 		/**
@@ -332,18 +370,39 @@ public class ProcessingController {
 		 * @param o the AST INode to be processed.
 		 */
 		public void defaultCase(final Class<?> objClass, final Stmt o) {
-			final Collection<IProcessor> _temp = class2processors.get(objClass);
+			final Collection<IProcessor> _temp = processorsMap.get(objClass);
 
 			if (_temp != null) {
 				final Stmt _stmt = o;
 
 				for (final Iterator<IProcessor> _i = _temp.iterator(); _i.hasNext();) {
 					final IProcessor _pp = _i.next();
-					_pp.callback(_stmt, context);
+					_pp.callback(_stmt, ctxt);
 				}
 			}
 		}
 
+		/**
+		 * Visits the given statement in the context of this switcher.
+		 *
+		 * @param stmt to be visited.
+		 * @pre stmt != null
+		 */
+		void processStmt(final Stmt stmt) {
+			ctxt.setStmt(stmt);
+			stmt.apply(this);
+		}
+
+		/**
+		 * Processes the given value boxes.
+		 *
+		 * @param boxes to be processed.
+		 * @pre boxes != null
+		 */
+		private void processValueBoxes(final Collection<ValueBox> boxes) {
+			valueSwitcher.processValueBoxes(boxes);
+		}
+
 		/**
 		 * Processes the value boxes in the given definition statement.
 		 *
@@ -368,11 +427,27 @@ public class ProcessingController {
 	private final class ValueSwitcher
 			extends AbstractJimpleValueSwitch {
 
+		/**
+		 * The context in which the values are visited.
+		 */
+		private final Context ctxt;
+
+		/**
+		 * This maps AST node types to the processors interested in processing them.
+		 */
+		private final Map<Class<?>, ? extends Collection<IProcessor>> processorsMap;
+
 		/**
 		 * Creates an instance of this class.
+		 *
+		 * @param theContext in which the values are visited.
+		 * @param theProcessorsMap maps AST node types to the processors interested in processing them.
+		 * @pre theContext != null and theProcessorsMap != null
 		 */
-		public ValueSwitcher() {
+		ValueSwitcher(final Context theContext, final Map<Class<?>, ? extends Collection<IProcessor>> theProcessorsMap) {
 			super();
+			ctxt = theContext;
+			processorsMap = theProcessorsMap;
 		}
 
 		/**
@@ -732,17 +807,38 @@ public class ProcessingController {
 		 * @param objClass is the type of <code>o</code>
 		 */
 		public void defaultCase(final Class<?> objClass) {
-			final Collection<IProcessor> _temp = class2processors.get(objClass);
+			final Collection<IProcessor> _temp = processorsMap.get(objClass);
 
 			if (_temp != null) {
-				final ValueBox _programPoint = context.getProgramPoint();
+				final ValueBox _programPoint = ctxt.getProgramPoint();
 				for (final Iterator<IProcessor> _i = _temp.iterator(); _i.hasNext();) {
 					final IProcessor _pp = _i.next();
-					_pp.callback(_programPoint, context);
+					_pp.callback(_programPoint, ctxt);
 				}
 			}
 		}
 
+		/**
+		 * Processes the given value boxes.
+		 *
+		 * @param boxes to be processed.
+		 * @pre boxes != null and boxes.oclIsKindOf(Collection(ValueBox))
+		 */
+		void processValueBoxes(final Collection<ValueBox> boxes) {
+			if (processingFilter != null) {
+				processingFilter.filterValueBoxes(boxes);
+			}
+
+			final Iterator<ValueBox> _i = boxes.iterator();
+			final int _iEnd = boxes.size();
+
+			for (int _iIndex = 0; _iIndex < _iEnd; _iIndex++) {
+				final ValueBox _vb = _i.next();
+				ctxt.setProgramPoint(_vb);
+				_vb.getValue().apply(this);
+			}
+		}
+
 		/**
 		 * Process expressions with binary operator.
 		 *
@@ -786,6 +882,66 @@ public class ProcessingController {
 		}
 	}
 
+	/**
+	 * This class processes a share of the pending method bodies with its own context and switchers.
+	 *
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$
+	 */
+	private final class BodyProcessingWorker
+			implements Callable<Map<IProcessor, IProcessor>> {
+
+		/**
+		 * The index of the next pending method body to be processed. This is shared by all workers.
+		 */
+		private final AtomicInteger nextBody;
+
+		/**
+		 * This maps shardable processors to the shards used by this worker.
+		 */
+		private final Map<IProcessor, IProcessor> processor2shard;
+
+		/**
+		 * This walks over the statements for processing.
+		 */
+		private final StmtSwitcher switcher;
+
+		/**
+		 * Creates an instance of this class.
+		 *
+		 * @param theNextBody is the index of the next pending method body to be processed.
+		 * @param theProcessorsMap maps AST node types to the processors (or shards) to be used by this worker.
+		 * @param theProcessor2shard maps shardable processors to the shards used by this worker.
+		 * @pre theNextBody != null and theProcessorsMap != null and theProcessor2shard != null
+		 */
+		BodyProcessingWorker(final AtomicInteger theNextBody,
+				final Map<Class<?>, ? extends Collection<IProcessor>> theProcessorsMap,
+				final Map<IProcessor, IProcessor> theProcessor2shard) {
+			nextBody = theNextBody;
+			processor2shard = theProcessor2shard;
+			switcher = new StmtSwitcher(new Context(), theProcessorsMap);
+		}
+
+		/**
+		 * Processes pending method bodies until there are none left.
+		 *
+		 * @return a map from shardable processors to the shards used by this worker.
+		 * @post result != null
+		 */
+		public Map<IProcessor, IProcessor> call() {
+			final int _iEnd = pendingBodies.size();
+
+			for (int _i = nextBody.getAndIncrement(); _i < _iEnd && activePart.canProceed(); _i = nextBody.getAndIncrement()) {
+				final Pair<SootMethod, Collection<List<Stmt>>> _body = pendingBodies.get(_i);
+				final SootMethod _sm = _body.getFirst();
+				switcher.ctxt.setRootMethod(_sm);
+				processMethodBody(_sm, _body.getSecond(), switcher);
+			}
+			return processor2shard;
+		}
+	}
+
 	/**
 	 * A collection of all possible Jimple statement types for which a processor can register interest.
 	 */
@@ -801,6 +957,13 @@ public class ProcessingController {
 	 */
 	private static final Logger LOGGER = LoggerFactory.getLogger(ProcessingController.class);
 
+	/**
+	 * The message logged when the statements of a method could not be processed.
+	 */
+	private static final String BODY_PROCESSING_ERROR_MSG = "Well, exception while processing statements of a method may "
+			+ "mean the processor does not recognize the given method or it's parts or method has not stored in jimple "
+			+ "representation. : ";
+
 	static {
 		Collection<Class<?>> _t = new HashSet<Class<?>>();
 		_t.add(AssignStmt.class);
@@ -887,6 +1050,16 @@ public class ProcessingController {
 	 */
 	protected final Collection<IProcessor> interfaceProcessors = new ArrayList<IProcessor>();
 
+	/**
+	 * The method bodies (along with their statement sequences) pending concurrent processing.
+	 */
+	final List<Pair<SootMethod, Collection<List<Stmt>>>> pendingBodies = new ArrayList<Pair<SootMethod, Collection<List<Stmt>>>>();
+
+	/**
+	 * This indicates if method bodies are being processed concurrently.
+	 */
+	boolean processBodiesConcurrently;
+
 	/**
 	 * This indicates if statements are being processed.
 	 */
@@ -900,13 +1073,20 @@ public class ProcessingController {
 	/**
 	 * The object used to realize the "active" part of this object.
 	 */
-	private final IActivePart.ActivePart activePart = new IActivePart.ActivePart();
+	final IActivePart.ActivePart activePart = new IActivePart.ActivePart();
 
 	/**
 	 * This defines the environment in which the processing runs.
 	 */
 	private IEnvironment env;
 
+	/**
+	 * The number of workers used to process method bodies.
+	 *
+	 * @invariant parallelism &gt; 0
+	 */
+	private int parallelism = Constants.getParallelismForProcessingController();
+
 	/**
 	 * The filter used to filter the classes that select the classes and methods to be processed.
 	 */
@@ -921,12 +1101,7 @@ public class ProcessingController {
 	/**
 	 * This walks over the statements for processing.
 	 */
-	private final StmtSwitcher stmtSwitcher = new StmtSwitcher();
-
-	/**
-	 * This walks over the value for processing.
-	 */
-	private final ValueSwitcher valueSwitcher = new ValueSwitcher();
+	private final StmtSwitcher stmtSwitcher = new StmtSwitcher(context, class2processors);
 
 	/**
 	 * Creates an instance of this class.
@@ -965,6 +1140,16 @@ public class ProcessingController {
 		return activePart;
 	}
 
+	/**
+	 * Retrieves the number of workers used to process method bodies.
+	 *
+	 * @return the number of workers.
+	 * @post result &gt; 0
+	 */
+	public final int getParallelism() {
+		return parallelism;
+	}
+
 	/**
 	 * Retrieves the value in <code>env</code>.
 	 *
@@ -1006,8 +1191,13 @@ public class ProcessingController {
 
 		processStmts = !SetUtils.intersection(class2processors.keySet(), STMT_CLASSES).isEmpty();
 		processValues = !SetUtils.intersection(class2processors.keySet(), VALUE_CLASSES).isEmpty();
+		processBodiesConcurrently = canProcessBodiesConcurrently();
 		processClasses(env.getClasses());
 
+		if (processBodiesConcurrently) {
+			processPendingBodiesConcurrently();
+		}
+
 		if (LOGGER.isInfoEnabled()) {
 			LOGGER.info("END: processing classes");
 			LOGGER.info("BEGIN: consolidation");
@@ -1084,6 +1274,8 @@ public class ProcessingController {
 		interfaceProcessors.clear();
 		processStmts = false;
 		processValues = false;
+		processBodiesConcurrently = false;
+		pendingBodies.clear();
 		context.setStmt(null);
 		context.setProgramPoint(null);
 		context.setRootMethod(null);
@@ -1101,6 +1293,21 @@ public class ProcessingController {
 		env = environment;
 	}
 
+	/**
+	 * Sets the number of workers used to process method bodies. A value greater than 1 enables concurrent processing of
+	 * method bodies provided all functional processors are either thread-safe or shardable. In this mode, the processing
+	 * filter is accessed concurrently and, hence, it should be safe for concurrent use.
+	 *
+	 * @param workers is the number of workers.
+	 * @throws IllegalArgumentException when <code>workers</code> is not positive.
+	 */
+	public final void setParallelism(final int workers) {
+		if (workers < 1) {
+			throw new IllegalArgumentException("The number of workers should be positive - " + workers);
+		}
+		parallelism = workers;
+	}
+
 	/**
 	 * Sets the filter to be used to pick the classes and methods to be processed.
 	 *
@@ -1180,24 +1387,14 @@ public class ProcessingController {
 	}
 
 	/**
-	 * Processes the given value boxes.
+	 * Initializes a shard created to process method bodies concurrently. This is called before the shard is used by a
+	 * worker.
 	 *
-	 * @param boxes to be processed.
-	 * @pre boxes != null and boxes.oclIsKindOf(Collection(ValueBox))
+	 * @param shard to be initialized.
+	 * @pre shard != null
 	 */
-	void processValueBoxes(final Collection<ValueBox> boxes) {
-		if (processingFilter != null) {
-			processingFilter.filterValueBoxes(boxes);
-		}
-
-		final Iterator<ValueBox> _i = boxes.iterator();
-		final int _iEnd = boxes.size();
-
-		for (int _iIndex = 0; _iIndex < _iEnd; _iIndex++) {
-			final ValueBox _vb = _i.next();
-			context.setProgramPoint(_vb);
-			_vb.getValue().apply(valueSwitcher);
-		}
+	@Empty protected void initializeShard(@SuppressWarnings("unused") final IProcessor shard) {
+		// does nothing.
 	}
 
 	/**
@@ -1269,26 +1466,18 @@ public class ProcessingController {
 	 * Processes the method body.
 	 *
 	 * @param method whose body needs to be processed.
-	 * @throws IllegalStateException when <code>setStmtSequenceRetriever()</code> is not called with a non-null argument
-	 *             before calling this method.
-	 * @pre method != null
+	 * @param stmtSequences are the sequences of statements of <code>method</code> to be processed.
+	 * @param switcher to be used to walk the statements.
+	 * @pre method != null and stmtSequences != null and switcher != null
 	 */
-	private void processMethodBody(final SootMethod method) {
+	void processMethodBody(final SootMethod method, final Collection<List<Stmt>> stmtSequences, final StmtSwitcher switcher) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("Processing method " + method);
 		}
 
-		if (stmtSequencesRetriever == null) {
-			final String _msg = "Please call setStmtSequenceRetriever() with a non-null argument "
-					+ "before executing the controller.";
-			LOGGER.error(_msg);
-			throw new IllegalStateException(_msg);
-		}
-
 		try {
-			final Collection<List<Stmt>> _col1 = stmtSequencesRetriever.retrieveStmtSequences(method);
-			final Iterator<List<Stmt>> _j = _col1.iterator();
-			final int _jEnd = _col1.size();
+			final Iterator<List<Stmt>> _j = stmtSequences.iterator();
+			final int _jEnd = stmtSequences.size();
 
 			for (int _jIndex = 0; _jIndex < _jEnd && activePart.canProceed(); _jIndex++) {
 				final Collection<Stmt> _seq;
@@ -1303,18 +1492,164 @@ public class ProcessingController {
 				final int _iEnd = _seq.size();
 
 				for (int _iIndex = 0; _iIndex < _iEnd && activePart.canProceed(); _iIndex++) {
-					final Stmt _stmt = _i.next();
-					context.setStmt(_stmt);
-					_stmt.apply(stmtSwitcher);
+					switcher.processStmt(_i.next());
 				}
 			}
 		} catch (final RuntimeException _e) {
-			LOGGER.error("Well, exception while processing statements of a method may mean the processor does not"
-					+ " recognize the given method or it's parts or method has not stored in jimple " + "representation. : "
-					+ method.getSignature(), _e);
+			LOGGER.error(BODY_PROCESSING_ERROR_MSG + method.getSignature(), _e);
 		}
 	}
 
+	/**
+	 * Checks if method bodies can be processed concurrently.
+	 *
+	 * @return <code>true</code> if parallelism is enabled and all functional processors are either thread-safe or
+	 *         shardable; <code>false</code>, otherwise.
+	 */
+	private boolean canProcessBodiesConcurrently() {
+		boolean _result = parallelism > 1 && (processStmts || processValues);
+
+		for (final Iterator<Set<IProcessor>> _i = class2processors.values().iterator(); _i.hasNext() && _result;) {
+			for (final Iterator<IProcessor> _j = _i.next().iterator(); _j.hasNext() && _result;) {
+				final IProcessor _p = _j.next();
+				_result = _p instanceof IThreadSafeProcessor || _p instanceof IShardableProcessor;
+
+				if (!_result && LOGGER.isInfoEnabled()) {
+					LOGGER.info("Method bodies will be processed sequentially as " + _p
+							+ " is neither thread-safe nor shardable.");
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Creates a worker to process pending method bodies. Each shardable processor is replaced by a fresh shard in the
+	 * worker.
+	 *
+	 * @param nextBody is the index of the next pending method body to be processed.
+	 * @return a new worker.
+	 * @pre nextBody != null
+	 * @post result != null
+	 */
+	private BodyProcessingWorker createBodyProcessingWorker(final AtomicInteger nextBody) {
+		final Map<IProcessor, IProcessor> _processor2shard = new HashMap<IProcessor, IProcessor>();
+		final Map<Class<?>, Collection<IProcessor>> _processorsMap = new HashMap<Class<?>, Collection<IProcessor>>();
+
+		for (final Iterator<Map.Entry<Class<?>, Set<IProcessor>>> _i = class2processors.entrySet().iterator(); _i.hasNext();) {
+			final Map.Entry<Class<?>, Set<IProcessor>> _entry = _i.next();
+			final Collection<IProcessor> _processors = new ArrayList<IProcessor>();
+
+			for (final Iterator<IProcessor> _j = _entry.getValue().iterator(); _j.hasNext();) {
+				final IProcessor _p = _j.next();
+
+				if (_p instanceof IShardableProcessor) {
+					IProcessor _shard = _processor2shard.get(_p);
+
+					if (_shard == null) {
+						_shard = ((IShardableProcessor<?>) _p).createShard();
+						initializeShard(_shard);
+						_processor2shard.put(_p, _shard);
+					}
+					_processors.add(_shard);
+				} else {
+					_processors.add(_p);
+				}
+			}
+			_processorsMap.put(_entry.getKey(), _processors);
+		}
+		return new BodyProcessingWorker(nextBody, _processorsMap, _processor2shard);
+	}
+
+	/**
+	 * Merges the given shard into the given processor.
+	 *
+	 * @param <T> is the type of the shard.
+	 * @param processor into which the shard should be merged.
+	 * @param shard to be merged.
+	 * @pre processor != null and shard != null
+	 * @pre shard was created by <code>processor.createShard()</code>
+	 */
+	@SuppressWarnings("unchecked") private <T extends IProcessor> void mergeShard(final IShardableProcessor<T> processor,
+			final IProcessor shard) {
+		processor.mergeShard((T) shard);
+	}
+
+	/**
+	 * Processes the pending method bodies on a pool of workers. Shards are merged into their processors (on the calling
+	 * thread) in the order in which the workers were created.
+	 *
+	 * @throws RuntimeException when the processing of method bodies is interrupted or fails.
+	 */
+	private void processPendingBodiesConcurrently() {
+		if (LOGGER.isInfoEnabled()) {
+			LOGGER.info("BEGIN: processing " + pendingBodies.size() + " method bodies with " + parallelism + " workers");
+		}
+
+		final AtomicInteger _nextBody = new AtomicInteger();
+		final ExecutorService _executor = Executors.newFixedThreadPool(parallelism);
+
+		try {
+			final List<Future<Map<IProcessor, IProcessor>>> _results = new ArrayList<Future<Map<IProcessor, IProcessor>>>();
+
+			for (int _i = 0; _i < parallelism; _i++) {
+				_results.add(_executor.submit(createBodyProcessingWorker(_nextBody)));
+			}
+
+			for (final Iterator<Future<Map<IProcessor, IProcessor>>> _i = _results.iterator(); _i.hasNext();) {
+				final Map<IProcessor, IProcessor> _processor2shard = _i.next().get();
+
+				for (final Iterator<Map.Entry<IProcessor, IProcessor>> _j = _processor2shard.entrySet().iterator(); _j
+						.hasNext();) {
+					final Map.Entry<IProcessor, IProcessor> _entry = _j.next();
+					mergeShard((IShardableProcessor<?>) _entry.getKey(), _entry.getValue());
+				}
+			}
+		} catch (final InterruptedException _e) {
+			LOGGER.error("Interrupted while waiting on the method body processing workers.", _e);
+			throw new RuntimeException(_e);
+		} catch (final ExecutionException _e) {
+			LOGGER.error("A method body processing worker failed.", _e.getCause());
+			throw new RuntimeException(_e.getCause());
+		} finally {
+			_executor.shutdownNow();
+			pendingBodies.clear();
+		}
+
+		if (LOGGER.isInfoEnabled()) {
+			LOGGER.info("END: processing method bodies");
+		}
+	}
+
+	/**
+	 * Retrieves the statement sequences of the given method to be processed.
+	 *
+	 * @param method of interest.
+	 * @return the statement sequences.
+	 * @throws IllegalStateException when <code>setStmtSequenceRetriever()</code> is not called with a non-null argument
+	 *             before calling this method.
+	 * @pre method != null
+	 * @post result != null
+	 */
+	private Collection<List<Stmt>> retrieveStmtSequences(final SootMethod method) {
+		if (stmtSequencesRetriever == null) {
+			final String _msg = "Please call setStmtSequenceRetriever() with a non-null argument "
+					+ "before executing the controller.";
+			LOGGER.error(_msg);
+			throw new IllegalStateException(_msg);
+		}
+
+		Collection<List<Stmt>> _result;
+
+		try {
+			_result = stmtSequencesRetriever.retrieveStmtSequences(method);
+		} catch (final RuntimeException _e) {
+			LOGGER.error(BODY_PROCESSING_ERROR_MSG + method.getSignature(), _e);
+			_result = Collections.emptyList();
+		}
+		return _result;
+	}
+
 	/**
 	 * Controls the processing of methods and their bodies.
 	 *
@@ -1346,7 +1681,13 @@ public class ProcessingController {
 			}
 
 			if (_processBody && _sm.isConcrete()) {
-				processMethodBody(_sm);
+				final Collection<List<Stmt>> _stmtSequences = retrieveStmtSequences(_sm);
+
+				if (processBodiesConcurrently) {
+					pendingBodies.add(new Pair<SootMethod, Collection<List<Stmt>>>(_sm, _stmtSequences));
+				} else {
+					processMethodBody(_sm, _stmtSequences, stmtSwitcher);
+				}
 			} else if (LOGGER.isDebugEnabled()) {
 				LOGGER.debug(_sm + " is not a concrete method.  Hence, it's body could not be retrieved.");
 			}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.tools.slicer;
+
+import edu.ksu.cis.indus.IndusTestCase;
+import edu.ksu.cis.indus.slicer.ISliceCriterion;
+import edu.ksu.cis.indus.slicer.SliceCollector;
+import edu.ksu.cis.indus.slicer.SliceCriteriaFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import soot.SootMethod;
+import soot.tagkit.Host;
+
+import soot.jimple.InvokeStmt;
+import soot.jimple.ReturnStmt;
+import soot.jimple.ReturnVoidStmt;
+import soot.jimple.Stmt;
+
+/**
+ * This is the base class of the tests that slice the system analyzed by a slicer tool executed till
+ * <code>SlicerTool.SLICE_MAJOR_PHASE</code>. The tool is provided by <code>SlicerToolTestSetup</code>.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public abstract class AbstractSlicerToolTest
+		extends IndusTestCase {
+
+	/**
+	 * The slicer tool being tested.
+	 */
+	protected SlicerTool slicer;
+
+	/**
+	 * Sets the slicer tool to be tested.
+	 *
+	 * @param tool to be tested.
+	 * @pre tool != null
+	 */
+	public final void setSlicerTool(final SlicerTool tool) {
+		slicer = tool;
+	}
+
+	/**
+	 * Retrieves the sets of criteria based on the invocation and return statements of the reachable application methods.
+	 * Each method is provided with a set of criteria that includes the criteria of all such statements in the method.
+	 *
+	 * @return a map from the methods to the criteria.
+	 * @post result != null and result.values()->forall(o | o.size() > 0)
+	 */
+	protected final Map<SootMethod, Collection<ISliceCriterion>> getCriteriaPerMethod() {
+		final Map<SootMethod, Collection<ISliceCriterion>> _result;
+		_result = new LinkedHashMap<SootMethod, Collection<ISliceCriterion>>();
+		final SliceCriteriaFactory _factory = SliceCriteriaFactory.getFactory();
+
+		for (final Iterator<SootMethod> _i = getApplicationMethods().iterator(); _i.hasNext();) {
+			final SootMethod _sm = _i.next();
+			final Collection<ISliceCriterion> _criteria = new ArrayList<ISliceCriterion>();
+
+			for (final Iterator<?> _j = _sm.retrieveActiveBody().getUnits().iterator(); _j.hasNext();) {
+				final Stmt _stmt = (Stmt) _j.next();
+
+				if (_stmt instanceof InvokeStmt || _stmt instanceof ReturnStmt || _stmt instanceof ReturnVoidStmt) {
+					_criteria.addAll(_factory.getCriteria(_sm, _stmt, true));
+				}
+			}
+
+			if (!_criteria.isEmpty()) {
+				_result.put(_sm, _criteria);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the sets of criteria based on the invocation and return statements of the reachable application methods.
+	 * Each statement is provided with a set of criteria.
+	 *
+	 * @return a map from the statements to the criteria.
+	 * @post result != null and result.values()->forall(o | o.size() > 0)
+	 */
+	protected final Map<Stmt, Collection<ISliceCriterion>> getCriteriaPerStmt() {
+		final Map<Stmt, Collection<ISliceCriterion>> _result = new LinkedHashMap<Stmt, Collection<ISliceCriterion>>();
+		final SliceCriteriaFactory _factory = SliceCriteriaFactory.getFactory();
+
+		for (final Iterator<SootMethod> _i = getApplicationMethods().iterator(); _i.hasNext();) {
+			final SootMethod _sm = _i.next();
+
+			for (final Iterator<?> _j = _sm.retrieveActiveBody().getUnits().iterator(); _j.hasNext();) {
+				final Stmt _stmt = (Stmt) _j.next();
+
+				if (_stmt instanceof InvokeStmt || _stmt instanceof ReturnStmt || _stmt instanceof ReturnVoidStmt) {
+					_result.put(_stmt, _factory.getCriteria(_sm, _stmt, true));
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the parts of the system in the given slices.
+	 *
+	 * @param <K> is the type of the objects that identify the slices.
+	 * @param slices maps the objects that identify the slices to the collectors of the slices.
+	 * @return a map from the objects that identify the slices to the parts of the system in the slices.
+	 * @pre slices != null
+	 * @post result != null and result.keySet()->equals(slices.keySet())
+	 */
+	protected final <K> Map<K, Collection<Host>> getHostsIn(final Map<K, SliceCollector> slices) {
+		final Map<K, Collection<Host>> _result = new LinkedHashMap<K, Collection<Host>>();
+
+		for (final Iterator<Map.Entry<K, SliceCollector>> _i = slices.entrySet().iterator(); _i.hasNext();) {
+			final Map.Entry<K, SliceCollector> _entry = _i.next();
+			_result.put(_entry.getKey(), new HashSet<Host>(_entry.getValue().getCollectedHosts()));
+		}
+		return _result;
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		slicer.setSliceSummaryCache(null);
+		super.tearDown();
+	}
+
+	/**
+	 * Retrieves the reachable concrete methods of application classes.
+	 *
+	 * @return the methods.
+	 * @post result != null
+	 */
+	private Collection<SootMethod> getApplicationMethods() {
+		final Collection<SootMethod> _result = new ArrayList<SootMethod>();
+
+		for (final Iterator<SootMethod> _i = slicer.getCallGraph().getReachableMethods().iterator(); _i.hasNext();) {
+			final SootMethod _sm = _i.next();
+
+			if (_sm.getDeclaringClass().isApplicationClass() && _sm.isConcrete()) {
+				_result.add(_sm);
+			}
+		}
+		return _result;
+	}
+}
+
+// End of File
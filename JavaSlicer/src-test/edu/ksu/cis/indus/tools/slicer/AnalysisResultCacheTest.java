@@ -0,0 +1,368 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.tools.slicer;
+
+import edu.ksu.cis.indus.common.datastructures.Pair;
+import edu.ksu.cis.indus.common.soot.ProgramPointIdManager;
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+import edu.ksu.cis.indus.staticanalyses.dependency.CompactDependenceStore;
+import edu.ksu.cis.indus.staticanalyses.dependency.IDependencyAnalysis;
+import edu.ksu.cis.indus.staticanalyses.dependency.InterferenceDAv1;
+import edu.ksu.cis.indus.staticanalyses.dependency.ReadyDAv1;
+import edu.ksu.cis.indus.tools.Phase;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+
+import soot.Modifier;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Unit;
+import soot.VoidType;
+
+import soot.jimple.AssignStmt;
+import soot.jimple.Jimple;
+import soot.jimple.JimpleBody;
+import soot.jimple.Stmt;
+
+/**
+ * This class tests the use of <code>AnalysisResultCache</code> by the slicer tool. Interference and ready dependence
+ * analyses are enabled during the tests as their dependences are cached.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class AnalysisResultCacheTest
+		extends AbstractSlicerToolTest {
+
+	/**
+	 * The suffix of the files in which call information is cached.
+	 */
+	private static final String CALL_INFO_SUFFIX = ".callinfo";
+
+	/**
+	 * The suffix of the files in which dependences are cached.
+	 */
+	private static final String DEPENDENCES_SUFFIX = ".dependences";
+
+	/**
+	 * The directory in which the results are cached during a test.
+	 */
+	private File directory;
+
+	/**
+	 * This indicates if interference dependence analysis was used by the slicer before the test.
+	 */
+	private boolean interferenceDAUsed;
+
+	/**
+	 * This indicates if ready dependence analysis was used by the slicer before the test.
+	 */
+	private boolean readyDAUsed;
+
+	/**
+	 * Tests that corrupted entries are treated as misses and are replaced by the next run of the slicer.
+	 *
+	 * @throws IOException when the entries cannot be corrupted.
+	 */
+	public void testCorruptedEntries() throws IOException {
+		final AnalysisResultCache _cache = new AnalysisResultCache(directory);
+		runSlicer(_cache);
+
+		final Map<String, Collection<Pair<Pair<?, SootMethod>, Pair<?, SootMethod>>>> _dependences = getDependences();
+		final Map<SootMethod, Collection<CallTriple>> _callees = getCallees();
+		final String _key = getKey();
+		final File[] _files = directory.listFiles();
+		Arrays.sort(_files);
+
+		for (int _i = 0; _i < _files.length; _i++) {
+			final File _file = _files[_i];
+			final RandomAccessFile _raf = new RandomAccessFile(_file, "rw");
+
+			try {
+				if (_file.getName().endsWith(CALL_INFO_SUFFIX)) {
+					_raf.setLength(_raf.length() / 2);
+				} else if (_i % 2 == 0) {
+					_raf.writeInt(0);
+				} else {
+					_raf.seek(2 * (Integer.SIZE / Byte.SIZE));
+					_raf.writeInt(Integer.MAX_VALUE);
+				}
+			} finally {
+				_raf.close();
+			}
+		}
+
+		assertNull(_cache.retrieveCallInfo(_key, slicer.getSystem()));
+		assertEquals(_files.length, retrieveDependences(_cache, _key, false) + 1);
+		assertEquals(0, _cache.getHitCount());
+
+		runSlicer(_cache);
+		assertEquals(_callees, getCallees());
+		assertEquals(_dependences, getDependences());
+		assertNotNull(_cache.retrieveCallInfo(_key, slicer.getSystem()));
+		retrieveDependences(_cache, _key, true);
+	}
+
+	/**
+	 * Tests that the results cached by the first run of the slicer are identical to the results calculated afresh by a later
+	 * run and to the results retrieved from the cache.
+	 */
+	public void testRoundTrip() {
+		final AnalysisResultCache _cache = new AnalysisResultCache(directory);
+		runSlicer(_cache);
+
+		final Map<String, Collection<Pair<Pair<?, SootMethod>, Pair<?, SootMethod>>>> _dependences = getDependences();
+		final Map<SootMethod, Collection<CallTriple>> _callees = getCallees();
+		final int _misses = _cache.getMissCount();
+		assertEquals(0, _cache.getHitCount());
+		assertTrue(_misses > 1);
+		assertTrue(new File(directory, getKey() + CALL_INFO_SUFFIX).exists());
+
+		runSlicer(null);
+		assertEquals(_callees, getCallees());
+		assertEquals(_dependences, getDependences());
+
+		runSlicer(_cache);
+		assertEquals(_misses, _cache.getHitCount());
+		assertEquals(_misses, _cache.getMissCount());
+		assertEquals(_callees, getCallees());
+		assertEquals(_dependences, getDependences());
+	}
+
+	/**
+	 * Tests that the entries of other configurations or systems are not reused.
+	 */
+	public void testStaleEntries() {
+		final AnalysisResultCache _cache = new AnalysisResultCache(directory);
+		final String _configuration = slicer.stringizeConfiguration();
+		@SuppressWarnings("unchecked") final Collection<SootMethod> _roots = slicer.getRootMethods();
+		final String _key = _cache.calculateKey(slicer.getSystem(), _roots, _configuration);
+		assertEquals(_key, _cache.calculateKey(slicer.getSystem(), _roots, _configuration));
+		assertFalse(_key.equals(_cache.calculateKey(slicer.getSystem(), _roots, _configuration + " ")));
+		assertFalse(_key.equals(_cache.calculateKey(slicer.getSystem(), Collections.<SootMethod> emptySet(),
+				_configuration)));
+
+		final SootClass _class = new SootClass(AnalysisResultCacheTest.class.getName() + "Stale");
+		final SootMethod _method = new SootMethod("stale", Collections.EMPTY_LIST, VoidType.v(), Modifier.STATIC);
+		_class.addMethod(_method);
+
+		final JimpleBody _body = Jimple.v().newBody(_method);
+		final Stmt _dependee = Jimple.v().newNopStmt();
+		final Stmt _dependent = Jimple.v().newNopStmt();
+		@SuppressWarnings("unchecked") final Collection<Unit> _units = _body.getUnits();
+		_units.add(_dependee);
+		_units.add(_dependent);
+		_method.setActiveBody(_body);
+
+		final CompactDependenceStore<Stmt> _store = new CompactDependenceStore<Stmt>(new ProgramPointIdManager());
+		_store.addDependence(_dependee, _method, _dependent, _method);
+		_store.freeze();
+		_cache.storeDependences(_key, "stale", _store);
+
+		assertNull(_cache.retrieveDependences(_key, "stale", slicer.getSystem(), new ProgramPointIdManager(), Stmt.class));
+		assertNull(_cache.retrieveCallInfo(_key, slicer.getSystem()));
+		assertEquals(0, _cache.getHitCount());
+		assertEquals(2, _cache.getMissCount());
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override protected void setUp() throws Exception {
+		super.setUp();
+		directory = File.createTempFile("indus", "cache");
+
+		if (!directory.delete() || !directory.mkdir()) {
+			throw new IOException("Could not create " + directory);
+		}
+
+		final SlicerConfiguration _config = (SlicerConfiguration) slicer.getActiveConfiguration();
+		interferenceDAUsed = _config.isInterferenceDepAnalysisUsed();
+		readyDAUsed = _config.isReadyDepAnalysisUsed();
+		_config.useInterferenceDepAnalysis(true);
+		_config.useReadyDepAnalysis(true);
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		slicer.setAnalysisCache(null);
+
+		final SlicerConfiguration _config = (SlicerConfiguration) slicer.getActiveConfiguration();
+		_config.useInterferenceDepAnalysis(interferenceDAUsed);
+		_config.useReadyDepAnalysis(readyDAUsed);
+
+		final File[] _files = directory.listFiles();
+
+		for (int _i = 0; _i < _files.length; _i++) {
+			_files[_i].delete();
+		}
+		directory.delete();
+		super.tearDown();
+	}
+
+	/**
+	 * Retrieves the name of the entry in which the dependences of the given analysis are cached.
+	 *
+	 * @param da of interest.
+	 * @return the name of the entry.
+	 */
+	private static String getEntryName(final IDependencyAnalysis<?, ?, ?, ?, ?, ?> da) {
+		return da.getClass().getName() + "." + da.getDirection();
+	}
+
+	/**
+	 * Retrieves the callees of the reachable methods as calculated by the slicer.
+	 *
+	 * @return a map from the reachable methods to their callees.
+	 */
+	private Map<SootMethod, Collection<CallTriple>> getCallees() {
+		final Map<SootMethod, Collection<CallTriple>> _result = new HashMap<SootMethod, Collection<CallTriple>>();
+
+		for (final Iterator<SootMethod> _i = slicer.getCallGraph().getReachableMethods().iterator(); _i.hasNext();) {
+			final SootMethod _sm = _i.next();
+			_result.put(_sm, new HashSet<CallTriple>(slicer.getCallGraph().getCallees(_sm)));
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the interference and ready dependences calculated by the slicer.
+	 *
+	 * @return a map from the names of the entries of the analyses to the dependences calculated by the analyses.
+	 */
+	private Map<String, Collection<Pair<Pair<?, SootMethod>, Pair<?, SootMethod>>>> getDependences() {
+		final Map<String, Collection<Pair<Pair<?, SootMethod>, Pair<?, SootMethod>>>> _result;
+		_result = new HashMap<String, Collection<Pair<Pair<?, SootMethod>, Pair<?, SootMethod>>>>();
+
+		@SuppressWarnings("unchecked") final Collection<IDependencyAnalysis<?, ?, ?, ?, ?, ?>> _das = slicer.getDAs();
+
+		for (final Iterator<IDependencyAnalysis<?, ?, ?, ?, ?, ?>> _i = _das.iterator(); _i.hasNext();) {
+			final IDependencyAnalysis<?, ?, ?, ?, ?, ?> _da = _i.next();
+
+			if (_da instanceof InterferenceDAv1 || _da instanceof ReadyDAv1) {
+				final Collection<Pair<Pair<?, SootMethod>, Pair<?, SootMethod>>> _dependences;
+				_dependences = new HashSet<Pair<Pair<?, SootMethod>, Pair<?, SootMethod>>>();
+
+				for (final Iterator<SootMethod> _j = slicer.getCallGraph().getReachableMethods().iterator(); _j.hasNext();) {
+					final SootMethod _sm = _j.next();
+
+					if (_sm.hasActiveBody()) {
+						for (final Iterator<?> _k = _sm.getActiveBody().getUnits().iterator(); _k.hasNext();) {
+							final Stmt _stmt = (Stmt) _k.next();
+							final Collection<? extends Pair<? extends Stmt, SootMethod>> _dependents;
+
+							if (_da instanceof ReadyDAv1) {
+								_dependents = ((ReadyDAv1) _da).getDependents(_stmt, _sm);
+							} else if (_stmt instanceof AssignStmt) {
+								_dependents = ((InterferenceDAv1) _da).getDependents((AssignStmt) _stmt, _sm);
+							} else {
+								_dependents = Collections.emptySet();
+							}
+
+							for (final Iterator<? extends Pair<? extends Stmt, SootMethod>> _l = _dependents.iterator(); _l
+									.hasNext();) {
+								final Pair<? extends Stmt, SootMethod> _dependent = _l.next();
+								_dependences.add(new Pair<Pair<?, SootMethod>, Pair<?, SootMethod>>(
+										new Pair<Stmt, SootMethod>(_stmt, _sm), _dependent));
+							}
+						}
+					}
+				}
+				_result.put(getEntryName(_da), _dependences);
+			}
+		}
+		assertFalse(_result.isEmpty());
+		return _result;
+	}
+
+	/**
+	 * Retrieves the key against which the slicer cached the results in the directory.
+	 *
+	 * @return the key.
+	 */
+	private String getKey() {
+		final String[] _names = directory.list();
+		String _result = null;
+
+		for (int _i = 0; _i < _names.length && _result == null; _i++) {
+			if (_names[_i].endsWith(CALL_INFO_SUFFIX)) {
+				_result = _names[_i].substring(0, _names[_i].length() - CALL_INFO_SUFFIX.length());
+			}
+		}
+		assertNotNull(_result);
+		return _result;
+	}
+
+	/**
+	 * Retrieves the dependences of the interference and ready dependence analyses of the slicer from the given cache.
+	 *
+	 * @param cache to retrieve from.
+	 * @param key of the dependences.
+	 * @param expected <code>true</code> if the dependences should be retrieved; <code>false</code>, otherwise.
+	 * @return the number of entries that were looked up.
+	 */
+	private int retrieveDependences(final AnalysisResultCache cache, final String key, final boolean expected) {
+		int _result = 0;
+
+		@SuppressWarnings("unchecked") final Collection<IDependencyAnalysis<?, ?, ?, ?, ?, ?>> _das = slicer.getDAs();
+
+		for (final Iterator<IDependencyAnalysis<?, ?, ?, ?, ?, ?>> _i = _das.iterator(); _i.hasNext();) {
+			final IDependencyAnalysis<?, ?, ?, ?, ?, ?> _da = _i.next();
+			final Class<? extends Stmt> _stmtClass;
+
+			if (_da instanceof InterferenceDAv1) {
+				_stmtClass = AssignStmt.class;
+			} else if (_da instanceof ReadyDAv1) {
+				_stmtClass = Stmt.class;
+			} else {
+				_stmtClass = null;
+			}
+
+			if (_stmtClass != null) {
+				final CompactDependenceStore<? extends Stmt> _store = cache.retrieveDependences(key, getEntryName(_da),
+						slicer.getSystem(), new ProgramPointIdManager(), _stmtClass);
+				assertEquals(expected, _store != null);
+				_result++;
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Runs the slicer with the given cache.
+	 *
+	 * @param cache to be used by the slicer. This may be <code>null</code>.
+	 */
+	private void runSlicer(final AnalysisResultCache cache) {
+		slicer.setAnalysisCache(cache);
+		slicer.run(Phase.STARTING_PHASE, SlicerTool.SLICE_MAJOR_PHASE, true);
+	}
+}
+
+// End of File
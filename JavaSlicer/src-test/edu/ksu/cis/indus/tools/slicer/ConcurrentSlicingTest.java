@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.tools.slicer;
+
+import edu.ksu.cis.indus.slicer.ISliceCriterion;
+
+import java.util.Collection;
+import java.util.Map;
+
+import soot.SootMethod;
+import soot.tagkit.Host;
+
+import soot.jimple.Stmt;
+
+/**
+ * This class tests that the slices calculated concurrently by the slicer tool are identical to the slices calculated one
+ * after the other.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class ConcurrentSlicingTest
+		extends AbstractSlicerToolTest {
+
+	/**
+	 * The number of slices calculated concurrently during the tests.
+	 */
+	private static final int PARALLELISM = 4;
+
+	/**
+	 * The number of slices that were calculated concurrently by the tool before the test.
+	 */
+	private int parallelism;
+
+	/**
+	 * Tests that the slices of criteria sets of methods are identical when calculated sequentially and concurrently.
+	 *
+	 * @throws InterruptedException when the slicing is interrupted.
+	 */
+	public void testCriteriaPerMethod() throws InterruptedException {
+		final Map<SootMethod, Collection<ISliceCriterion>> _criteria = getCriteriaPerMethod();
+		assertFalse(_criteria.isEmpty());
+
+		slicer.setParallelism(1);
+
+		final Map<SootMethod, Collection<Host>> _sequential = getHostsIn(slicer.sliceConcurrently(_criteria));
+		slicer.setParallelism(PARALLELISM);
+		assertEquals(_sequential, getHostsIn(slicer.sliceConcurrently(_criteria)));
+		assertEquals(_sequential, getHostsIn(slicer.sliceConcurrently(_criteria)));
+	}
+
+	/**
+	 * Tests that the slices of criteria sets of statements are identical when calculated sequentially and concurrently.
+	 *
+	 * @throws InterruptedException when the slicing is interrupted.
+	 */
+	public void testCriteriaPerStmt() throws InterruptedException {
+		final Map<Stmt, Collection<ISliceCriterion>> _criteria = getCriteriaPerStmt();
+		assertFalse(_criteria.isEmpty());
+
+		slicer.setParallelism(1);
+
+		final Map<Stmt, Collection<Host>> _sequential = getHostsIn(slicer.sliceConcurrently(_criteria));
+		slicer.setParallelism(PARALLELISM);
+		assertEquals(_sequential, getHostsIn(slicer.sliceConcurrently(_criteria)));
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override protected void setUp() throws Exception {
+		super.setUp();
+		parallelism = slicer.getParallelism();
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		slicer.setParallelism(parallelism);
+		super.tearDown();
+	}
+}
+
+// End of File
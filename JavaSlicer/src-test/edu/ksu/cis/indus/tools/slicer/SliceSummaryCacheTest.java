@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.tools.slicer;
+
+import edu.ksu.cis.indus.slicer.ISliceCriterion;
+import edu.ksu.cis.indus.slicer.SliceSummaryCache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import soot.SootMethod;
+import soot.tagkit.Host;
+
+/**
+ * This class tests the use of <code>SliceSummaryCache</code> by the slicer tool.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class SliceSummaryCacheTest
+		extends AbstractSlicerToolTest {
+
+	/**
+	 * The maximum number of summaries cached during the tests.
+	 */
+	private static final int MAX_SUMMARIES = 1000;
+
+	/**
+	 * Tests that the summaries are forgotten when the configuration of the slicing engines changes.
+	 *
+	 * @throws InterruptedException when the slicing is interrupted.
+	 */
+	public void testEngineConfiguration() throws InterruptedException {
+		final SliceSummaryCache _cache = new SliceSummaryCache(MAX_SUMMARIES);
+		slicer.setSliceSummaryCache(_cache);
+		slicer.sliceConcurrently(getSingleCriterionSets());
+
+		final int _size = _cache.size();
+		assertTrue(_size > 0);
+
+		slicer.sliceConcurrently(getSingleCriterionSets());
+		assertEquals(_size, _cache.size());
+
+		_cache.setEngineConfiguration(Boolean.TRUE);
+		assertEquals(0, _cache.size());
+	}
+
+	/**
+	 * Tests that the reuse ratio reflects the parts of the slices provided by the summaries.
+	 *
+	 * @throws InterruptedException when the slicing is interrupted.
+	 */
+	public void testReuseRatio() throws InterruptedException {
+		final SliceSummaryCache _cache = new SliceSummaryCache(MAX_SUMMARIES);
+		slicer.setSliceSummaryCache(_cache);
+		assertEquals(0, _cache.getReuseRatio(), 0);
+
+		final Map.Entry<ISliceCriterion, Collection<ISliceCriterion>> _entry = getSingleCriterionSets().entrySet().iterator()
+				.next();
+		final Map<ISliceCriterion, Collection<ISliceCriterion>> _set = Collections.singletonMap(_entry.getKey(), _entry
+				.getValue());
+		final Map<ISliceCriterion, Collection<Host>> _first = getHostsIn(slicer.sliceConcurrently(_set));
+		assertFalse(_first.get(_entry.getKey()).isEmpty());
+		assertEquals(1, _cache.size());
+		assertEquals(0, _cache.getReuseRatio(), 0);
+
+		final Map<ISliceCriterion, Collection<Host>> _second = getHostsIn(slicer.sliceConcurrently(_set));
+		assertEquals(_first, _second);
+		assertEquals(0.5, _cache.getReuseRatio(), 0);
+	}
+
+	/**
+	 * Tests that the slices calculated with summaries are identical to the slices calculated without summaries.
+	 *
+	 * @throws InterruptedException when the slicing is interrupted.
+	 */
+	public void testSoundness() throws InterruptedException {
+		final Map<ISliceCriterion, Collection<ISliceCriterion>> _singles = getSingleCriterionSets();
+		final Map<SootMethod, Collection<ISliceCriterion>> _combined = getCriteriaPerMethod();
+		final Map<ISliceCriterion, Collection<Host>> _uncachedSingles = getHostsIn(slicer.sliceConcurrently(_singles));
+		final Map<SootMethod, Collection<Host>> _uncachedCombined = getHostsIn(slicer.sliceConcurrently(_combined));
+
+		final SliceSummaryCache _cache = new SliceSummaryCache(MAX_SUMMARIES);
+		slicer.setSliceSummaryCache(_cache);
+		assertEquals(_uncachedSingles, getHostsIn(slicer.sliceConcurrently(_singles)));
+		assertTrue(_cache.size() > 0);
+		assertEquals(_uncachedCombined, getHostsIn(slicer.sliceConcurrently(_combined)));
+		assertTrue(_cache.getReuseRatio() > 0);
+		assertEquals(_uncachedSingles, getHostsIn(slicer.sliceConcurrently(_singles)));
+	}
+
+	/**
+	 * Retrieves sets of criteria that contain exactly one criterion. The slices of such sets are summarized.
+	 *
+	 * @return a map from the criteria to the singleton sets containing the criteria.
+	 * @post result != null
+	 */
+	private Map<ISliceCriterion, Collection<ISliceCriterion>> getSingleCriterionSets() {
+		final Map<ISliceCriterion, Collection<ISliceCriterion>> _result;
+		_result = new LinkedHashMap<ISliceCriterion, Collection<ISliceCriterion>>();
+
+		for (final Iterator<Collection<ISliceCriterion>> _i = getCriteriaPerStmt().values().iterator(); _i.hasNext();) {
+			for (final Iterator<ISliceCriterion> _j = _i.next().iterator(); _j.hasNext();) {
+				final ISliceCriterion _criterion = _j.next();
+				_result.put(_criterion, Collections.singleton(_criterion));
+			}
+		}
+		return _result;
+	}
+}
+
+// End of File
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.tools.slicer;
+
+import edu.ksu.cis.indus.common.soot.Util;
+import edu.ksu.cis.indus.slicer.ISliceCriterion;
+import edu.ksu.cis.indus.slicer.SliceCollector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+
+import soot.SootClass;
+import soot.SootField;
+import soot.SootMethod;
+import soot.tagkit.Host;
+
+import soot.jimple.Stmt;
+
+/**
+ * This class tests that the tags added by <code>SliceCollector.materializeTags()</code> are identical to the tags added
+ * when the parts of the slice were tagged as they were included in the slice, i.e., every part of the slice and only the
+ * parts of the slice are tagged.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class SliceTaggingTest
+		extends AbstractSlicerToolTest {
+
+	/**
+	 * Tests that the parts of the slices of criteria sets of methods are tagged after the tags are materialized.
+	 *
+	 * @throws InterruptedException when the slicing is interrupted.
+	 */
+	public void testMaterializedTags() throws InterruptedException {
+		final Map<SootMethod, Collection<ISliceCriterion>> _criteria = getCriteriaPerMethod();
+		assertFalse(_criteria.isEmpty());
+
+		final Collection<Host> _hosts = getHostsInSystem();
+
+		for (final Iterator<SliceCollector> _i = slicer.sliceConcurrently(_criteria).values().iterator(); _i.hasNext();) {
+			final SliceCollector _collector = _i.next();
+			final String _tagName = _collector.getTagName();
+			assertTrue(getTaggedHosts(_hosts, _tagName).isEmpty());
+
+			_collector.materializeTags();
+
+			try {
+				final Collection<Host> _collected = new HashSet<Host>(_collector.getCollectedHosts());
+				assertEquals(_collected, getTaggedHosts(_hosts, _tagName));
+
+				// the parts included after the tags are materialized should be tagged as they are included.
+				for (final Iterator<Host> _j = _hosts.iterator(); _j.hasNext();) {
+					final Host _host = _j.next();
+
+					if (!_collected.contains(_host)) {
+						_collector.includeInSlice(_host);
+						assertTrue(_collector.hasBeenCollected(_host));
+						assertTrue(_host.hasTag(_tagName));
+						break;
+					}
+				}
+			} finally {
+				for (final Iterator<Host> _j = _hosts.iterator(); _j.hasNext();) {
+					_j.next().removeTag(_tagName);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the parts of the system that can be included in a slice.
+	 *
+	 * @return the classes, fields, methods, statements, and value boxes of the system.
+	 * @post result != null
+	 */
+	private Collection<Host> getHostsInSystem() {
+		final Collection<Host> _result = new ArrayList<Host>();
+
+		for (final Iterator<SootClass> _i = slicer.getSystem().getClasses().iterator(); _i.hasNext();) {
+			final SootClass _sc = _i.next();
+			_result.add(_sc);
+
+			for (final Iterator<?> _j = _sc.getFields().iterator(); _j.hasNext();) {
+				_result.add((SootField) _j.next());
+			}
+
+			for (final Iterator<?> _j = _sc.getMethods().iterator(); _j.hasNext();) {
+				final SootMethod _sm = (SootMethod) _j.next();
+				_result.add(_sm);
+
+				if (_sm.hasActiveBody()) {
+					for (final Iterator<?> _k = _sm.getActiveBody().getUnits().iterator(); _k.hasNext();) {
+						final Stmt _stmt = (Stmt) _k.next();
+						_result.add(_stmt);
+						_result.addAll(Util.getUseAndDefBoxes(_stmt));
+					}
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the given parts of the system that carry a tag of the given name.
+	 *
+	 * @param hosts of interest.
+	 * @param tagName of interest.
+	 * @return the tagged parts.
+	 * @pre hosts != null and tagName != null
+	 * @post result != null and hosts.containsAll(result)
+	 */
+	private Collection<Host> getTaggedHosts(final Collection<Host> hosts, final String tagName) {
+		final Collection<Host> _result = new HashSet<Host>();
+
+		for (final Iterator<Host> _i = hosts.iterator(); _i.hasNext();) {
+			final Host _host = _i.next();
+
+			if (_host.hasTag(tagName)) {
+				_result.add(_host);
+			}
+		}
+		return _result;
+	}
+}
+
+// End of File
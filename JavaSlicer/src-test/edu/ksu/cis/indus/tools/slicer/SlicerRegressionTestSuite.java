@@ -136,6 +136,13 @@ public final class SlicerRegressionTestSuite
 				if (_test != null) {
 					suite.addTest(_test);
 				}
+
+				final TestSuite _toolSuite = new TestSuite(_config + ".tool");
+				_toolSuite.addTestSuite(SliceSummaryCacheTest.class);
+				_toolSuite.addTestSuite(AnalysisResultCacheTest.class);
+				_toolSuite.addTestSuite(ConcurrentSlicingTest.class);
+				_toolSuite.addTestSuite(SliceTaggingTest.class);
+				suite.addTest(new SlicerToolTestSetup(_toolSuite, _temp, _classpath));
 			}
 		} catch (IOException _e) {
 			throw new IllegalArgumentException("Specified property file does not exist.");
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.tools.slicer;
+
+import edu.ksu.cis.indus.TestHelper;
+import edu.ksu.cis.indus.common.soot.SootBasedDriver;
+import edu.ksu.cis.indus.staticanalyses.tokens.TokenUtil;
+import edu.ksu.cis.indus.staticanalyses.tokens.soot.SootValueTypeManager;
+import edu.ksu.cis.indus.tools.Phase;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import junit.extensions.TestSetup;
+
+import junit.framework.TestSuite;
+
+import soot.G;
+
+/**
+ * This is the setup in which the tests that slice via a slicer tool are run. The tool is executed with its default
+ * configuration till <code>SlicerTool.SLICE_MAJOR_PHASE</code> and it is provided to the instances of
+ * <code>AbstractSlicerToolTest</code> in the enclosed suite.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class SlicerToolTestSetup
+		extends TestSetup {
+
+	/**
+	 * The driver used to load the system.
+	 */
+	private SootBasedDriver driver;
+
+	/**
+	 * The slicer tool being tested.
+	 */
+	private SlicerTool slicer;
+
+	/**
+	 * Creates an instance of this class.
+	 *
+	 * @param suite is the suite of tests to be run in this setup.
+	 * @param classNames is the classes that provide the basis for the system to be sliced.
+	 * @param sootClasspath is the soot class path used during slicing.
+	 * @pre suite != null and classNames != null
+	 */
+	public SlicerToolTestSetup(final TestSuite suite, final String[] classNames, final String sootClasspath) {
+		super(suite);
+		driver = new SootBasedDriver();
+
+		if (sootClasspath != null) {
+			driver.addToSootClassPath(sootClasspath);
+		}
+		driver.setClassNames(Arrays.asList(classNames));
+	}
+
+	/**
+	 * @see junit.extensions.TestSetup#setUp()
+	 */
+	@Override protected void setUp() throws Exception {
+		driver.initialize();
+		slicer = new SlicerTool(TokenUtil.getTokenManager(new SootValueTypeManager()), driver.getStmtGraphFactory());
+		slicer.initialize();
+		slicer.setSystem(driver.getEnvironment());
+		slicer.setRootMethods(driver.getRootMethods());
+		slicer.run(Phase.STARTING_PHASE, SlicerTool.SLICE_MAJOR_PHASE, true);
+
+		final TestSuite _suite = (TestSuite) getTest();
+
+		for (final Iterator<?> _i = TestHelper.getTestCasesReachableFromSuite(_suite, AbstractSlicerToolTest.class)
+				.iterator(); _i.hasNext();) {
+			((AbstractSlicerToolTest) _i.next()).setSlicerTool(slicer);
+		}
+		TestHelper.appendSuiteNameToTestsIn(_suite, true);
+	}
+
+	/**
+	 * @see junit.extensions.TestSetup#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		slicer.reset();
+		slicer = null;
+		driver = null;
+		G.reset();
+	}
+}
+
+// End of File
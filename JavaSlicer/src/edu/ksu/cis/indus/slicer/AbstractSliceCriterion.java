@@ -18,9 +18,7 @@
 package edu.ksu.cis.indus.slicer;
 
 import edu.ksu.cis.indus.common.CustomToStringStyle;
-import edu.ksu.cis.indus.common.collections.Stack;
-
-import static edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+import edu.ksu.cis.indus.common.soot.CallString;
 
 import org.apache.commons.lang.builder.EqualsBuilder;
 import org.apache.commons.lang.builder.HashCodeBuilder;
@@ -48,7 +46,7 @@ abstract class AbstractSliceCriterion
 	 * non-null, we only will return to the call-site instead of all possible call-sites (which is what happend if this
 	 * field is null).
 	 */
-	private Stack<CallTriple> callStack;
+	private CallString callStack;
 
 	/** 
 	 * This indicates if the effect of executing the criterion should be considered for slicing.  By default it takes on  the
@@ -57,16 +55,16 @@ abstract class AbstractSliceCriterion
 	private boolean considerExecution;
 
 	/**
-	 * @see ISliceCriterion#setCallStack(Stack)
+	 * @see ISliceCriterion#setCallStack(CallString)
 	 */
-	public final void setCallStack(final Stack<CallTriple> theCallStack) {
+	public final void setCallStack(final CallString theCallStack) {
 		callStack = theCallStack;
 	}
 
 	/**
 	 * @see ISliceCriterion#getCallStack()
 	 */
-	public final Stack<CallTriple> getCallStack() {
+	public final CallString getCallStack() {
 		return callStack;
 	}
 
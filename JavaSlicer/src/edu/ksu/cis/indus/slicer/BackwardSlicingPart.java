@@ -18,11 +18,12 @@ package edu.ksu.cis.indus.slicer;
 
 import edu.ksu.cis.indus.common.collections.IClosure;
 import edu.ksu.cis.indus.common.collections.MapUtils;
-import edu.ksu.cis.indus.common.collections.Stack;
 import edu.ksu.cis.indus.common.datastructures.Pair;
 import edu.ksu.cis.indus.common.datastructures.Triple;
 import edu.ksu.cis.indus.common.soot.BasicBlockGraph;
 import edu.ksu.cis.indus.common.soot.BasicBlockGraphMgr;
+import edu.ksu.cis.indus.common.soot.CallString;
+import edu.ksu.cis.indus.common.soot.Util;
 import edu.ksu.cis.indus.common.soot.BasicBlockGraph.BasicBlock;
 import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
 import edu.ksu.cis.indus.processing.Context;
@@ -136,7 +137,7 @@ public class BackwardSlicingPart
 	/**
 	 * this maps methods to their call sites.
 	 */
-	private final Map<SootMethod, Collection<Triple<Stmt, SootMethod, Stack<CallTriple>>>> callee2callsites = new HashMap<SootMethod, Collection<Triple<Stmt, SootMethod, Stack<CallTriple>>>>();
+	private final Map<SootMethod, Collection<Triple<Stmt, SootMethod, CallString>>> callee2callsites = new HashMap<SootMethod, Collection<Triple<Stmt, SootMethod, CallString>>>();
 
 	/**
 	 * This is a map from methods to transformed return statements.
@@ -183,18 +184,18 @@ public class BackwardSlicingPart
 
 		boolean _result = false;
 
-		for (final Iterator<Map.Entry<SootMethod, Collection<Triple<Stmt, SootMethod, Stack<CallTriple>>>>> _i = callee2callsites
+		for (final Iterator<Map.Entry<SootMethod, Collection<Triple<Stmt, SootMethod, CallString>>>> _i = callee2callsites
 				.entrySet().iterator(); _i.hasNext();) {
-			final Map.Entry<SootMethod, Collection<Triple<Stmt, SootMethod, Stack<CallTriple>>>> _entry = _i.next();
+			final Map.Entry<SootMethod, Collection<Triple<Stmt, SootMethod, CallString>>> _entry = _i.next();
 			final SootMethod _callee = _entry.getKey();
 			final BitSet _params = method2params.get(_callee);
 			if (_params != null) {
-				final Collection<Triple<Stmt, SootMethod, Stack<CallTriple>>> _temp = _entry.getValue();
-				for (final Iterator<Triple<Stmt, SootMethod, Stack<CallTriple>>> _k = _temp.iterator(); _k.hasNext();) {
-					final Triple<Stmt, SootMethod, Stack<CallTriple>> _triple = _k.next();
+				final Collection<Triple<Stmt, SootMethod, CallString>> _temp = _entry.getValue();
+				for (final Iterator<Triple<Stmt, SootMethod, CallString>> _k = _temp.iterator(); _k.hasNext();) {
+					final Triple<Stmt, SootMethod, CallString> _triple = _k.next();
 					final Stmt _stmt = _triple.getFirst();
 					final SootMethod _caller = _triple.getSecond();
-					final Stack<CallTriple> _stack = _triple.getThird();
+					final CallString _stack = _triple.getThird();
 					final InvokeExpr _expr = _stmt.getInvokeExpr();
 					for (int _j = _params.nextSetBit(0); _j >= 0; _j = _params.nextSetBit(_j + 1)) {
 						_result |= engine.generateExprLevelSliceCriterion(_expr.getArgBox(_j), _stmt, _caller,
@@ -223,7 +224,7 @@ public class BackwardSlicingPart
 	public void generateCriteriaForTheCallToMethod(final SootMethod callee, final SootMethod caller, final Stmt callStmt) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("generateCriteriaForTheCallToMethod(Stmt callStmt = " + callStmt + "SootMethod callee = " + callee
-					+ ", SootMethod caller = " + caller + ", stack = " + engine.getCopyOfCallStackCache() + ") - BEGIN");
+					+ ", SootMethod caller = " + caller + ", stack = " + engine.getCallStackCache() + ") - BEGIN");
 		}
 
 		/*
@@ -253,7 +254,7 @@ public class BackwardSlicingPart
 			final Collection<SootMethod> callees) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("generateCriteriaToIncludeCallees(Stmt stmt = " + stmt + ", Collection callees = " + callees
-					+ ", SootMethod caller = " + caller + ", stack = " + engine.getCopyOfCallStackCache() + ") - BEGIN");
+					+ ", SootMethod caller = " + caller + ", stack = " + engine.getCallStackCache() + ") - BEGIN");
 		}
 
 		processTailsOf(callees, stmt, caller, tailStmtInclusionClosure);
@@ -306,7 +307,7 @@ public class BackwardSlicingPart
 	public void processLocalAt(final Local local, final Stmt stmt, final SootMethod method) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("processLocalAt(Local local = " + local + ", Stmt stmt = " + stmt + ", SootMethod method = "
-					+ method + ", stack = " + engine.getCopyOfCallStackCache() + ") - BEGIN");
+					+ method + ", stack = " + engine.getCallStackCache() + ") - BEGIN");
 		}
 
 		boolean _flag = false;
@@ -333,7 +334,7 @@ public class BackwardSlicingPart
 		}
 
 		if (LOGGER.isDebugEnabled()) {
-			LOGGER.debug("processLocalAt() , stack = " + engine.getCopyOfCallStackCache() + "- END");
+			LOGGER.debug("processLocalAt() , stack = " + engine.getCallStackCache() + "- END");
 		}
 	}
 
@@ -347,7 +348,7 @@ public class BackwardSlicingPart
 	public void processNewExpr(final Stmt stmt, final SootMethod method) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("processNewExpr(Stmt stmt = " + stmt + ", SootMethod method = " + method + ", stack = "
-					+ engine.getCopyOfCallStackCache() + ") - BEGIN");
+					+ engine.getCallStackCache() + ") - BEGIN");
 		}
 
 		/*
@@ -389,7 +390,7 @@ public class BackwardSlicingPart
 	public void processParameterRef(final IdentityStmt stmt, final SootMethod callee) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("processParameterRef(ValueBox pBox = " + stmt.getRightOpBox() + ", SootMethod callee = " + callee
-					+ ", stack = " + engine.getCopyOfCallStackCache() + ") - BEGIN");
+					+ ", stack = " + engine.getCallStackCache() + ") - BEGIN");
 		}
 
 		final ParameterRef _param = (ParameterRef) stmt.getRightOp();
@@ -483,7 +484,7 @@ public class BackwardSlicingPart
 	 * @see IDirectionSensitivePartOfSlicingEngine#retrieveValueBoxesToTransformStmt(Stmt)
 	 */
 	public Collection<ValueBox> retrieveValueBoxesToTransformStmt(final Stmt stmt) {
-		final Collection<ValueBox> _valueBoxes = new HashSet<ValueBox>(stmt.getUseAndDefBoxes());
+		final Collection<ValueBox> _valueBoxes = new HashSet<ValueBox>(Util.getUseAndDefBoxes(stmt));
 
 		// if it contains an invocation expression, we do not want to include the arguments/sub-expressions.
 		if (stmt.containsInvokeExpr()) {
@@ -551,7 +552,7 @@ public class BackwardSlicingPart
 	private void generateCriteriaForReceiverOfAt(final Stmt callStmt, final SootMethod caller) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("generateCriteriaForReceiverOfAt(Stmt invocationStmt = " + callStmt + ", SootMethod caller = "
-					+ caller + ", stack = " + engine.getCopyOfCallStackCache() + ") - BEGIN");
+					+ caller + ", stack = " + engine.getCallStackCache() + ") - BEGIN");
 		}
 
 		if (!callStmt.getInvokeExpr().getMethod().isStatic()) {
@@ -560,7 +561,7 @@ public class BackwardSlicingPart
 		}
 
 		if (LOGGER.isDebugEnabled()) {
-			LOGGER.debug("generateCriteriaForReceiverOfAt(), stack = " + engine.getCopyOfCallStackCache() + " - END");
+			LOGGER.debug("generateCriteriaForReceiverOfAt(), stack = " + engine.getCallStackCache() + " - END");
 		}
 	}
 
@@ -568,13 +569,13 @@ public class BackwardSlicingPart
 	 * Processes the init call to the super class inside init method.
 	 * 
 	 * @param initMethod is the init method.
-	 * @param bbg is the basic block graph of <code>callee</code>.
+	 * @param bbg is the basic block graph of <code>initMethod</code>.
 	 * @pre initMethod != null and bbg != null and engine.getCallStackCache() != null
 	 */
 	private void processSuperInitInInit(final SootMethod initMethod, final BasicBlockGraph bbg) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("processSuperInitInInit(SootMethod initMethod = " + initMethod + ", BasicBlockGraph bbg = " + bbg
-					+ ", stack = " + engine.getCopyOfCallStackCache() + ") - BEGIN");
+					+ ", stack = " + engine.getCallStackCache() + ") - BEGIN");
 		}
 
 		/*
@@ -586,8 +587,7 @@ public class BackwardSlicingPart
 		 * <init>'s from other higher super classes.
 		 */
 		if (initMethod.getName().equals("<init>") && initMethod.getDeclaringClass().hasSuperclass()) {
-			final LocalUseDefAnalysisv2 _udl = new LocalUseDefAnalysisv2(engine.getBasicBlockGraphManager()
-					.getBasicBlockGraph(initMethod));
+			final LocalUseDefAnalysisv2 _udl = new LocalUseDefAnalysisv2(bbg);
 			final Collection<Pair<Local, Stmt>> _uses = _udl.getUses((DefinitionStmt) bbg.getHead().getLeaderStmt(),
 					initMethod);
 
@@ -630,7 +630,7 @@ public class BackwardSlicingPart
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("processTailsOf(Collection callees = " + callees + ", Stmt stmt = " + stmt
 					+ ", SootMethod caller = " + caller + ", IClosure closure = " + closure + ", stack = "
-					+ engine.getCopyOfCallStackCache() + ") - BEGIN");
+					+ engine.getCallStackCache() + ") - BEGIN");
 		}
 
 		final BasicBlockGraphMgr _bbgMgr = engine.getBasicBlockGraphManager();
@@ -670,7 +670,7 @@ public class BackwardSlicingPart
 		generateCriteriaForReceiverOfAt(stmt, caller);
 
 		if (LOGGER.isDebugEnabled()) {
-			LOGGER.debug("processTailsOf() , stack = " + engine.getCopyOfCallStackCache() + "- END");
+			LOGGER.debug("processTailsOf() , stack = " + engine.getCallStackCache() + "- END");
 		}
 	}
 
@@ -683,15 +683,15 @@ public class BackwardSlicingPart
 	 * @pre stmt != null and caller != null and callee != null
 	 */
 	private void recordCallInfoForProcessingArgsTo(final Stmt stmt, final SootMethod caller, final SootMethod callee) {
-		final Stack<CallTriple> _stackClone = engine.getCopyOfCallStackCache();
+		final CallString _callStack = engine.getCallStackCache();
 
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("recordCallInfoForParameterProcessing(Stmt stmt = " + stmt + ", SootMethod caller = " + caller
-					+ ", SootMethod callee = " + callee + ", stack = " + _stackClone + ") - BEGIN");
+					+ ", SootMethod callee = " + callee + ", stack = " + _callStack + ") - BEGIN");
 		}
 
-		final Triple<Stmt, SootMethod, Stack<CallTriple>> _triple = new Triple<Stmt, SootMethod, Stack<CallTriple>>(stmt,
-				caller, _stackClone);
+		final Triple<Stmt, SootMethod, CallString> _triple = new Triple<Stmt, SootMethod, CallString>(stmt,
+				caller, _callStack);
 		MapUtils.putIntoSetInMap(callee2callsites, callee, _triple);
 
 		if (LOGGER.isDebugEnabled()) {
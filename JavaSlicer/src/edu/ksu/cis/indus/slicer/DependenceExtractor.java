@@ -21,10 +21,9 @@ import edu.ksu.cis.indus.common.collections.CollectionUtils;
 import edu.ksu.cis.indus.common.collections.IClosure;
 import edu.ksu.cis.indus.common.collections.MapUtils;
 import edu.ksu.cis.indus.common.collections.SetUtils;
-import edu.ksu.cis.indus.common.collections.Stack;
 import edu.ksu.cis.indus.common.datastructures.Pair;
+import edu.ksu.cis.indus.common.soot.CallString;
 import edu.ksu.cis.indus.interfaces.ICallingContextRetriever;
-import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
 import edu.ksu.cis.indus.processing.Context;
 import edu.ksu.cis.indus.staticanalyses.dependency.IDependencyAnalysis;
 
@@ -183,7 +182,7 @@ final class DependenceExtractor
 	/**
 	 * This maps criteria bases to a collection of contexts.
 	 */
-	private final Map<Object, Collection<Stack<CallTriple>>> criteriabase2contexts;
+	private final Map<Object, Collection<CallString>> criteriabase2contexts;
 
 	/**
 	 * The collection of dependees/dependents that form the new criteria bases.
@@ -203,7 +202,7 @@ final class DependenceExtractor
 	/**
 	 * The calling context in which the trigger occurs.
 	 */
-	private Stack<CallTriple> occurringCallingContext;
+	private CallString occurringCallingContext;
 
 	/**
 	 * The object that actually retrieves the dependences from the given dependence analysis.
@@ -219,7 +218,7 @@ final class DependenceExtractor
 	protected DependenceExtractor(final SlicingEngine slicingEngine) {
 		dependences = new HashSet<Object>();
 		engine = slicingEngine;
-		criteriabase2contexts = new HashMap<Object, Collection<Stack<CallTriple>>>();
+		criteriabase2contexts = new HashMap<Object, Collection<CallString>>();
 		depID2ctxtRetriever = new HashMap<IDependencyAnalysis.DependenceSort, ICallingContextRetriever>();
 	}
 
@@ -246,8 +245,8 @@ final class DependenceExtractor
 	 * @param criteriaBase of interest.
 	 * @return a collection of criteria.
 	 */
-	@NonNull public <T> Collection<Stack<CallTriple>> getContextsFor(@NonNull final T criteriaBase) {
-		final Collection<Stack<CallTriple>> _result = MapUtils.queryCollection(criteriabase2contexts, criteriaBase);
+	@NonNull public <T> Collection<CallString> getContextsFor(@NonNull final T criteriaBase) {
+		final Collection<CallString> _result = MapUtils.queryCollection(criteriabase2contexts, criteriaBase);
 
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("getContextsFor(criteriaBase = " + criteriaBase + ") -  : _result = " + _result);
@@ -303,7 +302,7 @@ final class DependenceExtractor
 	 * @param callStack the call stack leading upto <code>method</code>.
 	 * @pre theEntity != null and method != null
 	 */
-	void setTrigger(final Object theEntity, final SootMethod method, final Stack<CallTriple> callStack) {
+	void setTrigger(final Object theEntity, final SootMethod method, final CallString callStack) {
 		entity = theEntity;
 		occurringMethod = method;
 		occurringCallingContext = callStack;
@@ -366,12 +365,12 @@ final class DependenceExtractor
 						for (final Iterator<ValueBox> _k = _programPoints.iterator(); _k.hasNext();) {
 							_context.setProgramPoint(_k.next());
 
-							final Collection<Stack<CallTriple>> _ctxts = _ctxtRetriever
+							final Collection<CallString> _ctxts = _ctxtRetriever
 									.getCallingContextsForProgramPoint(_context);
 							MapUtils.putAllIntoCollectionInMap(criteriabase2contexts, _pair, _ctxts);
 						}
 					} else {
-						final Collection<Stack<CallTriple>> _ctxts = _ctxtRetriever.getCallingContextsForThis(_context);
+						final Collection<CallString> _ctxts = _ctxtRetriever.getCallingContextsForThis(_context);
 						MapUtils.putAllIntoCollectionInMap(criteriabase2contexts, _pair, _ctxts);
 					}
 				}
@@ -398,14 +397,14 @@ final class DependenceExtractor
 		if (_ids.contains(IDependencyAnalysis.DependenceSort.CONTROL_DA)
 				|| _ids.contains(IDependencyAnalysis.DependenceSort.IDENTIFIER_BASED_DATA_DA)) {
 			for (final Iterator<?> _i = criteriaBases.iterator(); _i.hasNext();) {
-				MapUtils.putIntoCollectionInMap(criteriabase2contexts, _i.next(), engine.getCopyOfCallStackCache());
+				MapUtils.putIntoCollectionInMap(criteriabase2contexts, _i.next(), engine.getCallStackCache());
 			}
 		} else if (CollectionUtils.containsAny(_ids, depID2ctxtRetriever.keySet())) {
 			populateContextsForInterProceduralDependences(_ids, criteriaBases);
 		} else {
 			// if there are no context retrievers for the given dependence analysis, then return a null context.
 			for (Object _cb : criteriaBases) {
-				MapUtils.putIntoCollectionInMap(criteriabase2contexts, _cb, (Stack<CallTriple>) null);
+				MapUtils.putIntoCollectionInMap(criteriabase2contexts, _cb, (CallString) null);
 			}
 		}
 
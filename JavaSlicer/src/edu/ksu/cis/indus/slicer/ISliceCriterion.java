@@ -17,8 +17,7 @@
 
 package edu.ksu.cis.indus.slicer;
 
-import edu.ksu.cis.indus.common.collections.Stack;
-import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+import edu.ksu.cis.indus.common.soot.CallString;
 
 import soot.SootMethod;
 
@@ -60,7 +59,7 @@ public interface ISliceCriterion {
 	 *
 	 * @post result != null
 	 */
-	Stack<CallTriple> getCallStack();
+	CallString getCallStack();
 
 	/**
 	 * Provides the method in which criterion occurs.
@@ -78,7 +77,7 @@ public interface ISliceCriterion {
 	 *
 	 * @pre theCallStack != null
 	 */
-	void setCallStack(final Stack<CallTriple> theCallStack);
+	void setCallStack(final CallString theCallStack);
 }
 
 // End of File
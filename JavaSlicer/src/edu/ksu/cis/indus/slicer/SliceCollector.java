@@ -43,6 +43,11 @@ import soot.tagkit.Host;
  * This collects the parts of the system that form the slice by tagging the AST of the system. This just tags the parts of the
  * system that form the slice. It is primarily intended to be driven by the slicing engine. However, the application may do
  * some post processing and may use this to extend the slice in ways appropriate for the application.
+ * <p>
+ * While the slice is being calculated, the parts of the slice are recorded in a side table and the AST is not tagged. The
+ * tags are added when <code>materializeTags()</code> is called, typically by the slicing engine at the end of slicing.
+ * After that, the parts included in the slice are tagged as they are included.
+ * </p>
  * 
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
@@ -70,6 +75,11 @@ public final class SliceCollector {
 	 */
 	private NamedTag tag;
 
+	/**
+	 * This records the parts of the system that are included in the slice.
+	 */
+	private final SliceMembership membership = new SliceMembership();
+
 	/**
 	 * The collection of classes that were tagged.
 	 */
@@ -85,6 +95,11 @@ public final class SliceCollector {
 	 */
 	private String tagName;
 
+	/**
+	 * This indicates if the parts of the slice have been tagged.
+	 */
+	private boolean tagsMaterialized;
+
 	/**
 	 * Creates a new SliceCollector object.
 	 * 
@@ -125,6 +140,16 @@ public final class SliceCollector {
 		return _result;
 	}
 
+	/**
+	 * Retrieves the parts of the system (classes, fields, methods, statements, and value boxes) included in the slice.
+	 * Unlike the tags, this is available even if the slice has not been tagged.
+	 * 
+	 * @return the parts of the system included in the slice.
+	 */
+	@NonNull @NonNullContainer public List<Host> getCollectedHosts() {
+		return membership.getMembers();
+	}
+
 	/**
 	 * Retrieves the methods included in the slice.
 	 * 
@@ -158,7 +183,7 @@ public final class SliceCollector {
 		for (int _iIndex = 0; _iIndex < _iEnd; _iIndex++) {
 			final ValueBox _vb = _i.next();
 
-			if (!_vb.hasTag(tagName)) {
+			if (!membership.contains(_vb)) {
 				_result.add(_vb);
 			}
 		}
@@ -166,14 +191,13 @@ public final class SliceCollector {
 	}
 
 	/**
-	 * Checks if the given host has been collected/tagged.
+	 * Checks if the given host has been collected.
 	 * 
 	 * @param host to be checked.
 	 * @return <code>true</code> if the given host has been collected; <code>false</code>, otherwise.
 	 */
 	public boolean hasBeenCollected(final Host host) {
-		final NamedTag _temp = (NamedTag) host.getTag(tagName);
-		return _temp != null;
+		return membership.contains(host);
 	}
 
 	/**
@@ -191,45 +215,31 @@ public final class SliceCollector {
 	}
 
 	/**
-	 * Tags the given host with a name tag of the configured name. This is used to indicate that the host is included in the
-	 * slice.
+	 * Includes the given host in the slice. The host is tagged with a name tag of the configured name if the tags have been
+	 * materialized.
 	 * 
-	 * @param host is a part of the AST to be tagged.
+	 * @param host is a part of the AST to be included.
 	 * @pre host != null
 	 */
 	public void includeInSlice(final Host host) {
-		final NamedTag _hostTag = (NamedTag) host.getTag(tagName);
-
-		if (_hostTag == null) {
-			host.addTag(tag);
-
+		if (membership.add(host)) {
 			if (host instanceof SootMethod) {
 				taggedMethods.add((SootMethod) host);
 			} else if (host instanceof SootClass) {
 				taggedClasses.add((SootClass) host);
 			}
 
-			if (LOGGER.isDebugEnabled()) {
-				Object _o = host;
-
-				if (host instanceof ValueBox) {
-					_o = ((ValueBox) host).getValue();
-				}
-				LOGGER.debug("Tagged[1]: " + _o);
+			if (tagsMaterialized) {
+				tag(host);
 			}
-		} else if (!_hostTag.equals(tag)) {
-			host.removeTag(tagName);
-			host.addTag(tag);
 
 			if (LOGGER.isDebugEnabled()) {
-				Object _temp;
+				Object _o = host;
 
 				if (host instanceof ValueBox) {
-					_temp = ((ValueBox) host).getValue();
-				} else {
-					_temp = host;
+					_o = ((ValueBox) host).getValue();
 				}
-				LOGGER.debug("Tagged[2]: " + _temp);
+				LOGGER.debug("Collected: " + _o);
 			}
 		} else if (LOGGER.isDebugEnabled()) {
 			Object _temp;
@@ -239,7 +249,26 @@ public final class SliceCollector {
 			} else {
 				_temp = host;
 			}
-			LOGGER.debug("Already Tagged: " + _temp);
+			LOGGER.debug("Already Collected: " + _temp);
+		}
+	}
+
+	/**
+	 * Tags the parts of the system included in the slice with a name tag of the configured name. The parts included in the
+	 * slice after this call are tagged as they are included.
+	 */
+	public void materializeTags() {
+		if (!tagsMaterialized) {
+			final List<Host> _members = membership.getMembers();
+
+			for (final Iterator<Host> _i = _members.iterator(); _i.hasNext();) {
+				tag(_i.next());
+			}
+			tagsMaterialized = true;
+
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Tagged " + _members.size() + " parts of the slice with " + tagName);
+			}
 		}
 	}
 
@@ -311,11 +340,32 @@ public final class SliceCollector {
 	}
 
 	/**
-	 * Resets internal data structure. Tag related information is not reset.
+	 * Retrieves the number of parts of the system included in the slice.
+	 * 
+	 * @return the number of parts.
+	 */
+	int getNumberOfCollectedHosts() {
+		return membership.size();
+	}
+
+	/**
+	 * Resets internal data structure. Tag related information is not reset and the tags added to the system are not
+	 * removed.
 	 */
 	void reset() {
 		taggedMethods.clear();
 		taggedClasses.clear();
+		membership.clear();
+		tagsMaterialized = false;
+	}
+
+	/**
+	 * Resets internal data structure and drops all references to the parts of the system seen till now. This should be
+	 * used when the system being sliced changes.
+	 */
+	void resetSystem() {
+		reset();
+		membership.reset();
 	}
 
 	/**
@@ -330,6 +380,22 @@ public final class SliceCollector {
 			tagName = theTagName;
 		}
 	}
+
+	/**
+	 * Tags the given host with a name tag of the configured name.
+	 * 
+	 * @param host is a part of the AST to be tagged.
+	 */
+	private void tag(final Host host) {
+		final NamedTag _hostTag = (NamedTag) host.getTag(tagName);
+
+		if (_hostTag == null) {
+			host.addTag(tag);
+		} else if (!_hostTag.equals(tag)) {
+			host.removeTag(tagName);
+			host.addTag(tag);
+		}
+	}
 }
 
 // End of File
@@ -17,8 +17,8 @@
 package edu.ksu.cis.indus.slicer;
 
 import edu.ksu.cis.indus.annotations.Empty;
-import edu.ksu.cis.indus.common.collections.Stack;
-import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+import edu.ksu.cis.indus.common.soot.CallString;
+import edu.ksu.cis.indus.common.soot.Util;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -115,7 +115,7 @@ public final class SliceCriteriaFactory {
 	}
 
 	/**
-	 * Clones the given criterion.
+	 * Clones the given criterion. The clone shares the call stack of the given criterion as call stacks are immutable.
 	 *
 	 * @param criterion to be cloned.
 	 * @return the clone.
@@ -129,28 +129,28 @@ public final class SliceCriteriaFactory {
 			final StmtLevelSliceCriterion _t = (StmtLevelSliceCriterion) criterion;
 			_result = getStmtCriteria(_t.getOccurringMethod(), (Stmt) _t.getCriterion(), _t.isConsiderExecution());
 
-			final Stack<CallTriple> _callStack = _t.getCallStack();
+			final CallString _callStack = _t.getCallStack();
 
 			if (_callStack != null) {
-				_result.setCallStack(_callStack.clone());
+				_result.setCallStack(_callStack);
 			}
 		} else if (criterion instanceof ExprLevelSliceCriterion) {
 			final ExprLevelSliceCriterion _t = (ExprLevelSliceCriterion) criterion;
 			_result = getExprCriteria(_t.getOccurringMethod(), _t.getOccurringStmt(), (ValueBox) _t.getCriterion(), _t
 					.isConsiderExecution());
 
-			final Stack<CallTriple> _callStack = _t.getCallStack();
+			final CallString _callStack = _t.getCallStack();
 
 			if (_callStack != null) {
-				_result.setCallStack(_callStack.clone());
+				_result.setCallStack(_callStack);
 			}
 		} else if (criterion instanceof MethodLevelSliceCriterion) {
 			final MethodLevelSliceCriterion _m = (MethodLevelSliceCriterion) criterion;
 			_result = getMethodCriteria(_m.getOccurringMethod(), _m.isConsiderExecution());
-			final Stack<CallTriple> _callStack = _m.getCallStack();
+			final CallString _callStack = _m.getCallStack();
 
 			if (_callStack != null) {
-				_result.setCallStack(_callStack.clone());
+				_result.setCallStack(_callStack);
 			}
 		} else {
 			throw new IllegalArgumentException("criterion's type " + criterion.getClass() + " is unknown.");
@@ -179,7 +179,7 @@ public final class SliceCriteriaFactory {
 		for (final Iterator<Stmt> _i = stmts.iterator(); _i.hasNext();) {
 			final Stmt _stmt = _i.next();
 
-			for (final Iterator<ValueBox> _j = _stmt.getUseAndDefBoxes().iterator(); _j.hasNext();) {
+			for (final Iterator<ValueBox> _j = Util.getUseAndDefBoxes(_stmt).iterator(); _j.hasNext();) {
 				final ValueBox _vBox = _j.next();
 
 				if (_vBox.getValue().equals(local)) {
@@ -243,7 +243,7 @@ public final class SliceCriteriaFactory {
 		_result.add(_stmtCriterion);
 
 		if (descend) {
-			for (final Iterator<ValueBox> _i = stmt.getUseAndDefBoxes().iterator(); _i.hasNext();) {
+			for (final Iterator<ValueBox> _i = Util.getUseAndDefBoxes(stmt).iterator(); _i.hasNext();) {
 				final ValueBox _vBox = _i.next();
 				final ExprLevelSliceCriterion _temp = getExprCriteria(method, stmt, _vBox, considerExecution);
 				_result.add(_temp);
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.slicer;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.NonNull;
+import edu.ksu.cis.indus.annotations.NonNullContainer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import soot.tagkit.Host;
+
+/**
+ * This class records the program elements (classes, fields, methods, statements, and value boxes) that are members of a
+ * slice. Each element is assigned a dense id when it is first included in the slice and the members are recorded in a
+ * bitset indexed by these ids. Hence, membership queries do not scan the tags of the elements and the membership of
+ * different slices can be maintained independently.
+ * <p>
+ * The ids survive <code>clear()</code>. Hence, slicing the same system again reuses the ids. As the ids refer to the
+ * program elements, they should be dropped via <code>reset()</code> when the system changes. This class is not thread
+ * safe.
+ * </p>
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+final class SliceMembership {
+
+	/**
+	 * This maps program elements to their ids. Soot's program elements are identified by reference.
+	 */
+	private final Map<Host, Integer> element2id = new IdentityHashMap<Host, Integer>();
+
+	/**
+	 * This maps ids to program elements.
+	 */
+	private final List<Host> id2element = new ArrayList<Host>();
+
+	/**
+	 * The ids of the members.
+	 */
+	private final BitSet members = new BitSet();
+
+	/**
+	 * Includes the given program element in the slice.
+	 * 
+	 * @param element to be included.
+	 * @return <code>true</code> if the element was not a member; <code>false</code>, otherwise.
+	 */
+	boolean add(@NonNull final Host element) {
+		final Integer _id = element2id.get(element);
+		final int _index;
+
+		if (_id == null) {
+			_index = id2element.size();
+			element2id.put(element, Integer.valueOf(_index));
+			id2element.add(element);
+		} else {
+			_index = _id.intValue();
+		}
+
+		final boolean _result = !members.get(_index);
+		members.set(_index);
+		return _result;
+	}
+
+	/**
+	 * Removes all members. The ids of the program elements are retained.
+	 */
+	void clear() {
+		members.clear();
+	}
+
+	/**
+	 * Checks if the given program element is a member.
+	 * 
+	 * @param element of interest.
+	 * @return <code>true</code> if <code>element</code> is a member; <code>false</code>, otherwise.
+	 */
+	@Functional boolean contains(@NonNull final Host element) {
+		final Integer _id = element2id.get(element);
+		return _id != null && members.get(_id.intValue());
+	}
+
+	/**
+	 * Retrieves the members.
+	 * 
+	 * @return the members in the order of their ids.
+	 */
+	@Functional @NonNull @NonNullContainer List<Host> getMembers() {
+		final List<Host> _result = new ArrayList<Host>(members.cardinality());
+
+		for (int _i = members.nextSetBit(0); _i >= 0; _i = members.nextSetBit(_i + 1)) {
+			_result.add(id2element.get(_i));
+		}
+		return _result;
+	}
+
+	/**
+	 * Removes all members and drops the ids of the program elements.
+	 */
+	void reset() {
+		members.clear();
+		element2id.clear();
+		id2element.clear();
+	}
+
+	/**
+	 * Retrieves the number of members.
+	 * 
+	 * @return the number of members.
+	 */
+	@Functional int size() {
+		return members.cardinality();
+	}
+}
+
+// End of File
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+
+package edu.ksu.cis.indus.slicer;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.Immutable;
+import edu.ksu.cis.indus.annotations.NonNull;
+import edu.ksu.cis.indus.annotations.NonNullContainer;
+import edu.ksu.cis.indus.annotations.NumericalConstraint;
+import edu.ksu.cis.indus.annotations.NumericalConstraint.NumericalValue;
+import edu.ksu.cis.indus.common.collections.ConcurrentCache;
+import edu.ksu.cis.indus.common.datastructures.Pair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import soot.tagkit.Host;
+
+/**
+ * This class memoizes slice summaries. The summary of a criterion is the collection of parts of the system (classes,
+ * fields, methods, statements, and value boxes) in the slice of the criterion, i.e., in the backward and/or forward closure
+ * of the criterion based on the type of the slice. As the criterion includes the call string in which it occurs, so does
+ * the summary. When a slicing engine slices for a criterion with a summary, it uses the summary instead of traversing the
+ * dependences of the criterion.
+ * <p>
+ * A slicing engine considers the parts already in the slice to be processed; hence, the slice of a set of criteria is
+ * calculated as the union of the slices of the criteria. The summaries are based on the same notion. A summary is recorded
+ * only when a slicing engine traverses the dependences of exactly one criterion, i.e., the slice of many criteria is not
+ * decomposed into summaries of the criteria.
+ * </p>
+ * <p>
+ * A summary depends on the configuration of the slicing engine, e.g., the scope of slicing, the dependences considered,
+ * and the calling context retrievers, and on the analyses used by the engine. Hence, the configuration of the engines that
+ * use a cache should be provided via <code>setEngineConfiguration()</code> and the cache should be cleared when the
+ * analyses are reexecuted.
+ * </p>
+ * <p>
+ * The number of summaries in the cache is bounded. The cache can be used by slicing engines that execute concurrently.
+ * </p>
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class SliceSummaryCache {
+
+	/**
+	 * The configuration of the slicing engines for which the summaries were calculated. Access to this field is guarded by
+	 * this object.
+	 */
+	private Object engineConfiguration;
+
+	/**
+	 * The number of parts of slices that were provided only by the summaries.
+	 */
+	@NonNull private final AtomicLong reusedParts = new AtomicLong();
+
+	/**
+	 * The summaries of the criteria of slices of specific types.
+	 */
+	@NonNull private final ConcurrentCache<Pair<ISliceCriterion, SliceType>, List<Host>> summaries;
+
+	/**
+	 * The number of parts of slices that were calculated by traversing dependences.
+	 */
+	@NonNull private final AtomicLong traversedParts = new AtomicLong();
+
+	/**
+	 * Creates an instance of this class.
+	 *
+	 * @param maxSummaries is the maximum number of summaries to be cached.
+	 */
+	public SliceSummaryCache(@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int maxSummaries) {
+		summaries = new ConcurrentCache<Pair<ISliceCriterion, SliceType>, List<Host>>(maxSummaries);
+	}
+
+	/**
+	 * Forgets all summaries. The statistics about the use of the cache are retained.
+	 */
+	public void clear() {
+		summaries.clear();
+	}
+
+	/**
+	 * Retrieves the maximum number of summaries that will be cached.
+	 *
+	 * @return the maximum number of summaries.
+	 */
+	@Functional public int getMaximumSize() {
+		return summaries.getMaximumSize();
+	}
+
+	/**
+	 * Retrieves the ratio of the parts of the slices that were provided only by the summaries to all parts of the slices
+	 * calculated with this cache.
+	 *
+	 * @return the reuse ratio. It is <i>0</i> if no slices have been calculated.
+	 * @post 0 <= result and result <= 1
+	 */
+	@Functional public double getReuseRatio() {
+		final long _reused = reusedParts.get();
+		final long _total = _reused + traversedParts.get();
+		final double _result;
+
+		if (_total == 0) {
+			_result = 0;
+		} else {
+			_result = (double) _reused / _total;
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the statistics about the lookup of summaries.
+	 *
+	 * @return the statistics.
+	 */
+	@NonNull @Functional public ConcurrentCache.Statistics getStatistics() {
+		return summaries.getStatistics();
+	}
+
+	/**
+	 * Sets the configuration of the slicing engines that use this cache. The summaries are forgotten if the given
+	 * configuration is not equal to the configuration for which the summaries were calculated.
+	 *
+	 * @param configuration of the slicing engines. It should capture every aspect of the configuration of the engines that
+	 *            affects the slices, e.g., the scope of slicing and the dependences considered.
+	 */
+	public synchronized void setEngineConfiguration(@Immutable final Object configuration) {
+		if (engineConfiguration == null ? configuration != null : !engineConfiguration.equals(configuration)) {
+			summaries.clear();
+		}
+		engineConfiguration = configuration;
+	}
+
+	/**
+	 * Sets the maximum number of summaries that will be cached. Summaries are evicted as required.
+	 *
+	 * @param maxSummaries is the maximum number of summaries.
+	 */
+	public void setMaximumSize(@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int maxSummaries) {
+		summaries.setMaximumSize(maxSummaries);
+	}
+
+	/**
+	 * Retrieves the number of cached summaries.
+	 *
+	 * @return the number of summaries.
+	 */
+	@Functional public int size() {
+		return summaries.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override public String toString() {
+		return "SliceSummaryCache[summaries=" + summaries + ", reuse ratio=" + getReuseRatio() + "]";
+	}
+
+	/**
+	 * Records the use of the summaries in calculating a slice.
+	 *
+	 * @param reused is the number of parts of the slice that were provided only by the summaries.
+	 * @param traversed is the number of parts of the slice that were calculated by traversing dependences.
+	 */
+	void recordUse(@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int reused,
+			@NumericalConstraint(value = NumericalValue.NON_NEGATIVE) final int traversed) {
+		reusedParts.addAndGet(reused);
+		traversedParts.addAndGet(traversed);
+	}
+
+	/**
+	 * Retrieves the summary of the given criterion.
+	 *
+	 * @param criterion of interest.
+	 * @param sliceType is the type of the slice.
+	 * @return the summary; <code>null</code> if the criterion does not have a cached summary.
+	 */
+	@Immutable @NonNullContainer List<Host> retrieve(@NonNull final ISliceCriterion criterion,
+			@NonNull final SliceType sliceType) {
+		return summaries.get(new Pair<ISliceCriterion, SliceType>(criterion, sliceType));
+	}
+
+	/**
+	 * Records the summary of the given criterion.
+	 *
+	 * @param criterion of interest. This should not be modified once it has been recorded.
+	 * @param sliceType is the type of the slice.
+	 * @param parts of the system in the slice of <code>criterion</code>.
+	 */
+	void store(@NonNull @Immutable final ISliceCriterion criterion, @NonNull final SliceType sliceType,
+			@NonNull @NonNullContainer final List<Host> parts) {
+		summaries.put(new Pair<ISliceCriterion, SliceType>(criterion, sliceType), Collections
+				.unmodifiableList(new ArrayList<Host>(parts)));
+	}
+}
+
+// End of File
@@ -23,7 +23,6 @@ import edu.ksu.cis.indus.annotations.NonNullContainer;
 import edu.ksu.cis.indus.common.ToStringBasedComparator;
 import edu.ksu.cis.indus.common.collections.CollectionUtils;
 import edu.ksu.cis.indus.common.collections.IPredicate;
-import edu.ksu.cis.indus.common.collections.Stack;
 import edu.ksu.cis.indus.common.datastructures.FIFOWorkBag;
 import edu.ksu.cis.indus.common.datastructures.IWorkBag;
 import edu.ksu.cis.indus.common.datastructures.Pair;
@@ -31,6 +30,7 @@ import edu.ksu.cis.indus.common.graph.SimpleNode;
 import edu.ksu.cis.indus.common.graph.SimpleNodeGraph;
 import edu.ksu.cis.indus.common.scoping.SpecificationBasedScopeDefinition;
 import edu.ksu.cis.indus.common.soot.BasicBlockGraphMgr;
+import edu.ksu.cis.indus.common.soot.CallString;
 import edu.ksu.cis.indus.common.soot.Util;
 import edu.ksu.cis.indus.interfaces.IActivePart;
 import edu.ksu.cis.indus.interfaces.ICallGraphInfo;
@@ -125,7 +125,7 @@ public final class SlicingEngine {
 	 * in which the processing is occurring. This will NOT include the current method being processed at TOS unless there is
 	 * recursion.
 	 */
-	private Stack<CallTriple> callStackCache;
+	private CallString callStackCache;
 
 	/**
 	 * This graph stores the call strings that have been captured during slicing.
@@ -193,11 +193,21 @@ public final class SlicingEngine {
 	 */
 	private SliceType sliceType = SliceType.BACKWARD_SLICE;
 
+	/**
+	 * The cache of slice summaries to be used. <code>null</code> indicates that the summaries should not be used.
+	 */
+	private SliceSummaryCache summaryCache;
+
 	/**
 	 * The system being sliced.
 	 */
 	private IEnvironment system;
 
+	/**
+	 * This indicates if the parts of the system in the slice should be tagged at the end of slicing.
+	 */
+	private boolean tagSlice = true;
+
 	/**
 	 * This caches the informaiton - is interference dependence being used in this execution?
 	 */
@@ -229,9 +239,9 @@ public final class SlicingEngine {
 	public void enterMethod(final CallTriple callsite) {
 		if (callsite != null) {
 			if (callStackCache == null) {
-				callStackCache = new Stack<CallTriple>();
+				callStackCache = CallString.EMPTY;
 			}
-			callStackCache.push(callsite);
+			callStackCache = callStackCache.push(callsite);
 		}
 	}
 
@@ -319,7 +329,8 @@ public final class SlicingEngine {
 
 		if (callStackCache != null) {
 			if (ifInsideContext()) {
-				_result = callStackCache.pop();
+				_result = callStackCache.peek();
+				callStackCache = callStackCache.pop();
 			}
 		}
 
@@ -448,6 +459,19 @@ public final class SlicingEngine {
 		sliceScope = scope;
 	}
 
+	/**
+	 * Sets the cache of slice summaries to be used. When a cache is provided, the summaries of the criteria are used instead
+	 * of traversing the dependences of the criteria. Also, if only one of the criteria does not have a summary, the summary
+	 * of that criterion is recorded in the cache. Summaries are not recorded when the dependences of more than one criterion
+	 * are traversed. The client should provide the configuration of this engine to the cache via
+	 * <code>SliceSummaryCache.setEngineConfiguration()</code>.
+	 * 
+	 * @param cache to be used. <code>null</code> indicates that the summaries should not be used.
+	 */
+	public void setSliceSummaryCache(final SliceSummaryCache cache) {
+		summaryCache = cache;
+	}
+
 	/**
 	 * Sets the type of slice to be generated by the slicer.
 	 * 
@@ -474,6 +498,9 @@ public final class SlicingEngine {
 	 * @param theSystem the new value of <code>system</code>.
 	 */
 	public void setSystem(final IEnvironment theSystem) {
+		if (system != theSystem) {
+			collector.resetSystem();
+		}
 		system = theSystem;
 	}
 
@@ -487,11 +514,31 @@ public final class SlicingEngine {
 		collector.setTagName(tagName);
 	}
 
+	/**
+	 * Sets if the parts of the system in the slice should be tagged at the end of slicing. When the slice is not tagged, the
+	 * system is not modified and the slice is only available via the collector. This is useful when many slices of the same
+	 * system are calculated concurrently. By default, the slice is tagged.
+	 * 
+	 * @param flag <code>true</code> indicates the slice should be tagged; <code>false</code>, otherwise.
+	 */
+	public void setTagSlice(final boolean flag) {
+		tagSlice = flag;
+	}
+
 	/**
 	 * Slices the system provided at initialization for the initialized criteria to generate the given type of slice..
 	 */
 	public void slice() {
-		workbag.addAllWorkNoDuplicates(criteria);
+		final Collection<Host> _summarized = new ArrayList<Host>();
+		final Collection<ISliceCriterion> _toTraverse = retrieveSummaries(_summarized);
+		final ISliceCriterion _summaryKey;
+
+		if (summaryCache != null && _toTraverse.size() == 1) {
+			_summaryKey = _toTraverse.iterator().next();
+		} else {
+			_summaryKey = null;
+		}
+		workbag.addAllWorkNoDuplicates(_toTraverse);
 
 		boolean _flag = true;
 
@@ -538,8 +585,17 @@ public final class SlicingEngine {
 			_flag = directionSensitiveInfo.continueProcessing();
 		}
 
+		if (summaryCache != null && activePart.canProceed()) {
+			recordSummaries(_summaryKey, _summarized);
+		}
+
 		if (activePart.canProceed()) {
 			collector.completeSlicing();
+
+			// the residualizers and the xmlizers rely on the tags.
+			if (tagSlice) {
+				collector.materializeTags();
+			}
 		}
 	}
 
@@ -561,11 +617,13 @@ public final class SlicingEngine {
 		if (!haveCollectedAllInvocationSites(method)) {
 			if (ifInsideContext()) {
 				if (callStackCache.peek() != null) {
-					final CallTriple _top = callStackCache.pop();
+					final CallString _callStack = callStackCache;
+					final CallTriple _top = _callStack.peek();
 					final SootMethod _caller = _top.getMethod();
 					final Stmt _stmt = _top.getStmt();
+					callStackCache = _callStack.pop();
 					directionSensitiveInfo.generateCriteriaForTheCallToMethod(method, _caller, _stmt);
-					callStackCache.push(_top);
+					callStackCache = _callStack;
 				}
 			} else {
 				markAsCollectedAllInvocationSites(method);
@@ -638,8 +696,8 @@ public final class SlicingEngine {
 	 * @pre valueBox != null and stmt != null and method != null and callstack != null
 	 */
 	boolean generateExprLevelSliceCriterion(final ValueBox valueBox, final Stmt stmt, final SootMethod method,
-			final boolean considerExecution, final Stack<CallTriple> callStack) {
-		final Stack<CallTriple> _stack = callStackCache;
+			final boolean considerExecution, final CallString callStack) {
+		final CallString _stack = callStackCache;
 		callStackCache = callStack;
 		final boolean _result = generateExprLevelSliceCriterion(valueBox, stmt, method, considerExecution);
 		callStackCache = _stack;
@@ -673,7 +731,7 @@ public final class SlicingEngine {
 			if (sliceType.equals(SliceType.COMPLETE_SLICE)
 					|| (considerExecution && sliceType.equals(SliceType.BACKWARD_SLICE))
 					|| (!considerExecution && sliceType.equals(SliceType.FORWARD_SLICE))) {
-				final Collection<ValueBox> _temp = new HashSet<ValueBox>(stmt.getUseAndDefBoxes());
+				final Collection<ValueBox> _temp = new HashSet<ValueBox>(Util.getUseAndDefBoxes(stmt));
 
 				// if it contains an invocation expression, we do not want to include the arguments/sub-expressions.
 				if (stmt.containsInvokeExpr()) {
@@ -719,19 +777,12 @@ public final class SlicingEngine {
 	}
 
 	/**
-	 * Retrieves a copy of <code>callStackCache</code>.
+	 * Retrieves the value in <code>callStackCache</code>.
 	 * 
-	 * @return a copy of <code>callStackCache</code>.
+	 * @return the value in <code>callStackCache</code>.
 	 */
-	Stack<CallTriple> getCopyOfCallStackCache() {
-		final Stack<CallTriple> _result;
-
-		if (callStackCache != null) {
-			_result = callStackCache.clone();
-		} else {
-			_result = null;
-		}
-		return _result;
+	CallString getCallStackCache() {
+		return callStackCache;
 	}
 
 	/**
@@ -797,12 +848,12 @@ public final class SlicingEngine {
 					+ ", Collection das) - BEGIN");
 		}
 
-		dependenceExtractor.setTrigger(stmt, method, getCopyOfCallStackCache());
+		dependenceExtractor.setTrigger(stmt, method, getCallStackCache());
 		CollectionUtils.forAllDo(das, dependenceExtractor);
 
 		for (final Iterator<?> _i = dependenceExtractor.getDependences().iterator(); _i.hasNext();) {
 			final Object _o = _i.next();
-			final Collection<Stack<CallTriple>> _contexts = dependenceExtractor.getContextsFor(_o);
+			final Collection<CallString> _contexts = dependenceExtractor.getContextsFor(_o);
 			final Stmt _stmtToBeIncluded;
 			final SootMethod _methodToBeIncluded;
 
@@ -820,12 +871,12 @@ public final class SlicingEngine {
 						+ ", _stmtToBeIncluded=" + _stmtToBeIncluded + ", _methodToBeIncluded=" + _methodToBeIncluded);
 			}
 
-			final Stack<CallTriple> _temp = getCopyOfCallStackCache();
-			final Iterator<Stack<CallTriple>> _i1 = _contexts.iterator();
+			final CallString _temp = getCallStackCache();
+			final Iterator<CallString> _i1 = _contexts.iterator();
 			final int _iEnd = _contexts.size();
 
 			for (int _iIndex = 0; _iIndex < _iEnd; _iIndex++) {
-				final Stack<CallTriple> _context = _i1.next();
+				final CallString _context = _i1.next();
 				setCallStackCache(_context);
 
 				if (_stmtToBeIncluded != null) {
@@ -910,7 +961,7 @@ public final class SlicingEngine {
 			for (int _kIndex = 0; _kIndex < _kEnd; _kIndex++) {
 				final Local _local = (Local) _k.next().getValue();
 				dependenceExtractor.setTrigger(dependenceExtractor.getEntityForIdentifierBasedDataDA(_local, stmt), method,
-						getCopyOfCallStackCache());
+						getCallStackCache());
 				CollectionUtils.forAllDo(_analyses, dependenceExtractor);
 
 				final Collection<?> _dependences = dependenceExtractor.getDependences();
@@ -1033,14 +1084,10 @@ public final class SlicingEngine {
 				if (_s != null) {
 					callStringGraph.addEdgeFromTo(_methodNode, callStringGraph.getNode(_s));
 
-					for (int _i = callStackCache.size() - 2; _i >= 0; _i--) {
-						final Object _t = callStackCache.get(_i);
-						if (_t != null) {
-							callStringGraph.addEdgeFromTo(callStringGraph.queryNode(_s), callStringGraph.getNode(_t));
-							_s = _t;
-						} else {
-							break;
-						}
+					for (CallString _i = callStackCache.pop(); !_i.isEmpty() && _i.peek() != null; _i = _i.pop()) {
+						final Object _t = _i.peek();
+						callStringGraph.addEdgeFromTo(callStringGraph.queryNode(_s), callStringGraph.getNode(_t));
+						_s = _t;
 					}
 				}
 			}
@@ -1059,12 +1106,12 @@ public final class SlicingEngine {
 	 *         extended call stack graph; <code>false</code>, otherwise.
 	 */
 	private boolean recordCallStackForVisitedMethod(final SimpleNode<Object> methodNode) {
-		final int _limit = callStackCache.size() - 1;
 		boolean _considerCallStack = callStackCache.peek() != null;
 		boolean _createdNewNodes = false;
+		Object _above = null;
 
-		for (int _i = _limit; _i >= 0 && _considerCallStack; _i--) {
-			final Object _o = callStackCache.get(_i);
+		for (CallString _i = callStackCache; !_i.isEmpty() && _considerCallStack; _i = _i.pop()) {
+			final Object _o = _i.peek();
 
 			SimpleNode<Object> _node = callStringGraph.queryNode(_o);
 
@@ -1074,7 +1121,7 @@ public final class SlicingEngine {
 			} else if (_o != null) {
 				if (_node.getSuccsOf().isEmpty()) {
 					_considerCallStack = false;
-				} else if (_i == 0) {
+				} else if (_i.size() == 1) {
 					final Collection<SimpleNode<Object>> _reachablesFrom = callStringGraph.getReachablesFrom(_node, true);
 					_reachablesFrom.add(_node);
 
@@ -1100,25 +1147,75 @@ public final class SlicingEngine {
 				_considerCallStack = false;
 			}
 
-			if (_limit - _i > 0 && (_considerCallStack || _createdNewNodes)) {
-				final SimpleNode<Object> _prev = callStringGraph.queryNode(callStackCache.get(_i + 1));
+			if (_i != callStackCache && (_considerCallStack || _createdNewNodes)) {
+				final SimpleNode<Object> _prev = callStringGraph.queryNode(_above);
 
 				if (_prev != null) {
 					callStringGraph.addEdgeFromTo(_prev, _node);
 				}
 			}
+			_above = _o;
 		}
 
 		callStringGraph.addEdgeFromTo(methodNode, callStringGraph.getNode(callStackCache.peek()));
 		return _considerCallStack || _createdNewNodes;
 	}
 
+	/**
+	 * Records the summary of the traversed criterion and includes the parts of the summaries of the other criteria in the
+	 * slice. The parts are included after the traversal so that the traversal calculates the complete summary.
+	 * 
+	 * @param traversedCriterion is the only criterion that was traversed; <code>null</code> if no criterion or
+	 *            more than one criterion was traversed.
+	 * @param summarized are the parts of the summaries of the other criteria.
+	 * @pre summarized != null
+	 */
+	private void recordSummaries(final ISliceCriterion traversedCriterion, final Collection<Host> summarized) {
+		final int _traversed = collector.getNumberOfCollectedHosts();
+
+		if (traversedCriterion != null) {
+			summaryCache.store(traversedCriterion, sliceType, collector.getCollectedHosts());
+		}
+		collector.includeInSlice(summarized);
+		summaryCache.recordUse(collector.getNumberOfCollectedHosts() - _traversed, _traversed);
+	}
+
+	/**
+	 * Retrieves the criteria that do not have summaries and collects the parts of the summaries of the other criteria.
+	 * 
+	 * @param summarized is the collection into which the parts of the summaries are added. This is an out argument.
+	 * @return the criteria that should be traversed.
+	 * @pre summarized != null
+	 * @post result != null
+	 */
+	private Collection<ISliceCriterion> retrieveSummaries(final Collection<Host> summarized) {
+		final Collection<ISliceCriterion> _result;
+
+		if (summaryCache == null) {
+			_result = criteria;
+		} else {
+			_result = new ArrayList<ISliceCriterion>();
+
+			for (final Iterator<ISliceCriterion> _i = criteria.iterator(); _i.hasNext();) {
+				final ISliceCriterion _criterion = _i.next();
+				final List<Host> _summary = summaryCache.retrieve(_criterion, sliceType);
+
+				if (_summary == null) {
+					_result.add(_criterion);
+				} else {
+					summarized.addAll(_summary);
+				}
+			}
+		}
+		return _result;
+	}
+
 	/**
 	 * Sets the value of <code>callStackCache</code>.
 	 * 
 	 * @param callStack the new value of <code>callStackCache</code>.
 	 */
-	private void setCallStackCache(final Stack<CallTriple> callStack) {
+	private void setCallStackCache(final CallString callStack) {
 		callStackCache = callStack;
 	}
 
@@ -1136,7 +1233,7 @@ public final class SlicingEngine {
 			for (int _iIndex = 0; _iIndex < _iEnd; _iIndex++) {
 				final ISliceCriterion _criterion = _i.next();
 
-				_criterion.setCallStack(callStackCache.clone());
+				_criterion.setCallStack(callStackCache);
 			}
 		}
 	}
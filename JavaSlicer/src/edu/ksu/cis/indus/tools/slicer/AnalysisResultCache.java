@@ -0,0 +1,366 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.tools.slicer;
+
+import edu.ksu.cis.indus.annotations.NonNull;
+import edu.ksu.cis.indus.common.ToStringBasedComparator;
+import edu.ksu.cis.indus.common.soot.ProgramPointIdManager;
+import edu.ksu.cis.indus.interfaces.IEnvironment;
+import edu.ksu.cis.indus.staticanalyses.callgraphs.CallGraphInfo;
+import edu.ksu.cis.indus.staticanalyses.callgraphs.CallInfoStore;
+import edu.ksu.cis.indus.staticanalyses.dependency.CompactDependenceStore;
+import edu.ksu.cis.indus.staticanalyses.dependency.DependenceInfoStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import soot.SootClass;
+import soot.SootField;
+import soot.SootMethod;
+import soot.Unit;
+
+import soot.jimple.Stmt;
+
+/**
+ * This class caches the results of the analyses of the slicer on the disk across runs. The results are keyed by a digest
+ * of the content of the classes in the system, the root methods, and the configuration of the slicer. Hence, the results
+ * of a run are reused only if the same system is sliced from the same root methods with the same configuration.
+ * <p>
+ * Call information and dependences stored compactly (via <code>CompactDependenceStore</code>) are cached. They are
+ * stored in files named by the key in the cache directory. Entries that are corrupted or that refer to methods or
+ * statements that do not exist in the system are treated as misses.
+ * </p>
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class AnalysisResultCache {
+
+	/**
+	 * The suffix of the files containing call information.
+	 */
+	private static final String CALL_INFO_SUFFIX = ".callinfo";
+
+	/**
+	 * The suffix of the files containing dependences.
+	 */
+	private static final String DEPENDENCES_SUFFIX = ".dependences";
+
+	/**
+	 * The algorithm used to calculate the keys.
+	 */
+	private static final String DIGEST_ALGORITHM = "SHA-1";
+
+	/**
+	 * The encoding used to convert strings into bytes for the digest.
+	 */
+	private static final String ENCODING = "UTF-8";
+
+	/**
+	 * The logger used by instances of this class to log messages.
+	 */
+	private static final Logger LOGGER = LoggerFactory.getLogger(AnalysisResultCache.class);
+
+	/**
+	 * The suffix of the files being written.
+	 */
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+
+	/**
+	 * The directory in which the results are stored.
+	 */
+	private final File directory;
+
+	/**
+	 * The number of lookups that were satisfied by the cache.
+	 */
+	private final AtomicInteger hits = new AtomicInteger();
+
+	/**
+	 * The number of lookups that were not satisfied by the cache.
+	 */
+	private final AtomicInteger misses = new AtomicInteger();
+
+	/**
+	 * Creates an instance of this class.
+	 * 
+	 * @param cacheDirectory is the directory in which the results should be stored. It is created if it does not exist.
+	 * @throws IllegalArgumentException when <code>cacheDirectory</code> is not a directory and cannot be created.
+	 */
+	public AnalysisResultCache(@NonNull final File cacheDirectory) {
+		if (!cacheDirectory.isDirectory() && !cacheDirectory.mkdirs()) {
+			throw new IllegalArgumentException(cacheDirectory + " is not a directory and it could not be created.");
+		}
+		directory = cacheDirectory;
+	}
+
+	/**
+	 * Calculates the key for the results of analysing the given system from the given root methods with the given
+	 * configuration. Besides the declarations of the classes, only the method bodies that have been retrieved are
+	 * considered. Hence, the key should be calculated after the bodies that influence the results have been retrieved, e.g.,
+	 * after object flow analysis. No method body is retrieved in the process.
+	 * 
+	 * @param system to be analyzed.
+	 * @param rootMethods of the analysis.
+	 * @param configuration is the stringized form of the configuration of the analyses.
+	 * @return the key.
+	 */
+	@NonNull public String calculateKey(@NonNull final IEnvironment system, @NonNull final Collection<SootMethod> rootMethods,
+			@NonNull final String configuration) {
+		final MessageDigest _digest;
+
+		try {
+			_digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+			update(_digest, configuration);
+
+			final List<SootMethod> _roots = new ArrayList<SootMethod>(rootMethods);
+			Collections.sort(_roots, ToStringBasedComparator.getComparator());
+
+			for (final Iterator<SootMethod> _i = _roots.iterator(); _i.hasNext();) {
+				update(_digest, _i.next().getSignature());
+			}
+
+			final List<SootClass> _classes = new ArrayList<SootClass>(system.getClasses());
+			Collections.sort(_classes, ToStringBasedComparator.getComparator());
+
+			for (final Iterator<SootClass> _i = _classes.iterator(); _i.hasNext();) {
+				updateWithClass(_digest, _i.next());
+			}
+		} catch (final NoSuchAlgorithmException _e) {
+			LOGGER.error(DIGEST_ALGORITHM + " digest is unavailable.", _e);
+			throw new RuntimeException(_e);
+		} catch (final UnsupportedEncodingException _e) {
+			LOGGER.error(ENCODING + " encoding is unavailable.", _e);
+			throw new RuntimeException(_e);
+		}
+
+		final StringBuffer _result = new StringBuffer();
+		final byte[] _bytes = _digest.digest();
+
+		for (int _i = 0; _i < _bytes.length; _i++) {
+			final int _b = _bytes[_i] & 0xff;
+
+			if (_b < 0x10) {
+				_result.append('0');
+			}
+			_result.append(Integer.toHexString(_b));
+		}
+		return _result.toString();
+	}
+
+	/**
+	 * Retrieves the directory in which the results are stored.
+	 * 
+	 * @return the directory.
+	 */
+	@NonNull public File getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Retrieves the number of lookups that were satisfied by the cache.
+	 * 
+	 * @return the number of hits.
+	 */
+	public int getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * Retrieves the number of lookups that were not satisfied by the cache.
+	 * 
+	 * @return the number of misses.
+	 */
+	public int getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * Retrieves the call information stored against the given key.
+	 * 
+	 * @param key of the information.
+	 * @param system in which the methods and statements in the information should be resolved.
+	 * @return the call information; <code>null</code> if none is stored against the key.
+	 */
+	public CallGraphInfo.ICallInfo retrieveCallInfo(@NonNull final String key, @NonNull final IEnvironment system) {
+		final CallGraphInfo.ICallInfo _result = CallInfoStore.read(new File(directory, key + CALL_INFO_SUFFIX), system);
+
+		if (_result != null) {
+			hits.incrementAndGet();
+		} else {
+			misses.incrementAndGet();
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the dependences stored against the given key and name.
+	 * 
+	 * @param <S> is the type of statements in the dependences.
+	 * @param key of the dependences.
+	 * @param name of the dependences. This distinguishes the dependences of different analyses stored against a key.
+	 * @param system in which the methods and statements in the dependences should be resolved.
+	 * @param manager provides the ids of the program points to the retrieved store.
+	 * @param stmtClass is the class of statements in the dependences.
+	 * @return a frozen store of the dependences; <code>null</code> if none is stored against the key and name.
+	 */
+	public <S extends Stmt> CompactDependenceStore<S> retrieveDependences(@NonNull final String key,
+			@NonNull final String name, @NonNull final IEnvironment system, @NonNull final ProgramPointIdManager manager,
+			@NonNull final Class<S> stmtClass) {
+		final File _file = new File(directory, key + "." + name + DEPENDENCES_SUFFIX);
+		final CompactDependenceStore<S> _result = DependenceInfoStore.read(_file, system, manager, stmtClass);
+
+		if (_result != null) {
+			hits.incrementAndGet();
+		} else {
+			misses.incrementAndGet();
+		}
+		return _result;
+	}
+
+	/**
+	 * Stores the given call information against the given key. Failures are logged and ignored.
+	 * 
+	 * @param key of the information.
+	 * @param callInfo to be stored.
+	 */
+	public void storeCallInfo(@NonNull final String key, @NonNull final CallGraphInfo.ICallInfo callInfo) {
+		final File _file = new File(directory, key + CALL_INFO_SUFFIX);
+		final File _temp = new File(directory, key + CALL_INFO_SUFFIX + TEMPORARY_SUFFIX);
+
+		try {
+			CallInfoStore.write(callInfo, _temp);
+			commit(_temp, _file);
+		} catch (final IOException _e) {
+			LOGGER.warn("Could not store call information in " + _file, _e);
+			_temp.delete();
+		}
+	}
+
+	/**
+	 * Stores the given dependences against the given key and name. Failures are logged and ignored.
+	 * 
+	 * @param key of the dependences.
+	 * @param name of the dependences. This distinguishes the dependences of different analyses stored against a key.
+	 * @param store contains the dependences to be stored. This should be frozen.
+	 */
+	public void storeDependences(@NonNull final String key, @NonNull final String name,
+			@NonNull final CompactDependenceStore<? extends Stmt> store) {
+		final File _file = new File(directory, key + "." + name + DEPENDENCES_SUFFIX);
+		final File _temp = new File(directory, key + "." + name + DEPENDENCES_SUFFIX + TEMPORARY_SUFFIX);
+
+		try {
+			DependenceInfoStore.write(store, _temp);
+			commit(_temp, _file);
+		} catch (final IOException _e) {
+			LOGGER.warn("Could not store dependences in " + _file, _e);
+			_temp.delete();
+		}
+	}
+
+	/**
+	 * Moves the given temporary file to the given file. The results are written into temporary files to avoid exposing
+	 * partially written files to readers. Failures are logged and ignored.
+	 * 
+	 * @param temp is the temporary file.
+	 * @param file is the destination file.
+	 */
+	private void commit(final File temp, final File file) {
+		if (!temp.renameTo(file)) {
+			file.delete();
+
+			if (!temp.renameTo(file)) {
+				LOGGER.warn("Could not move " + temp + " to " + file);
+				temp.delete();
+			}
+		}
+	}
+
+	/**
+	 * Updates the given digest with the given string.
+	 * 
+	 * @param digest to be updated.
+	 * @param string to update the digest with.
+	 * @throws UnsupportedEncodingException when the encoding is unavailable.
+	 */
+	private void update(final MessageDigest digest, final String string) throws UnsupportedEncodingException {
+		digest.update(string.getBytes(ENCODING));
+		digest.update((byte) 0);
+	}
+
+	/**
+	 * Updates the given digest with the content of the given class.
+	 * 
+	 * @param digest to be updated.
+	 * @param sc is the class.
+	 * @throws UnsupportedEncodingException when the encoding is unavailable.
+	 */
+	private void updateWithClass(final MessageDigest digest, final SootClass sc) throws UnsupportedEncodingException {
+		update(digest, sc.getName());
+		update(digest, String.valueOf(sc.getModifiers()));
+
+		if (sc.hasSuperclass()) {
+			update(digest, sc.getSuperclass().getName());
+		}
+
+		@SuppressWarnings("unchecked") final Collection<SootClass> _superInterfaces = sc.getInterfaces();
+		final List<SootClass> _interfaces = new ArrayList<SootClass>(_superInterfaces);
+		Collections.sort(_interfaces, ToStringBasedComparator.getComparator());
+
+		for (final Iterator<SootClass> _i = _interfaces.iterator(); _i.hasNext();) {
+			update(digest, _i.next().getName());
+		}
+
+		@SuppressWarnings("unchecked") final Collection<SootField> _fields = sc.getFields();
+
+		for (final Iterator<SootField> _i = _fields.iterator(); _i.hasNext();) {
+			final SootField _field = _i.next();
+			update(digest, _field.getModifiers() + " " + _field.getSignature());
+		}
+
+		@SuppressWarnings("unchecked") final Collection<SootMethod> _methods = sc.getMethods();
+
+		for (final Iterator<SootMethod> _i = _methods.iterator(); _i.hasNext();) {
+			final SootMethod _method = _i.next();
+			update(digest, _method.getModifiers() + " " + _method.getSignature());
+
+			// the bodies that have not been retrieved have not been analyzed; hence, they are not retrieved.
+			if (_method.hasActiveBody()) {
+				@SuppressWarnings("unchecked") final Collection<Unit> _units = _method.getActiveBody().getUnits();
+
+				for (final Iterator<Unit> _j = _units.iterator(); _j.hasNext();) {
+					update(digest, _j.next().toString());
+				}
+			}
+		}
+	}
+}
+
+// End of File
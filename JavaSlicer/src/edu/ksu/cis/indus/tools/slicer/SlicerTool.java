@@ -22,6 +22,8 @@ import edu.ksu.cis.indus.common.datastructures.Pair.PairManager;
 import edu.ksu.cis.indus.common.scoping.SpecificationBasedScopeDefinition;
 import edu.ksu.cis.indus.common.soot.BasicBlockGraphMgr;
 import edu.ksu.cis.indus.common.soot.IStmtGraphFactory;
+import edu.ksu.cis.indus.common.soot.ProgramPointIdManager;
+import edu.ksu.cis.indus.interfaces.CallingContextCache;
 import edu.ksu.cis.indus.interfaces.IActivePart;
 import edu.ksu.cis.indus.interfaces.ICallGraphInfo;
 import edu.ksu.cis.indus.interfaces.ICallingContextRetriever;
@@ -34,6 +36,7 @@ import edu.ksu.cis.indus.processing.OneAllStmtSequenceRetriever;
 import edu.ksu.cis.indus.processing.TagBasedProcessingFilter;
 import edu.ksu.cis.indus.slicer.ISliceCriterion;
 import edu.ksu.cis.indus.slicer.SliceCollector;
+import edu.ksu.cis.indus.slicer.SliceSummaryCache;
 import edu.ksu.cis.indus.slicer.SliceType;
 import edu.ksu.cis.indus.slicer.SlicingEngine;
 import edu.ksu.cis.indus.staticanalyses.callgraphs.CallGraphInfo;
@@ -47,7 +50,10 @@ import edu.ksu.cis.indus.staticanalyses.concurrency.escape.DataAliasBasedCalling
 import edu.ksu.cis.indus.staticanalyses.concurrency.escape.EquivalenceClassBasedEscapeAnalysis;
 import edu.ksu.cis.indus.staticanalyses.concurrency.escape.ThreadEscapeInfoBasedCallingContextRetriever;
 import edu.ksu.cis.indus.staticanalyses.concurrency.escape.ThreadEscapeInfoBasedCallingContextRetrieverV2;
+import edu.ksu.cis.indus.staticanalyses.dependency.CompactDependenceStore;
 import edu.ksu.cis.indus.staticanalyses.dependency.IDependencyAnalysis;
+import edu.ksu.cis.indus.staticanalyses.dependency.InterferenceDAv1;
+import edu.ksu.cis.indus.staticanalyses.dependency.ReadyDAv1;
 import edu.ksu.cis.indus.staticanalyses.flow.instances.ofa.OFAnalyzer;
 import edu.ksu.cis.indus.staticanalyses.flow.processors.AliasedUseDefInfov2;
 import edu.ksu.cis.indus.staticanalyses.flow.processors.NewExpr2InitMapper;
@@ -69,14 +75,21 @@ import edu.ksu.cis.indus.tools.slicer.processing.ExecutableSlicePostProcessor;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.jibx.runtime.BindingDirectory;
 import org.jibx.runtime.IBindingFactory;
@@ -90,6 +103,9 @@ import soot.SootMethod;
 import soot.Type;
 import soot.Value;
 
+import soot.jimple.AssignStmt;
+import soot.jimple.Stmt;
+
 /**
  * This is a facade that exposes the slicer as a tool. This is recommended interface to interact with the slicer if the slicer
  * is being used as a tool in a tool chain.
@@ -146,6 +162,11 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 	 */
 	public static final Phase SLICE_MAJOR_PHASE;
 
+	/**
+	 * The name of the tag used by the slicing engines of concurrent slicing if no tag name has been set.
+	 */
+	private static final String CONCURRENT_SLICE_TAG_NAME = "indus.tools.slicer.SlicerTool:ConcurrentSlice";
+
 	/**
 	 * This is the indentation step to be used during stringization of the configuration.
 	 */
@@ -169,6 +190,17 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 	 */
 	private final IActivePart.ActivePart activePart = new IActivePart.ActivePart();
 
+	/**
+	 * This caches the results of the analyses across runs. This is <code>null</code> if no such caching is required.
+	 */
+	private AnalysisResultCache analysisCache;
+
+	/**
+	 * The key against which the results of the analyses of the current run are cached. This is <code>null</code> if the
+	 * results are not cached.
+	 */
+	private String analysisCacheKey;
+
 	/**
 	 * This provides use-def information based on aliasing.
 	 */
@@ -188,6 +220,12 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 	 */
 	private final CallGraphInfo callGraph;
 
+	/**
+	 * The cache of calling contexts used by the calling context retrievers of the slicing engines. <code>null</code>
+	 * indicates that calling contexts are not cached.
+	 */
+	private CallingContextCache callingContextCache;
+
 	/**
 	 * This is a call-graph based pre processing controller.
 	 */
@@ -252,11 +290,21 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 	 */
 	private final PairManager pairMgr;
 
+	/**
+	 * The number of slices that may be calculated concurrently by <code>sliceConcurrently()</code>.
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
 	/**
 	 * The phase in which the tool's execution is in.
 	 */
 	private Phase phase;
 
+	/**
+	 * This provides program point id management.
+	 */
+	private final ProgramPointIdManager programPointIdMgr;
+
 	/**
 	 * The entry point methods.
 	 * 
@@ -274,6 +322,11 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 	 */
 	private SpecificationBasedScopeDefinition sliceScopeDefinition;
 
+	/**
+	 * The cache of slice summaries used by the slicing engines. <code>null</code> indicates that summaries are not used.
+	 */
+	private SliceSummaryCache sliceSummaryCache;
+
 	/**
 	 * This provides use def information for static fields.
 	 */
@@ -334,6 +387,7 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 
 		// create pair manager
 		pairMgr = new Pair.PairManager(false, true);
+		programPointIdMgr = new ProgramPointIdManager();
 		// create the call graph.
 		callGraph = new CallGraphInfo(pairMgr);
 
@@ -369,6 +423,7 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 		info.put(IUseDefInfo.ALIASED_USE_DEF_ID, aliasUD);
 		info.put(IUseDefInfo.GLOBAL_USE_DEF_ID, staticFieldUD);
 		info.put(PairManager.ID, pairMgr);
+		info.put(ProgramPointIdManager.ID, programPointIdMgr);
 		info.put(IValueAnalyzer.ID, ofa);
 		info.put(IEscapeInfo.ID, ecba.getEscapeInfo());
 		info.put(IMonitorInfo.ID, monitorInfo);
@@ -513,6 +568,15 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 		}
 	}
 
+	/**
+	 * Retrieves the cache used to reuse the results of the analyses across runs.
+	 * 
+	 * @return the cache; <code>null</code> if the results are not cached.
+	 */
+	public AnalysisResultCache getAnalysisCache() {
+		return analysisCache;
+	}
+
 	/**
 	 * Retrieves the basic block graph manager used by this tool.
 	 * 
@@ -531,6 +595,15 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 		return callGraph;
 	}
 
+	/**
+	 * Retrieves the cache of calling contexts used by the calling context retrievers of the slicing engines.
+	 * 
+	 * @return the cache; <code>null</code> if calling contexts are not cached.
+	 */
+	public CallingContextCache getCallingContextCache() {
+		return callingContextCache;
+	}
+
 	/**
 	 * Retrieves the slicing criteria.
 	 * 
@@ -597,6 +670,16 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 	public IValueAnalyzer<Value> getOFAnalyzer() {
 		return ofa;
 	}
+
+	/**
+	 * Retrieves the number of slices that may be calculated concurrently by <code>sliceConcurrently()</code>.
+	 * 
+	 * @return the number of slices.
+	 * @post result >= 1
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
 	
 	/**
 	 * Returns the phase in which the tool's execution.
@@ -617,6 +700,15 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 		return Collections.unmodifiableCollection(rootMethods);
 	}
 
+	/**
+	 * Retrieves the cache of slice summaries used by the slicing engines.
+	 * 
+	 * @return the cache; <code>null</code> if summaries are not used.
+	 */
+	public SliceSummaryCache getSliceSummaryCache() {
+		return sliceSummaryCache;
+	}
+
 	/**
 	 * Retrieves the statement graph (CFG) provider/factory used by the tool.
 	 * 
@@ -662,6 +754,7 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 	 * {@inheritDoc}
 	 */
 	public void reset() {
+		analysisCacheKey = null;
 		aliasUD.reset();
 		bbgMgr.reset();
 		callGraph.reset();
@@ -675,6 +768,7 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 		ofa.reset();
 		pairMgr.reset();
 		phase.reset();
+		programPointIdMgr.reset();
 		rootMethods.clear();
 		safelockAnalysis.reset();
 		stmtGraphFactory.reset();
@@ -685,6 +779,14 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 		if (daController != null) {
 			daController.reset();
 		}
+
+		if (sliceSummaryCache != null) {
+			sliceSummaryCache.clear();
+		}
+
+		if (callingContextCache != null) {
+			callingContextCache.clear();
+		}
 	}
 
 	/**
@@ -699,6 +801,45 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 		}
 	}
 
+	/**
+	 * Sets the cache used to reuse the results of the analyses across runs. When a cache is provided, the call graph and the
+	 * dependences calculated by the interference and ready dependence analyses are reloaded from the cache if the system,
+	 * the root methods, and the configuration are unchanged since they were cached. Otherwise, they are calculated and
+	 * cached. As the dependences are cached in compact form, these analyses store their dependences compactly when a cache
+	 * is provided.
+	 * 
+	 * @param cache to be used. <code>null</code> indicates that the results should not be cached.
+	 */
+	public void setAnalysisCache(final AnalysisResultCache cache) {
+		analysisCache = cache;
+	}
+
+	/**
+	 * Sets the cache of calling contexts to be used by the calling context retrievers of the slicing engines. This is useful
+	 * when the property aware slices are calculated for many criteria, e.g., via <code>sliceConcurrently()</code>. The cache
+	 * is cleared when the dependence analyses are executed.
+	 * 
+	 * @param cache to be used. <code>null</code> indicates that calling contexts should not be cached.
+	 */
+	public void setCallingContextCache(final CallingContextCache cache) {
+		callingContextCache = cache;
+	}
+
+	/**
+	 * Sets the number of slices that may be calculated concurrently by <code>sliceConcurrently()</code>. By default, it is
+	 * the number of available processors.
+	 * 
+	 * @param slices is the number of slices.
+	 * @throws IllegalArgumentException when <code>slices</code> is not positive.
+	 */
+	public void setParallelism(final int slices) {
+		if (slices < 1) {
+			throw new IllegalArgumentException("The number of concurrently calculated slices should be positive - "
+					+ slices);
+		}
+		parallelism = slices;
+	}
+
 	/**
 	 * Set the methods which serve as the entry point into the system to be sliced.
 	 * 
@@ -721,6 +862,18 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 		sliceScopeDefinition = scope;
 	}
 
+	/**
+	 * Sets the cache of slice summaries to be used by the slicing engines. This is useful when many slices are calculated
+	 * for criteria that occur in the same methods, e.g., via <code>sliceConcurrently()</code>. The cache is cleared when the
+	 * dependence analyses are executed and when the slicing engines are configured differently, e.g., when the scope of
+	 * slicing or the active configuration changes.
+	 * 
+	 * @param cache to be used. <code>null</code> indicates that summaries should not be used.
+	 */
+	public void setSliceSummaryCache(final SliceSummaryCache cache) {
+		sliceSummaryCache = cache;
+	}
+
 	/**
 	 * Set the system to be sliced.
 	 * 
@@ -741,6 +894,111 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 		engine.setTagName(tagName);
 	}
 
+	/**
+	 * Calculates a slice for each of the given sets of criteria. The slices are calculated independently and concurrently
+	 * based on the results of the analyses calculated by executing this tool till <code>SLICE_MAJOR_PHASE</code>. Hence,
+	 * many slices of the same system can be calculated without repeating the analyses.
+	 * <p>
+	 * Each slice is calculated by a slicing engine configured as the engine of this tool is configured for the active
+	 * configuration. However, the slices are not tagged, i.e., the system is not modified, and they are not post
+	 * processed. The parts of the system in a slice are available via <code>SliceCollector.getCollectedHosts()</code> and
+	 * <code>SliceCollector.hasBeenCollected()</code>. If required, a slice can be tagged via
+	 * <code>SliceCollector.materializeTags()</code>; however, this should not be done concurrently.
+	 * </p>
+	 * 
+	 * @param <K> is the type of the objects that identify the sets of criteria.
+	 * @param key2criteria maps the objects that identify the sets of criteria to the criteria.
+	 * @return a map from the objects that identify the sets of criteria to the collectors that provide the slices.
+	 * @throws IllegalStateException when the dependence analyses have not been executed.
+	 * @throws InterruptedException when the calling thread is interrupted while waiting on the slices.
+	 * @throws RuntimeException when the calculation of a slice fails. This is the exception raised by the slicing engine.
+	 * @pre key2criteria != null
+	 * @pre key2criteria.values()->forall(o | o != null and o.size() > 0)
+	 * @post result.keySet()->equals(key2criteria.keySet())
+	 */
+	public <K> Map<K, SliceCollector> sliceConcurrently(final Map<K, ? extends Collection<ISliceCriterion>> key2criteria)
+			throws InterruptedException {
+		if (daController == null || phase.isEarlierThan(SLICE_MAJOR_PHASE)) {
+			final String _msg = "The dependence analyses should be executed before slicing concurrently.";
+			LOGGER.error(_msg);
+			throw new IllegalStateException(_msg);
+		}
+
+		if (LOGGER.isInfoEnabled()) {
+			LOGGER.info("BEGIN: calculating " + key2criteria.size() + " slices with " + parallelism + " workers");
+		}
+
+		final SlicerConfiguration _slicerConfig = (SlicerConfiguration) getActiveConfiguration();
+		final String _tagName;
+
+		if (engine.getCollector().getTagName() == null) {
+			_tagName = CONCURRENT_SLICE_TAG_NAME;
+		} else {
+			_tagName = engine.getCollector().getTagName();
+		}
+
+		final Map<K, SliceCollector> _result = new LinkedHashMap<K, SliceCollector>();
+		final Map<K, Future<SliceCollector>> _key2future = new LinkedHashMap<K, Future<SliceCollector>>();
+		final Collection<SlicingEngine> _engines = new ArrayList<SlicingEngine>();
+		final ExecutorService _executor = Executors.newFixedThreadPool(parallelism);
+		boolean _completed = false;
+
+		try {
+			for (final Iterator<? extends Map.Entry<K, ? extends Collection<ISliceCriterion>>> _i = key2criteria.entrySet()
+					.iterator(); _i.hasNext();) {
+				final Map.Entry<K, ? extends Collection<ISliceCriterion>> _entry = _i.next();
+				final SlicingEngine _engine = new SlicingEngine();
+				_engine.setTagName(_tagName);
+				_engine.setTagSlice(false);
+				configureEngine(_engine, _slicerConfig, _entry.getValue());
+				_engines.add(_engine);
+				_key2future.put(_entry.getKey(), _executor.submit(new Callable<SliceCollector>() {
+
+					public SliceCollector call() {
+						_engine.initialize();
+						_engine.slice();
+						return _engine.getCollector();
+					}
+				}));
+			}
+
+			for (final Iterator<Map.Entry<K, Future<SliceCollector>>> _i = _key2future.entrySet().iterator(); _i
+					.hasNext();) {
+				final Map.Entry<K, Future<SliceCollector>> _entry = _i.next();
+				_result.put(_entry.getKey(), _entry.getValue().get());
+			}
+			_completed = true;
+		} catch (final ExecutionException _e) {
+			final Throwable _cause = _e.getCause();
+			LOGGER.error("Calculation of a slice failed.", _cause);
+
+			// the slicing tasks do not throw checked exceptions; hence, the cause is rethrown as is.
+			if (_cause instanceof Error) {
+				throw (Error) _cause;
+			}
+			throw (RuntimeException) _cause;
+		} finally {
+			if (!_completed) {
+				for (final Iterator<SlicingEngine> _i = _engines.iterator(); _i.hasNext();) {
+					_i.next().getActivePart().deactivate();
+				}
+			}
+			_executor.shutdownNow();
+		}
+
+		if (LOGGER.isInfoEnabled()) {
+			if (sliceSummaryCache != null) {
+				LOGGER.info("Slice summaries: " + sliceSummaryCache);
+			}
+
+			if (callingContextCache != null) {
+				LOGGER.info("Calling contexts: " + callingContextCache);
+			}
+			LOGGER.info("END: calculating " + key2criteria.size() + " slices");
+		}
+		return _result;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -787,6 +1045,100 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 		return engine.getCollector();
 	}
 
+	/**
+	 * Retrieves the name against which the dependences of the given analysis are cached.
+	 * 
+	 * @param da is the dependence analysis.
+	 * @return the name.
+	 */
+	private static String getCacheEntryName(final IDependencyAnalysis<?, ?, ?, ?, ?, ?> da) {
+		return da.getClass().getName() + "." + da.getDirection();
+	}
+
+	/**
+	 * Stores the dependences calculated by the given analyses in the analysis cache.
+	 * 
+	 * @param analyses whose dependences should be cached. They are interference or ready dependence analyses.
+	 */
+	private void cacheDependences(final Collection<IDependencyAnalysis<?, ?, ?, ?, ?, ?>> analyses) {
+		for (final Iterator<IDependencyAnalysis<?, ?, ?, ?, ?, ?>> _i = analyses.iterator(); _i.hasNext();) {
+			final IDependencyAnalysis<?, ?, ?, ?, ?, ?> _da = _i.next();
+			final CompactDependenceStore<? extends Stmt> _store;
+
+			if (_da instanceof InterferenceDAv1) {
+				_store = ((InterferenceDAv1) _da).getCompactDependenceStore();
+			} else {
+				_store = ((ReadyDAv1) _da).getCompactDependenceStore();
+			}
+
+			if (_store != null) {
+				analysisCache.storeDependences(analysisCacheKey, getCacheEntryName(_da), _store);
+			}
+		}
+	}
+
+	/**
+	 * Configures the given slicing engine to slice for the given criteria based on the results of the analyses of this tool.
+	 * 
+	 * @param theEngine to be configured.
+	 * @param slicerConfig provides the configuration.
+	 * @param sliceCriteria are the criteria to slice for.
+	 * @pre theEngine != null and slicerConfig != null and sliceCriteria != null
+	 */
+	private void configureEngine(final SlicingEngine theEngine, final SlicerConfiguration slicerConfig,
+			final Collection<ISliceCriterion> sliceCriteria) {
+		theEngine.setCgi(callGraph);
+		theEngine.setSliceType((SliceType) slicerConfig.getProperty(SlicerConfiguration.SLICE_TYPE));
+		theEngine.setInitMapper(initMapper);
+		theEngine.setBasicBlockGraphManager(bbgMgr);
+		theEngine.setAnalysesControllerAndDependenciesToUse(daController, slicerConfig.getIDsOfDAsToUse());
+		theEngine.setSliceCriteria(sliceCriteria);
+		theEngine.setSliceScopeDefinition(sliceScopeDefinition);
+		theEngine.setSliceSummaryCache(sliceSummaryCache);
+		theEngine.setSystem(system);
+
+		if (sliceSummaryCache != null) {
+			final Collection<IDependencyAnalysis.DependenceSort> _daIds = new HashSet<IDependencyAnalysis.DependenceSort>(
+					slicerConfig.getIDsOfDAsToUse());
+			final Object _sliceType = slicerConfig.getProperty(SlicerConfiguration.SLICE_TYPE);
+			sliceSummaryCache.setEngineConfiguration(Arrays.<Object> asList(sliceScopeDefinition, _daIds, _sliceType,
+					Boolean.valueOf(slicerConfig.getPropertyAware()), Integer.valueOf(slicerConfig.getCallingContextLimit()),
+					Boolean.valueOf(slicerConfig.getExecutableSlice())));
+		}
+
+		if (slicerConfig.getPropertyAware()) {
+			final Map<IDependencyAnalysis.DependenceSort, ICallingContextRetriever> _map = new HashMap<IDependencyAnalysis.DependenceSort, ICallingContextRetriever>();
+			final int _callingContextLimit = slicerConfig.getCallingContextLimit();
+			final ThreadEscapeInfoBasedCallingContextRetriever _t1 = new ThreadEscapeInfoBasedCallingContextRetrieverV2(
+					_callingContextLimit, true, false);
+			// new ThreadEscapeInfoBasedCallingContextRetriever(_callingContextLimit);
+			_t1.setEscapeInfo(getEscapeInfo());
+			_t1.setECBA(ecba);
+			_t1.setCallGraph(getCallGraph());
+			_t1.setContextCache(callingContextCache);
+			_map.put(IDependencyAnalysis.DependenceSort.READY_DA, _t1);
+
+			final ThreadEscapeInfoBasedCallingContextRetriever _t2 = new ThreadEscapeInfoBasedCallingContextRetrieverV2(
+					_callingContextLimit, false, true);
+			// new ThreadEscapeInfoBasedCallingContextRetriever(_callingContextLimit);
+			_t2.setEscapeInfo(getEscapeInfo());
+			_t2.setECBA(ecba);
+			_t2.setCallGraph(getCallGraph());
+			_t2.setContextCache(callingContextCache);
+			_map.put(IDependencyAnalysis.DependenceSort.INTERFERENCE_DA, _t2);
+
+			final DataAliasBasedCallingContextRetrieverV3 _t3 = new DataAliasBasedCallingContextRetrieverV3(
+					_callingContextLimit);
+			_t3.setCallGraph(getCallGraph());
+			_t3.setContextCache(callingContextCache);
+			_t3.setThreadGraph(threadGraph);
+			_t3.setCfgAnalysis(new CFGAnalysis(getCallGraph(), getBasicBlockGraphManager()));
+			_t3.setECBA(ecba); // in case _t3 is of type DataAliasBasedCallingContextRetriever
+			_map.put(IDependencyAnalysis.DependenceSort.REFERENCE_BASED_DATA_DA, _t3);
+			theEngine.setDepID2ContextRetrieverMapping(_map);
+		}
+	}
+
 	/**
 	 * Executes dependency analyses and monitor analysis.
 	 * 
@@ -798,6 +1150,15 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 			LOGGER.info("BEGIN: dependence analyses phase");
 		}
 
+		// the summaries and the calling contexts are based on the results of the analyses.
+		if (sliceSummaryCache != null) {
+			sliceSummaryCache.clear();
+		}
+
+		if (callingContextCache != null) {
+			callingContextCache.clear();
+		}
+
 		// perform dependency analyses
 		// create dependency analyses controller
 		final BasicBlockGraphMgr _b;
@@ -818,6 +1179,12 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 		} else {
 			_b = getBasicBlockGraphManager();
 		}
+
+		// the analyses of the previous run are reset as they would otherwise report themselves stable and provide their
+		// results to the analyses of this run before they are recalculated.
+		if (daController != null) {
+			daController.reset();
+		}
 		daController = new AnalysesController(info, cgBasedPreProcessCtrl, _b);
 		addActivePart(daController.getActivePart());
 
@@ -841,8 +1208,11 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 			daController.addAnalyses(SafeLockAnalysis.ID, Collections.singleton(safelockAnalysis));
 		}
 		daController.initialize();
+
+		final Collection<IDependencyAnalysis<?, ?, ?, ?, ?, ?>> _uncached = retrieveCachedDependences(slicerConfig);
 		daController.execute();
 		removeActivePart(daController.getActivePart());
+		cacheDependences(_uncached);
 
 		final String _deadlockCriteriaSelectionStrategy = slicerConfig.getDeadlockCriteriaSelectionStrategy();
 
@@ -882,15 +1252,33 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 
 		fireToolProgressEvent("LOW LEVEL ANALYSES: Constructing call graph", phase);
 
-		// process flow information into a more meaningful call graph
-		final OFABasedCallInfoCollector _callGraphInfoCollector = new OFABasedCallInfoCollector();
-		cgPreProcessCtrl.reset();
-		_callGraphInfoCollector.hookup(cgPreProcessCtrl);
-		cgPreProcessCtrl.process();
-		_callGraphInfoCollector.unhook(cgPreProcessCtrl);
+		CallGraphInfo.ICallInfo _callInfo = null;
+		analysisCacheKey = null;
+
+		if (analysisCache != null) {
+			// the key is calculated after object flow analysis as it considers only the bodies retrieved till then.
+			analysisCacheKey = analysisCache.calculateKey(system, rootMethods, stringizeConfiguration());
+			_callInfo = analysisCache.retrieveCallInfo(analysisCacheKey, system);
+		}
+
+		if (_callInfo == null) {
+			// process flow information into a more meaningful call graph
+			final OFABasedCallInfoCollector _callGraphInfoCollector = new OFABasedCallInfoCollector();
+			cgPreProcessCtrl.reset();
+			_callGraphInfoCollector.hookup(cgPreProcessCtrl);
+			cgPreProcessCtrl.process();
+			_callGraphInfoCollector.unhook(cgPreProcessCtrl);
+			_callInfo = _callGraphInfoCollector.getCallInfo();
+
+			if (analysisCache != null) {
+				analysisCache.storeCallInfo(analysisCacheKey, _callInfo);
+			}
+		} else if (LOGGER.isInfoEnabled()) {
+			LOGGER.info("Reusing the call graph cached in " + analysisCache.getDirectory());
+		}
 
 		callGraph.reset();
-		callGraph.createCallGraphInfo(_callGraphInfoCollector.getCallInfo());
+		callGraph.createCallGraphInfo(_callInfo);
 		phase.nextMinorPhase();
 
 		if (LOGGER.isDebugEnabled()) {
@@ -949,6 +1337,57 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 		}
 	}
 
+	/**
+	 * Retrieves the dependences of the interference and ready dependence analyses from the analysis cache. The analyses
+	 * whose dependences are not available in the cache are configured to store their dependences compactly so that they can
+	 * be cached once they are calculated.
+	 * 
+	 * @param slicerConfig provides the dependence analyses.
+	 * @return the analyses whose dependences should be cached once they are calculated.
+	 * @pre slicerConfig != null
+	 */
+	private Collection<IDependencyAnalysis<?, ?, ?, ?, ?, ?>> retrieveCachedDependences(
+			final SlicerConfiguration slicerConfig) {
+		final Collection<IDependencyAnalysis<?, ?, ?, ?, ?, ?>> _result;
+		_result = new ArrayList<IDependencyAnalysis<?, ?, ?, ?, ?, ?>>();
+
+		if (analysisCache != null && analysisCacheKey != null) {
+			for (final Iterator<IDependencyAnalysis.DependenceSort> _i = slicerConfig.getIDsOfDAsToUse().iterator(); _i
+					.hasNext();) {
+				for (final Iterator<IDependencyAnalysis<?, ?, ?, ?, ?, ?>> _j = slicerConfig.getDependenceAnalyses(_i.next())
+						.iterator(); _j.hasNext();) {
+					final IDependencyAnalysis<?, ?, ?, ?, ?, ?> _da = _j.next();
+					final String _name = getCacheEntryName(_da);
+
+					if (_da instanceof InterferenceDAv1) {
+						final InterferenceDAv1 _ida = (InterferenceDAv1) _da;
+						final CompactDependenceStore<AssignStmt> _store = analysisCache.retrieveDependences(analysisCacheKey,
+								_name, system, programPointIdMgr, AssignStmt.class);
+
+						if (_store != null) {
+							_ida.setCompactDependenceStore(_store);
+						} else {
+							_ida.setUseCompactStorage(true);
+							_result.add(_ida);
+						}
+					} else if (_da instanceof ReadyDAv1) {
+						final ReadyDAv1 _rda = (ReadyDAv1) _da;
+						final CompactDependenceStore<Stmt> _store = analysisCache.retrieveDependences(analysisCacheKey,
+								_name, system, programPointIdMgr, Stmt.class);
+
+						if (_store != null) {
+							_rda.setCompactDependenceStore(_store);
+						} else {
+							_rda.setUseCompactStorage(true);
+							_result.add(_rda);
+						}
+					}
+				}
+			}
+		}
+		return _result;
+	}
+
 	/**
 	 * Executes the slicer.
 	 * 
@@ -980,43 +1419,7 @@ public final class SlicerTool<T extends ITokens<T, Value>>
 			fireToolProgressEvent("SLICING: Calculating the slice", phase);
 
 			// setup the slicing engine and slice
-			engine.setCgi(callGraph);
-			engine.setSliceType((SliceType) slicerConfig.getProperty(SlicerConfiguration.SLICE_TYPE));
-			engine.setInitMapper(initMapper);
-			engine.setBasicBlockGraphManager(bbgMgr);
-			engine.setAnalysesControllerAndDependenciesToUse(daController, slicerConfig.getIDsOfDAsToUse());
-			engine.setSliceCriteria(criteria);
-			engine.setSliceScopeDefinition(sliceScopeDefinition);
-			engine.setSystem(system);
-
-			if (slicerConfig.getPropertyAware()) {
-				final Map<IDependencyAnalysis.DependenceSort, ICallingContextRetriever> _map = new HashMap<IDependencyAnalysis.DependenceSort, ICallingContextRetriever>();
-				final int _callingContextLimit = slicerConfig.getCallingContextLimit();
-				final ThreadEscapeInfoBasedCallingContextRetriever _t1 = new ThreadEscapeInfoBasedCallingContextRetrieverV2(
-						_callingContextLimit, true, false);
-				// new ThreadEscapeInfoBasedCallingContextRetriever(_callingContextLimit);
-				_t1.setEscapeInfo(getEscapeInfo());
-				_t1.setECBA(ecba);
-				_t1.setCallGraph(getCallGraph());
-				_map.put(IDependencyAnalysis.DependenceSort.READY_DA, _t1);
-
-				final ThreadEscapeInfoBasedCallingContextRetriever _t2 = new ThreadEscapeInfoBasedCallingContextRetrieverV2(
-						_callingContextLimit, false, true);
-				// new ThreadEscapeInfoBasedCallingContextRetriever(_callingContextLimit);
-				_t2.setEscapeInfo(getEscapeInfo());
-				_t2.setECBA(ecba);
-				_t2.setCallGraph(getCallGraph());
-				_map.put(IDependencyAnalysis.DependenceSort.INTERFERENCE_DA, _t2);
-
-				final DataAliasBasedCallingContextRetrieverV3 _t3 = new DataAliasBasedCallingContextRetrieverV3(
-						_callingContextLimit);
-				_t3.setCallGraph(getCallGraph());
-				_t3.setThreadGraph(threadGraph);
-				_t3.setCfgAnalysis(new CFGAnalysis(getCallGraph(), getBasicBlockGraphManager()));
-				_t3.setECBA(ecba); // in case _t3 is of type DataAliasBasedCallingContextRetriever
-				_map.put(IDependencyAnalysis.DependenceSort.REFERENCE_BASED_DATA_DA, _t3);
-				engine.setDepID2ContextRetrieverMapping(_map);
-			}
+			configureEngine(engine, slicerConfig, criteria);
 			engine.initialize();
 			engine.slice();
 			phase.nextMinorPhase();
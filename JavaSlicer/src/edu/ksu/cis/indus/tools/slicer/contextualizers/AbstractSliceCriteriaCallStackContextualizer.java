@@ -17,9 +17,8 @@
 
 package edu.ksu.cis.indus.tools.slicer.contextualizers;
 
-import edu.ksu.cis.indus.common.collections.Stack;
+import edu.ksu.cis.indus.common.soot.CallString;
 import edu.ksu.cis.indus.interfaces.ICallGraphInfo;
-import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
 
 import edu.ksu.cis.indus.processing.Context;
 
@@ -62,7 +61,7 @@ public abstract class AbstractSliceCriteriaCallStackContextualizer
 	 * @see ISliceCriteriaContextualizer#processCriteriaBasedOnProgramPoint(Context, Collection)
 	 */
 	public final void processCriteriaBasedOnProgramPoint(final Context programPoint, final Collection<ISliceCriterion> baseCriteria) {
-		final Collection<Stack<CallTriple>> _contexts = getCallingContextsForProgramPoint(programPoint);
+		final Collection<CallString> _contexts = getCallingContextsForProgramPoint(programPoint);
 		contextualize(baseCriteria, _contexts);
 	}
 
@@ -70,7 +69,7 @@ public abstract class AbstractSliceCriteriaCallStackContextualizer
 	 * @see ISliceCriteriaContextualizer#processCriteriaBasedOnThis(SootMethod, Collection)
 	 */
 	public final void processCriteriaBasedOnThis(final SootMethod method, final Collection<ISliceCriterion> baseCriteria) {
-		final Collection<Stack<CallTriple>> _contexts = getCallingContextsForThis(method);
+		final Collection<CallString> _contexts = getCallingContextsForThis(method);
 		contextualize(baseCriteria, _contexts);
 	}
 
@@ -94,7 +93,7 @@ public abstract class AbstractSliceCriteriaCallStackContextualizer
 	 * @pre programPoint != null
 	 * @post result != null
 	 */
-	protected abstract Collection<Stack<CallTriple>> getCallingContextsForProgramPoint(final Context programPoint);
+	protected abstract Collection<CallString> getCallingContextsForProgramPoint(final Context programPoint);
 
 	/**
 	 * Retrieves the calling contexts based on "this" variable of the given method.
@@ -107,7 +106,7 @@ public abstract class AbstractSliceCriteriaCallStackContextualizer
 	 * @pre method != null
 	 * @post result != null
 	 */
-	protected abstract Collection<Stack<CallTriple>> getCallingContextsForThis(final SootMethod method);
+	protected abstract Collection<CallString> getCallingContextsForThis(final SootMethod method);
 
 	/**
 	 * Injects the given criterion with the given call stack and adds it to result.
@@ -120,7 +119,7 @@ public abstract class AbstractSliceCriteriaCallStackContextualizer
 	 * @post result.containsAll(result$pre)
 	 * @post stack.equals(stack$pre)
 	 */
-	private void addCriteriaWithGivenCallStackToResult(final ISliceCriterion criterion, final Stack<CallTriple> stack,
+	private void addCriteriaWithGivenCallStackToResult(final ISliceCriterion criterion, final CallString stack,
 		final Collection<ISliceCriterion> result) {
 		criterion.setCallStack(stack);
 		result.add(criterion);
@@ -137,7 +136,7 @@ public abstract class AbstractSliceCriteriaCallStackContextualizer
 	 * @post baseCriteria$pre->forall(o | contexts->exists(p | p.peek().equals(o.getOccurringMethod()) and
 	 * 		 baseCriteria.contains(o.setCallStack(p))) or baseCriteria->forall(t | not t.setCallStack(null).equals(o)))
 	 */
-	private void contextualize(final Collection<ISliceCriterion> baseCriteria, final Collection<Stack<CallTriple>> contexts) {
+	private void contextualize(final Collection<ISliceCriterion> baseCriteria, final Collection<CallString> contexts) {
 		final Collection<ISliceCriterion> _result = new HashSet<ISliceCriterion>();
 		final SliceCriteriaFactory _criteriaFactory = SliceCriteriaFactory.getFactory();
 		final Iterator<ISliceCriterion> _j = baseCriteria.iterator();
@@ -146,17 +145,17 @@ public abstract class AbstractSliceCriteriaCallStackContextualizer
 
 		for (int _jIndex = 0; _jIndex < _jEnd; _jIndex++) {
 			final ISliceCriterion _criterion = _j.next();
-			final Iterator<Stack<CallTriple>> _i = contexts.iterator();
+			final Iterator<CallString> _i = contexts.iterator();
 			final int _iEnd = contexts.size();
 
 			for (int _iIndex = 0; _iIndex < _iEnd; _iIndex++) {
-				final Stack<CallTriple> _callStack = _i.next();
+				final CallString _callStack = _i.next();
 				final ISliceCriterion _temp = _criteriaFactory.clone(_criterion);
 
 				if (_callStack == null) {
 					addCriteriaWithGivenCallStackToResult(_temp, null, _result);
 				} else if (!_callStack.isEmpty() && _cgi.getCallers(_temp.getOccurringMethod()).contains(_callStack.peek())) {
-                    addCriteriaWithGivenCallStackToResult(_temp, _callStack.clone(), _result);
+                    addCriteriaWithGivenCallStackToResult(_temp, _callStack, _result);
                 }
 			}
 			_j.remove();
@@ -16,8 +16,7 @@
 
 package edu.ksu.cis.indus.tools.slicer.contextualizers;
 
-import edu.ksu.cis.indus.common.collections.Stack;
-import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+import edu.ksu.cis.indus.common.soot.CallString;
 import edu.ksu.cis.indus.processing.Context;
 import edu.ksu.cis.indus.staticanalyses.concurrency.escape.EquivalenceClassBasedEscapeAnalysis;
 import edu.ksu.cis.indus.staticanalyses.concurrency.escape.ThreadEscapeInfoBasedCallingContextRetriever;
@@ -53,9 +52,9 @@ public final class DeadlockPreservingCriteriaCallStackContextualizer
 	/**
 	 * @see AbstractSliceCriteriaCallStackContextualizer#getCallingContextsForProgramPoint(Context)
 	 */
-	@Override protected Collection<Stack<CallTriple>> getCallingContextsForProgramPoint(final Context context) {
+	@Override protected Collection<CallString> getCallingContextsForProgramPoint(final Context context) {
 		final EquivalenceClassBasedEscapeAnalysis _ecba = getSlicerTool().getECBA();
-		final Collection<Stack<CallTriple>> _result;
+		final Collection<CallString> _result;
 
 		if (_ecba != null) {
 			initialize(_ecba);
@@ -71,9 +70,9 @@ public final class DeadlockPreservingCriteriaCallStackContextualizer
 	/**
 	 * @see AbstractSliceCriteriaCallStackContextualizer#getCallingContextsForThis(SootMethod)
 	 */
-	@Override protected Collection<Stack<CallTriple>> getCallingContextsForThis(final SootMethod method) {
+	@Override protected Collection<CallString> getCallingContextsForThis(final SootMethod method) {
 		final EquivalenceClassBasedEscapeAnalysis _ecba = getSlicerTool().getECBA();
-		final Collection<Stack<CallTriple>> _result;
+		final Collection<CallString> _result;
 
 		if (_ecba != null) {
 			initialize(_ecba);
@@ -16,11 +16,9 @@
 
 package edu.ksu.cis.indus.tools.slicer.contextualizers;
 
-import edu.ksu.cis.indus.common.collections.Stack;
+import edu.ksu.cis.indus.common.soot.CallString;
 import edu.ksu.cis.indus.processing.Context;
 
-import static edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
-
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -44,7 +42,7 @@ public final class StaticSliceCriteriaCallStackContextualizer
 	/**
 	 * The calling contexts to be returned.
 	 */
-	private final Collection<Stack<CallTriple>> contexts;
+	private final Collection<CallString> contexts;
 
 	/**
 	 * Creates a new StaticSliceCriteriaCallStackContextualizer object.
@@ -53,14 +51,14 @@ public final class StaticSliceCriteriaCallStackContextualizer
 	 *            contain caller and call-site information.
 	 * @pre callingContexts != null
 	 */
-	public StaticSliceCriteriaCallStackContextualizer(final Collection<Stack<CallTriple>> callingContexts) {
-		contexts = new ArrayList<Stack<CallTriple>>(callingContexts);
+	public StaticSliceCriteriaCallStackContextualizer(final Collection<CallString> callingContexts) {
+		contexts = new ArrayList<CallString>(callingContexts);
 	}
 
 	/**
 	 * @see AbstractSliceCriteriaCallStackContextualizer#getCallingContextsForProgramPoint(Context)
 	 */
-	@Override protected Collection<Stack<CallTriple>> getCallingContextsForProgramPoint(
+	@Override protected Collection<CallString> getCallingContextsForProgramPoint(
 			@SuppressWarnings("unused") final Context programPoint) {
 		return contexts;
 	}
@@ -68,7 +66,7 @@ public final class StaticSliceCriteriaCallStackContextualizer
 	/**
 	 * @see AbstractSliceCriteriaCallStackContextualizer#getCallingContextsForThis(SootMethod)
 	 */
-	@Override protected Collection<Stack<CallTriple>> getCallingContextsForThis(
+	@Override protected Collection<CallString> getCallingContextsForThis(
 			@SuppressWarnings("unused") final SootMethod method) {
 		return contexts;
 	}
@@ -60,6 +60,7 @@ import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.io.xml.DomDriver;
 
 import edu.ksu.cis.indus.common.datastructures.Triple;
+import edu.ksu.cis.indus.common.soot.CallString;
 import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
 import edu.ksu.cis.indus.kaveri.KaveriErrorLog;
 import edu.ksu.cis.indus.kaveri.KaveriPlugin;
@@ -184,7 +185,7 @@ public abstract class AbstractIndusRunner implements IRunnableWithProgress {
             final Collection _stkColl = _mcc.getContextStacks();
             for (Iterator _j = _stkColl.iterator(); _j.hasNext();) {
                 final Stack _stk = (Stack) _j.next();
-                final edu.ksu.cis.indus.common.collections.Stack _ctxStack = new edu.ksu.cis.indus.common.collections.Stack();
+                CallString _ctxStack = CallString.EMPTY;
                 for (Iterator _k = _stk.iterator(); _k.hasNext();) {
                     final Triple _triple = (Triple) _k.next();
                     final MethodWrapper _m1 = (MethodWrapper) _triple.getFirst();
@@ -201,7 +202,7 @@ public abstract class AbstractIndusRunner implements IRunnableWithProgress {
                         throw new InterruptedException("Unable to convert call chain between " + _m1.getName() + " and "
                                 + _m2.getName());
                     }
-                    _ctxStack.push(_ctriple);
+                    _ctxStack = _ctxStack.push(_ctriple);
                 }
                 _driver.addToContext(_ctxStack);
 
@@ -37,8 +37,8 @@ import soot.SootMethod;
 import soot.ValueBox;
 import soot.jimple.Stmt;
 import soot.options.Options;
-import edu.ksu.cis.indus.common.collections.Stack;
 import edu.ksu.cis.indus.common.scoping.SpecificationBasedScopeDefinition;
+import edu.ksu.cis.indus.common.soot.CallString;
 import edu.ksu.cis.indus.common.soot.SootBasedDriver;
 import edu.ksu.cis.indus.kaveri.KaveriErrorLog;
 import edu.ksu.cis.indus.kaveri.KaveriPlugin;
@@ -461,7 +461,7 @@ public class EclipseIndusDriver
 	/**
 	 * Adds the stack to the context.
 	 */
-	public void addToContext(final Stack stkContext) {
+	public void addToContext(final CallString stkContext) {
 		contextCollection.add(stkContext);
 	}
 
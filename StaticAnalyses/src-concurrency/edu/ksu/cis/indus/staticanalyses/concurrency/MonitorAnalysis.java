@@ -40,6 +40,7 @@ import edu.ksu.cis.indus.interfaces.IMonitorInfo;
 import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
 import edu.ksu.cis.indus.processing.AbstractProcessor;
 import edu.ksu.cis.indus.processing.Context;
+import edu.ksu.cis.indus.processing.IThreadSafeProcessor;
 import edu.ksu.cis.indus.processing.ProcessingController;
 import edu.ksu.cis.indus.staticanalyses.InitializationException;
 import edu.ksu.cis.indus.staticanalyses.interfaces.AbstractAnalysis;
@@ -325,14 +326,16 @@ public final class MonitorAnalysis extends AbstractAnalysis implements
 
     /**
      * This the preprocessor which captures the synchronization points in the
-     * system.
+     * system. The enter monitor statements are recorded under the lock of
+     * <code>method2enterMonitors</code>; hence, method bodies may be
+     * preprocessed concurrently.
      * 
      * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad
      *         Ranganath</a>
      * @author $Author$
      * @version $Revision$
      */
-    private final class PreProcessor extends AbstractProcessor {
+    private final class PreProcessor extends AbstractProcessor implements IThreadSafeProcessor {
 
         /**
          * Preprocesses the given method. It records if the method is
@@ -365,7 +368,9 @@ public final class MonitorAnalysis extends AbstractAnalysis implements
         @Override
         public void callback(final Stmt stmt, final Context context) {
             if (stmt instanceof EnterMonitorStmt) {
-                MapUtils.putIntoSetInMap(method2enterMonitors, context.getCurrentMethod(), (EnterMonitorStmt) stmt);
+                synchronized (method2enterMonitors) {
+                    MapUtils.putIntoSetInMap(method2enterMonitors, context.getCurrentMethod(), (EnterMonitorStmt) stmt);
+                }
             }
         }
 
@@ -36,6 +36,7 @@ import edu.ksu.cis.indus.interfaces.IMonitorInfo;
 import edu.ksu.cis.indus.interfaces.IMonitorInfo.IMonitorGraph;
 import edu.ksu.cis.indus.processing.AbstractProcessor;
 import edu.ksu.cis.indus.processing.Context;
+import edu.ksu.cis.indus.processing.IThreadSafeProcessor;
 import edu.ksu.cis.indus.processing.ProcessingController;
 import edu.ksu.cis.indus.staticanalyses.InitializationException;
 import edu.ksu.cis.indus.staticanalyses.interfaces.AbstractAnalysis;
@@ -75,14 +76,16 @@ public class SafeLockAnalysis
 		extends AbstractAnalysis {
 
 	/**
-	 * This processor collects <code>wait</code> invocations.
+	 * This processor collects <code>wait</code> invocations. The invocations are recorded under the lock of
+	 * <code>waitStmt2method</code>; hence, method bodies may be processed concurrently.
 	 * 
 	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
 	 * @author $Author$
 	 * @version $Revision$ $Date$
 	 */
 	private final class WaitInvocationCollectingProcessor
-			extends AbstractProcessor {
+			extends AbstractProcessor
+			implements IThreadSafeProcessor {
 
 		/**
 		 * {@inheritDoc}
@@ -94,7 +97,9 @@ public class SafeLockAnalysis
 
 			final InvokeStmt _invokeStmt = (InvokeStmt) stmt;
 			if (Util.isWaitInvocation(_invokeStmt, _currentMethod, callgraphInfo)) {
-				waitStmt2method.put(_invokeStmt, _currentMethod);
+				synchronized (waitStmt2method) {
+					waitStmt2method.put(_invokeStmt, _currentMethod);
+				}
 			}
 		}
 
@@ -240,6 +245,13 @@ public class SafeLockAnalysis
 		}
 	}
 
+	/**
+	 * @see edu.ksu.cis.indus.staticanalyses.interfaces.AbstractAnalysis#getRequiredInfoIds()
+	 */
+	@Override public Collection<Comparable<?>> getRequiredInfoIds() {
+		return Collections.<Comparable<?>> singleton(IMonitorInfo.ID);
+	}
+
 	/**
 	 * Checks if the lock associated with the monitor of the given synchronized method is safe.
 	 * 
@@ -16,9 +16,7 @@
 
 package edu.ksu.cis.indus.staticanalyses.concurrency.escape;
 
-import edu.ksu.cis.indus.common.collections.CollectionUtils;
 import edu.ksu.cis.indus.common.collections.ITransformer;
-import edu.ksu.cis.indus.common.collections.SetUtils;
 import edu.ksu.cis.indus.common.datastructures.FastUnionFindElement;
 import edu.ksu.cis.indus.common.datastructures.HistoryAwareFIFOWorkBag;
 import edu.ksu.cis.indus.common.datastructures.HistoryAwareLIFOWorkBag;
@@ -26,13 +24,19 @@ import edu.ksu.cis.indus.common.datastructures.IWorkBag;
 import edu.ksu.cis.indus.common.datastructures.Pair;
 import edu.ksu.cis.indus.common.datastructures.Triple;
 
+import gnu.trove.TIntObjectHashMap;
+import gnu.trove.TIntObjectIterator;
+
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.builder.ToStringBuilder;
 
@@ -46,6 +50,10 @@ import soot.jimple.InvokeStmt;
  * href="http://www.cis.ksu.edu/santos/papers/technicalReports/SAnToS-TR2003-6.pdf">Honing the Detection of Interference and
  * Ready Dependence for Slicing Concurrent Java Programs.</a> It represents an equivalence class in escape analysis defined
  * in the same document.
+ * <p>
+ * Fields are identified by the ids assigned to their signatures by <code>FieldIdTable</code>. The methods that accept
+ * field signatures are provided for the clients outside the analysis.
+ * </p>
  * 
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
@@ -58,32 +66,22 @@ final class AliasSet
 	/**
 	 * This is used to generate unique lock entities.
 	 */
-	private static int lockEntityCount;
+	private static final AtomicInteger LOCK_ENTITY_COUNT = new AtomicInteger();
 
 	/**
 	 * This is used to generate unique ready entities.
 	 */
-	private static long readyEntityCount;
+	private static final AtomicLong READY_ENTITY_COUNT = new AtomicLong();
 
 	/**
 	 * This is used to generate unique reference entities.
 	 */
-	private static int referenceEntityCount;
-
-	/**
-	 * This is used to retrieve the representative of the alias set.
-	 */
-	private static final ITransformer<AliasSet, AliasSet> REPRESENTATIVE_ALIAS_SET_RETRIEVER = new ITransformer<AliasSet, AliasSet>() {
-
-		public AliasSet transform(final AliasSet input) {
-			return input.find();
-		}
-	};
+	private static final AtomicInteger REFERENCE_ENTITY_COUNT = new AtomicInteger();
 
 	/**
 	 * This is used to generate unique share entities.
 	 */
-	private static int shareEntityCount;
+	private static final AtomicInteger SHARE_ENTITY_COUNT = new AtomicInteger();
 
 	/**
 	 * This indicates if the object associated with the alias set was accessed. This is related to read-write info and not to
@@ -92,9 +90,14 @@ final class AliasSet
 	private boolean accessed;
 
 	/**
-	 * This maps field signatures to their alias sets.
+	 * This provides the ids of the fields. This is shared by all alias sets created by an escape analysis.
+	 */
+	private final FieldIdTable fieldIds;
+
+	/**
+	 * This maps field ids to their alias sets.
 	 */
-	private Map<String, AliasSet> fieldMap;
+	private TIntObjectHashMap fieldMap;
 
 	/**
 	 * This field indicates if this alias set is associated with a static field or a field reachable from a static field. This
@@ -131,9 +134,10 @@ final class AliasSet
 	private boolean notifies;
 
 	/**
-	 * This is the signatures of the fields of the objects associated with this alias set that are read.
+	 * This is the ids of the fields of the objects associated with this alias set that are read. This is <code>null</code>
+	 * if no field was read.
 	 */
-	private Collection<String> readFields;
+	private BitSet readFields;
 
 	/**
 	 * The threads that read fields of the associated object.
@@ -151,16 +155,14 @@ final class AliasSet
 	private Collection<Object> readyEntities;
 
 	/**
-	 * This is the collection of field signatures of fields of this alias set's object that are shared across multiple threads
-	 * via read-write access.
+	 * This is the ids of fields of this alias set's object that are shared across multiple threads via read-write access.
 	 */
-	private Collection<String> sigsOfRWSharedFields;
+	private BitSet sigsOfRWSharedFields;
 
 	/**
-	 * This is the collection of field signatures of fields of this alias set's object that are shared across multiple threads
-	 * via write-write access.
+	 * This is the ids of fields of this alias set's object that are shared across multiple threads via write-write access.
 	 */
-	private Collection<String> sigsOfWWSharedFields;
+	private BitSet sigsOfWWSharedFields;
 
 	/**
 	 * This indicates that this object is being stringified.
@@ -183,15 +185,20 @@ final class AliasSet
 	private Collection<Object> writewriteEntities;
 
 	/**
-	 * This is the signatures of the fields of the objects associated with this alias set that are written.
+	 * This is the ids of the fields of the objects associated with this alias set that are written. This is
+	 * <code>null</code> if no field was written.
 	 */
-	private Collection<String> writtenFields;
+	private BitSet writtenFields;
 
 	/**
 	 * Creates a new instance of this class.
+	 * 
+	 * @param fieldIdTable provides the ids of the fields.
+	 * @pre fieldIdTable != null
 	 */
-	private AliasSet() {
-		fieldMap = new HashMap<String, AliasSet>();
+	private AliasSet(final FieldIdTable fieldIdTable) {
+		fieldIds = fieldIdTable;
+		fieldMap = new TIntObjectHashMap();
 		accessed = false;
 		readyEntities = null;
 		readThreads = new HashSet<Triple<InvokeStmt, SootMethod, SootClass>>();
@@ -203,33 +210,36 @@ final class AliasSet
 		lockEntities = null;
 		intraThreadInterProcRefEntities = null;
 		multiThreadAccessibility = false;
-		readFields = Collections.emptySet();
-		writtenFields = Collections.emptySet();
+		readFields = null;
+		writtenFields = null;
 	}
 
 	/**
 	 * Creates a new alias set.
 	 * 
+	 * @param fieldIdTable provides the ids of the fields.
 	 * @return a new alias set.
+	 * @pre fieldIdTable != null
 	 * @post result != null
 	 */
-	static AliasSet createAliasSet() {
-		return new AliasSet();
+	static AliasSet createAliasSet(final FieldIdTable fieldIdTable) {
+		return new AliasSet(fieldIdTable);
 	}
 
 	/**
 	 * Creates an alias set suitable for the given type.
 	 * 
 	 * @param type is the type from which Alias set is requested.
+	 * @param fieldIdTable provides the ids of the fields.
 	 * @return the alias set corresponding to the given type.
 	 * @post AliasSet.canHaveAliasSet(type) implies result != null
 	 * @post not AliasSet.canHaveAliasSet(type) implies result == null
 	 */
-	static AliasSet getASForType(final Type type) {
+	static AliasSet getASForType(final Type type, final FieldIdTable fieldIdTable) {
 		AliasSet _result = null;
 
 		if (EquivalenceClassBasedEscapeAnalysis.canHaveAliasSet(type)) {
-			_result = new AliasSet();
+			_result = new AliasSet(fieldIdTable);
 		}
 
 		return _result;
@@ -250,7 +260,96 @@ final class AliasSet
 		while (_wb.hasWork()) {
 			final AliasSet _repr = _wb.getWork();
 			_repr.unifyThreadEscapeInfo(_repr);
-			_wb.addAllWorkNoDuplicates(CollectionUtils.collect(_repr.fieldMap.values(), REPRESENTATIVE_ALIAS_SET_RETRIEVER));
+			addRepresentativesOfFieldsToWorkBag(_repr, _wb);
+		}
+	}
+
+	/**
+	 * Adds the representatives of the alias sets of the fields of the given alias set to the given work bag.
+	 * 
+	 * @param as of interest.
+	 * @param wb is the work bag.
+	 * @pre as != null and wb != null
+	 */
+	private static void addRepresentativesOfFieldsToWorkBag(final AliasSet as, final IWorkBag<AliasSet> wb) {
+		for (final TIntObjectIterator _i = as.find().fieldMap.iterator(); _i.hasNext();) {
+			_i.advance();
+			wb.addWorkNoDuplicates(((AliasSet) _i.value()).find());
+		}
+	}
+
+	/**
+	 * Creates a copy of the given bitset.
+	 * 
+	 * @param bitset to be copied.
+	 * @return the copy; <code>null</code> if <code>bitset</code> is <code>null</code>.
+	 */
+	private static BitSet copyOf(final BitSet bitset) {
+		final BitSet _result;
+
+		if (bitset == null) {
+			_result = null;
+		} else {
+			_result = (BitSet) bitset.clone();
+		}
+		return _result;
+	}
+
+	/**
+	 * Checks if the given bitsets have a common element.
+	 * 
+	 * @param bitset1 is one of the bitsets. This may be <code>null</code> to indicate an empty bitset.
+	 * @param bitset2 is the other bitset. This may be <code>null</code> to indicate an empty bitset.
+	 * @return <code>true</code> if the bitsets intersect; <code>false</code>, otherwise.
+	 */
+	private static boolean intersects(final BitSet bitset1, final BitSet bitset2) {
+		return bitset1 != null && bitset2 != null && bitset1.intersects(bitset2);
+	}
+
+	/**
+	 * Checks if the given bitset is empty.
+	 * 
+	 * @param bitset of interest. This may be <code>null</code> to indicate an empty bitset.
+	 * @return <code>true</code> if the bitset is empty; <code>false</code>, otherwise.
+	 */
+	private static boolean isEmpty(final BitSet bitset) {
+		return bitset == null || bitset.isEmpty();
+	}
+
+	/**
+	 * Merges the given bitsets.
+	 * 
+	 * @param to is the destination bitset. This may be <code>null</code> to indicate an empty bitset.
+	 * @param from is the source bitset. This may be <code>null</code> to indicate an empty bitset.
+	 * @return the merged bitset. This is <code>to</code> if <code>to</code> is not <code>null</code>.
+	 */
+	private static BitSet merge(final BitSet to, final BitSet from) {
+		final BitSet _result;
+
+		if (to == null) {
+			_result = from;
+		} else {
+			if (from != null) {
+				to.or(from);
+			}
+			_result = to;
+		}
+		return _result;
+	}
+
+	/**
+	 * Adds the intersection of the given bitsets to the destination bitset.
+	 * 
+	 * @param to is the destination bitset.
+	 * @param bitset1 is one of the bitsets. This may be <code>null</code> to indicate an empty bitset.
+	 * @param bitset2 is the other bitset. This may be <code>null</code> to indicate an empty bitset.
+	 * @pre to != null
+	 */
+	private static void addIntersection(final BitSet to, final BitSet bitset1, final BitSet bitset2) {
+		if (bitset1 != null && bitset2 != null) {
+			final BitSet _temp = (BitSet) bitset1.clone();
+			_temp.and(bitset2);
+			to.or(_temp);
 		}
 	}
 
@@ -261,7 +360,7 @@ final class AliasSet
 	 * @post result != null
 	 */
 	private static Object getNewLockEntity() {
-		return "LockEntity:" + lockEntityCount++;
+		return "LockEntity:" + LOCK_ENTITY_COUNT.getAndIncrement();
 	}
 
 	/**
@@ -271,7 +370,7 @@ final class AliasSet
 	 * @post result != null
 	 */
 	private static Object getNewReadyEntity() {
-		return "ReadyEntity:" + readyEntityCount++;
+		return "ReadyEntity:" + READY_ENTITY_COUNT.getAndIncrement();
 	}
 
 	/**
@@ -281,7 +380,7 @@ final class AliasSet
 	 * @post result != null
 	 */
 	private static Object getNewReferenceEntity() {
-		return "ReferenceEntity:" + referenceEntityCount++;
+		return "ReferenceEntity:" + REFERENCE_ENTITY_COUNT.getAndIncrement();
 	}
 
 	/**
@@ -291,7 +390,7 @@ final class AliasSet
 	 * @post result != null
 	 */
 	private static Object getNewShareEntity() {
-		return "ShareEntity:" + shareEntityCount++;
+		return "ShareEntity:" + SHARE_ENTITY_COUNT.getAndIncrement();
 	}
 
 	/**
@@ -310,8 +409,7 @@ final class AliasSet
 		} else {
 			final AliasSet _clone = (AliasSet) super.clone();
 
-			_clone.fieldMap = (Map) ((HashMap<String, AliasSet>) fieldMap).clone();
-			_clone.fieldMap.clear();
+			_clone.fieldMap = new TIntObjectHashMap();
 
 			if (readyEntities != null) {
 				_clone.readyEntities = (Collection) ((HashSet<Object>) readyEntities).clone();
@@ -327,14 +425,10 @@ final class AliasSet
 
 			_clone.intraThreadInterProcRefEntities = null;
 
-			final Collection<String> _emptySet = Collections.emptySet();
-			if (readFields != _emptySet) {
-				_clone.readFields = (Collection) ((HashSet<String>) readFields).clone();
-			}
-
-			if (writtenFields != _emptySet) {
-				_clone.writtenFields = (Collection) ((HashSet<String>) writtenFields).clone();
-			}
+			_clone.readFields = copyOf(readFields);
+			_clone.writtenFields = copyOf(writtenFields);
+			_clone.sigsOfRWSharedFields = copyOf(sigsOfRWSharedFields);
+			_clone.sigsOfWWSharedFields = copyOf(sigsOfWWSharedFields);
 
 			_clone.readThreads = new HashSet<Triple<InvokeStmt, SootMethod, SootClass>>(readThreads);
 			_clone.writeThreads = new HashSet<Triple<InvokeStmt, SootMethod, SootClass>>(writeThreads);
@@ -393,15 +487,23 @@ final class AliasSet
 				_result = Integer.toHexString(hashCode());
 			} else {
 				stringifying = true;
+
+				final Map<String, AliasSet> _fieldMap = new LinkedHashMap<String, AliasSet>();
+
+				for (final TIntObjectIterator _i = fieldMap.iterator(); _i.hasNext();) {
+					_i.advance();
+					_fieldMap.put(fieldIds.getSignature(_i.key()), (AliasSet) _i.value());
+				}
 				_result = new ToStringBuilder(this).append("multiThreadAccess", this.multiThreadAccessibility).append(
 						"accessed", this.accessed).append("notifies", this.notifies).append("waits", this.waits).append(
-						"locked", this.locked).append("writtenFields", this.writtenFields).append("readFields",
-						this.readFields).append("readyEntities", this.readyEntities)
+						"locked", this.locked).append("writtenFields", fieldIds.getSignatures(this.writtenFields)).append(
+						"readFields", fieldIds.getSignatures(this.readFields)).append("readyEntities", this.readyEntities)
 						.append("lockEntities", this.lockEntities).append("rwEntities", this.readwriteEntities).append(
 								"wwEntities", this.writewriteEntities).append("intraProcRefEntities",
-								this.intraThreadInterProcRefEntities).append("sigsOfSharedFields", sigsOfRWSharedFields)
-						.append("sigsOfWriteWriteSharedFields", sigsOfWWSharedFields).append("readThreads", readThreads)
-						.append("writeThreads", writeThreads).append("fieldMap", this.fieldMap).toString();
+								this.intraThreadInterProcRefEntities).append("sigsOfSharedFields",
+								fieldIds.getSignatures(sigsOfRWSharedFields)).append("sigsOfWriteWriteSharedFields",
+								fieldIds.getSignatures(sigsOfWWSharedFields)).append("readThreads", readThreads).append(
+								"writeThreads", writeThreads).append("fieldMap", _fieldMap).toString();
 				stringifying = false;
 			}
 		}
@@ -409,18 +511,27 @@ final class AliasSet
 	}
 
 	/**
-	 * Adds the given field signature to the collection of read fields of this alias set's object.
+	 * Adds the given field to the collection of read fields of this alias set's object.
 	 * 
-	 * @param fieldSig is the field signature.
+	 * @param fieldId is the id of the field.
+	 * @pre fieldId >= 0
 	 */
-	void addReadField(final String fieldSig) {
+	void addReadField(final int fieldId) {
 		final AliasSet _l = find();
 
-		final Collection<String> _emptySet = Collections.emptySet();
-		if (_l.readFields == _emptySet) {
-			_l.readFields = new HashSet<String>();
+		if (_l.readFields == null) {
+			_l.readFields = new BitSet();
 		}
-		_l.readFields.add(fieldSig);
+		_l.readFields.set(fieldId);
+	}
+
+	/**
+	 * Adds the given field signature to the collection of read fields of this alias set's object.
+	 * 
+	 * @param fieldSig is the field signature.
+	 */
+	void addReadField(final String fieldSig) {
+		addReadField(fieldIds.getId(fieldSig));
 	}
 
 	/**
@@ -441,18 +552,28 @@ final class AliasSet
 		find().writeThreads.addAll(abstractThreads);
 	}
 
+	/**
+	 * Adds the given field to the collection of written fields of this alias set's object.
+	 * 
+	 * @param fieldId is the id of the field.
+	 * @pre fieldId >= 0
+	 */
+	void addWrittenField(final int fieldId) {
+		final AliasSet _l = find();
+
+		if (_l.writtenFields == null) {
+			_l.writtenFields = new BitSet();
+		}
+		_l.writtenFields.set(fieldId);
+	}
+
 	/**
 	 * Adds the given field signature to the collection of written fields of this alias set's object.
 	 * 
 	 * @param fieldSig is the field signature.
 	 */
 	void addWrittenField(final String fieldSig) {
-		final AliasSet _l = find();
-		final Collection<String> _emptySet = Collections.emptySet();
-		if (_l.writtenFields == _emptySet) {
-			_l.writtenFields = new HashSet<String>();
-		}
-		_l.writtenFields.add(fieldSig);
+		addWrittenField(fieldIds.getId(fieldSig));
 	}
 
 	/**
@@ -484,7 +605,7 @@ final class AliasSet
 	AliasSet getAccessPathEndPoint(final String[] accesspath) {
 		AliasSet _result = this;
 		for (final String _pathElement : accesspath) {
-			final AliasSet _as = _result.getFieldMap().get(_pathElement);
+			final AliasSet _as = _result.getASForField(_pathElement);
 
 			if (_as != null) {
 				_result = _as.find();
@@ -496,24 +617,59 @@ final class AliasSet
 		return _result;
 	}
 
+	/**
+	 * Retrieves the alias set corresponding to the given field of the object represented by this alias set.
+	 * 
+	 * @param fieldId is the id of the field.
+	 * @return the alias set associated with <code>field</code>.
+	 * @post result == self.find().fieldMap.get(fieldId)
+	 */
+	AliasSet getASForField(final int fieldId) {
+		return (AliasSet) find().fieldMap.get(fieldId);
+	}
+
 	/**
 	 * Retrieves the alias set corresponding to the given field of the object represented by this alias set.
 	 * 
 	 * @param field is the signature of the field.
 	 * @return the alias set associated with <code>field</code>.
-	 * @post result == self.find().fieldMap.get(field)
 	 */
 	AliasSet getASForField(final String field) {
-		return find().fieldMap.get(field);
+		final int _fieldId = fieldIds.lookupId(field);
+		final AliasSet _result;
+
+		if (_fieldId == FieldIdTable.UNKNOWN_FIELD) {
+			_result = null;
+		} else {
+			_result = getASForField(_fieldId);
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the alias sets of the fields of this alias set.
+	 * 
+	 * @return the alias sets of the fields.
+	 * @post result != null
+	 */
+	Collection<AliasSet> getFieldAliasSets() {
+		final Object[] _values = find().fieldMap.getValues();
+		final List<AliasSet> _result = new ArrayList<AliasSet>(_values.length);
+
+		for (int _i = 0; _i < _values.length; _i++) {
+			_result.add((AliasSet) _values[_i]);
+		}
+		return _result;
 	}
 
 	/**
-	 * Retrieves an unmodifiable copy of the field map of this alias set.
+	 * Retrieves the ids of the fields of this alias set.
 	 * 
-	 * @return the field map.
+	 * @return the ids of the fields.
+	 * @post result != null
 	 */
-	Map<String, AliasSet> getFieldMap() {
-		return Collections.unmodifiableMap(find().fieldMap);
+	int[] getFieldIds() {
+		return find().fieldMap.keys();
 	}
 
 	/**
@@ -538,12 +694,10 @@ final class AliasSet
 		} else {
 			processed.add(new Pair<AliasSet, AliasSet>(find(), root.find()));
 
-			final Set<String> _keySet = getFieldMap().keySet();
-			final Iterator<String> _i = _keySet.iterator();
-			final int _iEnd = _keySet.size();
+			final int[] _keys = getFieldIds();
 
-			for (int _iIndex = 0; _iIndex < _iEnd && _result == null; _iIndex++) {
-				final String _key = _i.next();
+			for (int _iIndex = 0; _iIndex < _keys.length && _result == null; _iIndex++) {
+				final int _key = _keys[_iIndex];
 				final AliasSet _as1 = getASForField(_key);
 				final AliasSet _as2 = root.getASForField(_key);
 
@@ -704,7 +858,7 @@ final class AliasSet
 		while (!_result && _wb.hasWork()) {
 			final AliasSet _a = _wb.getWork();
 			_result |= _a.isGlobal();
-			for (final AliasSet _fs : _a.getFieldMap().values()) {
+			for (final AliasSet _fs : _a.getFieldAliasSets()) {
 				_wb.addWork(_fs.find());
 			}
 		}
@@ -724,7 +878,7 @@ final class AliasSet
 		while (_process.hasWork() && !_result) {
 			final AliasSet _as = _process.getWork();
 			_result |= _as.multiThreadAccessibility;
-			for (final AliasSet _fs : _as.getFieldMap().values()) {
+			for (final AliasSet _fs : _as.getFieldAliasSets()) {
 				_process.addWork(_fs.find());
 			}
 		}
@@ -752,8 +906,9 @@ final class AliasSet
 			final AliasSet _as = _wb.getWork();
 			_as.multiThreadAccessibility = true;
 
-			for (final Iterator<AliasSet> _i = _as.fieldMap.values().iterator(); _i.hasNext();) {
-				_wb.addWork(_i.next().find());
+			for (final TIntObjectIterator _i = _as.fieldMap.iterator(); _i.hasNext();) {
+				_i.advance();
+				_wb.addWork(((AliasSet) _i.value()).find());
 			}
 		}
 	}
@@ -833,22 +988,23 @@ final class AliasSet
 
 				if (_fromRep.sigsOfRWSharedFields != null) {
 					if (_toRep.sigsOfRWSharedFields == null) {
-						_toRep.sigsOfRWSharedFields = new HashSet<String>();
+						_toRep.sigsOfRWSharedFields = new BitSet();
 					}
-					_toRep.sigsOfRWSharedFields.addAll(_fromRep.sigsOfRWSharedFields);
+					_toRep.sigsOfRWSharedFields.or(_fromRep.sigsOfRWSharedFields);
 				}
 
 				if (_fromRep.sigsOfWWSharedFields != null) {
 					if (_toRep.sigsOfWWSharedFields == null) {
-						_toRep.sigsOfWWSharedFields = new HashSet<String>();
+						_toRep.sigsOfWWSharedFields = new BitSet();
 					}
-					_toRep.sigsOfWWSharedFields.addAll(_fromRep.sigsOfWWSharedFields);
+					_toRep.sigsOfWWSharedFields.or(_fromRep.sigsOfWWSharedFields);
 				}
 
-				for (final Iterator<String> _i = _toRep.getFieldMap().keySet().iterator(); _i.hasNext();) {
-					final String _field = _i.next();
-					final AliasSet _to = _toRep.getASForField(_field);
-					final AliasSet _from = _fromRep.getASForField(_field);
+				for (final TIntObjectIterator _i = _toRep.fieldMap.iterator(); _i.hasNext();) {
+					_i.advance();
+
+					final AliasSet _to = (AliasSet) _i.value();
+					final AliasSet _from = (AliasSet) _fromRep.fieldMap.get(_i.key());
 
 					if ((_to != null) && (_from != null)) {
 						_wb.addWork(new Pair<AliasSet, AliasSet>(_from, _to));
@@ -858,6 +1014,17 @@ final class AliasSet
 		}
 	}
 
+	/**
+	 * Records the given alias set represents the given field.
+	 * 
+	 * @param fieldId is the id of the field for which the alias set info needs to be recorded.
+	 * @param as is the alias set associated with <code>field</code>
+	 * @pre as != null and fieldId >= 0
+	 */
+	void putASForField(final int fieldId, final AliasSet as) {
+		find().fieldMap.put(fieldId, as);
+	}
+
 	/**
 	 * Records the given alias set represents the given field signature.
 	 * 
@@ -866,7 +1033,7 @@ final class AliasSet
 	 * @pre as != null
 	 */
 	void putASForField(final String field, final AliasSet as) {
-		find().fieldMap.put(field, as);
+		putASForField(fieldIds.getId(field), as);
 	}
 
 	/**
@@ -889,7 +1056,9 @@ final class AliasSet
 	 */
 	boolean readWriteShared(final String fieldSignature) {
 		final AliasSet _rep = find();
-		return readWriteShared() && _rep.sigsOfRWSharedFields.contains(fieldSignature);
+		final int _fieldId = fieldIds.lookupId(fieldSignature);
+		return readWriteShared() && _fieldId != FieldIdTable.UNKNOWN_FIELD && _rep.sigsOfRWSharedFields != null
+				&& _rep.sigsOfRWSharedFields.get(_fieldId);
 	}
 
 	/**
@@ -908,7 +1077,7 @@ final class AliasSet
 		while (_wb.hasWork()) {
 			final AliasSet _a = _wb.getWork();
 			_a.global = true;
-			for (final AliasSet _fs : _a.getFieldMap().values()) {
+			for (final AliasSet _fs : _a.getFieldAliasSets()) {
 				_wb.addWork(_fs.find());
 			}
 		}
@@ -1013,7 +1182,7 @@ final class AliasSet
 	 * @return <code>true</code> if it was read; <code>false</code>, otherwise.
 	 */
 	boolean wasAnyFieldRead() {
-		return !find().readFields.isEmpty();
+		return !isEmpty(find().readFields);
 	}
 
 	/**
@@ -1022,7 +1191,7 @@ final class AliasSet
 	 * @return <code>true</code> if it was written; <code>false</code>, otherwise.
 	 */
 	boolean wasAnyFieldWritten() {
-		return !find().writtenFields.isEmpty();
+		return !isEmpty(find().writtenFields);
 	}
 
 	/**
@@ -1032,7 +1201,9 @@ final class AliasSet
 	 * @return <code>true</code> if it was read; <code>false</code>, otherwise.
 	 */
 	boolean wasFieldRead(final String fieldSig) {
-		return find().readFields.contains(fieldSig);
+		final BitSet _readFields = find().readFields;
+		final int _fieldId = fieldIds.lookupId(fieldSig);
+		return _readFields != null && _fieldId != FieldIdTable.UNKNOWN_FIELD && _readFields.get(_fieldId);
 	}
 
 	/**
@@ -1065,7 +1236,9 @@ final class AliasSet
 	 * @return <code>true</code> if it was read; <code>false</code>, otherwise.
 	 */
 	boolean wasFieldWritten(final String fieldSig) {
-		return find().writtenFields.contains(fieldSig);
+		final BitSet _writtenFields = find().writtenFields;
+		final int _fieldId = fieldIds.lookupId(fieldSig);
+		return _writtenFields != null && _fieldId != FieldIdTable.UNKNOWN_FIELD && _writtenFields.get(_fieldId);
 	}
 
 	/**
@@ -1110,7 +1283,9 @@ final class AliasSet
 	 */
 	boolean writeWriteShared(final String fieldSignature) {
 		final AliasSet _rep = find();
-		return writeWriteShared() && _rep.sigsOfWWSharedFields.contains(fieldSignature);
+		final int _fieldId = fieldIds.lookupId(fieldSignature);
+		return writeWriteShared() && _fieldId != FieldIdTable.UNKNOWN_FIELD && _rep.sigsOfWWSharedFields != null
+				&& _rep.sigsOfWWSharedFields.get(_fieldId);
 	}
 
 	/**
@@ -1160,33 +1335,13 @@ final class AliasSet
 		}
 		represented.writewriteEntities = null;
 
-		if (sigsOfRWSharedFields == null) {
-			sigsOfRWSharedFields = represented.sigsOfRWSharedFields;
-		} else if (represented.sigsOfRWSharedFields != null) {
-			sigsOfRWSharedFields.addAll(represented.sigsOfRWSharedFields);
-		}
+		sigsOfRWSharedFields = merge(sigsOfRWSharedFields, represented.sigsOfRWSharedFields);
 		represented.sigsOfRWSharedFields = null;
-
-		if (sigsOfWWSharedFields == null) {
-			sigsOfWWSharedFields = represented.sigsOfWWSharedFields;
-		} else if (represented.sigsOfWWSharedFields != null) {
-			sigsOfWWSharedFields.addAll(represented.sigsOfWWSharedFields);
-		}
+		sigsOfWWSharedFields = merge(sigsOfWWSharedFields, represented.sigsOfWWSharedFields);
 		represented.sigsOfWWSharedFields = null;
-
-		final Collection<String> _emptySet = Collections.emptySet();
-		if (readFields == _emptySet) {
-			readFields = represented.readFields;
-		} else {
-			readFields.addAll(represented.readFields);
-		}
+		readFields = merge(readFields, represented.readFields);
 		represented.readFields = null;
-
-		if (writtenFields == _emptySet) {
-			writtenFields = represented.writtenFields;
-		} else {
-			writtenFields.addAll(represented.writtenFields);
-		}
+		writtenFields = merge(writtenFields, represented.writtenFields);
 		represented.writtenFields = null;
 	}
 
@@ -1201,19 +1356,18 @@ final class AliasSet
 	 */
 	private boolean recursiveBooleanPropertyDiscovery(final String fieldSig, final ITransformer<AliasSet, Boolean> transformer) {
 		boolean _result = false;
-		final Object _fieldAS = find().fieldMap.get(fieldSig);
+		final AliasSet _fieldAS = getASForField(fieldSig);
 
 		if (_fieldAS != null) {
 			final IWorkBag<AliasSet> _wb = new HistoryAwareFIFOWorkBag<AliasSet>(new HashSet<AliasSet>());
-			_wb.addWork((AliasSet) _fieldAS);
+			_wb.addWork(_fieldAS);
 
 			while (_wb.hasWork() && !_result) {
 				final AliasSet _rep = _wb.getWork();
 				_result |= (transformer.transform(_rep)).booleanValue();
 
 				if (!_result) {
-					final Collection<AliasSet> _values = _rep.getFieldMap().values();
-					_wb.addAllWorkNoDuplicates(CollectionUtils.collect(_values, REPRESENTATIVE_ALIAS_SET_RETRIEVER));
+					addRepresentativesOfFieldsToWorkBag(_rep, _wb);
 				}
 			}
 		}
@@ -1229,10 +1383,11 @@ final class AliasSet
 	 * @pre aliasSet != null
 	 */
 	private void unifyFields(final AliasSet aliasSet, final boolean unifyAll) {
-		for (final Iterator<Map.Entry<String, AliasSet>> _i = aliasSet.fieldMap.entrySet().iterator(); _i.hasNext();) {
-			final Map.Entry<String, AliasSet> _entry = _i.next();
-			final String _field = _entry.getKey();
-			final AliasSet _fieldAS = _entry.getValue();
+		for (final TIntObjectIterator _i = aliasSet.fieldMap.iterator(); _i.hasNext();) {
+			_i.advance();
+
+			final int _field = _i.key();
+			final AliasSet _fieldAS = (AliasSet) _i.value();
 			final AliasSet _repAS = getASForField(_field);
 
 			if (_repAS != null) {
@@ -1279,11 +1434,13 @@ final class AliasSet
 			}
 		}
 
-		if (CollectionUtils.containsAny(readFields, represented.writtenFields)
-				|| CollectionUtils.containsAny(writtenFields, represented.readFields)) {
+		if (intersects(readFields, represented.writtenFields) || intersects(writtenFields, represented.readFields)) {
 			if (readwriteEntities == null) {
 				readwriteEntities = new HashSet<Object>();
-				sigsOfRWSharedFields = new HashSet<String>();
+			}
+
+			if (sigsOfRWSharedFields == null) {
+				sigsOfRWSharedFields = new BitSet();
 			}
 
 			if (readwriteEntities.isEmpty()) {
@@ -1293,14 +1450,17 @@ final class AliasSet
 					readwriteEntities.add(getNewShareEntity());
 				}
 			}
-			sigsOfRWSharedFields.addAll(SetUtils.intersection(readFields, represented.writtenFields));
-			sigsOfRWSharedFields.addAll(SetUtils.intersection(writtenFields, represented.readFields));
+			addIntersection(sigsOfRWSharedFields, readFields, represented.writtenFields);
+			addIntersection(sigsOfRWSharedFields, writtenFields, represented.readFields);
 		}
 
-		if (CollectionUtils.containsAny(writtenFields, represented.writtenFields)) {
+		if (intersects(writtenFields, represented.writtenFields)) {
 			if (writewriteEntities == null) {
 				writewriteEntities = new HashSet<Object>();
-				sigsOfWWSharedFields = new HashSet<String>();
+			}
+
+			if (sigsOfWWSharedFields == null) {
+				sigsOfWWSharedFields = new BitSet();
 			}
 
 			if (writewriteEntities.isEmpty()) {
@@ -1310,7 +1470,7 @@ final class AliasSet
 					writewriteEntities.add(getNewShareEntity());
 				}
 			}
-			sigsOfWWSharedFields.addAll(SetUtils.intersection(writtenFields, represented.writtenFields));
+			addIntersection(sigsOfWWSharedFields, writtenFields, represented.writtenFields);
 		}
 	}
 
@@ -17,7 +17,7 @@
 package edu.ksu.cis.indus.staticanalyses.concurrency.escape;
 
 import edu.ksu.cis.indus.common.collections.CollectionUtils;
-import edu.ksu.cis.indus.common.collections.Stack;
+import edu.ksu.cis.indus.common.soot.CallString;
 import edu.ksu.cis.indus.common.soot.Util;
 import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
 import edu.ksu.cis.indus.processing.Context;
@@ -107,10 +107,10 @@ public class DataAliasBasedCallingContextRetrieverV2
 	 * {@inheritDoc}
 	 * 
 	 * @see DataAliasBasedCallingContextRetriever#getCallerSideToken(java.lang.Object, soot.SootMethod,
-	 *      edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple, edu.ksu.cis.indus.common.collections.Stack)
+	 *      edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple, edu.ksu.cis.indus.common.soot.CallString)
 	 */
 	@Override protected Object getCallerSideToken(final Object token, final SootMethod callee, final CallTriple callsite,
-			@SuppressWarnings("unused") final Stack<CallTriple> calleeCallStack) {
+			@SuppressWarnings("unused") final CallString calleeCallStack) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("getCallerSideToken(Object token = " + token + ", SootMethod callee = " + callee
 					+ ", CallTriple callsite = " + callsite + ") - BEGIN");
@@ -21,19 +21,20 @@ import edu.ksu.cis.indus.common.datastructures.HistoryAwareFIFOWorkBag;
 import edu.ksu.cis.indus.common.datastructures.IWorkBag;
 import edu.ksu.cis.indus.common.datastructures.Pair;
 import edu.ksu.cis.indus.common.datastructures.Triple;
-import edu.ksu.cis.indus.common.soot.BasicBlockGraph;
 import edu.ksu.cis.indus.common.soot.BasicBlockGraphMgr;
-import edu.ksu.cis.indus.common.soot.BasicBlockGraph.BasicBlock;
+import edu.ksu.cis.indus.common.soot.Util;
 import edu.ksu.cis.indus.interfaces.ICallGraphInfo;
 import edu.ksu.cis.indus.interfaces.IEscapeInfo;
+import edu.ksu.cis.indus.interfaces.IIdentification;
 import edu.ksu.cis.indus.interfaces.IReadWriteInfo;
 import edu.ksu.cis.indus.interfaces.IThreadGraphInfo;
 import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
-import edu.ksu.cis.indus.processing.Context;
+import edu.ksu.cis.indus.staticanalyses.Constants;
 import edu.ksu.cis.indus.staticanalyses.cfg.CFGAnalysis;
 import edu.ksu.cis.indus.staticanalyses.interfaces.AbstractAnalysis;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -43,6 +44,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,12 +66,14 @@ import soot.SootField;
 import soot.SootMethod;
 import soot.Type;
 import soot.Value;
+import soot.ValueBox;
 import soot.jimple.ArrayRef;
 import soot.jimple.CaughtExceptionRef;
 import soot.jimple.InstanceFieldRef;
 import soot.jimple.ParameterRef;
 import soot.jimple.StaticFieldRef;
 import soot.jimple.Stmt;
+import soot.jimple.StringConstant;
 import soot.jimple.ThisRef;
 
 /**
@@ -76,13 +89,22 @@ import soot.jimple.ThisRef;
  * href="http://www.cis.ksu.edu/santos/papers/technicalReports/SAnToS-TR2003-6.pdf">Honing the Detection of Interference and
  * Ready Dependence for Slicing Concurrent Java Programs.</a>
  * </p>
+ * <p>
+ * The strongly connected components (SCCs) of the call graph can be processed concurrently (refer to
+ * <code>setParallelism()</code>). In phase 2 (bottom-up), a SCC is processed as soon as all of its callee SCCs have been
+ * processed. In phase 3 (top-down), a SCC is processed as soon as all of its caller SCCs have been processed. SCCs that may
+ * reach alias sets shared across methods (alias sets of static fields and string constants) or that start threads are
+ * processed one after the other in the same order as in sequential processing; hence, the information calculated is the
+ * same as that calculated by sequential processing.
+ * </p>
  * 
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
  * @version $Revision$
  */
 public final class EquivalenceClassBasedEscapeAnalysis
-		extends AbstractAnalysis {
+		extends AbstractAnalysis
+		implements IIdentification {
 
 	/**
 	 * This class retrieves the alias set corresponding to a param/arg position from a method context.
@@ -118,11 +140,6 @@ public final class EquivalenceClassBasedEscapeAnalysis
 		}
 	}
 
-	/*
-	 * xxxCache variables do not capture state of the object. Rather they are used cache values across method calls. Hence,
-	 * any subclasses of this class should not reply on these variables as they may be removed in the future.
-	 */
-
 	/**
 	 * This retrives the site context in a method based on the initialized call-site.
 	 * 
@@ -159,6 +176,68 @@ public final class EquivalenceClassBasedEscapeAnalysis
 		}
 	}
 
+	/**
+	 * This class processes the methods of a SCC in one of the phases and measures the time spent in doing so.
+	 * 
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$
+	 */
+	private final class SCCProcessingTask
+			implements Callable<Long> {
+
+		/**
+		 * This indicates if the methods should be processed bottom-up (phase 2) or top-down (phase 3).
+		 */
+		private final boolean bottomUp;
+
+		/**
+		 * The locks that guard the method contexts of the methods in the SCCs.
+		 */
+		private final Lock[] locks;
+
+		/**
+		 * The methods in the SCC.
+		 */
+		private final List<SootMethod> methods;
+
+		/**
+		 * Creates an instance of this class.
+		 * 
+		 * @param scc is the collection of methods to process.
+		 * @param phase2 <code>true</code> indicates the methods should be processed bottom-up; <code>false</code>, top-down.
+		 * @param sccLocks guard the method contexts of the methods in the SCCs.
+		 * @pre scc != null and sccLocks != null
+		 */
+		SCCProcessingTask(final List<SootMethod> scc, final boolean phase2, final Lock[] sccLocks) {
+			methods = scc;
+			bottomUp = phase2;
+			locks = sccLocks;
+		}
+
+		/**
+		 * Processes the methods.
+		 * 
+		 * @return the time spent in processing (in nanoseconds).
+		 */
+		public Long call() {
+			final long _start = System.nanoTime();
+
+			if (bottomUp) {
+				final MethodProcessor _processor = new MethodProcessor(EquivalenceClassBasedEscapeAnalysis.this);
+
+				for (final Iterator<SootMethod> _i = methods.iterator(); _i.hasNext();) {
+					_processor.process(_i.next());
+				}
+			} else {
+				for (final Iterator<SootMethod> _i = methods.iterator(); _i.hasNext();) {
+					propogateInfoToCallees(_i.next(), locks);
+				}
+			}
+			return Long.valueOf(System.nanoTime() - _start);
+		}
+	}
+
 	/**
 	 * The id of this analysis.
 	 */
@@ -190,16 +269,9 @@ public final class EquivalenceClassBasedEscapeAnalysis
 	final Map<SootClass, AliasSet> class2aliasSet;
 
 	/**
-	 * This provides context information pertaining to caller-callee relation across method calls. The method stored in the
-	 * context is the caller. The statement is one in which invocation occurs. The program point is at which place the
-	 * invocation happens.
+	 * This provides the ids of the fields accessed in the analyzed system.
 	 */
-	final Context context;
-
-	/**
-	 * This is a cache variable that holds local alias set map between method calls.
-	 */
-	Map<Local, AliasSet> localASsCache;
+	final FieldIdTable fieldIdTable = new FieldIdTable();
 
 	/**
 	 * This maps a method to a triple containing the method context, the alias sets for the locals in the method (key), and
@@ -207,41 +279,46 @@ public final class EquivalenceClassBasedEscapeAnalysis
 	 */
 	final Map<SootMethod, Triple<MethodContext, Map<Local, AliasSet>, Map<CallTriple, MethodContext>>> method2Triple;
 
-	/**
-	 * This is a cache variable that holds method context map between method calls.
-	 */
-	MethodContext methodCtxtCache;
-
 	/**
 	 * This maintains a cache of query to alias set.
 	 */
 	final Map<Pair<AliasSet, String[]>, AliasSet> query2handle = new WeakHashMap<Pair<AliasSet, String[]>, AliasSet>();
 
 	/**
-	 * This is a cache variable that holds site context map between method calls.
+	 * This maps string constant AST nodes to alias sets.
 	 */
-	Map<CallTriple, MethodContext> scCache;
+	final Map<StringConstant, AliasSet> stringConstant2aliasSet;
 
 	/**
-	 * This is the statement processor used to analyze the methods.
+	 * This provides thread-graph information.
 	 */
-	final StmtProcessor stmtProcessor;
+	final IThreadGraphInfo tgi;
 
 	/**
-	 * This provides thread-graph information.
+	 * The parallelism achieved in phase 2 during the last run of the analysis.
 	 */
-	final IThreadGraphInfo tgi;
+	private double achievedParallelismInPhase2 = 1;
 
 	/**
-	 * This is the <code>Value</code> processor used to process Jimple pieces that make up the methods.
+	 * The parallelism achieved in phase 3 during the last run of the analysis.
 	 */
-	final ValueProcessor valueProcessor;
+	private double achievedParallelismInPhase3 = 1;
 
 	/**
 	 * This is the object that exposes object escape info calculated by this instance.
 	 */
 	private final EscapeInfo escapeInfo;
 
+	/**
+	 * This maps methods to the index of the SCC they belong to in the bottom-up order of SCCs.
+	 */
+	private final Map<SootMethod, Integer> method2sccIndex;
+
+	/**
+	 * This is the method processor used to analyze the methods sequentially.
+	 */
+	private final MethodProcessor methodProcessor;
+
 	/**
 	 * At the end of phase2, this indicates if the system contains multiple threads.
 	 */
@@ -252,6 +329,11 @@ public final class EquivalenceClassBasedEscapeAnalysis
 	 */
 	private final ReadWriteInfo objectReadWriteInfo;
 
+	/**
+	 * The number of SCCs that may be processed concurrently.
+	 */
+	private int parallelism;
+
 	/**
 	 * Creates a new EquivalenceClassBasedEscapeAnalysis object. The default value for escapes, reads, and writes is set to
 	 * <code>true</code>, <code>false</code>, and <code>false</code>, respectively.
@@ -267,14 +349,16 @@ public final class EquivalenceClassBasedEscapeAnalysis
 		cgi = callgraph;
 		tgi = threadgraph;
 		class2aliasSet = new HashMap<SootClass, AliasSet>();
-		method2Triple = new HashMap<SootMethod, Triple<MethodContext, Map<Local, AliasSet>, Map<CallTriple, MethodContext>>>();
-		stmtProcessor = new StmtProcessor(this);
-		valueProcessor = new ValueProcessor(this);
+		method2Triple = new ConcurrentHashMap<SootMethod,
+				Triple<MethodContext, Map<Local, AliasSet>, Map<CallTriple, MethodContext>>>();
+		method2sccIndex = new HashMap<SootMethod, Integer>();
+		stringConstant2aliasSet = new HashMap<StringConstant, AliasSet>();
 		bbm = basicBlockGraphMgr;
-		context = new Context();
 		cfgAnalysis = new CFGAnalysis(cgi, bbm);
 		escapeInfo = new EscapeInfo(this);
 		objectReadWriteInfo = new ReadWriteInfo(this);
+		methodProcessor = new MethodProcessor(this);
+		parallelism = Constants.getParallelismForEscapeAnalysis();
 	}
 
 	/**
@@ -305,12 +389,26 @@ public final class EquivalenceClassBasedEscapeAnalysis
 		multiThreadedSystem = false;
 
 		final List<List<SootMethod>> _sccs = new ArrayList<List<SootMethod>>(cgi.getSCCs(false));
+		method2sccIndex.clear();
 
-		performPhase2(_sccs);
+		final int _iEnd = _sccs.size();
+		for (int _i = 0; _i < _iEnd; _i++) {
+			final Integer _index = Integer.valueOf(_i);
 
-		Collections.reverse(_sccs);
+			for (final Iterator<SootMethod> _j = _sccs.get(_i).iterator(); _j.hasNext();) {
+				method2sccIndex.put(_j.next(), _index);
+			}
+		}
+
+		if (parallelism > 1) {
+			performPhasesConcurrently(_sccs);
+		} else {
+			performPhase2(_sccs);
+
+			Collections.reverse(_sccs);
 
-		performPhase3(_sccs);
+			performPhase3(_sccs);
+		}
 
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("analyze() - " + toString());
@@ -341,6 +439,26 @@ public final class EquivalenceClassBasedEscapeAnalysis
 		}
 	}
 
+	/**
+	 * Retrieves the parallelism achieved in phase 2 (bottom-up) during the last run of the analysis. This is the ratio of the
+	 * time spent in processing the SCCs to the time elapsed in the phase.
+	 * 
+	 * @return the achieved parallelism.
+	 */
+	public double getAchievedParallelismInPhase2() {
+		return achievedParallelismInPhase2;
+	}
+
+	/**
+	 * Retrieves the parallelism achieved in phase 3 (top-down) during the last run of the analysis. This is the ratio of the
+	 * time spent in processing the SCCs to the time elapsed in the phase.
+	 * 
+	 * @return the achieved parallelism.
+	 */
+	public double getAchievedParallelismInPhase3() {
+		return achievedParallelismInPhase3;
+	}
+
 	/**
 	 * Retrieves escape info provider.
 	 * 
@@ -351,6 +469,26 @@ public final class EquivalenceClassBasedEscapeAnalysis
 		return escapeInfo;
 	}
 
+	/**
+	 * Retrieves the ids of this analysis. Besides its own id, this analysis provides escape information via
+	 * <code>getEscapeInfo()</code>.
+	 * 
+	 * @see edu.ksu.cis.indus.interfaces.IIdentification#getIds()
+	 */
+	public Collection<? extends Comparable<?>> getIds() {
+		return Arrays.<Comparable<?>> asList(ID, IEscapeInfo.ID);
+	}
+
+	/**
+	 * Retrieves the number of SCCs that may be processed concurrently.
+	 * 
+	 * @return the number of SCCs.
+	 * @post result >= 1
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
 	/**
 	 * Retrieves read-write info provider.
 	 * 
@@ -443,9 +581,13 @@ public final class EquivalenceClassBasedEscapeAnalysis
 	 */
 	@Override public void reset() {
 		super.reset();
+		escapeInfo.unstableAdapter();
+		objectReadWriteInfo.unstableAdapter();
 		class2aliasSet.clear();
+		fieldIdTable.reset();
 		method2Triple.clear();
-		valueProcessor.reset();
+		method2sccIndex.clear();
+		stringConstant2aliasSet.clear();
 	}
 
 	/**
@@ -457,6 +599,19 @@ public final class EquivalenceClassBasedEscapeAnalysis
 		escapeInfo.escapesDefaultValue = value;
 	}
 
+	/**
+	 * Sets the number of SCCs that may be processed concurrently.
+	 * 
+	 * @param sccs is the number of SCCs.
+	 * @throws IllegalArgumentException when <code>sccs</code> is not positive.
+	 */
+	public void setParallelism(final int sccs) {
+		if (sccs < 1) {
+			throw new IllegalArgumentException("The number of concurrently processed SCCs should be positive - " + sccs);
+		}
+		parallelism = sccs;
+	}
+
 	/**
 	 * Sets the default value to be returned on unanswerable access-path based read queries.
 	 * 
@@ -513,7 +668,7 @@ public final class EquivalenceClassBasedEscapeAnalysis
 		AliasSet _result = class2aliasSet.get(declaringClass);
 
 		if (_result == null) {
-			_result = AliasSet.getASForType(declaringClass.getType());
+			_result = AliasSet.getASForType(declaringClass.getType(), fieldIdTable);
 			class2aliasSet.put(declaringClass, _result);
 		}
 		return _result;
@@ -595,6 +750,19 @@ public final class EquivalenceClassBasedEscapeAnalysis
 		multiThreadedSystem = true;
 	}
 
+	/**
+	 * Checks if the given methods belong to different SCCs of the call graph.
+	 * 
+	 * @param method1 is one of the methods of interest.
+	 * @param method2 is the other method of interest.
+	 * @return <code>true</code> if the methods do not belong to the same SCC; <code>false</code>, otherwise.
+	 * @pre method1 != null and method2 != null
+	 */
+	boolean notInSameSCC(final SootMethod method1, final SootMethod method2) {
+		final Integer _index = method2sccIndex.get(method1);
+		return _index == null || !_index.equals(method2sccIndex.get(method2));
+	}
+
 	/**
 	 * Retrieves the alias set for the given soot class. This will not create an alias set if none exists for the given class.
 	 * 
@@ -703,50 +871,31 @@ public final class EquivalenceClassBasedEscapeAnalysis
 	}
 
 	/**
-	 * Rewires the method context, local variable alias sets, and site contexts such that they contain only representative
-	 * alias sets and no the nominal(indirectional) alias sets.
+	 * Checks if the processing of the given method may access alias sets that are shared across methods. This is the case
+	 * when the method accesses static fields or string constants or when it may start threads.
 	 * 
-	 * @param method for which this processing should occur.
+	 * @param method of interest.
+	 * @return <code>true</code> if the method may access shared alias sets; <code>false</code>, otherwise.
 	 * @pre method != null
 	 */
-	private void discardReferentialAliasSets(final SootMethod method) {
-		if (localASsCache.isEmpty()) {
-			localASsCache = Collections.emptyMap();
-		} else {
-			for (final Iterator<Map.Entry<Local, AliasSet>> _i = localASsCache.entrySet().iterator(); _i.hasNext();) {
-				final Map.Entry<Local, AliasSet> _entry = _i.next();
-				final AliasSet _as = _entry.getValue();
-				final AliasSet _equiv = _as.find();
+	private boolean accessesSharedAliasSets(final SootMethod method) {
+		boolean _result = false;
 
-				if (_equiv != _as) {
-					_entry.setValue(_equiv);
-				}
-			}
+		for (final Iterator<CallTriple> _i = cgi.getCallees(method).iterator(); _i.hasNext() && !_result;) {
+			_result = Util.isStartMethod(_i.next().getMethod());
 		}
 
-		if (scCache.isEmpty()) {
-			scCache = Collections.emptyMap();
-		} else {
-			for (final Iterator<Map.Entry<CallTriple, MethodContext>> _i = scCache.entrySet().iterator(); _i.hasNext();) {
-				final Map.Entry<CallTriple, MethodContext> _entry = _i.next();
-				final MethodContext _mc = _entry.getValue();
-				final MethodContext _mcRep = _mc.find();
+		if (!_result && method.isConcrete()) {
+			for (final Iterator<?> _i = method.retrieveActiveBody().getUnits().iterator(); _i.hasNext() && !_result;) {
+				final Stmt _stmt = (Stmt) _i.next();
 
-				if (_mcRep != _mc) {
-					_entry.setValue(_mcRep);
+				for (final Iterator<?> _j = _stmt.getUseAndDefBoxes().iterator(); _j.hasNext() && !_result;) {
+					final Value _v = ((ValueBox) _j.next()).getValue();
+					_result = _v instanceof StaticFieldRef || _v instanceof StringConstant;
 				}
-				_mcRep.discardReferentialAliasSets();
 			}
 		}
-		methodCtxtCache.discardReferentialAliasSets();
-		methodCtxtCache.find(); // cleanup mere indirection contexts.
-
-		/*
-		 * We don't store methodCtxtCache.find() in the triple as we need access to the original context for handling null
-		 * argument scenarios. Read about "null-arguments scenario" in ValueProcessor.
-		 */
-		method2Triple.put(method, new Triple<MethodContext, Map<Local, AliasSet>, Map<CallTriple, MethodContext>>(
-				methodCtxtCache, localASsCache, scCache));
+		return _result;
 	}
 
 	/**
@@ -755,104 +904,179 @@ public final class EquivalenceClassBasedEscapeAnalysis
 	 * @param sccsInBottomUpOrder is the SCCs in bottom up order.
 	 */
 	private void performPhase2(final List<List<SootMethod>> sccsInBottomUpOrder) {
-		final Collection<BasicBlock> _processed = new HashSet<BasicBlock>();
-		final IWorkBag<BasicBlock> _wb = new HistoryAwareFIFOWorkBag<BasicBlock>(_processed);
-
 		// Phase 2: The SCCs are ordered bottom up.
 		for (final Iterator<List<SootMethod>> _i = sccsInBottomUpOrder.iterator(); _i.hasNext();) {
 			final List<SootMethod> _nodes = _i.next();
 
 			for (final Iterator<SootMethod> _j = _nodes.iterator(); _j.hasNext();) {
-				final SootMethod _sm = _j.next();
+				methodProcessor.process(_j.next());
+			}
+		}
 
-				if (LOGGER.isDebugEnabled()) {
-					LOGGER.debug("Bottom-up processing method " + _sm);
-				}
+		unifyGlobalAliasSetsOfMultiThreadedSystem();
+	}
 
-				final Triple<MethodContext, Map<Local, AliasSet>, Map<CallTriple, MethodContext>> _triple = getMethodInfo(_sm);
+	/**
+	 * Performs phase 3 processing as described in the paper described in the documentation of this class.
+	 * 
+	 * @param sccsInTopDownOrder is the SCCs in top-down order.
+	 */
+	private void performPhase3(final List<List<SootMethod>> sccsInTopDownOrder) {
+		// Phase 3: The SCCs are ordered top down.
+		for (final Iterator<List<SootMethod>> _i = sccsInTopDownOrder.iterator(); _i.hasNext();) {
+			final List<SootMethod> _nodes = _i.next();
 
-				if (!_sm.isConcrete()) {
-					if (LOGGER.isWarnEnabled()) {
-						LOGGER.warn("NO BODY: " + _sm.getSignature());
-					}
+			for (final Iterator<SootMethod> _j = _nodes.iterator(); _j.hasNext();) {
+				propogateInfoToCallees(_j.next(), null);
+			}
+		}
+	}
 
-					continue;
-				}
+	/**
+	 * Performs phase 2 and 3 by processing the SCCs concurrently. A SCC is processed in phase 2 (3) once all of it's callee
+	 * (caller) SCCs have been processed. SCCs that may reach alias sets shared across methods are chained in the given order
+	 * so that they are processed one after the other in the same order as in sequential processing.
+	 * 
+	 * @param sccsInBottomUpOrder is the SCCs in bottom up order.
+	 * @pre sccsInBottomUpOrder != null
+	 */
+	private void performPhasesConcurrently(final List<List<SootMethod>> sccsInBottomUpOrder) {
+		final int _noOfSCCs = sccsInBottomUpOrder.size();
+		final List<Collection<Integer>> _callees = new ArrayList<Collection<Integer>>(_noOfSCCs);
+		final List<Collection<Integer>> _callers = new ArrayList<Collection<Integer>>(_noOfSCCs);
+		final boolean[] _shared = new boolean[_noOfSCCs];
+		final IWorkBag<Integer> _wb = new HistoryAwareFIFOWorkBag<Integer>(new HashSet<Integer>());
+
+		for (int _i = 0; _i < _noOfSCCs; _i++) {
+			_callees.add(new HashSet<Integer>());
+			_callers.add(new HashSet<Integer>());
+		}
 
-				methodCtxtCache = _triple.getFirst();
-				localASsCache = _triple.getSecond();
-				scCache = _triple.getThird();
-				context.setRootMethod(_sm);
+		for (int _i = 0; _i < _noOfSCCs; _i++) {
+			final Integer _index = Integer.valueOf(_i);
 
-				final BasicBlockGraph _bbg = bbm.getBasicBlockGraph(_sm);
-				_wb.clear();
-				_processed.clear();
-				_wb.addWork(_bbg.getHead());
+			for (final Iterator<SootMethod> _j = sccsInBottomUpOrder.get(_i).iterator(); _j.hasNext();) {
+				final SootMethod _sm = _j.next();
 
-				while (_wb.hasWork()) {
-					final BasicBlock _bb = _wb.getWork();
+				// method infos are created upfront as they are looked up concurrently during processing.
+				getMethodInfo(_sm);
 
-					for (final Iterator<Stmt> _k = _bb.getStmtsOf().iterator(); _k.hasNext();) {
-						final Stmt _stmt = _k.next();
-						context.setStmt(_stmt);
-						stmtProcessor.process(_stmt);
-					}
-					_wb.addAllWorkNoDuplicates(_bb.getSuccsOf());
+				if (accessesSharedAliasSets(_sm)) {
+					_wb.addWorkNoDuplicates(_index);
 				}
 
-				// discard alias sets that serve as a mere indirection level.
-				discardReferentialAliasSets(_sm);
+				for (final Iterator<CallTriple> _k = cgi.getCallees(_sm).iterator(); _k.hasNext();) {
+					final Integer _callee = method2sccIndex.get(_k.next().getMethod());
+
+					if (_callee != null && !_callee.equals(_index)) {
+						_callees.get(_i).add(_callee);
+						_callers.get(_callee.intValue()).add(_index);
+					}
+				}
 			}
 		}
 
-		if (multiThreadedSystem) {
-			for (final Iterator<AliasSet> _i = class2aliasSet.values().iterator(); _i.hasNext();) {
-				final AliasSet _as = _i.next();
-				_as.markAsCrossingThreadBoundary();
-				AliasSet.selfUnify(_as);
+		// callers of SCCs that may reach shared alias sets may reach shared alias sets via the callee contexts.
+		while (_wb.hasWork()) {
+			final Integer _index = _wb.getWork();
+			_shared[_index.intValue()] = true;
+			_wb.addAllWorkNoDuplicates(_callers.get(_index.intValue()));
+		}
+
+		int _previous = -1;
+		int _noOfSharedSCCs = 0;
+
+		for (int _i = 0; _i < _noOfSCCs; _i++) {
+			if (_shared[_i]) {
+				if (_previous != -1) {
+					_callers.get(_previous).add(Integer.valueOf(_i));
+					_callees.get(_i).add(Integer.valueOf(_previous));
+				}
+				_previous = _i;
+				_noOfSharedSCCs++;
 			}
 		}
+
+		achievedParallelismInPhase2 = processSCCsConcurrently(sccsInBottomUpOrder, _callers, true, null);
+		unifyGlobalAliasSetsOfMultiThreadedSystem();
+
+		final Lock[] _locks = new Lock[_noOfSCCs];
+
+		for (int _i = 0; _i < _noOfSCCs; _i++) {
+			_locks[_i] = new ReentrantLock();
+		}
+
+		achievedParallelismInPhase3 = processSCCsConcurrently(sccsInBottomUpOrder, _callees, false, _locks);
+
+		if (LOGGER.isInfoEnabled()) {
+			LOGGER.info("Processed " + _noOfSCCs + " SCCs (" + _noOfSharedSCCs + " serialized) with " + parallelism
+					+ " workers - achieved parallelism: phase 2 = " + achievedParallelismInPhase2 + ", phase 3 = "
+					+ achievedParallelismInPhase3);
+		}
 	}
 
 	/**
-	 * Performs phase 3 processing as described in the paper described in the documentation of this class.
+	 * Processes the given SCCs concurrently. A SCC is processed once all the SCCs that it depends on have been processed.
 	 * 
-	 * @param sccsInTopDownOrder is the SCCs in top-down order.
+	 * @param sccs is the SCCs to be processed.
+	 * @param dependents maps the index of a SCC to the indices of the SCCs that depend on it.
+	 * @param bottomUp <code>true</code> indicates phase 2 processing; <code>false</code> indicates phase 3 processing.
+	 * @param locks guard the method contexts of the methods in the SCCs. This is required only for phase 3 processing.
+	 * @return the achieved parallelism, i.e., the ratio of the time spent in processing the SCCs to the elapsed time.
+	 * @throws RuntimeException when the processing of a SCC fails or is interrupted.
+	 * @pre sccs != null and dependents != null and dependents.size() = sccs.size()
 	 */
-	private void performPhase3(final List<List<SootMethod>> sccsInTopDownOrder) {
-		// Phase 2: The SCCs are ordered bottom up.
-		for (final Iterator<List<SootMethod>> _i = sccsInTopDownOrder.iterator(); _i.hasNext();) {
-			final List<SootMethod> _nodes = _i.next();
+	private double processSCCsConcurrently(final List<List<SootMethod>> sccs, final List<Collection<Integer>> dependents,
+			final boolean bottomUp, final Lock[] locks) {
+		final int _noOfSCCs = sccs.size();
+		final int[] _pending = new int[_noOfSCCs];
+
+		for (final Iterator<Collection<Integer>> _i = dependents.iterator(); _i.hasNext();) {
+			for (final Iterator<Integer> _j = _i.next().iterator(); _j.hasNext();) {
+				_pending[_j.next().intValue()]++;
+			}
+		}
 
-			for (final Iterator<SootMethod> _j = _nodes.iterator(); _j.hasNext();) {
-				final SootMethod _caller = _j.next();
-				if (LOGGER.isDebugEnabled()) {
-					LOGGER.debug("Top-down processing method : CALLER : " + _caller);
+		final ExecutorService _executor = Executors.newFixedThreadPool(parallelism);
+		final CompletionService<Long> _service = new ExecutorCompletionService<Long>(_executor);
+		final Map<Future<Long>, Integer> _running = new HashMap<Future<Long>, Integer>();
+		final long _start = System.nanoTime();
+		long _busy = 0;
+
+		try {
+			for (int _i = 0; _i < _noOfSCCs; _i++) {
+				if (_pending[_i] == 0) {
+					_running.put(_service.submit(new SCCProcessingTask(sccs.get(_i), bottomUp, locks)), Integer.valueOf(_i));
 				}
+			}
 
-				final Triple<MethodContext, Map<Local, AliasSet>, Map<CallTriple, MethodContext>> _callerTriple = method2Triple
-						.get(_caller);
-				final Map<CallTriple, MethodContext> _ctrp2sc = _callerTriple.getThird();
-				final Collection<CallTriple> _callees = cgi.getCallees(_caller);
+			while (!_running.isEmpty()) {
+				final Future<Long> _future = _service.take();
+				final Integer _index = _running.remove(_future);
+				_busy += _future.get().longValue();
 
-				for (final Iterator<CallTriple> _k = _callees.iterator(); _k.hasNext();) {
-					final CallTriple _ctrp = _k.next();
-					final SootMethod _callee = _ctrp.getMethod();
+				for (final Iterator<Integer> _i = dependents.get(_index.intValue()).iterator(); _i.hasNext();) {
+					final Integer _dependent = _i.next();
+					final int _d = _dependent.intValue();
+					_pending[_d]--;
 
-					if (LOGGER.isDebugEnabled()) {
-						LOGGER.debug("Top-down processing : CALLEE : " + _callee);
+					if (_pending[_d] == 0) {
+						_running.put(_service.submit(new SCCProcessingTask(sccs.get(_d), bottomUp, locks)), _dependent);
 					}
-
-					final Triple<MethodContext, Map<Local, AliasSet>, Map<CallTriple, MethodContext>> _calleeTriple;
-					_calleeTriple = method2Triple.get(_callee);
-
-					final MethodContext _calleeMethodContext = _calleeTriple.getFirst();
-					final CallTriple _callerTrp = new CallTriple(_caller, _ctrp.getStmt(), _ctrp.getExpr());
-					final MethodContext _calleeSiteContext = _ctrp2sc.get(_callerTrp);
-					_calleeSiteContext.propogateInfoFromTo(_calleeMethodContext);
 				}
 			}
+		} catch (final InterruptedException _e) {
+			LOGGER.error("Interrupted while waiting on the processing of SCCs.", _e);
+			throw new RuntimeException(_e);
+		} catch (final ExecutionException _e) {
+			LOGGER.error("Processing of a SCC failed.", _e.getCause());
+			throw new RuntimeException(_e.getCause());
+		} finally {
+			_executor.shutdownNow();
 		}
+
+		final long _elapsed = System.nanoTime() - _start;
+		return _elapsed > 0 ? (double) _busy / _elapsed : 1;
 	}
 
 	/**
@@ -868,7 +1092,7 @@ public final class EquivalenceClassBasedEscapeAnalysis
 			while (_wb.hasWork()) {
 				final AliasSet _a = _wb.getWork();
 				_a.setGlobal();
-				for (final AliasSet _fs : _a.getFieldMap().values()) {
+				for (final AliasSet _fs : _a.getFieldAliasSets()) {
 					_wb.addWork(_fs.find());
 				}
 			}
@@ -920,7 +1144,7 @@ public final class EquivalenceClassBasedEscapeAnalysis
 					_read |= _a.wasAnyFieldRead();
 					_written |= _a.wasAnyFieldWritten();
 				}
-				for (final AliasSet _fs : _a.getFieldMap().values()) {
+				for (final AliasSet _fs : _a.getFieldAliasSets()) {
 					_wb.addWork(_fs.find());
 				}
 			}
@@ -935,6 +1159,69 @@ public final class EquivalenceClassBasedEscapeAnalysis
 		}
 	}
 
+
+	/**
+	 * Propogates the information from the site contexts in the given caller to the method contexts of the callees.
+	 * 
+	 * @param caller of interest.
+	 * @param locks guard the method contexts of the methods in the SCCs. If non-<code>null</code>, the lock of the SCC of a
+	 *            callee is held while propogating information to it from a different SCC.
+	 * @pre caller != null
+	 */
+	private void propogateInfoToCallees(final SootMethod caller, final Lock[] locks) {
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Top-down processing method : CALLER : " + caller);
+		}
+
+		final Triple<MethodContext, Map<Local, AliasSet>, Map<CallTriple, MethodContext>> _callerTriple = method2Triple
+				.get(caller);
+		final Map<CallTriple, MethodContext> _ctrp2sc = _callerTriple.getThird();
+		final Collection<CallTriple> _callees = cgi.getCallees(caller);
+
+		for (final Iterator<CallTriple> _k = _callees.iterator(); _k.hasNext();) {
+			final CallTriple _ctrp = _k.next();
+			final SootMethod _callee = _ctrp.getMethod();
+
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Top-down processing : CALLEE : " + _callee);
+			}
+
+			final Triple<MethodContext, Map<Local, AliasSet>, Map<CallTriple, MethodContext>> _calleeTriple;
+			_calleeTriple = method2Triple.get(_callee);
+
+			final MethodContext _calleeMethodContext = _calleeTriple.getFirst();
+			final CallTriple _callerTrp = new CallTriple(caller, _ctrp.getStmt(), _ctrp.getExpr());
+			final MethodContext _calleeSiteContext = _ctrp2sc.get(_callerTrp);
+
+			final Integer _calleeIndex = method2sccIndex.get(_callee);
+
+			if (locks != null && _calleeIndex != null && notInSameSCC(caller, _callee)) {
+				final Lock _lock = locks[_calleeIndex.intValue()];
+				_lock.lock();
+
+				try {
+					_calleeSiteContext.propogateInfoFromTo(_calleeMethodContext);
+				} finally {
+					_lock.unlock();
+				}
+			} else {
+				_calleeSiteContext.propogateInfoFromTo(_calleeMethodContext);
+			}
+		}
+	}
+
+	/**
+	 * Marks the alias sets of the classes as crossing thread boundary if the system is multithreaded. This concludes phase 2.
+	 */
+	private void unifyGlobalAliasSetsOfMultiThreadedSystem() {
+		if (multiThreadedSystem) {
+			for (final Iterator<AliasSet> _i = class2aliasSet.values().iterator(); _i.hasNext();) {
+				final AliasSet _as = _i.next();
+				_as.markAsCrossingThreadBoundary();
+				AliasSet.selfUnify(_as);
+			}
+		}
+	}
 }
 
 // End of File
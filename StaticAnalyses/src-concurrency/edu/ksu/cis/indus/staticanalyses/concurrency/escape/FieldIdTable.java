@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.concurrency.escape;
+
+import gnu.trove.TObjectIntHashMap;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * This class interns field signatures as small non-negative integers. Alias sets key their field maps and record read,
+ * written, and shared fields by these ids. Hence, unification of alias sets compares and merges integers and bitsets instead
+ * of hashing signature strings.
+ * <p>
+ * Each escape analysis owns a table and the ids are stable until the analysis is reset. This class is thread-safe.
+ * </p>
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$
+ */
+final class FieldIdTable {
+
+	/**
+	 * The id of signatures that have not been interned.
+	 */
+	static final int UNKNOWN_FIELD = -1;
+
+	/**
+	 * This maps ids to signatures.
+	 */
+	private final List<String> id2signature = new ArrayList<String>();
+
+	/**
+	 * This maps signatures to ids.
+	 */
+	private final TObjectIntHashMap signature2id = new TObjectIntHashMap();
+
+	/**
+	 * Creates an instance of this class.
+	 */
+	FieldIdTable() {
+		super();
+	}
+
+	/**
+	 * Retrieves the id of the given signature. The signature is interned if required.
+	 * 
+	 * @param signature of the field.
+	 * @return the id of the signature.
+	 * @pre signature != null
+	 * @post result >= 0 and getSignature(result).equals(signature)
+	 */
+	synchronized int getId(final String signature) {
+		final int _result;
+
+		if (signature2id.containsKey(signature)) {
+			_result = signature2id.get(signature);
+		} else {
+			_result = id2signature.size();
+			id2signature.add(signature);
+			signature2id.put(signature, _result);
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the signature with the given id.
+	 * 
+	 * @param id of the signature.
+	 * @return the signature.
+	 * @pre 0 &lt;= id and id &lt; number of interned signatures
+	 * @post result != null
+	 */
+	synchronized String getSignature(final int id) {
+		return id2signature.get(id);
+	}
+
+	/**
+	 * Retrieves the signatures with the given ids.
+	 * 
+	 * @param ids of the signatures. This may be <code>null</code> to indicate no ids.
+	 * @return the signatures.
+	 * @post result != null
+	 */
+	synchronized Collection<String> getSignatures(final BitSet ids) {
+		final Collection<String> _result = new ArrayList<String>();
+
+		if (ids != null) {
+			for (int _i = ids.nextSetBit(0); _i >= 0; _i = ids.nextSetBit(_i + 1)) {
+				_result.add(id2signature.get(_i));
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the id of the given signature without interning it.
+	 * 
+	 * @param signature of the field.
+	 * @return the id of the signature; <code>UNKNOWN_FIELD</code> if the signature has not been interned.
+	 * @pre signature != null
+	 */
+	synchronized int lookupId(final String signature) {
+		final int _result;
+
+		if (signature2id.containsKey(signature)) {
+			_result = signature2id.get(signature);
+		} else {
+			_result = UNKNOWN_FIELD;
+		}
+		return _result;
+	}
+
+	/**
+	 * Forgets all interned signatures.
+	 */
+	synchronized void reset() {
+		id2signature.clear();
+		signature2id.clear();
+	}
+}
+
+// End of File
@@ -29,7 +29,6 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.apache.commons.lang.builder.ToStringBuilder;
 import org.slf4j.Logger;
@@ -155,18 +154,18 @@ final class MethodContext
 			argAliasSets = new ArrayList<AliasSet>(_paramCount);
 
 			for (int _i = 0; _i < _paramCount; _i++) {
-				argAliasSets.add(AliasSet.getASForType(sm.getParameterType(_i)));
+				argAliasSets.add(AliasSet.getASForType(sm.getParameterType(_i), ecba.fieldIdTable));
 			}
 		} else {
 			argAliasSets = Collections.emptyList();
 		}
 
 		final Type _retType = sm.getReturnType();
-		ret = AliasSet.getASForType(_retType);
-		thrown = AliasSet.createAliasSet();
+		ret = AliasSet.getASForType(_retType, ecba.fieldIdTable);
+		thrown = AliasSet.createAliasSet(ecba.fieldIdTable);
 
 		if (!sm.isStatic()) {
-			thisAS = AliasSet.createAliasSet();
+			thisAS = AliasSet.createAliasSet(ecba.fieldIdTable);
 			if (sm.isSynchronized()) {
 				thisAS.setLocked();
 			}
@@ -189,13 +188,10 @@ final class MethodContext
 		while (_wb.hasWork()) {
 			final AliasSet _src = _wb.getWork();
 			final AliasSet _clone = src2clone.get(_src);
-			final Map<String, AliasSet> _srcASFieldMap = _src.getFieldMap();
-			final Set<String> _srcASFields = _srcASFieldMap.keySet();
-			final Iterator<String> _i = _srcASFields.iterator();
-			final int _iEnd = _srcASFields.size();
+			final int[] _srcASFields = _src.getFieldIds();
 
-			for (int _iIndex = 0; _iIndex < _iEnd; _iIndex++) {
-				final String _field = _i.next();
+			for (int _iIndex = 0; _iIndex < _srcASFields.length; _iIndex++) {
+				final int _field = _srcASFields[_iIndex];
 
 				/*
 				 * We use the representative alias set as it is possible that a field may have 2 alias sets in different
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.concurrency.escape;
+
+import edu.ksu.cis.indus.common.datastructures.HistoryAwareFIFOWorkBag;
+import edu.ksu.cis.indus.common.datastructures.IWorkBag;
+import edu.ksu.cis.indus.common.datastructures.Triple;
+import edu.ksu.cis.indus.common.soot.BasicBlockGraph;
+import edu.ksu.cis.indus.common.soot.BasicBlockGraph.BasicBlock;
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+import edu.ksu.cis.indus.processing.Context;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+
+import soot.Local;
+import soot.SootMethod;
+import soot.jimple.Stmt;
+
+/**
+ * This class processes the bodies of methods during the bottom-up phase (phase 2) of escape analysis. It holds the state
+ * that is specific to the method being processed. Hence, methods can be processed concurrently by different instances of
+ * this class.
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$
+ */
+final class MethodProcessor {
+
+	/*
+	 * xxxCache variables do not capture state of the object. Rather they are used cache values across method calls. Hence,
+	 * any subclasses of this class should not reply on these variables as they may be removed in the future.
+	 */
+
+	/**
+	 * This provides context information pertaining to caller-callee relation across method calls. The method stored in the
+	 * context is the caller. The statement is one in which invocation occurs. The program point is at which place the
+	 * invocation happens.
+	 */
+	final Context context;
+
+	/**
+	 * The associated escape analysis.
+	 */
+	final EquivalenceClassBasedEscapeAnalysis ecba;
+
+	/**
+	 * This is a cache variable that holds local alias set map between method calls.
+	 */
+	Map<Local, AliasSet> localASsCache;
+
+	/**
+	 * This is a cache variable that holds method context map between method calls.
+	 */
+	MethodContext methodCtxtCache;
+
+	/**
+	 * This is a cache variable that holds site context map between method calls.
+	 */
+	Map<CallTriple, MethodContext> scCache;
+
+	/**
+	 * This is the <code>Value</code> processor used to process Jimple pieces that make up the methods.
+	 */
+	final ValueProcessor valueProcessor;
+
+	/**
+	 * The collection of basic blocks processed in the current method.
+	 */
+	private final Collection<BasicBlock> processed = new HashSet<BasicBlock>();
+
+	/**
+	 * This is the statement processor used to analyze the methods.
+	 */
+	private final StmtProcessor stmtProcessor;
+
+	/**
+	 * The work bag of basic blocks to be processed in the current method.
+	 */
+	private final IWorkBag<BasicBlock> workbag = new HistoryAwareFIFOWorkBag<BasicBlock>(processed);
+
+	/**
+	 * Creates an instance of this class.
+	 * 
+	 * @param analysis associated with this instance.
+	 * @pre analysis != null
+	 */
+	MethodProcessor(final EquivalenceClassBasedEscapeAnalysis analysis) {
+		ecba = analysis;
+		context = new Context();
+		valueProcessor = new ValueProcessor(this);
+		stmtProcessor = new StmtProcessor(this);
+	}
+
+	/**
+	 * Processes the body of the given method and records the resulting information in the associated analysis.
+	 * 
+	 * @param method of interest.
+	 * @pre method != null
+	 */
+	void process(final SootMethod method) {
+		if (EquivalenceClassBasedEscapeAnalysis.LOGGER.isDebugEnabled()) {
+			EquivalenceClassBasedEscapeAnalysis.LOGGER.debug("Bottom-up processing method " + method);
+		}
+
+		final Triple<MethodContext, Map<Local, AliasSet>, Map<CallTriple, MethodContext>> _triple = ecba
+				.getMethodInfo(method);
+
+		if (!method.isConcrete()) {
+			if (EquivalenceClassBasedEscapeAnalysis.LOGGER.isWarnEnabled()) {
+				EquivalenceClassBasedEscapeAnalysis.LOGGER.warn("NO BODY: " + method.getSignature());
+			}
+		} else {
+			methodCtxtCache = _triple.getFirst();
+			localASsCache = _triple.getSecond();
+			scCache = _triple.getThird();
+			context.setRootMethod(method);
+
+			final BasicBlockGraph _bbg = ecba.bbm.getBasicBlockGraph(method);
+			workbag.clear();
+			processed.clear();
+			workbag.addWork(_bbg.getHead());
+
+			while (workbag.hasWork()) {
+				final BasicBlock _bb = workbag.getWork();
+
+				for (final Iterator<Stmt> _k = _bb.getStmtsOf().iterator(); _k.hasNext();) {
+					final Stmt _stmt = _k.next();
+					context.setStmt(_stmt);
+					stmtProcessor.process(_stmt);
+				}
+				workbag.addAllWorkNoDuplicates(_bb.getSuccsOf());
+			}
+
+			// discard alias sets that serve as a mere indirection level.
+			discardReferentialAliasSets(method);
+		}
+	}
+
+	/**
+	 * Rewires the method context, local variable alias sets, and site contexts such that they contain only representative
+	 * alias sets and no the nominal(indirectional) alias sets.
+	 * 
+	 * @param method for which this processing should occur.
+	 * @pre method != null
+	 */
+	private void discardReferentialAliasSets(final SootMethod method) {
+		if (localASsCache.isEmpty()) {
+			localASsCache = Collections.emptyMap();
+		} else {
+			for (final Iterator<Map.Entry<Local, AliasSet>> _i = localASsCache.entrySet().iterator(); _i.hasNext();) {
+				final Map.Entry<Local, AliasSet> _entry = _i.next();
+				final AliasSet _as = _entry.getValue();
+				final AliasSet _equiv = _as.find();
+
+				if (_equiv != _as) {
+					_entry.setValue(_equiv);
+				}
+			}
+		}
+
+		if (scCache.isEmpty()) {
+			scCache = Collections.emptyMap();
+		} else {
+			for (final Iterator<Map.Entry<CallTriple, MethodContext>> _i = scCache.entrySet().iterator(); _i.hasNext();) {
+				final Map.Entry<CallTriple, MethodContext> _entry = _i.next();
+				final MethodContext _mc = _entry.getValue();
+				final MethodContext _mcRep = _mc.find();
+
+				if (_mcRep != _mc) {
+					_entry.setValue(_mcRep);
+				}
+				_mcRep.discardReferentialAliasSets();
+			}
+		}
+		methodCtxtCache.discardReferentialAliasSets();
+		methodCtxtCache.find(); // cleanup mere indirection contexts.
+
+		/*
+		 * We don't store methodCtxtCache.find() in the triple as we need access to the original context for handling null
+		 * argument scenarios. Read about "null-arguments scenario" in ValueProcessor.
+		 */
+		ecba.method2Triple.put(method, new Triple<MethodContext, Map<Local, AliasSet>, Map<CallTriple, MethodContext>>(
+				methodCtxtCache, localASsCache, scCache));
+	}
+}
+
+// End of File
@@ -446,7 +446,7 @@ class ReadWriteInfo
 		_wb.addWork(as1);
 		while (_wb.hasWork()) {
 			final AliasSet _as = _wb.getWork();
-			_wb.addAllWorkNoDuplicates(_as.getFieldMap().values());
+			_wb.addAllWorkNoDuplicates(_as.getFieldAliasSets());
 		}
 
 		final Collection<AliasSet> _temp = new HashSet<AliasSet>(_reachable);
@@ -458,7 +458,7 @@ class ReadWriteInfo
 			if (_temp.contains(_as)) {
 				_result = true;
 			} else {
-				_wb.addAllWorkNoDuplicates(_as.getFieldMap().values());
+				_wb.addAllWorkNoDuplicates(_as.getFieldAliasSets());
 			}
 		}
 
@@ -49,18 +49,18 @@ final class StmtProcessor
 	static final Logger LOGGER = LoggerFactory.getLogger(StmtProcessor.class);
 
 	/**
-	 * The associated escape analysis.
+	 * The associated method processor.
 	 */
-	private final EquivalenceClassBasedEscapeAnalysis ecba;
+	private final MethodProcessor processor;
 
 	/**
 	 * Creates an instance of this class.
 	 * 
-	 * @param analysis associated with this instance.
-	 * @pre analysis != null
+	 * @param methodProcessor associated with this instance.
+	 * @pre methodProcessor != null
 	 */
-	StmtProcessor(final EquivalenceClassBasedEscapeAnalysis analysis) {
-		ecba = analysis;
+	StmtProcessor(final MethodProcessor methodProcessor) {
+		processor = methodProcessor;
 	}
 
 	/**
@@ -69,13 +69,13 @@ final class StmtProcessor
 	 * @see soot.jimple.StmtSwitch#caseAssignStmt(soot.jimple.AssignStmt)
 	 */
 	@Override public void caseAssignStmt(final AssignStmt stmt) {
-		final boolean _temp = ecba.valueProcessor.setRHS(true);
-		ecba.valueProcessor.process(stmt.getRightOp());
-		final AliasSet _r = (AliasSet) ecba.valueProcessor.getResult();
-		ecba.valueProcessor.setRHS(false);
-		ecba.valueProcessor.process(stmt.getLeftOp());
-		final AliasSet _l = (AliasSet) ecba.valueProcessor.getResult();
-		ecba.valueProcessor.setRHS(_temp);
+		final boolean _temp = processor.valueProcessor.setRHS(true);
+		processor.valueProcessor.process(stmt.getRightOp());
+		final AliasSet _r = (AliasSet) processor.valueProcessor.getResult();
+		processor.valueProcessor.setRHS(false);
+		processor.valueProcessor.process(stmt.getLeftOp());
+		final AliasSet _l = (AliasSet) processor.valueProcessor.getResult();
+		processor.valueProcessor.setRHS(_temp);
 
 		if ((_r != null) && (_l != null)) {
 			_l.unifyAliasSet(_r);
@@ -88,8 +88,8 @@ final class StmtProcessor
 	 * @see soot.jimple.StmtSwitch#caseEnterMonitorStmt(soot.jimple.EnterMonitorStmt)
 	 */
 	@Override public void caseEnterMonitorStmt(final EnterMonitorStmt stmt) {
-		ecba.valueProcessor.process(stmt.getOp());
-		((AliasSet) ecba.valueProcessor.getResult()).setLocked();
+		processor.valueProcessor.process(stmt.getOp());
+		((AliasSet) processor.valueProcessor.getResult()).setLocked();
 	}
 
 	/**
@@ -98,7 +98,7 @@ final class StmtProcessor
 	 * @see soot.jimple.StmtSwitch#caseExitMonitorStmt(soot.jimple.ExitMonitorStmt)
 	 */
 	@Override public void caseExitMonitorStmt(final ExitMonitorStmt stmt) {
-		ecba.valueProcessor.process(stmt.getOp());
+		processor.valueProcessor.process(stmt.getOp());
 	}
 
 	/**
@@ -107,14 +107,14 @@ final class StmtProcessor
 	 * @see soot.jimple.StmtSwitch#caseIdentityStmt(soot.jimple.IdentityStmt)
 	 */
 	@Override public void caseIdentityStmt(final IdentityStmt stmt) {
-		final boolean _t = ecba.valueProcessor.setMarkLocals(false);
-		ecba.valueProcessor.process(stmt.getRightOp());
+		final boolean _t = processor.valueProcessor.setMarkLocals(false);
+		processor.valueProcessor.process(stmt.getRightOp());
 
-		final AliasSet _r = (AliasSet) ecba.valueProcessor.getResult();
-		ecba.valueProcessor.process(stmt.getLeftOp());
+		final AliasSet _r = (AliasSet) processor.valueProcessor.getResult();
+		processor.valueProcessor.process(stmt.getLeftOp());
 
-		final AliasSet _l = (AliasSet) ecba.valueProcessor.getResult();
-		ecba.valueProcessor.setMarkLocals(_t);
+		final AliasSet _l = (AliasSet) processor.valueProcessor.getResult();
+		processor.valueProcessor.setMarkLocals(_t);
 
 		if ((_r != null) && (_l != null)) {
 			_l.unifyAliasSet(_r);
@@ -127,7 +127,7 @@ final class StmtProcessor
 	 * @see soot.jimple.StmtSwitch#caseInvokeStmt(soot.jimple.InvokeStmt)
 	 */
 	@Override public void caseInvokeStmt(final InvokeStmt stmt) {
-		ecba.valueProcessor.process(stmt.getInvokeExpr());
+		processor.valueProcessor.process(stmt.getInvokeExpr());
 	}
 
 	/**
@@ -136,12 +136,12 @@ final class StmtProcessor
 	 * @see soot.jimple.StmtSwitch#caseReturnStmt(soot.jimple.ReturnStmt)
 	 */
 	@Override public void caseReturnStmt(final ReturnStmt stmt) {
-		ecba.valueProcessor.process(stmt.getOp());
+		processor.valueProcessor.process(stmt.getOp());
 
-		final AliasSet _l = (AliasSet) ecba.valueProcessor.getResult();
+		final AliasSet _l = (AliasSet) processor.valueProcessor.getResult();
 
 		if (_l != null) {
-			ecba.methodCtxtCache.getReturnAS().unifyAliasSet(_l);
+			processor.methodCtxtCache.getReturnAS().unifyAliasSet(_l);
 		}
 	}
 
@@ -151,12 +151,12 @@ final class StmtProcessor
 	 * @see soot.jimple.StmtSwitch#caseThrowStmt(soot.jimple.ThrowStmt)
 	 */
 	@Override public void caseThrowStmt(final ThrowStmt stmt) {
-		ecba.valueProcessor.process(stmt.getOp());
+		processor.valueProcessor.process(stmt.getOp());
 
-		final AliasSet _l = (AliasSet) ecba.valueProcessor.getResult();
+		final AliasSet _l = (AliasSet) processor.valueProcessor.getResult();
 
 		if (_l != null) {
-			ecba.methodCtxtCache.getThrownAS().unifyAliasSet(_l);
+			processor.methodCtxtCache.getThrownAS().unifyAliasSet(_l);
 		}
 	}
 
@@ -16,7 +16,7 @@
 
 package edu.ksu.cis.indus.staticanalyses.concurrency.escape;
 
-import edu.ksu.cis.indus.common.collections.Stack;
+import edu.ksu.cis.indus.common.soot.CallString;
 import edu.ksu.cis.indus.common.soot.Util;
 import edu.ksu.cis.indus.interfaces.AbstractCallingContextRetriever;
 import edu.ksu.cis.indus.interfaces.IEscapeInfo;
@@ -132,10 +132,10 @@ public class ThreadEscapeInfoBasedCallingContextRetriever
 	 * {@inheritDoc}
 	 * 
 	 * @see AbstractCallingContextRetriever#getCallerSideToken(Object, SootMethod,
-	 *      edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple, Stack)
+	 *      edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple, CallString)
 	 */
 	@Override protected Object getCallerSideToken(final Object token, final SootMethod callee, final CallTriple callsite,
-			@SuppressWarnings("unused") final Stack<CallTriple> calleeCallStack) {
+			@SuppressWarnings("unused") final CallString calleeCallStack) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("getCallerSideToken(callee = " + callee + ", callsite = " + callsite + ")");
 		}
@@ -17,7 +17,8 @@
 package edu.ksu.cis.indus.staticanalyses.concurrency.escape;
 
 import edu.ksu.cis.indus.common.collections.CollectionUtils;
-import edu.ksu.cis.indus.common.collections.Stack;
+import edu.ksu.cis.indus.common.datastructures.Triple;
+import edu.ksu.cis.indus.common.soot.CallString;
 import edu.ksu.cis.indus.common.soot.Util;
 import edu.ksu.cis.indus.interfaces.IEscapeInfo;
 import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
@@ -158,10 +159,10 @@ public class ThreadEscapeInfoBasedCallingContextRetrieverV2
 	 * {@inheritDoc}
 	 * 
 	 * @see ThreadEscapeInfoBasedCallingContextRetriever#getCallerSideToken(java.lang.Object, soot.SootMethod,
-	 *      edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple, Stack)
+	 *      edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple, CallString)
 	 */
 	@Override protected Object getCallerSideToken(final Object token, final SootMethod callee, final CallTriple callsite,
-			final Stack<CallTriple> calleeCallStack) {
+			final CallString calleeCallStack) {
 
 		Object _result = super.getCallerSideToken(token, callee, callsite, calleeCallStack);
 
@@ -182,6 +183,15 @@ public class ThreadEscapeInfoBasedCallingContextRetrieverV2
 		return _result;
 	}
 
+	/**
+	 * {@inheritDoc} The caller side tokens depend on the type of dependence being preserved; hence, it is included in the
+	 * qualifier.
+	 */
+	@Override protected Object getContextCacheQualifier() {
+		return new Triple<Object, Boolean, Boolean>(super.getContextCacheQualifier(), Boolean.valueOf(readyBased), Boolean
+				.valueOf(interferenceBased));
+	}
+
 	/**
 	 * Checks if the given caller side token can be discarded.
 	 * 
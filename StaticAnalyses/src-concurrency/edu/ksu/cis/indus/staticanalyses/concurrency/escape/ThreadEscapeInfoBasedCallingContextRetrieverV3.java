@@ -17,6 +17,7 @@
 package edu.ksu.cis.indus.staticanalyses.concurrency.escape;
 
 import edu.ksu.cis.indus.common.collections.CollectionUtils;
+import edu.ksu.cis.indus.common.datastructures.Triple;
 import edu.ksu.cis.indus.common.soot.Util;
 
 import java.util.Collection;
@@ -53,6 +54,15 @@ public class ThreadEscapeInfoBasedCallingContextRetrieverV3
 		super(callContextLenLimit, preserveReady, preserveInterference);
 	}
 
+	/**
+	 * {@inheritDoc} The caller side tokens depend on the source entity and method; hence, they are included in the
+	 * qualifier.
+	 */
+	@Override protected Object getContextCacheQualifier() {
+		return new Triple<Object, Object, Object>(super.getContextCacheQualifier(), getInfoFor(Identifiers.SRC_ENTITY),
+				getInfoFor(Identifiers.SRC_METHOD));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -24,7 +24,6 @@ import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -76,6 +75,11 @@ final class ValueProcessor
 	 */
 	private final EquivalenceClassBasedEscapeAnalysis ecba;
 
+	/**
+	 * The associated method processor.
+	 */
+	private final MethodProcessor processor;
+
 	/**
 	 * This indicates if locals should be marked as read and written.
 	 */
@@ -90,19 +94,15 @@ final class ValueProcessor
 	 */
 	private boolean rhs = true;
 
-	/**
-	 * This maps string constant AST nodes to alias sets.
-	 */
-	private final Map<StringConstant, AliasSet> stringConstant2aliasSet = new HashMap<StringConstant, AliasSet>();
-
 	/**
 	 * Creates an instance of this class.
 	 * 
-	 * @param analysis associated with this instance.
-	 * @pre analysis != null
+	 * @param methodProcessor associated with this instance.
+	 * @pre methodProcessor != null
 	 */
-	ValueProcessor(final EquivalenceClassBasedEscapeAnalysis analysis) {
-		ecba = analysis;
+	ValueProcessor(final MethodProcessor methodProcessor) {
+		processor = methodProcessor;
+		ecba = methodProcessor.ecba;
 	}
 
 	/**
@@ -165,13 +165,13 @@ final class ValueProcessor
 	 * @see soot.jimple.JimpleValueSwitch#caseLocal(Local)
 	 */
 	@Override public void caseLocal(final Local v) {
-		AliasSet _s = ecba.localASsCache.get(v);
+		AliasSet _s = processor.localASsCache.get(v);
 
 		if (_s == null) {
-			_s = AliasSet.getASForType(v.getType());
+			_s = AliasSet.getASForType(v.getType(), ecba.fieldIdTable);
 
 			if (_s != null) {
-				ecba.localASsCache.put(v, _s);
+				processor.localASsCache.put(v, _s);
 			}
 		}
 
@@ -188,7 +188,7 @@ final class ValueProcessor
 	 * @see soot.jimple.RefSwitch#caseParameterRef( soot.jimple.ParameterRef)
 	 */
 	@Override public void caseParameterRef(final ParameterRef v) {
-		final AliasSet _as = ecba.methodCtxtCache.getParamAS(v.getIndex());
+		final AliasSet _as = processor.methodCtxtCache.getParamAS(v.getIndex());
 		setResult(_as);
 	}
 
@@ -228,7 +228,7 @@ final class ValueProcessor
 	 * @see soot.jimple.RefSwitch#caseThisRef(soot.jimple.ThisRef)
 	 */
 	@Override public void caseThisRef(@SuppressWarnings("unused") final ThisRef v) {
-		final AliasSet _as = ecba.methodCtxtCache.getThisAS();
+		final AliasSet _as = processor.methodCtxtCache.getThisAS();
 		setResult(_as);
 	}
 
@@ -251,10 +251,10 @@ final class ValueProcessor
 	@Override public void defaultCase(final Object o) {
 		if (o instanceof StringConstant) {
 			final StringConstant _stringConstant = (StringConstant) o;
-			AliasSet _r = stringConstant2aliasSet.get(_stringConstant);
+			AliasSet _r = ecba.stringConstant2aliasSet.get(_stringConstant);
 			if (_r == null) {
-				_r = AliasSet.createAliasSet();
-				stringConstant2aliasSet.put(_stringConstant, _r);
+				_r = AliasSet.createAliasSet(ecba.fieldIdTable);
+				ecba.stringConstant2aliasSet.put(_stringConstant, _r);
 			}
 			setResult(_r);
 		} else {
@@ -275,13 +275,6 @@ final class ValueProcessor
 		value.apply(this);
 	}
 
-	/**
-	 * Resets the processor.
-	 */
-	void reset() {
-		stringConstant2aliasSet.clear();
-	}
-
 	/**
 	 * Sets the value of <code>markLocals</code>.
 	 * 
@@ -330,7 +323,7 @@ final class ValueProcessor
 
 				if (EquivalenceClassBasedEscapeAnalysis.canHaveAliasSet(_val.getType())) {
 					process(v.getArg(_i));
-					_temp = (AliasSet) ecba.valueProcessor.getResult();
+					_temp = (AliasSet) getResult();
 				}
 
 				_argASs.add(_temp);
@@ -360,7 +353,7 @@ final class ValueProcessor
 
 			// retrieve the method context of the callee
 			MethodContext _mc = _triple.getFirst();
-			final boolean _notInSameSCC = ecba.cfgAnalysis.notInSameSCC(caller, _callee);
+			final boolean _notInSameSCC = ecba.notInSameSCC(caller, _callee);
 			/*
 			 * If the caller and callee occur in different SCCs then clone the callee method context and then unify it with
 			 * the site context. If not, unify the method context with site-context as precision will be lost any which way.
@@ -402,7 +395,8 @@ final class ValueProcessor
 			 * suffice to unify the method context with it self in the case of loop enclosure as this is more semantically
 			 * close to what happens during execution.
 			 */
-			if (Util.isStartMethod(_callee) && ecba.cfgAnalysis.executedMultipleTimes(ecba.context.getStmt(), caller)) {
+			if (Util.isStartMethod(_callee)
+					&& ecba.cfgAnalysis.executedMultipleTimes(processor.context.getStmt(), caller)) {
 				siteContext.selfUnify();
 			}
 		}
@@ -417,13 +411,14 @@ final class ValueProcessor
 	 * @return the alias set for the field.
 	 */
 	private AliasSet processField(final Type t, final AliasSet base, final String fieldSig) {
-		AliasSet _field = base.getASForField(fieldSig);
+		final int _fieldId = ecba.fieldIdTable.getId(fieldSig);
+		AliasSet _field = base.getASForField(_fieldId);
 
 		if (_field == null) {
-			_field = AliasSet.getASForType(t);
+			_field = AliasSet.getASForType(t, ecba.fieldIdTable);
 
 			if (_field != null) {
-				base.putASForField(fieldSig, _field);
+				base.putASForField(_fieldId, _field);
 			}
 		}
 
@@ -432,9 +427,9 @@ final class ValueProcessor
 		}
 
 		if (rhs) {
-			base.addReadField(fieldSig);
+			base.addReadField(_fieldId);
 		} else {
-			base.addWrittenField(fieldSig);
+			base.addWrittenField(_fieldId);
 		}
 		return _field;
 	}
@@ -446,13 +441,13 @@ final class ValueProcessor
 	 */
 	private void processInvokeExpr(final InvokeExpr expr) {
 		final Collection<SootMethod> _callees = new ArrayList<SootMethod>();
-		final SootMethod _caller = ecba.context.getCurrentMethod();
+		final SootMethod _caller = processor.context.getCurrentMethod();
 		final SootMethod _sm = expr.getMethod();
 
 		// fix up "return" alias set.
 		AliasSet _retAS = null;
 
-		_retAS = AliasSet.getASForType(_sm.getReturnType());
+		_retAS = AliasSet.getASForType(_sm.getReturnType(), ecba.fieldIdTable);
 
 		// fix up "primary" alias set.
 		AliasSet _primaryAS = null;
@@ -465,14 +460,15 @@ final class ValueProcessor
 		final List<AliasSet> _argASs = processArguments(expr);
 
 		// create a site-context of the given expression and store it into the associated site-context cache.
-		final MethodContext _sc = new MethodContext(_sm, _primaryAS, _argASs, _retAS, AliasSet.createAliasSet(), ecba);
-		ecba.scCache.put(new CallTriple(_caller, ecba.context.getStmt(), expr), _sc);
+		final AliasSet _thrownAS = AliasSet.createAliasSet(ecba.fieldIdTable);
+		final MethodContext _sc = new MethodContext(_sm, _primaryAS, _argASs, _retAS, _thrownAS, ecba);
+		processor.scCache.put(new CallTriple(_caller, processor.context.getStmt(), expr), _sc);
 
 		if (expr instanceof StaticInvokeExpr) {
 			_callees.add(_sm);
 		} else if (expr instanceof InterfaceInvokeExpr || expr instanceof VirtualInvokeExpr
 				|| expr instanceof SpecialInvokeExpr) {
-			_callees.addAll(ecba.cgi.getCallees(expr, ecba.context));
+			_callees.addAll(ecba.cgi.getCallees(expr, processor.context));
 		}
 
 		processCallees(_callees, _caller, _primaryAS, _sc);
@@ -506,7 +502,7 @@ final class ValueProcessor
 		as.setAccessed();
 
 		if (ecba.tgi != null) {
-			final SootMethod _currentMethod = ecba.context.getCurrentMethod();
+			final SootMethod _currentMethod = processor.context.getCurrentMethod();
 			final Collection _executionThreads = ecba.tgi.getExecutionThreads(_currentMethod);
 			if (rhs) {
 				as.addReadThreads(_executionThreads);
@@ -18,6 +18,7 @@ package edu.ksu.cis.indus.staticanalyses.dependency;
 
 import edu.ksu.cis.indus.common.datastructures.Pair.PairManager;
 import edu.ksu.cis.indus.common.soot.Constants;
+import edu.ksu.cis.indus.common.soot.ProgramPointIdManager;
 import edu.ksu.cis.indus.staticanalyses.InitializationException;
 import edu.ksu.cis.indus.staticanalyses.interfaces.AbstractAnalysis;
 
@@ -26,6 +27,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 
+import soot.jimple.Stmt;
+
 /**
  * This class provides generic framework and support required by analyses (DA) to calculate dependence information. It is
  * adviced that specific analyses extend this class.
@@ -93,6 +96,17 @@ public abstract class AbstractDependencyAnalysis<T1, C1, E1, KT, VE, E2, C2, T2,
 	 */
 	private PairManager pairMgr;
 
+	/**
+	 * This manages the ids of program points. This is used only when dependences are stored compactly.
+	 */
+	private ProgramPointIdManager programPointIdMgr;
+
+	/**
+	 * This indicates if dependences should be stored compactly by the analyses that support it.
+	 */
+	private boolean useCompactStorage = edu.ksu.cis.indus.staticanalyses.Constants
+			.getCompactStorageForDependenceAnalyses();
+
 	/**
 	 * The direction of the analysis.
 	 */
@@ -122,6 +136,16 @@ public abstract class AbstractDependencyAnalysis<T1, C1, E1, KT, VE, E2, C2, T2,
 		return new IndirectDependenceAnalysis<T1, C1, E1, KT, VE, E2, C2, T2, KE, VT>(this, getDependenceRetriever());
 	}
 
+	/**
+	 * Checks if the dependences are stored compactly by this analysis. Only analyses that support compact storage honor
+	 * this setting.
+	 * 
+	 * @return <code>true</code> if the dependences are stored compactly; <code>false</code>, otherwise.
+	 */
+	public final boolean isUsingCompactStorage() {
+		return useCompactStorage;
+	}
+
 	/**
 	 * Resets all internal data structures. General protocol is that data acquired via setup is not reset or forgotten.
 	 * 
@@ -133,6 +157,17 @@ public abstract class AbstractDependencyAnalysis<T1, C1, E1, KT, VE, E2, C2, T2,
 		super.reset();
 	}
 
+	/**
+	 * Sets if the dependences should be stored compactly by this analysis. This should be set before the analysis is
+	 * executed.
+	 * 
+	 * @param compact <code>true</code> indicates the dependences should be stored compactly; <code>false</code>,
+	 *            otherwise.
+	 */
+	public final void setUseCompactStorage(final boolean compact) {
+		useCompactStorage = compact;
+	}
+
 	/**
 	 * Provides the dependence retriever.
 	 * 
@@ -140,6 +175,25 @@ public abstract class AbstractDependencyAnalysis<T1, C1, E1, KT, VE, E2, C2, T2,
 	 */
 	protected abstract IDependenceRetriever<T1, C1, E1, E2, C2, T2> getDependenceRetriever();
 
+	/**
+	 * Creates a store to hold the dependences compactly. The program point id manager provided in the info is used if
+	 * available; otherwise, a manager private to this analysis is used.
+	 * 
+	 * @param <S> is the type of statements in the dependences.
+	 * @return a new store.
+	 * @post result != null
+	 */
+	protected final <S extends Stmt> CompactDependenceStore<S> createCompactDependenceStore() {
+		if (programPointIdMgr == null) {
+			programPointIdMgr = (ProgramPointIdManager) info.get(ProgramPointIdManager.ID);
+
+			if (programPointIdMgr == null) {
+				programPointIdMgr = new ProgramPointIdManager();
+			}
+		}
+		return new CompactDependenceStore<S>(programPointIdMgr);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -0,0 +1,478 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.dependency;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.NonNull;
+import edu.ksu.cis.indus.common.datastructures.PackedIntPair;
+import edu.ksu.cis.indus.common.datastructures.Pair;
+import edu.ksu.cis.indus.common.soot.ProgramPointIdManager;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import soot.SootMethod;
+import soot.jimple.Jimple;
+import soot.jimple.Stmt;
+
+/**
+ * This class stores dependences between program points in a compact form. The program points are numbered by a
+ * <code>ProgramPointIdManager</code>. For each direction, each method is associated with an offset array indexed by the
+ * statement indices of the method and a target array containing the ids of the dependees/dependents of the statements
+ * (compressed sparse row format). Hence, the dependences are stored without any <code>Pair</code>, <code>Map</code>, or
+ * <code>Collection</code> objects.
+ * <p>
+ * Dependences are first added to the store via <code>addDependence()</code> and then the store is frozen via
+ * <code>freeze()</code>. Queries can only be issued on a frozen store. The collections provided by the queries are
+ * unmodifiable views that create the pairs as they are iterated. A frozen store can be queried concurrently.
+ * </p>
+ * <p>
+ * Dependences may involve <code>null</code> statements in a method, e.g., ready dependence due to synchronized methods.
+ * Such statements are represented by a placeholder statement in the store.
+ * </p>
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ * @param <S> is the type of statements in the dependences.
+ */
+public final class CompactDependenceStore<S extends Stmt> {
+
+	/**
+	 * This is an unmodifiable view of the program points in a range of a target array.
+	 * 
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$ $Date$
+	 */
+	private final class ProgramPointsView
+			extends AbstractCollection<Pair<S, SootMethod>> {
+
+		/**
+		 * The end (exclusive) of the range.
+		 */
+		private final int end;
+
+		/**
+		 * The start (inclusive) of the range.
+		 */
+		private final int start;
+
+		/**
+		 * The target array.
+		 */
+		private final int[] targets;
+
+		/**
+		 * Creates an instance of this class.
+		 * 
+		 * @param targetArray is the target array.
+		 * @param from is the start (inclusive) of the range.
+		 * @param to is the end (exclusive) of the range.
+		 * @pre targetArray != null and 0 <= from and from <= to and to <= targetArray.length
+		 */
+		ProgramPointsView(final int[] targetArray, final int from, final int to) {
+			targets = targetArray;
+			start = from;
+			end = to;
+		}
+
+		/**
+		 * @see java.util.AbstractCollection#iterator()
+		 */
+		@Override public Iterator<Pair<S, SootMethod>> iterator() {
+			return new Iterator<Pair<S, SootMethod>>() {
+
+				private int next = start;
+
+				public boolean hasNext() {
+					return next < end;
+				}
+
+				public Pair<S, SootMethod> next() {
+					if (next >= end) {
+						throw new NoSuchElementException();
+					}
+					return getProgramPoint(targets[next++]);
+				}
+
+				public void remove() {
+					throw new UnsupportedOperationException("This collection is unmodifiable.");
+				}
+			};
+		}
+
+		/**
+		 * @see java.util.AbstractCollection#size()
+		 */
+		@Override public int size() {
+			return end - start;
+		}
+	}
+
+	/**
+	 * The initial capacity of the dependence buffer.
+	 */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/**
+	 * The buffer of dependences added to the store. Each dependence is a packed pair of the program point ids of the
+	 * dependee and the dependent. This is <code>null</code> once the store is frozen.
+	 */
+	private long[] dependences = new long[INITIAL_CAPACITY];
+
+	/**
+	 * This maps method ids to the offset arrays of the dependent-to-dependee direction.
+	 */
+	private int[][] dependeeOffsets;
+
+	/**
+	 * This maps method ids to the target arrays of the dependent-to-dependee direction.
+	 */
+	private int[][] dependeeTargets;
+
+	/**
+	 * This maps method ids to the offset arrays of the dependee-to-dependent direction.
+	 */
+	private int[][] dependentOffsets;
+
+	/**
+	 * This maps method ids to the target arrays of the dependee-to-dependent direction.
+	 */
+	private int[][] dependentTargets;
+
+	/**
+	 * This provides the ids of the program points.
+	 */
+	private final ProgramPointIdManager idManager;
+
+	/**
+	 * The number of dependences in the store.
+	 */
+	private int noOfDependences;
+
+	/**
+	 * The statement that represents <code>null</code> statements.
+	 */
+	private final Stmt nullStmt = Jimple.v().newNopStmt();
+
+	/**
+	 * Creates an instance of this class.
+	 * 
+	 * @param manager provides the ids of the program points.
+	 */
+	public CompactDependenceStore(@NonNull final ProgramPointIdManager manager) {
+		idManager = manager;
+	}
+
+	/**
+	 * Adds a dependence between the given program points.
+	 * 
+	 * @param dependee is the dependee statement.
+	 * @param dependeeMethod is the method in which <code>dependee</code> occurs.
+	 * @param dependent is the dependent statement.
+	 * @param dependentMethod is the method in which <code>dependent</code> occurs.
+	 * @throws IllegalStateException when the store is frozen.
+	 */
+	public void addDependence(final S dependee, @NonNull final SootMethod dependeeMethod, final S dependent,
+			@NonNull final SootMethod dependentMethod) {
+		if (isFrozen()) {
+			throw new IllegalStateException("Dependences cannot be added to a frozen store.");
+		}
+
+		if (noOfDependences == dependences.length) {
+			final long[] _t = new long[noOfDependences * 2];
+			System.arraycopy(dependences, 0, _t, 0, noOfDependences);
+			dependences = _t;
+		}
+
+		final int _dependee = idManager.getId(represent(dependee), dependeeMethod);
+		final int _dependent = idManager.getId(represent(dependent), dependentMethod);
+		dependences[noOfDependences++] = PackedIntPair.pack(_dependee, _dependent);
+	}
+
+	/**
+	 * Freezes the store. Duplicate dependences are discarded.
+	 */
+	public void freeze() {
+		if (!isFrozen()) {
+			final long[] _dependences = dependences;
+			Arrays.sort(_dependences, 0, noOfDependences);
+
+			int _unique = 0;
+
+			for (int _i = 0; _i < noOfDependences; _i++) {
+				if (_unique == 0 || _dependences[_unique - 1] != _dependences[_i]) {
+					_dependences[_unique++] = _dependences[_i];
+				}
+			}
+			noOfDependences = _unique;
+
+			final int _noOfMethods = idManager.getNumberOfMethods();
+			dependentOffsets = new int[_noOfMethods][];
+			dependentTargets = new int[_noOfMethods][];
+			dependeeOffsets = new int[_noOfMethods][];
+			dependeeTargets = new int[_noOfMethods][];
+			populate(_dependences, true, dependentOffsets, dependentTargets);
+			populate(_dependences, false, dependeeOffsets, dependeeTargets);
+			dependences = null;
+		}
+	}
+
+	/**
+	 * Retrieves the dependees of the given program point.
+	 * 
+	 * @param dependent is the dependent statement.
+	 * @param method in which <code>dependent</code> occurs.
+	 * @return an unmodifiable collection of dependee program points.
+	 * @throws IllegalStateException when the store is not frozen.
+	 */
+	@Functional @NonNull public Collection<Pair<S, SootMethod>> getDependees(final S dependent,
+			@NonNull final SootMethod method) {
+		return query(dependent, method, dependeeOffsets, dependeeTargets);
+	}
+
+	/**
+	 * Retrieves the dependents of the given program point.
+	 * 
+	 * @param dependee is the dependee statement.
+	 * @param method in which <code>dependee</code> occurs.
+	 * @return an unmodifiable collection of dependent program points.
+	 * @throws IllegalStateException when the store is not frozen.
+	 */
+	@Functional @NonNull public Collection<Pair<S, SootMethod>> getDependents(final S dependee,
+			@NonNull final SootMethod method) {
+		return query(dependee, method, dependentOffsets, dependentTargets);
+	}
+
+	/**
+	 * Retrieves the number of dependences in the store. Duplicate dependences are counted only after the store is frozen.
+	 * 
+	 * @return the number of dependences.
+	 */
+	@Functional public int getNumberOfDependences() {
+		return noOfDependences;
+	}
+
+	/**
+	 * Retrieves the program points that have dependees.
+	 * 
+	 * @return a collection of program points.
+	 * @throws IllegalStateException when the store is not frozen.
+	 */
+	@Functional @NonNull public Collection<Pair<S, SootMethod>> getProgramPointsWithDependees() {
+		return collectProgramPoints(dependeeOffsets);
+	}
+
+	/**
+	 * Retrieves the program points that have dependents.
+	 * 
+	 * @return a collection of program points.
+	 * @throws IllegalStateException when the store is not frozen.
+	 */
+	@Functional @NonNull public Collection<Pair<S, SootMethod>> getProgramPointsWithDependents() {
+		return collectProgramPoints(dependentOffsets);
+	}
+
+	/**
+	 * Checks if the store is frozen.
+	 * 
+	 * @return <code>true</code> if the store is frozen; <code>false</code>, otherwise.
+	 */
+	@Functional public boolean isFrozen() {
+		return dependences == null;
+	}
+
+	/**
+	 * Retrieves the program points that have entries in the given offset arrays.
+	 * 
+	 * @param offsets maps method ids to offset arrays.
+	 * @return a collection of program points.
+	 * @throws IllegalStateException when the store is not frozen.
+	 */
+	private Collection<Pair<S, SootMethod>> collectProgramPoints(final int[][] offsets) {
+		checkFrozen();
+
+		final Collection<Pair<S, SootMethod>> _result = new ArrayList<Pair<S, SootMethod>>();
+
+		for (int _m = 0; _m < offsets.length; _m++) {
+			final int[] _offsets = offsets[_m];
+
+			if (_offsets != null) {
+				final SootMethod _method = idManager.getMethod(_m);
+
+				for (int _s = 0; _s < _offsets.length - 1; _s++) {
+					if (_offsets[_s] < _offsets[_s + 1]) {
+						_result.add(new Pair<S, SootMethod>(unrepresent(idManager.getStmt(_m, _s)), _method));
+					}
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Checks if the store is frozen.
+	 * 
+	 * @throws IllegalStateException when the store is not frozen.
+	 */
+	private void checkFrozen() {
+		if (!isFrozen()) {
+			throw new IllegalStateException("The store should be frozen before it is queried.");
+		}
+	}
+
+	/**
+	 * Retrieves the program point with the given id.
+	 * 
+	 * @param id of the program point.
+	 * @return the program point.
+	 */
+	private Pair<S, SootMethod> getProgramPoint(final int id) {
+		final long _programPoint = idManager.getProgramPoint(id);
+		final int _methodId = PackedIntPair.getFirst(_programPoint);
+		final Stmt _stmt = idManager.getStmt(_methodId, PackedIntPair.getSecond(_programPoint));
+		return new Pair<S, SootMethod>(unrepresent(_stmt), idManager.getMethod(_methodId));
+	}
+
+	/**
+	 * Populates the offset and target arrays of a direction with the given dependences.
+	 * 
+	 * @param sortedDependences is the dependences sorted on the program point id of the dependee. Only the first
+	 *            <code>noOfDependences</code> elements are considered.
+	 * @param forward <code>true</code> indicates the dependee-to-dependent direction; <code>false</code>, the
+	 *            dependent-to-dependee direction.
+	 * @param offsets maps method ids to offset arrays. This is an out argument.
+	 * @param targets maps method ids to target arrays. This is an out argument.
+	 */
+	private void populate(final long[] sortedDependences, final boolean forward, final int[][] offsets,
+			final int[][] targets) {
+		final int[] _sources = new int[noOfDependences];
+
+		for (int _i = 0; _i < noOfDependences; _i++) {
+			final long _dependence = sortedDependences[_i];
+
+			if (forward) {
+				_sources[_i] = PackedIntPair.getFirst(_dependence);
+			} else {
+				_sources[_i] = PackedIntPair.getSecond(_dependence);
+			}
+
+			final int _methodId = idManager.getMethodIdOf(_sources[_i]);
+
+			if (offsets[_methodId] == null) {
+				offsets[_methodId] = new int[idManager.getNumberOfStmts(_methodId) + 1];
+			}
+			// count the targets of each statement in the slot of the following statement.
+			offsets[_methodId][idManager.getStmtIndexOf(_sources[_i]) + 1]++;
+		}
+
+		for (int _m = 0; _m < offsets.length; _m++) {
+			final int[] _offsets = offsets[_m];
+
+			if (_offsets != null) {
+				for (int _s = 1; _s < _offsets.length; _s++) {
+					_offsets[_s] += _offsets[_s - 1];
+				}
+				targets[_m] = new int[_offsets[_offsets.length - 1]];
+			}
+		}
+
+		// the slot of each statement is used as the insertion point and then restored to be the start of the range.
+		for (int _i = 0; _i < noOfDependences; _i++) {
+			final long _dependence = sortedDependences[_i];
+			final int _target;
+
+			if (forward) {
+				_target = PackedIntPair.getSecond(_dependence);
+			} else {
+				_target = PackedIntPair.getFirst(_dependence);
+			}
+
+			final int _methodId = idManager.getMethodIdOf(_sources[_i]);
+			final int _stmtIndex = idManager.getStmtIndexOf(_sources[_i]);
+			targets[_methodId][offsets[_methodId][_stmtIndex]++] = _target;
+		}
+
+		for (int _m = 0; _m < offsets.length; _m++) {
+			final int[] _offsets = offsets[_m];
+
+			if (_offsets != null) {
+				for (int _s = _offsets.length - 1; _s > 0; _s--) {
+					_offsets[_s] = _offsets[_s - 1];
+				}
+				_offsets[0] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the program points associated with the given program point in the given offset and target arrays.
+	 * 
+	 * @param stmt of the program point.
+	 * @param method of the program point.
+	 * @param offsets maps method ids to offset arrays.
+	 * @param targets maps method ids to target arrays.
+	 * @return an unmodifiable collection of program points.
+	 * @throws IllegalStateException when the store is not frozen.
+	 */
+	private Collection<Pair<S, SootMethod>> query(final S stmt, final SootMethod method, final int[][] offsets,
+			final int[][] targets) {
+		checkFrozen();
+
+		Collection<Pair<S, SootMethod>> _result = Collections.emptySet();
+		final int _methodId = idManager.lookupMethodId(method);
+
+		if (_methodId != ProgramPointIdManager.UNKNOWN && _methodId < offsets.length && offsets[_methodId] != null) {
+			final int[] _offsets = offsets[_methodId];
+			final int _stmtIndex = idManager.lookupStmtIndex(represent(stmt), method);
+
+			if (_stmtIndex != ProgramPointIdManager.UNKNOWN && _stmtIndex < _offsets.length - 1
+					&& _offsets[_stmtIndex] < _offsets[_stmtIndex + 1]) {
+				_result = new ProgramPointsView(targets[_methodId], _offsets[_stmtIndex], _offsets[_stmtIndex + 1]);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the statement that represents the given statement in the store.
+	 * 
+	 * @param stmt of interest.
+	 * @return <code>nullStmt</code> if <code>stmt</code> is <code>null</code>; <code>stmt</code>, otherwise.
+	 */
+	private Stmt represent(final Stmt stmt) {
+		return stmt == null ? nullStmt : stmt;
+	}
+
+	/**
+	 * Retrieves the statement represented by the given statement in the store.
+	 * 
+	 * @param stmt of interest.
+	 * @return <code>null</code> if <code>stmt</code> is <code>nullStmt</code>; <code>stmt</code>, otherwise.
+	 */
+	@SuppressWarnings("unchecked") private S unrepresent(final Stmt stmt) {
+		return stmt == nullStmt ? null : (S) stmt;
+	}
+}
+
+// End of File
@@ -0,0 +1,421 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.dependency;
+
+import edu.ksu.cis.indus.annotations.Empty;
+import edu.ksu.cis.indus.annotations.NonNull;
+import edu.ksu.cis.indus.common.datastructures.Pair;
+import edu.ksu.cis.indus.common.soot.ProgramPointIdManager;
+import edu.ksu.cis.indus.interfaces.IEnvironment;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Unit;
+import soot.jimple.Stmt;
+
+/**
+ * This class persists the dependences in a <code>CompactDependenceStore</code> in a compact binary format. Like
+ * <code>CallInfoStore</code>, methods are recorded by the name of their declaring class and their sub-signature while
+ * statements are recorded by their position in the body of the enclosing method. Hence, the persisted dependences can be
+ * reloaded in a different run as long as the classes of the system are unchanged. It is the responsibility of the caller to
+ * ensure the latter, e.g., by keying the files on the content of the classes.
+ * <p>
+ * Only the dependee-to-dependent direction is persisted as the other direction is recovered from it upon reload. The file
+ * is memory-mapped upon reload.
+ * </p>
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class DependenceInfoStore {
+
+	/**
+	 * The encoding of the strings in the files.
+	 */
+	private static final String ENCODING = "UTF-8";
+
+	/**
+	 * The logger used by instances of this class to log messages.
+	 */
+	private static final Logger LOGGER = LoggerFactory.getLogger(DependenceInfoStore.class);
+
+	/**
+	 * The magic number that identifies the files written by this class.
+	 */
+	private static final int MAGIC = 0x1d05de95;
+
+	/**
+	 * The position recorded for <code>null</code> statements.
+	 */
+	private static final int NULL_STMT_POSITION = -1;
+
+	/**
+	 * The version of the format of the files.
+	 */
+	private static final int VERSION = 1;
+
+	// /CLOVER:OFF
+
+	/**
+	 * A private constructor to prevent the instantiation of this class.
+	 */
+	@Empty private DependenceInfoStore() {
+		super();
+	}
+
+	// /CLOVER:ON
+
+	/**
+	 * Reads dependences from the given file.
+	 * 
+	 * @param <S> is the type of statements in the dependences.
+	 * @param file to read the dependences from.
+	 * @param env is the environment in which the methods and statements should be resolved.
+	 * @param manager provides the ids of the program points to the store.
+	 * @param stmtClass is the class of statements in the dependences.
+	 * @return a frozen store containing the dependences; <code>null</code> if the file does not exist, is not in the
+	 *         expected format, or refers to methods or statements that do not exist in <code>env</code>.
+	 */
+	public static <S extends Stmt> CompactDependenceStore<S> read(@NonNull final File file, @NonNull final IEnvironment env,
+			@NonNull final ProgramPointIdManager manager, @NonNull final Class<S> stmtClass) {
+		CompactDependenceStore<S> _result = null;
+
+		if (file.isFile()) {
+			FileInputStream _stream = null;
+
+			try {
+				_stream = new FileInputStream(file);
+
+				final FileChannel _channel = _stream.getChannel();
+				final ByteBuffer _buffer = _channel.map(FileChannel.MapMode.READ_ONLY, 0, _channel.size());
+				_result = read(_buffer, env, manager, stmtClass);
+			} catch (final IOException _e) {
+				LOGGER.warn("Could not read dependences from " + file, _e);
+			} catch (final BufferUnderflowException _e) {
+				LOGGER.warn("Dependences in " + file + " are truncated or corrupted.", _e);
+			} catch (final IndexOutOfBoundsException _e) {
+				LOGGER.warn("Dependences in " + file + " are corrupted.", _e);
+			} finally {
+				close(_stream);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Writes the dependences in the given store into the given file.
+	 * 
+	 * @param <S> is the type of statements in the dependences.
+	 * @param store contains the dependences to be written.
+	 * @param file to write the dependences into.
+	 * @throws IOException when the file cannot be written.
+	 * @throws IllegalStateException when the store is not frozen.
+	 */
+	public static <S extends Stmt> void write(@NonNull final CompactDependenceStore<S> store, @NonNull final File file)
+			throws IOException {
+		final Map<SootMethod, Integer> _method2id = new LinkedHashMap<SootMethod, Integer>();
+		final Collection<Pair<S, SootMethod>> _dependees = store.getProgramPointsWithDependents();
+		int _noOfDependences = 0;
+
+		for (final Iterator<Pair<S, SootMethod>> _i = _dependees.iterator(); _i.hasNext();) {
+			final Pair<S, SootMethod> _dependee = _i.next();
+			assignId(_dependee.getSecond(), _method2id);
+
+			for (final Iterator<Pair<S, SootMethod>> _j = store.getDependents(_dependee.getFirst(), _dependee.getSecond())
+					.iterator(); _j.hasNext();) {
+				assignId(_j.next().getSecond(), _method2id);
+				_noOfDependences++;
+			}
+		}
+
+		final Map<SootMethod, Map<Unit, Integer>> _method2positions = new HashMap<SootMethod, Map<Unit, Integer>>();
+		final DataOutputStream _out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+
+		try {
+			_out.writeInt(MAGIC);
+			_out.writeInt(VERSION);
+			_out.writeInt(_method2id.size());
+
+			for (final Iterator<SootMethod> _i = _method2id.keySet().iterator(); _i.hasNext();) {
+				final SootMethod _method = _i.next();
+				writeString(_out, _method.getDeclaringClass().getName());
+				writeString(_out, _method.getSubSignature());
+			}
+
+			_out.writeInt(_noOfDependences);
+
+			for (final Iterator<Pair<S, SootMethod>> _i = _dependees.iterator(); _i.hasNext();) {
+				final Pair<S, SootMethod> _dependee = _i.next();
+				final SootMethod _dependeeMethod = _dependee.getSecond();
+				final int _dependeePosition = getPosition(_dependee.getFirst(), _dependeeMethod, _method2positions);
+
+				for (final Iterator<Pair<S, SootMethod>> _j = store.getDependents(_dependee.getFirst(), _dependeeMethod)
+						.iterator(); _j.hasNext();) {
+					final Pair<S, SootMethod> _dependent = _j.next();
+					final SootMethod _dependentMethod = _dependent.getSecond();
+					_out.writeInt(_method2id.get(_dependeeMethod).intValue());
+					_out.writeInt(_dependeePosition);
+					_out.writeInt(_method2id.get(_dependentMethod).intValue());
+					_out.writeInt(getPosition(_dependent.getFirst(), _dependentMethod, _method2positions));
+				}
+			}
+		} finally {
+			_out.close();
+		}
+	}
+
+	/**
+	 * Assigns an id to the given method if it does not have one.
+	 * 
+	 * @param method of interest.
+	 * @param method2id maps methods to their ids.
+	 */
+	private static void assignId(final SootMethod method, final Map<SootMethod, Integer> method2id) {
+		if (!method2id.containsKey(method)) {
+			method2id.put(method, Integer.valueOf(method2id.size()));
+		}
+	}
+
+	/**
+	 * Closes the given stream.
+	 * 
+	 * @param stream to be closed.
+	 */
+	private static void close(final FileInputStream stream) {
+		if (stream != null) {
+			try {
+				stream.close();
+			} catch (final IOException _e) {
+				LOGGER.warn("Could not close the stream.", _e);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the position of the given statement in the body of the given method.
+	 * 
+	 * @param stmt of interest.
+	 * @param method in which <code>stmt</code> occurs.
+	 * @param method2positions maps methods to the positions of the statements in their bodies. This is an in-out argument.
+	 * @return the position of the statement; <code>NULL_STMT_POSITION</code> if <code>stmt</code> is <code>null</code>.
+	 */
+	private static int getPosition(final Stmt stmt, final SootMethod method,
+			final Map<SootMethod, Map<Unit, Integer>> method2positions) {
+		int _result = NULL_STMT_POSITION;
+
+		if (stmt != null) {
+			Map<Unit, Integer> _positions = method2positions.get(method);
+
+			if (_positions == null) {
+				@SuppressWarnings("unchecked") final Collection<Unit> _units = method.retrieveActiveBody().getUnits();
+				_positions = new HashMap<Unit, Integer>(_units.size());
+
+				for (final Iterator<Unit> _i = _units.iterator(); _i.hasNext();) {
+					_positions.put(_i.next(), Integer.valueOf(_positions.size()));
+				}
+				method2positions.put(method, _positions);
+			}
+			_result = _positions.get(stmt).intValue();
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the statement at the given position in the body of the given method.
+	 * 
+	 * @param <S> is the type of statements of interest.
+	 * @param method of interest.
+	 * @param position of the statement.
+	 * @param stmtClass is the class of the statement of interest.
+	 * @param method2units maps methods to the statements in their bodies. This is an in-out argument.
+	 * @return the statement at <code>position</code>; <code>null</code> if <code>position</code> is
+	 *         <code>NULL_STMT_POSITION</code>.
+	 * @throws IndexOutOfBoundsException when there is no statement of the given class at the given position.
+	 */
+	private static <S extends Stmt> S getStmt(final SootMethod method, final int position, final Class<S> stmtClass,
+			final Map<SootMethod, List<Unit>> method2units) {
+		S _result = null;
+
+		if (position != NULL_STMT_POSITION) {
+			List<Unit> _units = method2units.get(method);
+
+			if (_units == null) {
+				@SuppressWarnings("unchecked") final Collection<Unit> _body = method.retrieveActiveBody().getUnits();
+				_units = new ArrayList<Unit>(_body);
+				method2units.put(method, _units);
+			}
+
+			final Unit _unit = _units.get(position);
+
+			if (!stmtClass.isInstance(_unit)) {
+				throw new IndexOutOfBoundsException("Statement " + position + " in " + method + " is not a " + stmtClass);
+			}
+			_result = stmtClass.cast(_unit);
+		}
+		return _result;
+	}
+
+	/**
+	 * Reads dependences from the given buffer.
+	 * 
+	 * @param <S> is the type of statements in the dependences.
+	 * @param buffer to read the dependences from.
+	 * @param env is the environment in which the methods and statements should be resolved.
+	 * @param manager provides the ids of the program points to the store.
+	 * @param stmtClass is the class of statements in the dependences.
+	 * @return a frozen store containing the dependences; <code>null</code> if the buffer is not in the expected format or
+	 *         refers to methods that do not exist in <code>env</code>.
+	 * @throws UnsupportedEncodingException when the encoding of the strings is not supported.
+	 * @throws IndexOutOfBoundsException when the buffer refers to statements that do not exist in <code>env</code>.
+	 */
+	private static <S extends Stmt> CompactDependenceStore<S> read(final ByteBuffer buffer, final IEnvironment env,
+			final ProgramPointIdManager manager, final Class<S> stmtClass) throws UnsupportedEncodingException {
+		CompactDependenceStore<S> _result = null;
+
+		if (buffer.getInt() == MAGIC && buffer.getInt() == VERSION) {
+			final SootMethod[] _methods = readMethods(buffer, env);
+
+			if (_methods != null) {
+				final Map<SootMethod, List<Unit>> _method2units = new HashMap<SootMethod, List<Unit>>();
+				final CompactDependenceStore<S> _store = new CompactDependenceStore<S>(manager);
+
+				for (int _i = buffer.getInt(); _i > 0; _i--) {
+					final SootMethod _dependeeMethod = _methods[buffer.getInt()];
+					final S _dependee = getStmt(_dependeeMethod, buffer.getInt(), stmtClass, _method2units);
+					final SootMethod _dependentMethod = _methods[buffer.getInt()];
+					final S _dependent = getStmt(_dependentMethod, buffer.getInt(), stmtClass, _method2units);
+					_store.addDependence(_dependee, _dependeeMethod, _dependent, _dependentMethod);
+				}
+				_store.freeze();
+				_result = _store;
+			}
+		} else {
+			LOGGER.warn("Dependences are not in the expected format.");
+		}
+		return _result;
+	}
+
+	/**
+	 * Reads the number of elements of a sequence from the given buffer. As each element occupies at least a byte, the
+	 * number is checked against the remaining bytes to reject corrupted numbers.
+	 * 
+	 * @param buffer to read from.
+	 * @return the number of elements.
+	 * @throws BufferUnderflowException when the number is negative or exceeds the remaining bytes.
+	 */
+	private static int readCount(final ByteBuffer buffer) {
+		final int _result = buffer.getInt();
+
+		if (_result < 0 || _result > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		return _result;
+	}
+
+	/**
+	 * Reads the methods from the given buffer.
+	 * 
+	 * @param buffer to read the methods from.
+	 * @param env is the environment in which the methods should be resolved.
+	 * @return the methods indexed by their ids; <code>null</code> if some method does not exist in <code>env</code>.
+	 * @throws UnsupportedEncodingException when the encoding of the strings is not supported.
+	 */
+	private static SootMethod[] readMethods(final ByteBuffer buffer, final IEnvironment env)
+			throws UnsupportedEncodingException {
+		final SootMethod[] _methods = new SootMethod[readCount(buffer)];
+		boolean _valid = true;
+
+		for (int _i = 0; _i < _methods.length && _valid; _i++) {
+			final String _className = readString(buffer);
+			final String _subSignature = readString(buffer);
+			final SootClass _class;
+
+			if (env.hasClass(_className)) {
+				_class = env.getClass(_className);
+			} else {
+				_class = null;
+			}
+
+			_valid = _class != null && _class.declaresMethod(_subSignature);
+
+			if (_valid) {
+				_methods[_i] = _class.getMethod(_subSignature);
+			} else {
+				LOGGER.info("Method " + _subSignature + " is not available in " + _className);
+			}
+		}
+
+		final SootMethod[] _result;
+
+		if (_valid) {
+			_result = _methods;
+		} else {
+			_result = null;
+		}
+		return _result;
+	}
+
+	/**
+	 * Reads a string from the given buffer.
+	 * 
+	 * @param buffer to read from.
+	 * @return the string.
+	 * @throws UnsupportedEncodingException when the encoding of the strings is not supported.
+	 */
+	private static String readString(final ByteBuffer buffer) throws UnsupportedEncodingException {
+		final byte[] _bytes = new byte[readCount(buffer)];
+		buffer.get(_bytes);
+		return new String(_bytes, ENCODING);
+	}
+
+	/**
+	 * Writes the given string into the given stream.
+	 * 
+	 * @param out is the stream to write into.
+	 * @param string to be written.
+	 * @throws IOException when the string cannot be written.
+	 */
+	private static void writeString(final DataOutputStream out, final String string) throws IOException {
+		final byte[] _bytes = string.getBytes(ENCODING);
+		out.writeInt(_bytes.length);
+		out.write(_bytes);
+	}
+}
+
+// End of File
@@ -130,6 +130,13 @@ public class ExitControlDA
 		}
 	}
 
+	/**
+	 * @see edu.ksu.cis.indus.staticanalyses.interfaces.AbstractAnalysis#getRequiredInfoIds()
+	 */
+	@Override public Collection<Comparable<?>> getRequiredInfoIds() {
+		return Collections.<Comparable<?>> singleton(IDependencyAnalysis.DependenceSort.CONTROL_DA);
+	}
+
 	/**
 	 * Sets up internal data structures.
 	 *
@@ -0,0 +1,757 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.dependency;
+
+import edu.ksu.cis.indus.common.soot.BasicBlockGraph;
+import edu.ksu.cis.indus.common.soot.BasicBlockGraph.BasicBlock;
+
+import gnu.trove.TObjectIntHashMap;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * This class calculates intraprocedural control dependence over a basic block graph in which the basic blocks are identified
+ * by their position in <code>graph.getNodes()</code>. The successor relation, the fan out of the nodes, and the token sets
+ * are all captured in arrays indexed by these positions. Hence, none of the calculations need to look up the index of a
+ * basic block in the list of basic blocks.
+ * <p>
+ * Two calculations are provided.
+ * <ul>
+ * <li>{@link #computeUsingTokens()} is the token propagation based calculation of non-termination sensitive control
+ * dependence described in <a href="http://projects.cis.ksu.edu/docman/view.php/12/95/santos-tr2004-8.pdf">Santos-TR2004-8</a>.
+ * It is applicable to any graph.</li>
+ * <li>{@link #computeUsingPostDominators()} is the classic calculation based on the post dominator tree and post dominance
+ * frontiers (Ferrante, Ottenstein, and Warren; Cooper, Harvey, and Kennedy) on the graph augmented with a virtual exit node.
+ * It is linear in the size of the graph and the dependence relation. However, non-termination sensitive control dependence
+ * coincides with classic control dependence only when there are no cycles in the graph, i.e., when {@link #isAcyclic()}
+ * holds.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * As in <code>AbstractControlDA.getFanoutNumOf()</code>, an exit block with successors is considered to have an additional
+ * successor, i.e., the virtual exit node.
+ * </p>
+ * <p>
+ * In the token propagation based calculation, the tokens of ancestors are accumulated at a node until no more tokens can be
+ * accumulated. Hence, the result does not depend on the order in which the control points are visited or in which the
+ * nodes are processed.
+ * </p>
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+final class IndexBasedControlDependenceEngine {
+
+	/**
+	 * The number of bits in a word of a token set.
+	 */
+	private static final int BITS_PER_WORD = 64;
+
+	/**
+	 * The sequence of control points (nodes with fan out greater than 1) in the graph.
+	 *
+	 * @invariant ctrlPoints->forall(o | fanouts[o] > 1)
+	 */
+	private final int[] ctrlPoints;
+
+	/**
+	 * This maps a node to it's position in the sequence of control points. A node that is not a control point is mapped to
+	 * -1.
+	 */
+	private final int[] ctrlPointOrdinals;
+
+	/**
+	 * This maps a node to it's fan out number.
+	 */
+	private final int[] fanouts;
+
+	/**
+	 * The nodes of the graph.
+	 */
+	private final List<BasicBlock> nodes;
+
+	/**
+	 * This maps a node to it's successors.
+	 */
+	private final int[][] succs;
+
+	/**
+	 * The number of words used to capture the tokens of a control point in a token set.
+	 */
+	private final int wordsPerCtrlPoint;
+
+	/**
+	 * Creates an instance of this class.
+	 *
+	 * @param graph of interest.
+	 * @pre graph != null
+	 */
+	IndexBasedControlDependenceEngine(final BasicBlockGraph graph) {
+		nodes = graph.getNodes();
+
+		final int _size = nodes.size();
+		final TObjectIntHashMap _node2index = new TObjectIntHashMap();
+
+		for (int _i = 0; _i < _size; _i++) {
+			_node2index.put(nodes.get(_i), _i);
+		}
+
+		succs = new int[_size][];
+		fanouts = new int[_size];
+		ctrlPointOrdinals = new int[_size];
+
+		int _numOfCtrlPoints = 0;
+		int _maxFanout = 1;
+
+		for (int _i = 0; _i < _size; _i++) {
+			final BasicBlock _bb = nodes.get(_i);
+			final Collection<BasicBlock> _succs = _bb.getSuccsOf();
+			final int[] _temp = new int[_succs.size()];
+			final Iterator<BasicBlock> _j = _succs.iterator();
+
+			for (int _k = 0; _k < _temp.length; _k++) {
+				_temp[_k] = _node2index.get(_j.next());
+			}
+			succs[_i] = _temp;
+
+			int _fanout = _temp.length;
+
+			if (_fanout > 0 && _bb.isAnExitBlock()) {
+				_fanout++;
+			}
+			fanouts[_i] = _fanout;
+
+			if (_fanout > 1) {
+				ctrlPointOrdinals[_i] = _numOfCtrlPoints++;
+				_maxFanout = Math.max(_maxFanout, _fanout);
+			} else {
+				ctrlPointOrdinals[_i] = -1;
+			}
+		}
+
+		ctrlPoints = new int[_numOfCtrlPoints];
+
+		for (int _i = 0; _i < _size; _i++) {
+			if (ctrlPointOrdinals[_i] != -1) {
+				ctrlPoints[ctrlPointOrdinals[_i]] = _i;
+			}
+		}
+		wordsPerCtrlPoint = (_maxFanout + BITS_PER_WORD - 1) / BITS_PER_WORD;
+	}
+
+	/**
+	 * Calculates classic control dependence based on post dominance frontiers.
+	 *
+	 * @return an array of bitsets or <code>null</code> if some node cannot reach the (virtual) exit node. The length of the
+	 *         array is equal to the number of nodes in the graph. The nth bitset captures the dependence information via set
+	 *         bits. The BitSets capture dependent->dependee information. A node that is not dependent on any node is mapped
+	 *         to <code>null</code>.
+	 * @post result = null or result.length == getNodes().size()
+	 */
+	BitSet[] computeUsingPostDominators() {
+		final int _size = nodes.size();
+		final int _exit = _size;
+		final int[][] _preds = calculatePredecessors();
+
+		// calculate the post order of the nodes in the reverse graph rooted at the virtual exit node.
+		final int[] _postorder = new int[_size + 1];
+		final int[] _order2node = new int[_size + 1];
+		final int _visited = calculateReversePostOrder(_preds, _postorder, _order2node);
+
+		BitSet[] _result = null;
+
+		if (_visited == _size + 1) {
+			final int[] _ipdoms = calculateImmediatePostDominators(_postorder, _order2node);
+			_result = new BitSet[_size];
+
+			for (int _o = 0; _o < ctrlPoints.length; _o++) {
+				final int _cp = ctrlPoints[_o];
+				final int _ipdom = _ipdoms[_cp];
+				final int[] _cpSuccs = succs[_cp];
+
+				for (int _i = 0; _i < _cpSuccs.length; _i++) {
+					for (int _runner = _cpSuccs[_i]; _runner != _ipdom && _runner != _exit; _runner = _ipdoms[_runner]) {
+						BitSet _temp = _result[_runner];
+
+						if (_temp == null) {
+							_temp = new BitSet();
+							_result[_runner] = _temp;
+						}
+						_temp.set(_cp);
+					}
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Calculates non-termination sensitive control dependence by token propagation.
+	 * <p>
+	 * In this calculation, the tokens corresponding to ancestors are blocked at control points. Only when a node accumulates
+	 * all tokens of a control point node, the tokens at the control point corresponding to the ancestor of the control point
+	 * are injected into the token set of the node.
+	 * </p>
+	 * <p>
+	 * The token sets are stored in a matrix. The first subscript is the index of the dependent basic block. The set of tokens
+	 * of the control point at position <i>c</i> in the sequence of control points occupy the words in the range
+	 * <code>[c * wordsPerCtrlPoint, (c + 1) * wordsPerCtrlPoint)</code> of the row. A row is allocated only when a token is
+	 * propagated to the corresponding basic block.
+	 * </p>
+	 *
+	 * @return an array of bitsets. The length of the array is equal to the number of nodes in the graph. The nth bitset
+	 *         captures the dependence information via set bits. The BitSets capture dependent->dependee information. A node
+	 *         that is not dependent on any node is mapped to <code>null</code>.
+	 * @post result.length == getNodes().size()
+	 */
+	BitSet[] computeUsingTokens() {
+		final long[][] _tokenSets = new long[nodes.size()][];
+		final IntWorkStack _wb = new IntWorkStack(nodes.size());
+
+		injectTokensAndGenerateWorkForTokenPropagation(_tokenSets, _wb);
+
+		while (_wb.hasWork()) {
+			final int _work = _wb.getWork();
+			processNode(_work >> 1, (_work & 1) == 1, _tokenSets, _wb);
+		}
+		return calculateCDFromTokenInfo(_tokenSets);
+	}
+
+	/**
+	 * Retrieves the nodes of the graph.
+	 *
+	 * @return the nodes.
+	 * @post result != null
+	 */
+	List<BasicBlock> getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Checks if the graph is acyclic.
+	 *
+	 * @return <code>true</code> if the graph does not contain cycles; <code>false</code>, otherwise.
+	 */
+	boolean isAcyclic() {
+		final int _size = nodes.size();
+		final byte[] _state = new byte[_size];
+		final int[] _stack = new int[_size];
+		final int[] _succIndices = new int[_size];
+		boolean _result = true;
+
+		for (int _root = 0; _root < _size && _result; _root++) {
+			if (_state[_root] == 0) {
+				int _top = 0;
+				_stack[0] = _root;
+				_succIndices[0] = 0;
+				_state[_root] = 1;
+
+				while (_top >= 0 && _result) {
+					final int _node = _stack[_top];
+					final int[] _succs = succs[_node];
+
+					if (_succIndices[_top] < _succs.length) {
+						final int _succ = _succs[_succIndices[_top]++];
+
+						if (_state[_succ] == 1) {
+							_result = false;
+						} else if (_state[_succ] == 0) {
+							_state[_succ] = 1;
+							_stack[++_top] = _succ;
+							_succIndices[_top] = 0;
+						}
+					} else {
+						_state[_node] = 2;
+						_top--;
+					}
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Accumulates the tokens of ancestor nodes for the purpose of direct CD calculation. In this method, the tokens at
+	 * ancestors of the control points which were dependees for the given node are injected into the token set of the given
+	 * node if the dependees are no longer dependees. This is repeated until no new tokens are accumulated as the injected
+	 * tokens may complete the tokens of other control points at the node.
+	 *
+	 * @param node at which to accumulate tokens.
+	 * @param tokenSets is the collection of token sets of the nodes in the graph.
+	 * @return <code>true</code> if any new tokens were accumulated; <code>false</code>, otherwise.
+	 * @pre tokenSets != null
+	 */
+	private boolean accumulateTokensAtNode(final int node, final long[][] tokenSets) {
+		boolean _result = false;
+		final long[] _nodeTokens = tokenSets[node];
+
+		boolean _changed = _nodeTokens != null;
+
+		while (_changed) {
+			_changed = false;
+
+			for (int _o = ctrlPoints.length - 1; _o >= 0; _o--) {
+				final int _ctrlPoint = ctrlPoints[_o];
+
+				if (_ctrlPoint != node && cardinality(_nodeTokens, _o) == fanouts[_ctrlPoint]) {
+					_changed |= copyAncestorTokensFromTo(_ctrlPoint, node, tokenSets);
+				}
+			}
+			_result |= _changed;
+		}
+		return _result;
+	}
+
+	/**
+	 * Calculates the predecessors of the nodes in the graph augmented with the virtual exit node. The virtual exit node is
+	 * the node with index <code>getNodes().size()</code> and it's predecessors are the sinks and the exit blocks.
+	 *
+	 * @return the predecessors of the nodes.
+	 * @post result.length == getNodes().size() + 1
+	 */
+	private int[][] calculatePredecessors() {
+		final int _size = nodes.size();
+		final int[] _counts = new int[_size + 1];
+
+		for (int _i = 0; _i < _size; _i++) {
+			final int[] _succs = succs[_i];
+
+			for (int _j = 0; _j < _succs.length; _j++) {
+				_counts[_succs[_j]]++;
+			}
+
+			if (hasEdgeToExit(_i)) {
+				_counts[_size]++;
+			}
+		}
+
+		final int[][] _result = new int[_size + 1][];
+
+		for (int _i = 0; _i <= _size; _i++) {
+			_result[_i] = new int[_counts[_i]];
+			_counts[_i] = 0;
+		}
+
+		for (int _i = 0; _i < _size; _i++) {
+			final int[] _succs = succs[_i];
+
+			for (int _j = 0; _j < _succs.length; _j++) {
+				final int _succ = _succs[_j];
+				_result[_succ][_counts[_succ]++] = _i;
+			}
+
+			if (hasEdgeToExit(_i)) {
+				_result[_size][_counts[_size]++] = _i;
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Calculates control dependency information from the given token information.
+	 *
+	 * @param tokenSets is the collection of token sets of the nodes in the graph.
+	 * @return an array of bitsets capturing dependent->dependee information.
+	 * @pre tokenSets != null
+	 * @post result.length == getNodes().size()
+	 */
+	private BitSet[] calculateCDFromTokenInfo(final long[][] tokenSets) {
+		final BitSet[] _result = new BitSet[nodes.size()];
+
+		for (int _o = ctrlPoints.length - 1; _o >= 0; _o--) {
+			final int _ctrlPoint = ctrlPoints[_o];
+			final int _succsSize = fanouts[_ctrlPoint];
+
+			for (int _k = tokenSets.length - 1; _k >= 0; _k--) {
+				final long[] _tokens = tokenSets[_k];
+
+				if (_tokens != null) {
+					final int _cardinality = cardinality(_tokens, _o);
+
+					if (_cardinality > 0 && _cardinality != _succsSize) {
+						BitSet _temp = _result[_k];
+
+						if (_temp == null) {
+							_temp = new BitSet();
+							_result[_k] = _temp;
+						}
+						_temp.set(_ctrlPoint);
+					}
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Calculates the immediate post dominators of the nodes based on the algorithm by Cooper, Harvey, and Kennedy.
+	 *
+	 * @param postorder maps a node to it's position in the post order of the reverse graph.
+	 * @param order2node maps a position in the post order of the reverse graph to the node at that position.
+	 * @return the immediate post dominators of the nodes. The virtual exit node is it's own immediate post dominator.
+	 * @pre postorder != null and order2node != null
+	 * @post result.length == getNodes().size() + 1
+	 */
+	private int[] calculateImmediatePostDominators(final int[] postorder, final int[] order2node) {
+		final int _exit = nodes.size();
+		final int[] _result = new int[_exit + 1];
+		Arrays.fill(_result, -1);
+		_result[_exit] = _exit;
+
+		boolean _changed = true;
+
+		while (_changed) {
+			_changed = false;
+
+			// the virtual exit node is at the end of the post order.
+			for (int _o = _exit - 1; _o >= 0; _o--) {
+				final int _node = order2node[_o];
+				final int[] _succs = succs[_node];
+				int _newIPDom = -1;
+
+				if (hasEdgeToExit(_node)) {
+					_newIPDom = _exit;
+				}
+
+				for (int _i = 0; _i < _succs.length; _i++) {
+					final int _succ = _succs[_i];
+
+					if (_result[_succ] != -1) {
+						if (_newIPDom == -1) {
+							_newIPDom = _succ;
+						} else {
+							_newIPDom = intersect(_succ, _newIPDom, _result, postorder);
+						}
+					}
+				}
+
+				if (_result[_node] != _newIPDom) {
+					_result[_node] = _newIPDom;
+					_changed = true;
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Calculates the post order of the nodes in the reverse graph by a depth first traversal from the virtual exit node.
+	 *
+	 * @param preds is the predecessors of the nodes in the augmented graph.
+	 * @param postorder is the out argument that maps a node to it's position in the post order.
+	 * @param order2node is the out argument that maps a position in the post order to the node at that position.
+	 * @return the number of nodes that were visited.
+	 * @pre preds != null and postorder != null and order2node != null
+	 */
+	private int calculateReversePostOrder(final int[][] preds, final int[] postorder, final int[] order2node) {
+		final int _exit = nodes.size();
+		final boolean[] _visited = new boolean[_exit + 1];
+		final int[] _stack = new int[_exit + 1];
+		final int[] _predIndices = new int[_exit + 1];
+		int _top = 0;
+		int _count = 0;
+		_stack[0] = _exit;
+		_visited[_exit] = true;
+
+		while (_top >= 0) {
+			final int _node = _stack[_top];
+			final int[] _preds = preds[_node];
+
+			if (_predIndices[_top] < _preds.length) {
+				final int _pred = _preds[_predIndices[_top]++];
+
+				if (!_visited[_pred]) {
+					_visited[_pred] = true;
+					_stack[++_top] = _pred;
+					_predIndices[_top] = 0;
+				}
+			} else {
+				postorder[_node] = _count;
+				order2node[_count] = _node;
+				_count++;
+				_top--;
+			}
+		}
+		return _count;
+	}
+
+	/**
+	 * Retrieves the number of tokens of the given control point in the given token set.
+	 *
+	 * @param tokens is the token set.
+	 * @param ctrlPointOrdinal is the position of the control point in the sequence of control points.
+	 * @return the number of tokens.
+	 * @pre tokens != null
+	 */
+	private int cardinality(final long[] tokens, final int ctrlPointOrdinal) {
+		int _result = 0;
+		final int _base = ctrlPointOrdinal * wordsPerCtrlPoint;
+
+		for (int _i = _base + wordsPerCtrlPoint - 1; _i >= _base; _i--) {
+			_result += Long.bitCount(tokens[_i]);
+		}
+		return _result;
+	}
+
+	/**
+	 * Injects the tokens corresponding to the ancestors of the node at <code>src</code> into the token sets corresponding
+	 * to the same ancestors at the node at <code>dest</code>.
+	 *
+	 * @param src is the index of the node whose ancestor's tokens need to be propagated.
+	 * @param dest is the index of the node into which the tokens will be propagated to.
+	 * @param tokenSets is the collection of token sets of the nodes in the graph.
+	 * @return <code>true</code>if bits/tokens were added to the destination node; <code>false</code>, otherwise.
+	 * @pre tokenSets != null and tokenSets[dest] != null
+	 */
+	private boolean copyAncestorTokensFromTo(final int src, final int dest, final long[][] tokenSets) {
+		boolean _result = false;
+		final long[] _srcTokens = tokenSets[src];
+
+		if (_srcTokens != null) {
+			final long[] _destTokens = tokenSets[dest];
+
+			for (int _o = ctrlPoints.length - 1; _o >= 0; _o--) {
+				if (dest != ctrlPoints[_o]) {
+					final int _base = _o * wordsPerCtrlPoint;
+
+					for (int _i = _base + wordsPerCtrlPoint - 1; _i >= _base; _i--) {
+						final long _new = _srcTokens[_i] & ~_destTokens[_i];
+
+						if (_new != 0) {
+							_destTokens[_i] |= _new;
+							_result = true;
+						}
+					}
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the token set of the given node. The token set is created if it does not exist.
+	 *
+	 * @param node of interest.
+	 * @param tokenSets is the collection of token sets of the nodes in the graph.
+	 * @return the token set of the node.
+	 * @pre tokenSets != null
+	 * @post result != null and tokenSets[node] == result
+	 */
+	private long[] getTokensOf(final int node, final long[][] tokenSets) {
+		long[] _result = tokenSets[node];
+
+		if (_result == null) {
+			_result = new long[ctrlPoints.length * wordsPerCtrlPoint];
+			tokenSets[node] = _result;
+		}
+		return _result;
+	}
+
+	/**
+	 * Checks if the given node has an edge to the virtual exit node.
+	 *
+	 * @param node of interest.
+	 * @return <code>true</code> if the node is a sink or an exit block; <code>false</code>, otherwise.
+	 */
+	private boolean hasEdgeToExit(final int node) {
+		return succs[node].length == 0 || fanouts[node] > succs[node].length;
+	}
+
+	/**
+	 * Injects tokens into token sets of successor nodes of nodes with multiple children and adds the successors to the
+	 * given work bag.
+	 *
+	 * @param tokenSets is the collection of token sets of the nodes in the graph.
+	 * @param wb is the work bag to be populated.
+	 * @pre tokenSets != null and wb != null
+	 */
+	private void injectTokensAndGenerateWorkForTokenPropagation(final long[][] tokenSets, final IntWorkStack wb) {
+		for (int _o = 0; _o < ctrlPoints.length; _o++) {
+			final int[] _succs = succs[ctrlPoints[_o]];
+			final int _base = _o * wordsPerCtrlPoint;
+
+			for (int _count = 0; _count < _succs.length; _count++) {
+				final int _succ = _succs[_count];
+				getTokensOf(_succ, tokenSets)[_base + _count / BITS_PER_WORD] |= 1L << (_count % BITS_PER_WORD);
+				wb.addWorkNoDuplicates(_succ, true);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the nearest common ancestor of the given nodes in the post dominator tree.
+	 *
+	 * @param node1 of interest.
+	 * @param node2 of interest.
+	 * @param ipdoms is the (partial) post dominator tree.
+	 * @param postorder maps a node to it's position in the post order of the reverse graph.
+	 * @return the nearest common ancestor.
+	 * @pre ipdoms != null and postorder != null
+	 */
+	private int intersect(final int node1, final int node2, final int[] ipdoms, final int[] postorder) {
+		int _finger1 = node1;
+		int _finger2 = node2;
+
+		while (_finger1 != _finger2) {
+			while (postorder[_finger1] < postorder[_finger2]) {
+				_finger1 = ipdoms[_finger1];
+			}
+
+			while (postorder[_finger2] < postorder[_finger1]) {
+				_finger2 = ipdoms[_finger2];
+			}
+		}
+		return _finger1;
+	}
+
+	/**
+	 * Processes the given node. Basically, it propagates the tokens to it's successor and adds the nodes whose token sets were
+	 * modified to the work bag.
+	 *
+	 * @param node to be processed.
+	 * @param addedDueToTokenPropagation <code>true</code> if the node was added to the work bag as it's token set was
+	 *            modified; <code>false</code>, otherwise.
+	 * @param tokenSets is the collection of token sets of the nodes in the graph.
+	 * @param wb is the work bag.
+	 * @pre tokenSets != null and wb != null
+	 */
+	private void processNode(final int node, final boolean addedDueToTokenPropagation, final long[][] tokenSets,
+			final IntWorkStack wb) {
+		final boolean _accumlatedTokens = accumulateTokensAtNode(node, tokenSets);
+
+		if (addedDueToTokenPropagation || _accumlatedTokens) {
+			final int _size = fanouts[node];
+
+			if (_size == 1) {
+				final long[] _nodeTokens = tokenSets[node];
+
+				if (_nodeTokens != null) {
+					final int _succ = succs[node][0];
+					final long[] _succTokens = getTokensOf(_succ, tokenSets);
+					boolean _addflag = false;
+
+					for (int _i = _nodeTokens.length - 1; _i >= 0; _i--) {
+						final long _new = _nodeTokens[_i] & ~_succTokens[_i];
+
+						if (_new != 0) {
+							_succTokens[_i] |= _new;
+							_addflag = true;
+						}
+					}
+
+					if (_addflag) {
+						wb.addWorkNoDuplicates(_succ, true);
+					}
+				}
+			} else if (_size > 1) {
+				final int _ordinal = ctrlPointOrdinals[node];
+
+				for (int _i = 0; _i < tokenSets.length; _i++) {
+					final long[] _tokens = tokenSets[_i];
+
+					if (_tokens != null && cardinality(_tokens, _ordinal) == _size) {
+						wb.addWorkNoDuplicates(_i, _accumlatedTokens);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * This is a LIFO work bag of (node, flag) pairs encoded as integers.
+	 *
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$ $Date$
+	 */
+	private static final class IntWorkStack {
+
+		/**
+		 * This indicates if an encoded pair is in the work bag.
+		 */
+		private final boolean[] queued;
+
+		/**
+		 * The stack of encoded pairs.
+		 */
+		private int[] stack;
+
+		/**
+		 * The number of encoded pairs in the work bag.
+		 */
+		private int top;
+
+		/**
+		 * Creates an instance of this class.
+		 *
+		 * @param numOfNodes is the number of nodes in the graph.
+		 */
+		IntWorkStack(final int numOfNodes) {
+			queued = new boolean[numOfNodes * 2];
+			stack = new int[Math.max(numOfNodes, 1)];
+		}
+
+		/**
+		 * Adds the given pair to the work bag if it is not already in the work bag.
+		 *
+		 * @param node of interest.
+		 * @param flag of interest.
+		 */
+		void addWorkNoDuplicates(final int node, final boolean flag) {
+			final int _work = (node << 1) | (flag ? 1 : 0);
+
+			if (!queued[_work]) {
+				queued[_work] = true;
+
+				if (top == stack.length) {
+					final int[] _temp = new int[top * 2];
+					System.arraycopy(stack, 0, _temp, 0, top);
+					stack = _temp;
+				}
+				stack[top++] = _work;
+			}
+		}
+
+		/**
+		 * Retrieves a pair from the work bag.
+		 *
+		 * @return the encoded pair, i.e., <code>(node &lt;&lt; 1) | (flag ? 1 : 0)</code>.
+		 * @pre hasWork()
+		 */
+		int getWork() {
+			final int _result = stack[--top];
+			queued[_result] = false;
+			return _result;
+		}
+
+		/**
+		 * Checks if the work bag has any work.
+		 *
+		 * @return <code>true</code> if there is work; <code>false</code>, otherwise.
+		 */
+		boolean hasWork() {
+			return top > 0;
+		}
+	}
+}
+
+// End of File
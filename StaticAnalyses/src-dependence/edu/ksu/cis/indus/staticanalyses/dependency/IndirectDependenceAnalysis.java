@@ -113,7 +113,7 @@ final class IndirectDependenceAnalysis<T1, C1, E1, KE, VT, E2, C2, T2, KT, VE>
 	/**
 	 * @see edu.ksu.cis.indus.staticanalyses.dependency.IDependencyAnalysis#getDependees(Object, Object)
 	 */
-	public Collection<E1> getDependees(final T1 dependent, final C1 context) {
+	public synchronized Collection<E1> getDependees(final T1 dependent, final C1 context) {
 		final Pair<T1, C1> _key = new Pair<T1, C1>(dependent, context);
 		Collection<E1> _result = dependent2dependee.get(_key);
 
@@ -139,7 +139,7 @@ final class IndirectDependenceAnalysis<T1, C1, E1, KE, VT, E2, C2, T2, KT, VE>
 	/**
 	 * @see edu.ksu.cis.indus.staticanalyses.dependency.IDependencyAnalysis#getDependents(java.lang.Object, java.lang.Object)
 	 */
-	public Collection<T2> getDependents(final E2 dependee, final C2 context) {
+	public synchronized Collection<T2> getDependents(final E2 dependee, final C2 context) {
 		final Pair<E2, C2> _key = new Pair<E2, C2>(dependee, context);
 		Collection<T2> _result = dependee2dependent.get(_key);
 
@@ -191,6 +191,13 @@ final class IndirectDependenceAnalysis<T1, C1, E1, KE, VT, E2, C2, T2, KT, VE>
 		return null;
 	}
 
+	/**
+	 * @see edu.ksu.cis.indus.staticanalyses.interfaces.IAnalysis#getRequiredInfoIds()
+	 */
+	public Collection<Comparable<?>> getRequiredInfoIds() {
+		return da.getRequiredInfoIds();
+	}
+
 	/**
 	 * @see edu.ksu.cis.indus.staticanalyses.interfaces.IAnalysis#initialize(java.util.Map)
 	 */
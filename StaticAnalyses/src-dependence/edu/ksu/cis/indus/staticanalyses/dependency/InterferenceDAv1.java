@@ -16,28 +16,41 @@
 
 package edu.ksu.cis.indus.staticanalyses.dependency;
 
+import edu.ksu.cis.indus.annotations.NonNull;
 import edu.ksu.cis.indus.common.ToStringBasedComparator;
+import edu.ksu.cis.indus.common.collections.CollectionUtils;
 import edu.ksu.cis.indus.common.collections.IPredicate;
 import edu.ksu.cis.indus.common.collections.InstanceOfPredicate;
 import edu.ksu.cis.indus.common.collections.MapUtils;
-import edu.ksu.cis.indus.common.collections.SetUtils;
 import edu.ksu.cis.indus.common.datastructures.Pair;
 import edu.ksu.cis.indus.common.datastructures.Pair.PairManager;
 import edu.ksu.cis.indus.interfaces.IThreadGraphInfo;
 import edu.ksu.cis.indus.processing.AbstractProcessor;
 import edu.ksu.cis.indus.processing.Context;
+import edu.ksu.cis.indus.processing.IThreadSafeProcessor;
 import edu.ksu.cis.indus.processing.ProcessingController;
+import edu.ksu.cis.indus.staticanalyses.Constants;
 import edu.ksu.cis.indus.staticanalyses.InitializationException;
 import edu.ksu.cis.indus.staticanalyses.flow.instances.ofa.OFAnalyzer;
 import edu.ksu.cis.indus.staticanalyses.flow.modes.sensitive.allocation.AllocationContext;
 import edu.ksu.cis.indus.staticanalyses.interfaces.IValueAnalyzer;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,6 +60,7 @@ import soot.SootField;
 import soot.SootMethod;
 import soot.Type;
 import soot.Value;
+import soot.ValueBox;
 import soot.jimple.ArrayRef;
 import soot.jimple.AssignStmt;
 import soot.jimple.FieldRef;
@@ -68,6 +82,11 @@ import soot.jimple.Stmt;
  * good programs.
  * </p>
  * <p>
+ * By default, the access sites of a field or an array type are partitioned by the objects that their primaries may point to
+ * (when object flow analysis is used) and only the pairs of sites that share a partition are checked for interference.
+ * Refer to <code>setPartitionAccessSites()</code> and <code>setParallelism()</code> for details.
+ * </p>
+ * <p>
  * This analysis should be <code>setup</code> before preprocessing.
  * </p>
  * 
@@ -80,14 +99,16 @@ public class InterferenceDAv1
 		AbstractDependencyAnalysis<AssignStmt, SootMethod, Pair<AssignStmt, SootMethod>, Object, Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>>, AssignStmt, SootMethod, Pair<AssignStmt, SootMethod>, Object, Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>>> {
 
 	/**
-	 * A preprocessor which captures all the array and field access locations in the analyzed system.
+	 * A preprocessor which captures all the array and field access locations in the analyzed system. The locations are
+	 * recorded under the lock of the preprocessor; hence, method bodies may be preprocessed concurrently.
 	 * 
 	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
 	 * @author $Author$
 	 * @version $Revision$
 	 */
 	private class PreProcessor
-			extends AbstractProcessor {
+			extends AbstractProcessor
+			implements IThreadSafeProcessor {
 
 		/**
 		 * Called by the controller when it encounters an assignment statement. This records array access and field access
@@ -99,7 +120,7 @@ public class InterferenceDAv1
 		 * @pre context.getCurrentMethod() != null
 		 * @see edu.ksu.cis.indus.staticanalyses.interfaces.IValueAnalyzerBasedProcessor#callback(Stmt,Context)
 		 */
-		@Override public void callback(final Stmt stmt, final Context context) {
+		@Override public synchronized void callback(final Stmt stmt, final Context context) {
 			final AssignStmt _as = (AssignStmt) stmt;
 			Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>> _temp = null;
 
@@ -155,6 +176,187 @@ public class InterferenceDAv1
 		}
 	}
 
+	/**
+	 * This class captures the access sites of a field or an array type along with the dependee sites that may interfere
+	 * with each dependent site.
+	 * 
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$
+	 */
+	private final class AccessPartition {
+
+		/**
+		 * This maps the dependent sites to the dependee sites of the partitioned field or array type.
+		 */
+		private final Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>> dependee2dependents;
+
+		/**
+		 * The dependee sites that may interfere.
+		 */
+		private final List<Pair<AssignStmt, SootMethod>> dependees;
+
+		/**
+		 * This maps the dependee sites to the dependent sites of the partitioned field or array type.
+		 */
+		private final Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>> dependent2dependees;
+
+		/**
+		 * The dependent sites that may interfere.
+		 */
+		private final List<Pair<AssignStmt, SootMethod>> dependents = new ArrayList<Pair<AssignStmt, SootMethod>>();
+
+		/**
+		 * This maps a dependent site (at the same index in <code>dependents</code>) to the indices of the dependee sites in
+		 * <code>dependees</code> that it should be paired with.
+		 */
+		private final List<BitSet> candidates = new ArrayList<BitSet>();
+
+		/**
+		 * Creates an instance of this class.
+		 * 
+		 * @param key is the field or the array type of the access sites.
+		 * @param dtMap maps the dependent sites of <code>key</code> to their dependee sites.
+		 * @param deMap maps the dependee sites of <code>key</code> to their dependent sites.
+		 * @pre key != null and dtMap != null and deMap != null
+		 */
+		AccessPartition(final Object key,
+				final Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>> dtMap,
+				final Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>> deMap) {
+			dependent2dependees = dtMap;
+			dependee2dependents = deMap;
+			dependees = new ArrayList<Pair<AssignStmt, SootMethod>>();
+
+			for (final Iterator<Pair<AssignStmt, SootMethod>> _i = deMap.keySet().iterator(); _i.hasNext();) {
+				final Pair<AssignStmt, SootMethod> _de = _i.next();
+
+				if (mayAccessSiteInterfere(_de, _de.getFirst().getLeftOp())) {
+					dependees.add(_de);
+				}
+			}
+
+			final boolean _partitionByObjects = useOFA && !(key instanceof SootField && ((SootField) key).isStatic());
+			final Map<Value, BitSet> _object2dependees = new HashMap<Value, BitSet>();
+			final BitSet _allDependees = new BitSet();
+			_allDependees.set(0, dependees.size());
+
+			if (_partitionByObjects) {
+				for (int _i = dependees.size() - 1; _i >= 0; _i--) {
+					final Pair<AssignStmt, SootMethod> _de = dependees.get(_i);
+
+					for (final Iterator<Value> _j = getObjectsAccessedAt(_de, _de.getFirst().getLeftOp()).iterator(); _j
+							.hasNext();) {
+						final Value _object = _j.next();
+						BitSet _sites = _object2dependees.get(_object);
+
+						if (_sites == null) {
+							_sites = new BitSet();
+							_object2dependees.put(_object, _sites);
+						}
+						_sites.set(_i);
+					}
+				}
+			}
+
+			for (final Iterator<Pair<AssignStmt, SootMethod>> _i = dtMap.keySet().iterator(); _i.hasNext();) {
+				final Pair<AssignStmt, SootMethod> _dt = _i.next();
+				final Value _dtRef = _dt.getFirst().getRightOp();
+
+				if (mayAccessSiteInterfere(_dt, _dtRef)) {
+					final BitSet _candidates;
+
+					if (_partitionByObjects) {
+						_candidates = new BitSet();
+
+						for (final Iterator<Value> _j = getObjectsAccessedAt(_dt, _dtRef).iterator(); _j.hasNext();) {
+							final BitSet _sites = _object2dependees.get(_j.next());
+
+							if (_sites != null) {
+								_candidates.or(_sites);
+							}
+						}
+					} else {
+						_candidates = _allDependees;
+					}
+
+					if (!_candidates.isEmpty()) {
+						dependents.add(_dt);
+						candidates.add(_candidates);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Checks the candidate pairs of access sites in this partition for interference and records the dependences.
+		 */
+		void pairAccessSites() {
+			final int _iEnd = dependents.size();
+
+			for (int _i = 0; _i < _iEnd; _i++) {
+				final Pair<AssignStmt, SootMethod> _dt = dependents.get(_i);
+				final BitSet _candidates = candidates.get(_i);
+
+				for (int _j = _candidates.nextSetBit(0); _j >= 0; _j = _candidates.nextSetBit(_j + 1)) {
+					final Pair<AssignStmt, SootMethod> _de = dependees.get(_j);
+
+					if (isDependentOn(_dt, _de)) {
+						MapUtils.putIntoCollectionInMap(dependent2dependees, _dt, _de);
+						MapUtils.putIntoCollectionInMap(dependee2dependents, _de, _dt);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * This class pairs the access sites in partitions. Workers share the partitions and pick them in order until there are
+	 * none left. As each partition pertains to a distinct field or array type, the workers update disjoint maps.
+	 * 
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$
+	 */
+	private static final class PartitionWorker
+			implements Callable<Object> {
+
+		/**
+		 * The index of the next partition to be processed. This is shared by all workers.
+		 */
+		private final AtomicInteger nextPartition;
+
+		/**
+		 * The partitions to be processed. This is shared by all workers.
+		 */
+		private final List<AccessPartition> partitions;
+
+		/**
+		 * Creates an instance of this class.
+		 * 
+		 * @param thePartitions to be processed.
+		 * @param theNextPartition is the index of the next partition to be processed.
+		 * @pre thePartitions != null and theNextPartition != null
+		 */
+		PartitionWorker(final List<AccessPartition> thePartitions, final AtomicInteger theNextPartition) {
+			partitions = thePartitions;
+			nextPartition = theNextPartition;
+		}
+
+		/**
+		 * Processes partitions until there are none left.
+		 * 
+		 * @return <code>null</code>
+		 */
+		public Object call() {
+			final int _iEnd = partitions.size();
+
+			for (int _i = nextPartition.getAndIncrement(); _i < _iEnd; _i = nextPartition.getAndIncrement()) {
+				partitions.get(_i).pairAccessSites();
+			}
+			return null;
+		}
+	}
+
 	/**
 	 * This predicate can be used to check if an object of this class type.
 	 */
@@ -176,11 +378,32 @@ public class InterferenceDAv1
 	 */
 	protected IThreadGraphInfo tgi;
 
+	/**
+	 * This stores the dependences when they are stored compactly.
+	 */
+	private CompactDependenceStore<AssignStmt> compactStore;
+
 	/**
 	 * The object flow analysis to be used.
 	 */
 	private IValueAnalyzer<Value> ofa;
 
+	/**
+	 * The number of workers used to pair the access sites in partitions.
+	 */
+	private int parallelism;
+
+	/**
+	 * This indicates if the access sites should be partitioned before pairing them.
+	 */
+	private boolean partitionAccessSites;
+
+	/**
+	 * This maps an access site to the non-null objects that the primary of it's access expression may point to. This is
+	 * populated during <code>analyze()</code> and cleared at the end of it.
+	 */
+	private final Map<Pair<AssignStmt, SootMethod>, Collection<Value>> site2objects = new ConcurrentHashMap<Pair<AssignStmt, SootMethod>, Collection<Value>>();
+
 	/**
 	 * This indicates if object flow analysis should be used.
 	 */
@@ -192,6 +415,8 @@ public class InterferenceDAv1
 	public InterferenceDAv1() {
 		super(Direction.BI_DIRECTIONAL);
 		preprocessor = new PreProcessor();
+		partitionAccessSites = Constants.getPartitionAccessSitesForInterferenceDA();
+		parallelism = Constants.getParallelismForInterferenceDA();
 	}
 
 	/**
@@ -200,40 +425,28 @@ public class InterferenceDAv1
 	@Override public void analyze() {
 		unstable();
 
-		if (LOGGER.isInfoEnabled()) {
-			LOGGER.info("BEGIN: Interference Dependence [" + this.getClass() + "] processing");
-		}
-
-		// we return immediately if there are no start sites in the system.
-		if (tgi.getCreationSites().isEmpty()) {
+		// the dependences are not recalculated if they are in a compact store, e.g., set via setCompactDependenceStore().
+		if (compactStore != null) {
 			stable();
 			return;
 		}
 
-		for (final Iterator<Object> _i = dependent2dependee.keySet().iterator(); _i.hasNext();) {
-			final Object _o = _i.next();
+		if (LOGGER.isInfoEnabled()) {
+			LOGGER.info("BEGIN: Interference Dependence [" + this.getClass() + "] processing");
+		}
 
-			if (dependee2dependent.get(_o) == null) {
-				continue;
+		// there are no dependences if there are no start sites in the system.
+		if (!tgi.getCreationSites().isEmpty()) {
+			if (partitionAccessSites) {
+				pairAccessSitesInPartitions();
+			} else {
+				pairAllAccessSites();
 			}
+			site2objects.clear();
+		}
 
-			final Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>> _dtMap = dependent2dependee
-					.get(_o);
-			final Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>> _deMap = dependee2dependent
-					.get(_o);
-
-			for (final Iterator<Pair<AssignStmt, SootMethod>> _j = _dtMap.keySet().iterator(); _j.hasNext();) {
-				final Pair<AssignStmt, SootMethod> _dt = _j.next();
-
-				for (final Iterator<Pair<AssignStmt, SootMethod>> _k = _deMap.keySet().iterator(); _k.hasNext();) {
-					final Pair<AssignStmt, SootMethod> _de = _k.next();
-
-					if (isDependentOn(_dt, _de)) {
-						MapUtils.putIntoCollectionInMap(_dtMap, _dt, _de);
-						MapUtils.putIntoCollectionInMap(_deMap, _de, _dt);
-					}
-				}
-			}
+		if (isUsingCompactStorage()) {
+			compactDependences();
 		}
 
 		if (LOGGER.isDebugEnabled()) {
@@ -247,6 +460,25 @@ public class InterferenceDAv1
 		stable();
 	}
 
+	/**
+	 * Retrieves the store in which the dependences are stored compactly.
+	 * 
+	 * @return the store; <code>null</code> if the dependences are not stored compactly or they have not been calculated.
+	 */
+	public final CompactDependenceStore<AssignStmt> getCompactDependenceStore() {
+		return compactStore;
+	}
+
+	/**
+	 * Retrieves the number of workers used to pair the access sites in partitions.
+	 * 
+	 * @return the number of workers.
+	 * @post result >= 1
+	 */
+	public final int getParallelism() {
+		return parallelism;
+	}
+
 	/**
 	 * Returns the statements on which the field/array reference at the given statement and method depends on.
 	 * 
@@ -266,7 +498,9 @@ public class InterferenceDAv1
 			_dependent = stmt.getFieldRef().getField();
 		}
 
-		if (_dependent != null) {
+		if (compactStore != null) {
+			_result = compactStore.getDependees(stmt, method);
+		} else if (_dependent != null) {
 			_pair2set = MapUtils.queryMap(dependent2dependee, _dependent);
 			final Collection<Pair<AssignStmt, SootMethod>> _set = MapUtils.queryCollection(_pair2set, pairMgr.getPair(stmt,
 					method));
@@ -294,7 +528,9 @@ public class InterferenceDAv1
 			_dependee = stmt.getFieldRef().getField();
 		}
 
-		if (_dependee != null) {
+		if (compactStore != null) {
+			_result = compactStore.getDependents(stmt, method);
+		} else if (_dependee != null) {
 			_pair2set = MapUtils.queryMap(dependee2dependent, _dependee);
 			final Collection<Pair<AssignStmt, SootMethod>> _set = MapUtils.queryCollection(_pair2set, pairMgr.getPair(stmt,
 					method));
@@ -310,6 +546,15 @@ public class InterferenceDAv1
 		return Collections.singleton(IDependencyAnalysis.DependenceSort.INTERFERENCE_DA);
 	}
 
+	/**
+	 * Checks if the access sites are partitioned before pairing them.
+	 * 
+	 * @return <code>true</code> if the access sites are partitioned; <code>false</code>, otherwise.
+	 */
+	public final boolean isPartitioningAccessSites() {
+		return partitionAccessSites;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * 
@@ -317,6 +562,51 @@ public class InterferenceDAv1
 	 */
 	@Override public void reset() {
 		super.reset();
+		site2objects.clear();
+		compactStore = null;
+	}
+
+	/**
+	 * Sets the store that provides the dependences of this analysis, e.g., dependences calculated in an earlier run. Till
+	 * the analysis is reset, <code>analyze()</code> provides the dependences in the store instead of calculating them.
+	 * 
+	 * @param store is a frozen store of dependences.
+	 * @throws IllegalArgumentException when <code>store</code> is not frozen.
+	 */
+	public final void setCompactDependenceStore(@NonNull final CompactDependenceStore<AssignStmt> store) {
+		if (!store.isFrozen()) {
+			throw new IllegalArgumentException("The store should be frozen.");
+		}
+		compactStore = store;
+	}
+
+	/**
+	 * Sets the number of workers used to pair the access sites in partitions. A value greater than 1 enables concurrent
+	 * pairing of the partitions of different fields and array types. In this case, the thread graph and the services used
+	 * by subclasses (such as escape information) are queried concurrently. Hence, they should be stable. This has no effect
+	 * if the access sites are not partitioned.
+	 * 
+	 * @param workers is the number of workers.
+	 * @throws IllegalArgumentException when <code>workers</code> is not positive.
+	 */
+	public final void setParallelism(final int workers) {
+		if (workers < 1) {
+			throw new IllegalArgumentException("The number of workers should be positive - " + workers);
+		}
+		parallelism = workers;
+	}
+
+	/**
+	 * Sets if the access sites should be partitioned before pairing them. When set, the sites of each field or array type
+	 * that cannot interfere (as decided by <code>mayAccessSiteInterfere()</code>) are dropped. If object flow analysis is
+	 * used, the remaining sites of instance fields and arrays are partitioned by the objects their primaries may point to
+	 * and a dependent site is paired only with the dependee sites that share a partition with it. Otherwise, every
+	 * dependent site is paired with every dependee site. The results are identical in both cases.
+	 * 
+	 * @param flag <code>true</code> to partition the access sites; <code>false</code>, otherwise.
+	 */
+	public final void setPartitionAccessSites(final boolean flag) {
+		partitionAccessSites = flag;
 	}
 
 	/**
@@ -342,7 +632,7 @@ public class InterferenceDAv1
 		final StringBuffer _temp = new StringBuffer();
 
 		final List<Map.Entry<Object, Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>>>> _entrySet = new ArrayList<Map.Entry<Object, Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>>>>(
-				dependent2dependee.entrySet());
+				retrieveDependent2DependeeInfo().entrySet());
 		Collections.sort(_entrySet, ToStringBasedComparator.getComparator());
 
 		for (final Iterator<Map.Entry<Object, Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>>>> _i = _entrySet
@@ -431,6 +721,24 @@ public class InterferenceDAv1
 		return _result;
 	}
 
+	/**
+	 * Checks if the access expression at the given site may be involved in an interference dependence. This is used to drop
+	 * access sites before pairing them when the access sites are partitioned. Hence, subclasses that override the
+	 * <code>is*DependentOn()</code> methods to prune dependences based on a property of a single access site should
+	 * override this method to check the same property.
+	 * 
+	 * @param site is the location of the access expression.
+	 * @param accessExpr is the array or field access expression.
+	 * @return <code>false</code> if the access expression cannot be involved in an interference dependence;
+	 *         <code>true</code>, otherwise.
+	 * @pre site != null and accessExpr != null
+	 * @pre accessExpr.oclIsKindOf(ArrayRef) or accessExpr.oclIsKindOf(FieldRef)
+	 */
+	protected boolean mayAccessSiteInterfere(@SuppressWarnings("unused") final Pair<AssignStmt, SootMethod> site,
+			final Value accessExpr) {
+		return !(accessExpr instanceof FieldRef && ((FieldRef) accessExpr).getField().isFinal());
+	}
+
 	/**
 	 * Checks if the given instance field access expression are interference dependent on each other.
 	 * 
@@ -487,6 +795,71 @@ public class InterferenceDAv1
 		}
 	}
 
+	/**
+	 * Moves the dependences from the maps into a compact store.
+	 * 
+	 * @post compactStore != null and dependent2dependee.isEmpty() and dependee2dependent.isEmpty()
+	 */
+	private void compactDependences() {
+		final CompactDependenceStore<AssignStmt> _store = createCompactDependenceStore();
+
+		// dependee-to-dependent direction is the inverse of dependent-to-dependee direction; hence, it is not consulted.
+		for (final Iterator<Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>>> _i = dependent2dependee
+				.values().iterator(); _i.hasNext();) {
+			for (final Iterator<Map.Entry<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>>> _j = _i
+					.next().entrySet().iterator(); _j.hasNext();) {
+				final Map.Entry<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>> _entry = _j.next();
+				final Pair<AssignStmt, SootMethod> _dependent = _entry.getKey();
+				final Collection<Pair<AssignStmt, SootMethod>> _dependees = _entry.getValue();
+
+				if (_dependees != null) {
+					for (final Iterator<Pair<AssignStmt, SootMethod>> _k = _dependees.iterator(); _k.hasNext();) {
+						final Pair<AssignStmt, SootMethod> _dependee = _k.next();
+						_store.addDependence(_dependee.getFirst(), _dependee.getSecond(), _dependent.getFirst(), _dependent
+								.getSecond());
+					}
+				}
+			}
+		}
+		_store.freeze();
+		dependent2dependee.clear();
+		dependee2dependent.clear();
+		compactStore = _store;
+	}
+
+	/**
+	 * Retrieves the non-null objects that the primary of the given access expression may point to.
+	 * 
+	 * @param site is the location of the access expression.
+	 * @param accessExpr is the array or instance field access expression.
+	 * @return the objects.
+	 * @pre site != null and accessExpr != null
+	 * @pre accessExpr.oclIsKindOf(ArrayRef) or accessExpr.oclIsKindOf(InstanceFieldRef)
+	 * @post not result.contains(NullConstant.v())
+	 */
+	private Collection<Value> getObjectsAccessedAt(final Pair<AssignStmt, SootMethod> site, final Value accessExpr) {
+		Collection<Value> _result = site2objects.get(site);
+
+		if (_result == null) {
+			final ValueBox _baseBox;
+
+			if (accessExpr instanceof ArrayRef) {
+				_baseBox = ((ArrayRef) accessExpr).getBaseBox();
+			} else {
+				_baseBox = ((InstanceFieldRef) accessExpr).getBaseBox();
+			}
+
+			final Context _context = new AllocationContext();
+			_context.setProgramPoint(_baseBox);
+			_context.setStmt(site.getFirst());
+			_context.setRootMethod(site.getSecond());
+			_result = new HashSet<Value>(ofa.getValues(_baseBox.getValue(), _context));
+			_result.remove(NullConstant.v());
+			site2objects.put(site, _result);
+		}
+		return _result;
+	}
+
 	/**
 	 * Checks if a dependence relation exists between the given entities based on object flow information assocaited with the
 	 * base of the expression array access expression.
@@ -500,28 +873,8 @@ public class InterferenceDAv1
 	 */
 	private boolean isArrayDependentOnByOFA(final Pair<AssignStmt, SootMethod> dependent,
 			final Pair<AssignStmt, SootMethod> dependee) {
-		boolean _result;
-		final ArrayRef _ifr1 = (ArrayRef) (dependee.getFirst()).getLeftOp();
-		final ArrayRef _ifr2 = (ArrayRef) (dependent.getFirst()).getRightOp();
-
-		final Context _context = new AllocationContext();
-		_context.setProgramPoint(_ifr1.getBaseBox());
-		_context.setStmt(dependee.getFirst());
-		_context.setRootMethod(dependee.getSecond());
-
-		final Collection<Value> _c1 = ofa.getValues(_ifr1.getBase(), _context);
-		_context.setProgramPoint(_ifr2.getBaseBox());
-		_context.setStmt(dependent.getFirst());
-		_context.setRootMethod(dependent.getSecond());
-
-		final Collection<Value> _c2 = ofa.getValues(_ifr2.getBase(), _context);
-		final Collection<Value> _temp = SetUtils.intersection(_c1, _c2);
-
-		while (_temp.remove(NullConstant.v())) {
-			; // does nothing
-		}
-		_result = !_temp.isEmpty();
-		return _result;
+		return CollectionUtils.containsAny(getObjectsAccessedAt(dependee, dependee.getFirst().getLeftOp()),
+				getObjectsAccessedAt(dependent, dependent.getFirst().getRightOp()));
 	}
 
 	/**
@@ -567,27 +920,117 @@ public class InterferenceDAv1
 	 */
 	private boolean isFieldDependentOnByOFA(final Pair<AssignStmt, SootMethod> dependent,
 			final Pair<AssignStmt, SootMethod> dependee) {
-		boolean _result;
-		final InstanceFieldRef _ifr1 = (InstanceFieldRef) (dependee.getFirst()).getLeftOp();
-		final InstanceFieldRef _ifr2 = (InstanceFieldRef) (dependent.getFirst()).getRightOp();
+		return CollectionUtils.containsAny(getObjectsAccessedAt(dependee, dependee.getFirst().getLeftOp()),
+				getObjectsAccessedAt(dependent, dependent.getFirst().getRightOp()));
+	}
+
+	/**
+	 * Pairs the access sites in partitions. The partitions are created on the calling thread as it involves querying object
+	 * flow analysis. The pairing happens concurrently if more than one worker is requested.
+	 */
+	private void pairAccessSitesInPartitions() {
+		final List<AccessPartition> _partitions = new ArrayList<AccessPartition>();
 
-		final Context _context = new AllocationContext();
-		_context.setProgramPoint(_ifr1.getBaseBox());
-		_context.setStmt(dependee.getFirst());
-		_context.setRootMethod(dependee.getSecond());
+		for (final Iterator<Object> _i = dependent2dependee.keySet().iterator(); _i.hasNext();) {
+			final Object _o = _i.next();
+			final Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>> _deMap = dependee2dependent
+					.get(_o);
 
-		final Collection<Value> _c1 = ofa.getValues(_ifr1.getBase(), _context);
-		_context.setProgramPoint(_ifr2.getBaseBox());
-		_context.setStmt(dependent.getFirst());
-		_context.setRootMethod(dependent.getSecond());
+			if (_deMap != null) {
+				_partitions.add(new AccessPartition(_o, dependent2dependee.get(_o), _deMap));
+			}
+		}
 
-		final Collection<Value> _c2 = ofa.getValues(_ifr2.getBase(), _context);
-		final Collection<Value> _temp = SetUtils.intersection(_c1, _c2);
+		if (parallelism > 1 && _partitions.size() > 1) {
+			final ExecutorService _executor = Executors.newFixedThreadPool(parallelism);
+			final AtomicInteger _nextPartition = new AtomicInteger();
+			final List<Future<Object>> _results = new ArrayList<Future<Object>>();
 
-		while (_temp.remove(NullConstant.v())) {
-			; // does nothing
+			try {
+				for (int _i = 0; _i < parallelism; _i++) {
+					_results.add(_executor.submit(new PartitionWorker(_partitions, _nextPartition)));
+				}
+
+				for (final Iterator<Future<Object>> _i = _results.iterator(); _i.hasNext();) {
+					_i.next().get();
+				}
+			} catch (final InterruptedException _e) {
+				LOGGER.error("Interrupted while waiting on the workers pairing access sites.", _e);
+				throw new RuntimeException(_e);
+			} catch (final ExecutionException _e) {
+				LOGGER.error("A worker pairing access sites failed.", _e.getCause());
+				throw new RuntimeException(_e.getCause());
+			} finally {
+				_executor.shutdownNow();
+			}
+		} else {
+			for (final Iterator<AccessPartition> _i = _partitions.iterator(); _i.hasNext();) {
+				_i.next().pairAccessSites();
+			}
+		}
+	}
+
+	/**
+	 * Pairs every dependent access site with every dependee access site of the same field or array type.
+	 */
+	private void pairAllAccessSites() {
+		for (final Iterator<Object> _i = dependent2dependee.keySet().iterator(); _i.hasNext();) {
+			final Object _o = _i.next();
+
+			if (dependee2dependent.get(_o) == null) {
+				continue;
+			}
+
+			final Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>> _dtMap = dependent2dependee
+					.get(_o);
+			final Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>> _deMap = dependee2dependent
+					.get(_o);
+
+			for (final Iterator<Pair<AssignStmt, SootMethod>> _j = _dtMap.keySet().iterator(); _j.hasNext();) {
+				final Pair<AssignStmt, SootMethod> _dt = _j.next();
+
+				for (final Iterator<Pair<AssignStmt, SootMethod>> _k = _deMap.keySet().iterator(); _k.hasNext();) {
+					final Pair<AssignStmt, SootMethod> _de = _k.next();
+
+					if (isDependentOn(_dt, _de)) {
+						MapUtils.putIntoCollectionInMap(_dtMap, _dt, _de);
+						MapUtils.putIntoCollectionInMap(_deMap, _de, _dt);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the dependent-to-dependee direction of dependence information from the maps or the compact store. In case
+	 * of the compact store, only the access sites with dependees are included.
+	 * 
+	 * @return a map from fields/array types to dependent access sites to dependee access sites.
+	 * @post result != null
+	 */
+	private Map<Object, Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>>> retrieveDependent2DependeeInfo() {
+		final Map<Object, Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>>> _result;
+
+		if (compactStore != null) {
+			_result = new HashMap<Object, Map<Pair<AssignStmt, SootMethod>, Collection<Pair<AssignStmt, SootMethod>>>>();
+
+			for (final Iterator<Pair<AssignStmt, SootMethod>> _i = compactStore.getProgramPointsWithDependees().iterator(); _i
+					.hasNext();) {
+				final Pair<AssignStmt, SootMethod> _dependent = _i.next();
+				final AssignStmt _stmt = _dependent.getFirst();
+				final Object _key;
+
+				if (_stmt.containsArrayRef()) {
+					_key = _stmt.getArrayRef().getBase().getType();
+				} else {
+					_key = _stmt.getFieldRef().getField();
+				}
+				MapUtils.putAllIntoCollectionInMap(MapUtils.getMapFromMap(_result, _key), pairMgr.getPair(_stmt,
+						_dependent.getSecond()), compactStore.getDependees(_stmt, _dependent.getSecond()));
+			}
+		} else {
+			_result = dependent2dependee;
 		}
-		_result = !_temp.isEmpty();
 		return _result;
 	}
 }
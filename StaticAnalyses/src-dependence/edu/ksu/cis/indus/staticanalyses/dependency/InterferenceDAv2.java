@@ -22,6 +22,9 @@ import edu.ksu.cis.indus.interfaces.IEscapeInfo;
 
 import edu.ksu.cis.indus.staticanalyses.InitializationException;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import soot.SootMethod;
 import soot.Value;
 
@@ -67,6 +70,13 @@ public class InterferenceDAv2
 		}
 	}
 
+	/**
+	 * @see edu.ksu.cis.indus.staticanalyses.interfaces.AbstractAnalysis#getRequiredInfoIds()
+	 */
+	@Override public Collection<Comparable<?>> getRequiredInfoIds() {
+		return Collections.<Comparable<?>> singleton(IEscapeInfo.ID);
+	}
+
 	/**
 	 * @see InterferenceDAv1#isArrayDependentOn(Pair, Pair, ArrayRef, ArrayRef)
 	 */
@@ -116,6 +126,25 @@ public class InterferenceDAv2
 		return _result;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The array and instance field access sites are dropped if their primaries do not escape.
+	 * </p>
+	 */
+	@Override protected boolean mayAccessSiteInterfere(final Pair<AssignStmt, SootMethod> site, final Value accessExpr) {
+		boolean _result = super.mayAccessSiteInterfere(site, accessExpr);
+
+		if (_result) {
+			if (accessExpr instanceof ArrayRef) {
+				_result = ecba.escapes(((ArrayRef) accessExpr).getBase(), site.getSecond());
+			} else if (accessExpr instanceof InstanceFieldRef) {
+				_result = ecba.escapes(((InstanceFieldRef) accessExpr).getBase(), site.getSecond());
+			}
+		}
+		return _result;
+	}
+
 	/**
 	 * Extracts information provided by the environment via <code>info</code> parameter to {@link #initialize(java.util.Map)
 	 * initialize}.
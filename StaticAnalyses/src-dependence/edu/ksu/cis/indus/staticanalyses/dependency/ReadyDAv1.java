@@ -16,6 +16,7 @@
 
 package edu.ksu.cis.indus.staticanalyses.dependency;
 
+import edu.ksu.cis.indus.annotations.NonNull;
 import edu.ksu.cis.indus.common.collections.IPredicate;
 import edu.ksu.cis.indus.common.collections.InstanceOfPredicate;
 import edu.ksu.cis.indus.common.collections.MapUtils;
@@ -34,6 +35,7 @@ import edu.ksu.cis.indus.interfaces.IMonitorInfo;
 import edu.ksu.cis.indus.interfaces.IThreadGraphInfo;
 import edu.ksu.cis.indus.processing.AbstractProcessor;
 import edu.ksu.cis.indus.processing.Context;
+import edu.ksu.cis.indus.processing.IThreadSafeProcessor;
 import edu.ksu.cis.indus.processing.ProcessingController;
 import edu.ksu.cis.indus.staticanalyses.InitializationException;
 import edu.ksu.cis.indus.staticanalyses.concurrency.SafeLockAnalysis;
@@ -103,14 +105,16 @@ public class ReadyDAv1
 
 	/**
 	 * This preprocesses information before ready dependence is calculated. Information required during the analysis is
-	 * collected by this class.
+	 * collected by this class. The collected call-sites are recorded under the lock of the map they are recorded in;
+	 * hence, method bodies may be preprocessed concurrently.
 	 * 
 	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
 	 * @author $Author$
 	 * @version $Revision$
 	 */
 	private class PreProcessor
-			extends AbstractProcessor {
+			extends AbstractProcessor
+			implements IThreadSafeProcessor {
 
 		/**
 		 * Collects monitor statements and statements with <code>Object.wait()</code> and <code>Object.notifyXX()</code>
@@ -138,7 +142,9 @@ public class ReadyDAv1
 				}
 
 				if (_method2stmts != null) {
-					MapUtils.putIntoCollectionInMap(_method2stmts, _method, (InvokeStmt) stmt);
+					synchronized (_method2stmts) {
+						MapUtils.putIntoCollectionInMap(_method2stmts, _method, (InvokeStmt) stmt);
+					}
 				}
 			}
 		}
@@ -233,6 +239,11 @@ public class ReadyDAv1
 	 */
 	private ICallGraphInfo callgraph;
 
+	/**
+	 * This stores the dependences when they are stored compactly.
+	 */
+	private CompactDependenceStore<Stmt> compactStore;
+
 	/**
 	 * This indicates if dependence should be considered across call-sites. Depending on the application, one may choose to
 	 * ignore ready dependence across call-sites and rely on other dependence analysis to include the call-site. This only
@@ -328,7 +339,10 @@ public class ReadyDAv1
 	@Override public void analyze() {
 		unstable();
 
-		if (monitorInfo.isStable() && callgraph.isStable() && threadgraph.isStable()
+		// the dependences are not recalculated if they are in a compact store, e.g., set via setCompactDependenceStore().
+		if (compactStore != null) {
+			stable();
+		} else if (monitorInfo.isStable() && callgraph.isStable() && threadgraph.isStable()
 				&& (!useSafeLockAnalysis || safelockAnalysis.isStable())) {
 			if (LOGGER.isInfoEnabled()) {
 				LOGGER.info("BEGIN: Ready Dependence [" + this.getClass() + "] processing");
@@ -338,6 +352,10 @@ public class ReadyDAv1
 				processRules();
 			}
 
+			if (isUsingCompactStorage()) {
+				compactDependences();
+			}
+
 			if (LOGGER.isDebugEnabled()) {
 				LOGGER.debug("analyze() - " + toString());
 			}
@@ -365,7 +383,14 @@ public class ReadyDAv1
 	 * @see AbstractDependencyAnalysis#getDependees( java.lang.Object, java.lang.Object)
 	 */
 	public Collection<Pair<Stmt, SootMethod>> getDependees(final Stmt dependentStmt, final SootMethod method) {
-		return getDependenceHelper(dependentStmt, method, dependent2dependee);
+		final Collection<Pair<Stmt, SootMethod>> _result;
+
+		if (compactStore != null) {
+			_result = compactStore.getDependees(dependentStmt, method);
+		} else {
+			_result = getDependenceHelper(dependentStmt, method, dependent2dependee);
+		}
+		return _result;
 	}
 
 	/**
@@ -380,7 +405,23 @@ public class ReadyDAv1
 	 *      java.lang.Object)
 	 */
 	public Collection<Pair<Stmt, SootMethod>> getDependents(final Stmt dependeeStmt, final SootMethod method) {
-		return getDependenceHelper(dependeeStmt, method, dependee2dependent);
+		final Collection<Pair<Stmt, SootMethod>> _result;
+
+		if (compactStore != null) {
+			_result = compactStore.getDependents(dependeeStmt, method);
+		} else {
+			_result = getDependenceHelper(dependeeStmt, method, dependee2dependent);
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the store in which the dependences are stored compactly.
+	 * 
+	 * @return the store; <code>null</code> if the dependences are not stored compactly or they have not been calculated.
+	 */
+	public final CompactDependenceStore<Stmt> getCompactDependenceStore() {
+		return compactStore;
 	}
 
 	/**
@@ -390,6 +431,19 @@ public class ReadyDAv1
 		return Collections.singleton(IDependencyAnalysis.DependenceSort.READY_DA);
 	}
 
+	/**
+	 * @see edu.ksu.cis.indus.staticanalyses.interfaces.AbstractAnalysis#getRequiredInfoIds()
+	 */
+	@Override public Collection<Comparable<?>> getRequiredInfoIds() {
+		final Collection<Comparable<?>> _result = new HashSet<Comparable<?>>();
+		_result.add(IMonitorInfo.ID);
+
+		if (useSafeLockAnalysis) {
+			_result.add(SafeLockAnalysis.ID);
+		}
+		return _result;
+	}
+
 	/**
 	 * Provides the rules that are active at present.
 	 * 
@@ -411,6 +465,22 @@ public class ReadyDAv1
 		exitMonitors.clear();
 		waits.clear();
 		notifies.clear();
+		readyMethods.clear();
+		compactStore = null;
+	}
+
+	/**
+	 * Sets the store that provides the dependences of this analysis, e.g., dependences calculated in an earlier run. Till
+	 * the analysis is reset, <code>analyze()</code> provides the dependences in the store instead of calculating them.
+	 * 
+	 * @param store is a frozen store of dependences.
+	 * @throws IllegalArgumentException when <code>store</code> is not frozen.
+	 */
+	public final void setCompactDependenceStore(@NonNull final CompactDependenceStore<Stmt> store) {
+		if (!store.isFrozen()) {
+			throw new IllegalArgumentException("The store should be frozen.");
+		}
+		compactStore = store;
 	}
 
 	/**
@@ -467,8 +537,10 @@ public class ReadyDAv1
 		int _edgeCount1 = 0;
 		final StringBuffer _temp = new StringBuffer();
 
-		for (final Iterator<Map.Entry<SootMethod, Map<Stmt, Collection<Pair<Stmt, SootMethod>>>>> _i = dependent2dependee
-				.entrySet().iterator(); _i.hasNext();) {
+		final Map<SootMethod, Map<Stmt, Collection<Pair<Stmt, SootMethod>>>> _dent2dees = retrieveDependent2DependeeInfo();
+
+		for (final Iterator<Map.Entry<SootMethod, Map<Stmt, Collection<Pair<Stmt, SootMethod>>>>> _i = _dent2dees.entrySet()
+				.iterator(); _i.hasNext();) {
 			final Map.Entry<SootMethod, Map<Stmt, Collection<Pair<Stmt, SootMethod>>>> _entry = _i.next();
 			final Object _method = _entry.getKey();
 			_result.append("In method " + _method + "\n ");
@@ -775,6 +847,37 @@ public class ReadyDAv1
 		return _method2dependeeMap;
 	}
 
+	/**
+	 * Moves the dependences from the maps into a compact store.
+	 * 
+	 * @post compactStore != null and dependent2dependee.isEmpty() and dependee2dependent.isEmpty()
+	 */
+	private void compactDependences() {
+		final CompactDependenceStore<Stmt> _store = createCompactDependenceStore();
+
+		// dependee-to-dependent direction is the inverse of dependent-to-dependee direction; hence, it is not consulted.
+		for (final Iterator<Map.Entry<SootMethod, Map<Stmt, Collection<Pair<Stmt, SootMethod>>>>> _i = dependent2dependee
+				.entrySet().iterator(); _i.hasNext();) {
+			final Map.Entry<SootMethod, Map<Stmt, Collection<Pair<Stmt, SootMethod>>>> _entry = _i.next();
+			final SootMethod _method = _entry.getKey();
+
+			for (final Iterator<Map.Entry<Stmt, Collection<Pair<Stmt, SootMethod>>>> _j = _entry.getValue().entrySet()
+					.iterator(); _j.hasNext();) {
+				final Map.Entry<Stmt, Collection<Pair<Stmt, SootMethod>>> _entry1 = _j.next();
+				final Stmt _dependent = _entry1.getKey();
+
+				for (final Iterator<Pair<Stmt, SootMethod>> _k = _entry1.getValue().iterator(); _k.hasNext();) {
+					final Pair<Stmt, SootMethod> _dependee = _k.next();
+					_store.addDependence(_dependee.getFirst(), _dependee.getSecond(), _dependent, _method);
+				}
+			}
+		}
+		_store.freeze();
+		dependent2dependee.clear();
+		dependee2dependent.clear();
+		compactStore = _store;
+	}
+
 	/**
 	 * A helper method to retrieve dependence information.
 	 * 
@@ -1186,6 +1289,32 @@ public class ReadyDAv1
 		return _shouldContinue;
 	}
 
+	/**
+	 * Retrieves the dependent-to-dependee direction of dependence information from the maps or the compact store.
+	 * 
+	 * @return a map from methods to dependents to dependees.
+	 * @post result != null
+	 */
+	private Map<SootMethod, Map<Stmt, Collection<Pair<Stmt, SootMethod>>>> retrieveDependent2DependeeInfo() {
+		final Map<SootMethod, Map<Stmt, Collection<Pair<Stmt, SootMethod>>>> _result;
+
+		if (compactStore != null) {
+			_result = new HashMap<SootMethod, Map<Stmt, Collection<Pair<Stmt, SootMethod>>>>();
+
+			for (final Iterator<Pair<Stmt, SootMethod>> _i = compactStore.getProgramPointsWithDependees().iterator(); _i
+					.hasNext();) {
+				final Pair<Stmt, SootMethod> _dependent = _i.next();
+				final Stmt _stmt = _dependent.getFirst();
+				final SootMethod _method = _dependent.getSecond();
+				MapUtils.putAllIntoCollectionInMap(MapUtils.getMapFromMap(_result, _method), _stmt, compactStore
+						.getDependees(_stmt, _method));
+			}
+		} else {
+			_result = dependent2dependee;
+		}
+		return _result;
+	}
+
 	/**
 	 * Checks if the monitors are type compatible.
 	 * 
@@ -24,6 +24,9 @@ import edu.ksu.cis.indus.staticanalyses.dependency.direction.BackwardDirectionSe
 import edu.ksu.cis.indus.staticanalyses.dependency.direction.ForwardDirectionSensitiveInfo;
 import edu.ksu.cis.indus.staticanalyses.dependency.direction.IDirectionSensitiveInfo;
 
+import java.util.Collection;
+import java.util.HashSet;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -100,6 +103,15 @@ public class ReadyDAv2
 		}
 	}
 
+	/**
+	 * @see edu.ksu.cis.indus.staticanalyses.interfaces.AbstractAnalysis#getRequiredInfoIds()
+	 */
+	@Override public Collection<Comparable<?>> getRequiredInfoIds() {
+		final Collection<Comparable<?>> _result = new HashSet<Comparable<?>>(super.getRequiredInfoIds());
+		_result.add(IEscapeInfo.ID);
+		return _result;
+	}
+
 	/**
 	 * Checks if the given enter monitor statement/synchronized method is dependent on the exit monitor statement/synchronized
 	 * method according to rule 2. The results of escape analysis info calculated {@link
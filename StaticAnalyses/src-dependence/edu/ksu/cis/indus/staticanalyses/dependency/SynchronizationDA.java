@@ -128,7 +128,7 @@ public final class SynchronizationDA
 	 * @see edu.ksu.cis.indus.staticanalyses.dependency.AbstractDependencyAnalysis#getDependees(java.lang.Object,
 	 *      java.lang.Object)
 	 */
-	public Collection<MonitorStmt> getDependees(final Stmt dependentStmt, final SootMethod method) {
+	public synchronized Collection<MonitorStmt> getDependees(final Stmt dependentStmt, final SootMethod method) {
 		final Map<Stmt, Collection<MonitorStmt>> _temp = MapUtils.getMapFromMap(dependent2dependee, method);
 		Collection<MonitorStmt> _result = _temp.get(dependentStmt);
 
@@ -165,7 +165,7 @@ public final class SynchronizationDA
 	 * @see edu.ksu.cis.indus.staticanalyses.dependency.AbstractDependencyAnalysis#getDependees(java.lang.Object,
 	 *      java.lang.Object)
 	 */
-	public Collection<Stmt> getDependents(final MonitorStmt dependeeStmt, final SootMethod method) {
+	public synchronized Collection<Stmt> getDependents(final MonitorStmt dependeeStmt, final SootMethod method) {
 		final Map<MonitorStmt, Collection<Stmt>> _temp = MapUtils.getMapFromMap(dependee2dependent, method);
 		Collection<Stmt> _result = _temp.get(dependeeStmt);
 
@@ -201,6 +201,13 @@ public final class SynchronizationDA
 		return Collections.singleton(IDependencyAnalysis.DependenceSort.SYNCHRONIZATION_DA);
 	}
 
+	/**
+	 * @see edu.ksu.cis.indus.staticanalyses.interfaces.AbstractAnalysis#getRequiredInfoIds()
+	 */
+	@Override public Collection<Comparable<?>> getRequiredInfoIds() {
+		return Collections.<Comparable<?>> singleton(IMonitorInfo.ID);
+	}
+
 	/**
 	 * @see edu.ksu.cis.indus.staticanalyses.interfaces.AbstractAnalysis#reset()
 	 */
@@ -265,6 +265,27 @@ public abstract class AbstractAnalyzer<SYM, T extends ITokens<T, SYM>, N extends
 		fa.reset();
 	}
 
+	/**
+	 * Enables or disables the detection and collapsing of cycles in the flow graph as edges are added.
+	 *
+	 * @param enable <code>true</code> to enable online cycle detection; <code>false</code>, otherwise.
+	 * @see FA#setOnlineCycleDetection(boolean)
+	 */
+	public final void setOnlineCycleDetection(final boolean enable) {
+		fa.setOnlineCycleDetection(enable);
+	}
+
+	/**
+	 * Sets the number of workers used to propagate tokens during the analysis.
+	 *
+	 * @param workers is the number of workers.
+	 * @throws IllegalArgumentException when <code>workers</code> is not positive.
+	 * @see FA#setParallelism(int)
+	 */
+	public final void setParallelism(final int workers) {
+		fa.setParallelism(workers);
+	}
+
 	/**
 	 * Returns the set of values associated with the given array type in the context given by <code>this.context</code>.
 	 *
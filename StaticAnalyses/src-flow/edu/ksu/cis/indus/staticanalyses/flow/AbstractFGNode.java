@@ -59,6 +59,12 @@ import org.slf4j.LoggerFactory;
 	 */
 	protected final IWorkBagProvider workbagProvider;
 
+	/**
+	 * The observer of the edges added to this node. This is <code>null</code> if the work bag provider does not observe
+	 * edges.
+	 */
+	private final IFGEdgeObserver<N> edgeObserver;
+
 	/**
 	 * A filter that controls the flow values into and out of this node.
 	 */
@@ -108,45 +114,69 @@ import org.slf4j.LoggerFactory;
 	protected AbstractFGNode(final IWorkBagProvider provider, final T tokenSet) {
 		workbagProvider = provider;
 		tokens = tokenSet;
+
+		if (provider instanceof IFGEdgeObserver) {
+			// the observer is the framework instance that created this node; hence, it observes nodes of type N.
+			@SuppressWarnings("unchecked") final IFGEdgeObserver<N> _observer = (IFGEdgeObserver<N>) provider;
+			edgeObserver = _observer;
+		} else {
+			edgeObserver = null;
+		}
 	}
 
 	/**
 	 * {@inheritDoc}
+	 * <p>
+	 * This method may be invoked concurrently on nodes during concurrent token propagation. Hence, it is synchronized on the
+	 * token set of this node which is shared by all nodes in the same SCC.
+	 * </p>
 	 * 
 	 * @see IFGNode#absorbTokensLazily(ITokens)
 	 */
 	public void absorbTokensLazily(final T tokensToBeInjected) {
-		final T _diff = tokensToBeInjected.diffTokens(tokens);
-		final boolean _tokensWillBeAbsorbed = !_diff.isEmpty();
-
-		if (_tokensWillBeAbsorbed) {
-			final IWorkBag<IWork> _workBag = workbagProvider.getWorkBag();
-
-			if (sendTokensWork == null) {
-				sendTokensWork = new SendTokensWork<SYM, T, N>((N) this, _diff);
-				_workBag.addWork(sendTokensWork);
-			} else {
-				sendTokensWork.addTokens(_diff);
-				_workBag.addWorkNoDuplicates(sendTokensWork);
-			}
-
-			if (LOGGER.isDebugEnabled()) {
-				LOGGER.debug("Values: " + _diff.getValues() + "\n into " + this);
+		synchronized (tokens) {
+			final T _diff = tokensToBeInjected.diffTokens(tokens);
+			final boolean _tokensWillBeAbsorbed = !_diff.isEmpty();
+
+			if (_tokensWillBeAbsorbed) {
+				final IWorkBag<IWork> _workBag = workbagProvider.getWorkBag();
+
+				if (sendTokensWork == null) {
+					sendTokensWork = new SendTokensWork<SYM, T, N>(asNode(), _diff);
+					_workBag.addWork(sendTokensWork);
+				} else {
+					sendTokensWork.addTokens(_diff);
+					_workBag.addWorkNoDuplicates(sendTokensWork);
+				}
+
+				if (LOGGER.isDebugEnabled()) {
+					LOGGER.debug("Values: " + _diff.getValues() + "\n into " + this);
+				}
 			}
 		}
 	}
 
 	/**
 	 * {@inheritDoc}
+	 * <p>
+	 * If the work bag provider is an <code>IFGEdgeObserver</code>, then redundant edges as identified by the observer are not
+	 * added and the observer is notified of the added edges.
+	 * </p>
 	 * 
 	 * @see IFGNode#addSucc(IFGNode)
 	 */
 	public void addSucc(final N node) {
-		if (LOGGER.isDebugEnabled()) {
-			LOGGER.debug("Adding " + node + " as the successor to " + this);
+		if (edgeObserver == null || !edgeObserver.isRedundantEdge(asNode(), node)) {
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Adding " + node + " as the successor to " + this);
+			}
+			succs.add(node);
+			onNewSucc(node);
+
+			if (edgeObserver != null) {
+				edgeObserver.edgeAdded(asNode(), node);
+			}
 		}
-		succs.add(node);
-		onNewSucc(node);
 	}
 
 	/**
@@ -320,6 +350,33 @@ import org.slf4j.LoggerFactory;
 		}
 	}
 
+	/**
+	 * Injects the given tokens into this node on behalf of the token sending work associated with this node. Unlike
+	 * <code>injectTokens()</code>, the update of the token set, forgetting the associated work, and clearing the given tokens
+	 * happen atomically with respect to <code>absorbTokensLazily()</code> on this node. The resulting tokens are propagated
+	 * to the successors outside of the critical section so that locks on token sets are never nested.
+	 * 
+	 * @param newTokens to be injected. This set will be cleared.
+	 * @pre newTokens != null
+	 */
+	void injectTokensAtomically(final T newTokens) {
+		final T _diffTokens;
+
+		synchronized (tokens) {
+			_diffTokens = filterTokens(newTokens.diffTokens(tokens));
+
+			if (!_diffTokens.isEmpty()) {
+				tokens.addTokens(_diffTokens);
+			}
+			forgetSendTokensWork();
+			newTokens.clear();
+		}
+
+		if (!_diffTokens.isEmpty()) {
+			onNewTokens(_diffTokens);
+		}
+	}
+
 	/**
 	 * Forgets about the associated work that pushes values to the successor nodes.
 	 */
@@ -328,6 +385,16 @@ import org.slf4j.LoggerFactory;
 			sendTokensWork = null;
 		}
 	}
+
+	/**
+	 * Retrieves this node as a node of the flow graph. The subclasses bind <code>N</code> to their own type; hence, the cast
+	 * is safe.
+	 * 
+	 * @return this node.
+	 */
+	@SuppressWarnings("unchecked") private N asNode() {
+		return (N) this;
+	}
 }
 
 // End of File
@@ -104,6 +104,11 @@ public abstract class AbstractVariantManager<V extends IVariant, E, SYM, T exten
 	/**
 	 * Returns the variant corresponding to the given entity in the given context. If a variant does not exist, a new one is
 	 * created. If one exists, it shall be returned.
+	 * <p>
+	 * Variants may be discovered from multiple threads. Lookup and creation are serialized on the framework instance (shared
+	 * by all variant managers of the framework) so that creation of a variant, which may recursively select variants from
+	 * other managers, happens at most once and cannot deadlock.
+	 * </p>
 	 * 
 	 * @param o the entity whose variant is to be returned.
 	 * @param context the context corresponding to which the variant is requested.
@@ -112,19 +117,22 @@ public abstract class AbstractVariantManager<V extends IVariant, E, SYM, T exten
 	 * @post result != null
 	 */
 	public final V select(final E o, final Context context) {
-		final IIndex<?> _index = idxManager.getIndex(o, context);
 		V _temp = null;
 
-		if (LOGGER.isDebugEnabled()) {
-			LOGGER.debug("Entering - IIndex: " + _index + "\n" + o + "\n" + context);
-		}
+		synchronized (fa) {
+			final IIndex<?> _index = idxManager.getIndex(o, context);
+
+			if (LOGGER.isDebugEnabled()) {
+				LOGGER.debug("Entering - IIndex: " + _index + "\n" + o + "\n" + context);
+			}
 
-		if (index2variant.containsKey(_index)) {
-			_temp = index2variant.get(_index);
-		} else if (!fa.getAnalyzer().isStable()) {
-			_temp = getNewVariant(o);
-			index2variant.put(_index, _temp);
-			_temp.process();
+			if (index2variant.containsKey(_index)) {
+				_temp = index2variant.get(_index);
+			} else if (!fa.getAnalyzer().isStable()) {
+				_temp = getNewVariant(o);
+				index2variant.put(_index, _temp);
+				_temp.process();
+			}
 		}
 
 		if (LOGGER.isDebugEnabled()) {
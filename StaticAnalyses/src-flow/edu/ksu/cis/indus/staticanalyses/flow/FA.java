@@ -21,24 +21,37 @@ import edu.ksu.cis.indus.common.collections.ITransformer;
 import edu.ksu.cis.indus.common.collections.InvokeTransformer;
 import edu.ksu.cis.indus.common.datastructures.IWork;
 import edu.ksu.cis.indus.common.datastructures.IWorkBag;
-import edu.ksu.cis.indus.common.datastructures.LIFOWorkBag;
 import edu.ksu.cis.indus.common.datastructures.PoolAwareWorkBag;
+import edu.ksu.cis.indus.common.datastructures.RingBufferFIFOWorkBag;
+import edu.ksu.cis.indus.common.datastructures.RingBufferLIFOWorkBag;
+import edu.ksu.cis.indus.common.datastructures.SynchronizedWorkBag;
 import edu.ksu.cis.indus.common.datastructures.WorkList;
 import edu.ksu.cis.indus.common.soot.NamedTag;
 import edu.ksu.cis.indus.interfaces.IActivePart;
 import edu.ksu.cis.indus.interfaces.IEnvironment;
+import edu.ksu.cis.indus.interfaces.IPoolable;
 import edu.ksu.cis.indus.interfaces.IPrototype;
 import edu.ksu.cis.indus.processing.Context;
 import edu.ksu.cis.indus.staticanalyses.Constants;
+import edu.ksu.cis.indus.staticanalyses.flow.optimizations.OnlineCycleDetector;
 import edu.ksu.cis.indus.staticanalyses.flow.optimizations.SCCBasedOptimizer;
 import edu.ksu.cis.indus.staticanalyses.interfaces.IAnalyzer;
 import edu.ksu.cis.indus.staticanalyses.tokens.ITokenManager;
+import edu.ksu.cis.indus.staticanalyses.tokens.IThreadSafeTokenManager;
 import edu.ksu.cis.indus.staticanalyses.tokens.ITokens;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,6 +70,14 @@ import soot.tagkit.Tag;
  * The instance of the framework which controls and manages the analysis on execution. It acts the central repository for
  * information pertaining to various components of the framework when the analysis is in progress. It also serves as the
  * central repository for various instances of the framework at a given time.
+ * <p>
+ * Token propagation can be performed concurrently by setting the parallelism to a value greater than 1 via
+ * <code>setParallelism()</code>. This mode is used only if the token manager is an <code>IThreadSafeTokenManager</code>.
+ * In this mode, the token sending work pieces in a work bag are executed by a pool of workers while all other work pieces
+ * (which may create new variants, nodes, edges, and tokens) are executed on the calling thread after the workers are done.
+ * As the analysis computes the least fixed point of the flow constraints, the resulting values are identical to those
+ * computed by sequential propagation.
+ * </p>
  *
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
@@ -67,13 +88,89 @@ import soot.tagkit.Tag;
  * @param <R> is the type of the symbol types.
  */
 public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
-		implements IEnvironment, IWorkBagProvider {
+		implements IEnvironment, IWorkBagProvider, IFGEdgeObserver<N> {
+
+	/**
+	 * This enumerates the strategies to order the work pieces processed by the framework.
+	 *
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$ $Date$
+	 */
+	public static enum WorkBagStrategy {
+		/**
+		 * Work is processed in first-in-first-out order.
+		 */
+		FIFO,
+		/**
+		 * Work is processed in last-in-first-out order.
+		 */
+		LIFO,
+		/**
+		 * Work is processed in the topological order of the SCCs of the flow graph.
+		 */
+		TOPOLOGICAL;
+	}
+
+	/**
+	 * This class propagates tokens by executing token sending work pieces. Workers share the work pieces and pick them in
+	 * order until there are none left.
+	 *
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$
+	 */
+	private final class TokenPropagationWorker
+			implements Callable<Object> {
+
+		/**
+		 * The index of the next work piece to be executed. This is shared by all workers.
+		 */
+		private final AtomicInteger nextWork;
+
+		/**
+		 * The work pieces to be executed. This is shared by all workers.
+		 */
+		private final List<SendTokensWork<?, ?, ?>> works;
+
+		/**
+		 * Creates an instance of this class.
+		 *
+		 * @param theWorks to be executed.
+		 * @param theNextWork is the index of the next work piece to be executed.
+		 * @pre theWorks != null and theNextWork != null
+		 */
+		TokenPropagationWorker(final List<SendTokensWork<?, ?, ?>> theWorks, final AtomicInteger theNextWork) {
+			works = theWorks;
+			nextWork = theNextWork;
+		}
+
+		/**
+		 * Executes work pieces until there are none left.
+		 *
+		 * @return <code>null</code>
+		 */
+		public Object call() {
+			final int _iEnd = works.size();
+
+			for (int _i = nextWork.getAndIncrement(); _i < _iEnd; _i = nextWork.getAndIncrement()) {
+				works.get(_i).executeAtomically();
+			}
+			return null;
+		}
+	}
 
 	/**
 	 * The logger used by instances of this class to log messages.
 	 */
 	private static final Logger LOGGER = LoggerFactory.getLogger(FA.class);
 
+	/**
+	 * The minimum number of token sending work pieces required to propagate tokens concurrently. Smaller batches are
+	 * processed on the calling thread as the cost of coordination would outweigh the gain.
+	 */
+	private static final int MIN_CONCURRENT_BATCH_SIZE = 64;
+
 	/**
 	 * This is the collection of methods that serve as entry points into the system being analyzed.
 	 *
@@ -106,7 +203,7 @@ public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
 	/**
 	 * The current work bag among the collection of work bags being used.
 	 */
-	private IWorkBag<IWork> currWorkBag;
+	private volatile IWorkBag<IWork> currWorkBag;
 
 	/**
 	 * The environment which provides the set of class to be analyzed.
@@ -143,6 +240,27 @@ public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
 	 */
 	private final SCCBasedOptimizer<SYM, T, N> sccBasedOptimizer = new SCCBasedOptimizer<SYM, T, N>();
 
+	/**
+	 * This detects and collapses cycles in the flow graph as edges are added. This is <code>null</code> if online cycle
+	 * detection is disabled.
+	 */
+	private OnlineCycleDetector<SYM, T, N> onlineCycleDetector;
+
+	/**
+	 * The minimum number of token sending work pieces required to propagate tokens concurrently.
+	 */
+	private int minConcurrentBatchSize = MIN_CONCURRENT_BATCH_SIZE;
+
+	/**
+	 * The number of workers used to propagate tokens.
+	 */
+	private int parallelism;
+
+	/**
+	 * The number of work pieces processed in the last run of the analysis.
+	 */
+	private long processedWorkCount;
+
 	/**
 	 * This is the interval between which SCC-based optimization is applied.
 	 */
@@ -175,6 +293,11 @@ public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
 	 */
 	private final IWorkBag<IWork>[] workBags;
 
+	/**
+	 * The strategy used to order work pieces in the work bags.
+	 */
+	private WorkBagStrategy workBagStrategy;
+
 	/**
 	 * Creates a new <code>FA</code> instance.
 	 *
@@ -187,16 +310,25 @@ public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
 	 */
 	FA(final IAnalyzer theAnalyzer, final String tagName, final ITokenManager<T, SYM, R> tokenMgr) {
 		workBags = new IWorkBag[2];
-		workBags[0] = new PoolAwareWorkBag<IWork>(new LIFOWorkBag<IWork>());
-		workBags[1] = new PoolAwareWorkBag<IWork>(new LIFOWorkBag<IWork>());
-		currWorkBag = workBags[0];
+		setWorkBagStrategy(Constants.getWorkBagStrategyForFA());
 		analyzer = theAnalyzer;
 		tag = new NamedTag(tagName);
 		tokenManager = tokenMgr;
 		sccOptimizationInterval = Constants.getSCCOptimizationIntervalForFA();
+		parallelism = Constants.getParallelismForFA();
+		setOnlineCycleDetection(Constants.getOnlineCycleDetectionForFA());
 		classManager = new ClassManager(this);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	public final void edgeAdded(final N src, final N dest) {
+		if (onlineCycleDetector != null) {
+			onlineCycleDetector.edgeAdded(src, dest);
+		}
+	}
+
 	/**
 	 * Returns the active part of this object.
 	 *
@@ -366,6 +498,57 @@ public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
 		return Collections.unmodifiableCollection(rootMethods);
 	}
 
+	/**
+	 * Retrieves the number of edges eliminated by online cycle detection in the last run of the analysis.
+	 *
+	 * @return the number of edges. This is 0 if online cycle detection is disabled.
+	 */
+	public final long getMergedEdgeCount() {
+		final long _result;
+
+		if (onlineCycleDetector != null) {
+			_result = onlineCycleDetector.getMergedEdgeCount();
+		} else {
+			_result = 0;
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the number of nodes merged by online cycle detection in the last run of the analysis.
+	 *
+	 * @return the number of nodes. This is 0 if online cycle detection is disabled.
+	 */
+	public final long getMergedNodeCount() {
+		final long _result;
+
+		if (onlineCycleDetector != null) {
+			_result = onlineCycleDetector.getMergedNodeCount();
+		} else {
+			_result = 0;
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the number of workers used to propagate tokens.
+	 *
+	 * @return the number of workers.
+	 * @post result >= 1
+	 */
+	public final int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Retrieves the number of work pieces processed in the last run of the analysis.
+	 *
+	 * @return the number of work pieces.
+	 */
+	public final long getProcessedWorkCount() {
+		return processedWorkCount;
+	}
+
 	/**
 	 * Retrieves the value in <code>sccOptimizationInterval</code>.
 	 *
@@ -413,6 +596,16 @@ public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
 		return currWorkBag;
 	}
 
+	/**
+	 * Retrieves the strategy used to order work pieces.
+	 *
+	 * @return the strategy.
+	 * @post result != null
+	 */
+	public final WorkBagStrategy getWorkBagStrategy() {
+		return workBagStrategy;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -420,6 +613,22 @@ public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
 		return environment.hasClass(scName);
 	}
 
+	/**
+	 * Checks if cycles in the flow graph are detected and collapsed as edges are added.
+	 *
+	 * @return <code>true</code> if online cycle detection is enabled; <code>false</code>, otherwise.
+	 */
+	public final boolean isOnlineCycleDetectionEnabled() {
+		return onlineCycleDetector != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public final boolean isRedundantEdge(final N src, final N dest) {
+		return onlineCycleDetector != null && onlineCycleDetector.inSameSCC(src, dest);
+	}
+
 	/**
 	 * Performs type-based processing of the given class.
 	 *
@@ -450,9 +659,14 @@ public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
 		rootMethods.clear();
 		classManager.reset();
 		sccBasedOptimizer.reset();
+
+		if (onlineCycleDetector != null) {
+			onlineCycleDetector.reset();
+		}
 		environment = null;
 		activePart.activate();
 		currWorkBag = workBags[0];
+		processedWorkCount = 0;
 	}
 
 	/**
@@ -474,6 +688,35 @@ public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
 		nodePrototype = node;
 	}
 
+	/**
+	 * Enables or disables online cycle detection. When enabled, cycles in the flow graph are detected and collapsed as edges
+	 * are added and the periodic SCC-based optimization is not applied. This should be called before the analysis is
+	 * started.
+	 *
+	 * @param enable <code>true</code> to enable online cycle detection; <code>false</code>, otherwise.
+	 */
+	public final void setOnlineCycleDetection(final boolean enable) {
+		if (enable) {
+			onlineCycleDetector = new OnlineCycleDetector<SYM, T, N>(tokenManager);
+		} else {
+			onlineCycleDetector = null;
+		}
+	}
+
+	/**
+	 * Sets the number of workers used to propagate tokens. A value greater than 1 enables concurrent token propagation
+	 * provided the token manager is an <code>IThreadSafeTokenManager</code>.
+	 *
+	 * @param workers is the number of workers.
+	 * @throws IllegalArgumentException when <code>workers</code> is not positive.
+	 */
+	public final void setParallelism(final int workers) {
+		if (workers < 1) {
+			throw new IllegalArgumentException("The number of workers should be positive - " + workers);
+		}
+		parallelism = workers;
+	}
+
 	/**
 	 * Sets the prototype of the RHS expression visitor.
 	 *
@@ -493,6 +736,20 @@ public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
 		this.sccOptimizationInterval = interval;
 	}
 
+	/**
+	 * Sets the strategy used to order work pieces. The work bags are recreated, hence, this should be called before the
+	 * analysis is started.
+	 *
+	 * @param strategy to be used.
+	 * @pre strategy != null
+	 */
+	public final void setWorkBagStrategy(final WorkBagStrategy strategy) {
+		workBagStrategy = strategy;
+		workBags[0] = new PoolAwareWorkBag<IWork>(createWorkBag(strategy));
+		workBags[1] = new PoolAwareWorkBag<IWork>(createWorkBag(strategy));
+		currWorkBag = workBags[0];
+	}
+
 	/**
 	 * Sets the prototype of the statement visitor.
 	 *
@@ -563,26 +820,65 @@ public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
 		}
 
 		long _count = 0;
+		long _processed = 0;
 		int _bagToggleCounter = 0;
 		final WorkList<IWork>[] _workLists = new WorkList[2];
 		_workLists[0] = new WorkList<IWork>(workBags[0]);
 		_workLists[1] = new WorkList<IWork>(workBags[1]);
 
-		while ((workBags[0].hasWork() || workBags[1].hasWork()) && activePart.canProceed()) {
-			final int _bagToProcess = _bagToggleCounter % 2;
-			_bagToggleCounter++;
+		final ExecutorService _executor;
+
+		if (canPropagateTokensConcurrently()) {
+			_executor = Executors.newFixedThreadPool(parallelism);
+
+			if (LOGGER.isInfoEnabled()) {
+				LOGGER.info("Propagating tokens with " + parallelism + " workers.");
+			}
+		} else {
+			_executor = null;
+		}
+
+		try {
+			while ((workBags[0].hasWork() || workBags[1].hasWork()) && activePart.canProceed()) {
+				final int _bagToProcess = _bagToggleCounter % 2;
+				_bagToggleCounter++;
+
+				final int _bagToCollect = _bagToggleCounter % 2;
+
+				if (LOGGER.isDebugEnabled()) {
+					LOGGER.debug("Processing work pieces in workbag " + _bagToProcess);
+				}
+				currWorkBag = workBags[_bagToCollect];
 
-			final int _bagToCollect = _bagToggleCounter % 2;
+				final int _c;
 
-			if (LOGGER.isDebugEnabled()) {
-				LOGGER.debug("Processing work pieces in workbag " + _bagToProcess);
+				if (_executor != null) {
+					_c = processConcurrently(_executor, workBags[_bagToProcess], workBags[_bagToCollect]);
+				} else {
+					_c = _workLists[_bagToProcess].process();
+				}
+				_count += _c;
+				_processed += _c;
+
+				if (onlineCycleDetector == null && sccOptimizationInterval > 0 && (++_count > sccOptimizationInterval)) {
+					collapseSCCOfNodes();
+					_count = 0;
+				}
+			}
+		} finally {
+			if (_executor != null) {
+				_executor.shutdownNow();
 			}
-			currWorkBag = workBags[_bagToCollect];
-			_count += _workLists[_bagToProcess].process();
+		}
+		processedWorkCount += _processed;
+
+		if (LOGGER.isInfoEnabled()) {
+			LOGGER.info("Processed " + _processed + " work pieces using " + workBagStrategy + " work bag strategy.");
 
-			if (sccOptimizationInterval > 0 && (++_count > sccOptimizationInterval)) {
-				collapseSCCOfNodes();
-				_count = 0;
+			if (onlineCycleDetector != null) {
+				LOGGER.info("Collapsed " + onlineCycleDetector.getCollapsedCycleCount() + " cycles by merging "
+						+ onlineCycleDetector.getMergedNodeCount() + " nodes and "
+						+ onlineCycleDetector.getMergedEdgeCount() + " edges.");
 			}
 		}
 	}
@@ -697,6 +993,35 @@ public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
 		return methodVariantManager.query(sm, context);
 	}
 
+	/**
+	 * Sets the minimum number of token sending work pieces required to propagate tokens concurrently. This is intended to
+	 * exercise concurrent token propagation on small systems.
+	 *
+	 * @param size is the minimum size of the batch.
+	 * @throws IllegalArgumentException when <code>size</code> is not positive.
+	 */
+	void setMinConcurrentBatchSize(final int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("The minimum batch size should be positive - " + size);
+		}
+		minConcurrentBatchSize = size;
+	}
+
+	/**
+	 * Checks if tokens can be propagated concurrently.
+	 *
+	 * @return <code>true</code> if tokens can be propagated concurrently; <code>false</code>, otherwise.
+	 */
+	private boolean canPropagateTokensConcurrently() {
+		final boolean _result = parallelism > 1 && tokenManager instanceof IThreadSafeTokenManager;
+
+		if (parallelism > 1 && !_result && LOGGER.isWarnEnabled()) {
+			LOGGER.warn("Token manager " + tokenManager.getClass().getName() + " is not thread-safe.  Tokens will be "
+					+ "propagated sequentially.");
+		}
+		return _result;
+	}
+
 	/**
 	 * Collapses SCC of nodes.
 	 */
@@ -709,6 +1034,111 @@ public class FA<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>, R>
 		sccBasedOptimizer.optimize(_rootNodes, tokenManager);
 	}
 
+	/**
+	 * Creates a work bag that orders work pieces as per the given strategy.
+	 *
+	 * @param strategy of interest.
+	 * @return a new work bag.
+	 * @pre strategy != null
+	 * @post result != null
+	 */
+	private static IWorkBag<IWork> createWorkBag(final WorkBagStrategy strategy) {
+		final IWorkBag<IWork> _result;
+
+		switch (strategy) {
+			case FIFO:
+				_result = new RingBufferFIFOWorkBag<IWork>();
+				break;
+			case TOPOLOGICAL:
+				_result = new TopologicalOrderWorkBag();
+				break;
+			default:
+				_result = new RingBufferLIFOWorkBag<IWork>();
+		}
+		return _result;
+	}
+
+	/**
+	 * Processes the work pieces in the given work bag. Token sending work pieces are executed concurrently by the workers
+	 * and then the remaining work pieces are executed on the calling thread.
+	 *
+	 * @param executor to be used to execute the workers.
+	 * @param bagToProcess contains the work pieces to be processed.
+	 * @param bagToCollect is the work bag into which new work pieces are collected.
+	 * @return the number of processed work pieces.
+	 * @pre executor != null and bagToProcess != null and bagToCollect != null
+	 * @post not bagToProcess.hasWork()
+	 */
+	private int processConcurrently(final ExecutorService executor, final IWorkBag<IWork> bagToProcess,
+			final IWorkBag<IWork> bagToCollect) {
+		final List<SendTokensWork<?, ?, ?>> _sendTokensWorks = new ArrayList<SendTokensWork<?, ?, ?>>();
+		final List<IWork> _otherWorks = new ArrayList<IWork>();
+		int _result = 0;
+
+		while (bagToProcess.hasWork()) {
+			final IWork _work = bagToProcess.getWork();
+
+			if (_work instanceof SendTokensWork && ((SendTokensWork<?, ?, ?>) _work).getNode() instanceof AbstractFGNode) {
+				_sendTokensWorks.add((SendTokensWork<?, ?, ?>) _work);
+			} else {
+				_otherWorks.add(_work);
+			}
+			_result++;
+		}
+
+		if (_sendTokensWorks.size() < minConcurrentBatchSize) {
+			for (final Iterator<SendTokensWork<?, ?, ?>> _i = _sendTokensWorks.iterator(); _i.hasNext();) {
+				_i.next().execute();
+			}
+		} else {
+			propagateTokensConcurrently(executor, _sendTokensWorks, bagToCollect);
+		}
+
+		for (final Iterator<IWork> _i = _otherWorks.iterator(); _i.hasNext();) {
+			final IWork _work = _i.next();
+			_work.execute();
+
+			if (_work instanceof IPoolable) {
+				((IPoolable) _work).returnToPool();
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Executes the given token sending work pieces concurrently. During execution, new work pieces are collected into
+	 * <code>bagToCollect</code> via a synchronized view.
+	 *
+	 * @param executor to be used to execute the workers.
+	 * @param works to be executed.
+	 * @param bagToCollect is the work bag into which new work pieces are collected.
+	 * @pre executor != null and works != null and bagToCollect != null
+	 */
+	private void propagateTokensConcurrently(final ExecutorService executor, final List<SendTokensWork<?, ?, ?>> works,
+			final IWorkBag<IWork> bagToCollect) {
+		final AtomicInteger _nextWork = new AtomicInteger();
+		final List<Future<Object>> _results = new ArrayList<Future<Object>>();
+		currWorkBag = new SynchronizedWorkBag<IWork>(bagToCollect);
+
+		try {
+			for (int _i = 0; _i < parallelism; _i++) {
+				_results.add(executor.submit(new TokenPropagationWorker(works, _nextWork)));
+			}
+
+			for (final Iterator<Future<Object>> _i = _results.iterator(); _i.hasNext();) {
+				_i.next().get();
+			}
+		} catch (final InterruptedException _e) {
+			LOGGER.error("Interrupted while waiting on the token propagation workers.", _e);
+			throw new RuntimeException(_e);
+		} catch (final ExecutionException _e) {
+			LOGGER.error("A token propagation worker failed.", _e.getCause());
+			throw new RuntimeException(_e.getCause());
+		} finally {
+			currWorkBag = bagToCollect;
+		}
+	}
+
 	/**
 	 * Retrieves the variants at the method interfaces.
 	 *
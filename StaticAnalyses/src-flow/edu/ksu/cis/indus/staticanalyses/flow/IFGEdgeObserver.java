@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.flow;
+
+import edu.ksu.cis.indus.annotations.InternalUse;
+
+/**
+ * This interface is used to observe the addition of edges to the flow graph. If the work bag provider of a flow graph node
+ * realizes this interface, then it is notified of the edges added to the node.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$
+ * @param <N> is the type of the summary node in the flow analysis.
+ */
+@InternalUse public interface IFGEdgeObserver<N> {
+
+	/**
+	 * Checks if an edge between the given nodes is redundant, i.e., the nodes have been collapsed into the same node.
+	 *
+	 * @param src is the source of the edge.
+	 * @param dest is the destination of the edge.
+	 * @return <code>true</code> if the edge need not be added; <code>false</code>, otherwise.
+	 * @pre src != null and dest != null
+	 */
+	boolean isRedundantEdge(N src, N dest);
+
+	/**
+	 * Called after an edge has been added between the given nodes.
+	 *
+	 * @param src is the source of the edge.
+	 * @param dest is the destination of the edge.
+	 * @pre src != null and dest != null
+	 * @pre src.getSuccs().contains(dest)
+	 */
+	void edgeAdded(N src, N dest);
+}
+
+// End of File
@@ -73,6 +73,27 @@ import org.slf4j.LoggerFactory;
 
 		tokens.clear();
 	}
+
+	/**
+	 * Injects the tokens into the associated node such that this work can be executed concurrently with other token sending
+	 * work. The associated node should be an instance of <code>AbstractFGNode</code>.
+	 */
+	final void executeAtomically() {
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("executeAtomically() - Propagating tokens - " + tokens.getValues() + " into node " + node);
+		}
+
+		((AbstractFGNode<SYM, T, ?>) node).injectTokensAtomically(tokens);
+	}
+
+	/**
+	 * Retrieves the flow graph node associated with this work.
+	 * 
+	 * @return the associated node.
+	 */
+	public final N getNode() {
+		return node;
+	}
 }
 
 // End of File
@@ -0,0 +1,339 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.flow;
+
+import edu.ksu.cis.indus.annotations.Functional;
+import edu.ksu.cis.indus.annotations.Immutable;
+import edu.ksu.cis.indus.annotations.InternalUse;
+import edu.ksu.cis.indus.annotations.NonNull;
+import edu.ksu.cis.indus.common.datastructures.IWork;
+import edu.ksu.cis.indus.common.datastructures.IWorkBag;
+import edu.ksu.cis.indus.common.graph.SCCRelatedData;
+
+import gnu.trove.TObjectIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+
+/**
+ * This is a work bag that orders token sending work based on the position of the destination flow graph node in the
+ * topological order of the SCCs of the flow graph. Work destined to nodes in SCCs closer to the sources of the flow graph is
+ * returned before work destined to nodes in SCCs closer to the sinks. Hence, tokens are pushed through the flow graph in
+ * waves that converge in fewer visits to each node.
+ * <p>
+ * The rank of a node is the component number assigned to its SCC by <code>SCCBasedOptimizer</code>. As SCCs are numbered in
+ * the order of their completion during the depth first search, this number decreases along the topological order of the
+ * SCCs. Work not associated with a node or associated with nodes that have not yet been numbered (created after the last
+ * SCC-based optimization) is given the highest rank. Work of the same rank is returned in LIFO order. The rank of a work
+ * piece is fixed when it is added to the bag.
+ * </p>
+ * <p>
+ * This class is not for external use.
+ * </p>
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+@InternalUse public final class TopologicalOrderWorkBag
+		implements IWorkBag<IWork> {
+
+	/**
+	 * The initial capacity of the heap.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * The rank assigned to work with unknown rank.
+	 */
+	private static final int UNKNOWN_RANK = Integer.MAX_VALUE;
+
+	/**
+	 * This is a backing structure to maintain element containment information.
+	 */
+	private final TObjectIntHashMap countingStructure = new TObjectIntHashMap();
+
+	/**
+	 * The ranks of the work pieces in the heap.
+	 */
+	private int[] ranks = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The insertion sequence numbers of the work pieces in the heap.
+	 */
+	private long[] sequenceNumbers = new long[INITIAL_CAPACITY];
+
+	/**
+	 * The sequence number to be assigned to the next work piece.
+	 */
+	private long nextSequenceNumber;
+
+	/**
+	 * The number of work pieces in the heap.
+	 */
+	private int size;
+
+	/**
+	 * The binary max-heap of work pieces ordered on (rank, sequence number).
+	 */
+	private IWork[] works = new IWork[INITIAL_CAPACITY];
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void addAllWork(@NonNull @Immutable final Collection<? extends IWork> c) {
+		for (final Iterator<? extends IWork> _i = c.iterator(); _i.hasNext();) {
+			addWork(_i.next());
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@NonNull public Collection<IWork> addAllWorkNoDuplicates(@NonNull @Immutable final Collection<? extends IWork> c) {
+		final Collection<IWork> _result = new ArrayList<IWork>();
+
+		for (final Iterator<? extends IWork> _i = c.iterator(); _i.hasNext();) {
+			final IWork _element = _i.next();
+
+			if (!addWorkNoDuplicates(_element)) {
+				_result.add(_element);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void addWork(@Immutable final IWork o) {
+		if (size == works.length) {
+			grow();
+		}
+
+		works[size] = o;
+		ranks[size] = rankOf(o);
+		sequenceNumbers[size] = nextSequenceNumber++;
+		siftUp(size);
+		size++;
+
+		if (!countingStructure.increment(o)) {
+			countingStructure.put(o, 1);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean addWorkNoDuplicates(@Immutable final IWork o) {
+		final boolean _result = !countingStructure.containsKey(o);
+
+		if (_result) {
+			addWork(o);
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void clear() {
+		works = new IWork[INITIAL_CAPACITY];
+		ranks = new int[INITIAL_CAPACITY];
+		sequenceNumbers = new long[INITIAL_CAPACITY];
+		size = 0;
+		nextSequenceNumber = 0;
+		countingStructure.clear();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public IWork getWork() {
+		if (size == 0) {
+			throw new IllegalStateException("The workbag is empty.");
+		}
+
+		final IWork _result = works[0];
+		size--;
+		move(size, 0);
+		works[size] = null;
+
+		if (size > 0) {
+			siftDown(0);
+		}
+
+		if (countingStructure.get(_result) == 1) {
+			countingStructure.remove(_result);
+		} else {
+			countingStructure.adjustValue(_result, -1);
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Functional public boolean hasWork() {
+		return size != 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Functional @Override public String toString() {
+		final Collection<IWork> _works = new ArrayList<IWork>(size);
+
+		for (int _i = 0; _i < size; _i++) {
+			_works.add(works[_i]);
+		}
+		return new ToStringBuilder(this).append("work pieces", _works).toString();
+	}
+
+	/**
+	 * Retrieves the rank of the given work.
+	 * 
+	 * @param work of interest.
+	 * @return the rank of the work.
+	 * @pre work != null
+	 */
+	private static int rankOf(final IWork work) {
+		int _result = UNKNOWN_RANK;
+
+		if (work instanceof SendTokensWork) {
+			final SCCRelatedData _srd = ((SendTokensWork<?, ?, ?>) work).getNode().getSCCRelatedData();
+			final int _componentNum = _srd.getComponentNum();
+
+			if (_componentNum > 0) {
+				_result = _componentNum;
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Doubles the capacity of the heap.
+	 */
+	private void grow() {
+		final int _newCapacity = works.length << 1;
+		final IWork[] _works = new IWork[_newCapacity];
+		final int[] _ranks = new int[_newCapacity];
+		final long[] _sequenceNumbers = new long[_newCapacity];
+		System.arraycopy(works, 0, _works, 0, size);
+		System.arraycopy(ranks, 0, _ranks, 0, size);
+		System.arraycopy(sequenceNumbers, 0, _sequenceNumbers, 0, size);
+		works = _works;
+		ranks = _ranks;
+		sequenceNumbers = _sequenceNumbers;
+	}
+
+	/**
+	 * Checks if the work at the first position should be returned before the work at the second position.
+	 * 
+	 * @param first position in the heap.
+	 * @param second position in the heap.
+	 * @return <code>true</code> if work at <code>first</code> precedes work at <code>second</code>; <code>false</code>,
+	 *         otherwise.
+	 */
+	private boolean precedes(final int first, final int second) {
+		final boolean _result;
+
+		if (ranks[first] == ranks[second]) {
+			_result = sequenceNumbers[first] > sequenceNumbers[second];
+		} else {
+			_result = ranks[first] > ranks[second];
+		}
+		return _result;
+	}
+
+	/**
+	 * Moves the heap entry from one position to another position.
+	 * 
+	 * @param from is the position of the entry.
+	 * @param to is the destination position.
+	 */
+	private void move(final int from, final int to) {
+		works[to] = works[from];
+		ranks[to] = ranks[from];
+		sequenceNumbers[to] = sequenceNumbers[from];
+	}
+
+	/**
+	 * Restores the heap property by moving the entry at the given position towards the leaves.
+	 * 
+	 * @param position of the entry.
+	 */
+	private void siftDown(final int position) {
+		int _pos = position;
+		final IWork _work = works[_pos];
+		final int _rank = ranks[_pos];
+		final long _seq = sequenceNumbers[_pos];
+
+		while (true) {
+			int _child = 2 * _pos + 1;
+
+			if (_child >= size) {
+				break;
+			}
+
+			if (_child + 1 < size && precedes(_child + 1, _child)) {
+				_child++;
+			}
+
+			if (ranks[_child] > _rank || (ranks[_child] == _rank && sequenceNumbers[_child] > _seq)) {
+				move(_child, _pos);
+				_pos = _child;
+			} else {
+				break;
+			}
+		}
+		works[_pos] = _work;
+		ranks[_pos] = _rank;
+		sequenceNumbers[_pos] = _seq;
+	}
+
+	/**
+	 * Restores the heap property by moving the entry at the given position towards the root.
+	 * 
+	 * @param position of the entry.
+	 */
+	private void siftUp(final int position) {
+		int _pos = position;
+		final IWork _work = works[_pos];
+		final int _rank = ranks[_pos];
+		final long _seq = sequenceNumbers[_pos];
+
+		while (_pos > 0) {
+			final int _parent = (_pos - 1) / 2;
+
+			if (_rank > ranks[_parent] || (_rank == ranks[_parent] && _seq > sequenceNumbers[_parent])) {
+				move(_parent, _pos);
+				_pos = _parent;
+			} else {
+				break;
+			}
+		}
+		works[_pos] = _work;
+		ranks[_pos] = _rank;
+		sequenceNumbers[_pos] = _seq;
+	}
+}
+
+// End of File
@@ -64,7 +64,9 @@ class FGAccessNode<T extends ITokens<T, Value>>
 		super.onNewTokens(newTokens);
 
 		if (!newTokens.isEmpty()) {
-			work.addTokens(filterTokens(newTokens));
+			synchronized (work) {
+				work.addTokens(filterTokens(newTokens));
+			}
 			workbagProvider.getWorkBag().addWork(work);
 		}
 	}
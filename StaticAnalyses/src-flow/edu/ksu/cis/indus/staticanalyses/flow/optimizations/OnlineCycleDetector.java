@@ -0,0 +1,438 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.flow.optimizations;
+
+import edu.ksu.cis.indus.common.collections.Stack;
+import edu.ksu.cis.indus.common.graph.SCCRelatedData;
+import edu.ksu.cis.indus.staticanalyses.flow.IFGNode;
+import edu.ksu.cis.indus.staticanalyses.tokens.ITokenManager;
+import edu.ksu.cis.indus.staticanalyses.tokens.ITokens;
+
+import gnu.trove.TObjectIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class detects cycles in flow graphs as edges are added and collapses them on the fly.
+ * <p>
+ * This class is not for external use.
+ * </p>
+ * <p>
+ * The nodes of a collapsed SCC share an instance of <code>SCCRelatedData</code> (along with the token set and the successor
+ * set) as done by <code>SCCBasedOptimizer</code>. Hence, the <code>SCCRelatedData</code> of a node identifies its SCC and
+ * merging SCCs is a union operation in which the nodes of the smaller SCCs adopt the <code>SCCRelatedData</code> of the
+ * largest SCC.
+ * </p>
+ * <p>
+ * The SCCs are maintained in a topological order as described in "A Dynamic Topological Sort Algorithm for Directed Acyclic
+ * Graphs - Pearce and Kelly" (the forward search variant due to Marchetti-Spaccamela et.al.). An edge that agrees with the
+ * order cannot close a cycle and is admitted in constant time. Otherwise, only the SCCs between the end points of the edge in
+ * the order are searched and reordered. As the order is topological, it is also exposed as component numbers (higher numbers
+ * precede lower numbers) in <code>SCCRelatedData</code> for the benefit of topological work bags.
+ * </p>
+ * <p>
+ * Edges should be reported to this detector from the start of the analysis, i.e., the flow graph should not contain edges
+ * that were not reported to this detector.
+ * </p>
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ * @param <SYM> is the type of value being tracked.
+ * @param <T> is the type of the token set object.
+ * @param <N> is the type of the summary node in the flow analysis.
+ */
+public final class OnlineCycleDetector<SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>> {
+
+	/**
+	 * The logger used by instances of this class to log messages.
+	 */
+	private static final Logger LOGGER = LoggerFactory.getLogger(OnlineCycleDetector.class);
+
+	/**
+	 * The number of cycles that were collapsed.
+	 */
+	private long collapsedCycleCount;
+
+	/**
+	 * The mapping from SCCs to their position in the topological order. Positions are offset by one as 0 represents absence.
+	 *
+	 * @invariant group2order.oclIsKindOf(TObjectIntHashMap(SCCRelatedData, int))
+	 */
+	private final TObjectIntHashMap group2order = new TObjectIntHashMap();
+
+	/**
+	 * The mapping from SCCs with multiple nodes to the nodes in them.
+	 */
+	private final Map<SCCRelatedData, List<N>> group2nodes = new HashMap<SCCRelatedData, List<N>>();
+
+	/**
+	 * The mapping from SCCs to a node in them. As the nodes of an SCC share the successor set, this node provides the
+	 * successors of the SCC.
+	 */
+	private final Map<SCCRelatedData, N> group2representative = new HashMap<SCCRelatedData, N>();
+
+	/**
+	 * The number of edges that were eliminated by collapsing cycles.
+	 */
+	private long mergedEdgeCount;
+
+	/**
+	 * The number of nodes that were merged into other SCCs.
+	 */
+	private long mergedNodeCount;
+
+	/**
+	 * The SCCs in topological order. Positions vacated by collapsed SCCs contain <code>null</code>.
+	 */
+	private final List<SCCRelatedData> order2group = new ArrayList<SCCRelatedData>();
+
+	/**
+	 * The token manager to be used to collapse cycles.
+	 */
+	private final ITokenManager<T, SYM, ?> tokenManager;
+
+	/**
+	 * Creates an instance of this class.
+	 *
+	 * @param tokenMgr to be used to collapse cycles.
+	 * @pre tokenMgr != null
+	 */
+	public OnlineCycleDetector(final ITokenManager<T, SYM, ?> tokenMgr) {
+		tokenManager = tokenMgr;
+	}
+
+	/**
+	 * Records the addition of the given edge. If the edge closes a cycle, then the cycle is collapsed.
+	 *
+	 * @param src is the source of the edge.
+	 * @param dest is the destination of the edge.
+	 * @pre src != null and dest != null
+	 * @pre src.getSuccs().contains(dest)
+	 */
+	public void edgeAdded(final N src, final N dest) {
+		final SCCRelatedData _srcGroup = register(src);
+		final SCCRelatedData _destGroup = register(dest);
+
+		if (_srcGroup != _destGroup) {
+			final int _lowerBound = getOrder(_destGroup);
+			final int _upperBound = getOrder(_srcGroup);
+
+			if (_lowerBound < _upperBound) {
+				final Collection<SCCRelatedData> _visited = new HashSet<SCCRelatedData>();
+				final Collection<SCCRelatedData> _cycle = new HashSet<SCCRelatedData>();
+				search(_destGroup, _srcGroup, _upperBound, _visited, _cycle);
+				reorder(_lowerBound, _upperBound, _visited, _cycle);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the number of cycles that were collapsed.
+	 *
+	 * @return the number of cycles.
+	 */
+	public long getCollapsedCycleCount() {
+		return collapsedCycleCount;
+	}
+
+	/**
+	 * Retrieves the number of edges that were eliminated by collapsing cycles. This includes edges between the nodes of a
+	 * cycle and edges from these nodes to a common successor.
+	 *
+	 * @return the number of edges.
+	 */
+	public long getMergedEdgeCount() {
+		return mergedEdgeCount;
+	}
+
+	/**
+	 * Retrieves the number of nodes that were merged into other SCCs by collapsing cycles.
+	 *
+	 * @return the number of nodes.
+	 */
+	public long getMergedNodeCount() {
+		return mergedNodeCount;
+	}
+
+	/**
+	 * Checks if the given nodes belong to the same SCC.
+	 *
+	 * @param node1 of interest.
+	 * @param node2 of interest.
+	 * @return <code>true</code> if the given nodes belong to the same SCC; <code>false</code>, otherwise.
+	 * @pre node1 != null and node2 != null
+	 */
+	public boolean inSameSCC(final N node1, final N node2) {
+		return node1.getSCCRelatedData() == node2.getSCCRelatedData();
+	}
+
+	/**
+	 * Reset internal data structures.
+	 */
+	public void reset() {
+		group2order.clear();
+		group2nodes.clear();
+		group2representative.clear();
+		order2group.clear();
+		collapsedCycleCount = 0;
+		mergedEdgeCount = 0;
+		mergedNodeCount = 0;
+	}
+
+	/**
+	 * Collapses the given SCCs into one SCC.
+	 *
+	 * @param groups to be collapsed.
+	 * @return the SCC that represents the collapsed SCCs.
+	 * @pre groups != null and groups.size() > 1
+	 * @post result != null and groups.contains(result)
+	 */
+	private SCCRelatedData collapse(final Collection<SCCRelatedData> groups) {
+		SCCRelatedData _result = null;
+		int _largest = 0;
+		int _edges = 0;
+
+		for (final Iterator<SCCRelatedData> _i = groups.iterator(); _i.hasNext();) {
+			final SCCRelatedData _group = _i.next();
+			final List<N> _nodes = getNodes(_group);
+			_edges += getSuccs(_group).size();
+
+			if (_nodes.size() > _largest) {
+				_largest = _nodes.size();
+				_result = _group;
+			}
+		}
+
+		List<N> _members = group2nodes.get(_result);
+
+		if (_members == null) {
+			_members = new ArrayList<N>(getNodes(_result));
+			group2nodes.put(_result, _members);
+		}
+
+		for (final Iterator<SCCRelatedData> _i = groups.iterator(); _i.hasNext();) {
+			final SCCRelatedData _group = _i.next();
+
+			if (_group != _result) {
+				final List<N> _nodes = getNodes(_group);
+				group2nodes.remove(_group);
+				group2representative.remove(_group);
+				group2order.remove(_group);
+
+				for (final Iterator<N> _j = _nodes.iterator(); _j.hasNext();) {
+					_j.next().setSCCRelatedData(_result);
+				}
+				_members.addAll(_nodes);
+				mergedNodeCount += _nodes.size();
+			}
+		}
+
+		SCCBasedOptimizer.optimizeSCC(_members, tokenManager);
+		mergedEdgeCount += _edges - getSuccs(_result).size();
+		collapsedCycleCount++;
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Collapsed a cycle of " + groups.size() + " SCCs into an SCC of size " + _members.size());
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the nodes in the given SCC.
+	 *
+	 * @param group of interest.
+	 * @return the nodes.
+	 * @pre group != null
+	 * @post result != null and not result.isEmpty()
+	 */
+	private List<N> getNodes(final SCCRelatedData group) {
+		List<N> _result = group2nodes.get(group);
+
+		if (_result == null) {
+			_result = Collections.singletonList(group2representative.get(group));
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the position of the given SCC in the topological order.
+	 *
+	 * @param group of interest.
+	 * @return the position. This is -1 if the SCC is unknown.
+	 * @pre group != null
+	 */
+	private int getOrder(final SCCRelatedData group) {
+		return group2order.get(group) - 1;
+	}
+
+	/**
+	 * Retrieves the successors of the given SCC.
+	 *
+	 * @param group of interest.
+	 * @return the successors.
+	 * @pre group != null
+	 * @post result != null
+	 */
+	private Collection<N> getSuccs(final SCCRelatedData group) {
+		return group2representative.get(group).getSuccs();
+	}
+
+	/**
+	 * Registers the SCC of the given node. Unknown SCCs are placed at the end of the topological order.
+	 *
+	 * @param node of interest.
+	 * @return the SCC of the node.
+	 * @pre node != null
+	 * @post result != null
+	 */
+	private SCCRelatedData register(final N node) {
+		final SCCRelatedData _result = node.getSCCRelatedData();
+
+		if (!group2representative.containsKey(_result)) {
+			group2representative.put(_result, node);
+			order2group.add(null);
+			setOrder(_result, order2group.size() - 1);
+		}
+		return _result;
+	}
+
+	/**
+	 * Reorders the SCCs in the given region of the topological order after an edge from the SCC at the upper bound to the SCC
+	 * at the lower bound has been added. The SCCs not reachable from the lower bound retain their relative order and precede
+	 * the SCCs that are reachable. If there is a cycle, then it is collapsed and precedes the reachable SCCs.
+	 *
+	 * @param lowerBound is the lower bound of the region.
+	 * @param upperBound is the upper bound of the region.
+	 * @param visited are the SCCs in the region that are reachable from the SCC at the lower bound.
+	 * @param cycle are the SCCs in the region that form a cycle with the new edge.
+	 * @pre 0 <= lowerBound and lowerBound < upperBound and upperBound < order2group.size()
+	 * @pre visited != null and cycle != null and visited.containsAll(cycle)
+	 */
+	private void reorder(final int lowerBound, final int upperBound, final Collection<SCCRelatedData> visited,
+			final Collection<SCCRelatedData> cycle) {
+		final List<SCCRelatedData> _unaffected = new ArrayList<SCCRelatedData>();
+		final List<SCCRelatedData> _affected = new ArrayList<SCCRelatedData>();
+
+		for (int _i = lowerBound; _i <= upperBound; _i++) {
+			final SCCRelatedData _group = order2group.get(_i);
+
+			if (_group != null && !cycle.contains(_group)) {
+				if (visited.contains(_group)) {
+					_affected.add(_group);
+				} else {
+					_unaffected.add(_group);
+				}
+			}
+		}
+
+		int _next = lowerBound;
+
+		for (final Iterator<SCCRelatedData> _i = _unaffected.iterator(); _i.hasNext();) {
+			setOrder(_i.next(), _next++);
+		}
+
+		if (!cycle.isEmpty()) {
+			setOrder(collapse(cycle), _next++);
+		}
+
+		for (final Iterator<SCCRelatedData> _i = _affected.iterator(); _i.hasNext();) {
+			setOrder(_i.next(), _next++);
+		}
+
+		for (; _next <= upperBound; _next++) {
+			order2group.set(_next, null);
+		}
+	}
+
+	/**
+	 * Searches for the target SCC from the given SCC. Only the SCCs that precede the target SCC in the topological order are
+	 * searched. As the flow graph (sans the new edge) is acyclic modulo SCCs, the search is a depth-first search without back
+	 * edges.
+	 *
+	 * @param start is the SCC to start the search from.
+	 * @param target is the SCC to search for.
+	 * @param upperBound is the position of the target SCC in the topological order.
+	 * @param visited is an out argument that will contain the SCCs reachable from <code>start</code>.
+	 * @param cycle is an out argument that will contain the SCCs that are reachable from <code>start</code> and that can
+	 *            reach <code>target</code>, both inclusive.
+	 * @pre start != null and target != null and visited != null and cycle != null
+	 */
+	private void search(final SCCRelatedData start, final SCCRelatedData target, final int upperBound,
+			final Collection<SCCRelatedData> visited, final Collection<SCCRelatedData> cycle) {
+		final Stack<SCCRelatedData> _groups = new Stack<SCCRelatedData>();
+		final Stack<Iterator<N>> _succs = new Stack<Iterator<N>>();
+		visited.add(start);
+		_groups.push(start);
+		_succs.push(getSuccs(start).iterator());
+
+		while (!_groups.empty()) {
+			final SCCRelatedData _group = _groups.peek();
+			final Iterator<N> _i = _succs.peek();
+
+			if (_i.hasNext()) {
+				final SCCRelatedData _succ = _i.next().getSCCRelatedData();
+
+				if (_succ == target) {
+					visited.add(_succ);
+					cycle.add(_succ);
+					cycle.add(_group);
+				} else if (visited.contains(_succ)) {
+					if (cycle.contains(_succ)) {
+						cycle.add(_group);
+					}
+				} else if (getOrder(_succ) >= 0 && getOrder(_succ) < upperBound) {
+					visited.add(_succ);
+					_groups.push(_succ);
+					_succs.push(getSuccs(_succ).iterator());
+				}
+			} else {
+				_groups.pop();
+				_succs.pop();
+
+				if (cycle.contains(_group) && !_groups.empty()) {
+					cycle.add(_groups.peek());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets the position of the given SCC in the topological order.
+	 *
+	 * @param group of interest.
+	 * @param order is the new position.
+	 * @pre group != null and 0 <= order and order < order2group.size()
+	 */
+	private void setOrder(final SCCRelatedData group, final int order) {
+		order2group.set(order, group);
+		group2order.put(group, order + 1);
+		group.setComponentNum(Integer.MAX_VALUE - 1 - order);
+	}
+}
+
+// End of File
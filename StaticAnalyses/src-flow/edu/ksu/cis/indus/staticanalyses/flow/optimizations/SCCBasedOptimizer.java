@@ -122,6 +122,46 @@ public class SCCBasedOptimizer<SYM, T extends ITokens<T, SYM>, N extends IFGNode
 		numberingDomain = NEGATIVE_DOMAIN;
 	}
 
+	/**
+	 * Optimize the SCC. The nodes of the SCC will share the token set, the successor set, and the token sending work.
+	 * 
+	 * @param <SYM> is the type of value being tracked.
+	 * @param <T> is the type of the token set object.
+	 * @param <N> is the type of the summary node in the flow analysis.
+	 * @param scc to be optimized.
+	 * @param tokenManager to be used.
+	 * @pre scc != nul
+	 * @pre tokenManager != null
+	 */
+	static <SYM, T extends ITokens<T, SYM>, N extends IFGNode<SYM, T, N>> void optimizeSCC(final Collection<N> scc,
+			final ITokenManager<T, SYM, ?> tokenManager) {
+		final SendTokensWork<SYM, T, N> _work = new SendTokensWork<SYM, T, N>(scc.iterator().next(), tokenManager
+				.getNewTokenSet());
+		final T _unifiedTokens = tokenManager.getNewTokenSet();
+		final T _newTokenSet = tokenManager.getNewTokenSet();
+		final Collection<N> _succs = new HashSet<N>();
+		final Collection<N> _newSuccs = new HashSet<N>();
+		final Iterator<N> _i = scc.iterator();
+		final int _iEnd = scc.size();
+
+		for (int _iIndex = 0; _iIndex < _iEnd; _iIndex++) {
+			final N _node = _i.next();
+			_unifiedTokens.addTokens(_node.getTokens());
+			_succs.addAll(_node.getSuccs());
+			_node.setTokenSet(_newTokenSet);
+			_node.setSuccessorSet(_newSuccs);
+			_node.setInSCCWithMultipleNodes();
+			if (_node instanceof AbstractFGNode) {
+				final AbstractFGNode _abstractFGNode = (AbstractFGNode) _node;
+				(_abstractFGNode).setTokenSendingWork(_work);
+			}
+		}
+
+		// We don't add the scc nodes to the successor set of the SCC.
+		_newSuccs.addAll(SetUtils.difference(_succs, scc));
+		scc.iterator().next().injectTokens(_unifiedTokens);
+	}
+
 	/**
 	 * Calculates the SCC starting from the given root node.
 	 * 
@@ -199,42 +239,6 @@ public class SCCBasedOptimizer<SYM, T extends ITokens<T, SYM>, N extends IFGNode
 		return _sccs;
 	}
 
-	/**
-	 * Optimize the SCC.
-	 * 
-	 * @param scc to be optimized.
-	 * @param tokenManager to be used.
-	 * @pre scc != nul
-	 * @pre tokenManager != null
-	 */
-	private void optimizeSCC(final Collection<N> scc, final ITokenManager<T, SYM, ?> tokenManager) {
-		final SendTokensWork<SYM, T, N> _work = new SendTokensWork<SYM, T, N>(scc.iterator().next(), tokenManager
-				.getNewTokenSet());
-		final T _unifiedTokens = tokenManager.getNewTokenSet();
-		final T _newTokenSet = tokenManager.getNewTokenSet();
-		final Collection<N> _succs = new HashSet<N>();
-		final Collection<N> _newSuccs = new HashSet<N>();
-		final Iterator<N> _i = scc.iterator();
-		final int _iEnd = scc.size();
-
-		for (int _iIndex = 0; _iIndex < _iEnd; _iIndex++) {
-			final N _node = _i.next();
-			_unifiedTokens.addTokens(_node.getTokens());
-			_succs.addAll(_node.getSuccs());
-			_node.setTokenSet(_newTokenSet);
-			_node.setSuccessorSet(_newSuccs);
-			_node.setInSCCWithMultipleNodes();
-			if (_node instanceof AbstractFGNode) {
-				final AbstractFGNode _abstractFGNode = (AbstractFGNode) _node;
-				(_abstractFGNode).setTokenSendingWork(_work);
-			}
-		}
-
-		// We don't add the scc nodes to the successor set of the SCC.
-		_newSuccs.addAll(SetUtils.difference(_succs, scc));
-		scc.iterator().next().injectTokens(_unifiedTokens);
-	}
-
 	/**
 	 * Sets the maximum number in the selected number domain.
 	 */
@@ -30,11 +30,14 @@ import edu.ksu.cis.indus.staticanalyses.cfg.CFGAnalysis;
 import edu.ksu.cis.indus.staticanalyses.interfaces.IValueAnalyzer;
 import edu.ksu.cis.indus.staticanalyses.processing.AbstractValueAnalyzerBasedProcessor;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -56,6 +59,11 @@ import soot.jimple.Stmt;
  * is reachable from the def via the control flow graph or via the CFG, then def and use site are related by use-def relation.
  * The only exception for this case is when the def occurs in the class initializer. In this case, the defs can reach almost
  * all methods even if they are executed in a different thread from the use site.
+ * <p>
+ * By default, the def-sites and use-sites of a field or an array type are matched via an index on the objects that the
+ * primaries of the access expressions may point to. Hence, only the pairs that may alias are checked for reachability.
+ * Refer to <code>setUseAliasIndex()</code> for details.
+ * </p>
  * 
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
@@ -104,6 +112,11 @@ public class AliasedUseDefInfo
 	 */
 	private final Map<Object, Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>>> use2defsMap;
 
+	/**
+	 * This indicates if def-sites and use-sites should be matched via an index on the objects their primaries may point to.
+	 */
+	private boolean useAliasIndex;
+
 	/**
 	 * Creates a new AliasedUseDefInfo object.
 	 * 
@@ -123,6 +136,7 @@ public class AliasedUseDefInfo
 				Constants.getNumOfFieldsInApplication());
 		use2defsMap = new HashMap<Object, Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>>>(
 				Constants.getNumOfFieldsInApplication());
+		useAliasIndex = edu.ksu.cis.indus.staticanalyses.Constants.getUseAliasIndexForAliasedUseDefInfo();
 	}
 
 	/**
@@ -164,48 +178,10 @@ public class AliasedUseDefInfo
 			LOGGER.debug("BEGIN: consolidating");
 		}
 
-		final Collection<Pair<DefinitionStmt, SootMethod>> _uses = new HashSet<Pair<DefinitionStmt, SootMethod>>();
-
-		for (final Iterator<Map.Entry<Object, Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>>>> _i = def2usesMap
-				.entrySet().iterator(); _i.hasNext();) {
-			final Map.Entry<Object, Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>>> _entry = _i
-					.next();
-			final Object _key = _entry.getKey();
-			final Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>> _defsite2usesites = _entry
-					.getValue();
-			final Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>> _usesite2defsites = use2defsMap
-					.get(_key);
-
-			if (_usesite2defsites != null) {
-				final Iterator<Pair<DefinitionStmt, SootMethod>> _k = _defsite2usesites.keySet().iterator();
-				final int _kEnd = _defsite2usesites.keySet().size();
-
-				for (int _kIndex = 0; _kIndex < _kEnd; _kIndex++) {
-					final Pair<DefinitionStmt, SootMethod> _defSite = _k.next();
-					final Iterator<Pair<DefinitionStmt, SootMethod>> _l = _usesite2defsites.keySet().iterator();
-					final int _lEnd = _usesite2defsites.keySet().size();
-
-					for (int _lIndex = 0; _lIndex < _lEnd; _lIndex++) {
-						final Pair<DefinitionStmt, SootMethod> _useSite = _l.next();
-
-						if (areDefUseRelated(_defSite, _useSite)) {
-							/*
-							 * Check if the use method and the def method are the same. If so, use CFG reachability. If not,
-							 * use call graph reachability within the locality of a thread.
-							 */
-							if (doesDefReachUse(_defSite, _useSite)) {
-								MapUtils.putIntoCollectionInMap(_usesite2defsites, _useSite, _defSite);
-								_uses.add(_useSite);
-							}
-						}
-					}
-
-					if (!_uses.isEmpty()) {
-						MapUtils.putAllIntoCollectionInMap(_defsite2usesites, _defSite, _uses);
-						_uses.clear();
-					}
-				}
-			}
+		if (useAliasIndex) {
+			consolidateUsingAliasIndex();
+		} else {
+			consolidateByPairwiseMatching();
 		}
 
 		if (LOGGER.isDebugEnabled()) {
@@ -286,6 +262,15 @@ public class AliasedUseDefInfo
 		ppc.register(AssignStmt.class, this);
 	}
 
+	/**
+	 * Checks if def-sites and use-sites are matched via an index on the objects their primaries may point to.
+	 * 
+	 * @return <code>true</code> if the index is used; <code>false</code>, otherwise.
+	 */
+	public boolean isUsingAliasIndex() {
+		return useAliasIndex;
+	}
+
 	/**
 	 * Reset internal data structures.
 	 */
@@ -295,6 +280,20 @@ public class AliasedUseDefInfo
 		use2defsMap.clear();
 	}
 
+	/**
+	 * Sets if def-sites and use-sites should be matched via an index on the objects their primaries may point to. When set,
+	 * the points-to set of the primary of each site is calculated once and the use-sites are bucketed by the objects in
+	 * these sets. Each def-site is then checked only against the use-sites in the buckets of it's objects. Also, the
+	 * intra-procedural reachability between the sites of a method is answered via the positions of the statements in the
+	 * basic blocks of the method. Otherwise, each def-site is checked against every use-site. The results are identical in
+	 * both cases.
+	 * 
+	 * @param flag <code>true</code> to use the index; <code>false</code>, otherwise.
+	 */
+	public void setUseAliasIndex(final boolean flag) {
+		useAliasIndex = flag;
+	}
+
 	/**
 	 * @see java.lang.Object#toString()
 	 */
@@ -370,6 +369,170 @@ public class AliasedUseDefInfo
 		return true;
 	}
 
+	/**
+	 * Matches every def-site with every use-site of the same field or array type.
+	 */
+	private void consolidateByPairwiseMatching() {
+		final Collection<Pair<DefinitionStmt, SootMethod>> _uses = new HashSet<Pair<DefinitionStmt, SootMethod>>();
+
+		for (final Iterator<Map.Entry<Object, Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>>>> _i = def2usesMap
+				.entrySet().iterator(); _i.hasNext();) {
+			final Map.Entry<Object, Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>>> _entry = _i
+					.next();
+			final Object _key = _entry.getKey();
+			final Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>> _defsite2usesites = _entry
+					.getValue();
+			final Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>> _usesite2defsites = use2defsMap
+					.get(_key);
+
+			if (_usesite2defsites != null) {
+				final Iterator<Pair<DefinitionStmt, SootMethod>> _k = _defsite2usesites.keySet().iterator();
+				final int _kEnd = _defsite2usesites.keySet().size();
+
+				for (int _kIndex = 0; _kIndex < _kEnd; _kIndex++) {
+					final Pair<DefinitionStmt, SootMethod> _defSite = _k.next();
+					final Iterator<Pair<DefinitionStmt, SootMethod>> _l = _usesite2defsites.keySet().iterator();
+					final int _lEnd = _usesite2defsites.keySet().size();
+
+					for (int _lIndex = 0; _lIndex < _lEnd; _lIndex++) {
+						final Pair<DefinitionStmt, SootMethod> _useSite = _l.next();
+
+						if (areDefUseRelated(_defSite, _useSite)) {
+							/*
+							 * Check if the use method and the def method are the same. If so, use CFG reachability. If not,
+							 * use call graph reachability within the locality of a thread.
+							 */
+							if (doesDefReachUse(_defSite, _useSite)) {
+								MapUtils.putIntoCollectionInMap(_usesite2defsites, _useSite, _defSite);
+								_uses.add(_useSite);
+							}
+						}
+					}
+
+					if (!_uses.isEmpty()) {
+						MapUtils.putAllIntoCollectionInMap(_defsite2usesites, _defSite, _uses);
+						_uses.clear();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Matches def-sites with use-sites of the same field or array type via an index on the objects that the primaries of the
+	 * sites may point to.
+	 */
+	private void consolidateUsingAliasIndex() {
+		final Collection<Pair<DefinitionStmt, SootMethod>> _uses = new HashSet<Pair<DefinitionStmt, SootMethod>>();
+
+		for (final Iterator<Map.Entry<Object, Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>>>> _i = def2usesMap
+				.entrySet().iterator(); _i.hasNext();) {
+			final Map.Entry<Object, Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>>> _entry = _i
+					.next();
+			final Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>> _defsite2usesites = _entry
+					.getValue();
+			final Map<Pair<DefinitionStmt, SootMethod>, Collection<Pair<DefinitionStmt, SootMethod>>> _usesite2defsites = use2defsMap
+					.get(_entry.getKey());
+
+			if (_usesite2defsites != null) {
+				final List<Pair<DefinitionStmt, SootMethod>> _useSites = new ArrayList<Pair<DefinitionStmt, SootMethod>>(
+						_usesite2defsites.keySet());
+				final Map<Value, BitSet> _object2useSites = new HashMap<Value, BitSet>();
+				final BitSet _useSitesWithoutObjects = new BitSet();
+				final BitSet _allUseSites = new BitSet();
+				final int _jEnd = _useSites.size();
+
+				for (int _jIndex = 0; _jIndex < _jEnd; _jIndex++) {
+					final Collection<Value> _objects = getObjectsOfPrimary(_useSites.get(_jIndex));
+
+					if (_objects != null && _objects.isEmpty()) {
+						_useSitesWithoutObjects.set(_jIndex);
+					} else if (_objects != null) {
+						for (final Iterator<Value> _k = _objects.iterator(); _k.hasNext();) {
+							final Value _object = _k.next();
+							BitSet _sites = _object2useSites.get(_object);
+
+							if (_sites == null) {
+								_sites = new BitSet();
+								_object2useSites.put(_object, _sites);
+							}
+							_sites.set(_jIndex);
+						}
+					}
+				}
+				_allUseSites.set(0, _jEnd);
+
+				for (final Iterator<Pair<DefinitionStmt, SootMethod>> _k = _defsite2usesites.keySet().iterator(); _k.hasNext();) {
+					final Pair<DefinitionStmt, SootMethod> _defSite = _k.next();
+					final Collection<Value> _objects = getObjectsOfPrimary(_defSite);
+					final BitSet _candidates;
+
+					if (_objects == null) {
+						// static fields are related to every access of the same field.
+						_candidates = _allUseSites;
+					} else if (_objects.isEmpty()) {
+						_candidates = _useSitesWithoutObjects;
+					} else {
+						_candidates = new BitSet();
+
+						for (final Iterator<Value> _l = _objects.iterator(); _l.hasNext();) {
+							final BitSet _sites = _object2useSites.get(_l.next());
+
+							if (_sites != null) {
+								_candidates.or(_sites);
+							}
+						}
+					}
+
+					for (int _l = _candidates.nextSetBit(0); _l >= 0; _l = _candidates.nextSetBit(_l + 1)) {
+						final Pair<DefinitionStmt, SootMethod> _useSite = _useSites.get(_l);
+
+						if (doesDefReachUse(_defSite, _useSite)) {
+							MapUtils.putIntoCollectionInMap(_usesite2defsites, _useSite, _defSite);
+							_uses.add(_useSite);
+						}
+					}
+
+					if (!_uses.isEmpty()) {
+						MapUtils.putAllIntoCollectionInMap(_defsite2usesites, _defSite, _uses);
+						_uses.clear();
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the objects that the primary of the access expression at the given site may point to.
+	 * 
+	 * @param site of interest.
+	 * @return the objects. This is <code>null</code> if the access expression is a static field reference.
+	 * @pre site != null
+	 */
+	private Collection<Value> getObjectsOfPrimary(final Pair<DefinitionStmt, SootMethod> site) {
+		final DefinitionStmt _stmt = site.getFirst();
+		final ValueBox _vBox;
+
+		if (_stmt.containsArrayRef()) {
+			_vBox = _stmt.getArrayRef().getBaseBox();
+		} else if (_stmt.getFieldRef() instanceof InstanceFieldRef) {
+			_vBox = ((InstanceFieldRef) _stmt.getFieldRef()).getBaseBox();
+		} else {
+			_vBox = null;
+		}
+
+		Collection<Value> _result = null;
+
+		if (_vBox != null) {
+			final Context _context = new Context();
+			_context.setRootMethod(site.getSecond());
+			_context.setStmt(_stmt);
+			_context.setProgramPoint(_vBox);
+			_result = analyzer.getValues(_vBox.getValue(), _context);
+		}
+		return _result;
+	}
+
 	/**
 	 * Checks if the given definition and use are related.
 	 * 
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.concurrency.escape;
+
+import edu.ksu.cis.indus.IndusTestCase;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * This class tests the field id indexed maps of <code>AliasSet</code> class.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class AliasSetTest
+		extends IndusTestCase {
+
+	/**
+	 * A field signature.
+	 */
+	private static final String FIELD_F = "<A: B f>";
+
+	/**
+	 * A field signature.
+	 */
+	private static final String FIELD_G = "<A: B g>";
+
+	/**
+	 * A field signature.
+	 */
+	private static final String FIELD_H = "<B: C h>";
+
+	/**
+	 * The field id table shared by the alias sets under test.
+	 */
+	private FieldIdTable fieldIds;
+
+	/**
+	 * Tests <code>getAccessPathEndPoint</code>.
+	 */
+	public void testAccessPath() {
+		final AliasSet _a = AliasSet.createAliasSet(fieldIds);
+		final AliasSet _b = AliasSet.createAliasSet(fieldIds);
+		final AliasSet _c = AliasSet.createAliasSet(fieldIds);
+		_a.putASForField(FIELD_F, _b);
+		_b.putASForField(FIELD_H, _c);
+
+		assertSame(_c, _a.getAccessPathEndPoint(new String[] {FIELD_F, FIELD_H}));
+		assertSame(_b, _a.getAccessPathEndPoint(new String[] {FIELD_F}));
+		assertNull(_a.getAccessPathEndPoint(new String[] {FIELD_G, FIELD_H}));
+		assertNull(_a.getAccessPathEndPoint(new String[] {"<Z: Z unknown>"}));
+	}
+
+	/**
+	 * Tests that fields are looked up by signature and by id.
+	 */
+	public void testFieldMap() {
+		final AliasSet _a = AliasSet.createAliasSet(fieldIds);
+		final AliasSet _b = AliasSet.createAliasSet(fieldIds);
+		final AliasSet _c = AliasSet.createAliasSet(fieldIds);
+
+		assertNull(_a.getASForField(FIELD_F));
+		assertEquals(FieldIdTable.UNKNOWN_FIELD, fieldIds.lookupId(FIELD_F));
+
+		_a.putASForField(FIELD_F, _b);
+		_a.putASForField(FIELD_G, _c);
+
+		final int _f = fieldIds.lookupId(FIELD_F);
+		final int _g = fieldIds.lookupId(FIELD_G);
+		assertTrue(_f != FieldIdTable.UNKNOWN_FIELD && _g != FieldIdTable.UNKNOWN_FIELD && _f != _g);
+		assertEquals(FIELD_F, fieldIds.getSignature(_f));
+		assertEquals(FIELD_G, fieldIds.getSignature(_g));
+		assertSame(_b, _a.getASForField(FIELD_F));
+		assertSame(_b, _a.getASForField(_f));
+		assertSame(_c, _a.getASForField(FIELD_G));
+		assertNull(_a.getASForField(FIELD_H));
+		assertEquals(new HashSet<AliasSet>(Arrays.asList(_b, _c)), new HashSet<AliasSet>(_a.getFieldAliasSets()));
+		assertEquals(2, _a.getFieldIds().length);
+
+		_a.putASForField(FIELD_F, _c);
+		assertSame(_c, _a.getASForField(FIELD_F));
+	}
+
+	/**
+	 * Tests that read and written fields are recorded by field ids.
+	 */
+	public void testReadAndWrittenFields() {
+		final AliasSet _a = AliasSet.createAliasSet(fieldIds);
+		assertFalse(_a.wasAnyFieldRead());
+		assertFalse(_a.wasAnyFieldWritten());
+		assertFalse(_a.wasFieldRead(FIELD_F));
+		assertFalse(_a.wasFieldWritten(FIELD_F));
+
+		_a.addReadField(FIELD_F);
+		_a.addWrittenField(FIELD_G);
+
+		assertTrue(_a.wasAnyFieldRead());
+		assertTrue(_a.wasAnyFieldWritten());
+		assertTrue(_a.wasFieldRead(FIELD_F));
+		assertFalse(_a.wasFieldRead(FIELD_G));
+		assertTrue(_a.wasFieldWritten(FIELD_G));
+		assertFalse(_a.wasFieldWritten(FIELD_F));
+		assertFalse(_a.wasFieldRead(FIELD_H));
+		assertFalse(_a.wasFieldWritten(FIELD_H));
+	}
+
+	/**
+	 * Tests that the ids of a table are forgotten on reset.
+	 */
+	public void testReset() {
+		final int _f = fieldIds.getId(FIELD_F);
+		assertEquals(_f, fieldIds.getId(FIELD_F));
+		assertEquals(_f, fieldIds.lookupId(FIELD_F));
+		assertTrue(_f != fieldIds.getId(FIELD_G));
+
+		fieldIds.reset();
+		assertEquals(FieldIdTable.UNKNOWN_FIELD, fieldIds.lookupId(FIELD_F));
+		assertEquals(FieldIdTable.UNKNOWN_FIELD, fieldIds.lookupId(FIELD_G));
+		assertEquals(0, fieldIds.getId(FIELD_G));
+		assertEquals(FIELD_G, fieldIds.getSignature(0));
+	}
+
+	/**
+	 * Tests that unification merges the field maps and the read and written fields of the alias sets.
+	 */
+	public void testUnification() {
+		final AliasSet _a = AliasSet.createAliasSet(fieldIds);
+		final AliasSet _b = AliasSet.createAliasSet(fieldIds);
+		final AliasSet _af = AliasSet.createAliasSet(fieldIds);
+		final AliasSet _bf = AliasSet.createAliasSet(fieldIds);
+		final AliasSet _bg = AliasSet.createAliasSet(fieldIds);
+		final AliasSet _bfh = AliasSet.createAliasSet(fieldIds);
+		_a.putASForField(FIELD_F, _af);
+		_a.addReadField(FIELD_F);
+		_b.putASForField(FIELD_F, _bf);
+		_b.putASForField(FIELD_G, _bg);
+		_b.addWrittenField(FIELD_G);
+		_bf.putASForField(FIELD_H, _bfh);
+
+		_a.unifyAliasSet(_b);
+
+		assertSame(_a.find(), _b.find());
+		assertSame(_af.find(), _bf.find());
+		assertSame(_af.find(), _a.getASForField(FIELD_F).find());
+		assertSame(_af.find(), _b.getASForField(FIELD_F).find());
+		assertSame(_bg.find(), _a.getASForField(FIELD_G).find());
+		assertSame(_bfh.find(), _af.getASForField(FIELD_H).find());
+		assertSame(_bfh.find(), _a.getAccessPathEndPoint(new String[] {FIELD_F, FIELD_H}));
+		assertTrue(_a.wasFieldRead(FIELD_F));
+		assertTrue(_b.wasFieldRead(FIELD_F));
+		assertTrue(_a.wasFieldWritten(FIELD_G));
+		assertFalse(_a.wasFieldWritten(FIELD_F));
+		assertFalse(_a.wasFieldRead(FIELD_G));
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override protected void setUp() throws Exception {
+		super.setUp();
+		fieldIds = new FieldIdTable();
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		fieldIds = null;
+		super.tearDown();
+	}
+}
+
+// End of File
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.concurrency.escape;
+
+import edu.ksu.cis.indus.TestHelper;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import junit.textui.TestRunner;
+
+/**
+ * This tests classes in escape package in StaticAnalyses module.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class EscapeUnitTestSuite
+  extends TestCase {
+	///CLOVER:OFF
+
+	/**
+	 * Creates a new EscapeUnitTestSuite object.
+	 */
+	private EscapeUnitTestSuite() {
+	}
+
+	/**
+	 * Executes the test case.
+	 *
+	 * @param s is ignored.
+	 */
+	public static void main(final String[] s) {
+		final String[] _suiteName = { EscapeUnitTestSuite.class.getName() };
+		TestRunner.main(_suiteName);
+	}
+
+	///CLOVER:ON
+
+	/**
+	 * Creates the test suite.
+	 *
+	 * @return the created test suite.
+	 *
+	 * @post result != null
+	 */
+	public static Test suite() {
+		final TestSuite _suite = new TestSuite();
+
+		//$JUnit-BEGIN$
+		_suite.addTestSuite(AliasSetTest.class);
+
+		//$JUnit-END$
+		TestHelper.appendSuiteNameToTestsIn(_suite, true);
+		_suite.setName(EscapeUnitTestSuite.class.getName());
+		return _suite;
+	}
+}
+
+// End of File
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.dependency;
+
+import edu.ksu.cis.indus.IndusTestCase;
+
+import edu.ksu.cis.indus.common.datastructures.Pair;
+import edu.ksu.cis.indus.common.datastructures.Pair.PairManager;
+import edu.ksu.cis.indus.common.soot.BasicBlockGraphMgr;
+
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo;
+import edu.ksu.cis.indus.interfaces.IThreadGraphInfo;
+
+import edu.ksu.cis.indus.processing.ProcessingController;
+
+import edu.ksu.cis.indus.staticanalyses.flow.processors.AliasedUseDefInfo;
+import edu.ksu.cis.indus.staticanalyses.flow.processors.AliasedUseDefInfov2;
+import edu.ksu.cis.indus.staticanalyses.interfaces.IValueAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import soot.SootMethod;
+import soot.Value;
+
+import soot.jimple.DefinitionStmt;
+import soot.jimple.Stmt;
+
+/**
+ * This class tests that <code>AliasedUseDefInfo</code> calculates the same aliased use-def information when the def and
+ * use sites are matched via the alias index and when they are matched pairwise. The analyses are driven with the
+ * information provided by <code>DependencyAnalysisTestSetup</code>.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class AliasedUseDefInfoTest
+		extends IndusTestCase {
+
+	/**
+	 * The basic block graph manager to be used.
+	 */
+	private BasicBlockGraphMgr bbgMgr;
+
+	/**
+	 * The information provided to the analyses.
+	 */
+	private Map<Comparable<?>, Object> info;
+
+	/**
+	 * The processing controller used to drive the analyses.
+	 */
+	private ProcessingController pc;
+
+	/**
+	 * Sets the basic block graph manager to be used.
+	 *
+	 * @param mgr to be used.
+	 */
+	public void setBasicBlockGraphMgr(final BasicBlockGraphMgr mgr) {
+		bbgMgr = mgr;
+	}
+
+	/**
+	 * Sets the information to be provided to the analyses.
+	 *
+	 * @param infoMap maps information ids to information providers.
+	 */
+	public void setInfo(final Map<Comparable<?>, Object> infoMap) {
+		info = infoMap;
+	}
+
+	/**
+	 * Sets the processing controller used to drive the analyses.
+	 *
+	 * @param controller to be used.
+	 */
+	public void setProcessingController(final ProcessingController controller) {
+		pc = controller;
+	}
+
+	/**
+	 * Tests that the use-def information is identical when the sites are matched via the alias index and pairwise.
+	 */
+	public void testIndexedAndPairwiseMatching() {
+		final Map<String, Collection<Pair<DefinitionStmt, SootMethod>>> _pairwise = getUseDefInfo(executeAnalysis(false));
+		final Map<String, Collection<Pair<DefinitionStmt, SootMethod>>> _indexed = getUseDefInfo(executeAnalysis(true));
+		assertFalse(_pairwise.isEmpty());
+		assertEquals(_pairwise, _indexed);
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		bbgMgr = null;
+		info = null;
+		pc = null;
+		super.tearDown();
+	}
+
+	/**
+	 * Executes a fresh instance of the analysis.
+	 *
+	 * @param useAliasIndex <code>true</code> indicates that the sites should be matched via the alias index;
+	 *            <code>false</code>, indicates that they should be matched pairwise.
+	 * @return the executed analysis.
+	 * @post result != null
+	 */
+	@SuppressWarnings("unchecked") private AliasedUseDefInfo executeAnalysis(final boolean useAliasIndex) {
+		final AliasedUseDefInfo _result = new AliasedUseDefInfov2((IValueAnalyzer<Value>) info.get(IValueAnalyzer.ID),
+				(ICallGraphInfo) info.get(ICallGraphInfo.ID), (IThreadGraphInfo) info.get(IThreadGraphInfo.ID), bbgMgr,
+				(PairManager) info.get(PairManager.ID));
+		_result.setUseAliasIndex(useAliasIndex);
+		_result.hookup(pc);
+		pc.process();
+		_result.unhook(pc);
+		assertEquals(useAliasIndex, _result.isUsingAliasIndex());
+		return _result;
+	}
+
+	/**
+	 * Retrieves the non-empty aliased defs and uses of the statements of the reachable methods.
+	 *
+	 * @param useDefInfo to be queried.
+	 * @return a map from the descriptions of the queries to their results.
+	 * @post result != null
+	 */
+	private Map<String, Collection<Pair<DefinitionStmt, SootMethod>>> getUseDefInfo(final AliasedUseDefInfo useDefInfo) {
+		final Map<String, Collection<Pair<DefinitionStmt, SootMethod>>> _result;
+		_result = new HashMap<String, Collection<Pair<DefinitionStmt, SootMethod>>>();
+
+		final ICallGraphInfo _cgi = (ICallGraphInfo) info.get(ICallGraphInfo.ID);
+
+		for (final Iterator<SootMethod> _i = _cgi.getReachableMethods().iterator(); _i.hasNext();) {
+			final SootMethod _sm = _i.next();
+
+			if (_sm.hasActiveBody()) {
+				final List<?> _stmts = new ArrayList<Object>(_sm.getActiveBody().getUnits());
+				final int _jEnd = _stmts.size();
+
+				for (int _jIndex = 0; _jIndex < _jEnd; _jIndex++) {
+					final Stmt _stmt = (Stmt) _stmts.get(_jIndex);
+					final String _name = _sm + ":" + _jIndex;
+					final Collection<Pair<DefinitionStmt, SootMethod>> _defs;
+					_defs = new HashSet<Pair<DefinitionStmt, SootMethod>>(useDefInfo.getDefs(_stmt, _sm));
+
+					if (!_defs.isEmpty()) {
+						_result.put(_name + ":defs", _defs);
+					}
+
+					if (_stmt instanceof DefinitionStmt) {
+						final DefinitionStmt _defStmt = (DefinitionStmt) _stmt;
+						final Collection<Pair<DefinitionStmt, SootMethod>> _uses;
+						_uses = new HashSet<Pair<DefinitionStmt, SootMethod>>(useDefInfo.getUses(_defStmt, _sm));
+
+						if (!_uses.isEmpty()) {
+							_result.put(_name + ":uses", _uses);
+						}
+					}
+				}
+			}
+		}
+		return _result;
+	}
+}
+
+// End of File
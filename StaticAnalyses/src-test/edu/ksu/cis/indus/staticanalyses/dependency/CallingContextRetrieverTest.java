@@ -0,0 +1,364 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.dependency;
+
+import edu.ksu.cis.indus.IndusTestCase;
+
+import edu.ksu.cis.indus.common.datastructures.Pair;
+import edu.ksu.cis.indus.common.soot.CallString;
+import edu.ksu.cis.indus.common.soot.Util;
+
+import edu.ksu.cis.indus.interfaces.CallingContextCache;
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo;
+import edu.ksu.cis.indus.interfaces.ICallingContextRetriever;
+import edu.ksu.cis.indus.interfaces.IThreadGraphInfo;
+
+import edu.ksu.cis.indus.processing.Context;
+
+import edu.ksu.cis.indus.staticanalyses.cfg.CFGAnalysis;
+import edu.ksu.cis.indus.staticanalyses.concurrency.escape.DataAliasBasedCallingContextRetrieverV2;
+import edu.ksu.cis.indus.staticanalyses.concurrency.escape.DataAliasBasedCallingContextRetrieverV3;
+import edu.ksu.cis.indus.staticanalyses.concurrency.escape.EquivalenceClassBasedEscapeAnalysis;
+import edu.ksu.cis.indus.staticanalyses.concurrency.escape.ThreadEscapeInfoBasedCallingContextRetrieverV2;
+import edu.ksu.cis.indus.staticanalyses.concurrency.escape.ThreadEscapeInfoBasedCallingContextRetrieverV3;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import soot.SootMethod;
+import soot.ValueBox;
+
+import soot.jimple.DefinitionStmt;
+import soot.jimple.FieldRef;
+import soot.jimple.InstanceFieldRef;
+import soot.jimple.InvokeExpr;
+import soot.jimple.InvokeStmt;
+import soot.jimple.MonitorStmt;
+import soot.jimple.Stmt;
+import soot.jimple.VirtualInvokeExpr;
+
+/**
+ * This class tests that the calling contexts retrieved by the calling context retrievers used in property aware slicing
+ * are the same with and without a calling context cache. The retrievers are driven as they are driven during slicing with
+ * the analyses provided by <code>DependencyAnalysisTestSetup</code>.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class CallingContextRetrieverTest
+		extends IndusTestCase {
+
+	/**
+	 * The limit on the length of the calling contexts.
+	 */
+	private static final int LIMIT = 10;
+
+	/**
+	 * The control flow analysis to be used.
+	 */
+	private CFGAnalysis cfgAnalysis;
+
+	/**
+	 * The call graph to be used.
+	 */
+	private ICallGraphInfo cgi;
+
+	/**
+	 * The escape analysis to be used.
+	 */
+	private EquivalenceClassBasedEscapeAnalysis ecba;
+
+	/**
+	 * The thread graph to be used.
+	 */
+	private IThreadGraphInfo tgi;
+
+	/**
+	 * Sets the control flow analysis to be used.
+	 *
+	 * @param analysis to be used.
+	 */
+	public void setCFGAnalysis(final CFGAnalysis analysis) {
+		cfgAnalysis = analysis;
+	}
+
+	/**
+	 * Sets the call graph to be used.
+	 *
+	 * @param callGraph to be used.
+	 */
+	public void setCallGraph(final ICallGraphInfo callGraph) {
+		cgi = callGraph;
+	}
+
+	/**
+	 * Sets the escape analysis to be used.
+	 *
+	 * @param analysis to be used.
+	 */
+	public void setECBA(final EquivalenceClassBasedEscapeAnalysis analysis) {
+		ecba = analysis;
+	}
+
+	/**
+	 * Sets the thread graph to be used.
+	 *
+	 * @param threadGraph to be used.
+	 */
+	public void setThreadGraph(final IThreadGraphInfo threadGraph) {
+		tgi = threadGraph;
+	}
+
+	/**
+	 * Tests the data alias based calling context retrievers.
+	 */
+	public void testDataAliasBasedRetrievers() {
+		final List<Pair<Stmt, SootMethod>> _refStmts = getStmts(false);
+		final CallingContextCache _cache = new CallingContextCache(100, 50);
+		final DataAliasBasedCallingContextRetrieverV2 _cachedV2 = new DataAliasBasedCallingContextRetrieverV2(LIMIT);
+		final DataAliasBasedCallingContextRetrieverV3 _cachedV3 = new DataAliasBasedCallingContextRetrieverV3(LIMIT);
+		final DataAliasBasedCallingContextRetrieverV2 _uncachedV2 = new DataAliasBasedCallingContextRetrieverV2(LIMIT);
+		final DataAliasBasedCallingContextRetrieverV3 _uncachedV3 = new DataAliasBasedCallingContextRetrieverV3(LIMIT);
+		final DataAliasBasedCallingContextRetrieverV2[] _retrievers = {_cachedV2, _cachedV3, _uncachedV2, _uncachedV3};
+
+		for (int _i = 0; _i < _retrievers.length; _i++) {
+			_retrievers[_i].setCallGraph(cgi);
+			_retrievers[_i].setThreadGraph(tgi);
+			_retrievers[_i].setCfgAnalysis(cfgAnalysis);
+			_retrievers[_i].setECBA(ecba);
+		}
+		_cachedV2.setContextCache(_cache);
+		_cachedV3.setContextCache(_cache);
+
+		for (final Iterator<Pair<Stmt, SootMethod>> _i = _refStmts.iterator(); _i.hasNext();) {
+			final Pair<Stmt, SootMethod> _src = _i.next();
+			final Collection<Pair<Stmt, SootMethod>> _bases = getCriteriaBases(_src.getFirst(), _refStmts);
+			assertContextsAreEqual(_uncachedV2, _cachedV2, _src, _bases, false);
+			assertContextsAreEqual(_uncachedV3, _cachedV3, _src, _bases, false);
+		}
+	}
+
+	/**
+	 * Tests the thread escape information based calling context retrievers.
+	 */
+	public void testThreadEscapeInfoBasedRetrievers() {
+		final CallingContextCache _cache = new CallingContextCache(100, 50);
+
+		for (int _i = 0; _i < 2; _i++) {
+			final boolean _readyBased = _i == 0;
+			final boolean _interference = !_readyBased;
+			final List<Pair<Stmt, SootMethod>> _stmts = getStmts(_readyBased);
+			final ThreadEscapeInfoBasedCallingContextRetrieverV2 _cachedV2;
+			_cachedV2 = new ThreadEscapeInfoBasedCallingContextRetrieverV2(LIMIT, _readyBased, _interference);
+			final ThreadEscapeInfoBasedCallingContextRetrieverV2 _cachedV3;
+			_cachedV3 = new ThreadEscapeInfoBasedCallingContextRetrieverV3(LIMIT, _readyBased, _interference);
+			final ThreadEscapeInfoBasedCallingContextRetrieverV2 _uncachedV2;
+			_uncachedV2 = new ThreadEscapeInfoBasedCallingContextRetrieverV2(LIMIT, _readyBased, _interference);
+			final ThreadEscapeInfoBasedCallingContextRetrieverV2 _uncachedV3;
+			_uncachedV3 = new ThreadEscapeInfoBasedCallingContextRetrieverV3(LIMIT, _readyBased, _interference);
+			final ThreadEscapeInfoBasedCallingContextRetrieverV2[] _retrievers = {_cachedV2, _cachedV3, _uncachedV2,
+					_uncachedV3};
+
+			for (int _j = 0; _j < _retrievers.length; _j++) {
+				_retrievers[_j].setCallGraph(cgi);
+				_retrievers[_j].setEscapeInfo(ecba.getEscapeInfo());
+				_retrievers[_j].setECBA(ecba);
+			}
+			_cachedV2.setContextCache(_cache);
+			_cachedV3.setContextCache(_cache);
+
+			for (final Iterator<Pair<Stmt, SootMethod>> _j = _stmts.iterator(); _j.hasNext();) {
+				final Pair<Stmt, SootMethod> _src = _j.next();
+				final Collection<Pair<Stmt, SootMethod>> _bases = getCriteriaBases(_src.getFirst(), _stmts);
+				assertContextsAreEqual(_uncachedV2, _cachedV2, _src, _bases, true);
+				assertContextsAreEqual(_uncachedV3, _cachedV3, _src, _bases, true);
+			}
+		}
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		cfgAnalysis = null;
+		cgi = null;
+		ecba = null;
+		tgi = null;
+		super.tearDown();
+	}
+
+	/**
+	 * Checks that the given retrievers provide the same calling contexts for the given source and criteria bases. The
+	 * retrievers are driven as they are driven by <code>DependenceExtractor</code>.
+	 *
+	 * @param uncached is the retriever that does not use a calling context cache.
+	 * @param cached is the retriever that uses a calling context cache.
+	 * @param src is the statement and method from which the dependences are being tracked.
+	 * @param criteriaBases are the statements and methods on which <code>src</code> depends.
+	 * @param checkThis <code>true</code> indicates that the contexts of the "this" variable of the methods of the criteria
+	 *            bases should be checked as well; <code>false</code>, otherwise.
+	 */
+	private void assertContextsAreEqual(final ICallingContextRetriever uncached, final ICallingContextRetriever cached,
+			final Pair<Stmt, SootMethod> src, final Collection<Pair<Stmt, SootMethod>> criteriaBases,
+			final boolean checkThis) {
+		final ICallingContextRetriever[] _retrievers = {uncached, cached};
+
+		for (int _i = 0; _i < _retrievers.length; _i++) {
+			_retrievers[_i].setInfoFor(ICallingContextRetriever.Identifiers.SRC_ENTITY, src.getFirst());
+			_retrievers[_i].setInfoFor(ICallingContextRetriever.Identifiers.SRC_METHOD, src.getSecond());
+			_retrievers[_i].setInfoFor(ICallingContextRetriever.Identifiers.SRC_CALLING_CONTEXT, null);
+		}
+
+		final Context _context = new Context();
+
+		for (final Iterator<Pair<Stmt, SootMethod>> _i = criteriaBases.iterator(); _i.hasNext();) {
+			final Pair<Stmt, SootMethod> _base = _i.next();
+			final Stmt _stmt = _base.getFirst();
+			_context.setRootMethod(_base.getSecond());
+			_context.setStmt(_stmt);
+			_context.setProgramPoint(getProgramPoint(_stmt));
+
+			final Collection<CallString> _expected = uncached.getCallingContextsForProgramPoint(_context);
+			final String _msg = src + " -> " + _base + " with " + cached.getClass().getName();
+			assertEquals(_msg, _expected, new HashSet<CallString>(cached.getCallingContextsForProgramPoint(_context)));
+			assertEquals(_msg, _expected, new HashSet<CallString>(cached.getCallingContextsForProgramPoint(_context)));
+
+			if (checkThis && !_base.getSecond().isStatic()) {
+				_context.setStmt(null);
+				_context.setProgramPoint(null);
+
+				final Collection<CallString> _expectedForThis = uncached.getCallingContextsForThis(_context);
+				assertEquals(_msg, _expectedForThis, new HashSet<CallString>(cached.getCallingContextsForThis(_context)));
+				assertEquals(_msg, _expectedForThis, new HashSet<CallString>(cached.getCallingContextsForThis(_context)));
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the statements that depend on the given statement via the same field, array, lock, or wait/notify.
+	 *
+	 * @param stmt of interest.
+	 * @param stmts is the collection of candidate statements.
+	 * @return the statements in <code>stmts</code> that access the same field as <code>stmt</code>, that access an array if
+	 *         <code>stmt</code> accesses an array, or all the statements in <code>stmts</code> if <code>stmt</code> does
+	 *         not access fields or arrays.
+	 */
+	private Collection<Pair<Stmt, SootMethod>> getCriteriaBases(final Stmt stmt,
+			final Collection<Pair<Stmt, SootMethod>> stmts) {
+		final Collection<Pair<Stmt, SootMethod>> _result = new ArrayList<Pair<Stmt, SootMethod>>();
+
+		for (final Iterator<Pair<Stmt, SootMethod>> _i = stmts.iterator(); _i.hasNext();) {
+			final Pair<Stmt, SootMethod> _pair = _i.next();
+			final Stmt _other = _pair.getFirst();
+			final boolean _sameField = stmt.containsFieldRef() && _other.containsFieldRef()
+					&& stmt.getFieldRef().getField().equals(_other.getFieldRef().getField());
+			final boolean _bothArrays = stmt.containsArrayRef() && _other.containsArrayRef();
+			final boolean _noRefs = !stmt.containsFieldRef() && !stmt.containsArrayRef();
+
+			if (_sameField || _bothArrays || _noRefs) {
+				_result.add(_pair);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the program point of interest in the given statement. This mirrors the program points retrieved by
+	 * <code>DependenceExtractor</code>.
+	 *
+	 * @param stmt of interest.
+	 * @return the program point.
+	 */
+	private ValueBox getProgramPoint(final Stmt stmt) {
+		final ValueBox _result;
+
+		if (stmt instanceof MonitorStmt) {
+			_result = ((MonitorStmt) stmt).getOpBox();
+		} else if (stmt instanceof InvokeStmt) {
+			_result = ((VirtualInvokeExpr) stmt.getInvokeExpr()).getBaseBox();
+		} else if (stmt.containsArrayRef()) {
+			_result = stmt.getArrayRef().getBaseBox();
+		} else {
+			final FieldRef _fr = stmt.getFieldRef();
+
+			if (_fr instanceof InstanceFieldRef) {
+				_result = ((InstanceFieldRef) _fr).getBaseBox();
+			} else {
+				_result = stmt.getFieldRefBox();
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the statements in the reachable methods that are the subject of interference or ready dependence.
+	 *
+	 * @param readyBased <code>true</code> indicates the subjects of ready dependence (monitor statements and wait/notify
+	 *            call sites) should be retrieved; <code>false</code> indicates that the subjects of interference
+	 *            dependence (definition statements that access fields or arrays) should be retrieved.
+	 * @return a collection of statements and the methods in which they occur.
+	 */
+	private List<Pair<Stmt, SootMethod>> getStmts(final boolean readyBased) {
+		final List<Pair<Stmt, SootMethod>> _result = new ArrayList<Pair<Stmt, SootMethod>>();
+
+		for (final Iterator<SootMethod> _i = cgi.getReachableMethods().iterator(); _i.hasNext();) {
+			final SootMethod _sm = _i.next();
+
+			if (_sm.isConcrete()) {
+				for (final Iterator<?> _j = _sm.retrieveActiveBody().getUnits().iterator(); _j.hasNext();) {
+					final Stmt _stmt = (Stmt) _j.next();
+					final boolean _considered;
+
+					if (readyBased) {
+						_considered = _stmt instanceof MonitorStmt || isWaitOrNotifyCall(_stmt);
+					} else {
+						_considered = _stmt instanceof DefinitionStmt
+								&& (_stmt.containsFieldRef() || _stmt.containsArrayRef());
+					}
+
+					if (_considered) {
+						_result.add(new Pair<Stmt, SootMethod>(_stmt, _sm));
+					}
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Checks if the given statement is a call to <code>wait()</code> or <code>notify()</code>.
+	 *
+	 * @param stmt of interest.
+	 * @return <code>true</code> if it is; <code>false</code>, otherwise.
+	 */
+	private boolean isWaitOrNotifyCall(final Stmt stmt) {
+		boolean _result = false;
+
+		if (stmt instanceof InvokeStmt) {
+			final InvokeExpr _expr = stmt.getInvokeExpr();
+			final SootMethod _method = _expr.getMethod();
+			_result = _expr instanceof VirtualInvokeExpr && (Util.isWaitMethod(_method) || Util.isNotifyMethod(_method));
+		}
+		return _result;
+	}
+}
+
+// End of File
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.dependency;
+
+import edu.ksu.cis.indus.IndusTestCase;
+import edu.ksu.cis.indus.common.datastructures.Pair;
+import edu.ksu.cis.indus.common.soot.ProgramPointIdManager;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import soot.Modifier;
+import soot.SootClass;
+import soot.SootMethod;
+import soot.VoidType;
+import soot.jimple.Jimple;
+import soot.jimple.Stmt;
+
+/**
+ * This class tests <code>CompactDependenceStore</code> class.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class CompactDependenceStoreTest
+		extends IndusTestCase {
+
+	/**
+	 * The class that declares the methods used in the tests.
+	 */
+	private SootClass sootClass;
+
+	/**
+	 * The instance under test.
+	 */
+	private CompactDependenceStore<Stmt> store;
+
+	/**
+	 * Tests that the dependences added to the store are retrieved in both directions.
+	 */
+	public void testDependences() {
+		final SootMethod _m1 = createMethod("m1");
+		final SootMethod _m2 = createMethod("m2");
+		final Stmt[] _stmts = new Stmt[5];
+
+		for (int _i = 0; _i < _stmts.length; _i++) {
+			_stmts[_i] = Jimple.v().newNopStmt();
+		}
+
+		store.addDependence(_stmts[0], _m1, _stmts[1], _m1);
+		store.addDependence(_stmts[0], _m1, _stmts[2], _m2);
+		store.addDependence(_stmts[3], _m2, _stmts[2], _m2);
+		store.addDependence(_stmts[0], _m1, _stmts[1], _m1);
+		store.addDependence(null, _m2, _stmts[4], _m1);
+		assertEquals(5, store.getNumberOfDependences());
+
+		try {
+			store.getDependees(_stmts[1], _m1);
+			fail("Queries should be rejected before the store is frozen.");
+		} catch (final IllegalStateException _e) {
+			// this is expected.
+		}
+
+		store.freeze();
+		assertTrue(store.isFrozen());
+		assertEquals(4, store.getNumberOfDependences());
+
+		assertEquals(asSet(pair(_stmts[1], _m1), pair(_stmts[2], _m2)), new HashSet<Pair<Stmt, SootMethod>>(store
+				.getDependents(_stmts[0], _m1)));
+		assertEquals(asSet(pair(_stmts[0], _m1), pair(_stmts[3], _m2)), new HashSet<Pair<Stmt, SootMethod>>(store
+				.getDependees(_stmts[2], _m2)));
+		assertEquals(asSet(pair(_stmts[0], _m1)), new HashSet<Pair<Stmt, SootMethod>>(store.getDependees(_stmts[1], _m1)));
+		assertEquals(asSet(pair(null, _m2)), new HashSet<Pair<Stmt, SootMethod>>(store.getDependees(_stmts[4], _m1)));
+		assertEquals(asSet(pair(_stmts[4], _m1)), new HashSet<Pair<Stmt, SootMethod>>(store.getDependents(null, _m2)));
+
+		assertTrue(store.getDependents(_stmts[1], _m1).isEmpty());
+		assertTrue(store.getDependees(_stmts[0], _m2).isEmpty());
+		assertTrue(store.getDependees(_stmts[0], createMethod("m3")).isEmpty());
+
+		assertEquals(asSet(pair(_stmts[1], _m1), pair(_stmts[2], _m2), pair(_stmts[4], _m1)),
+				new HashSet<Pair<Stmt, SootMethod>>(store.getProgramPointsWithDependees()));
+		assertEquals(asSet(pair(_stmts[0], _m1), pair(_stmts[3], _m2), pair(null, _m2)), new HashSet<Pair<Stmt, SootMethod>>(
+				store.getProgramPointsWithDependents()));
+
+		try {
+			store.addDependence(_stmts[1], _m1, _stmts[0], _m1);
+			fail("Dependences should be rejected after the store is frozen.");
+		} catch (final IllegalStateException _e) {
+			// this is expected.
+		}
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override protected void setUp() throws Exception {
+		super.setUp();
+		store = new CompactDependenceStore<Stmt>(new ProgramPointIdManager());
+		sootClass = new SootClass("CompactDependenceStoreTestClass");
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		store = null;
+		sootClass = null;
+		super.tearDown();
+	}
+
+	/**
+	 * Creates a set with the given program points.
+	 *
+	 * @param pairs are the program points.
+	 * @return a new set.
+	 */
+	private Set<Pair<Stmt, SootMethod>> asSet(final Pair<Stmt, SootMethod>... pairs) {
+		final Set<Pair<Stmt, SootMethod>> _result = new HashSet<Pair<Stmt, SootMethod>>();
+		Collections.addAll(_result, pairs);
+		return _result;
+	}
+
+	/**
+	 * Creates a static method with the given name in <code>sootClass</code>.
+	 *
+	 * @param name of the method.
+	 * @return a new method.
+	 */
+	private SootMethod createMethod(final String name) {
+		final SootMethod _result = new SootMethod(name, Collections.EMPTY_LIST, VoidType.v(), Modifier.STATIC);
+		sootClass.addMethod(_result);
+		return _result;
+	}
+
+	/**
+	 * Creates a program point.
+	 *
+	 * @param stmt of the program point.
+	 * @param method of the program point.
+	 * @return a new program point.
+	 */
+	private Pair<Stmt, SootMethod> pair(final Stmt stmt, final SootMethod method) {
+		return new Pair<Stmt, SootMethod>(stmt, method);
+	}
+}
+
+// End of File
@@ -0,0 +1,467 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.dependency;
+
+import edu.ksu.cis.indus.IndusTestCase;
+
+import edu.ksu.cis.indus.common.soot.BasicBlockGraphMgr;
+
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo;
+import edu.ksu.cis.indus.interfaces.IEscapeInfo;
+import edu.ksu.cis.indus.interfaces.IMonitorInfo;
+import edu.ksu.cis.indus.interfaces.IThreadGraphInfo;
+
+import edu.ksu.cis.indus.processing.ProcessingController;
+
+import edu.ksu.cis.indus.staticanalyses.concurrency.MonitorAnalysis;
+import edu.ksu.cis.indus.staticanalyses.concurrency.escape.EquivalenceClassBasedEscapeAnalysis;
+import edu.ksu.cis.indus.staticanalyses.interfaces.IAnalysis;
+import edu.ksu.cis.indus.staticanalyses.processing.AnalysesController;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import soot.Local;
+import soot.SootMethod;
+import soot.Value;
+
+import soot.jimple.AssignStmt;
+import soot.jimple.DefinitionStmt;
+import soot.jimple.EnterMonitorStmt;
+import soot.jimple.MonitorStmt;
+import soot.jimple.Stmt;
+
+/**
+ * This class tests that the dependences calculated by analyses driven by <code>AnalysesController</code> are the same
+ * when the analyses are executed sequentially and when they are executed concurrently. The analyses are driven with the
+ * information provided by <code>DependencyAnalysisTestSetup</code>. Escape and monitor analyses are driven along with the
+ * dependence analyses so that the order of execution is derived from the information required by the analyses. It also
+ * tests that the escape analysis calculates the same information when it processes the call graph sequentially and in
+ * parallel, and that the interference dependence analyses calculate the same dependences when they pair all access sites
+ * and when they pair access sites in partitions sequentially and concurrently.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class ConcurrentDependencyAnalysisTest
+		extends IndusTestCase {
+
+	/**
+	 * The number of analyses executed concurrently.
+	 */
+	private static final int PARALLELISM = 4;
+
+	/**
+	 * The basic block graph manager to be used.
+	 */
+	private BasicBlockGraphMgr bbgMgr;
+
+	/**
+	 * The call graph to be used.
+	 */
+	private ICallGraphInfo cgi;
+
+	/**
+	 * The information provided to the analyses.
+	 */
+	private Map<Comparable<?>, Object> info;
+
+	/**
+	 * The processing controller used to preprocess the system.
+	 */
+	private ProcessingController pc;
+
+	/**
+	 * The thread graph to be used.
+	 */
+	private IThreadGraphInfo tgi;
+
+	/**
+	 * Sets the basic block graph manager to be used.
+	 *
+	 * @param mgr to be used.
+	 */
+	public void setBasicBlockGraphMgr(final BasicBlockGraphMgr mgr) {
+		bbgMgr = mgr;
+	}
+
+	/**
+	 * Sets the call graph to be used.
+	 *
+	 * @param callGraph to be used.
+	 */
+	public void setCallGraph(final ICallGraphInfo callGraph) {
+		cgi = callGraph;
+	}
+
+	/**
+	 * Sets the information to be provided to the analyses.
+	 *
+	 * @param infoMap maps information ids to information providers.
+	 */
+	public void setInfo(final Map<Comparable<?>, Object> infoMap) {
+		info = infoMap;
+	}
+
+	/**
+	 * Sets the processing controller used to preprocess the system.
+	 *
+	 * @param controller to be used.
+	 */
+	public void setProcessingController(final ProcessingController controller) {
+		pc = controller;
+	}
+
+	/**
+	 * Sets the thread graph to be used.
+	 *
+	 * @param threadGraph to be used.
+	 */
+	public void setThreadGraph(final IThreadGraphInfo threadGraph) {
+		tgi = threadGraph;
+	}
+
+	/**
+	 * Tests that interference dependence analyses calculate the same dependences when pairing all access sites and when
+	 * pairing access sites in partitions sequentially and concurrently, with and without object flow information.
+	 */
+	public void testPairwiseAndPartitionedInterference() {
+		final boolean[] _useOFA = {false, true};
+
+		for (int _i = 0; _i < _useOFA.length; _i++) {
+			final List<InterferenceDAv1> _pairwise = executeInterferenceAnalyses(_useOFA[_i], false, 1);
+			final List<InterferenceDAv1> _partitioned = executeInterferenceAnalyses(_useOFA[_i], true, 1);
+			final List<InterferenceDAv1> _concurrent = executeInterferenceAnalyses(_useOFA[_i], true, PARALLELISM);
+
+			for (int _j = 0; _j < _pairwise.size(); _j++) {
+				final IDependencyAnalysis _da = _pairwise.get(_j);
+				final String _name = _da.getClass().getName() + ":useOFA=" + _useOFA[_i];
+				final Map<Stmt, List<Collection<Object>>> _expected = getDependences(_da);
+				assertEquals(_name, _expected, getDependences(_partitioned.get(_j)));
+				assertEquals(_name, _expected, getDependences(_concurrent.get(_j)));
+			}
+		}
+	}
+
+	/**
+	 * Tests that sequential and concurrent executions of the analyses calculate the same dependences. In the concurrent
+	 * execution, the method bodies are also preprocessed concurrently.
+	 */
+	public void testSequentialAndConcurrentExecution() {
+		final List<IDependencyAnalysis> _sequential = executeAnalyses(1);
+		final List<IDependencyAnalysis> _concurrent = executeAnalyses(PARALLELISM);
+		assertEquals(_sequential.size(), _concurrent.size());
+
+		for (int _i = 0; _i < _sequential.size(); _i++) {
+			final IDependencyAnalysis _da = _sequential.get(_i);
+			final String _name = _da.getClass().getName() + ":" + _da.getDirection();
+			assertTrue(_name + " is not stable", _concurrent.get(_i).isStable());
+			assertEquals(_name, getDependences(_da), getDependences(_concurrent.get(_i)));
+		}
+	}
+
+	/**
+	 * Tests that sequential and parallel executions of the escape analysis calculate the same escape, sharing, and lock
+	 * coupling information.
+	 */
+	public void testSequentialAndParallelEscapeAnalysis() {
+		final EquivalenceClassBasedEscapeAnalysis _sequential = executeEscapeAnalysis(1);
+		final EquivalenceClassBasedEscapeAnalysis _parallel = executeEscapeAnalysis(PARALLELISM);
+		assertTrue(_parallel.isStable());
+		assertEquals(PARALLELISM, _parallel.getParallelism());
+
+		final Map<String, Boolean> _expected = getEscapeInfo(_sequential.getEscapeInfo());
+		assertFalse(_expected.isEmpty());
+		assertEquals(_expected, getEscapeInfo(_parallel.getEscapeInfo()));
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		bbgMgr = null;
+		cgi = null;
+		info = null;
+		pc = null;
+		tgi = null;
+		super.tearDown();
+	}
+
+	/**
+	 * Checks if the given statement can be queried as a dependee of the given analysis.
+	 *
+	 * @param da of interest.
+	 * @param stmt of interest.
+	 * @return <code>true</code> if <code>stmt</code> can be queried for dependents; <code>false</code>, otherwise.
+	 */
+	private static boolean canHandleDependee(final IDependencyAnalysis da, final Stmt stmt) {
+		final boolean _result;
+
+		if (da instanceof IdentifierBasedDataDA) {
+			_result = stmt instanceof DefinitionStmt;
+		} else if (da instanceof ReferenceBasedDataDA || da instanceof InterferenceDAv1) {
+			_result = stmt instanceof AssignStmt;
+		} else if (da instanceof SynchronizationDA) {
+			_result = stmt instanceof MonitorStmt;
+		} else {
+			_result = true;
+		}
+		return _result;
+	}
+
+	/**
+	 * Checks if the given statement can be queried as a dependent of the given analysis.
+	 *
+	 * @param da of interest.
+	 * @param stmt of interest.
+	 * @return <code>true</code> if <code>stmt</code> can be queried for dependees; <code>false</code>, otherwise.
+	 */
+	private static boolean canHandleDependent(final IDependencyAnalysis da, final Stmt stmt) {
+		return !(da instanceof ReferenceBasedDataDA || da instanceof InterferenceDAv1) || stmt instanceof AssignStmt;
+	}
+
+	/**
+	 * Executes a fresh set of analyses.
+	 *
+	 * @param parallelism is the number of analyses that may be executed concurrently and the number of workers used to
+	 *            preprocess method bodies.
+	 * @return the executed dependence analyses.
+	 * @post result != null
+	 */
+	private List<IDependencyAnalysis> executeAnalyses(final int parallelism) {
+		final MonitorAnalysis _monitorInfo = new MonitorAnalysis();
+		final EquivalenceClassBasedEscapeAnalysis _ecba = new EquivalenceClassBasedEscapeAnalysis(cgi, tgi, bbgMgr);
+		final NonTerminationSensitiveEntryControlDA _entryControlDA = new NonTerminationSensitiveEntryControlDA();
+		final List<IDependencyAnalysis> _result = new ArrayList<IDependencyAnalysis>();
+		_result.add(_entryControlDA);
+		_result.add(new ExitControlDA());
+		_result.add(new IdentifierBasedDataDA());
+		_result.add(new ReferenceBasedDataDA());
+		_result.add(new InterferenceDAv1());
+		_result.add(new InterferenceDAv3());
+		_result.add(ReadyDAv1.getForwardReadyDA());
+		_result.add(ReadyDAv2.getBackwardReadyDA());
+		_result.add(new SynchronizationDA());
+
+		final Map<Comparable<?>, Object> _info = new HashMap<Comparable<?>, Object>(info);
+		_info.put(IMonitorInfo.ID, _monitorInfo);
+		_info.put(IEscapeInfo.ID, _ecba.getEscapeInfo());
+		_info.put(IDependencyAnalysis.DependenceSort.CONTROL_DA, Collections.singleton(_entryControlDA));
+
+		final AnalysesController _ac = new AnalysesController(_info, pc, bbgMgr);
+
+		for (final Iterator<IDependencyAnalysis> _i = _result.iterator(); _i.hasNext();) {
+			final IDependencyAnalysis _da = _i.next();
+
+			for (final Iterator<? extends Comparable<?>> _j = _da.getIds().iterator(); _j.hasNext();) {
+				_ac.addAnalyses(_j.next(), Collections.<IAnalysis> singleton(_da));
+			}
+		}
+		_ac.addAnalyses(EquivalenceClassBasedEscapeAnalysis.ID, Collections.singleton(_ecba));
+		_ac.addAnalyses(IMonitorInfo.ID, Collections.singleton(_monitorInfo));
+		_ac.setParallelism(parallelism);
+
+		final int _pcParallelism = pc.getParallelism();
+		pc.setParallelism(parallelism);
+
+		try {
+			_ac.initialize();
+		} finally {
+			pc.setParallelism(_pcParallelism);
+		}
+		_ac.execute();
+		return _result;
+	}
+
+	/**
+	 * Executes a fresh escape analysis.
+	 *
+	 * @param parallelism is the number of strongly connected components of the call graph that may be processed in
+	 *            parallel by the analysis.
+	 * @return the executed analysis.
+	 * @post result != null
+	 */
+	private EquivalenceClassBasedEscapeAnalysis executeEscapeAnalysis(final int parallelism) {
+		final EquivalenceClassBasedEscapeAnalysis _result = new EquivalenceClassBasedEscapeAnalysis(cgi, tgi, bbgMgr);
+		_result.setParallelism(parallelism);
+
+		final AnalysesController _ac = new AnalysesController(new HashMap<Comparable<?>, Object>(info), pc, bbgMgr);
+		_ac.addAnalyses(EquivalenceClassBasedEscapeAnalysis.ID, Collections.singleton(_result));
+		_ac.initialize();
+		_ac.execute();
+		return _result;
+	}
+
+	/**
+	 * Executes a fresh set of interference dependence analyses.
+	 *
+	 * @param useOFA <code>true</code> indicates that the analyses should use object flow information; <code>false</code>,
+	 *            otherwise.
+	 * @param partition <code>true</code> indicates that the analyses should pair access sites in partitions;
+	 *            <code>false</code>, indicates that they should pair all access sites.
+	 * @param parallelism is the number of workers used by the analyses to pair access sites in partitions.
+	 * @return the executed analyses.
+	 * @post result != null
+	 */
+	private List<InterferenceDAv1> executeInterferenceAnalyses(final boolean useOFA, final boolean partition,
+			final int parallelism) {
+		final EquivalenceClassBasedEscapeAnalysis _ecba = new EquivalenceClassBasedEscapeAnalysis(cgi, tgi, bbgMgr);
+		final List<InterferenceDAv1> _result = new ArrayList<InterferenceDAv1>();
+		_result.add(new InterferenceDAv1());
+		_result.add(new InterferenceDAv2());
+		_result.add(new InterferenceDAv3());
+
+		final Map<Comparable<?>, Object> _info = new HashMap<Comparable<?>, Object>(info);
+		_info.put(IEscapeInfo.ID, _ecba.getEscapeInfo());
+
+		final AnalysesController _ac = new AnalysesController(_info, pc, bbgMgr);
+
+		for (final Iterator<InterferenceDAv1> _i = _result.iterator(); _i.hasNext();) {
+			final InterferenceDAv1 _da = _i.next();
+			_da.setUseOFA(useOFA);
+			_da.setPartitionAccessSites(partition);
+			_da.setParallelism(parallelism);
+
+			for (final Iterator<? extends Comparable<?>> _j = _da.getIds().iterator(); _j.hasNext();) {
+				_ac.addAnalyses(_j.next(), Collections.<IAnalysis> singleton(_da));
+			}
+		}
+		_ac.addAnalyses(EquivalenceClassBasedEscapeAnalysis.ID, Collections.singleton(_ecba));
+		_ac.initialize();
+		_ac.execute();
+		return _result;
+	}
+
+	/**
+	 * Retrieves the dependences calculated by the given analysis for the statements of the reachable methods. Like
+	 * <code>StmtAndMethodBasedDependencyXMLizer</code>, only the statements that are valid dependees (dependents) of the
+	 * given analysis are queried for dependents (dependees).
+	 *
+	 * @param da of interest.
+	 * @return a map from statements to the dependees and the dependents of the statements.
+	 * @post result != null
+	 */
+	private Map<Stmt, List<Collection<Object>>> getDependences(final IDependencyAnalysis da) {
+		final Map<Stmt, List<Collection<Object>>> _result = new HashMap<Stmt, List<Collection<Object>>>();
+
+		for (final Iterator<SootMethod> _i = cgi.getReachableMethods().iterator(); _i.hasNext();) {
+			final SootMethod _sm = _i.next();
+
+			if (_sm.hasActiveBody()) {
+				for (final Iterator<?> _j = _sm.getActiveBody().getUnits().iterator(); _j.hasNext();) {
+					final Stmt _stmt = (Stmt) _j.next();
+					final Collection<Object> _dependees = new HashSet<Object>();
+					final Collection<Object> _dependents = new HashSet<Object>();
+
+					if (da instanceof IdentifierBasedDataDA) {
+						_dependees.addAll(((IdentifierBasedDataDA) da).getDependees(_stmt, _sm));
+					} else if (canHandleDependent(da, _stmt)) {
+						_dependees.addAll(da.getDependees(_stmt, _sm));
+					}
+
+					if (canHandleDependee(da, _stmt)) {
+						_dependents.addAll(da.getDependents(_stmt, _sm));
+					}
+
+					final List<Collection<Object>> _dependences = new ArrayList<Collection<Object>>();
+					_dependences.add(_dependees);
+					_dependences.add(_dependents);
+					_result.put(_stmt, _dependences);
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the escape, sharing, and lock coupling information about the locals and the receivers of the reachable
+	 * methods.
+	 *
+	 * @param escapeInfo to be queried.
+	 * @return a map from the descriptions of the queries to their results.
+	 * @post result != null
+	 */
+	private Map<String, Boolean> getEscapeInfo(final IEscapeInfo escapeInfo) {
+		final Map<String, Boolean> _result = new HashMap<String, Boolean>();
+		final List<Local> _locks = new ArrayList<Local>();
+		final List<SootMethod> _lockMethods = new ArrayList<SootMethod>();
+
+		for (final Iterator<SootMethod> _i = cgi.getReachableMethods().iterator(); _i.hasNext();) {
+			final SootMethod _sm = _i.next();
+
+			if (_sm.hasActiveBody()) {
+				for (final Iterator<?> _j = _sm.getActiveBody().getLocals().iterator(); _j.hasNext();) {
+					final Local _local = (Local) _j.next();
+
+					if (EquivalenceClassBasedEscapeAnalysis.canHaveAliasSet(_local.getType())) {
+						final String _name = _sm + ":" + _local;
+						_result.put(_name + ":escapes", Boolean.valueOf(escapeInfo.escapes(_local, _sm)));
+						_result.put(_name + ":rw", Boolean.valueOf(escapeInfo.fieldAccessShared(_local, _sm,
+								IEscapeInfo.READ_WRITE_SHARED_ACCESS)));
+						_result.put(_name + ":ww", Boolean.valueOf(escapeInfo.fieldAccessShared(_local, _sm,
+								IEscapeInfo.WRITE_WRITE_SHARED_ACCESS)));
+						_result.put(_name + ":lock", Boolean.valueOf(escapeInfo.lockUnlockShared(_local, _sm)));
+						_result.put(_name + ":wait", Boolean.valueOf(escapeInfo.waitNotifyShared(_local, _sm)));
+					}
+				}
+
+				if (!_sm.isStatic()) {
+					final String _name = _sm + ":this";
+					_result.put(_name + ":escapes", Boolean.valueOf(escapeInfo.thisEscapes(_sm)));
+					_result.put(_name + ":rw", Boolean.valueOf(escapeInfo.thisFieldAccessShared(_sm,
+							IEscapeInfo.READ_WRITE_SHARED_ACCESS)));
+					_result.put(_name + ":ww", Boolean.valueOf(escapeInfo.thisFieldAccessShared(_sm,
+							IEscapeInfo.WRITE_WRITE_SHARED_ACCESS)));
+					_result.put(_name + ":lock", Boolean.valueOf(escapeInfo.thisLockUnlockShared(_sm)));
+					_result.put(_name + ":wait", Boolean.valueOf(escapeInfo.thisWaitNotifyShared(_sm)));
+				}
+
+				for (final Iterator<?> _j = _sm.getActiveBody().getUnits().iterator(); _j.hasNext();) {
+					final Object _stmt = _j.next();
+
+					if (_stmt instanceof EnterMonitorStmt) {
+						final Value _op = ((EnterMonitorStmt) _stmt).getOp();
+
+						if (_op instanceof Local) {
+							_locks.add((Local) _op);
+							_lockMethods.add(_sm);
+						}
+					}
+				}
+			}
+		}
+
+		for (int _i = 0; _i < _locks.size(); _i++) {
+			for (int _j = 0; _j < _locks.size(); _j++) {
+				final String _name = _lockMethods.get(_i) + ":" + _locks.get(_i) + ":" + _lockMethods.get(_j) + ":"
+						+ _locks.get(_j) + ":coupled";
+				_result.put(_name, Boolean.valueOf(escapeInfo.areCoupledViaLocking(_locks.get(_i), _lockMethods.get(_i),
+						_locks.get(_j), _lockMethods.get(_j))));
+			}
+		}
+		return _result;
+	}
+}
+
+// End of File
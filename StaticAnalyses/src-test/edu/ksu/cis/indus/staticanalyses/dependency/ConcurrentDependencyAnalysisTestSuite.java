@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.dependency;
+
+import edu.ksu.cis.indus.TestHelper;
+
+import edu.ksu.cis.indus.common.soot.CompleteStmtGraphFactory;
+
+import edu.ksu.cis.indus.staticanalyses.flow.ConcurrentFATest;
+
+import edu.ksu.cis.indus.xmlizer.UniqueJimpleIDGenerator;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import java.util.Properties;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import junit.textui.TestRunner;
+
+/**
+ * This is the test suite used to run the tests that execute analyses on many threads using JUnit's text interface to the
+ * runner. The tests are driven by the same property file as <code>DependencyAnalysisRegressionTestSuite</code>. However,
+ * they are run in a setup of their own as the worker threads change the identity hash order that the XML based tests of
+ * <code>DependencyAnalysisRegressionTestSuite</code> depend on.
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public class ConcurrentDependencyAnalysisTestSuite
+		extends TestCase {
+
+	// /CLOVER:OFF
+
+	/**
+	 * This is the entry point via command-line.
+	 * 
+	 * @param args are ignored.
+	 */
+	public static void main(final String[] args) {
+		final String[] _suiteName = {ConcurrentDependencyAnalysisTestSuite.class.getName()};
+		TestRunner.main(_suiteName);
+	}
+
+	// /CLOVER:ON
+
+	/**
+	 * Provides the suite of tests in junit-style. This sets up the tests based on the file specified via
+	 * <code>DependencyAnalysisRegressionTestSuite.DEPENDENCY_ANALYSIS_TEST_PROPERTIES_FILE</code> system property.
+	 * 
+	 * @return the suite of tests.
+	 * @throws RuntimeException when <code>DEPENDENCY_ANALYSIS_TEST_PROPERTIES_FILE</code> property is unspecified.
+	 */
+	public static Test suite() {
+		final TestSuite _suite = new TestSuite(
+				"Test for concurrent execution of edu.ksu.cis.indus.staticanalyses.dependency");
+		final String _propFileName = System
+				.getProperty(DependencyAnalysisRegressionTestSuite.DEPENDENCY_ANALYSIS_TEST_PROPERTIES_FILE);
+
+		if (_propFileName == null) {
+			throw new RuntimeException("Please provide a property file like DependencyAnalysisTest.properties via " + "-D"
+					+ DependencyAnalysisRegressionTestSuite.DEPENDENCY_ANALYSIS_TEST_PROPERTIES_FILE);
+		}
+		setupTests(_propFileName, _suite);
+		return _suite;
+	}
+
+	/**
+	 * Sets up the test fixture.
+	 * 
+	 * @param propFileName is the name of the file with the data to setup the test fixture.
+	 * @param suite will contain new tests based on the fixture data (upon return).
+	 * @throws IllegalArgumentException when the fixture data is invalid.
+	 * @pre propFileName != null and suite != null
+	 */
+	private static void setupTests(final String propFileName, final TestSuite suite) {
+		final Properties _props = new Properties();
+
+		try {
+			_props.load(new FileInputStream(new File(propFileName)));
+
+			final String[] _configs = _props.getProperty("configs").split(" ");
+
+			for (int _i = 0; _i < _configs.length; _i++) {
+				final String _config = _configs[_i];
+				final String _classNames = _props.getProperty(_config + ".classNames");
+				final String _classpath = _props.getProperty(_config + ".classpath");
+
+				try {
+					final TestSuite _temp = new TestSuite(_config);
+					_temp.addTestSuite(ConcurrentDependencyAnalysisTest.class);
+					_temp.addTestSuite(AliasedUseDefInfoTest.class);
+					_temp.addTestSuite(StaticFieldUseDefInfoTest.class);
+					_temp.addTestSuite(ConcurrentFATest.class);
+					TestHelper.appendSuiteNameToTestsIn(_temp, true);
+
+					final DependencyAnalysisTestSetup _test = new DependencyAnalysisTestSetup(_temp, _classNames,
+							_classpath);
+					_test.setIdGenerator(new UniqueJimpleIDGenerator());
+					_test.setStmtGraphFactory(new CompleteStmtGraphFactory());
+					suite.addTest(_test);
+				} catch (final IllegalArgumentException _e) {
+					_e.printStackTrace();
+				}
+			}
+		} catch (final IOException _e) {
+			throw new IllegalArgumentException("Specified property file does not exist.");
+		}
+	}
+}
+
+// End of File
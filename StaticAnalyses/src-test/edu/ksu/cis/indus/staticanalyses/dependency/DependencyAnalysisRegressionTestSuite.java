@@ -254,6 +254,7 @@ public class DependencyAnalysisRegressionTestSuite
 						_temp.addTestSuite(OFABasedCallGraphTest.class);
 						_temp.addTestSuite(XMLBasedOFATest.class);
 						_temp.addTestSuite(FATest.class);
+						_temp.addTestSuite(CallingContextRetrieverTest.class);
 						TestHelper.appendSuiteNameToTestsIn(_temp, true);
 
 						final DependencyAnalysisTestSetup _test = new DependencyAnalysisTestSetup(_temp, _classNames,
@@ -170,6 +170,40 @@ public class DependencyAnalysisTestSetup
 			_test.setCallGraph(cgiImpl);
 		}
 
+		for (final Iterator<CallingContextRetrieverTest> _i = TestHelper.getTestCasesReachableFromSuite(
+				(TestSuite) getTest(), CallingContextRetrieverTest.class).iterator(); _i.hasNext();) {
+			final CallingContextRetrieverTest _test = _i.next();
+			_test.setCFGAnalysis(new CFGAnalysis(cgiImpl, bbgMgr));
+			_test.setCallGraph(cgiImpl);
+			_test.setECBA(ecba);
+			_test.setThreadGraph(tgiImpl);
+		}
+
+		for (final Iterator<AliasedUseDefInfoTest> _i = TestHelper.getTestCasesReachableFromSuite((TestSuite) getTest(),
+				AliasedUseDefInfoTest.class).iterator(); _i.hasNext();) {
+			final AliasedUseDefInfoTest _test = _i.next();
+			_test.setBasicBlockGraphMgr(bbgMgr);
+			_test.setInfo(info);
+			_test.setProcessingController(_pc);
+		}
+
+		for (final Iterator<StaticFieldUseDefInfoTest> _i = TestHelper.getTestCasesReachableFromSuite((TestSuite) getTest(),
+				StaticFieldUseDefInfoTest.class).iterator(); _i.hasNext();) {
+			final StaticFieldUseDefInfoTest _test = _i.next();
+			_test.setCallGraph(cgiImpl);
+			_test.setProcessingController(_pc);
+		}
+
+		for (final Iterator<ConcurrentDependencyAnalysisTest> _i = TestHelper.getTestCasesReachableFromSuite(
+				(TestSuite) getTest(), ConcurrentDependencyAnalysisTest.class).iterator(); _i.hasNext();) {
+			final ConcurrentDependencyAnalysisTest _test = _i.next();
+			_test.setBasicBlockGraphMgr(bbgMgr);
+			_test.setCallGraph(cgiImpl);
+			_test.setInfo(info);
+			_test.setProcessingController(_pc);
+			_test.setThreadGraph(tgiImpl);
+		}
+
 		// drive the analysis.
 		_pc.setProcessingFilter(new CGBasedProcessingFilter(cgiImpl));
 		aliasUD.hookup(_pc);
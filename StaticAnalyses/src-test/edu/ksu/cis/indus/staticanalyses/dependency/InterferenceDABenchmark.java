@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.dependency;
+
+import edu.ksu.cis.indus.common.datastructures.Pair.PairManager;
+import edu.ksu.cis.indus.common.soot.BasicBlockGraphMgr;
+import edu.ksu.cis.indus.common.soot.IStmtGraphFactory;
+import edu.ksu.cis.indus.common.soot.SootBasedDriver;
+
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo;
+import edu.ksu.cis.indus.interfaces.IEnvironment;
+import edu.ksu.cis.indus.interfaces.IEscapeInfo;
+import edu.ksu.cis.indus.interfaces.IThreadGraphInfo;
+
+import edu.ksu.cis.indus.processing.OneAllStmtSequenceRetriever;
+import edu.ksu.cis.indus.processing.TagBasedProcessingFilter;
+
+import edu.ksu.cis.indus.staticanalyses.callgraphs.CallGraphInfo;
+import edu.ksu.cis.indus.staticanalyses.callgraphs.OFABasedCallInfoCollector;
+import edu.ksu.cis.indus.staticanalyses.cfg.CFGAnalysis;
+import edu.ksu.cis.indus.staticanalyses.concurrency.escape.EquivalenceClassBasedEscapeAnalysis;
+import edu.ksu.cis.indus.staticanalyses.flow.instances.ofa.OFAnalyzer;
+import edu.ksu.cis.indus.staticanalyses.flow.processors.ThreadGraph;
+import edu.ksu.cis.indus.staticanalyses.interfaces.IValueAnalyzer;
+import edu.ksu.cis.indus.staticanalyses.processing.AnalysesController;
+import edu.ksu.cis.indus.staticanalyses.processing.CGBasedProcessingFilter;
+import edu.ksu.cis.indus.staticanalyses.processing.ValueAnalyzerBasedProcessingController;
+import edu.ksu.cis.indus.staticanalyses.tokens.BitSetTokenManager;
+import edu.ksu.cis.indus.staticanalyses.tokens.soot.SootValueTypeManager;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import soot.G;
+import soot.Type;
+import soot.Value;
+
+/**
+ * This class compares the time consumed by interference dependence analyses when pairing all access sites, when pairing
+ * access sites in partitions, and when pairing access sites in partitions concurrently. It uses the configurations of the
+ * dependence analysis regression tests, i.e., the file specified via
+ * <code>DependencyAnalysisRegressionTestSuite.DEPENDENCY_ANALYSIS_TEST_PROPERTIES_FILE</code> system property.
+ * <p>
+ * Run it as <code>java -Dindus.staticanalyses.dependency.DependencyAnalysisTest.properties.file=&lt;file&gt;
+ * edu.ksu.cis.indus.staticanalyses.dependency.InterferenceDABenchmark [rounds [workers]]</code>. The reported time includes
+ * the preprocessing of the system by the analysis, which is the same in all modes. Each mode is also checked to calculate
+ * the same dependences as pairing all access sites.
+ * </p>
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class InterferenceDABenchmark {
+	///CLOVER:OFF
+
+	/**
+	 * The default number of measured rounds.
+	 */
+	private static final int DEFAULT_ROUNDS = 3;
+
+	/**
+	 * The names of the modes in which the analyses are compared.
+	 */
+	private static final String[] MODES = { "pairwise", "partitioned", "partitioned+parallel", };
+
+	/**
+	 * The tag used by the analysis.
+	 */
+	private static final String TAG_NAME = "InterferenceDABenchmark:FA";
+
+	/**
+	 * Creates a new InterferenceDABenchmark object.
+	 */
+	private InterferenceDABenchmark() {
+	}
+
+	/**
+	 * Executes the benchmark.
+	 *
+	 * @param args are the number of rounds and the number of workers used in the parallel mode (both optional).
+	 * @throws IOException when the configuration file cannot be read.
+	 * @throws IllegalArgumentException when the configuration file is not specified.
+	 */
+	public static void main(final String[] args) throws IOException {
+		final String _propFileName = System
+				.getProperty(DependencyAnalysisRegressionTestSuite.DEPENDENCY_ANALYSIS_TEST_PROPERTIES_FILE);
+
+		if (_propFileName == null) {
+			throw new IllegalArgumentException("Please provide a property file like DependencyAnalysisTest.properties via -D"
+					+ DependencyAnalysisRegressionTestSuite.DEPENDENCY_ANALYSIS_TEST_PROPERTIES_FILE);
+		}
+
+		final int _rounds;
+
+		if (args.length > 0) {
+			_rounds = Integer.parseInt(args[0]);
+		} else {
+			_rounds = DEFAULT_ROUNDS;
+		}
+
+		final int _workers;
+
+		if (args.length > 1) {
+			_workers = Integer.parseInt(args[1]);
+		} else {
+			_workers = Runtime.getRuntime().availableProcessors();
+		}
+
+		final Properties _props = new Properties();
+		final FileInputStream _stream = new FileInputStream(new File(_propFileName));
+
+		try {
+			_props.load(_stream);
+		} finally {
+			_stream.close();
+		}
+
+		final String[] _configs = _props.getProperty("configs").split(" ");
+
+		for (int _i = 0; _i < _configs.length; _i++) {
+			final String _config = _configs[_i];
+			final String _classNames = _props.getProperty(_config + ".classNames");
+			final String _classpath = _props.getProperty(_config + ".classpath");
+
+			try {
+				final Map<Comparable<?>, Object> _info = setupInfo(_classNames, _classpath);
+				final InterferenceDAv1[] _das = { new InterferenceDAv1(), new InterferenceDAv2(), new InterferenceDAv3(), };
+
+				for (int _j = 0; _j < _das.length; _j++) {
+					final String _daName = _das[_j].getClass().getName();
+					String _reference = null;
+
+					for (int _k = 0; _k < MODES.length; _k++) {
+						long _bestTime = Long.MAX_VALUE;
+						String _result = null;
+
+						for (int _l = 0; _l < _rounds; _l++) {
+							final InterferenceDAv1 _da = (InterferenceDAv1) _das[_j].getClass().newInstance();
+							_da.setUseOFA(true);
+							_da.setPartitionAccessSites(_k > 0);
+							_da.setParallelism(_k > 1 ? _workers : 1);
+							_bestTime = Math.min(_bestTime, run(_da, _info));
+							_result = _da.toString();
+						}
+
+						if (_reference == null) {
+							_reference = _result;
+						}
+						System.out.println(_config + " - " + _daName + " - " + MODES[_k] + ": " + (_bestTime / 1000000)
+								+ " ms (best of " + _rounds + ")" + (_reference.equals(_result) ? "" : " DIFFERS"));
+					}
+				}
+			} catch (final InstantiationException _e) {
+				throw new RuntimeException(_e);
+			} catch (final IllegalAccessException _e) {
+				throw new RuntimeException(_e);
+			} finally {
+				G.reset();
+			}
+		}
+	}
+
+	/**
+	 * Executes the given analysis.
+	 *
+	 * @param da is the analysis to execute.
+	 * @param info is the information required by the analysis.
+	 * @return the time (in nanoseconds) consumed by the analysis.
+	 */
+	private static long run(final InterferenceDAv1 da, final Map<Comparable<?>, Object> info) {
+		final BasicBlockGraphMgr _bbm = (BasicBlockGraphMgr) info.get(BasicBlockGraphMgr.class.getName());
+		final ValueAnalyzerBasedProcessingController _pc = createProcessingController(info);
+		final AnalysesController _ac = new AnalysesController(info, _pc, _bbm);
+
+		for (final Comparable<?> _id : da.getIds()) {
+			_ac.addAnalyses(_id, Collections.singleton(da));
+		}
+		_ac.initialize();
+
+		final long _start = System.nanoTime();
+		_ac.execute();
+		return System.nanoTime() - _start;
+	}
+
+	/**
+	 * Creates a processing controller that processes the parts of the system reachable in the call graph.
+	 *
+	 * @param info provides the value analyzer and the call graph.
+	 * @return the processing controller.
+	 */
+	@SuppressWarnings("unchecked") private static ValueAnalyzerBasedProcessingController createProcessingController(
+			final Map<Comparable<?>, Object> info) {
+		final IValueAnalyzer<Value> _analyzer = (IValueAnalyzer<Value>) info.get(IValueAnalyzer.ID);
+		final ValueAnalyzerBasedProcessingController _pc = new ValueAnalyzerBasedProcessingController();
+		final OneAllStmtSequenceRetriever _ssr = new OneAllStmtSequenceRetriever();
+		_ssr.setStmtGraphFactory((IStmtGraphFactory<?>) info.get(IStmtGraphFactory.ID));
+		_pc.setStmtSequencesRetriever(_ssr);
+		_pc.setAnalyzer(_analyzer);
+		_pc.setEnvironment(_analyzer.getEnvironment());
+		_pc.setProcessingFilter(new CGBasedProcessingFilter((ICallGraphInfo) info.get(ICallGraphInfo.ID)));
+		return _pc;
+	}
+
+	/**
+	 * Executes the analyses required by interference dependence analyses on the given system.
+	 *
+	 * @param classNames are the names of the root classes separated by spaces.
+	 * @param classpath is the soot class path.
+	 * @return the information required by interference dependence analyses. The basic block graph manager is mapped to the
+	 *         name of it's class.
+	 */
+	private static Map<Comparable<?>, Object> setupInfo(final String classNames, final String classpath) {
+		G.reset();
+
+		final SootBasedDriver _driver = new SootBasedDriver();
+		_driver.addToSootClassPath(classpath);
+		_driver.setClassNames(Arrays.asList(classNames.split(" ")));
+		_driver.initialize();
+
+		final IValueAnalyzer<Value> _analyzer = OFAnalyzer.getFSOIAnalyzer(TAG_NAME, new BitSetTokenManager<Value, Type>(
+				new SootValueTypeManager()), _driver.getStmtGraphFactory());
+		_analyzer.analyze(_driver.getEnvironment(), _driver.getRootMethods());
+
+		final ValueAnalyzerBasedProcessingController _pc = new ValueAnalyzerBasedProcessingController();
+		final OneAllStmtSequenceRetriever _ssr = new OneAllStmtSequenceRetriever();
+		_ssr.setStmtGraphFactory(_driver.getStmtGraphFactory());
+		_pc.setStmtSequencesRetriever(_ssr);
+		_pc.setAnalyzer(_analyzer);
+		_pc.setEnvironment(_analyzer.getEnvironment());
+		_pc.setProcessingFilter(new TagBasedProcessingFilter(TAG_NAME));
+
+		final CallGraphInfo _cgi = new CallGraphInfo(new PairManager(false, true));
+		final OFABasedCallInfoCollector _collector = new OFABasedCallInfoCollector();
+		_collector.hookup(_pc);
+		_pc.process();
+		_collector.unhook(_pc);
+		_cgi.createCallGraphInfo(_collector.getCallInfo());
+
+		final BasicBlockGraphMgr _bbm = new BasicBlockGraphMgr();
+		_bbm.setStmtGraphFactory(_driver.getStmtGraphFactory());
+
+		final PairManager _pairManager = new PairManager(false, true);
+		final ThreadGraph _tgi = new ThreadGraph(_cgi, new CFGAnalysis(_cgi, _bbm), _pairManager);
+		_pc.setProcessingFilter(new CGBasedProcessingFilter(_cgi));
+		_tgi.hookup(_pc);
+		_pc.process();
+		_tgi.unhook(_pc);
+
+		final EquivalenceClassBasedEscapeAnalysis _ecba = new EquivalenceClassBasedEscapeAnalysis(_cgi, _tgi, _bbm);
+		final Map<Comparable<?>, Object> _info = new HashMap<Comparable<?>, Object>();
+		_info.put(ICallGraphInfo.ID, _cgi);
+		_info.put(IThreadGraphInfo.ID, _tgi);
+		_info.put(PairManager.ID, _pairManager);
+		_info.put(IEnvironment.ID, _analyzer.getEnvironment());
+		_info.put(IValueAnalyzer.ID, _analyzer);
+		_info.put(IStmtGraphFactory.ID, _driver.getStmtGraphFactory());
+		_info.put(IEscapeInfo.ID, _ecba.getEscapeInfo());
+		_info.put(BasicBlockGraphMgr.class.getName(), _bbm);
+
+		final AnalysesController _ac = new AnalysesController(_info, _pc, _bbm);
+		_ac.addAnalyses(IEscapeInfo.ID, Collections.singleton(_ecba));
+		_ac.initialize();
+		_ac.execute();
+		return _info;
+	}
+}
+
+// End of File
@@ -0,0 +1,377 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.dependency;
+
+import edu.ksu.cis.indus.common.datastructures.IWorkBag;
+import edu.ksu.cis.indus.common.datastructures.LIFOWorkBag;
+import edu.ksu.cis.indus.common.datastructures.Pair;
+import edu.ksu.cis.indus.common.datastructures.Pair.PairManager;
+import edu.ksu.cis.indus.common.soot.BasicBlockGraph;
+import edu.ksu.cis.indus.common.soot.BasicBlockGraph.BasicBlock;
+import edu.ksu.cis.indus.common.soot.BasicBlockGraphMgr;
+import edu.ksu.cis.indus.common.soot.CompleteStmtGraphFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import soot.SootMethod;
+
+import soot.jimple.Stmt;
+
+/**
+ * This class tests <code>NonTerminationSensitiveEntryControlDA</code>. Besides the checks of
+ * <code>StmtAndMethodBasedDependencyAnalysisTest</code>, the dependence calculated by
+ * <code>IndexBasedControlDependenceEngine</code> for the basic block graph of each method is compared with the dependence
+ * calculated by the token propagation implemented directly on basic blocks, i.e., the implementation that preceded
+ * <code>IndexBasedControlDependenceEngine</code> with the accumulation of tokens at a node carried out until no more tokens
+ * can be accumulated. For methods with acyclic basic block graphs, the dependence calculated via
+ * post dominance frontiers is compared with the dependence calculated by token propagation.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+final class NonTerminationSensitiveEntryControlDATest
+		extends StmtAndMethodBasedDependencyAnalysisTest {
+
+	/**
+	 * This provides the basic block graphs of the methods.
+	 */
+	private final BasicBlockGraphMgr bbgMgr = new BasicBlockGraphMgr();
+
+	/**
+	 * The methods whose basic block graphs have been checked.
+	 */
+	private final Collection<SootMethod> checkedMethods = new HashSet<SootMethod>();
+
+	/**
+	 * Creates an instance of this class.
+	 */
+	NonTerminationSensitiveEntryControlDATest() {
+		super();
+		bbgMgr.setStmtGraphFactory(new CompleteStmtGraphFactory());
+	}
+
+	/**
+	 * @see StmtAndMethodBasedDependencyAnalysisTest#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		checkedMethods.clear();
+		bbgMgr.reset();
+		super.tearDown();
+	}
+
+	/**
+	 * @see StmtAndMethodBasedDependencyAnalysisTest#verifyDAFor(Stmt, SootMethod)
+	 */
+	@Override protected void verifyDAFor(final Stmt unit, final SootMethod sm) {
+		super.verifyDAFor(unit, sm);
+
+		if (checkedMethods.add(sm)) {
+			final BasicBlockGraph _graph = bbgMgr.getBasicBlockGraph(sm);
+			final BitSet[] _expected = new TokenPropagation(_graph).calculateDependence();
+			final IndexBasedControlDependenceEngine _engine = new IndexBasedControlDependenceEngine(_graph);
+			final BitSet[] _actual = _engine.computeUsingTokens();
+			assertTrue("Control dependence in " + sm.getSignature(), Arrays.equals(_expected, _actual));
+
+			if (_engine.isAcyclic()) {
+				final BitSet[] _pdfBased = _engine.computeUsingPostDominators();
+				assertNotNull("Post dominators of " + sm.getSignature(), _pdfBased);
+				assertTrue("Post dominance frontiers in " + sm.getSignature(), Arrays.equals(_actual, _pdfBased));
+				verifyPostDominanceFrontiersBasedAnalysisOf(sm);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the dependees and the dependents of the statements of the given method as provided by the given analysis.
+	 *
+	 * @param sm is the method of interest.
+	 * @param da is the analysis to be queried.
+	 * @return a list in which the dependees and the dependents of each statement occur in the order of the statements.
+	 * @pre sm != null and da != null
+	 * @post result != null
+	 */
+	private static List<List<Stmt>> getDependenceOf(final SootMethod sm, final NonTerminationSensitiveEntryControlDA da) {
+		final List<List<Stmt>> _result = new ArrayList<List<Stmt>>();
+
+		for (final Iterator<?> _i = sm.getActiveBody().getUnits().iterator(); _i.hasNext();) {
+			final Stmt _stmt = (Stmt) _i.next();
+			_result.add(new ArrayList<Stmt>(da.getDependees(_stmt, sm)));
+			_result.add(new ArrayList<Stmt>(da.getDependents(_stmt, sm)));
+		}
+		return _result;
+	}
+
+	/**
+	 * Verifies that the analysis provides the same dependence for the given method when it is analyzed with post dominance
+	 * frontiers as it does when it is analyzed by token propagation.
+	 *
+	 * @param sm is the method of interest.
+	 * @pre sm != null
+	 */
+	private void verifyPostDominanceFrontiersBasedAnalysisOf(final SootMethod sm) {
+		final NonTerminationSensitiveEntryControlDA _da = (NonTerminationSensitiveEntryControlDA) getDA();
+		final boolean _flag = _da.isUsingPostDominanceFrontiers();
+		final Collection<SootMethod> _methods = Collections.singleton(sm);
+
+		try {
+			_da.setUsePostDominanceFrontiers(false);
+			_da.analyze(_methods);
+
+			final List<List<Stmt>> _expected = getDependenceOf(sm, _da);
+			_da.setUsePostDominanceFrontiers(true);
+			_da.analyze(_methods);
+			assertEquals("Dependence in " + sm.getSignature(), _expected, getDependenceOf(sm, _da));
+		} finally {
+			_da.setUsePostDominanceFrontiers(_flag);
+			_da.analyze(_methods);
+		}
+	}
+
+	/**
+	 * This is the token propagation based calculation of non-termination sensitive control dependence as implemented
+	 * directly on basic blocks. Unlike the original implementation, the tokens are accumulated at a node until no more tokens
+	 * can be accumulated. Otherwise, the result depends on the iteration order of <code>nodesWithChildren</code>.
+	 *
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$ $Date$
+	 */
+	private static final class TokenPropagation {
+
+		/**
+		 * The nodes of the graph.
+		 */
+		private final List<BasicBlock> nodes;
+
+		/**
+		 * The nodes with multiple children.
+		 */
+		private final Collection<BasicBlock> nodesWithChildren;
+
+		/**
+		 * This manages pair objects.
+		 */
+		private final PairManager pairMgr = new PairManager(false, true);
+
+		/**
+		 * Creates an instance of this class.
+		 *
+		 * @param graph of interest.
+		 * @pre graph != null
+		 */
+		TokenPropagation(final BasicBlockGraph graph) {
+			nodes = graph.getNodes();
+			nodesWithChildren = new HashSet<BasicBlock>();
+
+			for (final Iterator<BasicBlock> _i = nodes.iterator(); _i.hasNext();) {
+				final BasicBlock _b = _i.next();
+
+				if (getFanoutNumOf(_b) > 1) {
+					nodesWithChildren.add(_b);
+				}
+			}
+		}
+
+		/**
+		 * Calculates the control dependence in the graph.
+		 *
+		 * @return an array of bitsets. The nth bitset captures the dependees of the nth node via set bits. A node that is
+		 *         not dependent on any node is mapped to <code>null</code>.
+		 * @post result.length == nodes.size()
+		 */
+		BitSet[] calculateDependence() {
+			final int _size = nodes.size();
+			final BitSet[][] _tokenSets = new BitSet[_size][_size];
+
+			for (int _i = _size - 1; _i >= 0; _i--) {
+				for (int _j = _size - 1; _j >= 0; _j--) {
+					_tokenSets[_i][_j] = new BitSet();
+				}
+			}
+
+			final IWorkBag<Pair<BasicBlock, Boolean>> _wb = new LIFOWorkBag<Pair<BasicBlock, Boolean>>();
+
+			for (final Iterator<BasicBlock> _i = nodesWithChildren.iterator(); _i.hasNext();) {
+				final BasicBlock _node = _i.next();
+				final int _nodeIndex = nodes.indexOf(_node);
+				int _count = 0;
+
+				for (final Iterator<BasicBlock> _j = _node.getSuccsOf().iterator(); _j.hasNext(); _count++) {
+					final BasicBlock _succ = _j.next();
+					_tokenSets[nodes.indexOf(_succ)][_nodeIndex].set(_count);
+					_wb.addWorkNoDuplicates(pairMgr.getPair(_succ, Boolean.TRUE));
+				}
+			}
+
+			while (_wb.hasWork()) {
+				_wb.addAllWorkNoDuplicates(processNode(_wb.getWork(), _tokenSets));
+			}
+
+			final BitSet[] _result = new BitSet[_size];
+
+			for (final Iterator<BasicBlock> _i = nodesWithChildren.iterator(); _i.hasNext();) {
+				final BasicBlock _ctrlPoint = _i.next();
+				final int _cpIndex = nodes.indexOf(_ctrlPoint);
+				final int _succsSize = getFanoutNumOf(_ctrlPoint);
+
+				for (int _k = _size - 1; _k >= 0; _k--) {
+					final int _cardinality = _tokenSets[_k][_cpIndex].cardinality();
+
+					if (_cardinality > 0 && _cardinality != _succsSize) {
+						if (_result[_k] == null) {
+							_result[_k] = new BitSet();
+						}
+						_result[_k].set(_cpIndex);
+					}
+				}
+			}
+			return _result;
+		}
+
+		/**
+		 * Accumulates the tokens of ancestor nodes at the given node until no more tokens can be accumulated.
+		 *
+		 * @param bb at which to accumulate tokens.
+		 * @param tokenSets is the collection of token sets of the nodes in the graph.
+		 * @return <code>true</code> if any new tokens were accumulated; <code>false</code>, otherwise.
+		 * @pre bb != null and tokenSets != null
+		 */
+		private boolean accumulateTokensAtNode(final BasicBlock bb, final BitSet[][] tokenSets) {
+			boolean _result = false;
+			final int _nodeIndex = nodes.indexOf(bb);
+			boolean _changed = true;
+
+			while (_changed) {
+				_changed = false;
+
+				for (final Iterator<BasicBlock> _i = nodesWithChildren.iterator(); _i.hasNext();) {
+					final BasicBlock _ctrlPointNode = _i.next();
+					final int _ctrlPointNodeIndex = nodes.indexOf(_ctrlPointNode);
+
+					if (tokenSets[_nodeIndex][_ctrlPointNodeIndex].cardinality() == getFanoutNumOf(_ctrlPointNode)
+							&& _nodeIndex != _ctrlPointNodeIndex) {
+						_changed |= copyAncestorBitSetsFromTo(_ctrlPointNodeIndex, _nodeIndex, tokenSets);
+					}
+				}
+				_result |= _changed;
+			}
+			return _result;
+		}
+
+		/**
+		 * Injects the tokens corresponding to the ancestors of the node at <code>src</code> into the token sets
+		 * corresponding to the same ancestors at the node at <code>dest</code>.
+		 *
+		 * @param src is the index of the node whose ancestor's tokens need to be propagated.
+		 * @param dest is the index of the node into which the tokens will be propagated to.
+		 * @param tokenSets is the collection of token sets of the nodes in the graph.
+		 * @return <code>true</code>if bits/tokens were added to the destination node; <code>false</code>, otherwise.
+		 * @pre tokenSets != null
+		 */
+		private boolean copyAncestorBitSetsFromTo(final int src, final int dest, final BitSet[][] tokenSets) {
+			boolean _result = false;
+
+			for (final Iterator<BasicBlock> _i = nodesWithChildren.iterator(); _i.hasNext();) {
+				final int _ancestorIndex = nodes.indexOf(_i.next());
+
+				if (dest != _ancestorIndex) {
+					final BitSet _temp = (BitSet) tokenSets[src][_ancestorIndex].clone();
+					_temp.andNot(tokenSets[dest][_ancestorIndex]);
+					_result |= !_temp.isEmpty();
+					tokenSets[dest][_ancestorIndex].or(_temp);
+				}
+			}
+			return _result;
+		}
+
+		/**
+		 * Retrieves the fan out number of the given basic block.
+		 *
+		 * @param bb of interest.
+		 * @return the number of successors of the basic block with the virtual exit node counted as a successor of exit
+		 *         blocks with successors.
+		 * @pre bb != null
+		 */
+		private int getFanoutNumOf(final BasicBlock bb) {
+			int _result = bb.getSuccsOf().size();
+
+			if (_result > 0 && bb.isAnExitBlock()) {
+				_result++;
+			}
+			return _result;
+		}
+
+		/**
+		 * Processes the given node.
+		 *
+		 * @param pair to be processed.
+		 * @param tokenSets is the collection of token sets of the nodes in the graph.
+		 * @return the collection of nodes to be processed.
+		 * @pre pair != null and tokenSets != null
+		 * @post result != null
+		 */
+		private Collection<Pair<BasicBlock, Boolean>> processNode(final Pair<BasicBlock, Boolean> pair,
+				final BitSet[][] tokenSets) {
+			final BasicBlock _node = pair.getFirst();
+			final boolean _accumlatedTokens = accumulateTokensAtNode(_node, tokenSets);
+			final Collection<Pair<BasicBlock, Boolean>> _result = new HashSet<Pair<BasicBlock, Boolean>>();
+
+			if (pair.getSecond().booleanValue() || _accumlatedTokens) {
+				final int _size = getFanoutNumOf(_node);
+				final int _nodeIndex = nodes.indexOf(_node);
+
+				if (_size == 1) {
+					final BasicBlock _succ = _node.getSuccsOf().iterator().next();
+					final int _succIndex = nodes.indexOf(_succ);
+					boolean _addflag = false;
+
+					for (final Iterator<BasicBlock> _i = nodesWithChildren.iterator(); _i.hasNext();) {
+						final int _ancIndex = nodes.indexOf(_i.next());
+						final BitSet _temp = (BitSet) tokenSets[_nodeIndex][_ancIndex].clone();
+						_temp.andNot(tokenSets[_succIndex][_ancIndex]);
+
+						if (!_temp.isEmpty()) {
+							tokenSets[_succIndex][_ancIndex].or(_temp);
+							_addflag = true;
+						}
+					}
+
+					if (_addflag) {
+						_result.add(pairMgr.getPair(_succ, Boolean.TRUE));
+					}
+				} else if (_size > 1) {
+					for (int _i = 0; _i < nodes.size(); _i++) {
+						if (tokenSets[_i][_nodeIndex].cardinality() == _size) {
+							_result.add(pairMgr.getPair(nodes.get(_i), Boolean.valueOf(_accumlatedTokens)));
+						}
+					}
+				}
+			}
+			return _result;
+		}
+	}
+}
+
+// End of File
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.dependency;
+
+import edu.ksu.cis.indus.IndusTestCase;
+
+import edu.ksu.cis.indus.common.datastructures.Pair;
+
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo;
+
+import edu.ksu.cis.indus.processing.ProcessingController;
+
+import edu.ksu.cis.indus.staticanalyses.cfg.StaticFieldUseDefInfo;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+
+import soot.SootMethod;
+
+import soot.jimple.DefinitionStmt;
+import soot.jimple.Stmt;
+
+/**
+ * This class tests that <code>StaticFieldUseDefInfo</code> calculates the same use-def information when method bodies are
+ * processed sequentially and when they are processed concurrently in shards. The analyses are driven with the information
+ * provided by <code>DependencyAnalysisTestSetup</code>.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class StaticFieldUseDefInfoTest
+		extends IndusTestCase {
+
+	/**
+	 * The number of workers used to process method bodies concurrently.
+	 */
+	private static final int PARALLELISM = 4;
+
+	/**
+	 * The call graph that provides the reachable methods.
+	 */
+	private ICallGraphInfo cgi;
+
+	/**
+	 * The number of workers used by the processing controller before the test.
+	 */
+	private int parallelism;
+
+	/**
+	 * The processing controller used to drive the analyses.
+	 */
+	private ProcessingController pc;
+
+	/**
+	 * Sets the call graph that provides the reachable methods.
+	 *
+	 * @param callGraph to be used.
+	 */
+	public void setCallGraph(final ICallGraphInfo callGraph) {
+		cgi = callGraph;
+	}
+
+	/**
+	 * Sets the processing controller used to drive the analyses.
+	 *
+	 * @param controller to be used.
+	 */
+	public void setProcessingController(final ProcessingController controller) {
+		pc = controller;
+	}
+
+	/**
+	 * Tests that the use-def information is identical when method bodies are processed sequentially and concurrently.
+	 */
+	public void testSequentialAndShardedProcessing() {
+		pc.setParallelism(1);
+
+		final Map<String, Collection<?>> _sequential = getUseDefInfo(executeAnalysis());
+		assertFalse(_sequential.isEmpty());
+		pc.setParallelism(PARALLELISM);
+		assertEquals(_sequential, getUseDefInfo(executeAnalysis()));
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override protected void setUp() throws Exception {
+		super.setUp();
+		parallelism = pc.getParallelism();
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		pc.setParallelism(parallelism);
+		cgi = null;
+		pc = null;
+		super.tearDown();
+	}
+
+	/**
+	 * Executes a fresh instance of the analysis.
+	 *
+	 * @return the executed analysis.
+	 * @post result != null
+	 */
+	private StaticFieldUseDefInfo executeAnalysis() {
+		final StaticFieldUseDefInfo _result = new StaticFieldUseDefInfo();
+		_result.hookup(pc);
+		pc.process();
+		_result.unhook(pc);
+		return _result;
+	}
+
+	/**
+	 * Retrieves the non-empty defs and uses of the statements of the reachable methods.
+	 *
+	 * @param useDefInfo to be queried.
+	 * @return a map from the descriptions of the queries to their results.
+	 * @post result != null
+	 */
+	private Map<String, Collection<?>> getUseDefInfo(final StaticFieldUseDefInfo useDefInfo) {
+		final Map<String, Collection<?>> _result = new HashMap<String, Collection<?>>();
+
+		for (final Iterator<SootMethod> _i = cgi.getReachableMethods().iterator(); _i.hasNext();) {
+			final SootMethod _sm = _i.next();
+
+			if (_sm.hasActiveBody()) {
+				final Object[] _stmts = _sm.getActiveBody().getUnits().toArray();
+
+				for (int _jIndex = 0; _jIndex < _stmts.length; _jIndex++) {
+					final Stmt _stmt = (Stmt) _stmts[_jIndex];
+					final String _name = _sm + ":" + _jIndex;
+					final Collection<Pair<DefinitionStmt, SootMethod>> _defs;
+					_defs = new HashSet<Pair<DefinitionStmt, SootMethod>>(useDefInfo.getDefs(_stmt, _sm));
+
+					if (!_defs.isEmpty()) {
+						_result.put(_name + ":defs", _defs);
+					}
+
+					if (_stmt instanceof DefinitionStmt) {
+						final Collection<Pair<Stmt, SootMethod>> _uses;
+						_uses = new HashSet<Pair<Stmt, SootMethod>>(useDefInfo.getUses((DefinitionStmt) _stmt, _sm));
+
+						if (!_uses.isEmpty()) {
+							_result.put(_name + ":uses", _uses);
+						}
+					}
+				}
+			}
+		}
+		return _result;
+	}
+}
+
+// End of File
@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.flow;
+
+import edu.ksu.cis.indus.IndusTestCase;
+
+import edu.ksu.cis.indus.common.soot.SootBasedDriver;
+
+import edu.ksu.cis.indus.processing.Context;
+
+import edu.ksu.cis.indus.staticanalyses.flow.instances.ofa.OFAnalyzer;
+import edu.ksu.cis.indus.staticanalyses.tokens.BitSetTokenManager;
+import edu.ksu.cis.indus.staticanalyses.tokens.soot.SootValueTypeManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+
+import soot.SootClass;
+import soot.SootField;
+import soot.SootMethod;
+import soot.Type;
+import soot.Value;
+import soot.ValueBox;
+
+import soot.jimple.Stmt;
+
+/**
+ * This class tests that the values calculated by object flow analysis when the tokens are propagated concurrently are
+ * identical to the values calculated when the tokens are propagated sequentially. Every batch of token sending work pieces
+ * is propagated concurrently so that the test is effective on small systems. This test cannot be run by itself. It needs
+ * to be run via <code>FATestSetup</code> which provides the driver of the system to be analyzed.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class ConcurrentFATest
+		extends IndusTestCase {
+
+	/**
+	 * The tag used by the analysis that propagates tokens concurrently.
+	 */
+	private static final String CONCURRENT_TAG_NAME = "indus.staticanalyses.flow.ConcurrentFATest:Concurrent";
+
+	/**
+	 * The number of workers used to propagate tokens concurrently.
+	 */
+	private static final int PARALLELISM = 4;
+
+	/**
+	 * The tag used by the analysis that propagates tokens sequentially.
+	 */
+	private static final String SEQUENTIAL_TAG_NAME = "indus.staticanalyses.flow.ConcurrentFATest:Sequential";
+
+	/**
+	 * The driver that provides the system to be analyzed.
+	 */
+	private SootBasedDriver driver;
+
+	/**
+	 * Sets the driver that provides the system to be analyzed.
+	 *
+	 * @param theDriver to be used.
+	 * @pre theDriver != null
+	 */
+	public void setDriver(final SootBasedDriver theDriver) {
+		driver = theDriver;
+	}
+
+	/**
+	 * Tests that the values of the program points in the analyzed methods are identical when the tokens are propagated
+	 * sequentially and concurrently.
+	 */
+	public void testValues() {
+		final Map<ValueBox, Collection<Value>> _sequential = getValues(SEQUENTIAL_TAG_NAME, 1);
+		assertFalse(_sequential.isEmpty());
+		assertEquals(_sequential, getValues(CONCURRENT_TAG_NAME, PARALLELISM));
+		assertEquals(_sequential, getValues(CONCURRENT_TAG_NAME, PARALLELISM));
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override protected void setUp() throws Exception {
+		if (driver == null) {
+			throw new IllegalStateException("Please call setDriver() before using this test.");
+		}
+	}
+
+	/**
+	 * Analyzes the system with the given number of workers and retrieves the non-empty values of the program points in the
+	 * analyzed methods.
+	 *
+	 * @param tagName is the name of the tag used by the analysis.
+	 * @param workers is the number of workers used to propagate tokens.
+	 * @return a map from the program points to their values.
+	 * @pre tagName != null and workers > 0
+	 * @post result != null
+	 */
+	private Map<ValueBox, Collection<Value>> getValues(final String tagName, final int workers) {
+		final OFAnalyzer<?> _analyzer = OFAnalyzer.getFSOIAnalyzer(tagName, new BitSetTokenManager<Value, Type>(
+				new SootValueTypeManager()), driver.getStmtGraphFactory());
+		final Map<ValueBox, Collection<Value>> _result = new HashMap<ValueBox, Collection<Value>>();
+		final Context _ctxt = new Context();
+
+		try {
+			_analyzer.setParallelism(workers);
+			_analyzer.fa.setMinConcurrentBatchSize(1);
+			_analyzer.analyze(driver.getEnvironment(), driver.getRootMethods());
+
+			for (final Iterator<SootClass> _i = driver.getEnvironment().getClasses().iterator(); _i.hasNext();) {
+				final SootClass _sc = _i.next();
+
+				for (final Iterator<?> _j = _sc.getMethods().iterator(); _j.hasNext();) {
+					final SootMethod _sm = (SootMethod) _j.next();
+
+					if (_sm.hasTag(tagName) && _sm.hasActiveBody()) {
+						_ctxt.setRootMethod(_sm);
+
+						for (final Iterator<?> _k = _sm.getActiveBody().getUnits().iterator(); _k.hasNext();) {
+							final Stmt _stmt = (Stmt) _k.next();
+							_ctxt.setStmt(_stmt);
+
+							for (final Iterator<?> _l = _stmt.getUseAndDefBoxes().iterator(); _l.hasNext();) {
+								final ValueBox _vb = (ValueBox) _l.next();
+								_ctxt.setProgramPoint(_vb);
+
+								final Collection<Value> _values = new HashSet<Value>();
+								_values.addAll(_analyzer.getValues(_vb.getValue(), _ctxt));
+
+								if (!_values.isEmpty()) {
+									_result.put(_vb, _values);
+								}
+							}
+						}
+					}
+				}
+			}
+		} finally {
+			_analyzer.reset();
+			removeTag(tagName);
+		}
+		return _result;
+	}
+
+	/**
+	 * Removes the given tag from the parts of the system.
+	 *
+	 * @param tagName is the name of the tag to be removed.
+	 * @pre tagName != null
+	 */
+	private void removeTag(final String tagName) {
+		for (final Iterator<SootClass> _i = driver.getEnvironment().getClasses().iterator(); _i.hasNext();) {
+			final SootClass _sc = _i.next();
+			_sc.removeTag(tagName);
+
+			for (final Iterator<?> _j = _sc.getFields().iterator(); _j.hasNext();) {
+				((SootField) _j.next()).removeTag(tagName);
+			}
+
+			for (final Iterator<?> _j = _sc.getMethods().iterator(); _j.hasNext();) {
+				((SootMethod) _j.next()).removeTag(tagName);
+			}
+		}
+	}
+}
+
+// End of File
@@ -110,6 +110,7 @@ public class FARegressionTestSuite
 				try {
 					final TestSuite _temp = new TestSuite(_config);
 					_temp.addTestSuite(FATest.class);
+					_temp.addTestSuite(ConcurrentFATest.class);
 					TestHelper.appendSuiteNameToTestsIn(_temp, true);
 
 					final FATestSetup _test = new FATestSetup(_temp, _classNames, _classpath);
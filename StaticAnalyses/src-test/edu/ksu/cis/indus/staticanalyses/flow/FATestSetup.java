@@ -117,6 +117,13 @@ public class FATestSetup
             _test.setFA(((OFAnalyzer) valueAnalyzer).fa);
         }
 
+		final Collection _temp3 = TestHelper.getTestCasesReachableFromSuite((TestSuite) getTest(), ConcurrentFATest.class);
+
+		for (final Iterator _i = _temp3.iterator(); _i.hasNext();) {
+			final ConcurrentFATest _test = (ConcurrentFATest) _i.next();
+			_test.setDriver(_driver);
+		}
+
 		if (dumpLocation != null) {
 			JimpleXMLizerCLI.writeJimpleAsXML(_driver.getEnvironment(), dumpLocation, null, idGenerator,
 				new TagBasedProcessingFilter(TAG_NAME));
@@ -0,0 +1,351 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.flow.instances.ofa;
+
+import edu.ksu.cis.indus.IndusTestCase;
+
+import edu.ksu.cis.indus.common.datastructures.IWork;
+import edu.ksu.cis.indus.common.datastructures.IWorkBag;
+import edu.ksu.cis.indus.common.datastructures.LIFOWorkBag;
+
+import edu.ksu.cis.indus.staticanalyses.flow.IFGEdgeObserver;
+import edu.ksu.cis.indus.staticanalyses.flow.IWorkBagProvider;
+import edu.ksu.cis.indus.staticanalyses.flow.optimizations.OnlineCycleDetector;
+import edu.ksu.cis.indus.staticanalyses.tokens.BitSetTokenManager;
+import edu.ksu.cis.indus.staticanalyses.tokens.ITokenManager;
+import edu.ksu.cis.indus.staticanalyses.tokens.ITokens;
+import edu.ksu.cis.indus.staticanalyses.tokens.soot.SootValueTypeManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import soot.Type;
+import soot.Value;
+
+import soot.jimple.IntConstant;
+
+/**
+ * This class tests that the values at the nodes of object flow graphs are the same when the cycles in the graphs are
+ * collapsed as they are closed and when they are not collapsed.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class OnlineCycleDetectionTest
+		extends IndusTestCase {
+
+	/**
+	 * This is a flow graph that propagates the values injected into it's nodes.
+	 *
+	 * @param <T> is the type of the token set object.
+	 */
+	private static class FlowGraph<T extends ITokens<T, Value>>
+			implements IWorkBagProvider {
+
+		/**
+		 * The nodes of the graph.
+		 */
+		private final List<OFAFGNode<T>> nodes = new ArrayList<OFAFGNode<T>>();
+
+		/**
+		 * The token manager used by the nodes.
+		 */
+		private final ITokenManager<T, Value, ?> tokenManager;
+
+		/**
+		 * The work bag used to propagate the values.
+		 */
+		private final IWorkBag<IWork> workBag = new LIFOWorkBag<IWork>();
+
+		/**
+		 * Creates an instance of this class.
+		 *
+		 * @param tokenMgr to be used by the nodes.
+		 */
+		FlowGraph(final ITokenManager<T, Value, ?> tokenMgr) {
+			tokenManager = tokenMgr;
+		}
+
+		/**
+		 * @see IWorkBagProvider#getWorkBag()
+		 */
+		public IWorkBag<IWork> getWorkBag() {
+			return workBag;
+		}
+
+		/**
+		 * Adds an edge between the given nodes.
+		 *
+		 * @param src is the index of the source node.
+		 * @param dest is the index of the destination node.
+		 */
+		void addEdge(final int src, final int dest) {
+			getNode(src).addSucc(getNode(dest));
+		}
+
+		/**
+		 * Retrieves the values at the nodes of this graph.
+		 *
+		 * @param noOfNodes is the number of nodes of interest.
+		 * @return the values at the nodes in the order of their indices.
+		 */
+		List<Collection<Value>> getValues(final int noOfNodes) {
+			final List<Collection<Value>> _result = new ArrayList<Collection<Value>>();
+
+			for (int _i = 0; _i < noOfNodes; _i++) {
+				_result.add(new HashSet<Value>(getNode(_i).getValues()));
+			}
+			return _result;
+		}
+
+		/**
+		 * Injects the given value into the given node.
+		 *
+		 * @param node is the index of the node.
+		 * @param value to be injected.
+		 */
+		void injectValue(final int node, final Value value) {
+			getNode(node).injectValue(value);
+		}
+
+		/**
+		 * Propagates the values through the graph till a fixed point is reached.
+		 */
+		void propagate() {
+			while (workBag.hasWork()) {
+				workBag.getWork().execute();
+			}
+		}
+
+		/**
+		 * Retrieves the node at the given index. The node is created if required.
+		 *
+		 * @param index of the node.
+		 * @return the node.
+		 */
+		private OFAFGNode<T> getNode(final int index) {
+			while (nodes.size() <= index) {
+				nodes.add(new OFAFGNode<T>(this, tokenManager));
+			}
+			return nodes.get(index);
+		}
+	}
+
+	/**
+	 * This is a flow graph that collapses the cycles as they are closed.
+	 *
+	 * @param <T> is the type of the token set object.
+	 */
+	private static final class CycleCollapsingFlowGraph<T extends ITokens<T, Value>>
+			extends FlowGraph<T>
+			implements IFGEdgeObserver<OFAFGNode<T>> {
+
+		/**
+		 * The detector used to collapse the cycles.
+		 */
+		private final OnlineCycleDetector<Value, T, OFAFGNode<T>> detector;
+
+		/**
+		 * Creates an instance of this class.
+		 *
+		 * @param tokenMgr to be used by the nodes.
+		 */
+		CycleCollapsingFlowGraph(final ITokenManager<T, Value, ?> tokenMgr) {
+			super(tokenMgr);
+			detector = new OnlineCycleDetector<Value, T, OFAFGNode<T>>(tokenMgr);
+		}
+
+		/**
+		 * @see IFGEdgeObserver#edgeAdded(Object, Object)
+		 */
+		public void edgeAdded(final OFAFGNode<T> src, final OFAFGNode<T> dest) {
+			detector.edgeAdded(src, dest);
+		}
+
+		/**
+		 * @see IFGEdgeObserver#isRedundantEdge(Object, Object)
+		 */
+		public boolean isRedundantEdge(final OFAFGNode<T> src, final OFAFGNode<T> dest) {
+			return detector.inSameSCC(src, dest);
+		}
+
+		/**
+		 * Retrieves the number of collapsed cycles.
+		 *
+		 * @return the number of cycles.
+		 */
+		long getCollapsedCycleCount() {
+			return detector.getCollapsedCycleCount();
+		}
+	}
+
+	/**
+	 * The number of nodes in the random graphs.
+	 */
+	private static final int NO_OF_NODES = 50;
+
+	/**
+	 * The number of operations performed on the random graphs.
+	 */
+	private static final int NO_OF_OPERATIONS = 200;
+
+	/**
+	 * The number of distinct values injected into the random graphs.
+	 */
+	private static final int NO_OF_VALUES = 8;
+
+	/**
+	 * The number of cycles collapsed during the last execution of operations.
+	 */
+	private long collapsedCycleCount;
+
+	/**
+	 * Tests that the values at the nodes are identical when cycles are closed, grown, and merged and when the nodes of
+	 * collapsed cycles gain values.
+	 */
+	public void testCollapsedCycles() {
+		final List<int[]> _operations = new ArrayList<int[]>();
+		_operations.add(new int[] {0, 0, 1});
+		_operations.add(new int[] {0, 1, 2});
+		_operations.add(new int[] {0, 2, 3});
+		_operations.add(new int[] {1, 0, 0});
+		_operations.add(new int[] {2});
+
+		// close a cycle of nodes 0, 1, and 2.
+		_operations.add(new int[] {0, 2, 0});
+		_operations.add(new int[] {2});
+
+		// a node of the collapsed cycle gains a value.
+		_operations.add(new int[] {1, 1, 1});
+		_operations.add(new int[] {2});
+
+		// the collapsed cycle gains a value via a new predecessor.
+		_operations.add(new int[] {0, 4, 1});
+		_operations.add(new int[] {1, 4, 2});
+		_operations.add(new int[] {2});
+
+		// grow the cycle via nodes 3 and 5 while a value injected at node 5 is pending at the cycle.
+		_operations.add(new int[] {0, 3, 5});
+		_operations.add(new int[] {1, 5, 3});
+		_operations.add(new int[] {0, 5, 2});
+
+		final List<List<Collection<Value>>> _values = execute(new BitSetTokenManager<Value, Type>(
+				new SootValueTypeManager()), _operations, 6);
+		assertEquals(_values.get(0), _values.get(1));
+		assertEquals(2, collapsedCycleCount);
+
+		final Collection<Value> _all = new HashSet<Value>();
+
+		for (int _i = 0; _i < 4; _i++) {
+			_all.add(IntConstant.v(_i));
+		}
+
+		final List<Collection<Value>> _expected = new ArrayList<Collection<Value>>();
+		_expected.add(_all);
+		_expected.add(_all);
+		_expected.add(_all);
+		_expected.add(_all);
+		_expected.add(Collections.<Value> singleton(IntConstant.v(2)));
+		_expected.add(_all);
+		assertEquals(_expected, _values.get(0));
+	}
+
+	/**
+	 * Tests that the values at the nodes are identical on random graphs in which edges are added, values are injected, and
+	 * values are propagated in random order.
+	 */
+	public void testRandomGraphs() {
+		long _collapsedCycles = 0;
+
+		for (int _seed = 0; _seed < 20; _seed++) {
+			final Random _random = new Random(_seed);
+			final List<int[]> _operations = new ArrayList<int[]>();
+
+			for (int _i = 0; _i < NO_OF_OPERATIONS; _i++) {
+				final int _kind = _random.nextInt(10);
+
+				if (_kind < 4) {
+					_operations.add(new int[] {0, _random.nextInt(NO_OF_NODES), _random.nextInt(NO_OF_NODES)});
+				} else if (_kind < 8) {
+					_operations.add(new int[] {1, _random.nextInt(NO_OF_NODES), _random.nextInt(NO_OF_VALUES)});
+				} else {
+					_operations.add(new int[] {2});
+				}
+			}
+
+			final List<List<Collection<Value>>> _values = execute(new BitSetTokenManager<Value, Type>(
+					new SootValueTypeManager()), _operations, NO_OF_NODES);
+			assertEquals("seed " + _seed, _values.get(0), _values.get(1));
+			_collapsedCycles += collapsedCycleCount;
+		}
+		assertTrue(_collapsedCycles > 0);
+	}
+
+	/**
+	 * Performs the given operations on a flow graph that does not collapse cycles and on a flow graph that collapses cycles.
+	 *
+	 * @param <T> is the type of the token set object.
+	 * @param tokenMgr to be used by the graphs.
+	 * @param operations to be performed. Each operation is an edge (0, source, destination), an injection (1, node, value),
+	 *            or a propagation (2).
+	 * @param noOfNodes is the number of nodes of interest.
+	 * @return the values at the nodes of interest in the graph that does not collapse cycles followed by those in the graph
+	 *         that collapses cycles.
+	 */
+	private <T extends ITokens<T, Value>> List<List<Collection<Value>>> execute(
+			final ITokenManager<T, Value, ?> tokenMgr, final List<int[]> operations, final int noOfNodes) {
+		final List<List<Collection<Value>>> _result = new ArrayList<List<Collection<Value>>>();
+		final FlowGraph<T> _graph = new FlowGraph<T>(tokenMgr);
+		execute(_graph, operations);
+		_result.add(_graph.getValues(noOfNodes));
+
+		final CycleCollapsingFlowGraph<T> _collapsingGraph = new CycleCollapsingFlowGraph<T>(tokenMgr);
+		execute(_collapsingGraph, operations);
+		_result.add(_collapsingGraph.getValues(noOfNodes));
+		collapsedCycleCount = _collapsingGraph.getCollapsedCycleCount();
+		return _result;
+	}
+
+	/**
+	 * Performs the given operations on the given graph and propagates the values till a fixed point is reached.
+	 *
+	 * @param graph to be operated on.
+	 * @param operations to be performed.
+	 */
+	private static void execute(final FlowGraph<?> graph, final List<int[]> operations) {
+		for (final Iterator<int[]> _i = operations.iterator(); _i.hasNext();) {
+			final int[] _operation = _i.next();
+
+			if (_operation[0] == 0) {
+				graph.addEdge(_operation[1], _operation[2]);
+			} else if (_operation[0] == 1) {
+				graph.injectValue(_operation[1], IntConstant.v(_operation[2]));
+			} else {
+				graph.propagate();
+			}
+		}
+		graph.propagate();
+	}
+}
+
+// End of File
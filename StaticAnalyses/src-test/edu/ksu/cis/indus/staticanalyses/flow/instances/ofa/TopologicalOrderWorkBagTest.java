@@ -0,0 +1,421 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.flow.instances.ofa;
+
+import edu.ksu.cis.indus.IndusTestCase;
+
+import edu.ksu.cis.indus.common.datastructures.IWork;
+import edu.ksu.cis.indus.common.datastructures.IWorkBag;
+import edu.ksu.cis.indus.common.datastructures.LIFOWorkBag;
+
+import edu.ksu.cis.indus.staticanalyses.flow.IWorkBagProvider;
+import edu.ksu.cis.indus.staticanalyses.flow.SendTokensWork;
+import edu.ksu.cis.indus.staticanalyses.flow.TopologicalOrderWorkBag;
+import edu.ksu.cis.indus.staticanalyses.tokens.BitSetTokenManager;
+import edu.ksu.cis.indus.staticanalyses.tokens.ITokenManager;
+import edu.ksu.cis.indus.staticanalyses.tokens.ITokens;
+import edu.ksu.cis.indus.staticanalyses.tokens.soot.SootValueTypeManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import soot.Type;
+import soot.Value;
+
+import soot.jimple.IntConstant;
+
+/**
+ * This class tests <code>TopologicalOrderWorkBag</code> class.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class TopologicalOrderWorkBagTest
+		extends IndusTestCase {
+
+	/**
+	 * This is a flow graph that propagates the values injected into it's nodes via a given work bag.
+	 *
+	 * @param <T> is the type of the token set object.
+	 */
+	private static final class FlowGraph<T extends ITokens<T, Value>>
+			implements IWorkBagProvider {
+
+		/**
+		 * The nodes of the graph.
+		 */
+		private final List<OFAFGNode<T>> nodes = new ArrayList<OFAFGNode<T>>();
+
+		/**
+		 * The token manager used by the nodes.
+		 */
+		private final ITokenManager<T, Value, ?> tokenManager;
+
+		/**
+		 * The work bag used to propagate the values.
+		 */
+		private final IWorkBag<IWork> workBag;
+
+		/**
+		 * Creates an instance of this class.
+		 *
+		 * @param tokenMgr to be used by the nodes.
+		 * @param bag to be used to propagate the values.
+		 */
+		FlowGraph(final ITokenManager<T, Value, ?> tokenMgr, final IWorkBag<IWork> bag) {
+			tokenManager = tokenMgr;
+			workBag = bag;
+		}
+
+		/**
+		 * @see IWorkBagProvider#getWorkBag()
+		 */
+		public IWorkBag<IWork> getWorkBag() {
+			return workBag;
+		}
+
+		/**
+		 * Adds an edge between the given nodes.
+		 *
+		 * @param src is the index of the source node.
+		 * @param dest is the index of the destination node.
+		 */
+		void addEdge(final int src, final int dest) {
+			getNode(src).addSucc(getNode(dest));
+		}
+
+		/**
+		 * Retrieves the node at the given index. The node is created if required.
+		 *
+		 * @param index of the node.
+		 * @return the node.
+		 */
+		private OFAFGNode<T> getNode(final int index) {
+			while (nodes.size() <= index) {
+				nodes.add(new OFAFGNode<T>(this, tokenManager));
+			}
+			return nodes.get(index);
+		}
+
+		/**
+		 * Retrieves the index of the given node.
+		 *
+		 * @param node of interest.
+		 * @return the index of the node; -1 if the node does not belong to this graph.
+		 */
+		int indexOf(final Object node) {
+			return nodes.indexOf(node);
+		}
+
+		/**
+		 * Retrieves the values at the nodes of this graph.
+		 *
+		 * @param noOfNodes is the number of nodes of interest.
+		 * @return the values at the nodes in the order of their indices.
+		 */
+		List<Collection<Value>> getValues(final int noOfNodes) {
+			final List<Collection<Value>> _result = new ArrayList<Collection<Value>>();
+
+			for (int _i = 0; _i < noOfNodes; _i++) {
+				_result.add(new HashSet<Value>(getNode(_i).getValues()));
+			}
+			return _result;
+		}
+
+		/**
+		 * Injects the given value into the given node.
+		 *
+		 * @param node is the index of the node.
+		 * @param value to be injected.
+		 */
+		void injectValue(final int node, final Value value) {
+			getNode(node).injectValue(value);
+		}
+
+		/**
+		 * Creates a work piece that sends an empty set of tokens to the given node.
+		 *
+		 * @param node is the index of the node.
+		 * @return the work piece.
+		 */
+		IWork newSendTokensWork(final int node) {
+			return new SendTokensWork<Value, T, OFAFGNode<T>>(getNode(node), tokenManager.getNewTokenSet());
+		}
+
+		/**
+		 * Propagates the values through the graph till a fixed point is reached.
+		 */
+		void propagate() {
+			while (workBag.hasWork()) {
+				workBag.getWork().execute();
+			}
+		}
+
+		/**
+		 * Sets the number of the SCC of the given node.
+		 *
+		 * @param node is the index of the node.
+		 * @param componentNum is the number of the SCC.
+		 */
+		void setComponentNum(final int node, final int componentNum) {
+			getNode(node).getSCCRelatedData().setComponentNum(componentNum);
+		}
+	}
+
+	/**
+	 * This is a work piece that is not associated with a flow graph node.
+	 */
+	private static final class Work
+			implements IWork {
+
+		/**
+		 * @see IWork#execute()
+		 */
+		public void execute() {
+			// does nothing
+		}
+	}
+
+	/**
+	 * The number of nodes in the random graphs.
+	 */
+	private static final int NO_OF_NODES = 40;
+
+	/**
+	 * The number of distinct values injected into the random graphs.
+	 */
+	private static final int NO_OF_VALUES = 8;
+
+	/**
+	 * The token manager used by the flow graphs.
+	 */
+	private BitSetTokenManager<Value, Type> tokenManager;
+
+	/**
+	 * The work bag being tested.
+	 */
+	private TopologicalOrderWorkBag wb;
+
+	/**
+	 * Tests that the values at the nodes of a flow graph with cycles are the same as those calculated via a LIFO work bag.
+	 */
+	public void testCycles() {
+		final int[][] _edges = { {0, 1}, {1, 2}, {2, 1}, {2, 3}, {3, 4}, {4, 2}, {4, 5}};
+		final FlowGraph<?> _graph = newFlowGraph(tokenManager, wb);
+		final FlowGraph<?> _lifoGraph = newFlowGraph(tokenManager, new LIFOWorkBag<IWork>());
+
+		// the SCCs {0}, {1, 2, 3, 4}, and {5} are numbered in the order of their completion during depth first search.
+		final int[] _componentNums = {3, 2, 2, 2, 2, 1};
+
+		for (int _i = 0; _i < _componentNums.length; _i++) {
+			_graph.setComponentNum(_i, _componentNums[_i]);
+		}
+
+		for (int _i = 0; _i < _edges.length; _i++) {
+			_graph.addEdge(_edges[_i][0], _edges[_i][1]);
+			_lifoGraph.addEdge(_edges[_i][0], _edges[_i][1]);
+		}
+
+		final int[][] _injections = { {0, 0}, {3, 1}, {5, 2}};
+
+		for (int _i = 0; _i < _injections.length; _i++) {
+			_graph.injectValue(_injections[_i][0], IntConstant.v(_injections[_i][1]));
+			_lifoGraph.injectValue(_injections[_i][0], IntConstant.v(_injections[_i][1]));
+		}
+		_graph.propagate();
+		_lifoGraph.propagate();
+
+		final Collection<Value> _v0 = Arrays.<Value> asList(IntConstant.v(0));
+		final Collection<Value> _v01 = Arrays.<Value> asList(IntConstant.v(0), IntConstant.v(1));
+		final Collection<Value> _v012 = Arrays.<Value> asList(IntConstant.v(0), IntConstant.v(1), IntConstant.v(2));
+		final List<Collection<Value>> _expected = new ArrayList<Collection<Value>>();
+		_expected.add(new HashSet<Value>(_v0));
+
+		for (int _i = 1; _i < 5; _i++) {
+			_expected.add(new HashSet<Value>(_v01));
+		}
+		_expected.add(new HashSet<Value>(_v012));
+		assertEquals(_expected, _graph.getValues(_componentNums.length));
+		assertEquals(_expected, _lifoGraph.getValues(_componentNums.length));
+	}
+
+	/**
+	 * Tests the detection of duplicate work pieces and the clearing of the bag.
+	 */
+	public void testDuplicates() {
+		final IWork _w1 = new Work();
+		final IWork _w2 = new Work();
+		assertTrue(wb.addWorkNoDuplicates(_w1));
+		assertFalse(wb.addWorkNoDuplicates(_w1));
+		assertEquals(Arrays.asList(_w1), wb.addAllWorkNoDuplicates(Arrays.asList(_w1, _w2)));
+		assertFalse(wb.addWorkNoDuplicates(_w2));
+		assertSame(_w2, wb.getWork());
+		assertTrue(wb.addWorkNoDuplicates(_w2));
+		wb.addWork(_w1);
+		wb.clear();
+		assertFalse(wb.hasWork());
+		assertTrue(wb.addWorkNoDuplicates(_w1));
+		assertSame(_w1, wb.getWork());
+
+		try {
+			wb.getWork();
+			///CLOVER:OFF
+			fail("This is incorrect behavior.");
+			///CLOVER:ON
+		} catch (final IllegalStateException _e) {
+			// this is expected.
+		}
+	}
+
+	/**
+	 * Tests that the work pieces are handed out in the topological order of the SCCs of their destination nodes even when
+	 * the bag grows.
+	 */
+	public void testGrowth() {
+		final Random _random = new Random(0);
+		final FlowGraph<?> _graph = newFlowGraph(tokenManager, wb);
+		final int _count = 500;
+
+		for (int _i = 0; _i < _count; _i++) {
+			_graph.setComponentNum(_i, 1 + _random.nextInt(10));
+			wb.addWork(_graph.newSendTokensWork(_i));
+		}
+
+		int _previousRank = Integer.MAX_VALUE;
+		int _previousIndex = _count;
+
+		for (int _i = 0; _i < _count; _i++) {
+			final SendTokensWork<?, ?, ?> _work = (SendTokensWork<?, ?, ?>) wb.getWork();
+			final int _rank = _work.getNode().getSCCRelatedData().getComponentNum();
+			final int _index = _graph.indexOf(_work.getNode());
+			assertTrue(_rank < _previousRank || (_rank == _previousRank && _index < _previousIndex));
+			_previousRank = _rank;
+			_previousIndex = _index;
+		}
+		assertFalse(wb.hasWork());
+	}
+
+	/**
+	 * Tests that the values at the nodes of random flow graphs with arbitrarily numbered SCCs are the same as those
+	 * calculated via a LIFO work bag.
+	 */
+	public void testRandomGraphs() {
+		for (int _seed = 0; _seed < 20; _seed++) {
+			final Random _random = new Random(_seed);
+			final FlowGraph<?> _graph = newFlowGraph(tokenManager, wb);
+			final FlowGraph<?> _lifoGraph = newFlowGraph(tokenManager, new LIFOWorkBag<IWork>());
+
+			for (int _i = 0; _i < NO_OF_NODES; _i++) {
+				_graph.setComponentNum(_i, _random.nextInt(5));
+			}
+
+			for (int _i = 0; _i < NO_OF_NODES * 2; _i++) {
+				final int _src = _random.nextInt(NO_OF_NODES);
+				final int _dest = _random.nextInt(NO_OF_NODES);
+				_graph.addEdge(_src, _dest);
+				_lifoGraph.addEdge(_src, _dest);
+			}
+
+			for (int _i = 0; _i < NO_OF_NODES; _i++) {
+				final int _node = _random.nextInt(NO_OF_NODES);
+				final Value _value = IntConstant.v(_random.nextInt(NO_OF_VALUES));
+				_graph.injectValue(_node, _value);
+				_lifoGraph.injectValue(_node, _value);
+			}
+			_graph.propagate();
+			_lifoGraph.propagate();
+			assertEquals("seed " + _seed, _lifoGraph.getValues(NO_OF_NODES), _graph.getValues(NO_OF_NODES));
+		}
+	}
+
+	/**
+	 * Tests that the work pieces are handed out in the topological order of the SCCs of their destination nodes.
+	 */
+	public void testTopologicalOrder() {
+		final FlowGraph<?> _graph = newFlowGraph(tokenManager, wb);
+
+		// node 2 has not been numbered.
+		final int[] _componentNums = {3, 1, 0, 2, 3, 1};
+		final List<IWork> _works = new ArrayList<IWork>();
+
+		for (int _i = 0; _i < _componentNums.length; _i++) {
+			_graph.setComponentNum(_i, _componentNums[_i]);
+			_works.add(_graph.newSendTokensWork(_i));
+		}
+
+		final IWork _work = new Work();
+		_works.add(_work);
+		wb.addAllWork(_works);
+
+		// the rank of a work piece is fixed when it is added to the bag.
+		_graph.setComponentNum(1, 4);
+
+		final List<IWork> _expected = new ArrayList<IWork>();
+		_expected.add(_work);
+		_expected.add(_works.get(2));
+		_expected.add(_works.get(4));
+		_expected.add(_works.get(0));
+		_expected.add(_works.get(3));
+		_expected.add(_works.get(5));
+		_expected.add(_works.get(1));
+
+		final List<IWork> _actual = new ArrayList<IWork>();
+
+		while (wb.hasWork()) {
+			_actual.add(wb.getWork());
+		}
+		assertEquals(_expected, _actual);
+	}
+
+	/**
+	 * @see junit.framework.TestCase#setUp()
+	 */
+	@Override protected void setUp() throws Exception {
+		super.setUp();
+		tokenManager = new BitSetTokenManager<Value, Type>(new SootValueTypeManager());
+		wb = new TopologicalOrderWorkBag();
+	}
+
+	/**
+	 * @see junit.framework.TestCase#tearDown()
+	 */
+	@Override protected void tearDown() throws Exception {
+		tokenManager = null;
+		wb = null;
+		super.tearDown();
+	}
+
+	/**
+	 * Creates a flow graph.
+	 *
+	 * @param <T> is the type of the token set object.
+	 * @param tokenMgr to be used by the nodes.
+	 * @param bag to be used to propagate the values.
+	 * @return a new flow graph.
+	 */
+	private static <T extends ITokens<T, Value>> FlowGraph<T> newFlowGraph(final ITokenManager<T, Value, ?> tokenMgr,
+			final IWorkBag<IWork> bag) {
+		return new FlowGraph<T>(tokenMgr, bag);
+	}
+}
+
+// End of File
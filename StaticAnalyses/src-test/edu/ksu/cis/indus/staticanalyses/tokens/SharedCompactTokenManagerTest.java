@@ -0,0 +1,155 @@
+
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.tokens;
+
+import edu.ksu.cis.indus.staticanalyses.tokens.soot.SootValueTypeManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import soot.Type;
+import soot.Value;
+
+import soot.jimple.StringConstant;
+
+/**
+ * This class tests <code>CompactTokenManager</code> class when token sets are shared.
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class SharedCompactTokenManagerTest
+  extends AbstractTokenManagerTest {
+	/**
+	 * The token manager to test.
+	 */
+	private final CompactTokenManager<Value, Type> manager;
+
+	/**
+	 * Creates a new SharedCompactTokenManagerTest object.
+	 */
+	public SharedCompactTokenManagerTest() {
+		manager = new CompactTokenManager<Value, Type>(new SootValueTypeManager(), true);
+		tokenManager = manager;
+	}
+
+	/**
+	 * Tests that diffing token collections that share a token set is short-circuited.
+	 */
+	public void testDiffTokens() {
+		final CompactTokenManager<Value, Type>.CompactTokens _tokens = getInternedTokens(getValues());
+		final CompactTokenManager<Value, Type>.CompactTokens _clone = _tokens.getClone();
+		final CompactTokenManager<Value, Type>.CompactTokens _empty = manager.getNewTokenSet();
+
+		final CompactTokenManager<Value, Type>.CompactTokens _diff = _tokens.diffTokens(_clone);
+		assertTrue(_diff.isEmpty());
+		assertSame(_empty.set, _diff.set);
+		assertSame(_tokens.set, _tokens.diffTokens(_empty).set);
+		assertSame(_empty.set, _empty.diffTokens(_tokens).set);
+
+		final CompactTokenManager<Value, Type>.CompactTokens _subset = getInternedTokens(Collections
+				.<Value> singleton(StringConstant.v("Hi")));
+		assertEquals(Collections.singletonList(StringConstant.v("Bye")), _tokens.diffTokens(_subset).getValues());
+	}
+
+	/**
+	 * Tests that equal token sets are interned as the same set.
+	 */
+	public void testInterning() {
+		assertTrue(manager.isSharingTokenSets());
+		assertEquals(0, manager.getInternedTokenSetCount());
+
+		final CompactTokenManager<Value, Type>.CompactTokens _first = getInternedTokens(getValues());
+		final CompactTokenManager<Value, Type>.CompactTokens _second = getInternedTokens(getValues());
+		assertNotSame(_first, _second);
+		assertSame(_first.set, _second.set);
+		assertEquals(1, manager.getInternedTokenSetCount());
+
+		final Collection<Value> _more = Collections.<Value> singleton(StringConstant.v("Ciao"));
+		_first.addTokens(manager.getTokens(_more));
+		assertNotSame(_first.set, _second.set);
+		assertEquals(2, manager.getInternedTokenSetCount());
+
+		_second.addTokens(manager.getTokens(_more));
+		assertSame(_first.set, _second.set);
+		assertEquals(2, manager.getInternedTokenSetCount());
+
+		manager.reset();
+		assertEquals(0, manager.getInternedTokenSetCount());
+	}
+
+	/**
+	 * Tests that token sets are shared by token collections and are not mutated via the sharing collections.
+	 */
+	public void testSharing() {
+		final CompactTokenManager<Value, Type>.CompactTokens _tokens = getInternedTokens(getValues());
+		final CompactTokenManager<Value, Type>.CompactTokens _clone = _tokens.getClone();
+		assertSame(_tokens.set, _clone.set);
+
+		_clone.addTokens(manager.getTokens(Collections.<Value> singleton(StringConstant.v("Ciao"))));
+		assertEquals(2, _tokens.getValues().size());
+		assertEquals(3, _clone.getValues().size());
+
+		final CompactTokenManager<Value, Type>.CompactTokens _other = _tokens.getClone();
+		_other.clear();
+		assertTrue(_other.isEmpty());
+		assertTrue(_tokens.getValues().containsAll(getValues()));
+		assertSame(manager.getNewTokenSet().set, _other.set);
+	}
+
+	/**
+	 * Tests that adding tokens that are already present is short-circuited.
+	 */
+	public void testUnionTokens() {
+		final CompactTokenManager<Value, Type>.CompactTokens _tokens = getInternedTokens(getValues());
+		final Object _set = _tokens.set;
+
+		_tokens.addTokens(_tokens.getClone());
+		assertSame(_set, _tokens.set);
+		_tokens.addTokens(manager.getTokens(Collections.<Value> singleton(StringConstant.v("Hi"))));
+		assertSame(_set, _tokens.set);
+		_tokens.addTokens(manager.getNewTokenSet());
+		assertSame(_set, _tokens.set);
+		assertEquals(1, manager.getInternedTokenSetCount());
+	}
+
+	/**
+	 * Retrieves a token collection in which the tokens for the given values are held in an interned token set.
+	 *
+	 * @param vals of interest.
+	 * @return the token collection.
+	 */
+	private CompactTokenManager<Value, Type>.CompactTokens getInternedTokens(final Collection<Value> vals) {
+		final CompactTokenManager<Value, Type>.CompactTokens _result = manager.getNewTokenSet();
+		_result.addTokens(manager.getTokens(vals));
+		return _result;
+	}
+
+	/**
+	 * Retrieves the values used in the tests of token set sharing.
+	 *
+	 * @return the values.
+	 */
+	private Collection<Value> getValues() {
+		return Arrays.<Value> asList(StringConstant.v("Hi"), StringConstant.v("Bye"));
+	}
+}
+
+// End of File
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.tokens;
+
+import edu.ksu.cis.indus.common.soot.SootBasedDriver;
+
+import edu.ksu.cis.indus.staticanalyses.flow.instances.ValueAnalysisRegressionTestSuite;
+import edu.ksu.cis.indus.staticanalyses.flow.instances.ofa.OFAnalyzer;
+import edu.ksu.cis.indus.staticanalyses.interfaces.IValueAnalyzer;
+import edu.ksu.cis.indus.staticanalyses.tokens.soot.SootValueTypeManager;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+import soot.G;
+import soot.Value;
+
+
+/**
+ * This class compares the time and memory consumed by object flow analysis when using different token managers. It uses the
+ * configurations of the value analysis regression tests, i.e., the file specified via
+ * <code>ValueAnalysisRegressionTestSuite.VALUE_ANALYSIS_TEST_PROPERTIES_FILE</code> system property.
+ * <p>
+ * Run it as <code>java -Dindus.staticanalyses.flow.instances.ValueAnalysisTest.properties.file=&lt;file&gt;
+ * edu.ksu.cis.indus.staticanalyses.tokens.TokenManagerBenchmark [rounds]</code>.  The reported memory is the growth in
+ * heap usage after the analysis and a full garbage collection, i.e., the memory retained by the analysis.
+ * </p>
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class TokenManagerBenchmark {
+	///CLOVER:OFF
+
+	/**
+	 * The default number of measured rounds.
+	 */
+	private static final int DEFAULT_ROUNDS = 3;
+
+	/**
+	 * The names of the token manager classes to compare.
+	 */
+	private static final String[] TOKEN_MANAGERS =
+		{
+			BitSetTokenManager.class.getName(), IntegerTokenManager.class.getName(), CollectionTokenManager.class.getName(),
+			CompactTokenManager.class.getName(),
+		};
+
+	/**
+	 * The tag used by the analysis.
+	 */
+	private static final String TAG_NAME = "TokenManagerBenchmark:FA";
+
+	/**
+	 * Creates a new TokenManagerBenchmark object.
+	 */
+	private TokenManagerBenchmark() {
+	}
+
+	/**
+	 * Executes the benchmark.
+	 *
+	 * @param args is the number of rounds (optional).
+	 *
+	 * @throws IOException when the configuration file cannot be read.
+	 * @throws IllegalArgumentException when the configuration file is not specified.
+	 */
+	public static void main(final String[] args)
+	  throws IOException {
+		final String _propFileName = System.getProperty(ValueAnalysisRegressionTestSuite.VALUE_ANALYSIS_TEST_PROPERTIES_FILE);
+
+		if (_propFileName == null) {
+			throw new IllegalArgumentException("Please provide a property file like ValueAnalysisTest.properties via -D"
+				+ ValueAnalysisRegressionTestSuite.VALUE_ANALYSIS_TEST_PROPERTIES_FILE);
+		}
+
+		final int _rounds;
+
+		if (args.length > 0) {
+			_rounds = Integer.parseInt(args[0]);
+		} else {
+			_rounds = DEFAULT_ROUNDS;
+		}
+
+		final Properties _props = new Properties();
+		final FileInputStream _stream = new FileInputStream(new File(_propFileName));
+
+		try {
+			_props.load(_stream);
+		} finally {
+			_stream.close();
+		}
+
+		final String[] _configs = _props.getProperty("configs").split(" ");
+
+		for (int _i = 0; _i < _configs.length; _i++) {
+			final String _config = _configs[_i];
+			final String _classNames = _props.getProperty(_config + ".classNames");
+			final String _classpath = _props.getProperty(_config + ".classpath");
+
+			for (int _j = 0; _j < TOKEN_MANAGERS.length; _j++) {
+				final String _tokenManager = TOKEN_MANAGERS[_j];
+				long _bestTime = Long.MAX_VALUE;
+				long _bestMemory = Long.MAX_VALUE;
+
+				try {
+					for (int _k = 0; _k < _rounds; _k++) {
+						final long[] _result = run(_tokenManager, _classNames, _classpath);
+						_bestTime = Math.min(_bestTime, _result[0]);
+						_bestMemory = Math.min(_bestMemory, _result[1]);
+					}
+					System.out.println(_config + " - " + _tokenManager + ": " + (_bestTime / 1000000) + " ms, "
+						+ (_bestMemory / 1024) + " KB (best of " + _rounds + ")");
+				} catch (final IllegalStateException _e) {
+					System.out.println(_config + " - " + _tokenManager + ": not applicable - " + _e.getMessage());
+				} finally {
+					G.reset();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the heap in use after garbage collection.
+	 *
+	 * @return the heap in use (in bytes).
+	 */
+	private static long getUsedMemory() {
+		final Runtime _runtime = Runtime.getRuntime();
+
+		for (int _i = 0; _i < 3; _i++) {
+			System.gc();
+		}
+		return _runtime.totalMemory() - _runtime.freeMemory();
+	}
+
+	/**
+	 * Executes object flow analysis on the given system using the given token manager.
+	 *
+	 * @param tokenManagerClassName is the name of the token manager class.
+	 * @param classNames are the names of the root classes separated by spaces.
+	 * @param classpath is the soot class path.
+	 *
+	 * @return the time (in nanoseconds) and the retained memory (in bytes) of the analysis.
+	 *
+	 * @throws IllegalStateException when the token manager cannot handle the system.
+	 */
+	private static long[] run(final String tokenManagerClassName, final String classNames, final String classpath) {
+		G.reset();
+
+		final SootBasedDriver _driver = new SootBasedDriver();
+		_driver.addToSootClassPath(classpath);
+		_driver.setClassNames(Arrays.asList(classNames.split(" ")));
+		_driver.initialize();
+
+		final ITokenManager _tokenManager = createTokenManager(tokenManagerClassName);
+		final long _memoryBefore = getUsedMemory();
+		final long _start = System.nanoTime();
+		final IValueAnalyzer<Value> _analyzer =
+			OFAnalyzer.getFSOIAnalyzer(TAG_NAME, _tokenManager, _driver.getStmtGraphFactory());
+		_analyzer.analyze(_driver.getEnvironment(), _driver.getRootMethods());
+
+		final long _time = System.nanoTime() - _start;
+		final long _memory = getUsedMemory() - _memoryBefore;
+		_analyzer.reset();
+		return new long[] { _time, _memory, };
+	}
+
+	/**
+	 * Creates a token manager.
+	 *
+	 * @param className is the name of the token manager class.
+	 *
+	 * @return the token manager.
+	 *
+	 * @throws RuntimeException when the token manager cannot be created.
+	 */
+	private static ITokenManager createTokenManager(final String className) {
+		try {
+			return (ITokenManager) Class.forName(className).getConstructor(new Class[] { ITypeManager.class }).newInstance(
+				new Object[] { new SootValueTypeManager() });
+		} catch (final Exception _e) {
+			throw new RuntimeException("Could not create token manager " + className, _e);
+		}
+	}
+}
+
+// End of File
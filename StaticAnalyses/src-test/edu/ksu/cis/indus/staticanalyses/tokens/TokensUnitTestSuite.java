@@ -74,6 +74,8 @@ public final class TokensUnitTestSuite
 		_temp.addTestSuite(BitSetTokenManagerTest.class);
 		_temp.addTestSuite(CollectionTokenManagerTest.class);
 		_temp.addTestSuite(IntegerTokenManagerTest.class);
+		_temp.addTestSuite(CompactTokenManagerTest.class);
+		_temp.addTestSuite(SharedCompactTokenManagerTest.class);
 
 		final TestSetup _setup =
 			new TestSetup(_temp) {
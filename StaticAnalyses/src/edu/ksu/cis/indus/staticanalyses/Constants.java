@@ -17,6 +17,7 @@
 package edu.ksu.cis.indus.staticanalyses;
 
 import edu.ksu.cis.indus.annotations.Empty;
+import edu.ksu.cis.indus.staticanalyses.flow.FA;
 import edu.ksu.cis.indus.staticanalyses.flow.IIndex;
 import edu.ksu.cis.indus.staticanalyses.flow.indexmanagement.IIndexManagementStrategy;
 import edu.ksu.cis.indus.staticanalyses.flow.indexmanagement.MemoryIntensiveIndexManagementStrategy;
@@ -66,6 +67,89 @@ public final class Constants {
 	 */
 	public static final String SCC_OPTIMIZATION_INTERVAL_PROPERTY = "edu.ksu.cis.indus.staticanalyses.flow.FA.sccOptimizationInterval";
 
+	/**
+	 * This is the property that the user can specify to control the number of workers used to propagate tokens in the flow
+	 * analysis framework. The name of the property is "edu.ksu.cis.indus.staticanalyses.flow.FA.parallelism". If
+	 * unspecified, the number defaults to <i>1</i>, i.e., tokens are propagated sequentially.
+	 */
+	public static final String FA_PARALLELISM_PROPERTY = "edu.ksu.cis.indus.staticanalyses.flow.FA.parallelism";
+
+	/**
+	 * This is the property that the user can specify to control if cycles in the flow graph are detected and collapsed as
+	 * edges are added. The name of the property is "edu.ksu.cis.indus.staticanalyses.flow.FA.onlineCycleDetection". If
+	 * unspecified, it defaults to <i>false</i>, i.e., cycles are collapsed periodically as controlled by
+	 * <code>SCC_OPTIMIZATION_INTERVAL_PROPERTY</code>.
+	 */
+	public static final String ONLINE_CYCLE_DETECTION_PROPERTY = "edu.ksu.cis.indus.staticanalyses.flow.FA.onlineCycleDetection";
+
+	/**
+	 * This is the property that the user can specify to control the order in which work pieces are processed by the flow
+	 * analysis framework. The name of the property is "edu.ksu.cis.indus.staticanalyses.flow.FA.workBagStrategy". It can be
+	 * one of the names in <code>FA.WorkBagStrategy</code>. If unspecified, the strategy defaults to <i>LIFO</i>.
+	 */
+	public static final String WORK_BAG_STRATEGY_PROPERTY = "edu.ksu.cis.indus.staticanalyses.flow.FA.workBagStrategy";
+
+	/**
+	 * This is the property that the user can specify to control if <code>CompactTokenManager</code> interns and shares token
+	 * sets. The name of the property is "edu.ksu.cis.indus.staticanalyses.tokens.CompactTokenManager.shareTokenSets". If
+	 * unspecified, it defaults to <i>false</i>.
+	 */
+	public static final String SHARE_TOKEN_SETS_PROPERTY = "edu.ksu.cis.indus.staticanalyses.tokens.CompactTokenManager.shareTokenSets";
+
+	/**
+	 * This is the property that the user can specify to control if non-termination sensitive entry control dependence is
+	 * calculated from post dominance frontiers in methods with acyclic basic block graphs. The name of the property is
+	 * "edu.ksu.cis.indus.staticanalyses.dependency.NonTerminationSensitiveEntryControlDA.usePostDominanceFrontiers". If
+	 * unspecified, it defaults to <i>false</i>, i.e., the dependence is always calculated by token propagation.
+	 */
+	public static final String USE_POST_DOMINANCE_FRONTIERS_PROPERTY = "edu.ksu.cis.indus.staticanalyses.dependency.NonTerminationSensitiveEntryControlDA.usePostDominanceFrontiers";
+
+	/**
+	 * This is the property that the user can specify to control if <code>AliasedUseDefInfo</code> matches def-sites and
+	 * use-sites by indexing them on the objects their primaries may point to. The name of the property is
+	 * "edu.ksu.cis.indus.staticanalyses.flow.processors.AliasedUseDefInfo.useAliasIndex". If unspecified, it defaults to
+	 * <i>true</i>. The results are the same in either mode.
+	 */
+	public static final String USE_ALIAS_INDEX_PROPERTY = "edu.ksu.cis.indus.staticanalyses.flow.processors.AliasedUseDefInfo.useAliasIndex";
+
+	/**
+	 * This is the property that the user can specify to control if interference dependence analyses partition the access
+	 * sites of a field or an array type by the objects their primaries may point to before pairing them. The name of the
+	 * property is "edu.ksu.cis.indus.staticanalyses.dependency.InterferenceDAv1.partitionAccessSites". If unspecified, it
+	 * defaults to <i>true</i>. The results are the same in either mode.
+	 */
+	public static final String PARTITION_ACCESS_SITES_PROPERTY = "edu.ksu.cis.indus.staticanalyses.dependency.InterferenceDAv1.partitionAccessSites";
+
+	/**
+	 * This is the property that the user can specify to control if dependence analyses that support it should store the
+	 * dependences in a compact store indexed by program point ids. The name of the property is
+	 * "edu.ksu.cis.indus.staticanalyses.dependency.AbstractDependencyAnalysis.compactStorage". If unspecified, it defaults
+	 * to <i>false</i>. The results are the same in either mode.
+	 */
+	public static final String COMPACT_DEPENDENCE_STORAGE_PROPERTY = "edu.ksu.cis.indus.staticanalyses.dependency.AbstractDependencyAnalysis.compactStorage";
+
+	/**
+	 * This is the property that the user can specify to control the number of workers used by interference dependence
+	 * analyses to pair partitioned access sites. The name of the property is
+	 * "edu.ksu.cis.indus.staticanalyses.dependency.InterferenceDAv1.parallelism". If unspecified, it defaults to <i>1</i>.
+	 */
+	public static final String INTERFERENCE_DA_PARALLELISM_PROPERTY = "edu.ksu.cis.indus.staticanalyses.dependency.InterferenceDAv1.parallelism";
+
+	/**
+	 * This is the property that the user can specify to control the number of analyses executed concurrently by
+	 * <code>AnalysesController</code>. The name of the property is
+	 * "edu.ksu.cis.indus.staticanalyses.processing.AnalysesController.parallelism". If unspecified, it defaults to <i>1</i>.
+	 */
+	public static final String ANALYSES_CONTROLLER_PARALLELISM_PROPERTY = "edu.ksu.cis.indus.staticanalyses.processing.AnalysesController.parallelism";
+
+	/**
+	 * This is the property that the user can specify to control the number of strongly connected components of the call
+	 * graph processed concurrently by the equivalence class-based escape analysis. The name of the property is
+	 * "edu.ksu.cis.indus.staticanalyses.concurrency.escape.EquivalenceClassBasedEscapeAnalysis.parallelism". If unspecified,
+	 * it defaults to <i>1</i>.
+	 */
+	public static final String ESCAPE_ANALYSIS_PARALLELISM_PROPERTY = "edu.ksu.cis.indus.staticanalyses.concurrency.escape.EquivalenceClassBasedEscapeAnalysis.parallelism";
+
 	/**
 	 * The name of the property the user can use to configure the token manager class. It's name is
 	 * "edu.ksu.cis.indus.staticanalyses.tokens.TokenManagerClass".
@@ -164,6 +248,29 @@ public final class Constants {
 		return retrieveBooleanValue(true, OBJECT_SENSITIVE_ARRAY_TRACKING_PROPERTY, CONFIGURATIONS);
 	}
 
+	/**
+	 * Retrieves if cycles in the flow graph should be detected and collapsed as edges are added. This is configured by the
+	 * property "edu.ksu.cis.indus.staticanalyses.flow.FA.onlineCycleDetection".
+	 * 
+	 * @return <code>true</code> if online cycle detection should be used; <code>false</code>, otherwise.
+	 */
+	public static boolean getOnlineCycleDetectionForFA() {
+		return retrieveBooleanValue(false, ONLINE_CYCLE_DETECTION_PROPERTY, CONFIGURATIONS);
+	}
+
+	/**
+	 * Retrieves the number of workers used to propagate tokens in the flow analysis framework. This is configured by the
+	 * property "edu.ksu.cis.indus.staticanalyses.flow.FA.parallelism". Non-positive values result in <i>1</i>.
+	 * 
+	 * @return the number of workers.
+	 * @post result >= 1
+	 */
+	public static int getParallelismForFA() {
+		final int _result = edu.ksu.cis.indus.common.soot.Constants.retrieveIntValue(1, FA_PARALLELISM_PROPERTY,
+				CONFIGURATIONS);
+		return Math.max(1, _result);
+	}
+
 	/**
 	 * Retrieves the pattern that defines a class/object based scope in which object sensitivity should be maintined.
 	 * 
@@ -187,12 +294,23 @@ public final class Constants {
 		return _result;
 	}
 
+	/**
+	 * Retrieves if <code>CompactTokenManager</code> should intern and share token sets. This is configured by the property
+	 * "edu.ksu.cis.indus.staticanalyses.tokens.CompactTokenManager.shareTokenSets".
+	 * 
+	 * @return <code>true</code> if token sets should be shared; <code>false</code>, otherwise.
+	 */
+	public static boolean getShareTokenSetsForCompactTokenManager() {
+		return retrieveBooleanValue(false, SHARE_TOKEN_SETS_PROPERTY, CONFIGURATIONS);
+	}
+
 	/**
 	 * Retrieves the name of the token manager class. This is configured by the property
 	 * "edu.ksu.cis.indus.staticanalyses.tokens.TokenManagerClass". It can be one of the following.
 	 * <ul>
 	 * <li> edu.ksu.cis.indus.staticanalyses.tokens.BitSetTokenManager </li>
 	 * <li> edu.ksu.cis.indus.staticanalyses.tokens.CollectionTokenManager </li>
+	 * <li> edu.ksu.cis.indus.staticanalyses.tokens.CompactTokenManager </li>
 	 * <li> edu.ksu.cis.indus.staticanalyses.tokens.IntegerTokenManager </li>
 	 * </ul>
 	 * <p>
@@ -214,6 +332,114 @@ public final class Constants {
 		return _result;
 	}
 
+	/**
+	 * Retrieves if non-termination sensitive entry control dependence should be calculated from post dominance frontiers in
+	 * methods with acyclic basic block graphs. This is configured by the property
+	 * "edu.ksu.cis.indus.staticanalyses.dependency.NonTerminationSensitiveEntryControlDA.usePostDominanceFrontiers".
+	 * 
+	 * @return <code>true</code> if post dominance frontiers should be used; <code>false</code>, otherwise.
+	 */
+	public static boolean getUsePostDominanceFrontiersForEntryControlDA() {
+		return retrieveBooleanValue(false, USE_POST_DOMINANCE_FRONTIERS_PROPERTY, CONFIGURATIONS);
+	}
+
+	/**
+	 * Retrieves if aliased use-def analysis should match def-sites and use-sites via an index on the objects their primaries
+	 * may point to. This is configured by the property
+	 * "edu.ksu.cis.indus.staticanalyses.flow.processors.AliasedUseDefInfo.useAliasIndex".
+	 * 
+	 * @return <code>true</code> if the index should be used; <code>false</code>, otherwise.
+	 */
+	public static boolean getUseAliasIndexForAliasedUseDefInfo() {
+		return retrieveBooleanValue(true, USE_ALIAS_INDEX_PROPERTY, CONFIGURATIONS);
+	}
+
+	/**
+	 * Retrieves if interference dependence analyses should partition access sites by the objects their primaries may point
+	 * to. This is configured by the property
+	 * "edu.ksu.cis.indus.staticanalyses.dependency.InterferenceDAv1.partitionAccessSites".
+	 * 
+	 * @return <code>true</code> if the access sites should be partitioned; <code>false</code>, otherwise.
+	 */
+	public static boolean getPartitionAccessSitesForInterferenceDA() {
+		return retrieveBooleanValue(true, PARTITION_ACCESS_SITES_PROPERTY, CONFIGURATIONS);
+	}
+
+	/**
+	 * Retrieves if dependence analyses should store dependences in a compact store. This is configured by the property
+	 * "edu.ksu.cis.indus.staticanalyses.dependency.AbstractDependencyAnalysis.compactStorage".
+	 * 
+	 * @return <code>true</code> if the dependences should be stored compactly; <code>false</code>, otherwise.
+	 */
+	public static boolean getCompactStorageForDependenceAnalyses() {
+		return retrieveBooleanValue(false, COMPACT_DEPENDENCE_STORAGE_PROPERTY, CONFIGURATIONS);
+	}
+
+	/**
+	 * Retrieves the number of workers used by interference dependence analyses to pair partitioned access sites. This is
+	 * configured by the property "edu.ksu.cis.indus.staticanalyses.dependency.InterferenceDAv1.parallelism". Non-positive
+	 * values result in <i>1</i>.
+	 * 
+	 * @return the number of workers.
+	 * @post result >= 1
+	 */
+	public static int getParallelismForInterferenceDA() {
+		final int _result = edu.ksu.cis.indus.common.soot.Constants.retrieveIntValue(1,
+				INTERFERENCE_DA_PARALLELISM_PROPERTY, CONFIGURATIONS);
+		return Math.max(1, _result);
+	}
+
+	/**
+	 * Retrieves the number of analyses executed concurrently by <code>AnalysesController</code>. This is configured by the
+	 * property "edu.ksu.cis.indus.staticanalyses.processing.AnalysesController.parallelism". Non-positive values result in
+	 * <i>1</i>.
+	 * 
+	 * @return the number of analyses.
+	 * @post result >= 1
+	 */
+	public static int getParallelismForAnalysesController() {
+		final int _result = edu.ksu.cis.indus.common.soot.Constants.retrieveIntValue(1,
+				ANALYSES_CONTROLLER_PARALLELISM_PROPERTY, CONFIGURATIONS);
+		return Math.max(1, _result);
+	}
+
+	/**
+	 * Retrieves the number of strongly connected components processed concurrently by the equivalence class-based escape
+	 * analysis. This is configured by the property
+	 * "edu.ksu.cis.indus.staticanalyses.concurrency.escape.EquivalenceClassBasedEscapeAnalysis.parallelism". Non-positive
+	 * values result in <i>1</i>.
+	 * 
+	 * @return the number of components.
+	 * @post result >= 1
+	 */
+	public static int getParallelismForEscapeAnalysis() {
+		final int _result = edu.ksu.cis.indus.common.soot.Constants.retrieveIntValue(1,
+				ESCAPE_ANALYSIS_PARALLELISM_PROPERTY, CONFIGURATIONS);
+		return Math.max(1, _result);
+	}
+
+	/**
+	 * Retrieves the strategy used by the flow analysis framework to order work pieces. This is configured by the property
+	 * "edu.ksu.cis.indus.staticanalyses.flow.FA.workBagStrategy". Unspecified or unknown values result in
+	 * <code>FA.WorkBagStrategy.LIFO</code>.
+	 * 
+	 * @return the work bag strategy.
+	 * @post result != null
+	 */
+	public static FA.WorkBagStrategy getWorkBagStrategyForFA() {
+		final String _t = CONFIGURATIONS.getProperty(WORK_BAG_STRATEGY_PROPERTY);
+		FA.WorkBagStrategy _result = FA.WorkBagStrategy.LIFO;
+
+		if (_t != null) {
+			try {
+				_result = FA.WorkBagStrategy.valueOf(_t.trim().toUpperCase());
+			} catch (final IllegalArgumentException _e) {
+				System.err.println("Unknown work bag strategy " + _t + ".  Defaulting to " + _result + ".");
+			}
+		}
+		return _result;
+	}
+
 	/**
 	 * Retrieves an integer constant. <i>This method is not for public use.</i>
 	 * 
@@ -17,8 +17,8 @@
 package edu.ksu.cis.indus.staticanalyses.callgraphs;
 
 import edu.ksu.cis.indus.common.ToStringBasedComparator;
-import edu.ksu.cis.indus.common.collections.Cache;
 import edu.ksu.cis.indus.common.collections.CollectionUtils;
+import edu.ksu.cis.indus.common.collections.ConcurrentCache;
 import edu.ksu.cis.indus.common.collections.IPredicate;
 import edu.ksu.cis.indus.common.collections.MapUtils;
 import edu.ksu.cis.indus.common.datastructures.Pair;
@@ -53,6 +53,10 @@ import soot.jimple.Stmt;
 
 /**
  * This class calculates call graphCache information from the given object flow analysis.
+ * <p>
+ * The queries that populate the caches of reachability information are synchronized. Hence, once the call graph is
+ * constructed, an instance can be queried by multiple threads.
+ * </p>
  * 
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath </a>
  * @author $Author$
@@ -135,7 +139,7 @@ public final class CallGraphInfo
 	 * This cache stores callee to call-site reachability information. The cache is large enough to store all mappings under
 	 * the assumption that every method is called at most 3 times.
 	 */
-	private Map<Triple<SootMethod, Stmt, SootMethod>, Boolean> calleeCallSiteReachabilityCache = new Cache<Triple<SootMethod, Stmt, SootMethod>, Boolean>(
+	private final ConcurrentCache<Triple<SootMethod, Stmt, SootMethod>, Boolean> calleeCallSiteReachabilityCache = new ConcurrentCache<Triple<SootMethod, Stmt, SootMethod>, Boolean>(
 			CONNECTIVITY_CACHE_SIZE);
 
 	/**
@@ -241,6 +245,15 @@ public final class CallGraphInfo
 		}
 	}
 
+	/**
+	 * Retrieves the statistics about the use of the cache of callee to call-site reachability information.
+	 * 
+	 * @return the statistics.
+	 */
+	public ConcurrentCache.Statistics getCalleeCallSiteReachabilityCacheStatistics() {
+		return calleeCallSiteReachabilityCache.getStatistics();
+	}
+
 	/**
 	 * Returns the set of method implementations that shall be invoked at the given callsite expression in the given method.
 	 * 
@@ -305,8 +318,8 @@ public final class CallGraphInfo
 	/**
 	 * @see ICallGraphInfo#getCommonMethodsReachableFrom(soot.SootMethod, boolean, soot.SootMethod, boolean)
 	 */
-	public Collection<SootMethod> getCommonMethodsReachableFrom(final SootMethod method1, final boolean forward1,
-			final SootMethod method2, final boolean forward2) {
+	public synchronized Collection<SootMethod> getCommonMethodsReachableFrom(final SootMethod method1,
+			final boolean forward1, final SootMethod method2, final boolean forward2) {
 		final Collection<SootMethod> _result;
 
 		if (graphCache.hasCommonReachablesFrom(graphCache.queryNode(method1), forward1, graphCache.queryNode(method2),
@@ -323,7 +336,8 @@ public final class CallGraphInfo
 	/**
 	 * @see ICallGraphInfo#getConnectivityCalleesFor(soot.SootMethod, soot.SootMethod)
 	 */
-	public Collection<SootMethod> getConnectivityCalleesFor(final SootMethod method1, final SootMethod method2) {
+	public synchronized Collection<SootMethod> getConnectivityCalleesFor(final SootMethod method1,
+			final SootMethod method2) {
 		final Collection<SootMethod> _result;
 
 		if (graphCache.hasCommonReachablesFrom(graphCache.queryNode(method1), true, graphCache.queryNode(method2), true)) {
@@ -339,7 +353,8 @@ public final class CallGraphInfo
 	/**
 	 * @see ICallGraphInfo#getConnectivityCallersFor(soot.SootMethod, soot.SootMethod)
 	 */
-	public Collection<SootMethod> getConnectivityCallersFor(final SootMethod method1, final SootMethod method2) {
+	public synchronized Collection<SootMethod> getConnectivityCallersFor(final SootMethod method1,
+			final SootMethod method2) {
 		final Collection<SootMethod> _result;
 
 		if (graphCache.hasCommonReachablesFrom(graphCache.queryNode(method1), false, graphCache.queryNode(method2), false)) {
@@ -373,7 +388,7 @@ public final class CallGraphInfo
 	/**
 	 * @see edu.ksu.cis.indus.interfaces.ICallGraphInfo#getMethodsInTopologicalOrder(boolean)
 	 */
-	public List<SootMethod> getMethodsInTopologicalOrder(final boolean topdown) {
+	public synchronized List<SootMethod> getMethodsInTopologicalOrder(final boolean topdown) {
 		final List<SimpleNode<SootMethod>> _topologicalSorted = graphCache.performTopologicalSort(topdown);
 		final List<SootMethod> _result = new ArrayList<SootMethod>();
 		CollectionUtils.transform(_topologicalSorted, graphCache.getObjectExtractor(), _result);
@@ -383,14 +398,14 @@ public final class CallGraphInfo
 	/**
 	 * @see edu.ksu.cis.indus.interfaces.ICallGraphInfo#getMethodsReachableFrom(soot.SootMethod,boolean)
 	 */
-	public Collection<SootMethod> getMethodsReachableFrom(final SootMethod root, final boolean forward) {
+	public synchronized Collection<SootMethod> getMethodsReachableFrom(final SootMethod root, final boolean forward) {
 		return Collections.unmodifiableCollection(getMethodsReachableFromHelper(root, forward));
 	}
 
 	/**
 	 * @see edu.ksu.cis.indus.interfaces.ICallGraphInfo#getMethodsReachableFrom(soot.jimple.Stmt,soot.SootMethod)
 	 */
-	public Collection<SootMethod> getMethodsReachableFrom(final Stmt stmt, final SootMethod root) {
+	public synchronized Collection<SootMethod> getMethodsReachableFrom(final Stmt stmt, final SootMethod root) {
 		final Pair<Stmt, SootMethod> _pair = pairMgr.getPair(stmt, root);
 		Collection<SootMethod> _result = invocationsite2reachableMethods.get(_pair);
 
@@ -426,7 +441,7 @@ public final class CallGraphInfo
 	/**
 	 * @see edu.ksu.cis.indus.interfaces.ICallGraphInfo#getSCCs(boolean)
 	 */
-	public List<List<SootMethod>> getSCCs(final boolean topDown) {
+	public synchronized List<List<SootMethod>> getSCCs(final boolean topDown) {
 		List<List<SootMethod>> _r = topDownSCC == null ? null : topDownSCC.get();
 		if (_r == null) {
 			_r = new ArrayList<List<SootMethod>>();
@@ -449,7 +464,7 @@ public final class CallGraphInfo
 	/**
 	 * @see edu.ksu.cis.indus.interfaces.ICallGraphInfo#isCalleeReachableFromCaller(soot.SootMethod, soot.SootMethod)
 	 */
-	public boolean isCalleeReachableFromCaller(final SootMethod callee, final SootMethod caller) {
+	public synchronized boolean isCalleeReachableFromCaller(final SootMethod callee, final SootMethod caller) {
 		final SimpleNode<SootMethod> _calleeNode = graphCache.queryNode(callee);
 		final SimpleNode<SootMethod> _callerNode = graphCache.queryNode(caller);
 		return _calleeNode != null && _callerNode != null && graphCache.isReachable(_callerNode, _calleeNode, true);
@@ -458,11 +473,13 @@ public final class CallGraphInfo
 	/**
 	 * @see ICallGraphInfo#isCalleeReachableFromCallSite(soot.SootMethod, Stmt, soot.SootMethod)
 	 */
-	public boolean isCalleeReachableFromCallSite(final SootMethod callee, final Stmt stmt, final SootMethod caller) {
+	public synchronized boolean isCalleeReachableFromCallSite(final SootMethod callee, final Stmt stmt,
+			final SootMethod caller) {
 		final boolean _result;
 		final Triple<SootMethod, Stmt, SootMethod> _trp = new Triple<SootMethod, Stmt, SootMethod>(callee, stmt, caller);
+		final Boolean _cached = calleeCallSiteReachabilityCache.get(_trp);
 
-		if (!calleeCallSiteReachabilityCache.containsKey(_trp)) {
+		if (_cached == null) {
 			final SimpleNode<SootMethod> _n = graphCache.queryNode(callee);
 			final IPredicate<SootMethod> _rp = new GraphReachabilityPredicate<SimpleNode<SootMethod>, SootMethod>(_n, true,
 					graphCache);
@@ -480,7 +497,7 @@ public final class CallGraphInfo
 			}
 			calleeCallSiteReachabilityCache.put(_trp, Boolean.valueOf(_result));
 		} else {
-			_result = calleeCallSiteReachabilityCache.get(_trp).booleanValue();
+			_result = _cached.booleanValue();
 		}
 
 		return _result;
@@ -501,7 +518,7 @@ public final class CallGraphInfo
 	/**
 	 * Resets all internal data structure and forgets all info from the previous run.
 	 */
-	public void reset() {
+	public synchronized void reset() {
 		unstable();
 		caller2callees.clear();
 		callee2callers.clear();
@@ -648,7 +665,7 @@ public final class CallGraphInfo
 	 * @pre root != null
 	 * @see IDirectedGraph#getReachablesFrom(edu.ksu.cis.indus.common.graph.INode, boolean)
 	 */
-	private Collection<SootMethod> getMethodsReachableFromHelper(final SootMethod root, final boolean forward) {
+	private synchronized Collection<SootMethod> getMethodsReachableFromHelper(final SootMethod root, final boolean forward) {
 		final Map<SootMethod, Collection<SootMethod>> _map;
 
 		if (forward) {
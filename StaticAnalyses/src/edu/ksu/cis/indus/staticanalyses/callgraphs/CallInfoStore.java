@@ -0,0 +1,413 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.callgraphs;
+
+import edu.ksu.cis.indus.annotations.Empty;
+import edu.ksu.cis.indus.annotations.NonNull;
+import edu.ksu.cis.indus.common.collections.MapUtils;
+import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
+import edu.ksu.cis.indus.interfaces.IEnvironment;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import soot.SootClass;
+import soot.SootMethod;
+import soot.Unit;
+import soot.jimple.Stmt;
+
+/**
+ * This class persists call information in a compact binary format. Methods are recorded by the name of their declaring
+ * class and their sub-signature while call-sites are recorded by their position in the body of the caller. Hence, the
+ * persisted information can be reloaded in a different run as long as the classes of the system are unchanged. It is
+ * the responsibility of the caller to ensure the latter, e.g., by keying the files on the content of the classes.
+ * <p>
+ * Only caller-to-callees information is persisted. Callee-to-callers information is recovered from it upon reload. The
+ * file is memory-mapped upon reload.
+ * </p>
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ */
+public final class CallInfoStore {
+
+	/**
+	 * The encoding of the strings in the files.
+	 */
+	private static final String ENCODING = "UTF-8";
+
+	/**
+	 * The logger used by instances of this class to log messages.
+	 */
+	private static final Logger LOGGER = LoggerFactory.getLogger(CallInfoStore.class);
+
+	/**
+	 * The magic number that identifies the files written by this class.
+	 */
+	private static final int MAGIC = 0x1d05ca11;
+
+	/**
+	 * The version of the format of the files.
+	 */
+	private static final int VERSION = 1;
+
+	// /CLOVER:OFF
+
+	/**
+	 * A private constructor to prevent the instantiation of this class.
+	 */
+	@Empty private CallInfoStore() {
+		super();
+	}
+
+	// /CLOVER:ON
+
+	/**
+	 * Reads call information from the given file.
+	 * 
+	 * @param file to read the information from.
+	 * @param env is the environment in which the methods and statements should be resolved.
+	 * @return the call information; <code>null</code> if the file does not exist, is not in the expected format, or refers
+	 *         to methods or statements that do not exist in <code>env</code>.
+	 */
+	public static CallGraphInfo.ICallInfo read(@NonNull final File file, @NonNull final IEnvironment env) {
+		CallGraphInfo.ICallInfo _result = null;
+
+		if (file.isFile()) {
+			FileInputStream _stream = null;
+
+			try {
+				_stream = new FileInputStream(file);
+
+				final FileChannel _channel = _stream.getChannel();
+				_result = read(_channel.map(FileChannel.MapMode.READ_ONLY, 0, _channel.size()), env);
+			} catch (final IOException _e) {
+				LOGGER.warn("Could not read call information from " + file, _e);
+			} catch (final BufferUnderflowException _e) {
+				LOGGER.warn("Call information in " + file + " is truncated or corrupted.", _e);
+			} catch (final IndexOutOfBoundsException _e) {
+				LOGGER.warn("Call information in " + file + " is corrupted.", _e);
+			} finally {
+				close(_stream);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Writes the given call information into the given file.
+	 * 
+	 * @param info is the call information to be written.
+	 * @param file to write the information into.
+	 * @throws IOException when the file cannot be written.
+	 */
+	public static void write(@NonNull final CallGraphInfo.ICallInfo info, @NonNull final File file) throws IOException {
+		final Map<SootMethod, Integer> _method2id = new LinkedHashMap<SootMethod, Integer>();
+		final Map<SootMethod, Collection<CallTriple>> _caller2callees = info.getCaller2CalleesMap();
+		final Collection<SootMethod> _reachables = info.getReachableMethods();
+
+		for (final Iterator<SootMethod> _i = _reachables.iterator(); _i.hasNext();) {
+			assignId(_i.next(), _method2id);
+		}
+
+		for (final Iterator<Map.Entry<SootMethod, Collection<CallTriple>>> _i = _caller2callees.entrySet().iterator(); _i
+				.hasNext();) {
+			final Map.Entry<SootMethod, Collection<CallTriple>> _entry = _i.next();
+			assignId(_entry.getKey(), _method2id);
+
+			for (final Iterator<CallTriple> _j = _entry.getValue().iterator(); _j.hasNext();) {
+				assignId(_j.next().getMethod(), _method2id);
+			}
+		}
+
+		final DataOutputStream _out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+
+		try {
+			_out.writeInt(MAGIC);
+			_out.writeInt(VERSION);
+			_out.writeInt(_method2id.size());
+
+			for (final Iterator<SootMethod> _i = _method2id.keySet().iterator(); _i.hasNext();) {
+				final SootMethod _method = _i.next();
+				writeString(_out, _method.getDeclaringClass().getName());
+				writeString(_out, _method.getSubSignature());
+			}
+
+			_out.writeInt(_reachables.size());
+
+			for (final Iterator<SootMethod> _i = _reachables.iterator(); _i.hasNext();) {
+				_out.writeInt(_method2id.get(_i.next()).intValue());
+			}
+
+			_out.writeInt(_caller2callees.size());
+
+			for (final Iterator<Map.Entry<SootMethod, Collection<CallTriple>>> _i = _caller2callees.entrySet().iterator(); _i
+					.hasNext();) {
+				final Map.Entry<SootMethod, Collection<CallTriple>> _entry = _i.next();
+				final SootMethod _caller = _entry.getKey();
+				final Collection<CallTriple> _callees = _entry.getValue();
+				_out.writeInt(_method2id.get(_caller).intValue());
+				_out.writeInt(_callees.size());
+
+				if (!_callees.isEmpty()) {
+					final Map<Unit, Integer> _positions = getPositions(_caller);
+
+					for (final Iterator<CallTriple> _j = _callees.iterator(); _j.hasNext();) {
+						final CallTriple _triple = _j.next();
+						_out.writeInt(_method2id.get(_triple.getMethod()).intValue());
+						_out.writeInt(_positions.get(_triple.getStmt()).intValue());
+					}
+				}
+			}
+		} finally {
+			_out.close();
+		}
+	}
+
+	/**
+	 * Assigns an id to the given method if it does not have one.
+	 * 
+	 * @param method of interest.
+	 * @param method2id maps methods to their ids.
+	 */
+	private static void assignId(final SootMethod method, final Map<SootMethod, Integer> method2id) {
+		if (!method2id.containsKey(method)) {
+			method2id.put(method, Integer.valueOf(method2id.size()));
+		}
+	}
+
+	/**
+	 * Closes the given stream.
+	 * 
+	 * @param stream to be closed.
+	 */
+	private static void close(final FileInputStream stream) {
+		if (stream != null) {
+			try {
+				stream.close();
+			} catch (final IOException _e) {
+				LOGGER.warn("Could not close the stream.", _e);
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the positions of the statements in the body of the given method.
+	 * 
+	 * @param method of interest.
+	 * @return a map from the statements to their positions.
+	 */
+	private static Map<Unit, Integer> getPositions(final SootMethod method) {
+		@SuppressWarnings("unchecked") final Collection<Unit> _units = method.retrieveActiveBody().getUnits();
+		final Map<Unit, Integer> _result = new HashMap<Unit, Integer>(_units.size());
+		int _position = 0;
+
+		for (final Iterator<Unit> _i = _units.iterator(); _i.hasNext();) {
+			_result.put(_i.next(), Integer.valueOf(_position++));
+		}
+		return _result;
+	}
+
+	/**
+	 * Reads call information from the given buffer.
+	 * 
+	 * @param buffer to read the information from.
+	 * @param env is the environment in which the methods and statements should be resolved.
+	 * @return the call information; <code>null</code> if the buffer is not in the expected format or refers to methods or
+	 *         statements that do not exist in <code>env</code>.
+	 * @throws UnsupportedEncodingException when the encoding of the strings is not supported.
+	 */
+	private static CallGraphInfo.ICallInfo read(final ByteBuffer buffer, final IEnvironment env)
+			throws UnsupportedEncodingException {
+		CallInfo _result = null;
+
+		if (buffer.getInt() == MAGIC && buffer.getInt() == VERSION) {
+			final SootMethod[] _methods = readMethods(buffer, env);
+
+			if (_methods != null) {
+				_result = new CallInfo();
+
+				for (int _i = buffer.getInt(); _i > 0; _i--) {
+					_result.addReachable(_methods[buffer.getInt()]);
+				}
+
+				boolean _valid = true;
+
+				for (int _i = buffer.getInt(); _i > 0 && _valid; _i--) {
+					_valid = readCallees(buffer, _methods, _result);
+				}
+
+				if (_valid) {
+					_result.fixupMethodsHavingZeroCallersAndCallees();
+				} else {
+					_result = null;
+				}
+			}
+		} else {
+			LOGGER.warn("Call information is not in the expected format.");
+		}
+		return _result;
+	}
+
+	/**
+	 * Reads the callees of a caller from the given buffer into the given call information.
+	 * 
+	 * @param buffer to read the callees from.
+	 * @param methods maps method ids to methods.
+	 * @param info is the call information to be populated. This is an out argument.
+	 * @return <code>true</code> if the call-sites of the callees exist in the caller; <code>false</code>, otherwise.
+	 */
+	private static boolean readCallees(final ByteBuffer buffer, final SootMethod[] methods, final CallInfo info) {
+		final SootMethod _caller = methods[buffer.getInt()];
+		final int _noOfCallees = buffer.getInt();
+		final Collection<CallTriple> _callees = MapUtils.getCollectionFromMap(info.caller2callees, _caller);
+		final List<Unit> _units;
+
+		if (_noOfCallees > 0) {
+			@SuppressWarnings("unchecked") final Collection<Unit> _body = _caller.retrieveActiveBody().getUnits();
+			_units = new ArrayList<Unit>(_body);
+		} else {
+			_units = Collections.emptyList();
+		}
+
+		boolean _result = true;
+
+		for (int _j = 0; _j < _noOfCallees && _result; _j++) {
+			final SootMethod _callee = methods[buffer.getInt()];
+			final int _index = buffer.getInt();
+			_result = _index >= 0 && _index < _units.size() && ((Stmt) _units.get(_index)).containsInvokeExpr();
+
+			if (_result) {
+				final Stmt _stmt = (Stmt) _units.get(_index);
+				_callees.add(new CallTriple(_callee, _stmt, _stmt.getInvokeExpr()));
+				MapUtils.getCollectionFromMap(info.callee2callers, _callee).add(
+						new CallTriple(_caller, _stmt, _stmt.getInvokeExpr()));
+			} else {
+				LOGGER.info("Call-site " + _index + " is not available in " + _caller);
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Reads the number of elements of a sequence from the given buffer. As each element occupies at least a byte, the
+	 * number is checked against the remaining bytes to reject corrupted numbers.
+	 * 
+	 * @param buffer to read from.
+	 * @return the number of elements.
+	 * @throws BufferUnderflowException when the number is negative or exceeds the remaining bytes.
+	 */
+	private static int readCount(final ByteBuffer buffer) {
+		final int _result = buffer.getInt();
+
+		if (_result < 0 || _result > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		return _result;
+	}
+
+	/**
+	 * Reads the methods from the given buffer.
+	 * 
+	 * @param buffer to read the methods from.
+	 * @param env is the environment in which the methods should be resolved.
+	 * @return the methods indexed by their ids; <code>null</code> if some method does not exist in <code>env</code>.
+	 * @throws UnsupportedEncodingException when the encoding of the strings is not supported.
+	 */
+	private static SootMethod[] readMethods(final ByteBuffer buffer, final IEnvironment env)
+			throws UnsupportedEncodingException {
+		final SootMethod[] _methods = new SootMethod[readCount(buffer)];
+		boolean _valid = true;
+
+		for (int _i = 0; _i < _methods.length && _valid; _i++) {
+			final String _className = readString(buffer);
+			final String _subSignature = readString(buffer);
+			final SootClass _class;
+
+			if (env.hasClass(_className)) {
+				_class = env.getClass(_className);
+			} else {
+				_class = null;
+			}
+
+			_valid = _class != null && _class.declaresMethod(_subSignature);
+
+			if (_valid) {
+				_methods[_i] = _class.getMethod(_subSignature);
+			} else {
+				LOGGER.info("Method " + _subSignature + " is not available in " + _className);
+			}
+		}
+
+		final SootMethod[] _result;
+
+		if (_valid) {
+			_result = _methods;
+		} else {
+			_result = null;
+		}
+		return _result;
+	}
+
+	/**
+	 * Reads a string from the given buffer.
+	 * 
+	 * @param buffer to read from.
+	 * @return the string.
+	 * @throws UnsupportedEncodingException when the encoding of the strings is not supported.
+	 */
+	private static String readString(final ByteBuffer buffer) throws UnsupportedEncodingException {
+		final byte[] _bytes = new byte[readCount(buffer)];
+		buffer.get(_bytes);
+		return new String(_bytes, ENCODING);
+	}
+
+	/**
+	 * Writes the given string into the given stream.
+	 * 
+	 * @param out is the stream to write into.
+	 * @param string to be written.
+	 * @throws IOException when the string cannot be written.
+	 */
+	private static void writeString(final DataOutputStream out, final String string) throws IOException {
+		final byte[] _bytes = string.getBytes(ENCODING);
+		out.writeInt(_bytes.length);
+		out.write(_bytes);
+	}
+}
+
+// End of File
@@ -26,12 +26,16 @@ import edu.ksu.cis.indus.interfaces.ICallGraphInfo;
 import edu.ksu.cis.indus.interfaces.IThreadGraphInfo;
 import edu.ksu.cis.indus.interfaces.ICallGraphInfo.CallTriple;
 
+import gnu.trove.TObjectIntHashMap;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,6 +67,13 @@ public final class CFGAnalysis {
 	 */
 	private final ICallGraphInfo cgi;
 
+	/**
+	 * This maps basic block graphs to maps from the statements in the graphs to one more than their position in their
+	 * enclosing basic blocks. The latter maps are not modified once they are published.
+	 */
+	private final ConcurrentMap<BasicBlockGraph, TObjectIntHashMap> graph2stmtPositions =
+		new ConcurrentHashMap<BasicBlockGraph, TObjectIntHashMap>();
+
 	/**
 	 * This is a cache of the collection of method invocation statements in methods.
 	 * 
@@ -166,7 +177,9 @@ public final class CFGAnalysis {
 	}
 
 	/**
-	 * Checks if the given destination statement is reachable from the given source statement in the given method.
+	 * Checks if the given destination statement is reachable from the given source statement in the given method. The
+	 * positions of the statements in their basic blocks are indexed when the method is first queried; hence, the statement
+	 * lists of the basic blocks are not searched on later queries.
 	 * 
 	 * @param srcStmt of interest.
 	 * @param destStmt of interest.
@@ -182,8 +195,8 @@ public final class CFGAnalysis {
 		final BasicBlock _bbSrc = _bbg.getEnclosingBlock(srcStmt);
 
 		if (_bbDest == _bbSrc) {
-			final List<Stmt> _sl = _bbDest.getStmtsOf();
-			_result = _sl.indexOf(srcStmt) < _sl.indexOf(destStmt);
+			final TObjectIntHashMap _stmt2position = getStmtPositions(_bbg);
+			_result = _stmt2position.get(srcStmt) < _stmt2position.get(destStmt);
 		} else {
 			_result = _bbg.isReachable(_bbSrc, _bbDest, true);
 		}
@@ -390,6 +403,37 @@ public final class CFGAnalysis {
 	 */
 	public void reset() {
 		method2EnclosingInvokingStmtsCache.clear();
+		graph2stmtPositions.clear();
+	}
+
+	/**
+	 * Retrieves the positions of the statements in their enclosing basic blocks in the given graph.
+	 * 
+	 * @param graph of interest.
+	 * @return a map from the statements in <code>graph</code> to one more than their position in their enclosing basic
+	 *         blocks.
+	 * @pre graph != null
+	 * @post result != null
+	 */
+	private TObjectIntHashMap getStmtPositions(final BasicBlockGraph graph) {
+		TObjectIntHashMap _result = graph2stmtPositions.get(graph);
+
+		if (_result == null) {
+			final TObjectIntHashMap _stmt2position = new TObjectIntHashMap();
+
+			for (final Iterator<BasicBlock> _i = graph.getNodes().iterator(); _i.hasNext();) {
+				final List<Stmt> _stmts = _i.next().getStmtsOf();
+				final int _iEnd = _stmts.size();
+
+				for (int _iIndex = 0; _iIndex < _iEnd; _iIndex++) {
+					_stmt2position.put(_stmts.get(_iIndex), _iIndex + 1);
+				}
+			}
+
+			final TObjectIntHashMap _temp = graph2stmtPositions.putIfAbsent(graph, _stmt2position);
+			_result = _temp == null ? _stmt2position : _temp;
+		}
+		return _result;
 	}
 
 	/**
@@ -25,6 +25,7 @@ import edu.ksu.cis.indus.interfaces.IUseDefInfo;
 
 import edu.ksu.cis.indus.processing.AbstractProcessor;
 import edu.ksu.cis.indus.processing.Context;
+import edu.ksu.cis.indus.processing.IShardableProcessor;
 import edu.ksu.cis.indus.processing.ProcessingController;
 
 import java.util.Collection;
@@ -45,7 +46,8 @@ import soot.jimple.StaticFieldRef;
 import soot.jimple.Stmt;
 
 /**
- * This class provides use-def information of static fields.
+ * This class provides use-def information of static fields. The def and use sites are collected in shards when method bodies
+ * are processed concurrently.
  *
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
@@ -53,7 +55,8 @@ import soot.jimple.Stmt;
  */
 public class StaticFieldUseDefInfo
 		extends AbstractProcessor
-		implements IUseDefInfo<Pair<DefinitionStmt, SootMethod>, Pair<Stmt, SootMethod>> {
+		implements IUseDefInfo<Pair<DefinitionStmt, SootMethod>, Pair<Stmt, SootMethod>>,
+		IShardableProcessor<StaticFieldUseDefInfo> {
 
 	/**
 	 * This maps def site to use sites.
@@ -143,6 +146,13 @@ public class StaticFieldUseDefInfo
 		}
 	}
 
+	/**
+	 * @see edu.ksu.cis.indus.processing.IShardableProcessor#createShard()
+	 */
+	public StaticFieldUseDefInfo createShard() {
+		return new StaticFieldUseDefInfo();
+	}
+
 	/**
 	 * @see edu.ksu.cis.indus.interfaces.IUseDefInfo#getDefs(soot.Local, soot.jimple.Stmt, soot.SootMethod)
 	 */
@@ -199,6 +209,21 @@ public class StaticFieldUseDefInfo
 		ppc.register(StaticFieldRef.class, this);
 	}
 
+	/**
+	 * @see edu.ksu.cis.indus.processing.IShardableProcessor#mergeShard(edu.ksu.cis.indus.processing.IProcessor)
+	 */
+	public void mergeShard(final StaticFieldUseDefInfo shard) {
+		for (final Iterator<SootField> _i = shard.def2usesMap.keySet().iterator(); _i.hasNext();) {
+			final SootField _field = _i.next();
+			def2usesMapShadow.get(_field).putAll(shard.def2usesMap.get(_field));
+		}
+
+		for (final Iterator<SootField> _i = shard.use2defsMap.keySet().iterator(); _i.hasNext();) {
+			final SootField _field = _i.next();
+			use2defsMapShadow.get(_field).putAll(shard.use2defsMap.get(_field));
+		}
+	}
+
 	/**
 	 * @see edu.ksu.cis.indus.processing.IProcessor#processingBegins()
 	 */
@@ -16,7 +16,8 @@
 
 package edu.ksu.cis.indus.staticanalyses.impl;
 
-import edu.ksu.cis.indus.common.collections.Stack;
+import edu.ksu.cis.indus.common.datastructures.Quadraple;
+import edu.ksu.cis.indus.common.soot.CallString;
 import edu.ksu.cis.indus.common.soot.Util;
 import edu.ksu.cis.indus.interfaces.AbstractCallingContextRetriever;
 import edu.ksu.cis.indus.interfaces.ICallGraphInfo;
@@ -165,10 +166,10 @@ public class DataAliasBasedCallingContextRetriever
 	}
 
 	/**
-	 * @see AbstractCallingContextRetriever#getCallerSideToken(Object, SootMethod, ICallGraphInfo.CallTriple, Stack)
+	 * @see AbstractCallingContextRetriever#getCallerSideToken(Object, SootMethod, ICallGraphInfo.CallTriple, CallString)
 	 */
 	@Override protected Object getCallerSideToken(final Object token, final SootMethod callee, final CallTriple callsite,
-			@SuppressWarnings("unused") final Stack<CallTriple> calleeCallStack) {
+			@SuppressWarnings("unused") final CallString calleeCallStack) {
 		if (LOGGER.isDebugEnabled()) {
 			LOGGER.debug("getCallerSideToken(Object token = " + token + ", SootMethod callee = " + callee
 					+ ", CallTriple callsite = " + callsite + ") - BEGIN");
@@ -215,7 +216,7 @@ public class DataAliasBasedCallingContextRetriever
 	protected final boolean getCallSitesThatCanReachSource(final CallTriple callsite, final boolean exclusive) {
 		final SootMethod _method1;
 		final Stmt _stmt1;
-		@SuppressWarnings("unchecked") final Stack<CallTriple> _srcCallingContext = (Stack) getInfoFor(Identifiers.SRC_CALLING_CONTEXT);
+		final CallString _srcCallingContext = (CallString) getInfoFor(Identifiers.SRC_CALLING_CONTEXT);
 		if (_srcCallingContext != null && !_srcCallingContext.isEmpty() && _srcCallingContext.peek() != null) {
 			final CallTriple _topCallSiteOnSrcEnd = _srcCallingContext.peek();
 			_method1 = _topCallSiteOnSrcEnd.getMethod();
@@ -248,6 +249,16 @@ public class DataAliasBasedCallingContextRetriever
 		return _result;
 	}
 
+	/**
+	 * {@inheritDoc} The caller side tokens depend on the source of the data dependence; hence, the source entity, method,
+	 * and calling context are included in the qualifier.
+	 */
+	@Override protected Object getContextCacheQualifier() {
+		return new Quadraple<Object, Object, Object, Object>(super.getContextCacheQualifier(),
+				getInfoFor(Identifiers.SRC_ENTITY), getInfoFor(Identifiers.SRC_METHOD),
+				getInfoFor(Identifiers.SRC_CALLING_CONTEXT));
+	}
+
 	/**
 	 * @see AbstractCallingContextRetriever#getTokenForProgramPoint(Context)
 	 */
@@ -393,7 +404,7 @@ public class DataAliasBasedCallingContextRetriever
 			final DefinitionStmt defStmt, final DefinitionStmt useStmt, final SootMethod curMethod) {
 		final Collection<CallTriple> _ancestors = new HashSet<CallTriple>();
 		final ICallGraphInfo _callGraph = getCallGraph();
-		@SuppressWarnings("unchecked") final Stack<CallTriple> _stack = (Stack) getInfoFor(Identifiers.SRC_CALLING_CONTEXT);
+		final CallString _stack = (CallString) getInfoFor(Identifiers.SRC_CALLING_CONTEXT);
 		final Collection<CallTriple> _callers = new HashSet<CallTriple>(_callGraph.getCallers(curMethod));
 		final boolean _curMethodIsUseMethod;
 
@@ -27,6 +27,7 @@ import edu.ksu.cis.indus.processing.IProcessor;
 import edu.ksu.cis.indus.staticanalyses.InitializationException;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -87,6 +88,17 @@ public abstract class AbstractAnalysis
 		return preprocessor;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation indicates that no information is required. Subclasses that use information provided by other
+	 * analyses should override this method.
+	 * </p>
+	 */
+	public Collection<Comparable<?>> getRequiredInfoIds() {
+		return Collections.emptySet();
+	}
+
 	/**
 	 * Returns the statistics about this analysis in the form of a <code>String</code>.
 	 *
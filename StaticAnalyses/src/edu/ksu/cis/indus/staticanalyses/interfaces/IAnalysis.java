@@ -25,6 +25,7 @@ import edu.ksu.cis.indus.processing.IProcessor;
 
 import edu.ksu.cis.indus.staticanalyses.InitializationException;
 
+import java.util.Collection;
 import java.util.Map;
 
 
@@ -55,6 +56,18 @@ public interface IAnalysis
 	 */
 	IProcessor getPreProcessor();
 
+	/**
+	 * Retrieves the ids of the information provided during initialization that this analysis requires to be calculated
+	 * before it is executed. This is used by controllers to execute the analyses that provide such information (as
+	 * identified by the ids under which they are registered or by <code>IIdentification.getIds()</code>) before this
+	 * analysis.
+	 *
+	 * @return the ids of the required information. This is meaningful only after the analysis has been configured.
+	 *
+	 * @post result != null
+	 */
+	Collection<Comparable<?>> getRequiredInfoIds();
+
 	/**
 	 * Analyzes the given methods and classes for "some" information.
 	 */
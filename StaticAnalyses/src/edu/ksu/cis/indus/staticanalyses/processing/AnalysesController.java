@@ -20,19 +20,31 @@ import edu.ksu.cis.indus.common.collections.MapUtils;
 import edu.ksu.cis.indus.common.soot.BasicBlockGraphMgr;
 
 import edu.ksu.cis.indus.interfaces.IActivePart;
+import edu.ksu.cis.indus.interfaces.IIdentification;
 
 import edu.ksu.cis.indus.processing.IProcessor;
 import edu.ksu.cis.indus.processing.ProcessingController;
 
+import edu.ksu.cis.indus.staticanalyses.Constants;
 import edu.ksu.cis.indus.staticanalyses.InitializationException;
 import edu.ksu.cis.indus.staticanalyses.interfaces.IAnalysis;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +57,15 @@ import org.slf4j.LoggerFactory;
  * This implementation will drive the given analyses such that each analysei is executed only when the anlaysis indicates that
  * all it's prerequesites have been fulfilled.
  * </p>
+ * <p>
+ * An analysis is considered to depend on the analyses that provide the information it requires (as declared by
+ * <code>IAnalysis.getRequiredInfoIds()</code>). An analysis provides the information identified by the ids it is
+ * registered under and by the ids it declares via <code>IIdentification.getIds()</code>. When more than
+ * one analysis may be executed at a time (refer to <code>setParallelism()</code>), an analysis is executed as soon as the
+ * analyses it depends on have been executed in the current round and independent analyses are executed concurrently. In
+ * this case, the analyses and the information shared by them should support concurrent queries. The time spent in each
+ * analysis is available via <code>getAnalysisTimes()</code>.
+ * </p>
  *
  * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
  * @author $Author$
@@ -52,6 +73,43 @@ import org.slf4j.LoggerFactory;
  */
 public class AnalysesController {
 
+	/**
+	 * This class executes an analysis and measures the time spent in it.
+	 *
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$
+	 */
+	private static final class AnalysisTask
+			implements Callable<Long> {
+
+		/**
+		 * The analysis to execute.
+		 */
+		private final IAnalysis analysis;
+
+		/**
+		 * Creates an instance of this class.
+		 *
+		 * @param theAnalysis to execute.
+		 * @pre theAnalysis != null
+		 */
+		AnalysisTask(final IAnalysis theAnalysis) {
+			analysis = theAnalysis;
+		}
+
+		/**
+		 * Executes the analysis.
+		 *
+		 * @return the time spent in the analysis (in nanoseconds).
+		 */
+		public Long call() {
+			final long _start = System.nanoTime();
+			analysis.analyze();
+			return Long.valueOf(System.nanoTime() - _start);
+		}
+	}
+
 	/**
 	 * The logger used by instances of this class to log messages.
 	 */
@@ -76,6 +134,11 @@ public class AnalysesController {
 	 */
 	private final IActivePart.ActivePart activePart = new IActivePart.ActivePart();
 
+	/**
+	 * This maps the analyses to the time spent in them (in nanoseconds) during the last execution.
+	 */
+	private final Map<IAnalysis, Long> analysis2time = new LinkedHashMap<IAnalysis, Long>();
+
 	/**
 	 * This provides basic block graphs for the analyses.
 	 */
@@ -87,6 +150,11 @@ public class AnalysesController {
 	 */
 	private Map<Comparable<?>, Object> info;
 
+	/**
+	 * The number of analyses that may be executed concurrently.
+	 */
+	private int parallelism;
+
 	/**
 	 * Creates a new AbstractAnalysesController object.
 	 *
@@ -104,6 +172,7 @@ public class AnalysesController {
 		info = infoPrm;
 		preprocessController = pc;
 		basicBlockGraphMgr = bbgMgr;
+		parallelism = Constants.getParallelismForAnalysesController();
 	}
 
 	/**
@@ -118,36 +187,25 @@ public class AnalysesController {
 	}
 
 	/**
-	 * Executes the analyses in the registered order.
+	 * Executes the analyses. If only one analysis may be executed at a time, the analyses are executed in the registered
+	 * order. In either case, the analyses are executed in rounds until no analysis stabilizes in a round.
 	 */
 	public void execute() {
-		boolean _analyzing;
-		final Collection<IAnalysis> _done = new ArrayList<IAnalysis>();
-
-		do {
-			_analyzing = false;
+		analysis2time.clear();
 
-			for (final Iterator<Comparable> _i = participatingAnalyses.keySet().iterator(); _i.hasNext()
-					&& activePart.canProceed();) {
-				final Comparable<?> _daName = _i.next();
-				final Collection<? extends IAnalysis> _c = participatingAnalyses.get(_daName);
-
-				for (final Iterator<? extends IAnalysis> _j = _c.iterator(); _j.hasNext();) {
-					final IAnalysis _analysis = _j.next();
-
-					if (_analysis != null && !_done.contains(_analysis)) {
-						_analysis.analyze();
-
-						final boolean _t = _analysis.isStable();
+		if (parallelism > 1) {
+			executeConcurrently();
+		} else {
+			executeSequentially();
+		}
 
-						if (_t) {
-							_done.add(_analysis);
-						}
-						_analyzing |= _t;
-					}
-				}
+		if (LOGGER.isInfoEnabled()) {
+			for (final Iterator<Map.Entry<IAnalysis, Long>> _i = analysis2time.entrySet().iterator(); _i.hasNext();) {
+				final Map.Entry<IAnalysis, Long> _entry = _i.next();
+				LOGGER.info("execute() - " + _entry.getKey().getClass().getName() + " took " + _entry.getValue() / 1000000
+						+ " ms");
 			}
-		} while (_analyzing);
+		}
 	}
 
 	/**
@@ -159,6 +217,18 @@ public class AnalysesController {
 		return activePart;
 	}
 
+	/**
+	 * Retrieves the time spent in each analysis during the last execution. If an analysis was executed more than once, the
+	 * time spent in all executions is reported.
+	 *
+	 * @return a map from the analyses to the time spent in them (in nanoseconds). The analyses occur in the order in which
+	 *         they were executed first.
+	 * @post result != null
+	 */
+	public final Map<IAnalysis, Long> getAnalysisTimes() {
+		return Collections.unmodifiableMap(analysis2time);
+	}
+
 	/**
 	 * Provides the implementation registered for the given analysis purpose.
 	 *
@@ -177,6 +247,16 @@ public class AnalysesController {
 		return _result;
 	}
 
+	/**
+	 * Retrieves the number of analyses that may be executed concurrently.
+	 *
+	 * @return the number of analyses.
+	 * @post result >= 1
+	 */
+	public final int getParallelism() {
+		return parallelism;
+	}
+
 	/**
 	 * Initializes the controller. Analyses are initialized and then driven to preprocess the system (in that order only).
 	 */
@@ -244,8 +324,254 @@ public class AnalysesController {
 			}
 		}
 		participatingAnalyses.clear();
+		analysis2time.clear();
 		activePart.activate();
 	}
+
+	/**
+	 * Sets the number of analyses that may be executed concurrently.
+	 *
+	 * @param analyses is the number of analyses.
+	 * @throws IllegalArgumentException when <code>analyses</code> is not positive.
+	 */
+	public final void setParallelism(final int analyses) {
+		if (analyses < 1) {
+			throw new IllegalArgumentException("The number of concurrent analyses should be positive - " + analyses);
+		}
+		parallelism = analyses;
+	}
+
+	/**
+	 * Calculates the analyses that each of the given analyses depends on. An analysis depends on the analyses that provide
+	 * the information it requires. An analysis provides the information registered under the ids under which it is
+	 * registered with this controller and under the ids it declares via <code>IIdentification.getIds()</code>.
+	 * Information that is itself an analysis is also considered as provided by that analysis.
+	 *
+	 * @param analyses of interest.
+	 * @return a map from the given analyses to the analyses they depend on.
+	 * @pre analyses != null
+	 * @post result.keySet().containsAll(analyses)
+	 * @post result.values()->forall(o | analyses.containsAll(o))
+	 */
+	private Map<IAnalysis, Collection<IAnalysis>> calculatePrerequisites(final Collection<IAnalysis> analyses) {
+		final Map<Comparable<?>, Collection<IAnalysis>> _id2providers = calculateProviders(analyses);
+		final Map<IAnalysis, Collection<IAnalysis>> _result = new HashMap<IAnalysis, Collection<IAnalysis>>();
+
+		for (final Iterator<IAnalysis> _i = analyses.iterator(); _i.hasNext();) {
+			final IAnalysis _analysis = _i.next();
+			final Collection<IAnalysis> _prerequisites = new HashSet<IAnalysis>();
+
+			for (final Iterator<Comparable<?>> _j = _analysis.getRequiredInfoIds().iterator(); _j.hasNext();) {
+				final Comparable<?> _id = _j.next();
+				final Collection<IAnalysis> _c = _id2providers.get(_id);
+
+				if (_c != null) {
+					_prerequisites.addAll(_c);
+				}
+
+				final Object _o = info.get(_id);
+
+				if (_o instanceof IAnalysis) {
+					_prerequisites.add((IAnalysis) _o);
+				}
+			}
+			_prerequisites.remove(_analysis);
+			_prerequisites.retainAll(analyses);
+			_result.put(_analysis, _prerequisites);
+		}
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("calculatePrerequisites() - " + MapUtils.verbosePrint(_result));
+		}
+		return _result;
+	}
+
+	/**
+	 * Calculates the analyses that provide each information id.
+	 *
+	 * @param analyses of interest.
+	 * @return a map from information ids to the analyses that provide them.
+	 * @pre analyses != null
+	 * @post result != null and result.values()->forall(o | analyses.containsAll(o))
+	 */
+	private Map<Comparable<?>, Collection<IAnalysis>> calculateProviders(final Collection<IAnalysis> analyses) {
+		final Map<Comparable<?>, Collection<IAnalysis>> _result = new HashMap<Comparable<?>, Collection<IAnalysis>>();
+
+		for (final Iterator<Comparable> _i = participatingAnalyses.keySet().iterator(); _i.hasNext();) {
+			final Comparable<?> _id = _i.next();
+			MapUtils.putAllIntoCollectionInMap(_result, _id, participatingAnalyses.get(_id));
+		}
+
+		for (final Iterator<IAnalysis> _i = analyses.iterator(); _i.hasNext();) {
+			final IAnalysis _analysis = _i.next();
+
+			if (_analysis instanceof IIdentification) {
+				final Collection<? extends Comparable<?>> _ids = ((IIdentification) _analysis).getIds();
+
+				for (final Iterator<? extends Comparable<?>> _j = _ids.iterator(); _j.hasNext();) {
+					MapUtils.putIntoCollectionInMap(_result, _j.next(), _analysis);
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Executes the analyses concurrently while respecting the dependences between them.
+	 */
+	private void executeConcurrently() {
+		final List<IAnalysis> _analyses = getParticipatingAnalyses();
+		final Map<IAnalysis, Collection<IAnalysis>> _prerequisites = calculatePrerequisites(_analyses);
+		final Collection<IAnalysis> _done = new HashSet<IAnalysis>();
+		final ExecutorService _executor = Executors.newFixedThreadPool(parallelism);
+
+		try {
+			boolean _analyzing;
+
+			do {
+				_analyzing = executeRound(_analyses, _prerequisites, _done, new ExecutorCompletionService<Long>(_executor));
+			} while (_analyzing);
+		} finally {
+			_executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Executes one round of the analyses that are not stable. An analysis is submitted for execution once the analyses it
+	 * depends on have been executed in this round or are stable. If the remaining analyses depend on each other, then
+	 * one of them is submitted to break the cycle.
+	 *
+	 * @param analyses to be executed in the preferred order.
+	 * @param prerequisites maps the analyses to the analyses they depend on.
+	 * @param done is the analyses that are stable. This is an in-out parameter.
+	 * @param service is used to execute the analyses.
+	 * @return <code>true</code> if any analysis stabilized in this round; <code>false</code>, otherwise.
+	 * @throws RuntimeException when the execution of an analysis fails or is interrupted.
+	 * @pre analyses != null and prerequisites != null and done != null and service != null
+	 */
+	private boolean executeRound(final List<IAnalysis> analyses, final Map<IAnalysis, Collection<IAnalysis>> prerequisites,
+			final Collection<IAnalysis> done, final CompletionService<Long> service) {
+		final List<IAnalysis> _pending = new ArrayList<IAnalysis>(analyses);
+		_pending.removeAll(done);
+
+		final Collection<IAnalysis> _executed = new HashSet<IAnalysis>(done);
+		final Map<Future<Long>, IAnalysis> _running = new HashMap<Future<Long>, IAnalysis>();
+		boolean _result = false;
+
+		try {
+			while (!_pending.isEmpty() || !_running.isEmpty()) {
+				if (activePart.canProceed()) {
+					for (final Iterator<IAnalysis> _i = _pending.iterator(); _i.hasNext();) {
+						final IAnalysis _analysis = _i.next();
+
+						if (_executed.containsAll(prerequisites.get(_analysis))) {
+							_running.put(service.submit(new AnalysisTask(_analysis)), _analysis);
+							_i.remove();
+						}
+					}
+
+					if (_running.isEmpty()) {
+						final IAnalysis _analysis = _pending.remove(0);
+						_running.put(service.submit(new AnalysisTask(_analysis)), _analysis);
+					}
+				} else {
+					_pending.clear();
+				}
+
+				if (!_running.isEmpty()) {
+					final Future<Long> _future = service.take();
+					final IAnalysis _analysis = _running.remove(_future);
+					recordTime(_analysis, _future.get().longValue());
+					_executed.add(_analysis);
+
+					if (_analysis.isStable()) {
+						done.add(_analysis);
+						_result = true;
+					}
+				}
+			}
+		} catch (final InterruptedException _e) {
+			LOGGER.error("Interrupted while waiting on the analyses.", _e);
+			throw new RuntimeException(_e);
+		} catch (final ExecutionException _e) {
+			LOGGER.error("An analysis failed.", _e.getCause());
+			throw new RuntimeException(_e.getCause());
+		}
+		return _result;
+	}
+
+	/**
+	 * Executes the analyses sequentially in the registered order.
+	 */
+	private void executeSequentially() {
+		boolean _analyzing;
+		final Collection<IAnalysis> _done = new ArrayList<IAnalysis>();
+
+		do {
+			_analyzing = false;
+
+			for (final Iterator<Comparable> _i = participatingAnalyses.keySet().iterator(); _i.hasNext()
+					&& activePart.canProceed();) {
+				final Comparable<?> _daName = _i.next();
+				final Collection<? extends IAnalysis> _c = participatingAnalyses.get(_daName);
+
+				for (final Iterator<? extends IAnalysis> _j = _c.iterator(); _j.hasNext();) {
+					final IAnalysis _analysis = _j.next();
+
+					if (_analysis != null && !_done.contains(_analysis)) {
+						final long _start = System.nanoTime();
+						_analysis.analyze();
+						recordTime(_analysis, System.nanoTime() - _start);
+
+						final boolean _t = _analysis.isStable();
+
+						if (_t) {
+							_done.add(_analysis);
+						}
+						_analyzing |= _t;
+					}
+				}
+			}
+		} while (_analyzing);
+	}
+
+	/**
+	 * Retrieves the participating analyses in the registered order.
+	 *
+	 * @return the analyses.
+	 * @post result != null and result->forall(o | o != null)
+	 */
+	private List<IAnalysis> getParticipatingAnalyses() {
+		final List<IAnalysis> _result = new ArrayList<IAnalysis>();
+
+		for (final Iterator<Collection<? extends IAnalysis>> _i = participatingAnalyses.values().iterator(); _i.hasNext();) {
+			for (final Iterator<? extends IAnalysis> _j = _i.next().iterator(); _j.hasNext();) {
+				final IAnalysis _analysis = _j.next();
+
+				if (_analysis != null && !_result.contains(_analysis)) {
+					_result.add(_analysis);
+				}
+			}
+		}
+		return _result;
+	}
+
+	/**
+	 * Records the time spent in the given analysis.
+	 *
+	 * @param analysis of interest.
+	 * @param time spent in <code>analysis</code> (in nanoseconds).
+	 * @pre analysis != null
+	 */
+	private void recordTime(final IAnalysis analysis, final long time) {
+		final Long _t = analysis2time.get(analysis);
+
+		if (_t == null) {
+			analysis2time.put(analysis, Long.valueOf(time));
+		} else {
+			analysis2time.put(analysis, Long.valueOf(_t.longValue() + time));
+		}
+	}
 }
 
 // End of File
@@ -82,6 +82,17 @@ public class ValueAnalyzerBasedProcessingController
 			}
 		}
 	}
+
+	/**
+	 * Sets the analyzer on the given shard if it requires the analyzer.
+	 * 
+	 * @param shard to be initialized.
+	 */
+	@Override protected void initializeShard(final IProcessor shard) {
+		if (shard instanceof IValueAnalyzerBasedProcessor) {
+			((IValueAnalyzerBasedProcessor) shard).setAnalyzer(analyzer);
+		}
+	}
 }
 
 // End of File
@@ -43,7 +43,8 @@ import org.slf4j.LoggerFactory;
  * @param <R> is the type of the representation types.
  */
 public final class BitSetTokenManager<V, R>
-		extends AbstractTokenManager<BitSetTokenManager<V, R>.BitSetTokens, V, R> {
+		extends AbstractTokenManager<BitSetTokenManager<V, R>.BitSetTokens, V, R>
+		implements IThreadSafeTokenManager<BitSetTokenManager<V, R>.BitSetTokens, V, R> {
 
 	/**
 	 * The logger used by instances of this class to log messages.
@@ -0,0 +1,430 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.tokens;
+
+import edu.ksu.cis.indus.common.datastructures.CompactIntSet;
+import edu.ksu.cis.indus.common.soot.Constants;
+import edu.ksu.cis.indus.interfaces.AbstractPrototype;
+
+import gnu.trove.TObjectIntHashMap;
+
+import java.lang.ref.WeakReference;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * This class realizes a token manager that represents tokens as positions in a compact integer set. Unlike
+ * <code>BitSetTokenManager</code>, token sets with few tokens are stored as sorted arrays of positions and only dense token
+ * sets are stored as bitmaps. Empty token sets hold no storage, emptiness checks do not scan or allocate, and filtering and
+ * diffing allocate only as much as is required to hold the result.
+ * <p>
+ * Optionally, token sets can be shared. In this mode, the sets of positions are never mutated once created. Instead, adding
+ * tokens and clearing replace the set held by a token collection (copy-on-write), and the resulting sets are interned in a
+ * token set table. Hence, token collections (say, of flow graph nodes) with equal tokens share storage, cloning does not
+ * copy, and diffing token collections that share a set is a constant time operation. Interned sets that are no longer used
+ * are reclaimed by the garbage collector.
+ * </p>
+ *
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ * @param <V> is the type of the value object (in the representation).
+ * @param <R> is the type of the representation types.
+ */
+public final class CompactTokenManager<V, R>
+		extends AbstractTokenManager<CompactTokenManager<V, R>.CompactTokens, V, R>
+		implements IThreadSafeTokenManager<CompactTokenManager<V, R>.CompactTokens, V, R> {
+
+	/**
+	 * The mapping between types and the positions of the values that are of the key type.
+	 */
+	private final Map<IType, CompactIntSet> type2tokens = new HashMap<IType, CompactIntSet>(Constants
+			.getNumOfClassesInApplication());
+
+	/**
+	 * The mapping between type in the token universe to that types filter.
+	 */
+	private final Map<IType, CompactTokenFilter> type2tokenfilters = new HashMap<IType, CompactTokenFilter>(Constants
+			.getNumOfClassesInApplication());
+
+	/**
+	 * The empty set of positions. This is shared by all token collections when token sets are shared.
+	 */
+	private final CompactIntSet emptySet = new CompactIntSet();
+
+	/**
+	 * <code>true</code> if token sets are shared; <code>false</code>, otherwise.
+	 */
+	private final boolean shareTokenSets;
+
+	/**
+	 * The table of interned sets of positions. Each set is mapped to a weak reference to itself.
+	 */
+	private final Map<CompactIntSet, WeakReference<CompactIntSet>> tokenSetTable =
+		new WeakHashMap<CompactIntSet, WeakReference<CompactIntSet>>();
+
+	/**
+	 * The mapping between values and their positions. Positions are offset by one as 0 represents absence.
+	 *
+	 * @invariant value2position.oclIsKindOf(TObjectIntHashMap(V, int))
+	 */
+	private final TObjectIntHashMap value2position = new TObjectIntHashMap();
+
+	/**
+	 * The list used to canonicalize positions for values.
+	 */
+	final List<V> valueList = new ArrayList<V>();
+
+	/**
+	 * Creates an instance of this class. Token sets are shared as configured by
+	 * <code>edu.ksu.cis.indus.staticanalyses.Constants.getShareTokenSetsForCompactTokenManager()</code>.
+	 *
+	 * @param typeManager to be used.
+	 * @see AbstractTokenManager#AbstractTokenManager(ITypeManager)
+	 */
+	public CompactTokenManager(final ITypeManager<R, V> typeManager) {
+		this(typeManager, edu.ksu.cis.indus.staticanalyses.Constants.getShareTokenSetsForCompactTokenManager());
+	}
+
+	/**
+	 * Creates an instance of this class.
+	 *
+	 * @param typeManager to be used.
+	 * @param shareSets <code>true</code> indicates that token sets should be interned and shared; <code>false</code>,
+	 *            otherwise.
+	 * @see AbstractTokenManager#AbstractTokenManager(ITypeManager)
+	 */
+	public CompactTokenManager(final ITypeManager<R, V> typeManager, final boolean shareSets) {
+		super(typeManager);
+		shareTokenSets = shareSets;
+		typeManager.addObserver(this);
+	}
+
+	/**
+	 * This class represents a token filter based on a compact set of token positions.
+	 *
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$ $Date$
+	 */
+	private class CompactTokenFilter
+			implements ITokenFilter<CompactTokenManager<V, R>.CompactTokens, V> {
+
+		/**
+		 * The filter mask.
+		 */
+		private final CompactIntSet mask;
+
+		/**
+		 * Creates an instance of this class.
+		 *
+		 * @param theMask is the filter mask.
+		 * @pre theMask != null
+		 */
+		CompactTokenFilter(final CompactIntSet theMask) {
+			mask = theMask;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public CompactTokens filter(final CompactTokens tokens) {
+			final CompactIntSet _set = tokens.set;
+			final CompactIntSet _result = _set.intersection(mask);
+			final CompactTokens _tokens;
+
+			if (shareTokenSets && _result.size() == _set.size()) {
+				_tokens = new CompactTokens(_set);
+			} else {
+				_tokens = new CompactTokens(_result);
+			}
+			return _tokens;
+		}
+	}
+
+	/**
+	 * This class represents a collection of tokens represented as positions in a compact integer set.
+	 *
+	 * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+	 * @author $Author$
+	 * @version $Revision$ $Date$
+	 */
+	class CompactTokens
+			extends AbstractPrototype<CompactTokens>
+			implements ITokens<CompactTokens, V> {
+
+		/**
+		 * The set of positions of the tokens. When token sets are shared, this set is never mutated.
+		 */
+		volatile CompactIntSet set;
+
+		/**
+		 * Creates a new CompactTokens object.
+		 *
+		 * @param positions of the tokens. This set is owned by this object upon return.
+		 * @pre positions != null
+		 */
+		CompactTokens(final CompactIntSet positions) {
+			set = positions;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void addTokens(final CompactTokens newTokens) {
+			final CompactIntSet _new = newTokens.set;
+
+			if (!shareTokenSets) {
+				set.addAll(_new);
+			} else if (set.isEmpty()) {
+				set = intern(_new);
+			} else if (_new != set && !set.containsAll(_new)) {
+				final CompactIntSet _union = new CompactIntSet(set);
+				_union.addAll(_new);
+				set = intern(_union);
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void clear() {
+			if (shareTokenSets) {
+				set = emptySet;
+			} else {
+				set.clear();
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public CompactTokens diffTokens(final CompactTokens tokens) {
+			final CompactIntSet _set = set;
+			final CompactIntSet _other = tokens.set;
+			final CompactTokens _result;
+
+			if (!shareTokenSets) {
+				_result = new CompactTokens(_set.difference(_other));
+			} else if (_set == _other || _set.isEmpty()) {
+				_result = new CompactTokens(emptySet);
+			} else if (_other.isEmpty()) {
+				_result = new CompactTokens(_set);
+			} else {
+				_result = new CompactTokens(_set.difference(_other));
+			}
+			return _result;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override public CompactTokens getClone(@SuppressWarnings("unused") final Object... o) {
+			final CompactTokens _result;
+
+			if (shareTokenSets) {
+				_result = new CompactTokens(set);
+			} else {
+				_result = new CompactTokens(new CompactIntSet(set));
+			}
+			return _result;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Collection<V> getValues() {
+			final Collection<V> _result = new ArrayList<V>(set.size());
+
+			for (int _i = set.nextElement(0); _i >= 0; _i = set.nextElement(_i + 1)) {
+				_result.add(CompactTokenManager.this.valueList.get(_i));
+			}
+			return _result;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public boolean isEmpty() {
+			return set.isEmpty();
+		}
+	}
+
+	/**
+	 * Retrieves the number of token sets in the token set table.
+	 *
+	 * @return the number of interned token sets. This is 0 if token sets are not shared.
+	 * @post result >= 0
+	 */
+	public int getInternedTokenSetCount() {
+		synchronized (tokenSetTable) {
+			return tokenSetTable.size();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompactTokens getNewTokenSet() {
+		final CompactTokens _result;
+
+		if (shareTokenSets) {
+			_result = new CompactTokens(emptySet);
+		} else {
+			_result = new CompactTokens(new CompactIntSet());
+		}
+		return _result;
+	}
+
+	/**
+	 * Checks if token sets are shared by this manager.
+	 *
+	 * @return <code>true</code> if token sets are interned and shared; <code>false</code>, otherwise.
+	 */
+	public boolean isSharingTokenSets() {
+		return shareTokenSets;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public CompactTokens getTokens(final Collection<V> values) {
+		final CompactIntSet _result = new CompactIntSet();
+
+		for (final Iterator<V> _i = values.iterator(); _i.hasNext();) {
+			final V _value = _i.next();
+			int _position = value2position.get(_value) - 1;
+
+			if (_position < 0) {
+				_position = valueList.size();
+				valueList.add(_value);
+				value2position.put(_value, _position + 1);
+
+				final Collection<IType> _types = typeMgr.getAllTypes(_value);
+
+				for (final Iterator<IType> _j = _types.iterator(); _j.hasNext();) {
+					getMask(_j.next()).add(_position);
+				}
+			}
+			_result.add(_position);
+		}
+		return new CompactTokens(_result);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override public void reset() {
+		super.reset();
+		valueList.clear();
+		value2position.clear();
+		type2tokens.clear();
+		type2tokenfilters.clear();
+
+		synchronized (tokenSetTable) {
+			tokenSetTable.clear();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override protected CompactTokenFilter getNewFilterForType(final IType type) {
+		CompactTokenFilter _result = type2tokenfilters.get(type);
+
+		if (_result == null) {
+			_result = new CompactTokenFilter(getMask(type));
+			type2tokenfilters.put(type, _result);
+		}
+		return _result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override protected Collection<V> getValues() {
+		return Collections.unmodifiableList(valueList);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override protected void recordNewTokenTypeRelations(final Collection<V> values, final IType type) {
+		final CompactIntSet _mask = getMask(type);
+
+		for (final Iterator<V> _i = values.iterator(); _i.hasNext();) {
+			_mask.add(value2position.get(_i.next()) - 1);
+		}
+	}
+
+	/**
+	 * Retrieves the positions of the values that are of the given type.
+	 *
+	 * @param type of interest.
+	 * @return the positions of the values.
+	 * @pre type != null
+	 * @post result != null
+	 */
+	private CompactIntSet getMask(final IType type) {
+		CompactIntSet _result = type2tokens.get(type);
+
+		if (_result == null) {
+			_result = new CompactIntSet();
+			type2tokens.put(type, _result);
+		}
+		return _result;
+	}
+
+	/**
+	 * Retrieves the interned set that is equal to the given set. If there is no such set, the given set is interned.
+	 *
+	 * @param positions of interest. This set should not be mutated after this call.
+	 * @return the interned set.
+	 * @pre positions != null
+	 * @post result != null and result.equals(positions)
+	 */
+	private CompactIntSet intern(final CompactIntSet positions) {
+		CompactIntSet _result = null;
+
+		if (positions.isEmpty()) {
+			_result = emptySet;
+		} else {
+			synchronized (tokenSetTable) {
+				final WeakReference<CompactIntSet> _ref = tokenSetTable.get(positions);
+
+				if (_ref != null) {
+					_result = _ref.get();
+				}
+
+				if (_result == null) {
+					tokenSetTable.put(positions, new WeakReference<CompactIntSet>(positions));
+					_result = positions;
+				}
+			}
+		}
+		return _result;
+	}
+}
+
+// End of File
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Indus, a program analysis and transformation toolkit for Java.
+ * Copyright (c) 2001, 2007 Venkatesh Prasad Ranganath
+ * 
+ * All rights reserved.  This program and the accompanying materials are made 
+ * available under the terms of the Eclipse Public License v1.0 which accompanies 
+ * the distribution containing this program, and is available at 
+ * http://www.opensource.org/licenses/eclipse-1.0.php.
+ * 
+ * For questions about the license, copyright, and software, contact 
+ * 	Venkatesh Prasad Ranganath at venkateshprasad.ranganath@gmail.com
+ *                                 
+ * This software was developed by Venkatesh Prasad Ranganath in SAnToS Laboratory 
+ * at Kansas State University.
+ *******************************************************************************/
+
+package edu.ksu.cis.indus.staticanalyses.tokens;
+
+import edu.ksu.cis.indus.annotations.Marker;
+
+/**
+ * This is a marker interface for token managers whose token sets and type-based filters can be operated upon concurrently
+ * as long as no new tokens are being created. Specifically, <code>ITokens.addTokens()</code>,
+ * <code>ITokens.diffTokens()</code>, <code>ITokens.clear()</code>, and <code>ITokenFilter.filter()</code> may be invoked
+ * from multiple threads on distinct token sets while <code>getTokens()</code> and <code>getTypeBasedFilter()</code> are not
+ * being invoked. Flow analyses use this to propagate tokens concurrently.
+ * 
+ * @author <a href="http://www.cis.ksu.edu/~rvprasad">Venkatesh Prasad Ranganath</a>
+ * @author $Author$
+ * @version $Revision$ $Date$
+ * @param <T> is the type of token set objects.
+ * @param <V> is the type of the value objects (in the representation).
+ * @param <R> is the type of the representation types.
+ */
+@Marker public interface IThreadSafeTokenManager<T extends ITokens<T, V>, V, R>
+		extends ITokenManager<T, V, R> {
+	// empty
+}
+
+// End of File
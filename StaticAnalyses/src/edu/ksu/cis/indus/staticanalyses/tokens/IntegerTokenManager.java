@@ -38,7 +38,8 @@ import java.util.List;
  * @param <R> is the type of the representation types.
  */
 public class IntegerTokenManager<V, R>
-		extends AbstractTokenManager<IntegerTokenManager<V, R>.IntegerTokens, V, R> {
+		extends AbstractTokenManager<IntegerTokenManager<V, R>.IntegerTokens, V, R>
+		implements IThreadSafeTokenManager<IntegerTokenManager<V, R>.IntegerTokens, V, R> {
 
 	/**
 	 * The number of values that can be managed by using int-based bit-encoding.
@@ -62,7 +62,7 @@ public final class TokenUtil {
 	 * @pre typeManager != null
 	 * @post result != null
 	 * @post result.oclIsKindOf(BitSetTokenManager) or result.oclIsKindOf(CollectionTokenManager) or
-	 *       result.oclIsKindOf(IntegerTokenManager)
+	 *       result.oclIsKindOf(IntegerTokenManager) or result.oclIsKindOf(CompactTokenManager)
 	 */
 	public static <T extends ITokens<T, V>, V, R> ITokenManager<T, V, R> getTokenManager(final ITypeManager<R, V> typeMgr) {
 		ITokenManager<T, V, R> _tokenMgr = null;